@@ -20,14 +20,18 @@ import com.emc.object.s3.S3Client;
 import com.emc.object.s3.S3Exception;
 import com.emc.object.s3.S3ObjectMetadata;
 import com.emc.object.s3.bean.CopyPartResult;
+import com.emc.object.s3.bean.DeleteError;
 import com.emc.object.s3.bean.MultipartPartETag;
 import com.emc.object.s3.bean.Permission;
 import com.emc.object.s3.request.AbortMultipartUploadRequest;
 import com.emc.object.s3.request.CompleteMultipartUploadRequest;
 import com.emc.object.s3.request.CopyPartRequest;
+import com.emc.object.s3.request.DeleteObjectsRequest;
 import com.emc.object.s3.request.PutObjectRequest;
+import com.emc.object.s3.request.UploadPartRequest;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.Iterables;
 import io.pravega.common.io.StreamHelpers;
 import io.pravega.segmentstore.storage.chunklayer.BaseChunkStorage;
 import io.pravega.segmentstore.storage.chunklayer.ChunkAlreadyExistsException;
@@ -44,7 +48,10 @@ import lombok.val;
 import org.apache.http.HttpStatus;
 
 import java.io.InputStream;
-
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Collection;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.Executor;
@@ -63,6 +70,10 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class ExtendedS3ChunkStorage extends BaseChunkStorage {
 
     //region members
+    /**
+     * Maximum number of keys that can be deleted with a single multi-object delete request.
+     */
+    private static final int MAX_KEYS_PER_DELETE_REQUEST = 1000;
     private final ExtendedS3StorageConfig config;
     private final S3Client client;
     private final boolean shouldClose;
@@ -99,6 +110,11 @@ public class ExtendedS3ChunkStorage extends BaseChunkStorage {
         return false;
     }
 
+    @Override
+    public boolean supportsBatchDelete() {
+        return true;
+    }
+
     //endregion
 
     //region implementation
@@ -138,6 +154,40 @@ public class ExtendedS3ChunkStorage extends BaseChunkStorage {
         }
     }
 
+    @Override
+    protected int doRead(ChunkHandle handle, long fromOffset, ByteBuffer buffer) throws ChunkStorageException {
+        if (buffer.hasArray() || !buffer.hasRemaining()) {
+            // Reading straight into the backing array is the most efficient we can do.
+            return super.doRead(handle, fromOffset, buffer);
+        }
+
+        // Stream the object's contents directly into the (direct) buffer, in small increments, instead of reading
+        // everything into a temporary array first.
+        try {
+            try (InputStream reader = client.readObjectStream(config.getBucket(),
+                    getObjectPath(handle.getChunkName()), Range.fromOffsetLength(fromOffset, buffer.remaining()))) {
+                if (reader == null) {
+                    throw new ChunkNotFoundException(handle.getChunkName(), "doRead");
+                }
+
+                // Do not close this channel; the reader will be closed when we exit.
+                ReadableByteChannel channel = Channels.newChannel(reader);
+                int totalBytesRead = 0;
+                while (buffer.hasRemaining()) {
+                    int bytesRead = channel.read(buffer);
+                    if (bytesRead < 0) {
+                        break;
+                    }
+                    totalBytesRead += bytesRead;
+                }
+
+                return totalBytesRead;
+            }
+        } catch (Exception e) {
+            throw convertException(handle.getChunkName(), "doRead", e);
+        }
+    }
+
     @Override
     protected int doWrite(ChunkHandle handle, long offset, int length, InputStream data) throws ChunkStorageException {
         Preconditions.checkState(supportsAppend, "supportsAppend is false.");
@@ -270,6 +320,9 @@ public class ExtendedS3ChunkStorage extends BaseChunkStorage {
 
     @Override
     protected ChunkHandle doCreateWithContent(String chunkName, int length, InputStream data) throws ChunkStorageException {
+        if (length > config.getMultipartUploadThreshold()) {
+            return doCreateWithMultipartUpload(chunkName, length, data);
+        }
         try {
             val objectPath = getObjectPath(chunkName);
 
@@ -283,6 +336,45 @@ public class ExtendedS3ChunkStorage extends BaseChunkStorage {
         }
     }
 
+    /**
+     * Creates a new object with given content by uploading it in parts of {@link ExtendedS3StorageConfig#getMultipartUploadPartSize()}.
+     * This keeps the size of individual requests bounded for large chunks, so that a failed request is cheaper to retry.
+     */
+    private ChunkHandle doCreateWithMultipartUpload(String chunkName, int length, InputStream data) throws ChunkStorageException {
+        val objectPath = getObjectPath(chunkName);
+        String uploadId = null;
+        boolean isCompleted = false;
+        try {
+            uploadId = client.initiateMultipartUpload(config.getBucket(), objectPath);
+            SortedSet<MultipartPartETag> partEtags = new TreeSet<>();
+            int partNumber = 1;
+            int bytesRemaining = length;
+            while (bytesRemaining > 0) {
+                val partSize = Math.min(bytesRemaining, config.getMultipartUploadPartSize());
+                val buffer = new byte[partSize];
+                val bytesRead = StreamHelpers.readAll(data, buffer, 0, partSize);
+                Preconditions.checkState(bytesRead == partSize, "Insufficient data. Expected %s bytes, read %s bytes.", partSize, bytesRead);
+                val request = new UploadPartRequest(config.getBucket(), objectPath, uploadId, partNumber++, buffer)
+                        .withContentLength((long) partSize);
+                partEtags.add(client.uploadPart(request));
+                bytesRemaining -= partSize;
+            }
+
+            client.completeMultipartUpload(new CompleteMultipartUploadRequest(config.getBucket(),
+                    objectPath, uploadId).withParts(partEtags));
+            isCompleted = true;
+            return ChunkHandle.writeHandle(chunkName);
+        } catch (RuntimeException e) {
+            throw convertException(chunkName, "doCreateWithContent", e);
+        } catch (Exception e) {
+            throw convertException(chunkName, "doCreateWithContent", e);
+        } finally {
+            if (!isCompleted && null != uploadId) {
+                client.abortMultipartUpload(new AbortMultipartUploadRequest(config.getBucket(), objectPath, uploadId));
+            }
+        }
+    }
+
     @Override
     protected boolean checkExists(String chunkName) throws ChunkStorageException {
         try {
@@ -310,6 +402,28 @@ public class ExtendedS3ChunkStorage extends BaseChunkStorage {
         }
     }
 
+    @Override
+    protected void doBatchDelete(Collection<ChunkHandle> handles) throws ChunkStorageException {
+        for (val batch : Iterables.partition(handles, MAX_KEYS_PER_DELETE_REQUEST)) {
+            val firstChunkName = batch.get(0).getChunkName();
+            try {
+                val keys = batch.stream().map(handle -> getObjectPath(handle.getChunkName())).toArray(String[]::new);
+                val result = client.deleteObjects(new DeleteObjectsRequest(config.getBucket()).withKeys(keys));
+                if (null != result && null != result.getResults()) {
+                    for (val r : result.getResults()) {
+                        // Missing objects are not an error.
+                        if (r instanceof DeleteError && !"NoSuchKey".equals(((DeleteError) r).getCode())) {
+                            throw new ChunkStorageException(r.getKey(),
+                                    String.format("doBatchDelete - %s %s", ((DeleteError) r).getCode(), ((DeleteError) r).getMessage()));
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                throw convertException(firstChunkName, "doBatchDelete", e);
+            }
+        }
+    }
+
     @Override
     @SneakyThrows
     public void close() {
@@ -37,6 +37,8 @@ public class ExtendedS3StorageConfig {
     public static final Property<String> PREFIX = Property.named("prefix", "/");
     public static final Property<Boolean> USENONEMATCH = Property.named("noneMatch.enable", false, "useNoneMatch");
     public static final Property<Integer> SMALL_OBJECT_THRESHOLD = Property.named("concat.smallObject.threshold.size", 1024 * 1024, "smallObjectSizeLimitForConcat");
+    public static final Property<Integer> MULTIPART_UPLOAD_THRESHOLD = Property.named("multipart.upload.threshold.size", 64 * 1024 * 1024);
+    public static final Property<Integer> MULTIPART_UPLOAD_PART_SIZE = Property.named("multipart.upload.part.size", 16 * 1024 * 1024);
 
     private static final String COMPONENT_CODE = "extendeds3";
     private static final String PATH_SEPARATOR = "/";
@@ -90,6 +92,19 @@ public class ExtendedS3StorageConfig {
     @Getter
     private final int smallObjectSizeLimitForConcat;
 
+    /**
+     * Size of new objects in bytes above which they are uploaded using multi part upload instead of a single put.
+     */
+    @Getter
+    private final int multipartUploadThreshold;
+
+    /**
+     * Size of each part in bytes when using multi part upload. (S3 requires all parts except the last one to be at
+     * least 5MB.)
+     */
+    @Getter
+    private final int multipartUploadPartSize;
+
     //endregion
 
     //region Constructor
@@ -109,6 +124,9 @@ public class ExtendedS3StorageConfig {
         this.prefix = givenPrefix.endsWith(PATH_SEPARATOR) ? givenPrefix : givenPrefix + PATH_SEPARATOR;
         this.useNoneMatch = properties.getBoolean(USENONEMATCH);
         this.smallObjectSizeLimitForConcat = properties.getInt(SMALL_OBJECT_THRESHOLD);
+        this.multipartUploadThreshold = properties.getInt(MULTIPART_UPLOAD_THRESHOLD);
+        this.multipartUploadPartSize = properties.getInt(MULTIPART_UPLOAD_PART_SIZE);
+        Preconditions.checkArgument(this.multipartUploadPartSize > 0, "multipartUploadPartSize must be a positive integer.");
     }
 
     /**
@@ -0,0 +1,562 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.storage.filesystem;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import io.pravega.common.Exceptions;
+import io.pravega.common.Timer;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.concurrent.Futures;
+import io.pravega.common.io.StreamHelpers;
+import io.pravega.common.util.BufferView;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.chunklayer.AsyncBaseChunkStorage;
+import io.pravega.segmentstore.storage.chunklayer.ChunkHandle;
+import io.pravega.segmentstore.storage.chunklayer.ChunkInfo;
+import io.pravega.segmentstore.storage.chunklayer.ChunkStorage;
+import io.pravega.segmentstore.storage.chunklayer.ChunkStorageException;
+import io.pravega.segmentstore.storage.chunklayer.ConcatArgument;
+import io.pravega.segmentstore.storage.chunklayer.InvalidOffsetException;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import javax.annotation.concurrent.GuardedBy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link ChunkStorage} for file system based storage that performs chunk reads and writes using {@link AsynchronousFileChannel}.
+ *
+ * Unlike {@link FileSystemChunkStorage}, reads and writes do not occupy a thread from the storage executor for the
+ * duration of the I/O:
+ * <ul>
+ * <li>Reads and writes are issued on {@link AsynchronousFileChannel}s bound to a small, dedicated I/O thread pool
+ * (see {@link FileSystemStorageConfig#getAsyncIOThreadPoolSize()}).</li>
+ * <li>Open channels are cached (up to {@link FileSystemStorageConfig#getAsyncIOMaxOpenChannels()} of them), so files
+ * are not opened and closed for every operation.</li>
+ * <li>Calls to {@link AsynchronousFileChannel#force} for the same chunk are coalesced: all writes that complete while
+ * a force is in progress share the next one.</li>
+ * </ul>
+ *
+ * All other operations (create, delete, concat, etc.) are delegated to a {@link FileSystemChunkStorage}.
+ */
+@Slf4j
+public class AsyncFileSystemChunkStorage extends AsyncBaseChunkStorage {
+    //region members
+
+    private static final Set<StandardOpenOption> READ_OPTIONS = ImmutableSet.of(StandardOpenOption.READ);
+    private static final Set<StandardOpenOption> WRITE_OPTIONS = ImmutableSet.of(StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+    private final FileSystemWrapper fileSystem;
+
+    private final FileSystemChunkStorage syncStorage;
+
+    private final ScheduledExecutorService ioExecutor;
+
+    private final int maxOpenChannels;
+
+    /**
+     * Open channels, in access order (least recently used first).
+     */
+    @GuardedBy("openChannels")
+    private final LinkedHashMap<String, OpenChannel> openChannels;
+
+    //endregion
+
+    //region constructor
+
+    /**
+     * Creates a new instance of the AsyncFileSystemChunkStorage class.
+     *
+     * @param config   The configuration to use.
+     * @param executor Executor for async operations.
+     */
+    public AsyncFileSystemChunkStorage(FileSystemStorageConfig config, Executor executor) {
+        this(config, new FileSystemWrapper(), executor);
+    }
+
+    /**
+     * Creates a new instance of the AsyncFileSystemChunkStorage class.
+     *
+     * @param config     The configuration to use.
+     * @param fileSystem Object that wraps file system related calls.
+     * @param executor   Executor for async operations.
+     */
+    public AsyncFileSystemChunkStorage(FileSystemStorageConfig config, FileSystemWrapper fileSystem, Executor executor) {
+        super(executor);
+        Preconditions.checkNotNull(config, "config");
+        this.fileSystem = Preconditions.checkNotNull(fileSystem, "fileSystem");
+        this.syncStorage = new FileSystemChunkStorage(config, fileSystem, executor);
+        this.maxOpenChannels = config.getAsyncIOMaxOpenChannels();
+        this.openChannels = new LinkedHashMap<>(16, 0.75f, true);
+        this.ioExecutor = ExecutorServiceHelpers.newScheduledThreadPool(config.getAsyncIOThreadPoolSize(), "storage-fs-io");
+    }
+
+    //endregion
+
+    //region capabilities
+
+    @Override
+    public boolean supportsConcat() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsAppend() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsTruncation() {
+        return false;
+    }
+
+    //endregion
+
+    //region AutoCloseable
+
+    @Override
+    public void close() {
+        super.close();
+        val toClose = new ArrayList<OpenChannel>();
+        synchronized (this.openChannels) {
+            this.openChannels.values().forEach(c -> evict(c, toClose));
+            this.openChannels.clear();
+        }
+
+        toClose.forEach(OpenChannel::close);
+        ExecutorServiceHelpers.shutdown(this.ioExecutor);
+        this.syncStorage.close();
+    }
+
+    //endregion
+
+    //region Metadata Operations
+
+    @Override
+    protected CompletableFuture<ChunkInfo> doGetInfoAsync(String chunkName, OperationContext opContext) {
+        return execute(() -> this.syncStorage.doGetInfo(chunkName), opContext);
+    }
+
+    @Override
+    protected CompletableFuture<ChunkHandle> doCreateAsync(String chunkName, OperationContext opContext) {
+        return execute(() -> this.syncStorage.doCreate(chunkName), opContext);
+    }
+
+    @Override
+    protected CompletableFuture<ChunkHandle> doCreateWithContentAsync(String chunkName, int length, InputStream data, OperationContext opContext) {
+        return doCreateAsync(chunkName, opContext)
+                .thenCompose(handle -> doWriteAsync(handle, 0, length, data, opContext)
+                        .thenApply(bytesWritten -> handle));
+    }
+
+    @Override
+    protected CompletableFuture<Boolean> checkExistsAsync(String chunkName, OperationContext opContext) {
+        return execute(() -> this.syncStorage.checkExists(chunkName), opContext);
+    }
+
+    @Override
+    protected CompletableFuture<Void> doDeleteAsync(ChunkHandle handle, OperationContext opContext) {
+        return execute(() -> {
+            invalidate(handle.getChunkName());
+            this.syncStorage.doDelete(handle);
+            return null;
+        }, opContext);
+    }
+
+    @Override
+    protected CompletableFuture<ChunkHandle> doOpenReadAsync(String chunkName, OperationContext opContext) {
+        return execute(() -> this.syncStorage.doOpenRead(chunkName), opContext);
+    }
+
+    @Override
+    protected CompletableFuture<ChunkHandle> doOpenWriteAsync(String chunkName, OperationContext opContext) {
+        return execute(() -> this.syncStorage.doOpenWrite(chunkName), opContext);
+    }
+
+    @Override
+    protected CompletableFuture<Integer> doConcatAsync(ConcatArgument[] chunks, OperationContext opContext) {
+        return execute(() -> this.syncStorage.doConcat(chunks), opContext);
+    }
+
+    @Override
+    protected CompletableFuture<Boolean> doTruncateAsync(ChunkHandle handle, long offset, OperationContext opContext) {
+        return execute(() -> {
+            throw new UnsupportedOperationException();
+        }, opContext);
+    }
+
+    @Override
+    protected CompletableFuture<Void> doSetReadOnlyAsync(ChunkHandle handle, boolean isReadOnly, OperationContext opContext) {
+        return execute(() -> {
+            // Any cached channel may have been opened for writing.
+            invalidate(handle.getChunkName());
+            this.syncStorage.doSetReadOnly(handle, isReadOnly);
+            return null;
+        }, opContext);
+    }
+
+    //endregion
+
+    //region Read and Write
+
+    @Override
+    protected CompletableFuture<Integer> doReadAsync(ChunkHandle handle, long fromOffset, int length, byte[] buffer, int bufferOffset, OperationContext opContext) {
+        return doReadAsync(handle, fromOffset, ByteBuffer.wrap(buffer, bufferOffset, length), opContext);
+    }
+
+    @Override
+    protected CompletableFuture<Integer> doReadAsync(ChunkHandle handle, long fromOffset, ByteBuffer buffer, OperationContext opContext) {
+        val timer = new Timer();
+        return withChannel(handle.getChunkName(), false, "doRead", channel -> {
+            long fileSize = channel.getChannel().size();
+            if (fileSize < fromOffset) {
+                throw new IllegalArgumentException(String.format("Reading at offset (%d) which is beyond the " +
+                        "current size of chunk (%d).", fromOffset, fileSize));
+            }
+
+            val length = buffer.remaining();
+            val totalBytesRead = new AtomicInteger();
+            val endOfFile = new AtomicBoolean();
+            return Futures.loop(
+                    () -> !endOfFile.get() && totalBytesRead.get() < length,
+                    () -> read(channel.getChannel(), buffer, fromOffset + totalBytesRead.get()),
+                    bytesRead -> {
+                        if (bytesRead < 0) {
+                            endOfFile.set(true);
+                        } else {
+                            totalBytesRead.addAndGet(bytesRead);
+                        }
+                    },
+                    this.ioExecutor)
+                    .thenApply(v -> {
+                        opContext.setInclusiveLatency(timer.getElapsed());
+                        return totalBytesRead.get();
+                    });
+        });
+    }
+
+    @Override
+    protected CompletableFuture<Integer> doWriteAsync(ChunkHandle handle, long offset, int length, InputStream data, OperationContext opContext) {
+        // The InputStream is only consumed after the offset has been validated.
+        return write(handle, offset, () -> length == 0 ? BufferView.empty() : new ByteArraySegment(StreamHelpers.readAll(data, length)), opContext);
+    }
+
+    @Override
+    protected CompletableFuture<Integer> doWriteAsync(ChunkHandle handle, long offset, BufferView data, OperationContext opContext) {
+        return write(handle, offset, () -> data, opContext);
+    }
+
+    private CompletableFuture<Integer> write(ChunkHandle handle, long offset, Callable<BufferView> getData, OperationContext opContext) {
+        val timer = new Timer();
+        return withChannel(handle.getChunkName(), true, "doWrite", channel -> {
+            long fileSize = channel.getChannel().size();
+            if (fileSize != offset) {
+                throw new InvalidOffsetException(handle.getChunkName(), fileSize, offset, "doWrite");
+            }
+
+            // Write each component buffer of the BufferView in sequence, then wait for it to be made durable.
+            val buffers = getData.call().iterateBuffers();
+            val currentBuffer = new AtomicReference<ByteBuffer>();
+            val writeOffset = new AtomicLong(offset);
+            return Futures.loop(
+                    () -> {
+                        while (currentBuffer.get() == null || !currentBuffer.get().hasRemaining()) {
+                            if (!buffers.hasNext()) {
+                                return false;
+                            }
+                            currentBuffer.set(buffers.next());
+                        }
+                        return true;
+                    },
+                    () -> write(channel.getChannel(), currentBuffer.get(), writeOffset.get()),
+                    bytesWritten -> writeOffset.addAndGet(bytesWritten),
+                    this.ioExecutor)
+                    .thenCompose(v -> channel.force())
+                    .thenApply(v -> {
+                        opContext.setInclusiveLatency(timer.getElapsed());
+                        return (int) (writeOffset.get() - offset);
+                    });
+        });
+    }
+
+    private static CompletableFuture<Integer> read(AsynchronousFileChannel channel, ByteBuffer buffer, long position) {
+        val result = new CompletableFuture<Integer>();
+        channel.read(buffer, position, result, COMPLETION_HANDLER);
+        return result;
+    }
+
+    private static CompletableFuture<Integer> write(AsynchronousFileChannel channel, ByteBuffer buffer, long position) {
+        val result = new CompletableFuture<Integer>();
+        channel.write(buffer, position, result, COMPLETION_HANDLER);
+        return result;
+    }
+
+    private static final CompletionHandler<Integer, CompletableFuture<Integer>> COMPLETION_HANDLER = new CompletionHandler<Integer, CompletableFuture<Integer>>() {
+        @Override
+        public void completed(Integer result, CompletableFuture<Integer> future) {
+            future.complete(result);
+        }
+
+        @Override
+        public void failed(Throwable ex, CompletableFuture<Integer> future) {
+            future.completeExceptionally(ex);
+        }
+    };
+
+    //endregion
+
+    //region Channel Cache
+
+    /**
+     * Executes the given operation using an {@link OpenChannel} for the given chunk. The channel is released once the
+     * operation completes, and any I/O exceptions are translated into {@link ChunkStorageException}s.
+     */
+    private <T> CompletableFuture<T> withChannel(String chunkName, boolean forWrite, String operationName, ChannelOperation<T> operation) {
+        CompletableFuture<T> result = acquire(chunkName, forWrite)
+                .thenCompose(channel -> {
+                    CompletableFuture<T> operationResult;
+                    try {
+                        operationResult = operation.apply(channel);
+                    } catch (Exception ex) {
+                        operationResult = CompletableFuture.failedFuture(ex);
+                    }
+                    return operationResult.whenComplete((r, ex) -> release(channel));
+                });
+        return Futures.exceptionallyCompose(result, ex -> {
+            val cause = Exceptions.unwrap(ex);
+            if (cause instanceof IOException || cause instanceof ChunkStorageException) {
+                return CompletableFuture.failedFuture(this.syncStorage.convertExeption(chunkName, operationName, (Exception) cause));
+            }
+            return CompletableFuture.failedFuture(cause);
+        });
+    }
+
+    private CompletableFuture<OpenChannel> acquire(String chunkName, boolean forWrite) {
+        synchronized (this.openChannels) {
+            val existing = this.openChannels.get(chunkName);
+            if (existing != null && (existing.isWritable() || !forWrite)) {
+                existing.refCount++;
+                return CompletableFuture.completedFuture(existing);
+            }
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return open(chunkName, forWrite);
+            } catch (IOException ex) {
+                throw new CompletionException(ex);
+            }
+        }, this.ioExecutor);
+    }
+
+    private OpenChannel open(String chunkName, boolean forWrite) throws IOException {
+        val path = this.syncStorage.getFilePath(chunkName);
+        val newChannel = new OpenChannel(this.fileSystem.getAsyncFileChannel(path, forWrite ? WRITE_OPTIONS : READ_OPTIONS, this.ioExecutor), forWrite);
+        val toClose = new ArrayList<OpenChannel>();
+        OpenChannel result;
+        synchronized (this.openChannels) {
+            val existing = this.openChannels.get(chunkName);
+            if (existing != null && (existing.isWritable() || !forWrite)) {
+                // Someone else opened a suitable channel in the meantime.
+                existing.refCount++;
+                result = existing;
+                toClose.add(newChannel);
+            } else {
+                if (existing != null) {
+                    this.openChannels.remove(chunkName);
+                    evict(existing, toClose);
+                }
+
+                newChannel.refCount++;
+                this.openChannels.put(chunkName, newChannel);
+                result = newChannel;
+
+                // Evict the least recently used channels if we have too many.
+                val iterator = this.openChannels.values().iterator();
+                while (this.openChannels.size() > this.maxOpenChannels && iterator.hasNext()) {
+                    val c = iterator.next();
+                    if (c != newChannel) {
+                        iterator.remove();
+                        evict(c, toClose);
+                    }
+                }
+            }
+        }
+
+        toClose.forEach(OpenChannel::close);
+        return result;
+    }
+
+    private void release(OpenChannel channel) {
+        boolean close;
+        synchronized (this.openChannels) {
+            channel.refCount--;
+            close = channel.evicted && channel.refCount == 0;
+        }
+
+        if (close) {
+            channel.close();
+        }
+    }
+
+    private void invalidate(String chunkName) {
+        val toClose = new ArrayList<OpenChannel>();
+        synchronized (this.openChannels) {
+            val existing = this.openChannels.remove(chunkName);
+            if (existing != null) {
+                evict(existing, toClose);
+            }
+        }
+
+        toClose.forEach(OpenChannel::close);
+    }
+
+    @GuardedBy("openChannels")
+    private void evict(OpenChannel channel, List<OpenChannel> toClose) {
+        channel.evicted = true;
+        if (channel.refCount == 0) {
+            // Nobody is using it; it can be closed right away. Otherwise it will be closed when last released.
+            toClose.add(channel);
+        }
+    }
+
+    //endregion
+
+    //region Helper Classes
+
+    @FunctionalInterface
+    private interface ChannelOperation<T> {
+        CompletableFuture<T> apply(OpenChannel channel) throws Exception;
+    }
+
+    /**
+     * An {@link AsynchronousFileChannel} in the cache, along with its reference count and pending force requests.
+     */
+    private class OpenChannel {
+        @Getter
+        private final AsynchronousFileChannel channel;
+        @Getter
+        private final boolean writable;
+        @GuardedBy("openChannels")
+        private int refCount;
+        @GuardedBy("openChannels")
+        private boolean evicted;
+        private final Object forceLock = new Object();
+        /**
+         * Completed when the next force (that has not yet started) completes.
+         */
+        @GuardedBy("forceLock")
+        private CompletableFuture<Void> pendingForce;
+        @GuardedBy("forceLock")
+        private boolean forceRunning;
+
+        OpenChannel(AsynchronousFileChannel channel, boolean writable) {
+            this.channel = channel;
+            this.writable = writable;
+        }
+
+        /**
+         * Forces all data previously written to this channel to the storage device. If a force is already in progress,
+         * this waits for it to complete and then issues a single force for all the callers that arrived in the meantime.
+         *
+         * @return A CompletableFuture that will be completed when the data has been made durable.
+         */
+        CompletableFuture<Void> force() {
+            CompletableFuture<Void> result;
+            boolean start = false;
+            synchronized (this.forceLock) {
+                if (this.pendingForce == null) {
+                    this.pendingForce = new CompletableFuture<>();
+                }
+                result = this.pendingForce;
+                if (!this.forceRunning) {
+                    this.forceRunning = true;
+                    start = true;
+                }
+            }
+
+            if (start) {
+                runForce();
+            }
+            return result;
+        }
+
+        private void runForce() {
+            CompletableFuture<Void> toComplete;
+            synchronized (this.forceLock) {
+                toComplete = this.pendingForce;
+                this.pendingForce = null;
+            }
+
+            try {
+                ioExecutor.execute(() -> {
+                    try {
+                        this.channel.force(true);
+                        toComplete.complete(null);
+                    } catch (Throwable ex) {
+                        toComplete.completeExceptionally(ex);
+                    }
+
+                    boolean again;
+                    synchronized (this.forceLock) {
+                        again = this.pendingForce != null;
+                        this.forceRunning = again;
+                    }
+                    if (again) {
+                        runForce();
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                // We are shutting down.
+                synchronized (this.forceLock) {
+                    this.forceRunning = false;
+                }
+                toComplete.completeExceptionally(ex);
+            }
+        }
+
+        void close() {
+            try {
+                this.channel.close();
+            } catch (IOException ex) {
+                log.warn("AsyncFileSystemChunkStorage: Unable to close channel.", ex);
+            }
+        }
+    }
+
+    //endregion
+}
@@ -16,6 +16,7 @@
 package io.pravega.storage.filesystem;
 
 import com.google.common.base.Preconditions;
+import io.pravega.common.util.BufferView;
 import io.pravega.segmentstore.storage.chunklayer.BaseChunkStorage;
 import io.pravega.segmentstore.storage.chunklayer.ChunkAlreadyExistsException;
 import io.pravega.segmentstore.storage.chunklayer.ChunkHandle;
@@ -45,6 +46,7 @@ import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * {@link ChunkStorage} for file system based storage.
@@ -205,17 +207,41 @@ public class FileSystemChunkStorage extends BaseChunkStorage {
             throw convertExeption(handle.getChunkName(), "doRead", e);
         }
 
+        return readFromChannel(handle, path, fromOffset, ByteBuffer.wrap(buffer, bufferOffset, length));
+    }
+
+    @Override
+    protected int doRead(ChunkHandle handle, long fromOffset, ByteBuffer buffer) throws ChunkStorageException {
+        Path path = getFilePath(handle.getChunkName());
+        try {
+            long fileSize = fileSystem.getFileSize(path);
+            if (fileSize < fromOffset) {
+                throw new IllegalArgumentException(String.format("Reading at offset (%d) which is beyond the " +
+                        "current size of chunk (%d).", fromOffset, fileSize));
+            }
+        } catch (IOException e) {
+            throw convertExeption(handle.getChunkName(), "doRead", e);
+        }
+
+        return readFromChannel(handle, path, fromOffset, buffer);
+    }
+
+    private int readFromChannel(ChunkHandle handle, Path path, long fromOffset, ByteBuffer buffer) throws ChunkStorageException {
+        // Positional reads directly into the target buffer. If it is a direct buffer, this avoids any heap copies.
         try (FileChannel channel = fileSystem.getFileChannel(path, StandardOpenOption.READ)) {
+            int length = buffer.remaining();
             int totalBytesRead = 0;
             long readOffset = fromOffset;
-            do {
-                ByteBuffer readBuffer = ByteBuffer.wrap(buffer, bufferOffset, length);
-                int bytesRead = channel.read(readBuffer, readOffset);
-                bufferOffset += bytesRead;
+            while (totalBytesRead < length) {
+                int bytesRead = channel.read(buffer, readOffset);
+                if (bytesRead < 0) {
+                    // Reached the end of the file.
+                    break;
+                }
+
                 totalBytesRead += bytesRead;
-                length -= bytesRead;
                 readOffset += bytesRead;
-            } while (length > 0);
+            }
             return totalBytesRead;
         } catch (IOException e) {
             throw convertExeption(handle.getChunkName(), "doRead", e);
@@ -250,6 +276,30 @@ public class FileSystemChunkStorage extends BaseChunkStorage {
         return (int) totalBytesWritten;
     }
 
+    @Override
+    protected int doWrite(ChunkHandle handle, long offset, BufferView data) throws ChunkStorageException {
+        Path path = getFilePath(handle.getChunkName());
+        try (FileChannel channel = fileSystem.getFileChannel(path, StandardOpenOption.WRITE)) {
+            long fileSize = channel.size();
+            if (fileSize != offset) {
+                throw new InvalidOffsetException(handle.getChunkName(), fileSize, offset, "doWrite");
+            }
+
+            // Write each component buffer directly using positional writes. Unlike doWrite(InputStream), this does not
+            // need to copy the data into an intermediate heap buffer.
+            val writeOffset = new AtomicLong(offset);
+            data.collect(buffer -> {
+                while (buffer.hasRemaining()) {
+                    writeOffset.addAndGet(channel.write(buffer, writeOffset.get()));
+                }
+            });
+            channel.force(true);
+            return (int) (writeOffset.get() - offset);
+        } catch (IOException e) {
+            throw convertExeption(handle.getChunkName(), "doWrite", e);
+        }
+    }
+
     @Override
     public int doConcat(ConcatArgument[] chunks) throws ChunkStorageException {
         try {
@@ -293,7 +343,7 @@ public class FileSystemChunkStorage extends BaseChunkStorage {
         }
     }
 
-    private ChunkStorageException convertExeption(String chunkName, String message, Exception e) {
+    ChunkStorageException convertExeption(String chunkName, String message, Exception e) {
         if (e instanceof ChunkStorageException) {
             return (ChunkStorageException) e;
         }
@@ -306,7 +356,7 @@ public class FileSystemChunkStorage extends BaseChunkStorage {
         return new ChunkStorageException(chunkName, message, e);
     }
 
-    private Path getFilePath(String chunkName) {
+    Path getFilePath(String chunkName) {
         return Paths.get(config.getRoot(), chunkName);
     }
     //endregion
@@ -17,6 +17,7 @@ package io.pravega.storage.filesystem;
 
 import io.pravega.segmentstore.storage.SimpleStorageFactory;
 import io.pravega.segmentstore.storage.Storage;
+import io.pravega.segmentstore.storage.chunklayer.ChunkStorage;
 import io.pravega.segmentstore.storage.chunklayer.ChunkedSegmentStorage;
 import io.pravega.segmentstore.storage.chunklayer.ChunkedSegmentStorageConfig;
 import io.pravega.segmentstore.storage.metadata.ChunkMetadataStore;
@@ -27,7 +28,8 @@ import lombok.RequiredArgsConstructor;
 import java.util.concurrent.ScheduledExecutorService;
 
 /**
- * Factory for FileSystem {@link Storage} implemented using {@link ChunkedSegmentStorage} and {@link FileSystemChunkStorage}.
+ * Factory for FileSystem {@link Storage} implemented using {@link ChunkedSegmentStorage} and {@link FileSystemChunkStorage}
+ * (or {@link AsyncFileSystemChunkStorage}, if {@link FileSystemStorageConfig#isAsyncIOEnabled()}).
  */
 @RequiredArgsConstructor
 public class FileSystemSimpleStorageFactory implements SimpleStorageFactory {
@@ -44,8 +46,11 @@ public class FileSystemSimpleStorageFactory implements SimpleStorageFactory {
 
     @Override
     public Storage createStorageAdapter(int containerId, ChunkMetadataStore metadataStore) {
+        ChunkStorage chunkStorage = this.config.isAsyncIOEnabled()
+                ? new AsyncFileSystemChunkStorage(this.config, this.executor)
+                : new FileSystemChunkStorage(this.config, this.executor);
         ChunkedSegmentStorage chunkedSegmentStorage = new ChunkedSegmentStorage(containerId,
-                new FileSystemChunkStorage(this.config, this.executor),
+                chunkStorage,
                 metadataStore,
                 this.executor,
                 this.chunkedSegmentStorageConfig);
@@ -31,6 +31,9 @@ public class FileSystemStorageConfig {
 
     public static final Property<String> ROOT = Property.named("root", "/fs/");
     public static final Property<Boolean> REPLACE_ENABLED = Property.named("replace.enable", false);
+    public static final Property<Boolean> ASYNC_IO_ENABLED = Property.named("async.io.enable", false);
+    public static final Property<Integer> ASYNC_IO_THREAD_POOL_SIZE = Property.named("async.io.threadPool.size", 8);
+    public static final Property<Integer> ASYNC_IO_MAX_OPEN_CHANNELS = Property.named("async.io.openChannels.max", 256);
     public static final String COMPONENT_CODE = "filesystem";
 
     //endregion
@@ -51,6 +54,25 @@ public class FileSystemStorageConfig {
     @Getter
     private final boolean replaceEnabled;
 
+    /**
+     * Whether {@link FileSystemSimpleStorageFactory} should use {@link AsyncFileSystemChunkStorage} instead of
+     * {@link FileSystemChunkStorage}.
+     */
+    @Getter
+    private final boolean asyncIOEnabled;
+
+    /**
+     * Number of threads used by {@link AsyncFileSystemChunkStorage} to perform file I/O.
+     */
+    @Getter
+    private final int asyncIOThreadPoolSize;
+
+    /**
+     * Maximum number of file channels that {@link AsyncFileSystemChunkStorage} keeps open.
+     */
+    @Getter
+    private final int asyncIOMaxOpenChannels;
+
     //endregion
 
     //region Constructor
@@ -63,6 +85,15 @@ public class FileSystemStorageConfig {
     private FileSystemStorageConfig(TypedProperties properties) throws ConfigurationException {
         this.root = properties.get(ROOT);
         this.replaceEnabled = properties.getBoolean(REPLACE_ENABLED);
+        this.asyncIOEnabled = properties.getBoolean(ASYNC_IO_ENABLED);
+        this.asyncIOThreadPoolSize = properties.getInt(ASYNC_IO_THREAD_POOL_SIZE);
+        if (this.asyncIOThreadPoolSize <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", ASYNC_IO_THREAD_POOL_SIZE));
+        }
+        this.asyncIOMaxOpenChannels = properties.getInt(ASYNC_IO_MAX_OPEN_CHANNELS);
+        if (this.asyncIOMaxOpenChannels <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", ASYNC_IO_MAX_OPEN_CHANNELS));
+        }
     }
 
     /**
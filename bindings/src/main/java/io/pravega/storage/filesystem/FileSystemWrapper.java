@@ -18,6 +18,7 @@ package io.pravega.storage.filesystem;
 import com.google.common.collect.ImmutableSet;
 
 import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
@@ -26,6 +27,7 @@ import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileAttribute;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Wrapper for File System calls.
@@ -118,6 +120,18 @@ public class FileSystemWrapper {
         return FileChannel.open(path, openOption);
     }
 
+    /**
+     * Creates an {@link AsynchronousFileChannel} for given path.
+     * @param path File path.
+     * @param openOptions Open options. {@link StandardOpenOption}
+     * @param executor The thread pool that will handle I/O events and completion handlers for the channel.
+     * @return The channel.
+     * @throws IOException Exception thrown by file system call.
+     */
+    AsynchronousFileChannel getAsyncFileChannel(Path path, Set<StandardOpenOption> openOptions, ExecutorService executor) throws IOException {
+        return AsynchronousFileChannel.open(path, openOptions, executor);
+    }
+
     /**
      * Gets the size of file in bytes.
      * @param path File path.
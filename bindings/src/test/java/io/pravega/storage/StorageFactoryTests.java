@@ -29,6 +29,8 @@ import io.pravega.storage.extendeds3.ExtendedS3SimpleStorageFactory;
 import io.pravega.storage.extendeds3.ExtendedS3StorageConfig;
 import io.pravega.storage.extendeds3.ExtendedS3StorageFactory;
 import io.pravega.storage.extendeds3.ExtendedS3StorageFactoryCreator;
+import io.pravega.storage.filesystem.AsyncFileSystemChunkStorage;
+import io.pravega.storage.filesystem.FileSystemChunkStorage;
 import io.pravega.storage.filesystem.FileSystemSimpleStorageFactory;
 import io.pravega.storage.filesystem.FileSystemStorageConfig;
 import io.pravega.storage.filesystem.FileSystemStorageFactory;
@@ -173,6 +175,16 @@ public class StorageFactoryTests extends ThreadPooledTestSuite {
         @Cleanup
         Storage storage1 = ((FileSystemSimpleStorageFactory) factory1).createStorageAdapter(42, new InMemoryMetadataStore(ChunkedSegmentStorageConfig.DEFAULT_CONFIG, executorService()));
         Assert.assertTrue(storage1 instanceof ChunkedSegmentStorage);
+        Assert.assertTrue(((ChunkedSegmentStorage) storage1).getChunkStorage() instanceof FileSystemChunkStorage);
+
+        // Simple Storage with async I/O.
+        ConfigSetup configSetup3 = mock(ConfigSetup.class);
+        when(configSetup3.getConfig(any())).thenReturn(ChunkedSegmentStorageConfig.DEFAULT_CONFIG,
+                FileSystemStorageConfig.builder().with(FileSystemStorageConfig.ASYNC_IO_ENABLED, true).build());
+        val factory3 = factoryCreator.createFactory(expected[0], configSetup3, executorService());
+        @Cleanup
+        Storage storage3 = ((FileSystemSimpleStorageFactory) factory3).createStorageAdapter(42, new InMemoryMetadataStore(ChunkedSegmentStorageConfig.DEFAULT_CONFIG, executorService()));
+        Assert.assertTrue(((ChunkedSegmentStorage) storage3).getChunkStorage() instanceof AsyncFileSystemChunkStorage);
 
         // Legacy Storage
         ConfigSetup configSetup2 = mock(ConfigSetup.class);
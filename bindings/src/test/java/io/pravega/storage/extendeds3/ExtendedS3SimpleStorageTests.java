@@ -15,16 +15,23 @@
  */
 package io.pravega.storage.extendeds3;
 
+import io.pravega.segmentstore.storage.chunklayer.ChunkHandle;
 import io.pravega.segmentstore.storage.chunklayer.ChunkStorage;
 import io.pravega.segmentstore.storage.chunklayer.ChunkStorageTests;
 import io.pravega.segmentstore.storage.chunklayer.ChunkedRollingStorageTests;
 import io.pravega.segmentstore.storage.chunklayer.SimpleStorageTests;
 import io.pravega.segmentstore.storage.chunklayer.SystemJournalTests;
+import lombok.Cleanup;
 import lombok.val;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -115,6 +122,36 @@ public class ExtendedS3SimpleStorageTests extends SimpleStorageTests {
             assertTrue(getChunkStorage().supportsAppend());
             assertFalse(getChunkStorage().supportsTruncation());
             assertTrue(getChunkStorage().supportsConcat());
+            assertTrue(getChunkStorage().supportsBatchDelete());
+        }
+
+        /**
+         * Test that large chunks are created using multi part upload.
+         */
+        @Test
+        public void testCreateWithContentMultipart() throws Exception {
+            val config = ExtendedS3StorageConfig.builder()
+                    .with(ExtendedS3StorageConfig.CONFIGURI, testContext.configUri)
+                    .with(ExtendedS3StorageConfig.BUCKET, testContext.adapterConfig.getBucket())
+                    .with(ExtendedS3StorageConfig.PREFIX, testContext.adapterConfig.getPrefix())
+                    .with(ExtendedS3StorageConfig.MULTIPART_UPLOAD_THRESHOLD, 10)
+                    .with(ExtendedS3StorageConfig.MULTIPART_UPLOAD_PART_SIZE, 4)
+                    .build();
+            @Cleanup
+            val chunkStorage = new ExtendedS3ChunkStorage(testContext.client, config, executorService(), true, false);
+
+            for (int length : new int[] {10, 12, 25}) {
+                val chunkName = "multipart" + length;
+                val data = new byte[length];
+                new Random(length).nextBytes(data);
+                val handle = chunkStorage.createWithContent(chunkName, length, new ByteArrayInputStream(data)).get();
+                assertEquals(length, chunkStorage.getInfo(chunkName).get().getLength());
+
+                val readBuffer = new byte[length];
+                assertEquals(length, (int) chunkStorage.read(ChunkHandle.readHandle(chunkName), 0, length, readBuffer, 0).get());
+                assertArrayEquals(data, readBuffer);
+                assertFalse(handle.isReadOnly());
+            }
         }
     }
 
@@ -24,6 +24,7 @@ import com.emc.object.s3.bean.CopyPartResult;
 import com.emc.object.s3.bean.DeleteObjectsResult;
 import com.emc.object.s3.bean.GetObjectResult;
 import com.emc.object.s3.bean.ListObjectsResult;
+import com.emc.object.s3.bean.MultipartPartETag;
 import com.emc.object.s3.bean.PutObjectResult;
 import com.emc.object.s3.jersey.S3JerseyClient;
 import com.emc.object.s3.request.AbortMultipartUploadRequest;
@@ -32,6 +33,7 @@ import com.emc.object.s3.request.CopyPartRequest;
 import com.emc.object.s3.request.DeleteObjectsRequest;
 import com.emc.object.s3.request.PutObjectRequest;
 import com.emc.object.s3.request.SetObjectAclRequest;
+import com.emc.object.s3.request.UploadPartRequest;
 import java.io.InputStream;
 import java.util.Collections;
 import lombok.NonNull;
@@ -128,6 +130,11 @@ public class S3ClientMock extends S3JerseyClient {
         return s3Impl.copyPart(request);
     }
 
+    @Override
+    public MultipartPartETag uploadPart(UploadPartRequest request) {
+        return s3Impl.uploadPart(request);
+    }
+
     @Synchronized
     @Override
     public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
@@ -24,6 +24,7 @@ import com.emc.object.s3.bean.CopyPartResult;
 import com.emc.object.s3.bean.DeleteObjectsResult;
 import com.emc.object.s3.bean.GetObjectResult;
 import com.emc.object.s3.bean.ListObjectsResult;
+import com.emc.object.s3.bean.MultipartPartETag;
 import com.emc.object.s3.bean.ObjectKey;
 import com.emc.object.s3.bean.PutObjectResult;
 import com.emc.object.s3.bean.S3Object;
@@ -33,6 +34,7 @@ import com.emc.object.s3.request.CopyPartRequest;
 import com.emc.object.s3.request.DeleteObjectsRequest;
 import com.emc.object.s3.request.PutObjectRequest;
 import com.emc.object.s3.request.SetObjectAclRequest;
+import com.emc.object.s3.request.UploadPartRequest;
 import io.pravega.common.io.StreamHelpers;
 import io.pravega.common.util.BufferView;
 import io.pravega.common.util.ByteArraySegment;
@@ -46,6 +48,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -60,7 +63,7 @@ public class S3Mock {
     //region Private
 
     @GuardedBy("objects")
-    private final Map<String, Map<Integer, CopyPartRequest>> multipartUploads;
+    private final Map<String, Map<Integer, Supplier<BufferView>>> multipartUploads;
     private final AtomicLong multipartNextId = new AtomicLong(0);
     @GuardedBy("objects")
     private final Map<String, ObjectData> objects;
@@ -175,7 +178,7 @@ public class S3Mock {
     public CopyPartResult copyPart(CopyPartRequest request) {
         String objectName = getObjectName(request.getBucketName(), request.getKey());
         synchronized (this.objects) {
-            Map<Integer, CopyPartRequest> partMap = this.multipartUploads.get(objectName);
+            Map<Integer, Supplier<BufferView>> partMap = this.multipartUploads.get(objectName);
             if (partMap == null) {
                 throw new S3Exception("NoSuchUpload", HttpStatus.SC_NOT_FOUND, "NoSuchUpload", "");
             }
@@ -184,7 +187,15 @@ public class S3Mock {
                 // we want to make sure we don't do it.
                 throw new S3Exception("Part exists already.", HttpStatus.SC_BAD_REQUEST, "InvalidArgument", "");
             }
-            partMap.put(request.getPartNumber(), request);
+            // The source is only looked up when the upload is completed.
+            String partObjectName = getObjectName(request.getBucketName(), request.getSourceKey());
+            partMap.put(request.getPartNumber(), () -> {
+                ObjectData od = this.objects.get(partObjectName);
+                if (od == null) {
+                    throw new S3Exception("NoSuchKey", HttpStatus.SC_NOT_FOUND, "NoSuchKey", "");
+                }
+                return od.content;
+            });
             CopyPartResult result = new CopyPartResult();
             result.setPartNumber(request.getPartNumber());
             result.setETag(request.getUploadId());
@@ -192,6 +203,34 @@ public class S3Mock {
         }
     }
 
+    public MultipartPartETag uploadPart(UploadPartRequest request) {
+        String objectName = getObjectName(request.getBucketName(), request.getKey());
+        final BufferView content;
+        try {
+            content = new ByteArraySegment(toBytes(request.getObject()));
+        } catch (IOException ex) {
+            throw new S3Exception("Copy error", HttpStatus.SC_INTERNAL_SERVER_ERROR);
+        }
+        synchronized (this.objects) {
+            Map<Integer, Supplier<BufferView>> partMap = this.multipartUploads.get(objectName);
+            if (partMap == null) {
+                throw new S3Exception("NoSuchUpload", HttpStatus.SC_NOT_FOUND, "NoSuchUpload", "");
+            }
+            if (partMap.containsKey(request.getPartNumber())) {
+                throw new S3Exception("Part exists already.", HttpStatus.SC_BAD_REQUEST, "InvalidArgument", "");
+            }
+            partMap.put(request.getPartNumber(), () -> content);
+            return new MultipartPartETag(request.getPartNumber(), request.getUploadId());
+        }
+    }
+
+    private byte[] toBytes(Object object) throws IOException {
+        if (object instanceof byte[]) {
+            return (byte[]) object;
+        }
+        return ((InputStream) object).readAllBytes();
+    }
+
     public void deleteObject(String bucketName, String key) {
         String objectName = getObjectName(bucketName, key);
         synchronized (this.objects) {
@@ -202,8 +241,11 @@ public class S3Mock {
     }
 
     public DeleteObjectsResult deleteObjects(DeleteObjectsRequest request) {
-        for (ObjectKey obj : request.getDeleteObjects().getKeys()) {
-            deleteObject(request.getBucketName(), obj.getKey());
+        // Like S3, deleting a missing key in a multi-object delete is not an error.
+        synchronized (this.objects) {
+            for (ObjectKey obj : request.getDeleteObjects().getKeys()) {
+                this.objects.remove(getObjectName(request.getBucketName(), obj.getKey()));
+            }
         }
         return new DeleteObjectsResult();
     }
@@ -275,15 +317,11 @@ public class S3Mock {
     public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
         String objectName = getObjectName(request.getBucketName(), request.getKey());
         synchronized (this.objects) {
-            Map<Integer, CopyPartRequest> partMap = this.multipartUploads.get(objectName);
+            Map<Integer, Supplier<BufferView>> partMap = this.multipartUploads.get(objectName);
             if (partMap == null) {
                 throw new S3Exception("NoSuchKey", HttpStatus.SC_NOT_FOUND, "NoSuchKey", "");
             }
 
-            if (!this.objects.containsKey(objectName)) {
-                throw new S3Exception("NoSuchKey", HttpStatus.SC_NOT_FOUND, "NoSuchKey", "");
-            }
-
             val partObjects = partMap.entrySet().stream().sorted(Comparator.comparingInt(Map.Entry::getKey))
                     .collect(Collectors.toList());
             val builder = BufferView.builder();
@@ -295,15 +333,16 @@ public class S3Mock {
                     // Make sure all the parts are there.
                     throw new S3Exception("InvalidPart", HttpStatus.SC_BAD_REQUEST, "InvalidPart", "");
                 }
-                String partObjectName = getObjectName(e.getValue().getBucketName(), e.getValue().getSourceKey());
-                ObjectData od = this.objects.get(partObjectName);
-                if (od == null) {
-                    throw new S3Exception("NoSuchKey", HttpStatus.SC_NOT_FOUND, "NoSuchKey", "");
-                }
-                builder.add(od.content);
+                builder.add(e.getValue().get());
             });
 
-            this.objects.get(objectName).content = builder.build();
+            // Like S3, completing an upload creates the object if it does not exist.
+            ObjectData od = this.objects.get(objectName);
+            if (od == null) {
+                this.objects.put(objectName, new ObjectData(builder.build(), null));
+            } else {
+                od.content = builder.build();
+            }
             this.multipartUploads.remove(request.getKey());
         }
 
@@ -313,7 +352,7 @@ public class S3Mock {
     public void abortMultipartUpload(AbortMultipartUploadRequest request) {
         String objectName = getObjectName(request.getBucketName(), request.getKey());
         synchronized (this.objects) {
-            Map<Integer, CopyPartRequest> partMap = this.multipartUploads.remove(objectName);
+            Map<Integer, Supplier<BufferView>> partMap = this.multipartUploads.remove(objectName);
             if (partMap == null) {
                 throw new S3Exception("NoSuchKey", HttpStatus.SC_NOT_FOUND, "NoSuchKey", "");
             }
@@ -0,0 +1,153 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.storage.filesystem;
+
+import io.pravega.common.concurrent.Futures;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.storage.chunklayer.ChunkHandle;
+import io.pravega.segmentstore.storage.chunklayer.ChunkStorage;
+import io.pravega.segmentstore.storage.chunklayer.ChunkStorageTests;
+import io.pravega.segmentstore.storage.chunklayer.ChunkedRollingStorageTests;
+import io.pravega.segmentstore.storage.chunklayer.SimpleStorageTests;
+import io.pravega.segmentstore.storage.chunklayer.SystemJournalTests;
+import lombok.val;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link AsyncFileSystemChunkStorage} based {@link io.pravega.segmentstore.storage.Storage}.
+ */
+public class AsyncFileSystemSimpleStorageTest extends SimpleStorageTests {
+    private static final int MAX_OPEN_CHANNELS = 4;
+
+    private static ChunkStorage newChunkStorage(Executor executor) throws IOException {
+        File baseDir = Files.createTempDirectory("test_nfs").toFile().getAbsoluteFile();
+        return new AsyncFileSystemChunkStorage(FileSystemStorageConfig
+                .builder()
+                .with(FileSystemStorageConfig.ROOT, baseDir.getAbsolutePath())
+                .with(FileSystemStorageConfig.ASYNC_IO_ENABLED, true)
+                .with(FileSystemStorageConfig.ASYNC_IO_THREAD_POOL_SIZE, 2)
+                .with(FileSystemStorageConfig.ASYNC_IO_MAX_OPEN_CHANNELS, MAX_OPEN_CHANNELS)
+                .build(),
+                executor);
+    }
+
+    protected ChunkStorage getChunkStorage()  throws Exception {
+        return newChunkStorage(executorService());
+    }
+
+    /**
+     * {@link ChunkedRollingStorageTests} tests for {@link AsyncFileSystemChunkStorage} based {@link io.pravega.segmentstore.storage.Storage}.
+     */
+    public static class AsyncFileSystemRollingTests extends ChunkedRollingStorageTests {
+        protected ChunkStorage getChunkStorage()  throws Exception {
+            return newChunkStorage(executorService());
+        }
+    }
+
+    /**
+     * {@link ChunkStorageTests} tests for {@link AsyncFileSystemChunkStorage} based {@link io.pravega.segmentstore.storage.Storage}.
+     */
+    public static class AsyncFileSystemChunkStorageTests extends ChunkStorageTests {
+        @Override
+        protected ChunkStorage createChunkStorage() throws Exception {
+            return newChunkStorage(executorService());
+        }
+
+        /**
+         * Test default capabilities.
+         */
+        @Test
+        public void testCapabilities() {
+            assertEquals(true, getChunkStorage().supportsAppend());
+            assertEquals(false, getChunkStorage().supportsTruncation());
+            assertEquals(true, getChunkStorage().supportsConcat());
+        }
+
+        /**
+         * Tests concurrent writes and reads to more chunks than the number of channels that can be kept open.
+         */
+        @Test
+        public void testConcurrentWritesManyChunks() throws Exception {
+            final int chunkCount = MAX_OPEN_CHANNELS * 3;
+            final int writeCount = 10;
+            final int writeLength = 100;
+            val rnd = new Random(0);
+            val handles = new ArrayList<ChunkHandle>();
+            val contents = new ArrayList<byte[]>();
+            for (int i = 0; i < chunkCount; i++) {
+                handles.add(getChunkStorage().create("chunk" + i).join());
+                val data = new byte[writeCount * writeLength];
+                rnd.nextBytes(data);
+                contents.add(data);
+            }
+
+            // Writes to the same chunk must be sequential, but writes to different chunks are done in parallel.
+            val writeFutures = new ArrayList<CompletableFuture<Void>>();
+            for (int i = 0; i < chunkCount; i++) {
+                val handle = handles.get(i);
+                val data = contents.get(i);
+                CompletableFuture<Void> f = CompletableFuture.completedFuture(null);
+                for (int j = 0; j < writeCount; j++) {
+                    val offset = j * writeLength;
+                    f = f.thenCompose(v -> getChunkStorage().write(handle, offset, new ByteArraySegment(data, offset, writeLength))
+                            .thenAccept(bytesWritten -> assertEquals(writeLength, (int) bytesWritten)));
+                }
+                writeFutures.add(f);
+            }
+            Futures.allOf(writeFutures).join();
+
+            // Read everything back in parallel.
+            val readFutures = new ArrayList<CompletableFuture<Void>>();
+            for (int i = 0; i < chunkCount; i++) {
+                val expected = contents.get(i);
+                val readBuffer = new byte[expected.length];
+                val handle = ChunkHandle.readHandle(handles.get(i).getChunkName());
+                readFutures.add(getChunkStorage().read(handle, 0, readBuffer.length, readBuffer, 0)
+                        .thenAccept(bytesRead -> {
+                            assertEquals(expected.length, (int) bytesRead);
+                            assertArrayEquals(expected, readBuffer);
+                        }));
+            }
+            Futures.allOf(readFutures).join();
+
+            for (val handle : handles) {
+                assertEquals(writeCount * writeLength, getChunkStorage().getInfo(handle.getChunkName()).join().getLength());
+                getChunkStorage().delete(handle).join();
+            }
+        }
+    }
+
+    /**
+     * {@link SystemJournalTests} tests for {@link AsyncFileSystemChunkStorage} based {@link io.pravega.segmentstore.storage.Storage}.
+     */
+    public static class AsyncFileSystemChunkStorageSystemJournalTests extends SystemJournalTests {
+        @Override
+        protected ChunkStorage getChunkStorage() throws Exception {
+            return AsyncFileSystemSimpleStorageTest.newChunkStorage(executorService());
+        }
+    }
+}
@@ -20,8 +20,10 @@ import com.google.common.base.Preconditions;
 import io.pravega.client.byteStream.ByteStreamReader;
 import io.pravega.client.byteStream.ByteStreamWriter;
 import io.pravega.client.byteStream.impl.ByteStreamClientImpl;
+import io.pravega.client.connection.impl.ConnectionFactory;
 import io.pravega.client.connection.impl.ConnectionPoolImpl;
-import io.pravega.client.connection.impl.SocketConnectionFactoryImpl;
+import io.pravega.client.control.impl.CachingController;
+import io.pravega.client.control.impl.Controller;
 import io.pravega.client.control.impl.ControllerImpl;
 import io.pravega.client.control.impl.ControllerImplConfig;
 import io.pravega.client.segment.impl.SegmentInputStreamFactoryImpl;
@@ -47,9 +49,9 @@ public interface ByteStreamClientFactory extends AutoCloseable {
      * @return Instance of ByteStreamClientFactory implementation.
      */
     static ByteStreamClientFactory withScope(String scope, ClientConfig config) {
-        val connectionFactory = new SocketConnectionFactoryImpl(config);
-        ControllerImpl controller = new ControllerImpl(ControllerImplConfig.builder().clientConfig(config).build(),
-                           connectionFactory.getInternalExecutor());
+        val connectionFactory = ConnectionFactory.create(config);
+        Controller controller = new CachingController(new ControllerImpl(ControllerImplConfig.builder().clientConfig(config).build(),
+                           connectionFactory.getInternalExecutor()));
         val connectionPool = new ConnectionPoolImpl(config, Preconditions.checkNotNull(connectionFactory));
         val inputStreamFactory = new SegmentInputStreamFactoryImpl(controller, connectionPool);
         val outputStreamFactory = new SegmentOutputStreamFactoryImpl(controller, connectionPool);
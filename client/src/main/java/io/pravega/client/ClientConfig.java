@@ -135,6 +135,17 @@ public class ClientConfig implements Serializable {
      */
     private final MetricListener metricListener;
 
+    /**
+     * Whether connections to Segment Stores are serviced by a small, shared pool of event loop threads rather than by a
+     * dedicated reader thread each. This is preferable for clients that open a large number of connections. The size of
+     * the pool is set by the {@code pravega.client.io.threadpool.size} system property (half the number of cores by
+     * default).
+     *
+     * @param eventLoopConnections Whether to use event loop threads for connections.
+     * @return Whether to use event loop threads for connections.
+     */
+    private final boolean eventLoopConnections;
+
     /**
      * Returns whether TLS is enabled for client-to-server (Controller and Segment Store) communications.
      *
@@ -236,7 +247,7 @@ public class ClientConfig implements Serializable {
             }
             return new ClientConfig(controllerURI, credentials, trustStore, validateHostName, maxConnectionsPerSegmentStore,
                     isDefaultMaxConnections, deriveTlsEnabledFromControllerURI, enableTlsToController,
-                    enableTlsToSegmentStore, metricListener);
+                    enableTlsToSegmentStore, metricListener, eventLoopConnections);
         }
 
         /**
@@ -15,7 +15,7 @@
  */
 package io.pravega.client;
 
-import io.pravega.client.connection.impl.SocketConnectionFactoryImpl;
+import io.pravega.client.connection.impl.ConnectionFactory;
 import io.pravega.client.stream.EventRead;
 import io.pravega.client.stream.EventStreamReader;
 import io.pravega.client.stream.EventStreamWriter;
@@ -26,6 +26,7 @@ import io.pravega.client.stream.ReaderGroup;
 import io.pravega.client.stream.Serializer;
 import io.pravega.client.stream.TransactionalEventStreamWriter;
 import io.pravega.client.stream.impl.ClientFactoryImpl;
+import io.pravega.client.control.impl.CachingController;
 import io.pravega.client.control.impl.ControllerImpl;
 import io.pravega.client.control.impl.ControllerImplConfig;
 import lombok.val;
@@ -62,9 +63,9 @@ public interface EventStreamClientFactory extends AutoCloseable {
      * @return Instance of ClientFactory implementation.
      */
     static EventStreamClientFactory withScope(String scope, ClientConfig config) {
-        val connectionFactory = new SocketConnectionFactoryImpl(config);
-        return new ClientFactoryImpl(scope, new ControllerImpl(ControllerImplConfig.builder().clientConfig(config).build(),
-                connectionFactory.getInternalExecutor()), connectionFactory);
+        val connectionFactory = ConnectionFactory.create(config);
+        return new ClientFactoryImpl(scope, new CachingController(new ControllerImpl(ControllerImplConfig.builder().clientConfig(config).build(),
+                connectionFactory.getInternalExecutor())), connectionFactory);
     }
 
     /**
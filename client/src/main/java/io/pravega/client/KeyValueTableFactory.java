@@ -18,7 +18,6 @@ package io.pravega.client;
 import io.pravega.client.connection.impl.ConnectionFactory;
 import io.pravega.client.connection.impl.ConnectionPool;
 import io.pravega.client.connection.impl.ConnectionPoolImpl;
-import io.pravega.client.connection.impl.SocketConnectionFactoryImpl;
 import io.pravega.client.control.impl.Controller;
 import io.pravega.client.control.impl.ControllerImpl;
 import io.pravega.client.control.impl.ControllerImplConfig;
@@ -40,7 +39,7 @@ public interface KeyValueTableFactory extends AutoCloseable {
      * @return Instance of {@link KeyValueTableFactory} implementation.
      */
     static KeyValueTableFactory withScope(String scope, ClientConfig config) {
-        ConnectionFactory connectionFactory = new SocketConnectionFactoryImpl(config);
+        ConnectionFactory connectionFactory = ConnectionFactory.create(config);
         ConnectionPool connectionPool = new ConnectionPoolImpl(config, connectionFactory);
         Controller controller = new ControllerImpl(
                 ControllerImplConfig.builder().clientConfig(config).build(), connectionFactory.getInternalExecutor());
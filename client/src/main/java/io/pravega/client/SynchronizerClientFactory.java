@@ -15,7 +15,7 @@
  */
 package io.pravega.client;
 
-import io.pravega.client.connection.impl.SocketConnectionFactoryImpl;
+import io.pravega.client.connection.impl.ConnectionFactory;
 import io.pravega.client.state.InitialUpdate;
 import io.pravega.client.state.Revisioned;
 import io.pravega.client.state.RevisionedStreamClient;
@@ -24,6 +24,7 @@ import io.pravega.client.state.SynchronizerConfig;
 import io.pravega.client.state.Update;
 import io.pravega.client.stream.Serializer;
 import io.pravega.client.stream.impl.ClientFactoryImpl;
+import io.pravega.client.control.impl.CachingController;
 import io.pravega.client.control.impl.ControllerImpl;
 import io.pravega.client.control.impl.ControllerImplConfig;
 import lombok.val;
@@ -48,9 +49,9 @@ public interface SynchronizerClientFactory extends AutoCloseable {
                 .enableTlsToSegmentStore(config.isEnableTlsToSegmentStore())
                 .enableTlsToController(config.isEnableTlsToController())
                 .build();
-        val connectionFactory = new SocketConnectionFactoryImpl(updatedConfig, 1);
-        return new ClientFactoryImpl(scope, new ControllerImpl(ControllerImplConfig.builder().clientConfig(updatedConfig).build(),
-                connectionFactory.getInternalExecutor()), updatedConfig, connectionFactory);
+        val connectionFactory = ConnectionFactory.create(updatedConfig, 1);
+        return new ClientFactoryImpl(scope, new CachingController(new ControllerImpl(ControllerImplConfig.builder().clientConfig(updatedConfig).build(),
+                connectionFactory.getInternalExecutor())), updatedConfig, connectionFactory);
     }
 
     /**
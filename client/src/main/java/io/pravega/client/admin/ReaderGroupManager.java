@@ -17,7 +17,7 @@ package io.pravega.client.admin;
 
 import io.pravega.client.ClientConfig;
 import io.pravega.client.admin.impl.ReaderGroupManagerImpl;
-import io.pravega.client.connection.impl.SocketConnectionFactoryImpl;
+import io.pravega.client.connection.impl.ConnectionFactory;
 import io.pravega.client.stream.ConfigMismatchException;
 import io.pravega.client.stream.ReaderConfig;
 import io.pravega.client.stream.ReaderGroup;
@@ -58,7 +58,7 @@ public interface ReaderGroupManager extends AutoCloseable {
                 .enableTlsToSegmentStore(clientConfig.isEnableTlsToSegmentStore())
                 .enableTlsToController(clientConfig.isEnableTlsToController())
                 .build();
-        return new ReaderGroupManagerImpl(scope, updatedClientConfig, new SocketConnectionFactoryImpl(updatedClientConfig, 1));
+        return new ReaderGroupManagerImpl(scope, updatedClientConfig, ConnectionFactory.create(updatedClientConfig, 1));
     }
 
     /**
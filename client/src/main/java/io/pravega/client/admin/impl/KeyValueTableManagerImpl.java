@@ -21,7 +21,6 @@ import io.pravega.client.ClientConfig;
 import io.pravega.client.admin.KeyValueTableInfo;
 import io.pravega.client.admin.KeyValueTableManager;
 import io.pravega.client.connection.impl.ConnectionFactory;
-import io.pravega.client.connection.impl.SocketConnectionFactoryImpl;
 import io.pravega.client.control.impl.Controller;
 import io.pravega.client.control.impl.ControllerImpl;
 import io.pravega.client.control.impl.ControllerImplConfig;
@@ -58,7 +57,7 @@ public class KeyValueTableManagerImpl implements KeyValueTableManager {
      * @param clientConfig A {@link ClientConfig} that can be used to configure the connection to Pravega.
      */
     public KeyValueTableManagerImpl(@NonNull ClientConfig clientConfig) {
-        this.connectionFactory = new SocketConnectionFactoryImpl(clientConfig);
+        this.connectionFactory = ConnectionFactory.create(clientConfig);
         this.controller = new ControllerImpl(ControllerImplConfig.builder().clientConfig(clientConfig).build(), connectionFactory.getInternalExecutor());
     }
 
@@ -21,9 +21,9 @@ import io.pravega.client.ClientConfig;
 import io.pravega.client.admin.KeyValueTableInfo;
 import io.pravega.client.admin.StreamInfo;
 import io.pravega.client.admin.StreamManager;
+import io.pravega.client.connection.impl.ConnectionFactory;
 import io.pravega.client.connection.impl.ConnectionPool;
 import io.pravega.client.connection.impl.ConnectionPoolImpl;
-import io.pravega.client.connection.impl.SocketConnectionFactoryImpl;
 import io.pravega.client.control.impl.Controller;
 import io.pravega.client.control.impl.ControllerFailureException;
 import io.pravega.client.control.impl.ControllerImpl;
@@ -69,7 +69,7 @@ public class StreamManagerImpl implements StreamManager {
 
     @VisibleForTesting
     public StreamManagerImpl(ClientConfig clientConfig, ControllerImplConfig controllerConfig) {
-        this.connectionPool = new ConnectionPoolImpl(clientConfig, new SocketConnectionFactoryImpl(clientConfig));
+        this.connectionPool = new ConnectionPoolImpl(clientConfig, ConnectionFactory.create(clientConfig));
         this.executor = connectionPool.getInternalExecutor();
         this.controller = new ControllerImpl(controllerConfig, executor);
         this.streamCutHelper = new StreamCutHelper(controller, connectionPool);
@@ -15,6 +15,7 @@
  */
 package io.pravega.client.connection.impl;
 
+import io.pravega.client.ClientConfig;
 import io.pravega.shared.protocol.netty.PravegaNodeUri;
 import io.pravega.shared.protocol.netty.ReplyProcessor;
 
@@ -44,4 +45,27 @@ public interface ConnectionFactory extends AutoCloseable {
      */
     ScheduledExecutorService getInternalExecutor();
 
+    /**
+     * Creates a new ConnectionFactory of the type selected by {@link ClientConfig#isEventLoopConnections()}.
+     *
+     * @param clientConfig The client configuration.
+     * @return A new ConnectionFactory.
+     */
+    static ConnectionFactory create(ClientConfig clientConfig) {
+        return create(clientConfig, null);
+    }
+
+    /**
+     * Creates a new ConnectionFactory of the type selected by {@link ClientConfig#isEventLoopConnections()}.
+     *
+     * @param clientConfig     The client configuration.
+     * @param numThreadsInPool The size of the client-internal thread pool, or null to use the default.
+     * @return A new ConnectionFactory.
+     */
+    static ConnectionFactory create(ClientConfig clientConfig, Integer numThreadsInPool) {
+        return clientConfig.isEventLoopConnections()
+                ? new NettyConnectionFactoryImpl(clientConfig, numThreadsInPool)
+                : new SocketConnectionFactoryImpl(clientConfig, numThreadsInPool);
+    }
+
 }
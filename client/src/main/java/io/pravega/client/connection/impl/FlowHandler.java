@@ -55,6 +55,7 @@ public class FlowHandler extends FailingReplyProcessor implements AutoCloseable
     @Getter(AccessLevel.PACKAGE)
     private final ConcurrentHashMap<Integer, ReplyProcessor> flowIdReplyProcessorMap = new ConcurrentHashMap<>();
     private final AtomicBoolean disableFlow = new AtomicBoolean(false);
+    private volatile WireCommands.Hello serverHello;
 
     private FlowHandler(PravegaNodeUri location, MetricNotifier updateMetric) {
         this.location = location;
@@ -76,7 +77,8 @@ public class FlowHandler extends FailingReplyProcessor implements AutoCloseable
     }
     
     /**
-     * Create a flow on existing connection.
+     * Create a flow on existing connection. If the server's {@link WireCommands.Hello} has already been received, it is
+     * passed to the given ReplyProcessor right away.
      * @param flow Flow.
      * @param rp ReplyProcessor for the specified flow.
      * @return Client Connection object.
@@ -89,6 +91,16 @@ public class FlowHandler extends FailingReplyProcessor implements AutoCloseable
         if (flowIdReplyProcessorMap.put(flowID, rp) != null) {
             throw new IllegalArgumentException("Multiple flows cannot be created with the same Flow id " + flowID);
         }
+        WireCommands.Hello hello = serverHello;
+        if (hello != null) {
+            // The server's Hello has already been delivered to the flows that existed at the time. Flows created on an
+            // existing connection still need it to know which versions the server supports.
+            try {
+                rp.hello(hello);
+            } catch (Exception e) {
+                log.warn("Encountered exception invoking ReplyProcessor.hello for flow id {}", flowID, e);
+            }
+        }
         return new FlowClientConnection(location.toString(), channel, flowID, this);
     }
 
@@ -142,6 +154,7 @@ public class FlowHandler extends FailingReplyProcessor implements AutoCloseable
         }
         setRecentMessage();
         if (cmd instanceof WireCommands.Hello) {
+            serverHello = (WireCommands.Hello) cmd;
             flowIdReplyProcessorMap.forEach((flowId, rp) -> {
                 try {
                     rp.hello((WireCommands.Hello) cmd);
@@ -0,0 +1,419 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.client.connection.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslProvider;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.pravega.client.ClientConfig;
+import io.pravega.common.Exceptions;
+import io.pravega.shared.protocol.netty.Append;
+import io.pravega.shared.protocol.netty.CommandDecoder;
+import io.pravega.shared.protocol.netty.ConnectionFailedException;
+import io.pravega.shared.protocol.netty.ExceptionLoggingHandler;
+import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import io.pravega.shared.protocol.netty.Reply;
+import io.pravega.shared.protocol.netty.ReplyProcessor;
+import io.pravega.shared.protocol.netty.WireCommand;
+import io.pravega.shared.protocol.netty.WireCommands;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.TrustManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.pravega.client.connection.impl.TcpClientConnection.CONNECTION_TIMEOUT;
+import static io.pravega.client.connection.impl.TcpClientConnection.SOCKET_TIMEOUT_MS;
+import static io.pravega.client.connection.impl.TcpClientConnection.TCP_BUFFER_SIZE;
+import static io.pravega.shared.protocol.netty.AppendBatchSizeTracker.MAX_BATCH_TIME_MILLIS;
+import static io.pravega.shared.protocol.netty.WireCommands.MAX_WIRECOMMAND_SIZE;
+
+/**
+ * A {@link ClientConnection} that is serviced by a shared Netty {@link EventLoopGroup} instead of a dedicated reader thread.
+ *
+ * Outbound data is produced by the same {@link CommandEncoder} used by {@link TcpClientConnection}, so append batching
+ * (and the batch timeout) behave identically. The encoder's output is handed to the channel as it is flushed. Writers
+ * block (outside of the event loop) while the channel is not writable, which mirrors the back pressure a blocking socket
+ * would apply. Inbound commands are decoded on the event loop and dispatched to the {@link ReplyProcessor}.
+ */
+@Slf4j
+public class NettyClientConnection implements ClientConnection {
+
+    private final Channel channel;
+    private final CommandEncoder encoder;
+    private final ReplyHandler replyHandler;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final PravegaNodeUri location;
+    private final Runnable onClose;
+    private final ScheduledFuture<?> timeoutFuture;
+
+    private NettyClientConnection(Channel channel, CommandEncoder encoder, ReplyHandler replyHandler, PravegaNodeUri location,
+                                  Runnable onClose, ScheduledExecutorService executor) {
+        this.channel = checkNotNull(channel);
+        this.encoder = checkNotNull(encoder);
+        this.replyHandler = checkNotNull(replyHandler);
+        this.location = checkNotNull(location);
+        this.onClose = onClose;
+        this.timeoutFuture = executor.scheduleWithFixedDelay(new TcpClientConnection.TimeoutBatch(encoder),
+                                                             MAX_BATCH_TIME_MILLIS,
+                                                             MAX_BATCH_TIME_MILLIS,
+                                                             TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Connects to the specified location.
+     *
+     * @param location Location to connect to.
+     * @param clientConfig config for the connection.
+     * @param callback ReplyProcessor for replies from the server.
+     * @param group The event loop group that performs all I/O for this connection.
+     * @param executor Thread pool used for batch timeouts.
+     * @param onClose A callback to be notified when this connection closes.
+     * @return A future for a new connection. If the connect attempt fails the future will be failed with a {@link ConnectionFailedException}
+     */
+    public static CompletableFuture<NettyClientConnection> connect(PravegaNodeUri location, ClientConfig clientConfig, ReplyProcessor callback,
+                                                                   EventLoopGroup group, ScheduledExecutorService executor, Runnable onClose) {
+        CompletableFuture<NettyClientConnection> result = new CompletableFuture<>();
+        SslContext sslContext;
+        try {
+            sslContext = createSslContext(clientConfig);
+        } catch (Exception e) {
+            onClose.run();
+            result.completeExceptionally(new ConnectionFailedException(e));
+            return result;
+        }
+
+        FlowToBatchSizeTracker flowToBatchSizeTracker = new FlowToBatchSizeTracker();
+        ReplyHandler replyHandler = new ReplyHandler(location.toString(), callback, flowToBatchSizeTracker);
+        Bootstrap bootstrap = new Bootstrap()
+                .group(group)
+                .channel(NioSocketChannel.class)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.SO_SNDBUF, TCP_BUFFER_SIZE)
+                .option(ChannelOption.SO_RCVBUF, TCP_BUFFER_SIZE)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECTION_TIMEOUT)
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(TCP_BUFFER_SIZE / 2, TCP_BUFFER_SIZE))
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        if (sslContext != null) {
+                            ch.pipeline().addLast(createSslHandler(sslContext, ch, location, clientConfig));
+                        }
+                        ch.pipeline().addLast(new ExceptionLoggingHandler(location.toString()),
+                                new ReadTimeoutHandler(SOCKET_TIMEOUT_MS, TimeUnit.MILLISECONDS),
+                                new LengthFieldBasedFrameDecoder(MAX_WIRECOMMAND_SIZE, 4, 4),
+                                replyHandler);
+                    }
+                });
+
+        ChannelFuture connectFuture = bootstrap.connect(location.getEndpoint(), location.getPort());
+        connectFuture.addListener((ChannelFutureListener) f -> {
+            if (!f.isSuccess()) {
+                failConnect(result, f.channel(), f.cause(), onClose);
+                return;
+            }
+            Channel ch = f.channel();
+            Runnable complete = () -> {
+                // We use the flow id on both CommandEncoder and ReplyHandler to locate AppendBatchSizeTrackers.
+                CommandEncoder encoder = new CommandEncoder(requestId ->
+                        flowToBatchSizeTracker.getAppendBatchSizeTrackerByFlowId(Flow.toFlowID(requestId)), null,
+                        replyHandler.createOutputStream(ch));
+                NettyClientConnection connection = new NettyClientConnection(ch, encoder, replyHandler, location, onClose, executor);
+                replyHandler.setConnection(connection);
+                result.complete(connection);
+            };
+            SslHandler sslHandler = ch.pipeline().get(SslHandler.class);
+            if (sslHandler == null) {
+                complete.run();
+            } else {
+                sslHandler.handshakeFuture().addListener(h -> {
+                    if (h.isSuccess()) {
+                        complete.run();
+                    } else {
+                        failConnect(result, ch, h.cause(), onClose);
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    private static void failConnect(CompletableFuture<NettyClientConnection> result, Channel channel, Throwable cause, Runnable onClose) {
+        channel.close();
+        onClose.run();
+        result.completeExceptionally(new ConnectionFailedException(cause));
+    }
+
+    private static SslContext createSslContext(ClientConfig clientConfig) throws Exception {
+        if (!clientConfig.isEnableTlsToSegmentStore()) {
+            return null;
+        }
+        TrustManagerFactory trustMgrFactory = TcpClientConnection.createFromCert(clientConfig.getTrustStore());
+        return SslContextBuilder.forClient()
+                                .sslProvider(SslProvider.JDK)
+                                .trustManager(trustMgrFactory)
+                                .build();
+    }
+
+    private static SslHandler createSslHandler(SslContext sslContext, SocketChannel channel, PravegaNodeUri location, ClientConfig clientConfig) {
+        SSLEngine engine = sslContext.newEngine(channel.alloc(), location.getEndpoint(), location.getPort());
+        if (clientConfig.isValidateHostName()) {
+            // Same as TcpClientConnection: use the HTTPS algorithm to have the engine verify the server's host name.
+            SSLParameters tlsParams = engine.getSSLParameters();
+            tlsParams.setEndpointIdentificationAlgorithm("HTTPS");
+            engine.setSSLParameters(tlsParams);
+        }
+        return new SslHandler(engine);
+    }
+
+    @Override
+    public void send(WireCommand cmd) throws ConnectionFailedException {
+        checkIfClosed();
+        try {
+            encoder.write(cmd);
+        } catch (IOException e) {
+            log.warn("Error writing to connection: {}", e.toString());
+            close();
+            throw new ConnectionFailedException(e);
+        }
+    }
+
+    @Override
+    public void send(Append append) throws ConnectionFailedException {
+        checkIfClosed();
+        try {
+            encoder.write(append);
+        } catch (IOException e) {
+            log.warn("Error writing to connection: {}", e.toString());
+            close();
+            throw new ConnectionFailedException(e);
+        }
+    }
+
+    @Override
+    public void sendAsync(List<Append> appends, CompletedCallback callback) {
+        try {
+            for (Append append : appends) {
+                encoder.write(append);
+            }
+            callback.complete(null);
+        } catch (IOException e) {
+            log.warn("Error writing to connection: {}", e.toString());
+            close();
+            callback.complete(new ConnectionFailedException(e));
+        }
+    }
+
+    private void checkIfClosed() throws ConnectionFailedException {
+        if (closed.get()) {
+            throw new ConnectionFailedException("Connection already closed");
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            timeoutFuture.cancel(false);
+            ChannelFuture closeFuture = channel.close();
+            if (!channel.eventLoop().inEventLoop()) {
+                // Wait for the channel to be closed so no further replies are dispatched after this returns.
+                closeFuture.awaitUninterruptibly();
+            }
+            replyHandler.stop();
+            if (onClose != null) {
+                onClose.run();
+            }
+        }
+    }
+
+    @VisibleForTesting
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    @Override
+    public String toString() {
+        return "NettyClientConnection [location=" + location + ", isClosed=" + closed.get() + "]";
+    }
+
+    @VisibleForTesting
+    FlowToBatchSizeTracker getFlowToBatchSizeTracker() {
+        return this.replyHandler.flowToBatchSizeTracker;
+    }
+
+    /**
+     * Decodes inbound frames and dispatches them to the ReplyProcessor. Also tracks the writability of the channel so that
+     * writers can be throttled.
+     */
+    @VisibleForTesting
+    static class ReplyHandler extends SimpleChannelInboundHandler<ByteBuf> {
+        private final String name;
+        private final ReplyProcessor callback;
+        private final FlowToBatchSizeTracker flowToBatchSizeTracker;
+        private final AtomicBoolean stop = new AtomicBoolean(false);
+        private final Object writabilityLock = new Object();
+        private volatile NettyClientConnection connection;
+
+        ReplyHandler(String name, ReplyProcessor callback, FlowToBatchSizeTracker flowToBatchSizeTracker) {
+            this.name = name;
+            this.callback = callback;
+            this.flowToBatchSizeTracker = flowToBatchSizeTracker;
+        }
+
+        void setConnection(NettyClientConnection connection) {
+            this.connection = connection;
+        }
+
+        OutputStream createOutputStream(Channel channel) {
+            return new ChannelOutputStream(channel, this);
+        }
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, ByteBuf frame) throws Exception {
+            if (stop.get()) {
+                // stop has already been invoked ignore the message received from the channel.
+                return;
+            }
+            // Commands that hold on to data (such as SegmentRead) retain slices of the frame and release them when they
+            // are released themselves, so the frame can be decoded in place even though it is released once this returns.
+            WireCommand command = CommandDecoder.parseCommand(frame);
+            if (command instanceof WireCommands.DataAppended) {
+                WireCommands.DataAppended dataAppended = (WireCommands.DataAppended) command;
+                flowToBatchSizeTracker.getAppendBatchSizeTrackerByFlowId(Flow.toFlowID(dataAppended.getRequestId())).recordAck(dataAppended.getEventNumber());
+            }
+            try {
+                callback.process((Reply) command);
+            } catch (Exception e) {
+                callback.processingFailure(e);
+            }
+        }
+
+        @Override
+        public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+            synchronized (writabilityLock) {
+                writabilityLock.notifyAll();
+            }
+            super.channelWritabilityChanged(ctx);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            log.info("Closing NettyClientConnection to {} because the channel is inactive.", name);
+            closeConnection();
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            log.warn("Error processing data from from server " + name, cause);
+            closeConnection();
+        }
+
+        private void closeConnection() {
+            synchronized (writabilityLock) {
+                writabilityLock.notifyAll();
+            }
+            NettyClientConnection c = this.connection;
+            if (c != null) {
+                c.close();
+            } else {
+                stop();
+            }
+        }
+
+        void stop() {
+            if (!stop.getAndSet(true)) {
+                callback.connectionDropped();
+            }
+        }
+
+        /**
+         * Blocks the calling thread until the channel can accept more data. This is never done on the event loop itself.
+         */
+        void awaitWritable(Channel channel) throws IOException {
+            if (channel.eventLoop().inEventLoop()) {
+                return;
+            }
+            synchronized (writabilityLock) {
+                while (channel.isActive() && !channel.isWritable()) {
+                    Exceptions.handleInterrupted(() -> writabilityLock.wait(MAX_BATCH_TIME_MILLIS));
+                }
+            }
+            if (!channel.isActive()) {
+                throw new IOException("Connection to " + name + " is closed.");
+            }
+        }
+    }
+
+    /**
+     * OutputStream used by the {@link CommandEncoder} to hand its flushed buffer to the channel.
+     */
+    private static final class ChannelOutputStream extends OutputStream {
+        private final Channel channel;
+        private final ReplyHandler handler;
+
+        ChannelOutputStream(Channel channel, ReplyHandler handler) {
+            this.channel = channel;
+            this.handler = handler;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return;
+            }
+            handler.awaitWritable(channel);
+            // CommandEncoder reuses its buffer once this returns, so the data must be copied.
+            channel.writeAndFlush(Unpooled.copiedBuffer(b, off, len)).addListener((ChannelFutureListener) f -> {
+                if (!f.isSuccess()) {
+                    log.warn("Error writing to connection {}: {}", handler.name, f.cause().toString());
+                    handler.closeConnection();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.client.connection.impl;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.pravega.client.ClientConfig;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import io.pravega.shared.protocol.netty.ReplyProcessor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link ConnectionFactory} that multiplexes all of its connections onto a small, fixed number of I/O threads
+ * (a Netty NIO event loop group), rather than dedicating a reader thread to each connection as
+ * {@link SocketConnectionFactoryImpl} does. This is preferable for clients that open a large number of connections.
+ */
+@Slf4j
+public class NettyConnectionFactoryImpl implements ConnectionFactory {
+
+    private static final AtomicInteger POOLCOUNT = new AtomicInteger();
+
+    private final AtomicInteger openSocketCount = new AtomicInteger();
+
+    private final ClientConfig clientConfig;
+    @Getter
+    private final ScheduledExecutorService internalExecutor;
+    private final boolean ownsInternalExecutor;
+    private final EventLoopGroup eventLoopGroup;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    public NettyConnectionFactoryImpl(ClientConfig clientConfig) {
+        this(clientConfig, (Integer) null);
+    }
+
+    @VisibleForTesting
+    public NettyConnectionFactoryImpl(ClientConfig clientConfig, Integer numThreadsInPool) {
+        this.clientConfig = Preconditions.checkNotNull(clientConfig, "clientConfig");
+        int poolId = POOLCOUNT.incrementAndGet();
+        this.internalExecutor = ExecutorServiceHelpers.newScheduledThreadPool(getThreadPoolSize(numThreadsInPool),
+                "clientInternal-" + poolId);
+        this.ownsInternalExecutor = true;
+        this.eventLoopGroup = createEventLoopGroup(poolId);
+    }
+
+    /**
+     * Creates a new instance of the NettyConnectionFactoryImpl class that uses the given executor for its internal tasks.
+     * The executor is owned by the caller and will not be shut down when this factory is closed.
+     *
+     * @param clientConfig The {@link ClientConfig} to use.
+     * @param executor     The executor to use for internal tasks.
+     */
+    @VisibleForTesting
+    public NettyConnectionFactoryImpl(ClientConfig clientConfig, ScheduledExecutorService executor) {
+        this.clientConfig = Preconditions.checkNotNull(clientConfig, "clientConfig");
+        this.internalExecutor = Preconditions.checkNotNull(executor, "executor");
+        this.ownsInternalExecutor = false;
+        this.eventLoopGroup = createEventLoopGroup(POOLCOUNT.incrementAndGet());
+    }
+
+    private static EventLoopGroup createEventLoopGroup(int poolId) {
+        return new NioEventLoopGroup(getIoThreadCount(),
+                ExecutorServiceHelpers.getThreadFactory("clientIO-" + poolId, (Thread.NORM_PRIORITY + Thread.MAX_PRIORITY) / 2));
+    }
+
+    @Override
+    public CompletableFuture<ClientConnection> establishConnection(PravegaNodeUri endpoint, ReplyProcessor rp) {
+        openSocketCount.incrementAndGet();
+        return NettyClientConnection
+            .connect(endpoint, clientConfig, rp, eventLoopGroup, internalExecutor, openSocketCount::decrementAndGet)
+            .thenApply(c -> c);
+    }
+
+    private int getThreadPoolSize(Integer threadCount) {
+        if (threadCount != null) {
+            return threadCount;
+        }
+        String configuredThreads = System.getProperty("pravega.client.internal.threadpool.size", null);
+        if (configuredThreads != null) {
+            return Integer.parseInt(configuredThreads);
+        }
+        return Math.max(2, Runtime.getRuntime().availableProcessors());
+    }
+
+    private static int getIoThreadCount() {
+        String configuredThreads = System.getProperty("pravega.client.io.threadpool.size", null);
+        if (configuredThreads != null) {
+            return Integer.parseInt(configuredThreads);
+        }
+        return Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    @Override
+    public void close() {
+        log.info("Shutting down connection factory");
+        if (closed.compareAndSet(false, true)) {
+            eventLoopGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+            if (ownsInternalExecutor) {
+                ExecutorServiceHelpers.shutdown(internalExecutor);
+            }
+        }
+    }
+
+    @VisibleForTesting
+    public int getOpenSocketCount() {
+        return openSocketCount.get();
+    }
+}
@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.concurrent.GuardedBy;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -45,26 +46,37 @@ public class RawClient implements AutoCloseable {
 
     private final CompletableFuture<ClientConnection> connection;
     private final Segment segmentId;
+    private final Controller controller;
 
     private final Object lock = new Object();
     @GuardedBy("lock")
     private final Map<Long, CompletableFuture<Reply>> requests = new HashMap<>();
     private final ResponseProcessor responseProcessor = new ResponseProcessor();
     private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final AtomicInteger serverVersion = new AtomicInteger(WireCommands.OLDEST_COMPATIBLE_VERSION);
     @Getter
     private final Flow flow = Flow.create();
 
     private final class ResponseProcessor extends FailingReplyProcessor {
 
+        @Override
+        public void hello(Hello hello) {
+            log.info("Received hello: {}", hello);
+            if (hello.getLowVersion() > WireCommands.WIRE_VERSION || hello.getHighVersion() < WireCommands.OLDEST_COMPATIBLE_VERSION) {
+                closeConnection(new IllegalStateException("Incompatible wire protocol versions " + hello));
+            } else {
+                serverVersion.set(hello.getHighVersion());
+            }
+        }
+
         @Override
         public void process(Reply reply) {
             if (reply instanceof Hello) {
-                Hello hello = (Hello) reply;
-                log.info("Received hello: {}", hello);
-                if (hello.getLowVersion() > WireCommands.WIRE_VERSION || hello.getHighVersion() < WireCommands.OLDEST_COMPATIBLE_VERSION) {
-                    closeConnection(new IllegalStateException("Incompatible wire protocol versions " + hello));
-                }
+                hello((Hello) reply);
             } else if (reply instanceof WireCommands.WrongHost) {
+                if (controller != null) {
+                    controller.invalidateCache(segmentId.getScopedName());
+                }
                 closeConnection(new ConnectionFailedException(reply.toString()));
             } else if (reply instanceof WireCommands.ErrorMessage) {
                 ErrorMessage errorMessage = (ErrorMessage) reply;
@@ -103,6 +115,7 @@ public class RawClient implements AutoCloseable {
 
     public RawClient(PravegaNodeUri uri, ConnectionPool connectionPool) {
         this.segmentId = null;
+        this.controller = null;
         this.connection = new CompletableFuture<>();
         this.connection.exceptionally(e -> {
             log.warn("Exception observed while attempting to obtain a connection to segment store {}", uri, e);
@@ -114,6 +127,7 @@ public class RawClient implements AutoCloseable {
 
     public RawClient(Controller controller, ConnectionPool connectionPool, Segment segmentId) {
         this.segmentId = segmentId;
+        this.controller = controller;
         this.connection = new CompletableFuture<>();
         this.connection.exceptionally(e -> {
             log.warn("Exception observed while attempting to obtain a connection to segment {}", segmentId, e);
@@ -129,6 +143,11 @@ public class RawClient implements AutoCloseable {
     }
 
     private void reply(Reply reply) {
+        if (reply instanceof WireCommands.SegmentsRead) {
+            // Each of the batched reads is matched with the request id of the read it answers.
+            ((WireCommands.SegmentsRead) reply).getReads().forEach(this::reply);
+            return;
+        }
         CompletableFuture<Reply> future;
         synchronized (lock) {
             future = requests.remove(reply.getRequestId());
@@ -186,6 +205,60 @@ public class RawClient implements AutoCloseable {
         });
     }
 
+    /**
+     * Sends a request that is answered with one reply for each of the given request ids (such as
+     * {@link WireCommands.ReadSegments}).
+     *
+     * @param requestIds The request ids of the replies to wait for.
+     * @param request    The request to send.
+     * @param <T>        Type of the request.
+     * @return A list of futures, one for each of the given request ids (in the same order), that will be completed
+     * with the matching reply.
+     */
+    public <T extends Request & WireCommand> List<CompletableFuture<Reply>> sendRequest(List<Long> requestIds, T request) {
+        List<CompletableFuture<Reply>> replies = new ArrayList<>(requestIds.size());
+        synchronized (lock) {
+            for (long requestId : requestIds) {
+                CompletableFuture<Reply> reply = new CompletableFuture<>();
+                requests.put(requestId, reply);
+                replies.add(reply);
+            }
+        }
+        connection.whenComplete((c, connectionFailure) -> {
+            Throwable failure = connectionFailure;
+            if (failure == null) {
+                log.debug("Sending request: {}", request);
+                try {
+                    c.send(request);
+                } catch (ConnectionFailedException cfe) {
+                    failure = cfe;
+                    closeConnection(cfe);
+                }
+            }
+            if (failure != null) {
+                synchronized (lock) {
+                    requestIds.forEach(requests::remove);
+                }
+                for (CompletableFuture<Reply> reply : replies) {
+                    reply.completeExceptionally(failure);
+                }
+            }
+        });
+        return replies;
+    }
+
+    /**
+     * Gets the highest wire protocol version supported by the Segment Store, as advertised in its {@link Hello}. This
+     * can be used to check whether the Segment Store can process requests that were added in newer versions.
+     *
+     * @return A future that will be completed with the version once the connection is established. If the connection
+     * reuses an existing one, the Segment Store's Hello is known by then. Otherwise it may still be on its way, in which
+     * case the version is {@link WireCommands#OLDEST_COMPATIBLE_VERSION}.
+     */
+    public CompletableFuture<Integer> getServerVersion() {
+        return connection.thenApply(c -> serverVersion.get());
+    }
+
     public boolean isClosed() {
         return closed.get();
     }
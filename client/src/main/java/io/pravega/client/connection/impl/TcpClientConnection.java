@@ -188,7 +188,7 @@ public class TcpClientConnection implements ClientConnection {
     }
     
     @RequiredArgsConstructor
-    private static final class TimeoutBatch implements Runnable {
+    static final class TimeoutBatch implements Runnable {
         private final AtomicLong token = new AtomicLong(-1);
         private final CommandEncoder encoder;
         @Override
@@ -228,7 +228,7 @@ public class TcpClientConnection implements ClientConnection {
         }, executor);
     }
 
-    private static TrustManagerFactory createFromCert(String trustStoreFilePath)
+    static TrustManagerFactory createFromCert(String trustStoreFilePath)
             throws CertificateException, IOException, NoSuchAlgorithmException, KeyStoreException {
         TrustManagerFactory factory = null;
         if (!Strings.isNullOrEmpty(trustStoreFilePath)) {
@@ -0,0 +1,215 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.client.control.impl;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.pravega.client.segment.impl.Segment;
+import io.pravega.client.stream.Stream;
+import io.pravega.client.stream.impl.StreamSegments;
+import io.pravega.client.stream.impl.StreamImpl;
+import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.experimental.Delegate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link Controller} which caches the metadata that readers and writers look up the most: segment endpoints
+ * ({@link #getEndpointForSegment}), the current segments of streams ({@link #getCurrentSegments}) and which segments
+ * are sealed ({@link #isSegmentOpen}).
+ * <p>
+ * Cached entries expire after a fixed amount of time. They are discarded earlier when a Segment Store indicates they are
+ * stale (see {@link #invalidateCache}), or when a stream is scaled, sealed or deleted through this instance. Concurrent
+ * lookups of an entry which is not cached share a single call to the wrapped {@link Controller}; failed lookups are not
+ * cached. All other calls are passed on to the wrapped {@link Controller} as they are.
+ */
+@Slf4j
+public class CachingController implements Controller {
+    /**
+     * The default amount of time after which cached entries expire.
+     */
+    public static final Duration DEFAULT_CACHE_TTL = Duration.ofMinutes(2);
+    private static final int MAX_CACHED_SEGMENTS = 100000;
+    private static final int MAX_CACHED_STREAMS = 10000;
+
+    @Delegate(excludes = CachedOperations.class)
+    private final Controller controller;
+    private final Cache<String, CompletableFuture<PravegaNodeUri>> endpoints;
+    private final Cache<Stream, CompletableFuture<StreamSegments>> currentSegments;
+    private final Cache<Segment, Boolean> sealedSegments;
+
+    /**
+     * Creates a new instance of the CachingController class, using {@link #DEFAULT_CACHE_TTL}.
+     *
+     * @param controller The {@link Controller} to wrap.
+     */
+    public CachingController(Controller controller) {
+        this(controller, DEFAULT_CACHE_TTL);
+    }
+
+    /**
+     * Creates a new instance of the CachingController class.
+     *
+     * @param controller The {@link Controller} to wrap.
+     * @param ttl        The amount of time after which cached entries expire.
+     */
+    public CachingController(Controller controller, Duration ttl) {
+        Preconditions.checkArgument(!ttl.isNegative(), "ttl must be a non-negative duration.");
+        this.controller = Preconditions.checkNotNull(controller, "controller");
+        this.endpoints = CacheBuilder.newBuilder()
+                                     .maximumSize(MAX_CACHED_SEGMENTS)
+                                     .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+                                     .build();
+        this.currentSegments = CacheBuilder.newBuilder()
+                                           .maximumSize(MAX_CACHED_STREAMS)
+                                           .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+                                           .build();
+        // A segment which is sealed never opens again, so this only expires to bound its size.
+        this.sealedSegments = CacheBuilder.newBuilder()
+                                          .maximumSize(MAX_CACHED_SEGMENTS)
+                                          .expireAfterAccess(ttl.toMillis(), TimeUnit.MILLISECONDS)
+                                          .build();
+    }
+
+    //region Cached Operations
+
+    @Override
+    public CompletableFuture<PravegaNodeUri> getEndpointForSegment(String qualifiedSegmentName) {
+        return getOrLoad(this.endpoints, qualifiedSegmentName, () -> this.controller.getEndpointForSegment(qualifiedSegmentName));
+    }
+
+    @Override
+    public CompletableFuture<StreamSegments> getCurrentSegments(String scope, String streamName) {
+        Stream stream = new StreamImpl(scope, streamName);
+        return getOrLoad(this.currentSegments, stream, () -> this.controller.getCurrentSegments(scope, streamName));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isSegmentOpen(Segment segment) {
+        if (this.sealedSegments.getIfPresent(segment) != null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return this.controller.isSegmentOpen(segment)
+                              .thenApply(isOpen -> {
+                                  if (!isOpen) {
+                                      this.sealedSegments.put(segment, true);
+                                  }
+                                  return isOpen;
+                              });
+    }
+
+    @Override
+    public void invalidateCache(String qualifiedSegmentName) {
+        log.debug("Invalidating cached metadata for segment {}.", qualifiedSegmentName);
+        this.endpoints.invalidate(qualifiedSegmentName);
+        this.currentSegments.asMap().values().removeIf(f -> {
+            StreamSegments segments = f.getNow(null);
+            return segments != null && segments.getSegments().stream().anyMatch(s -> s.getScopedName().equals(qualifiedSegmentName));
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> startScale(Stream stream, List<Long> sealedSegments, Map<Double, Double> newKeyRanges) {
+        return invalidateOnCompletion(stream, this.controller.startScale(stream, sealedSegments, newKeyRanges));
+    }
+
+    @Override
+    public CancellableRequest<Boolean> scaleStream(Stream stream, List<Long> sealedSegments, Map<Double, Double> newKeyRanges,
+                                                   ScheduledExecutorService executorService) {
+        CancellableRequest<Boolean> request = this.controller.scaleStream(stream, sealedSegments, newKeyRanges, executorService);
+        invalidateOnCompletion(stream, request.getFuture());
+        return request;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> checkScaleStatus(Stream stream, int scaleEpoch) {
+        return this.controller.checkScaleStatus(stream, scaleEpoch)
+                              .thenApply(isDone -> {
+                                  if (isDone) {
+                                      this.currentSegments.invalidate(stream);
+                                  }
+                                  return isDone;
+                              });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> sealStream(String scope, String streamName) {
+        return invalidateOnCompletion(new StreamImpl(scope, streamName), this.controller.sealStream(scope, streamName));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteStream(String scope, String streamName) {
+        return invalidateOnCompletion(new StreamImpl(scope, streamName), this.controller.deleteStream(scope, streamName));
+    }
+
+    //endregion
+
+    //region Helpers
+
+    /**
+     * Gets the cached result for the given key, or starts (and caches) a new lookup if there is none. The lookup is
+     * removed from the cache if it fails, so that it can be retried.
+     */
+    private <K, V> CompletableFuture<V> getOrLoad(Cache<K, CompletableFuture<V>> cache, K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> result = cache.asMap().computeIfAbsent(key, k -> loader.get());
+        result.whenComplete((r, ex) -> {
+            if (ex != null) {
+                cache.asMap().remove(key, result);
+            }
+        });
+
+        // Callers must not be able to complete (or cancel) the shared future.
+        return result.thenApply(Function.identity());
+    }
+
+    private <T> CompletableFuture<T> invalidateOnCompletion(Stream stream, CompletableFuture<T> future) {
+        return future.whenComplete((r, ex) -> this.currentSegments.invalidate(stream));
+    }
+
+    //endregion
+
+    /**
+     * The operations which are not simply passed on to the wrapped {@link Controller}.
+     */
+    private interface CachedOperations {
+        CompletableFuture<PravegaNodeUri> getEndpointForSegment(String qualifiedSegmentName);
+
+        CompletableFuture<StreamSegments> getCurrentSegments(String scope, String streamName);
+
+        CompletableFuture<Boolean> isSegmentOpen(Segment segment);
+
+        void invalidateCache(String qualifiedSegmentName);
+
+        CompletableFuture<Boolean> startScale(Stream stream, List<Long> sealedSegments, Map<Double, Double> newKeyRanges);
+
+        CancellableRequest<Boolean> scaleStream(Stream stream, List<Long> sealedSegments, Map<Double, Double> newKeyRanges,
+                                                ScheduledExecutorService executorService);
+
+        CompletableFuture<Boolean> checkScaleStatus(Stream stream, int scaleEpoch);
+
+        CompletableFuture<Boolean> sealStream(String scope, String streamName);
+
+        CompletableFuture<Boolean> deleteStream(String scope, String streamName);
+    }
+}
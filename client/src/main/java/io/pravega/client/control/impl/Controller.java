@@ -429,6 +429,17 @@ public interface Controller extends AutoCloseable {
      */
     CompletableFuture<PravegaNodeUri> getEndpointForSegment(final String qualifiedSegmentName);
 
+    /**
+     * Discards anything cached about the given segment: its endpoint and the current segments of the stream it
+     * belongs to. This is called when a Segment Store indicates that this information is stale, i.e. when it is no
+     * longer the owner of the segment or the segment has been sealed. Implementations that do not cache anything
+     * need not do anything.
+     *
+     * @param qualifiedSegmentName The name of the segment. Usually obtained from {@link Segment#getScopedName()}.
+     */
+    default void invalidateCache(final String qualifiedSegmentName) {
+    }
+
     /**
      * Notifies that the specified writer has noted the provided timestamp when it was at
      * lastWrittenPosition.
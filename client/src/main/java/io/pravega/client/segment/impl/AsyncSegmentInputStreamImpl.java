@@ -17,6 +17,7 @@ package io.pravega.client.segment.impl;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.pravega.auth.AuthenticationException;
 import io.pravega.auth.TokenExpiredException;
@@ -59,6 +60,12 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
     private CompletableFuture<ClientConnection> connection = null;
     @GuardedBy("lock")
     private final Map<Long, CompletableFuture<WireCommands.SegmentRead>> outstandingRequests = new HashMap<>();
+    /**
+     * Runs of matching events received in reply to a filtered read, other than the first one (which answers the read).
+     * Each is keyed by the offset the previous run ends at, which is where the next read will be issued.
+     */
+    @GuardedBy("lock")
+    private final Map<Long, SegmentRead> receivedRuns = new HashMap<>();
 
     private final ResponseProcessor responseProcessor = new ResponseProcessor();
     private final AtomicBoolean closed = new AtomicBoolean(false);
@@ -68,6 +75,7 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
     @Getter
     private final long requestId = Flow.create().asLong();
     private final Semaphore replyAvailable;
+    private final ByteBuf eventPrefix;
 
     private final class ResponseProcessor extends FailingReplyProcessor {
 
@@ -81,11 +89,14 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
         
         @Override
         public void connectionDropped() {
+            // The Segment Store may be down, in which case its (cached) endpoint is no longer valid.
+            controller.invalidateCache(segmentId.getScopedName());
             closeConnection(new ConnectionFailedException());
         }
 
         @Override
         public void wrongHost(WireCommands.WrongHost wrongHost) {
+            controller.invalidateCache(segmentId.getScopedName());
             closeConnection(new ConnectionFailedException(wrongHost.toString()));
         }
 
@@ -110,6 +121,7 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
         @Override
         public void segmentIsSealed(WireCommands.SegmentIsSealed segmentIsSealed) {
             log.info("Received segmentSealed {}", segmentIsSealed);
+            controller.invalidateCache(segmentIsSealed.getSegment());
             CompletableFuture<SegmentRead> future = grabFuture(segmentIsSealed.getSegment(), segmentIsSealed.getOffset());
             if (future != null) {
                 future.complete(new WireCommands.SegmentRead(
@@ -131,6 +143,28 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
             }
         }
 
+        @Override
+        public void segmentsRead(WireCommands.SegmentsRead segmentsRead) {
+            log.trace("Received filtered read result {}", segmentsRead);
+            List<SegmentRead> runs = segmentsRead.getReads();
+            if (runs.isEmpty()) {
+                return;
+            }
+            CompletableFuture<SegmentRead> future = grabFuture(runs.get(0).getSegment(), runs.get(0).getOffset());
+            if (future == null) {
+                runs.forEach(SegmentRead::release);
+                return;
+            }
+            synchronized (lock) {
+                releaseReceivedRuns();
+                for (int i = 1; i < runs.size(); i++) {
+                    SegmentRead previous = runs.get(i - 1);
+                    receivedRuns.put(previous.getOffset() + previous.getData().readableBytes(), runs.get(i));
+                }
+            }
+            future.complete(runs.get(0));
+        }
+
         private CompletableFuture<SegmentRead> grabFuture(String segment, long offset) {
             checkSegment(segment);
             synchronized (lock) {
@@ -174,6 +208,23 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
 
     public AsyncSegmentInputStreamImpl(Controller controller, ConnectionPool connectionPool, Segment segment,
                                        DelegationTokenProvider tokenProvider, Semaphore dataAvailable) {
+        this(controller, connectionPool, segment, tokenProvider, dataAvailable, Unpooled.EMPTY_BUFFER);
+    }
+
+    /**
+     * Creates a new instance which only reads events whose payload starts with the given prefix. Events which do not
+     * match are skipped by the Segment Store (see {@link WireCommands.ReadSegment#getEventPrefix}), so the replies may
+     * start at a higher offset than the one requested. Offsets passed to {@link #read} must be at event boundaries.
+     *
+     * @param controller      The controller.
+     * @param connectionPool  The connection pool.
+     * @param segment         The segment to read from.
+     * @param tokenProvider   The delegation token provider.
+     * @param dataAvailable   A Semaphore that will have `release` called when data is available, or null.
+     * @param eventPrefix     The prefix events must start with, or an empty buffer to read all the data.
+     */
+    public AsyncSegmentInputStreamImpl(Controller controller, ConnectionPool connectionPool, Segment segment,
+                                       DelegationTokenProvider tokenProvider, Semaphore dataAvailable, ByteBuf eventPrefix) {
         super(segment);
         this.tokenProvider = tokenProvider;
         Preconditions.checkNotNull(controller);
@@ -182,6 +233,7 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
         this.controller = controller;
         this.connectionPool = connectionPool;
         this.replyAvailable = dataAvailable;
+        this.eventPrefix = Preconditions.checkNotNull(eventPrefix, "eventPrefix");
     }
 
     @Override
@@ -189,6 +241,9 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
         log.info("Closing reader for {}", segmentId);
         if (closed.compareAndSet(false, true)) {
             closeConnection(new ConnectionClosedException());
+            synchronized (lock) {
+                releaseReceivedRuns();
+            }
         }
     }
 
@@ -200,6 +255,14 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
     @Override
     public CompletableFuture<SegmentRead> read(long offset, int length) {
         Exceptions.checkNotClosed(closed.get(), this);
+        synchronized (lock) {
+            SegmentRead run = receivedRuns.remove(offset);
+            if (run != null) {
+                return CompletableFuture.completedFuture(run);
+            }
+            // The reader moved elsewhere; anything received for its previous position is of no use anymore.
+            releaseReceivedRuns();
+        }
         return backoffSchedule.retryWhen(t -> {
             Throwable ex = Exceptions.unwrap(t);
             if (closed.get()) {
@@ -211,17 +274,19 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
                     && !(ex instanceof AuthenticationException);
         }).runAsync(() -> this.tokenProvider.retrieveToken().thenComposeAsync(token -> {
             final WireCommands.ReadSegment request = new WireCommands.ReadSegment(segmentId.getScopedName(), offset, length,
-                    token, requestId);
+                    token, requestId, eventPrefix);
             return getConnection()
                     .whenComplete((connection1, ex) -> {
                         if (ex != null) {
                             log.warn("Exception while establishing connection with Pravega node {}: ", connection1,  ex);
+                            controller.invalidateCache(segmentId.getScopedName());
                             closeConnection(new ConnectionFailedException(ex));
                         }
                     }).thenCompose(c -> sendRequestOverConnection(request, c)
                             .whenComplete((reply, ex) -> {
                                 if (ex instanceof ConnectionFailedException) {
                                     log.debug("ConnectionFailedException observed when sending request {}", request, ex);
+                                    controller.invalidateCache(segmentId.getScopedName());
                                     closeConnection((ConnectionFailedException) ex);
                                 }
                             })
@@ -289,6 +354,12 @@ class AsyncSegmentInputStreamImpl extends AsyncSegmentInputStream {
         });
     }
 
+    @GuardedBy("lock")
+    private void releaseReceivedRuns() {
+        receivedRuns.values().forEach(SegmentRead::release);
+        receivedRuns.clear();
+    }
+
     private void failAllInflight(Exception e) {
         log.info("Connection failed due to a {}. Read requests for segment {} will be retransmitted.", e.toString(), segmentId);
         List<CompletableFuture<WireCommands.SegmentRead>> readsToFail;
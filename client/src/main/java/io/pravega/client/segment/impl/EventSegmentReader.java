@@ -16,8 +16,10 @@
 package io.pravega.client.segment.impl;
 
 import io.pravega.client.stream.EventStreamWriter;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 
 /**
  * Defines an event reader for a single segment.
@@ -93,6 +95,19 @@ public interface EventSegmentReader extends AutoCloseable {
      * @return A future that completes when the request to fill the buffer has returned.
      */
     public abstract CompletableFuture<?> fillBuffer();
+
+    /**
+     * Same as {@link #fillBuffer()}, except that the read (if one needs to be issued) is issued using the given function,
+     * so that it can be batched together with the reads of other segments. See
+     * {@link SegmentInputStream#fillBuffer(BiFunction)}.
+     *
+     * @param batchRead A function that, given the offset to read from and the suggested number of bytes to read, issues
+     *                  the read.
+     * @return A future that completes when the request to fill the buffer has returned.
+     */
+    public default CompletableFuture<?> fillBuffer(BiFunction<Long, Integer, CompletableFuture<SegmentRead>> batchRead) {
+        return fillBuffer();
+    }
     
     /**
      * Closes this reader. No further methods may be called after close.
@@ -20,10 +20,12 @@ import io.pravega.common.LoggerHelpers;
 import io.pravega.shared.protocol.netty.InvalidMessageException;
 import io.pravega.shared.protocol.netty.WireCommandType;
 import io.pravega.shared.protocol.netty.WireCommands;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
 import javax.annotation.concurrent.GuardedBy;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -137,6 +139,12 @@ class EventSegmentReaderImpl implements EventSegmentReader {
     public CompletableFuture<?> fillBuffer() {
         return in.fillBuffer();
     }
+
+    @Override
+    @Synchronized
+    public CompletableFuture<?> fillBuffer(BiFunction<Long, Integer, CompletableFuture<SegmentRead>> batchRead) {
+        return in.fillBuffer(batchRead);
+    }
     
     @Override
     @Synchronized
@@ -15,8 +15,10 @@
  */
 package io.pravega.client.segment.impl;
 
+import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 
 /**
  * Defines a InputStream for a single segment.
@@ -78,6 +80,20 @@ public interface SegmentInputStream extends AutoCloseable {
      * @return A future that will be completed when there is data available to read.
      */
     public abstract CompletableFuture<?> fillBuffer();
+
+    /**
+     * Same as {@link #fillBuffer()}, except that the read (if one needs to be issued) is issued using the given function,
+     * so that it can be batched together with the reads of other segments (see
+     * {@link SegmentInputStreamFactory#readSegments}). If such a read fails for any reason other than the segment having
+     * been truncated, it is issued again directly. Implementations that cannot use batched reads ignore the function.
+     *
+     * @param batchRead A function that, given the offset to read from and the suggested number of bytes to read, issues
+     *                  the read.
+     * @return A future that will be completed when there is data available to read.
+     */
+    public default CompletableFuture<?> fillBuffer(BiFunction<Long, Integer, CompletableFuture<SegmentRead>> batchRead) {
+        return fillBuffer();
+    }
     
     /**
      * Closes this InputStream. No further methods may be called after close.
@@ -18,6 +18,9 @@ package io.pravega.client.segment.impl;
 import io.pravega.client.security.auth.DelegationTokenProvider;
 import io.pravega.client.stream.EventPointer;
 import io.pravega.client.stream.EventStreamReader;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Semaphore;
 
 /**
@@ -90,6 +93,21 @@ public interface SegmentInputStreamFactory {
      */
     EventSegmentReader createEventReaderForSegment(Segment segment, int bufferSize, Semaphore hasData, long endOffset);
 
+    /**
+     * Open an existing segment for reading up to the provided end offset, returning only the events whose serialized
+     * form starts with the given prefix. Events which do not match are skipped by the Segment Store, so they are never
+     * sent to this client. This operation will fail if the segment does not exist.
+     *
+     * @param segment The segment to create an input for.
+     * @param bufferSize The size of the buffer to hold for data incoming on this segment.
+     * @param hasData A Semaphore that will have `release` called when data is available.
+     * @param endOffset The offset up to which the segment can be read.
+     * @param eventPrefixFilter The prefix the events to return start with, or null to return all events.
+     * @return New instance of the EventSegmentReader for reading.
+     */
+    EventSegmentReader createEventReaderForSegment(Segment segment, int bufferSize, Semaphore hasData, long endOffset,
+                                                   byte[] eventPrefixFilter);
+
     /**
      * Opens an existing segment for reading. This operation will fail if the
      * segment does not exist.
@@ -106,4 +124,21 @@ public interface SegmentInputStreamFactory {
      * @return A segment event reader.
      */
     EventSegmentReader createEventReaderForSegment(Segment segment, int bufferSize);
+
+    /**
+     * Reads from multiple segments at once. Reads from segments that are owned by the same Segment Store are sent to it
+     * in a single request, which replies to all of them that can be answered right away in a single response.
+     * This is meant for readers that consume from many segments, where reading them one request at a time costs a
+     * round trip per segment. Segment Stores that do not support such requests are sent one request per segment.
+     *
+     * Unlike the readers returned by this factory, failed reads are not retried.
+     *
+     * @param offsets The segments to read from, along with the offset to read each one of them from.
+     * @param lengths The suggested number of bytes to read from each one of the segments.
+     * @return A map containing a future for each of the given segments, which will be completed with the result of
+     * reading from it. A future is completed with an empty {@link SegmentRead} marked as end of segment if the segment
+     * is sealed at the requested offset, and fails with {@link SegmentTruncatedException} if the segment has been
+     * truncated beyond the requested offset or no longer exists.
+     */
+    Map<Segment, CompletableFuture<SegmentRead>> readSegments(Map<Segment, Long> offsets, Map<Segment, Integer> lengths);
 }
@@ -16,23 +16,46 @@
 package io.pravega.client.segment.impl;
 
 import com.google.common.annotations.VisibleForTesting;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.pravega.auth.AuthenticationException;
+import io.pravega.auth.TokenExpiredException;
 import io.pravega.client.connection.impl.ConnectionPool;
+import io.pravega.client.connection.impl.RawClient;
 import io.pravega.client.security.auth.DelegationTokenProvider;
 import io.pravega.client.security.auth.DelegationTokenProviderFactory;
 import io.pravega.client.control.impl.Controller;
+import io.pravega.client.stream.Stream;
 import io.pravega.common.MathHelpers;
 import io.pravega.common.concurrent.Futures;
+import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import io.pravega.shared.protocol.netty.Reply;
+import io.pravega.shared.protocol.netty.WireCommands;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
 
 import io.pravega.shared.security.auth.AccessOperation;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+
+@Slf4j
 @VisibleForTesting
 @RequiredArgsConstructor
 public class SegmentInputStreamFactoryImpl implements SegmentInputStreamFactory {
 
     private final Controller controller;
     private final ConnectionPool cp;
+    private final Map<Stream, DelegationTokenProvider> readTokenProviders = new ConcurrentHashMap<>();
 
     @Override
     public EventSegmentReader createEventReaderForSegment(Segment segment) {
@@ -41,24 +64,33 @@ public class SegmentInputStreamFactoryImpl implements SegmentInputStreamFactory
 
     @Override
     public EventSegmentReader createEventReaderForSegment(Segment segment, long startOffset, long endOffset) {
-        return getEventSegmentReader(segment, null, startOffset,  endOffset, SegmentInputStreamImpl.DEFAULT_BUFFER_SIZE);
+        return getEventSegmentReader(segment, null, startOffset,  endOffset, SegmentInputStreamImpl.DEFAULT_BUFFER_SIZE, null);
     }
 
     @Override
     public EventSegmentReader createEventReaderForSegment(Segment segment, int bufferSize) {
-        return getEventSegmentReader(segment, null, 0, Long.MAX_VALUE, bufferSize);
+        return getEventSegmentReader(segment, null, 0, Long.MAX_VALUE, bufferSize, null);
     }
     
     @Override
     public EventSegmentReader createEventReaderForSegment(Segment segment, int bufferSize, Semaphore hasData, long endOffset) {
-        return getEventSegmentReader(segment, hasData, 0, endOffset, bufferSize);
+        return getEventSegmentReader(segment, hasData, 0, endOffset, bufferSize, null);
+    }
+
+    @Override
+    public EventSegmentReader createEventReaderForSegment(Segment segment, int bufferSize, Semaphore hasData, long endOffset,
+                                                          byte[] eventPrefixFilter) {
+        return getEventSegmentReader(segment, hasData, 0, endOffset, bufferSize, eventPrefixFilter);
     }
 
-    private EventSegmentReader getEventSegmentReader(Segment segment, Semaphore hasData, long startOffset, long endOffset, int bufferSize) {
+    private EventSegmentReader getEventSegmentReader(Segment segment, Semaphore hasData, long startOffset, long endOffset,
+                                                     int bufferSize, byte[] eventPrefixFilter) {
         String delegationToken = Futures.getAndHandleExceptions(controller.getOrRefreshDelegationTokenFor(segment.getScope(),
                 segment.getStream().getStreamName(), AccessOperation.READ), RuntimeException::new);
+        ByteBuf eventPrefix = eventPrefixFilter == null ? Unpooled.EMPTY_BUFFER : Unpooled.wrappedBuffer(eventPrefixFilter);
         AsyncSegmentInputStreamImpl async = new AsyncSegmentInputStreamImpl(controller, cp, segment,
-                DelegationTokenProviderFactory.create(delegationToken, controller, segment, AccessOperation.READ), hasData);
+                DelegationTokenProviderFactory.create(delegationToken, controller, segment, AccessOperation.READ), hasData,
+                eventPrefix);
         async.getConnection();                      //Sanity enforcement
         bufferSize = MathHelpers.minMax(bufferSize, SegmentInputStreamImpl.MIN_BUFFER_SIZE, SegmentInputStreamImpl.MAX_BUFFER_SIZE);
         return getEventSegmentReader(async, startOffset, endOffset, bufferSize);
@@ -86,4 +118,101 @@ public class SegmentInputStreamFactoryImpl implements SegmentInputStreamFactory
         async.getConnection();
         return new SegmentInputStreamImpl(async, startOffset);
     }
+
+    @Override
+    public Map<Segment, CompletableFuture<SegmentRead>> readSegments(Map<Segment, Long> offsets, Map<Segment, Integer> lengths) {
+        Map<Segment, CompletableFuture<SegmentRead>> result = new HashMap<>();
+        Map<Segment, CompletableFuture<PravegaNodeUri>> endpoints = new HashMap<>();
+        offsets.keySet().forEach(segment -> {
+            result.put(segment, new CompletableFuture<>());
+            endpoints.put(segment, controller.getEndpointForSegment(segment.getScopedName()));
+        });
+        Futures.allOfWithResults(endpoints)
+               .thenAccept(uris -> uris.entrySet().stream()
+                                       .collect(groupingBy(Map.Entry::getValue, mapping(Map.Entry::getKey, toList())))
+                                       .forEach((uri, segments) -> readSegments(uri, segments, offsets, lengths, result)))
+               .exceptionally(e -> {
+                   result.values().forEach(f -> f.completeExceptionally(e));
+                   return null;
+               });
+        return result;
+    }
+
+    /**
+     * Reads from the given segments (which are all owned by the Segment Store at the given endpoint) using a single
+     * {@link WireCommands.ReadSegments} request, or using one {@link WireCommands.ReadSegment} request for each of them
+     * if the Segment Store does not support the former.
+     */
+    private void readSegments(PravegaNodeUri uri, List<Segment> segments, Map<Segment, Long> offsets,
+                              Map<Segment, Integer> lengths, Map<Segment, CompletableFuture<SegmentRead>> result) {
+        Map<Segment, CompletableFuture<String>> tokens = new HashMap<>();
+        segments.forEach(segment -> tokens.put(segment, getReadTokenProvider(segment).retrieveToken()));
+        Futures.allOfWithResults(tokens)
+               .thenCompose(tokensBySegment -> {
+                   RawClient client = new RawClient(uri, cp);
+                   CompletableFuture<Void> sent = client.getServerVersion().thenAccept(serverVersion -> {
+                       // The reads are sent on the same flow as the request, so that any of them which is answered on its
+                       // own (instead of as part of the batched reply) is routed back to this client as well.
+                       List<WireCommands.ReadSegment> reads = new ArrayList<>(segments.size());
+                       for (Segment segment : segments) {
+                           reads.add(new WireCommands.ReadSegment(segment.getScopedName(), offsets.get(segment), lengths.get(segment),
+                                   tokensBySegment.get(segment), client.getFlow().getNextSequenceNumber()));
+                       }
+                       List<CompletableFuture<Reply>> replies = sendReads(client, uri, serverVersion, reads);
+                       for (int i = 0; i < segments.size(); i++) {
+                           Segment segment = segments.get(i);
+                           CompletableFuture<Reply> reply = replies.get(i);
+                           Futures.completeAfter(() -> reply.thenCompose(r -> toSegmentRead(segment, r)), result.get(segment));
+                       }
+                       Futures.allOf(replies).whenComplete((r, e) -> client.close());
+                   });
+                   Futures.exceptionListener(sent, e -> client.close());
+                   return sent;
+               })
+               .exceptionally(e -> {
+                   segments.forEach(segment -> result.get(segment).completeExceptionally(e));
+                   return null;
+               });
+    }
+
+    private List<CompletableFuture<Reply>> sendReads(RawClient client, PravegaNodeUri uri, int serverVersion,
+                                                     List<WireCommands.ReadSegment> reads) {
+        if (serverVersion >= WireCommands.ReadSegments.MIN_WIRE_VERSION) {
+            List<Long> readIds = reads.stream().map(WireCommands.ReadSegment::getRequestId).collect(toList());
+            return client.sendRequest(readIds, new WireCommands.ReadSegments(client.getFlow().getNextSequenceNumber(), reads));
+        }
+
+        log.debug("Segment Store {} does not support batched reads (wire version {}). Sending {} reads one at a time.",
+                uri, serverVersion, reads.size());
+        List<CompletableFuture<Reply>> replies = new ArrayList<>(reads.size());
+        for (WireCommands.ReadSegment read : reads) {
+            replies.add(client.sendRequest(read.getRequestId(), read));
+        }
+        return replies;
+    }
+
+    private DelegationTokenProvider getReadTokenProvider(Segment segment) {
+        return readTokenProviders.computeIfAbsent(segment.getStream(),
+                stream -> DelegationTokenProviderFactory.create(controller, segment, AccessOperation.READ));
+    }
+
+    private CompletableFuture<SegmentRead> toSegmentRead(Segment segment, Reply reply) {
+        if (reply instanceof SegmentRead) {
+            return CompletableFuture.completedFuture((SegmentRead) reply);
+        } else if (reply instanceof WireCommands.SegmentIsSealed) {
+            WireCommands.SegmentIsSealed sealed = (WireCommands.SegmentIsSealed) reply;
+            return CompletableFuture.completedFuture(new SegmentRead(sealed.getSegment(), sealed.getOffset(), true, true,
+                    Unpooled.EMPTY_BUFFER, sealed.getRequestId()));
+        } else if (reply instanceof WireCommands.SegmentIsTruncated || reply instanceof WireCommands.NoSuchSegment) {
+            log.info("Received {} while reading from segment {}", reply, segment);
+            return Futures.failedFuture(new SegmentTruncatedException(reply.toString()));
+        } else if (reply instanceof WireCommands.AuthTokenCheckFailed) {
+            WireCommands.AuthTokenCheckFailed authTokenCheckFailed = (WireCommands.AuthTokenCheckFailed) reply;
+            return Futures.failedFuture(authTokenCheckFailed.isTokenExpired()
+                    ? new TokenExpiredException(authTokenCheckFailed.getServerStackTrace())
+                    : new AuthenticationException(authTokenCheckFailed.toString()));
+        } else {
+            return Futures.failedFuture(new IllegalStateException("Unexpected reply while reading from segment " + segment + ": " + reply));
+        }
+    }
 }
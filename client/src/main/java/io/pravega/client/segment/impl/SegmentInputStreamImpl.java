@@ -23,6 +23,7 @@ import io.pravega.shared.protocol.netty.WireCommands;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 import javax.annotation.concurrent.GuardedBy;
 import lombok.Synchronized;
 import lombok.ToString;
@@ -138,7 +139,17 @@ class SegmentInputStreamImpl implements SegmentInputStream {
     }
 
     private boolean dataWaitingToGoInBuffer() {
-        return outstandingRequest != null && Futures.isSuccessful(outstandingRequest) && buffer.capacityAvailable() > 0;
+        return outstandingRequest != null && Futures.isSuccessful(outstandingRequest) && buffer.capacityAvailable() > 0
+                && (buffer.dataAvailable() == 0 || !isAfterSkippedData(outstandingRequest.join()));
+    }
+
+    /**
+     * Whether the given read starts after a range of data that was skipped by the Segment Store (which only happens for
+     * reads filtered by event, see {@link WireCommands.ReadSegment#getEventPrefix}). Such reads can only be moved into
+     * the buffer once it has been drained, as the buffer must be contiguous.
+     */
+    private boolean isAfterSkippedData(SegmentRead segmentRead) {
+        return segmentRead.getData().readerIndex() == 0 && segmentRead.getOffset() > offset + buffer.dataAvailable();
     }
 
     private void handleRequest() throws SegmentTruncatedException {
@@ -153,6 +164,11 @@ class SegmentInputStreamImpl implements SegmentInputStream {
             }
             throw e;
         }
+        if (isAfterSkippedData(segmentRead)) {
+            checkState(buffer.dataAvailable() == 0, "Skipping data while the buffer is not empty.");
+            log.trace("Skipping segment {} from offset {} to {}", getSegmentId(), offset, segmentRead.getOffset());
+            offset = segmentRead.getOffset();
+        }
         verifyIsAtCorrectOffset(segmentRead);
         if (segmentRead.getData().readableBytes() > 0) {
             int copied = buffer.fill(segmentRead.getData().nioBuffers());
@@ -181,13 +197,20 @@ class SegmentInputStreamImpl implements SegmentInputStream {
      *  - if we have not read up to the configured endOffset.
      */
     private void issueRequestIfNeeded() {
+        issueRequestIfNeeded(asyncInput::read);
+    }
+
+    /**
+     * Same as {@link #issueRequestIfNeeded()}, but issues the request using the given function.
+     */
+    private void issueRequestIfNeeded(BiFunction<Long, Integer, CompletableFuture<SegmentRead>> read) {
         //compute read length based on current offset up to which the events are read.
         int updatedReadLength = computeReadLength(offset + buffer.dataAvailable());
         if (!receivedEndOfSegment && !receivedTruncated && updatedReadLength > 0 && outstandingRequest == null) {
             if (log.isTraceEnabled()) {
                 log.trace("Issuing read request for segment {} of {} bytes", getSegmentId(), updatedReadLength);
             }
-            CompletableFuture<SegmentRead> r = asyncInput.read(offset + buffer.dataAvailable(), updatedReadLength);
+            CompletableFuture<SegmentRead> r = read.apply(offset + buffer.dataAvailable(), updatedReadLength);
             outstandingRequest = Futures.cancellableFuture(r, SegmentRead::release);
         }
     }
@@ -239,10 +262,28 @@ class SegmentInputStreamImpl implements SegmentInputStream {
     @Override
     @Synchronized
     public CompletableFuture<?> fillBuffer() {
+        return fillBufferUsing(asyncInput::read);
+    }
+
+    @Override
+    @Synchronized
+    public CompletableFuture<?> fillBuffer(BiFunction<Long, Integer, CompletableFuture<SegmentRead>> batchRead) {
+        return fillBufferUsing((offset, length) -> Futures.exceptionallyCompose(batchRead.apply(offset, length), e -> {
+            if (Exceptions.unwrap(e) instanceof SegmentTruncatedException) {
+                return Futures.failedFuture(e);
+            }
+            // Batched reads are not retried, unlike the ones issued directly.
+            log.debug("Batched read for segment {} at offset {} failed. Reading it directly.", getSegmentId(), offset, e);
+            return asyncInput.read(offset, length);
+        }));
+    }
+
+    @GuardedBy("$lock")
+    private CompletableFuture<?> fillBufferUsing(BiFunction<Long, Integer, CompletableFuture<SegmentRead>> read) {
         log.trace("Filling buffer {}", this);
         Exceptions.checkNotClosed(asyncInput.isClosed(), this);
         try {
-            issueRequestIfNeeded();
+            issueRequestIfNeeded(read);
             while (dataWaitingToGoInBuffer()) {
                 handleRequest();
             }
@@ -329,11 +329,14 @@ class SegmentOutputStreamImpl implements SegmentOutputStream {
     private final class ResponseProcessor extends FailingReplyProcessor {
         @Override
         public void connectionDropped() {
+            // The Segment Store may be down, in which case its (cached) endpoint is no longer valid.
+            controller.invalidateCache(segmentName);
             failConnection(new ConnectionFailedException("Connection dropped for writer " + writerId));
         }
 
         @Override
         public void wrongHost(WrongHost wrongHost) {
+            controller.invalidateCache(segmentName);
             failConnection(new ConnectionFailedException(wrongHost.toString()));
         }
 
@@ -350,6 +353,7 @@ class SegmentOutputStreamImpl implements SegmentOutputStream {
         @Override
         public void segmentIsSealed(SegmentIsSealed segmentIsSealed) {
             log.info("Received SegmentSealed {} on writer {}", segmentIsSealed, writerId);
+            controller.invalidateCache(segmentName);
             invokeResendCallBack(segmentIsSealed);
         }
 
@@ -623,6 +627,12 @@ class SegmentOutputStreamImpl implements SegmentOutputStream {
                           log.info("Establishing connection to {} for {}, writerID: {}", uri, segmentName, writerId);
                           return establishConnection(uri);
                       }, connectionPool.getInternalExecutor())
+                      // The endpoint may belong to a Segment Store that is down; make sure the next attempt looks it up again.
+                      .whenComplete((connection, ex) -> {
+                          if (ex != null) {
+                              controller.invalidateCache(segmentName);
+                          }
+                      })
                       .thenCombineAsync(tokenProvider.retrieveToken(),
                                         AbstractMap.SimpleEntry<ClientConnection, String>::new,
                                         connectionPool.getInternalExecutor())
@@ -636,6 +646,7 @@ class SegmentOutputStreamImpl implements SegmentOutputStream {
                               connection.send(cmd);
                           } catch (ConnectionFailedException e1) {
                               // This needs to be invoked here because call to failConnection from netty may occur before state.newConnection above.
+                              controller.invalidateCache(segmentName);
                               state.failConnection(e1);
                               throw Exceptions.sneakyThrow(e1);
                           }
@@ -16,6 +16,8 @@
 package io.pravega.client.stream;
 
 import io.pravega.client.segment.impl.NoSuchEventException;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * A reader for a stream.
@@ -60,6 +62,30 @@ public interface EventStreamReader<T> extends AutoCloseable {
      */
     EventRead<T> readNextEvent(long timeoutMillis) throws ReinitializationRequiredException, TruncatedDataException;
 
+    /**
+     * Gets up to maxEvents of the next events in the stream. This behaves like {@link #readNextEvent(long)} for the
+     * first event, including blocking for up to timeoutMillis for it, but then also returns the events that follow it
+     * and are already available to the reader, without blocking further. This is cheaper than calling
+     * {@link #readNextEvent(long)} for each of them, as the reader group state is only checked once per call.
+     * <p>
+     * The returned list always has at least one element. A checkpoint, or an EventRead with null for
+     * {@link EventRead#getEvent()}, is always the only element of the list. Each EventRead has its own position, which
+     * is the same as if it had been returned by {@link #readNextEvent(long)}.
+     *
+     * @param maxEvents The maximum number of events to return. Must be positive.
+     * @param timeoutMillis An upper bound on how long the call may block before returning null.
+     * @return The next events in the stream, in the order {@link #readNextEvent(long)} would return them.
+     * @throws ReinitializationRequiredException Is thrown in the event that
+     *             {@link ReaderGroup#resetReaderGroup(ReaderGroupConfig)} was called
+     *             which requires readers to be reinitialized.
+     * @throws TruncatedDataException if the data that would be read next has been truncated away
+     *             and can no longer be read. (If following this readNextEvents is called again it
+     *             will resume from the next available event.)
+     */
+    default List<EventRead<T>> readNextEvents(int maxEvents, long timeoutMillis) throws ReinitializationRequiredException, TruncatedDataException {
+        return Collections.singletonList(readNextEvent(timeoutMillis));
+    }
+
     /**
      * Gets the configuration that this reader was created with.
      *
@@ -28,11 +28,30 @@ public class ReaderConfig implements Serializable {
     private final long initialAllocationDelay;
     private final boolean disableTimeWindows;
     private final int bufferSize;
+    /**
+     * If set, the reader only returns events whose serialized form starts with these bytes. Other events are skipped by
+     * the Segment Store, so they do not need to be sent to the reader.
+     */
+    private final byte[] eventPrefixFilter;
+    /**
+     * The number of events the reader reads ahead of the caller, from all of its segments, before they are requested.
+     * Events of the same segment are still returned in order, and positions and checkpoints only reflect the events
+     * that have been returned. 0 (the default) disables read-ahead.
+     */
+    private final int prefetchQueueSize;
+    /**
+     * The number of threads used to deserialize read-ahead events in parallel with the caller. The serializer must be
+     * thread safe if this is set. 0 (the default) deserializes events on the thread that reads them. This has no effect
+     * unless {@link #prefetchQueueSize} is set.
+     */
+    private final int deserializationThreads;
     
     public static class ReaderConfigBuilder {
         private long initialAllocationDelay = 0;
         private boolean disableTimeWindows = false;
         private int bufferSize = 1024 * 1024;
+        private int prefetchQueueSize = 0;
+        private int deserializationThreads = 0;
     }
     
 }
@@ -26,7 +26,6 @@ import io.pravega.client.admin.impl.ReaderGroupManagerImpl;
 import io.pravega.client.connection.impl.ConnectionFactory;
 import io.pravega.client.connection.impl.ConnectionPool;
 import io.pravega.client.connection.impl.ConnectionPoolImpl;
-import io.pravega.client.connection.impl.SocketConnectionFactoryImpl;
 import io.pravega.client.control.impl.Controller;
 import io.pravega.client.security.auth.DelegationTokenProvider;
 import io.pravega.client.security.auth.DelegationTokenProviderFactory;
@@ -93,7 +92,7 @@ public class ClientFactoryImpl extends AbstractClientFactoryImpl implements Even
      * @param config            The client config.
      */
     public ClientFactoryImpl(String scope, Controller controller, ClientConfig config) {
-        super(scope, controller, new ConnectionPoolImpl(config, new SocketConnectionFactoryImpl(config)));
+        super(scope, controller, new ConnectionPoolImpl(config, ConnectionFactory.create(config)));
         this.inFactory = new SegmentInputStreamFactoryImpl(controller, connectionPool);
         this.outFactory = new SegmentOutputStreamFactoryImpl(controller, connectionPool);
         this.condFactory = new ConditionalOutputStreamFactoryImpl(controller, connectionPool);
@@ -0,0 +1,91 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.client.stream.impl;
+
+import com.google.common.base.Preconditions;
+import io.pravega.client.stream.EventRead;
+import io.pravega.client.stream.EventStreamReader;
+import io.pravega.client.stream.ReinitializationRequiredException;
+import io.pravega.common.util.DemandDrivenSubscription;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/**
+ * Delivers the events read by an {@link EventStreamReader} as they are requested, following the Reactive Streams
+ * protocol (see {@link DemandDrivenSubscription}).
+ *
+ * The reader is only read from while there is outstanding demand, and each read asks for at most as many events as
+ * have been requested (see {@link EventStreamReader#readNextEvents(int, long)}), so demand also bounds how far the
+ * reader reads ahead. Checkpoints are delivered like events, so that the subscriber can tell where they fall; empty reads
+ * are not delivered. The subscription never completes; if the reader fails, onError is invoked with the
+ * {@link ReinitializationRequiredException} or {@link io.pravega.client.stream.TruncatedDataException}.
+ *
+ * The reader must not be used by anything else while subscribed, and is not closed when the subscription terminates.
+ *
+ * @param <T> The type of events being read.
+ */
+public final class EventReadSubscription<T> extends DemandDrivenSubscription<EventRead<T>> {
+    private final EventStreamReader<T> reader;
+    private final int maxBatchSize;
+    private final long readTimeoutMillis;
+    private final Executor executor;
+
+    /**
+     * Creates a new instance of the EventReadSubscription class.
+     *
+     * @param reader            The reader to read from.
+     * @param maxBatchSize      The maximum number of events to read at a time.
+     * @param readTimeoutMillis The timeout passed to each read. This bounds how long it takes for a cancellation to free up
+     *                          the executor thread.
+     * @param executor          The executor to make the (blocking) reads on.
+     * @param onNext            Invoked for each event or checkpoint.
+     * @param onError           Invoked if reading fails.
+     */
+    public EventReadSubscription(@NonNull EventStreamReader<T> reader, int maxBatchSize, long readTimeoutMillis,
+                                 @NonNull Executor executor, Consumer<? super EventRead<T>> onNext, Consumer<Throwable> onError) {
+        super(onNext, onError, () -> { });
+        Preconditions.checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+        Preconditions.checkArgument(readTimeoutMillis >= 0, "readTimeoutMillis must not be negative");
+        this.reader = reader;
+        this.maxBatchSize = maxBatchSize;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.executor = executor;
+    }
+
+    @Override
+    protected CompletableFuture<List<EventRead<T>>> fetch(long demand) {
+        int batchSize = (int) Math.min(demand, maxBatchSize);
+        return CompletableFuture.supplyAsync(() -> read(batchSize), executor);
+    }
+
+    private List<EventRead<T>> read(int batchSize) {
+        if (isTerminated()) {
+            return null;
+        }
+        List<EventRead<T>> events = reader.readNextEvents(batchSize, readTimeoutMillis);
+        List<EventRead<T>> result = new ArrayList<>(events.size());
+        for (EventRead<T> event : events) {
+            if (event.getEvent() != null || event.isCheckpoint()) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+}
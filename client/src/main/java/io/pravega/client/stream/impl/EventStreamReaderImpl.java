@@ -45,24 +45,33 @@ import io.pravega.client.stream.TruncatedDataException;
 import io.pravega.client.stream.impl.SegmentWithRange.Range;
 import io.pravega.common.Exceptions;
 import io.pravega.common.Timer;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.shared.security.auth.AccessOperation;
 import io.pravega.common.util.CopyOnWriteHashMap;
 import io.pravega.shared.protocol.netty.WireCommands;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
 import java.nio.ByteBuffer;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.annotation.concurrent.GuardedBy;
 import lombok.Cleanup;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import static io.pravega.client.segment.impl.EndOfSegmentException.ErrorType.END_OF_SEGMENT_REACHED;
@@ -106,6 +115,14 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
     private final Supplier<Long> clock;
     private final Controller controller;
     private final Semaphore segmentsWithData;
+    // Events read ahead of the caller when ReaderConfig.prefetchQueueSize is set, in the order they will be returned.
+    @GuardedBy("readers")
+    private final ArrayDeque<PrefetchedEvent<Type>> prefetched = new ArrayDeque<>();
+    // Readers which reached the end of their segment or a truncation while reading ahead. They are not read from until
+    // that has been handled, which only happens once the events read before it have been returned.
+    @GuardedBy("readers")
+    private final Set<EventSegmentReader> stalledReaders = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final ScheduledExecutorService deserializationExecutor;
 
     EventStreamReaderImpl(SegmentInputStreamFactory inputStreamFactory,
             SegmentMetadataClientFactory metadataClientFactory, Serializer<Type> deserializer,
@@ -122,6 +139,9 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
         this.closed = false;
         this.controller = controller;
         this.segmentsWithData = new Semaphore(0);
+        this.deserializationExecutor = config.getPrefetchQueueSize() > 0 && config.getDeserializationThreads() > 0
+                ? ExecutorServiceHelpers.newScheduledThreadPool(config.getDeserializationThreads(), "reader-deserializer")
+                : null;
     }
 
     @Override
@@ -137,7 +157,81 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
         }
     }
     
+    @Override
+    public List<EventRead<Type>> readNextEvents(int maxEvents, long timeoutMillis) throws ReinitializationRequiredException, TruncatedDataException {
+        Preconditions.checkArgument(maxEvents > 0, "maxEvents must be positive");
+        synchronized (readers) {
+            Preconditions.checkState(!closed, "Reader is closed");
+            try {
+                EventRead<Type> first = readNextEventInternal(timeoutMillis);
+                if (first.getEvent() == null || maxEvents == 1) {
+                    return Collections.singletonList(first);
+                }
+                List<EventRead<Type>> result = new ArrayList<>(Math.min(maxEvents, MAX_BUFFERED_SEGMENT_OFFSET_UPDATES));
+                result.add(first);
+                if (config.getPrefetchQueueSize() > 0) {
+                    readPrefetchedEvents(result, maxEvents);
+                } else {
+                    readBufferedEvents(first.getEventPointer().asImpl().getSegment(), result, maxEvents);
+                }
+                return result;
+            } catch (ReaderNotInReaderGroupException e) {
+                close();
+                throw new ReinitializationRequiredException(e);
+            }
+        }
+    }
+
+    /**
+     * Adds the events following the last one read from the given segment to result, for as long as they are buffered.
+     * The reader group state is not checked in between, as it only needs to be checked once per call.
+     */
+    @GuardedBy("readers")
+    private void readBufferedEvents(Segment segment, List<EventRead<Type>> result, int maxEvents) {
+        EventSegmentReader segmentReader = readers.stream().filter(r -> r.getSegmentId().equals(segment)).findAny().orElse(null);
+        if (segmentReader == null) {
+            return;
+        }
+        try {
+            while (result.size() < maxEvents && segmentReader.isSegmentReady()) {
+                ByteBuffer buffer = segmentReader.read(0);
+                if (buffer == null) {
+                    return;
+                }
+                // As in readNextEventInternal, events which do not match the filter may have been skipped since the
+                // previous one, so the offset of each event is only known once it has been read.
+                int length = buffer.remaining() + WireCommands.TYPE_PLUS_LENGTH_SIZE;
+                long offset = segmentReader.getOffset() - length;
+                if (matchesFilter(buffer)) {
+                    result.add(createEvent(segment, offset, length, deserializer.deserialize(buffer)));
+                } else {
+                    addSegmentOffsetUpdateIfNeeded(segment, segmentReader.getOffset());
+                }
+            }
+        } catch (EndOfSegmentException | SegmentTruncatedException e) {
+            // Handled by the next call to read.
+        }
+    }
+
+    /**
+     * Adds the events at the head of {@link #prefetched} to result, up to the next end of segment or truncation.
+     */
+    @GuardedBy("readers")
+    private void readPrefetchedEvents(List<EventRead<Type>> result, int maxEvents) {
+        while (result.size() < maxEvents) {
+            PrefetchedEvent<Type> event = prefetched.peek();
+            if (event == null || event.failure != null) {
+                return;
+            }
+            prefetched.poll();
+            result.add(createEvent(event));
+        }
+    }
+
     private EventRead<Type> readNextEventInternal(long timeoutMillis) throws ReaderNotInReaderGroupException, TruncatedDataException {
+        if (config.getPrefetchQueueSize() > 0) {
+            return readNextPrefetchedEvent(timeoutMillis);
+        }
         long firstByteTimeoutMillis = Math.min(timeoutMillis, BASE_READER_WAITING_TIME_MS);
         Timer timer = new Timer();
         Segment segment = null;
@@ -149,16 +243,25 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
                 // return checkpoint event to user
                 return createEmptyEvent(checkpoint);
             }
-            EventSegmentReader segmentReader = orderer.nextSegment(readers);
+            EventSegmentReader segmentReader = orderer.nextSegment(readers, this::fillBuffers);
             if (segmentReader == null) {
                 blockFor(firstByteTimeoutMillis);
                 segmentsWithData.drainPermits();
                 buffer = null;
             } else {
                 segment = segmentReader.getSegmentId();
-                offset = segmentReader.getOffset();
                 try {
                     buffer = segmentReader.read(firstByteTimeoutMillis);
+                    if (buffer != null) {
+                        // Events which do not match the filter may have been skipped, so the offset of this one is only
+                        // known once it has been read.
+                        offset = segmentReader.getOffset() - buffer.remaining() - WireCommands.TYPE_PLUS_LENGTH_SIZE;
+                        if (!matchesFilter(buffer)) {
+                            // Only happens if the Segment Store did not filter the events itself.
+                            addSegmentOffsetUpdateIfNeeded(segment, segmentReader.getOffset());
+                            buffer = null;
+                        }
+                    }
                 } catch (EndOfSegmentException e) {
                     boolean isSegmentSealed = e.getErrorType().equals(END_OF_SEGMENT_REACHED);
                     handleEndOfSegment(segmentReader, isSegmentSealed);
@@ -178,10 +281,163 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
             log.debug("Empty event returned for reader {} ", groupState.getReaderId());
             return createEmptyEvent(null);
         } 
-        lastRead = Sequence.create(segment.getSegmentId(), offset);
         int length = buffer.remaining() + WireCommands.TYPE_PLUS_LENGTH_SIZE;
+        return createEvent(segment, offset, length, deserializer.deserialize(buffer));
+    }
+
+    @GuardedBy("readers")
+    private EventRead<Type> createEvent(Segment segment, long offset, int length, Type value) {
+        lastRead = Sequence.create(segment.getSegmentId(), offset);
         addSegmentOffsetUpdateIfNeeded(segment, offset + length);
-        return new EventReadImpl<>(deserializer.deserialize(buffer), getCurrentPosition(), new EventPointerImpl(segment, offset, length), null);
+        return new EventReadImpl<>(value, getCurrentPosition(), new EventPointerImpl(segment, offset, length), null);
+    }
+
+    /**
+     * Same as {@link #readNextEventInternal(long)}, but events are read ahead from all segments into {@link #prefetched}
+     * (and deserialized on {@link #deserializationExecutor} if there is one) and returned from there. The end of a
+     * segment or a truncation is only handled once all the events read from that segment before it have been returned,
+     * so that positions never include events which have not been returned yet.
+     */
+    @GuardedBy("readers")
+    private EventRead<Type> readNextPrefetchedEvent(long timeoutMillis) throws ReaderNotInReaderGroupException, TruncatedDataException {
+        long firstByteTimeoutMillis = Math.min(timeoutMillis, BASE_READER_WAITING_TIME_MS);
+        Timer timer = new Timer();
+        PrefetchedEvent<Type> event = null;
+        do {
+            String checkpoint = updateGroupStateIfNeeded();
+            if (checkpoint != null) {
+                // return checkpoint event to user
+                return createEmptyEvent(checkpoint);
+            }
+            prefetch();
+            event = prefetched.poll();
+            if (event == null) {
+                blockFor(firstByteTimeoutMillis);
+                segmentsWithData.drainPermits();
+            } else if (event.failure != null) {
+                EventSegmentReader segmentReader = event.segmentReader;
+                stalledReaders.remove(segmentReader);
+                try {
+                    if (event.failure instanceof EndOfSegmentException) {
+                        handleEndOfSegment(segmentReader, ((EndOfSegmentException) event.failure).getErrorType().equals(END_OF_SEGMENT_REACHED));
+                    } else {
+                        handleSegmentTruncated(segmentReader);
+                    }
+                } finally {
+                    refreshAndGetPosition();
+                }
+                event = null;
+            }
+        } while (event == null && timer.getElapsedMillis() < timeoutMillis);
+
+        if (event == null) {
+            log.debug("Empty event returned for reader {} ", groupState.getReaderId());
+            return createEmptyEvent(null);
+        }
+        return createEvent(event);
+    }
+
+    @GuardedBy("readers")
+    private EventRead<Type> createEvent(PrefetchedEvent<Type> event) {
+        Type value = event.deserialized == null ? deserializer.deserialize(event.data) : Futures.getThrowingException(event.deserialized);
+        return createEvent(event.segmentReader.getSegmentId(), event.offset, event.length, value);
+    }
+
+    /**
+     * Reads events which are already available from the segments into {@link #prefetched}, until it is full, and
+     * requests more data for all the segments so that it is fetched concurrently while those events are consumed.
+     */
+    @GuardedBy("readers")
+    private void prefetch() {
+        List<EventSegmentReader> candidates = new ArrayList<>(readers);
+        candidates.removeIf(stalledReaders::contains);
+        while (prefetched.size() < config.getPrefetchQueueSize()) {
+            EventSegmentReader segmentReader = orderer.nextSegment(candidates, this::fillBuffers);
+            if (segmentReader == null) {
+                break;
+            }
+            try {
+                ByteBuffer buffer = segmentReader.read(0);
+                if (buffer == null) {
+                    candidates.remove(segmentReader);
+                } else if (matchesFilter(buffer)) {
+                    int length = buffer.remaining() + WireCommands.TYPE_PLUS_LENGTH_SIZE;
+                    CompletableFuture<Type> deserialized = deserializationExecutor == null ? null
+                            : CompletableFuture.supplyAsync(() -> deserializer.deserialize(buffer), deserializationExecutor);
+                    prefetched.add(new PrefetchedEvent<>(segmentReader, segmentReader.getOffset() - length, length, buffer,
+                                                         deserialized, null));
+                }
+            } catch (EndOfSegmentException | SegmentTruncatedException e) {
+                prefetched.add(new PrefetchedEvent<>(segmentReader, segmentReader.getOffset(), 0, null, null, e));
+                stalledReaders.add(segmentReader);
+                candidates.remove(segmentReader);
+            }
+        }
+        fillBuffers(candidates);
+    }
+
+    /**
+     * Requests more data for all the given segments. The reads that need to be issued for them are batched (see
+     * {@link SegmentInputStreamFactory#readSegments}), so that reading from many segments does not cost a round trip per
+     * segment. Readers that filter events by prefix read from each segment on its own, as batched reads are not filtered.
+     */
+    @GuardedBy("readers")
+    private void fillBuffers(List<EventSegmentReader> segmentReaders) {
+        if (segmentReaders.size() < 2 || config.getEventPrefixFilter() != null) {
+            segmentReaders.forEach(EventSegmentReader::fillBuffer);
+            return;
+        }
+        Map<Segment, Long> offsets = new HashMap<>();
+        Map<Segment, Integer> lengths = new HashMap<>();
+        Map<Segment, CompletableFuture<SegmentRead>> reads = new HashMap<>();
+        for (EventSegmentReader segmentReader : segmentReaders) {
+            Segment segment = segmentReader.getSegmentId();
+            segmentReader.fillBuffer((offset, length) -> {
+                CompletableFuture<SegmentRead> read = new CompletableFuture<>();
+                // Same as for the reads issued by the segment readers themselves (see createEventReaderForSegment).
+                read.whenComplete((r, e) -> segmentsWithData.release());
+                offsets.put(segment, offset);
+                lengths.put(segment, length);
+                reads.put(segment, read);
+                return read;
+            });
+        }
+        if (reads.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Segment, CompletableFuture<SegmentRead>> results = inputStreamFactory.readSegments(offsets, lengths);
+            reads.forEach((segment, read) -> Futures.completeAfter(() -> results.get(segment), read));
+        } catch (Exception e) {
+            // The segment readers will issue these reads again on their own.
+            reads.values().forEach(read -> read.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Returns the offset up to which the events of the given reader have been returned to the caller. This is behind
+     * the offset of the reader itself if events have been read ahead from it.
+     */
+    @GuardedBy("readers")
+    private long getReturnedOffset(EventSegmentReader segmentReader) {
+        for (PrefetchedEvent<Type> event : prefetched) {
+            if (event.segmentReader == segmentReader) {
+                return event.offset;
+            }
+        }
+        return segmentReader.getOffset();
+    }
+
+    private boolean matchesFilter(ByteBuffer event) {
+        byte[] prefix = config.getEventPrefixFilter();
+        if (prefix == null) {
+            return true;
+        } else if (event.remaining() < prefix.length) {
+            return false;
+        }
+        ByteBuffer eventPrefix = event.duplicate();
+        eventPrefix.limit(eventPrefix.position() + prefix.length);
+        return eventPrefix.equals(ByteBuffer.wrap(prefix));
     }
 
     private void addSegmentOffsetUpdateIfNeeded(Segment segment, long offset) {
@@ -217,7 +473,7 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
         segmentOffsetUpdatesIndex = 0;
         ownedSegments = new HashMap<>(sealedSegments);
         for (EventSegmentReader entry : readers) {
-            ownedSegments.put(entry.getSegmentId(), entry.getOffset());
+            ownedSegments.put(entry.getSegmentId(), getReturnedOffset(entry));
         }
         return getCurrentPosition();
     }
@@ -316,9 +572,12 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
             log.info("{} releasing segment {}", this, segment);
             EventSegmentReader reader = readers.stream().filter(r -> r.getSegmentId().equals(segment)).findAny().orElse(null);
             if (reader != null) {
-                if (groupState.releaseSegment(segment, reader.getOffset(), getLag(), position)) {
+                if (groupState.releaseSegment(segment, getReturnedOffset(reader), getLag(), position)) {
                     readers.remove(reader);
                     ranges.remove(reader.getSegmentId());
+                    // Events read ahead from the segment will be read again by its new owner.
+                    prefetched.removeIf(event -> event.segmentReader == reader);
+                    stalledReaders.remove(reader);
                     reader.close();
                 }
             }
@@ -355,7 +614,8 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
                 } else {
                     Segment segment = newSegment.getKey().getSegment();
                     EventSegmentReader in = inputStreamFactory.createEventReaderForSegment(segment, config.getBufferSize(),
-                                                                                           segmentsWithData, endOffset);
+                                                                                           segmentsWithData, endOffset,
+                                                                                           config.getEventPrefixFilter());
                     in.setOffset(newSegment.getValue());
                     readers.add(in);
                     ranges.put(segment, newSegment.getKey().getRange());
@@ -428,6 +688,11 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
                     reader.close();
                 }
                 readers.clear();
+                prefetched.clear();
+                stalledReaders.clear();
+                if (deserializationExecutor != null) {
+                    ExecutorServiceHelpers.shutdown(deserializationExecutor);
+                }
                 ranges = new CopyOnWriteHashMap<>();
                 ownedSegments = new HashMap<>();
                 segmentOffsetUpdates = newImmutableSegmentOffsetUpdatesList();
@@ -470,6 +735,19 @@ public class EventStreamReaderImpl<Type> implements EventStreamReader<Type> {
         }
     }
 
+    /**
+     * An event read ahead of the caller, or the failure which stopped reading ahead from its segment.
+     */
+    @RequiredArgsConstructor
+    private static final class PrefetchedEvent<Type> {
+        private final EventSegmentReader segmentReader;
+        private final long offset;
+        private final int length;
+        private final ByteBuffer data;
+        private final CompletableFuture<Type> deserialized;
+        private final Exception failure;
+    }
+
     @Override
     public String toString() {
         return "EventStreamReaderImpl( id=" + groupState.getReaderId() + ")";
@@ -36,15 +36,22 @@ import io.pravega.common.util.Retry;
 import io.pravega.common.util.ReusableLatch;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.concurrent.GuardedBy;
 import lombok.ToString;
@@ -61,19 +68,18 @@ import lombok.extern.slf4j.Slf4j;
 public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type> {
 
     /**
-     * These two locks are used to enforce the following behavior:
+     * Writes do not take a writer-wide lock. Instead:
      *
-     * a. When a Write is happening, segmentSealedCallback cannot be executed concurrently, this is used to handle
-     * missing event.
-     * b. When a Write is happening, a newer write cannot be executed concurrently.
-     * c. When a Write is happening, flush cannot be executed concurrently.
-     * d. When a Flush is being invoked, segmentSealedCallback can be executed concurrently.
-     * e. When a Flush is being invoked, write cannot be executed concurrently.
-     * f. When a Close is being invoked, write cannot be executed concurrently.
-     * g. When a Close is being invoked, Flush and segmentSealedCallback can be executed concurrently.
+     * a. The segment an event goes to is looked up without locking (see {@link SegmentSelector}).
+     * b. A write holds the lock of the segment it writes to, so writes to a segment are sequenced while writes to
+     * other segments proceed in parallel.
+     * c. segmentSealedCallback and refreshing the segments are serialized by sealLock. They hold the locks of the
+     * segments they affect (the sealed segment and its successors, or every old and new segment on a refresh) while
+     * inflight events are resent, so a newer write can never overtake an event that is being resent.
+     * d. Flush and Close hold the lock of one segment at a time, so they do not block writes to other segments.
      */
-    private final Object writeFlushLock = new Object();
-    private final Object writeSealLock = new Object();
+    private final Object sealLock = new Object();
+    private final Map<Segment, Object> segmentLocks = new ConcurrentHashMap<>();
 
     private final Stream stream;
     private final String writerId;
@@ -127,12 +133,7 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type> {
         Exceptions.checkNotClosed(closed.get(), this);
         ByteBuffer data = serializer.serialize(event);
         CompletableFuture<Void> ackFuture = new CompletableFuture<Void>();
-        synchronized (writeFlushLock) {
-            synchronized (writeSealLock) {
-                SegmentOutputStream segmentWriter = getSegmentWriter(routingKey);
-                segmentWriter.write(PendingEvent.withHeader(routingKey, data, ackFuture));
-            }
-        }
+        write(PendingEvent.withHeader(routingKey, data, ackFuture));
         return ackFuture;
     }
 
@@ -143,29 +144,76 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type> {
         Exceptions.checkNotClosed(closed.get(), this);
         List<ByteBuffer> data = events.stream().map(serializer::serialize).collect(Collectors.toList());
         CompletableFuture<Void> ackFuture = new CompletableFuture<Void>();
-        synchronized (writeFlushLock) {
-            synchronized (writeSealLock) {
-                SegmentOutputStream segmentWriter = getSegmentWriter(routingKey);
-                segmentWriter.write(PendingEvent.withHeader(routingKey, data, ackFuture));
+        write(PendingEvent.withHeader(routingKey, data, ackFuture));
+        return ackFuture;
+    }
+
+    private void write(PendingEvent event) {
+        while (true) {
+            Segment segment = selector.getSegmentForEvent(event.getRoutingKey());
+            SegmentOutputStream segmentWriter = segment == null ? null : selector.getSegmentOutputStream(segment);
+            if (segmentWriter == null) {
+                log.info("Don't have a writer for segment: {}", segment);
+                handleMissingLog(event.getRoutingKey());
+                continue;
+            }
+            synchronized (getSegmentLock(segment)) {
+                // The writer is removed under the segment lock once the segment is sealed and its events resent.
+                if (selector.getSegmentOutputStream(segment) == segmentWriter) {
+                    segmentWriter.write(event);
+                    return;
+                }
             }
         }
-        return ackFuture;
     }
 
-    private SegmentOutputStream getSegmentWriter(String routingKey) {
-        SegmentOutputStream segmentWriter = selector.getSegmentOutputStreamForKey(routingKey);
-        while (segmentWriter == null) {
-            log.info("Don't have a writer for segment: {}", selector.getSegmentForEvent(routingKey));
-            handleMissingLog();
-            segmentWriter = selector.getSegmentOutputStreamForKey(routingKey);
+    private Object getSegmentLock(Segment segment) {
+        Object segmentLock = segmentLocks.get(segment);
+        return segmentLock != null ? segmentLock : segmentLocks.computeIfAbsent(segment, s -> new Object());
+    }
+
+    private void handleMissingLog(String routingKey) {
+        synchronized (sealLock) {
+            // Another thread may have refreshed the segments while this one was waiting.
+            if (selector.getSegmentOutputStreamForKey(routingKey) == null) {
+                refreshSegments();
+            }
         }
-        return segmentWriter;
     }
 
-    @GuardedBy("writeSealLock")
-    private void handleMissingLog() {
-        List<PendingEvent> toResend = selector.refreshSegmentEventWriters(segmentSealedCallBack);
-        resend(toResend);
+    /**
+     * Fetches the current segments of the stream, replaces the writers with them and resends the events that were
+     * sent to old segments and never acked, while holding the locks of all the old and new segments.
+     */
+    @GuardedBy("sealLock")
+    private void refreshSegments() {
+        StreamSegments newSegments = selector.fetchCurrentSegments();
+        Set<Segment> retired = new HashSet<>(selector.getSegments());
+        retired.removeAll(newSegments.getSegments());
+        Set<Segment> affected = new HashSet<>(retired);
+        affected.addAll(newSegments.getSegments());
+        withSegmentLocks(affected, () -> {
+            resend(selector.updateSegments(newSegments, segmentSealedCallBack));
+            return null;
+        });
+        segmentLocks.keySet().removeAll(retired);
+    }
+
+    /**
+     * Runs the given task while holding the locks of all the given segments, creating them where needed.
+     */
+    @GuardedBy("sealLock")
+    private <T> T withSegmentLocks(Collection<Segment> segments, Supplier<T> task) {
+        return withSegmentLocks(segments.iterator(), task);
+    }
+
+    private <T> T withSegmentLocks(Iterator<Segment> segments, Supplier<T> task) {
+        if (!segments.hasNext()) {
+            return task.get();
+        }
+        synchronized (getSegmentLock(segments.next())) {
+            return withSegmentLocks(segments, task);
+        }
     }
 
     /**
@@ -181,36 +229,15 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type> {
                                              t -> log.error("Encountered exception when handling a sealed segment: ", t))
                  .run(() -> {
                      /*
-                      * Using writeSealLock prevents concurrent segmentSealedCallback for different segments
-                      * from being invoked concurrently, or concurrently with write.
-                      * 
-                      * By calling flush while the write lock is held we can ensure that any inflight
-                      * entries that will succeed in being written to a new segment are written and any
-                      * segmentSealedCallbacks that will be called happen before the next write is invoked.
+                      * Using sealLock prevents concurrent segmentSealedCallback for different segments
+                      * from being invoked concurrently, or concurrently with a refresh of the segments.
+                      * Writes are only blocked for the sealed segment and its successors.
                       */
-                     synchronized (writeSealLock) {
+                     synchronized (sealLock) {
                          Segment toSeal = sealedSegmentQueue.poll();
                          log.info("Sealing segment {} ", toSeal);
                          while (toSeal != null) {
-                             resend(selector.refreshSegmentEventWritersUponSealed(toSeal, segmentSealedCallBack));
-                             // remove segment writer after resending inflight events of the sealed segment.
-                             selector.removeSegmentWriter(toSeal);
-                             /* In the case of segments merging Flush ensures there can't be anything left
-                              * inflight that will need to be resent to the new segment when the write lock
-                              * is released. (To preserve order)
-                              */
-                             for (SegmentOutputStream writer : selector.getWriters().values()) {
-                                 try {
-                                     writer.write(PendingEvent.withoutHeader(null, ByteBufferUtils.EMPTY, null));
-                                     writer.flush();
-                                 } catch (SegmentSealedException e) {
-                                     // Segment sealed exception observed during a flush. Re-run flush on all the
-                                     // available writers.
-                                     log.info("Flush on segment {} failed due to {}, it will be retried.", writer.getSegmentName(), e.getMessage());
-                                 } catch (RetriesExhaustedException e1) {
-                                     log.warn("Flush on segment {} failed after all retries", writer.getSegmentName(), e1);
-                                 }
-                             }
+                             handleSegmentSealed(toSeal);
                              toSeal = sealedSegmentQueue.poll();
                              log.info("Sealing another segment {} ", toSeal);
                          }
@@ -221,7 +248,56 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type> {
         });
     }
 
-    @GuardedBy("writeSealLock")
+    @GuardedBy("sealLock")
+    private void handleSegmentSealed(Segment sealedSegment) {
+        StreamSegmentsWithPredecessors successors = selector.getSuccessors(sealedSegment);
+        Set<Segment> affected = new HashSet<>();
+        affected.add(sealedSegment);
+        if (successors != null) {
+            Set<Long> predecessors = new HashSet<>();
+            for (Entry<SegmentWithRange, List<Long>> entry : successors.getSegmentToPredecessor().entrySet()) {
+                affected.add(entry.getKey().getSegment());
+                predecessors.addAll(entry.getValue());
+            }
+            // Segments being merged with the sealed one.
+            for (Segment segment : selector.getSegments()) {
+                if (predecessors.contains(segment.getSegmentId())) {
+                    affected.add(segment);
+                }
+            }
+        }
+        withSegmentLocks(affected, () -> {
+            if (successors != null) {
+                resend(selector.updateSegmentsUponSealed(successors, sealedSegment, segmentSealedCallBack));
+            }
+            // remove segment writer after resending inflight events of the sealed segment.
+            selector.removeSegmentWriter(sealedSegment);
+            /* In the case of segments merging Flush ensures there can't be anything left
+             * inflight that will need to be resent to the new segment when the segment locks
+             * are released. (To preserve order)
+             */
+            for (Segment segment : affected) {
+                SegmentOutputStream writer = selector.getSegmentOutputStream(segment);
+                if (writer == null) {
+                    continue;
+                }
+                try {
+                    writer.write(PendingEvent.withoutHeader(null, ByteBufferUtils.EMPTY, null));
+                    writer.flush();
+                } catch (SegmentSealedException e) {
+                    // Segment sealed exception observed during a flush. The segment will be handled by its own
+                    // segmentSealedCallback.
+                    log.info("Flush on segment {} failed due to {}, it will be retried.", writer.getSegmentName(), e.getMessage());
+                } catch (RetriesExhaustedException e1) {
+                    log.warn("Flush on segment {} failed after all retries", writer.getSegmentName(), e1);
+                }
+            }
+            return null;
+        });
+        segmentLocks.remove(sealedSegment);
+    }
+
+    @GuardedBy("sealLock")
     private void resend(List<PendingEvent> toResend) {
         while (!toResend.isEmpty()) {
             List<PendingEvent> unsent = new ArrayList<>();
@@ -234,7 +310,9 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type> {
                     SegmentOutputStream segmentWriter = selector.getSegmentOutputStreamForKey(event.getRoutingKey());
                     if (segmentWriter == null) {
                         log.info("No writer for segment during resend.");
-                        unsent.addAll(selector.refreshSegmentEventWriters(segmentSealedCallBack));
+                        // The refresh may retire writers of segments other than the ones whose locks are held here,
+                        // so it must go through refreshSegments, which locks all of them before resending their events.
+                        refreshSegments();
                         sendFailed = true;
                     } else {
                         segmentWriter.write(event);
@@ -248,25 +326,35 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type> {
     @Override
     public void flush() {
         Preconditions.checkState(!closed.get());
-        synchronized (writeFlushLock) {
-            boolean success = false;
-            while (!success) {
-                success = true;
-                for (SegmentOutputStream writer : selector.getWriters().values()) {
-                    try {
+        boolean success = false;
+        while (!success) {
+            success = true;
+            for (Entry<Segment, SegmentOutputStream> entry : selector.getWriters().entrySet()) {
+                SegmentOutputStream writer = entry.getValue();
+                try {
+                    synchronized (getSegmentLockIfPresent(entry.getKey(), writer)) {
                         writer.flush();
-                    } catch (SegmentSealedException e) {
-                        // Segment sealed exception observed during a flush. Re-run flush on all the
-                        // available writers.
-                        success = false;
-                        log.warn("Flush on segment {} failed due to {}, it will be retried.", writer.getSegmentName(), e.getMessage());
-                        tryWaitForSuccessors();
-                        break;
                     }
+                } catch (SegmentSealedException e) {
+                    // Segment sealed exception observed during a flush. Re-run flush on all the
+                    // available writers.
+                    success = false;
+                    log.warn("Flush on segment {} failed due to {}, it will be retried.", writer.getSegmentName(), e.getMessage());
+                    tryWaitForSuccessors();
+                    break;
                 }
             }
         }
     }
+
+    /**
+     * Returns the lock of a segment. A writer that is no longer tracked belongs to a sealed segment which cannot be
+     * written to anymore, so locking the writer itself is sufficient.
+     */
+    private Object getSegmentLockIfPresent(Segment segment, SegmentOutputStream writer) {
+        Object segmentLock = segmentLocks.get(segment);
+        return segmentLock == null ? writer : segmentLock;
+    }
     
     /**
      * This is used by flush to optimistically wait for the `handleLogSealed` work to be completed
@@ -274,7 +362,6 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type> {
      * segment. Please note there are no guarantees about when this method returns. It can be
      * thought of as a sleep.
      */
-    @GuardedBy("writeFlushLock")
     private void tryWaitForSuccessors() {
         Exceptions.handleInterrupted(() -> sealedSegmentQueueEmptyLatch.await());
     }
@@ -285,19 +372,20 @@ public class EventStreamWriterImpl<Type> implements EventStreamWriter<Type> {
             return;
         }
         pinger.close();
-        synchronized (writeFlushLock) {
-            boolean success = false;
-            while (!success) {
-                success = true;
-                for (SegmentOutputStream writer : selector.getWriters().values()) {
-                    try {
+        boolean success = false;
+        while (!success) {
+            success = true;
+            for (Entry<Segment, SegmentOutputStream> entry : selector.getWriters().entrySet()) {
+                SegmentOutputStream writer = entry.getValue();
+                try {
+                    synchronized (getSegmentLockIfPresent(entry.getKey(), writer)) {
                         writer.close();
-                    } catch (SegmentSealedException e) {
-                        // Segment sealed exception observed during a close. Re-run close on all the available writers.
-                        success = false;
-                        log.warn("Close failed due to {}, it will be retried.", e.getMessage());
-                        tryWaitForSuccessors();
                     }
+                } catch (SegmentSealedException e) {
+                    // Segment sealed exception observed during a close. Re-run close on all the available writers.
+                    success = false;
+                    log.warn("Close failed due to {}, it will be retried.", e.getMessage());
+                    tryWaitForSuccessors();
                 }
             }
         }
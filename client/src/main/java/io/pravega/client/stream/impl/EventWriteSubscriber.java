@@ -0,0 +1,129 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.client.stream.impl;
+
+import com.google.common.base.Preconditions;
+import io.pravega.client.stream.EventStreamWriter;
+import io.pravega.common.Exceptions;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import javax.annotation.Nullable;
+import lombok.NonNull;
+
+/**
+ * Writes the events it is given to an {@link EventStreamWriter}, following the Reactive Streams protocol for a
+ * Subscriber (as in {@code java.util.concurrent.Flow.Subscriber}, which is not available in Java 8).
+ *
+ * Demand is bounded by the number of unacknowledged writes: on subscription maxInFlight events are requested, and one
+ * more is requested each time a write is acknowledged. So a fast publisher is held back by the writer rather than by
+ * the writer's own buffering.
+ *
+ * @param <T> The type of events being written.
+ */
+public final class EventWriteSubscriber<T> {
+    private final EventStreamWriter<T> writer;
+    private final Function<? super T, String> routingKey;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private volatile LongConsumer request;
+    private volatile Runnable cancel;
+    private volatile boolean upstreamCompleted;
+
+    /**
+     * Creates a new instance of the EventWriteSubscriber class.
+     *
+     * @param writer      The writer to write to. It is not flushed or closed by this class.
+     * @param routingKey  Computes the routing key of each event. If null, events are written without one.
+     * @param maxInFlight The maximum number of events that may be written but not yet acknowledged.
+     */
+    public EventWriteSubscriber(@NonNull EventStreamWriter<T> writer, @Nullable Function<? super T, String> routingKey,
+                                int maxInFlight) {
+        Preconditions.checkArgument(maxInFlight > 0, "maxInFlight must be positive");
+        this.writer = writer;
+        this.routingKey = routingKey;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Invoked once by the publisher before any events.
+     *
+     * @param request Requests more events from the publisher.
+     * @param cancel  Cancels the subscription. Invoked if a write fails.
+     */
+    public void onSubscribe(@NonNull LongConsumer request, @NonNull Runnable cancel) {
+        Preconditions.checkState(this.request == null, "Already subscribed.");
+        this.request = request;
+        this.cancel = cancel;
+        request.accept(maxInFlight);
+    }
+
+    /**
+     * Writes an event.
+     *
+     * @param event The event to write.
+     */
+    public void onNext(@NonNull T event) {
+        if (completion.isDone()) {
+            return;
+        }
+        inFlight.incrementAndGet();
+        CompletableFuture<Void> ack = routingKey == null ? writer.writeEvent(event) : writer.writeEvent(routingKey.apply(event), event);
+        ack.whenComplete((r, ex) -> {
+            if (ex != null) {
+                if (completion.completeExceptionally(Exceptions.unwrap(ex))) {
+                    cancel.run();
+                }
+            } else if (inFlight.decrementAndGet() == 0 && upstreamCompleted) {
+                completion.complete(null);
+            } else if (!completion.isDone()) {
+                request.accept(1);
+            }
+        });
+    }
+
+    /**
+     * Invoked by the publisher if it fails. Writes which are in flight are not affected.
+     *
+     * @param error The cause of the failure.
+     */
+    public void onError(@NonNull Throwable error) {
+        completion.completeExceptionally(error);
+    }
+
+    /**
+     * Invoked by the publisher after the last event. {@link #getCompletion()} completes once all events have been
+     * acknowledged.
+     */
+    public void onComplete() {
+        upstreamCompleted = true;
+        if (inFlight.get() == 0) {
+            completion.complete(null);
+        }
+    }
+
+    /**
+     * Gets a future that completes once every event has been durably written after the publisher completed, or
+     * completes exceptionally with the first failure of a write or of the publisher.
+     *
+     * @return A CompletableFuture.
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+}
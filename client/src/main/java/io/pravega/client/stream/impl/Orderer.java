@@ -19,8 +19,10 @@ import com.google.common.annotations.VisibleForTesting;
 import io.pravega.client.segment.impl.EndOfSegmentException;
 import io.pravega.client.segment.impl.EventSegmentReader;
 import io.pravega.common.MathHelpers;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -54,18 +56,40 @@ public class Orderer {
      */
     @VisibleForTesting
     public <T extends EventSegmentReader> T nextSegment(List<T> segments) {
+        return nextSegment(segments, notReady -> notReady.forEach(EventSegmentReader::fillBuffer));
+    }
+
+    /**
+     * Same as {@link #nextSegment(List)}, except that the segments which are not ready are handed over to the given
+     * function all at once (instead of calling {@link EventSegmentReader#fillBuffer()} on each one of them), so that
+     * more data can be requested for all of them in a single batch.
+     *
+     * @param <T> The type of the SegmentInputStream that is being selected from.
+     * @param segments The logs to get the next reader for.
+     * @param fillBuffers A function that requests more data for the given segments.
+     * @return A segment that this reader should read from next.
+     */
+    public <T extends EventSegmentReader> T nextSegment(List<T> segments, Consumer<List<T>> fillBuffers) {
         if (segments.isEmpty()) {
             return null;
         }
-        for (int i = 0; i < segments.size(); i++) {
+        T result = null;
+        List<T> notReady = null;
+        for (int i = 0; i < segments.size() && result == null; i++) {
             T inputStream = segments.get(MathHelpers.abs(counter.incrementAndGet()) % segments.size());
             if (inputStream.isSegmentReady()) {
                 log.trace("Selecting segment: {}", inputStream.getSegmentId());
-                return inputStream;
+                result = inputStream;
             } else {
-                inputStream.fillBuffer();
+                if (notReady == null) {
+                    notReady = new ArrayList<>();
+                }
+                notReady.add(inputStream);
             }
         }
-        return null;
+        if (notReady != null) {
+            fillBuffers.accept(notReady);
+        }
+        return result;
     }
 }
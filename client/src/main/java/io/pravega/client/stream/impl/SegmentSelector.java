@@ -37,6 +37,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import javax.annotation.concurrent.GuardedBy;
 import lombok.RequiredArgsConstructor;
@@ -48,6 +49,9 @@ import lombok.extern.slf4j.Slf4j;
  * invoked on every writeEvent call to decide how to send a particular segment. It is acceptable for
  * it to cache the current set of segments for a stream, as it will be queried again if a segment
  * has been sealed.
+ *
+ * Lookups do not take a lock: they read a volatile snapshot of the current segments and a concurrent map of
+ * writers. Updates to the segments and writers are serialized with each other.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -56,12 +60,9 @@ public class SegmentSelector {
     private final Stream stream;
     private final Controller controller;
     private final SegmentOutputStreamFactory outputStreamFactory;
-    @GuardedBy("$lock")
     private final Random random = RandomFactory.create();
-    @GuardedBy("$lock")
-    private StreamSegments currentSegments;
-    @GuardedBy("$lock")
-    private final Map<Segment, SegmentOutputStream> writers = new HashMap<>();
+    private volatile StreamSegments currentSegments;
+    private final Map<Segment, SegmentOutputStream> writers = new ConcurrentHashMap<>();
     private final EventWriterConfig config;
     private final DelegationTokenProvider tokenProvider;
 
@@ -73,23 +74,34 @@ public class SegmentSelector {
      * @return The SegmentOutputStream for the segment that has been selected or null if
      *         {@link #refreshSegmentEventWriters(Consumer)} needs to be called.
      */
-    @Synchronized
     public SegmentOutputStream getSegmentOutputStreamForKey(String routingKey) {
-        if (currentSegments == null) {
+        Segment segment = getSegmentForEvent(routingKey);
+        if (segment == null) {
             return null;
         }
-        return writers.get(getSegmentForEvent(routingKey));
+        return writers.get(segment);
     }
 
-    @Synchronized
     public Segment getSegmentForEvent(String routingKey) {
-        if (currentSegments == null) {
+        StreamSegments segments = currentSegments;
+        if (segments == null) {
             return null;
         }
         if (routingKey == null) {
-            return currentSegments.getSegmentForKey(random.nextDouble());
+            return segments.getSegmentForKey(random.nextDouble());
         }
-        return currentSegments.getSegmentForKey(routingKey);
+        return segments.getSegmentForKey(routingKey);
+    }
+
+    /**
+     * Returns the writer for the given segment.
+     *
+     * @param segment The segment whose writer should be returned.
+     * @return The SegmentOutputStream for the segment or null if there is no writer for it, either because the
+     *         segment has been sealed and its writer removed or because the writers need to be refreshed.
+     */
+    SegmentOutputStream getSegmentOutputStream(Segment segment) {
+        return writers.get(segment);
     }
 
     /**
@@ -100,6 +112,20 @@ public class SegmentSelector {
      * @return List of pending events.
      */
     public List<PendingEvent> refreshSegmentEventWritersUponSealed(Segment sealedSegment, Consumer<Segment> segmentSealedCallback) {
+        StreamSegmentsWithPredecessors successors = getSuccessors(sealedSegment);
+        if (successors == null) {
+            return Collections.emptyList();
+        }
+        return updateSegmentsUponSealed(successors, sealedSegment, segmentSealedCallback);
+    }
+
+    /**
+     * Fetch the successors of a sealed segment from the controller. If they cannot be fetched, or the stream is
+     * sealed, all writers are removed and their pending events are failed.
+     * @param sealedSegment The sealed segment.
+     * @return The successors of the sealed segment, or null if writes to the stream cannot proceed.
+     */
+    StreamSegmentsWithPredecessors getSuccessors(Segment sealedSegment) {
         StreamSegmentsWithPredecessors successors = Futures.getAndHandleExceptions(
                 controller.getSuccessors(sealedSegment), t -> {
                     log.error("Error while fetching successors for segment: {}", sealedSegment, t);
@@ -110,15 +136,15 @@ public class SegmentSelector {
                 });
 
         if (successors == null) {
-            return Collections.emptyList();
+            return null;
         } else if (successors.getSegmentToPredecessor().isEmpty()) {
             log.warn("Stream {} is sealed since no successor segments found for segment {} ", sealedSegment.getStream(), sealedSegment);
             Exception e = new IllegalStateException("Writes cannot proceed since the stream is sealed");
             removeAllWriters().forEach(pendingEvent -> pendingEvent.getAckFuture()
                                                                    .completeExceptionally(e));
-            return Collections.emptyList();
+            return null;
         } else {
-            return updateSegmentsUponSealed(successors, sealedSegment, segmentSealedCallback);
+            return successors;
         }
     }
 
@@ -130,10 +156,18 @@ public class SegmentSelector {
      *         re-sent.
      */
     public List<PendingEvent> refreshSegmentEventWriters(Consumer<Segment> segmentSealedCallBack) {
+        return updateSegments(fetchCurrentSegments(), segmentSealedCallBack);
+    }
+
+    /**
+     * Fetch the latest list of segments in the given stream from the controller without applying it.
+     *
+     * @return The current segments of the stream.
+     */
+    StreamSegments fetchCurrentSegments() {
         log.info("Refreshing segments for stream {}", stream);
-        return updateSegments(Futures.getAndHandleExceptions(
-                controller.getCurrentSegments(stream.getScope(), stream.getStreamName()), RuntimeException::new),
-                segmentSealedCallBack);
+        return Futures.getAndHandleExceptions(
+                controller.getCurrentSegments(stream.getScope(), stream.getStreamName()), RuntimeException::new);
     }
 
     /**
@@ -146,18 +180,18 @@ public class SegmentSelector {
     }
 
     @Synchronized
-    private List<PendingEvent> updateSegments(StreamSegments newStreamSegments, Consumer<Segment>
+    List<PendingEvent> updateSegments(StreamSegments newStreamSegments, Consumer<Segment>
             segmentSealedCallBack) {
         Preconditions.checkState(newStreamSegments.getNumberOfSegments() > 0,
                 "Writers cannot proceed writing since the stream %s is sealed", stream);
+        createMissingWriters(newStreamSegments, segmentSealedCallBack);
         currentSegments = newStreamSegments;
-        createMissingWriters(segmentSealedCallBack);
 
         List<PendingEvent> toResend = new ArrayList<>();
         Iterator<Entry<Segment, SegmentOutputStream>> iter = writers.entrySet().iterator();
         while (iter.hasNext()) {
             Entry<Segment, SegmentOutputStream> entry = iter.next();
-            if (!currentSegments.getSegments().contains(entry.getKey())) {
+            if (!newStreamSegments.getSegments().contains(entry.getKey())) {
                 SegmentOutputStream writer = entry.getValue();
                 log.info("Closing writer {} on segment {} during segment refresh", writer, entry.getKey());
                 iter.remove();
@@ -173,11 +207,12 @@ public class SegmentSelector {
     }
 
     @Synchronized
-    private List<PendingEvent> updateSegmentsUponSealed(StreamSegmentsWithPredecessors successors, Segment sealedSegment,
+    List<PendingEvent> updateSegmentsUponSealed(StreamSegmentsWithPredecessors successors, Segment sealedSegment,
                                                         Consumer<Segment> segmentSealedCallback) {
-        currentSegments = currentSegments.withReplacementRange(sealedSegment, successors);
-        createMissingWriters(segmentSealedCallback);
-        log.debug("Fetch unacked events for segment: {}, and adding new segments {}", sealedSegment, currentSegments);
+        StreamSegments newStreamSegments = currentSegments.withReplacementRange(sealedSegment, successors);
+        createMissingWriters(newStreamSegments, segmentSealedCallback);
+        currentSegments = newStreamSegments;
+        log.debug("Fetch unacked events for segment: {}, and adding new segments {}", sealedSegment, newStreamSegments);
         return writers.get(sealedSegment).getUnackedEventsOnSeal();
     }
 
@@ -193,8 +228,9 @@ public class SegmentSelector {
         return pendingEvents;
     }
 
-    private void createMissingWriters(Consumer<Segment> segmentSealedCallBack) {
-        for (Segment segment : currentSegments.getSegments()) {
+    @GuardedBy("$lock")
+    private void createMissingWriters(StreamSegments newStreamSegments, Consumer<Segment> segmentSealedCallBack) {
+        for (Segment segment : newStreamSegments.getSegments()) {
             if (!writers.containsKey(segment)) {
                 log.debug("Creating writer for segment {}", segment);
                 SegmentOutputStream out = outputStreamFactory.createOutputStreamForSegment(segment,
@@ -204,15 +240,14 @@ public class SegmentSelector {
         }
     }
 
-    @Synchronized
     public List<Segment> getSegments() {
-        if (currentSegments == null) {
+        StreamSegments segments = currentSegments;
+        if (segments == null) {
             return Collections.emptyList();
         }
-        return new ArrayList<>(currentSegments.getSegments());
+        return new ArrayList<>(segments.getSegments());
     }
 
-    @Synchronized
     public Map<Segment, SegmentOutputStream> getWriters() {
         return new HashMap<>(writers);
     }
@@ -0,0 +1,59 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.client.tables.impl;
+
+import io.pravega.client.tables.IteratorItem;
+import io.pravega.client.tables.KeyValueTableIterator;
+import io.pravega.common.util.AsyncIterator;
+import io.pravega.common.util.DemandDrivenSubscription;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/**
+ * Delivers the {@link io.pravega.client.tables.TableKey}s or {@link io.pravega.client.tables.TableEntry}s returned by
+ * a {@link KeyValueTableIterator} one at a time as they are requested, following the Reactive Streams protocol (see
+ * {@link DemandDrivenSubscription}).
+ *
+ * The next page is only fetched once every item of the previous one has been requested; the size of each page is set
+ * by {@link KeyValueTableIterator.Builder#maxIterationSize}.
+ *
+ * @param <T> The type of the items being iterated over.
+ */
+public final class IteratorItemSubscription<T> extends DemandDrivenSubscription<T> {
+    private final AsyncIterator<IteratorItem<T>> iterator;
+
+    /**
+     * Creates a new instance of the IteratorItemSubscription class.
+     *
+     * @param iterator   The iterator to get pages of items from, as returned by {@link KeyValueTableIterator#keys()} or
+     *                   {@link KeyValueTableIterator#entries()}.
+     * @param onNext     Invoked for each item.
+     * @param onError    Invoked if the iteration fails.
+     * @param onComplete Invoked after the last item.
+     */
+    public IteratorItemSubscription(@NonNull AsyncIterator<IteratorItem<T>> iterator, Consumer<? super T> onNext,
+                                    Consumer<Throwable> onError, Runnable onComplete) {
+        super(onNext, onError, onComplete);
+        this.iterator = iterator;
+    }
+
+    @Override
+    protected CompletableFuture<List<T>> fetch(long demand) {
+        return iterator.getNext().thenApply(page -> page == null ? null : page.getItems());
+    }
+}
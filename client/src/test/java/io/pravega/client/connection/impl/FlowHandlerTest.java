@@ -238,6 +238,15 @@ public class FlowHandlerTest {
         verify(errorProcessor).hello(msg);
     }
 
+    @Test
+    public void testHelloReplayedToNewFlow() throws Exception {
+        final WireCommands.Hello msg = new WireCommands.Hello(5, 4);
+        flowHandler.process(msg);
+        @Cleanup
+        ClientConnection clientConnection = flowHandler.createFlow(flow, processor);
+        verify(processor).hello(msg);
+    }
+
     @Test
     public void testKeepAlive() {
         final WireCommands.KeepAlive msg = new WireCommands.KeepAlive();
@@ -0,0 +1,305 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.client.connection.impl;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.pravega.client.ClientConfig;
+import io.pravega.shared.protocol.netty.Append;
+import io.pravega.shared.protocol.netty.ConnectionFailedException;
+import io.pravega.shared.protocol.netty.FailingReplyProcessor;
+import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import io.pravega.shared.protocol.netty.Reply;
+import io.pravega.shared.protocol.netty.WireCommand;
+import io.pravega.shared.protocol.netty.WireCommandType;
+import io.pravega.shared.protocol.netty.WireCommands;
+import io.pravega.shared.protocol.netty.WireCommands.AppendBlock;
+import io.pravega.shared.protocol.netty.WireCommands.AppendBlockEnd;
+import io.pravega.shared.protocol.netty.WireCommands.Event;
+import io.pravega.test.common.AssertExtensions;
+import io.pravega.test.common.InlineExecutor;
+import io.pravega.test.common.TestUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.Cleanup;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NettyClientConnectionTest {
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(30);
+
+    private EventLoopGroup group;
+
+    private static class ReplyProcessor extends FailingReplyProcessor {
+        AtomicBoolean failure = new AtomicBoolean(false);
+        AtomicBoolean dropped = new AtomicBoolean(false);
+        List<Reply> replies = new Vector<>();
+
+        @Override
+        public void process(Reply reply) {
+            if (reply.isFailure()) {
+                failure.set(true);
+            }
+            replies.add(reply);
+        }
+
+        @Override
+        public void processingFailure(Exception error) {
+            failure.set(true);
+        }
+
+        @Override
+        public void connectionDropped() {
+            dropped.set(true);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        group = new NioEventLoopGroup(1);
+    }
+
+    @After
+    public void tearDown() {
+        group.shutdownGracefully().syncUninterruptibly();
+    }
+
+    @Test
+    public void testConnectionSetup() throws Exception {
+        ReplyProcessor processor = new ReplyProcessor();
+        @Cleanup
+        MockServer server = new MockServer();
+        server.start();
+        @Cleanup
+        InlineExecutor executor = new InlineExecutor();
+        @Cleanup
+        ClientConnection clientConnection = NettyClientConnection
+            .connect(server.getUri(), ClientConfig.builder().build(), processor, group, executor, () -> { })
+            .join();
+        clientConnection.send(new WireCommands.Hello(0, 1));
+        LinkedBlockingQueue<WireCommand> messages = server.getReadCommands();
+        assertEquals(WireCommandType.HELLO, messages.take().getType());
+        clientConnection.send(new WireCommands.SetupAppend(1, new UUID(1, 2), "segment", ""));
+        assertEquals(WireCommandType.SETUP_APPEND, messages.take().getType());
+        clientConnection.send(new Append("segment", new UUID(1, 2), 1, new Event(Unpooled.EMPTY_BUFFER), 2));
+        assertEquals(WireCommandType.APPEND_BLOCK, messages.take().getType());
+        assertFalse(processor.failure.get());
+    }
+
+    @Test
+    public void testAppend() throws Exception {
+        byte[] payload = new byte[100];
+        ReplyProcessor processor = new ReplyProcessor();
+        @Cleanup
+        MockServer server = new MockServer();
+        server.start();
+        @Cleanup
+        InlineExecutor executor = new InlineExecutor();
+        @Cleanup
+        NettyClientConnection clientConnection = NettyClientConnection
+            .connect(server.getUri(), ClientConfig.builder().build(), processor, group, executor, () -> { })
+            .join();
+        UUID writerId = new UUID(1, 2);
+        clientConnection.send(new WireCommands.SetupAppend(1, writerId, "segment", ""));
+        for (int i = 0; i < 100; i++) {
+            clientConnection.send(new Append("segment", writerId, i, new Event(Unpooled.wrappedBuffer(payload)), 1));
+            server.sendReply(new WireCommands.DataAppended(i, writerId, i, i - 1, i * 100));
+        }
+        AssertExtensions.assertEventuallyEquals(100, () -> processor.replies.size(), 5000);
+        assertFalse(processor.failure.get());
+        assertEquals(1, clientConnection.getFlowToBatchSizeTracker().getFlowToBatchSizeTrackerMap().size());
+    }
+
+    @Test
+    public void testSendAsync() throws Exception {
+        byte[] payload = new byte[100];
+        byte[] payload2 = new byte[101];
+        ReplyProcessor processor = new ReplyProcessor();
+        @Cleanup
+        MockServer server = new MockServer();
+        server.start();
+        @Cleanup
+        InlineExecutor executor = new InlineExecutor();
+        @Cleanup
+        ClientConnection clientConnection = NettyClientConnection
+            .connect(server.getUri(), ClientConfig.builder().build(), processor, group, executor, () -> { })
+            .join();
+        UUID writerId = new UUID(1, 2);
+        clientConnection.send(new WireCommands.SetupAppend(1, writerId, "segment", ""));
+        server.getReadCommands().take(); //clear setup.
+        ArrayList<Append> appends = new ArrayList<>();
+        appends.add(new Append("segment", writerId, 1, new Event(Unpooled.wrappedBuffer(payload)), 1));
+        appends.add(new Append("segment", writerId, 2, new Event(Unpooled.wrappedBuffer(payload2)), 1));
+        CompletableFuture<Exception> future = new CompletableFuture<Exception>();
+        clientConnection.sendAsync(appends, e -> future.complete(e));
+        assertNull(future.join());
+        assertEquals(AppendBlock.class, server.getReadCommands().take().getClass());
+        assertEquals(AppendBlockEnd.class, server.getReadCommands().take().getClass());
+        assertEquals(AppendBlock.class, server.getReadCommands().take().getClass());
+        assertEquals(AppendBlockEnd.class, server.getReadCommands().take().getClass());
+        assertFalse(processor.failure.get());
+    }
+
+    @Test
+    public void testFailedSend() throws Exception {
+        byte[] payload = new byte[100];
+        ReplyProcessor processor = new ReplyProcessor();
+        @Cleanup
+        MockServer server = new MockServer();
+        server.start();
+        @Cleanup
+        InlineExecutor executor = new InlineExecutor();
+        AtomicBoolean onCloseInvoked = new AtomicBoolean(false);
+        @Cleanup
+        NettyClientConnection clientConnection = NettyClientConnection
+            .connect(server.getUri(), ClientConfig.builder().build(), processor, group, executor, () -> onCloseInvoked.set(true))
+            .join();
+        UUID writerId = new UUID(1, 2);
+        clientConnection.send(new WireCommands.SetupAppend(1, writerId, "segment", ""));
+        server.getOutputStream().join().close();
+        AssertExtensions.assertThrows(ConnectionFailedException.class, () -> {
+            for (int i = 0; i < 100; i++) {
+                clientConnection.send(new Append("segment", writerId, i, new Event(Unpooled.wrappedBuffer(payload)), 1));
+                Thread.sleep(100);
+            }
+        });
+        assertTrue(clientConnection.toString(), clientConnection.isClosed());
+        assertTrue(processor.dropped.get());
+        assertTrue(onCloseInvoked.get());
+    }
+
+    @Test
+    public void testConnectFailure() {
+        ReplyProcessor processor = new ReplyProcessor();
+        @Cleanup
+        InlineExecutor executor = new InlineExecutor();
+        AtomicBoolean onCloseInvoked = new AtomicBoolean(false);
+        PravegaNodeUri uri = new PravegaNodeUri("localhost", TestUtils.getAvailableListenPort());
+        AssertExtensions.assertFutureThrows("Connecting to a closed port should fail.",
+                NettyClientConnection.connect(uri, ClientConfig.builder().build(), processor, group, executor, () -> onCloseInvoked.set(true)),
+                e -> e instanceof ConnectionFailedException);
+        assertTrue(onCloseInvoked.get());
+    }
+
+    /**
+     * Verifies that replies are decoded in place and that data they hold on to stays valid until they are released.
+     */
+    @Test
+    public void testSegmentReadOutlivesFrame() throws Exception {
+        byte[] payload = new byte[1000];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) i;
+        }
+        ReplyProcessor processor = new ReplyProcessor();
+        @Cleanup
+        MockServer server = new MockServer();
+        server.start();
+        @Cleanup
+        InlineExecutor executor = new InlineExecutor();
+        @Cleanup
+        ClientConnection clientConnection = NettyClientConnection
+            .connect(server.getUri(), ClientConfig.builder().build(), processor, group, executor, () -> { })
+            .join();
+        server.sendReply(new WireCommands.SegmentRead("segment", 0, true, false, Unpooled.wrappedBuffer(payload), 1));
+        AssertExtensions.assertEventuallyEquals(1, () -> processor.replies.size(), 5000);
+        WireCommands.SegmentRead read = (WireCommands.SegmentRead) processor.replies.get(0);
+        assertEquals(Unpooled.wrappedBuffer(payload), read.getData());
+        read.release();
+        assertFalse(processor.failure.get());
+    }
+
+    @Test
+    public void testCreateFromConfig() {
+        @Cleanup
+        ConnectionFactory eventLoop = ConnectionFactory.create(ClientConfig.builder().eventLoopConnections(true).build(), 1);
+        assertTrue(eventLoop instanceof NettyConnectionFactoryImpl);
+        @Cleanup
+        ConnectionFactory socket = ConnectionFactory.create(ClientConfig.builder().build(), 1);
+        assertTrue(socket instanceof SocketConnectionFactoryImpl);
+    }
+
+    /**
+     * Verifies that closing the factory does not shut down an executor that was supplied by the caller, but does shut
+     * down one that the factory created itself.
+     */
+    @Test
+    public void testCloseShutsDownOwnedExecutorOnly() {
+        @Cleanup
+        InlineExecutor executor = new InlineExecutor();
+        NettyConnectionFactoryImpl shared = new NettyConnectionFactoryImpl(ClientConfig.builder().build(), executor);
+        shared.close();
+        assertFalse(executor.isShutdown());
+
+        NettyConnectionFactoryImpl owned = new NettyConnectionFactoryImpl(ClientConfig.builder().build(), 1);
+        owned.close();
+        assertTrue(owned.getInternalExecutor().isShutdown());
+    }
+
+    /**
+     * Verifies that many connections can be serviced by a single I/O thread.
+     */
+    @Test
+    public void testConnectionsShareEventLoop() throws Exception {
+        final int connectionCount = 5;
+        List<MockServer> servers = new ArrayList<>();
+        List<ClientConnection> connections = new ArrayList<>();
+        List<ReplyProcessor> processors = new ArrayList<>();
+        @Cleanup
+        InlineExecutor executor = new InlineExecutor();
+        @Cleanup
+        NettyConnectionFactoryImpl factory = new NettyConnectionFactoryImpl(ClientConfig.builder().build(), executor);
+        try {
+            for (int i = 0; i < connectionCount; i++) {
+                MockServer server = new MockServer();
+                server.start();
+                servers.add(server);
+                ReplyProcessor processor = new ReplyProcessor();
+                processors.add(processor);
+                connections.add(factory.establishConnection(server.getUri(), processor).join());
+            }
+            assertEquals(connectionCount, factory.getOpenSocketCount());
+            for (int i = 0; i < connectionCount; i++) {
+                connections.get(i).send(new WireCommands.Hello(0, 1));
+                assertEquals(WireCommandType.HELLO, servers.get(i).getReadCommands().take().getType());
+                servers.get(i).sendReply(new WireCommands.Hello(0, 1));
+            }
+            for (ReplyProcessor processor : processors) {
+                AssertExtensions.assertEventuallyEquals(1, () -> processor.replies.size(), 5000);
+            }
+        } finally {
+            connections.forEach(ClientConnection::close);
+            for (MockServer server : servers) {
+                server.close();
+            }
+        }
+        assertEquals(0, factory.getOpenSocketCount());
+    }
+}
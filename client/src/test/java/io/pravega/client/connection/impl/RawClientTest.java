@@ -30,6 +30,9 @@ import io.pravega.shared.protocol.netty.WireCommands.ConditionalAppend;
 import io.pravega.shared.protocol.netty.WireCommands.DataAppended;
 import io.pravega.shared.protocol.netty.WireCommands.ErrorMessage;
 import io.pravega.shared.protocol.netty.WireCommands.Event;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -87,6 +90,38 @@ public class RawClientTest {
         assertEquals(reply, future.get());
     }
     
+    @Test
+    public void testBatchedRequestReplies() throws ConnectionFailedException {
+        PravegaNodeUri endpoint = new PravegaNodeUri("localhost", -1);
+        @Cleanup
+        MockConnectionFactoryImpl connectionFactory = new MockConnectionFactoryImpl();
+        ClientConnection connection = Mockito.mock(ClientConnection.class);
+        connectionFactory.provideConnection(endpoint, connection);
+        @Cleanup
+        RawClient rawClient = new RawClient(endpoint, connectionFactory);
+
+        WireCommands.ReadSegments request = new WireCommands.ReadSegments(1L, Arrays.asList(
+                new WireCommands.ReadSegment("segment1", 0, 10, "", 2L),
+                new WireCommands.ReadSegment("segment2", 0, 10, "", 3L)));
+        List<CompletableFuture<Reply>> futures = rawClient.sendRequest(Arrays.asList(2L, 3L), request);
+        Mockito.verify(connection).send(Mockito.eq(request));
+        assertEquals(2, futures.size());
+        assertFalse(futures.get(0).isDone());
+        assertFalse(futures.get(1).isDone());
+
+        // Reads batched in a SegmentsRead are matched with their own request ids.
+        ReplyProcessor processor = connectionFactory.getProcessor(endpoint);
+        WireCommands.SegmentRead read = new WireCommands.SegmentRead("segment1", 0, true, false, Unpooled.EMPTY_BUFFER, 2L);
+        processor.process(new WireCommands.SegmentsRead(1L, Collections.singletonList(read)));
+        assertEquals(read, futures.get(0).join());
+        assertFalse(futures.get(1).isDone());
+
+        // As are reads answered on their own.
+        WireCommands.SegmentIsTruncated truncated = new WireCommands.SegmentIsTruncated(3L, "segment2", 5, "", 0);
+        processor.process(truncated);
+        assertEquals(truncated, futures.get(1).join());
+    }
+
     @Test
     public void testReplyWithoutRequest() {
         PravegaNodeUri endpoint = new PravegaNodeUri("localhost", -1);
@@ -0,0 +1,233 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.client.control.impl;
+
+import io.netty.buffer.Unpooled;
+import io.pravega.client.connection.impl.ClientConnection;
+import io.pravega.client.security.auth.DelegationTokenProviderFactory;
+import io.pravega.client.segment.impl.Segment;
+import io.pravega.client.segment.impl.SegmentInputStream;
+import io.pravega.client.segment.impl.SegmentInputStreamFactoryImpl;
+import io.pravega.client.stream.Stream;
+import io.pravega.client.stream.impl.SegmentWithRange;
+import io.pravega.client.stream.impl.StreamSegments;
+import io.pravega.client.stream.mock.MockConnectionFactoryImpl;
+import io.pravega.common.concurrent.Futures;
+import io.pravega.shared.protocol.netty.PravegaNodeUri;
+import io.pravega.shared.protocol.netty.WireCommands;
+import io.pravega.test.common.AssertExtensions;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import lombok.Cleanup;
+import lombok.val;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingControllerTest {
+    private static final Segment SEGMENT = new Segment("scope", "stream", 1);
+    private static final PravegaNodeUri ENDPOINT = new PravegaNodeUri("localhost", 12345);
+    private static final PravegaNodeUri NEW_ENDPOINT = new PravegaNodeUri("localhost", 12346);
+    private static final byte[] DATA = new byte[]{1, 2, 3};
+
+    @Test
+    public void testGetEndpointForSegment() {
+        Controller inner = mock(Controller.class);
+        CompletableFuture<PravegaNodeUri> lookup = new CompletableFuture<>();
+        when(inner.getEndpointForSegment(SEGMENT.getScopedName())).thenReturn(lookup);
+        CachingController controller = new CachingController(inner);
+
+        // Concurrent lookups share a single call to the wrapped controller.
+        val result1 = controller.getEndpointForSegment(SEGMENT.getScopedName());
+        val result2 = controller.getEndpointForSegment(SEGMENT.getScopedName());
+        lookup.complete(ENDPOINT);
+        assertEquals(ENDPOINT, result1.join());
+        assertEquals(ENDPOINT, result2.join());
+        assertEquals(ENDPOINT, controller.getEndpointForSegment(SEGMENT.getScopedName()).join());
+        verify(inner, times(1)).getEndpointForSegment(SEGMENT.getScopedName());
+
+        // Once invalidated (i.e., after a WrongHost), the endpoint is looked up again.
+        controller.invalidateCache(SEGMENT.getScopedName());
+        assertEquals(ENDPOINT, controller.getEndpointForSegment(SEGMENT.getScopedName()).join());
+        verify(inner, times(2)).getEndpointForSegment(SEGMENT.getScopedName());
+    }
+
+    @Test
+    public void testFailedLookupsAreNotCached() {
+        Controller inner = mock(Controller.class);
+        when(inner.getEndpointForSegment(SEGMENT.getScopedName()))
+                .thenReturn(Futures.failedFuture(new RuntimeException("intentional")))
+                .thenReturn(CompletableFuture.completedFuture(ENDPOINT));
+        CachingController controller = new CachingController(inner);
+
+        AssertExtensions.assertFutureThrows("Expected the lookup to fail.",
+                controller.getEndpointForSegment(SEGMENT.getScopedName()), ex -> ex instanceof RuntimeException);
+        assertEquals(ENDPOINT, controller.getEndpointForSegment(SEGMENT.getScopedName()).join());
+        assertEquals(ENDPOINT, controller.getEndpointForSegment(SEGMENT.getScopedName()).join());
+        verify(inner, times(2)).getEndpointForSegment(SEGMENT.getScopedName());
+    }
+
+    @Test
+    public void testExpiration() {
+        Controller inner = mock(Controller.class);
+        when(inner.getEndpointForSegment(SEGMENT.getScopedName())).thenReturn(CompletableFuture.completedFuture(ENDPOINT));
+        CachingController controller = new CachingController(inner, Duration.ZERO);
+
+        assertEquals(ENDPOINT, controller.getEndpointForSegment(SEGMENT.getScopedName()).join());
+        assertEquals(ENDPOINT, controller.getEndpointForSegment(SEGMENT.getScopedName()).join());
+        verify(inner, times(2)).getEndpointForSegment(SEGMENT.getScopedName());
+    }
+
+    @Test(timeout = 10000)
+    public void testConnectionDropInvalidatesEndpoint() throws Exception {
+        Controller inner = mock(Controller.class);
+        when(inner.getEndpointForSegment(SEGMENT.getScopedName()))
+                .thenReturn(CompletableFuture.completedFuture(ENDPOINT))
+                .thenReturn(CompletableFuture.completedFuture(NEW_ENDPOINT));
+        CachingController controller = new CachingController(inner);
+        @Cleanup
+        MockConnectionFactoryImpl connectionFactory = new MockConnectionFactoryImpl();
+
+        // The Segment Store at the cached endpoint goes away while the read is outstanding; it never sends a WrongHost.
+        ClientConnection deadConnection = mock(ClientConnection.class);
+        doAnswer(invocation -> {
+            connectionFactory.getProcessor(ENDPOINT).connectionDropped();
+            return null;
+        }).when(deadConnection).send(any(WireCommands.ReadSegment.class));
+        connectionFactory.provideConnection(ENDPOINT, deadConnection);
+        ClientConnection newConnection = provideReadingConnection(connectionFactory, NEW_ENDPOINT);
+
+        // The retry must look the endpoint up again instead of going back to the dead Segment Store.
+        @Cleanup
+        SegmentInputStream in = new SegmentInputStreamFactoryImpl(controller, connectionFactory)
+                .createInputStreamForSegment(SEGMENT, DelegationTokenProviderFactory.createWithEmptyToken());
+        assertEquals(DATA.length, in.read(ByteBuffer.allocate(DATA.length), 10000));
+        verify(deadConnection).send(any(WireCommands.ReadSegment.class));
+        verify(newConnection, atLeastOnce()).send(any(WireCommands.ReadSegment.class));
+        verify(inner, times(2)).getEndpointForSegment(SEGMENT.getScopedName());
+    }
+
+    @Test(timeout = 10000)
+    public void testFailedConnectionInvalidatesEndpoint() throws Exception {
+        Controller inner = mock(Controller.class);
+        when(inner.getEndpointForSegment(SEGMENT.getScopedName()))
+                .thenReturn(CompletableFuture.completedFuture(ENDPOINT))
+                .thenReturn(CompletableFuture.completedFuture(NEW_ENDPOINT));
+        CachingController controller = new CachingController(inner);
+        @Cleanup
+        MockConnectionFactoryImpl connectionFactory = new MockConnectionFactoryImpl();
+
+        // No connection is provided for ENDPOINT, so connecting to it fails (as if the Segment Store were down).
+        ClientConnection newConnection = provideReadingConnection(connectionFactory, NEW_ENDPOINT);
+
+        @Cleanup
+        SegmentInputStream in = new SegmentInputStreamFactoryImpl(controller, connectionFactory)
+                .createInputStreamForSegment(SEGMENT, DelegationTokenProviderFactory.createWithEmptyToken());
+        assertEquals(DATA.length, in.read(ByteBuffer.allocate(DATA.length), 10000));
+        verify(newConnection, atLeastOnce()).send(any(WireCommands.ReadSegment.class));
+        verify(inner, times(2)).getEndpointForSegment(SEGMENT.getScopedName());
+
+        // The new endpoint is served from the cache.
+        assertEquals(NEW_ENDPOINT, controller.getEndpointForSegment(SEGMENT.getScopedName()).join());
+        verify(inner, times(2)).getEndpointForSegment(SEGMENT.getScopedName());
+    }
+
+    /**
+     * Provides a connection to the given endpoint which answers the first read with {@link #DATA}.
+     */
+    private ClientConnection provideReadingConnection(MockConnectionFactoryImpl connectionFactory, PravegaNodeUri endpoint)
+            throws Exception {
+        ClientConnection connection = mock(ClientConnection.class);
+        doAnswer(invocation -> {
+            WireCommands.ReadSegment request = invocation.getArgument(0);
+            connectionFactory.getProcessor(endpoint).process(new WireCommands.SegmentRead(request.getSegment(),
+                    request.getOffset(), false, false, Unpooled.wrappedBuffer(DATA), request.getRequestId()));
+            return null;
+        }).doNothing().when(connection).send(any(WireCommands.ReadSegment.class));
+        connectionFactory.provideConnection(endpoint, connection);
+        return connection;
+    }
+
+    @Test
+    public void testGetCurrentSegments() {
+        Controller inner = mock(Controller.class);
+        Stream stream = SEGMENT.getStream();
+        val segmentMap = new TreeMap<Double, SegmentWithRange>();
+        segmentMap.put(1.0, new SegmentWithRange(SEGMENT, 0, 1));
+        StreamSegments segments = new StreamSegments(segmentMap);
+        when(inner.getCurrentSegments(stream.getScope(), stream.getStreamName())).thenReturn(CompletableFuture.completedFuture(segments));
+        when(inner.sealStream(stream.getScope(), stream.getStreamName())).thenReturn(CompletableFuture.completedFuture(true));
+        CachingController controller = new CachingController(inner);
+
+        assertEquals(segments, controller.getCurrentSegments(stream.getScope(), stream.getStreamName()).join());
+        assertEquals(segments, controller.getCurrentSegments(stream.getScope(), stream.getStreamName()).join());
+        verify(inner, times(1)).getCurrentSegments(stream.getScope(), stream.getStreamName());
+
+        // Invalidating a segment of the stream (i.e., after a SegmentIsSealed) drops the stream's current segments.
+        controller.invalidateCache(new Segment("scope", "otherStream", 1).getScopedName());
+        controller.getCurrentSegments(stream.getScope(), stream.getStreamName()).join();
+        verify(inner, times(1)).getCurrentSegments(stream.getScope(), stream.getStreamName());
+        controller.invalidateCache(SEGMENT.getScopedName());
+        controller.getCurrentSegments(stream.getScope(), stream.getStreamName()).join();
+        verify(inner, times(2)).getCurrentSegments(stream.getScope(), stream.getStreamName());
+
+        // So does sealing the stream.
+        assertTrue(controller.sealStream(stream.getScope(), stream.getStreamName()).join());
+        controller.getCurrentSegments(stream.getScope(), stream.getStreamName()).join();
+        verify(inner, times(3)).getCurrentSegments(stream.getScope(), stream.getStreamName());
+    }
+
+    @Test
+    public void testIsSegmentOpen() {
+        Controller inner = mock(Controller.class);
+        Segment sealedSegment = new Segment("scope", "stream", 2);
+        when(inner.isSegmentOpen(SEGMENT)).thenReturn(CompletableFuture.completedFuture(true));
+        when(inner.isSegmentOpen(sealedSegment)).thenReturn(CompletableFuture.completedFuture(false));
+        CachingController controller = new CachingController(inner);
+
+        // Open segments may be sealed at any time, so only sealed segments are remembered.
+        assertTrue(controller.isSegmentOpen(SEGMENT).join());
+        assertTrue(controller.isSegmentOpen(SEGMENT).join());
+        verify(inner, times(2)).isSegmentOpen(SEGMENT);
+        assertFalse(controller.isSegmentOpen(sealedSegment).join());
+        assertFalse(controller.isSegmentOpen(sealedSegment).join());
+        verify(inner, times(1)).isSegmentOpen(sealedSegment);
+    }
+
+    @Test
+    public void testPassThrough() {
+        Controller inner = mock(Controller.class);
+        when(inner.createScope("scope")).thenReturn(CompletableFuture.completedFuture(true));
+        CachingController controller = new CachingController(inner);
+
+        assertTrue(controller.createScope("scope").join());
+        assertTrue(controller.createScope("scope").join());
+        verify(inner, times(2)).createScope("scope");
+        controller.close();
+        verify(inner).close();
+    }
+}
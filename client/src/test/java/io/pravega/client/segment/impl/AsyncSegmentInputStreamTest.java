@@ -15,6 +15,7 @@
  */
 package io.pravega.client.segment.impl;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.pravega.auth.AuthenticationException;
 import io.pravega.client.connection.impl.ClientConnection;
@@ -33,6 +34,7 @@ import io.pravega.shared.protocol.netty.WireCommands.ReadSegment;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
 import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.LeakDetectorTestSuite;
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Semaphore;
@@ -313,6 +315,40 @@ public class AsyncSegmentInputStreamTest extends LeakDetectorTestSuite {
         verifyNoMoreInteractions(c);
     }
 
+    @Test(timeout = 10000)
+    public void testFilteredRead() throws ConnectionFailedException {
+        Segment segment = new Segment("scope", "testFilteredRead", 1);
+        PravegaNodeUri endpoint = new PravegaNodeUri("localhost", SERVICE_PORT);
+        @Cleanup
+        MockConnectionFactoryImpl connectionFactory = new MockConnectionFactoryImpl();
+        @Cleanup
+        MockController controller = new MockController(endpoint.getEndpoint(), endpoint.getPort(), connectionFactory, true);
+        ByteBuf prefix = Unpooled.wrappedBuffer(new byte[]{1});
+        @Cleanup
+        AsyncSegmentInputStreamImpl in = new AsyncSegmentInputStreamImpl(controller, connectionFactory, segment,
+                DelegationTokenProviderFactory.createWithEmptyToken(), null, prefix);
+        ClientConnection c = mock(ClientConnection.class);
+        connectionFactory.provideConnection(endpoint, c);
+
+        // The first run answers the read, the following ones answer the reads issued at the end of the previous run.
+        WireCommands.SegmentRead run1 = new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false,
+                Unpooled.wrappedBuffer(new byte[10]), in.getRequestId());
+        WireCommands.SegmentRead run2 = new WireCommands.SegmentRead(segment.getScopedName(), 20, false, false,
+                Unpooled.wrappedBuffer(new byte[10]), in.getRequestId());
+        WireCommands.SegmentRead run3 = new WireCommands.SegmentRead(segment.getScopedName(), 40, true, false,
+                Unpooled.EMPTY_BUFFER, in.getRequestId());
+        CompletableFuture<SegmentRead> readFuture = in.read(0, 100);
+        AssertExtensions.assertBlocks(() -> readFuture.get(), () -> {
+            ReplyProcessor processor = connectionFactory.getProcessor(endpoint);
+            processor.process(new WireCommands.SegmentsRead(in.getRequestId(), Arrays.asList(run1, run2, run3)));
+        });
+        verify(c).send(eq(new WireCommands.ReadSegment(segment.getScopedName(), 0, 100, "", in.getRequestId(), prefix)));
+        assertEquals(run1, readFuture.join());
+        assertEquals(run2, in.read(10, 90).join());
+        assertEquals(run3, in.read(30, 70).join());
+        verifyNoMoreInteractions(c);
+    }
+
     @Test(timeout = 10000)
     public void testSegmentTruncated() throws ConnectionFailedException {
         String mockClientReplyStackTrace = "SomeException";
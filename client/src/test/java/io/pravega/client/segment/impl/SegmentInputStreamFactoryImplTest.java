@@ -15,6 +15,8 @@
  */
 package io.pravega.client.segment.impl;
 
+import com.google.common.collect.ImmutableMap;
+import io.netty.buffer.Unpooled;
 import io.pravega.client.connection.impl.ClientConnection;
 import io.pravega.client.connection.impl.ConnectionPool;
 import io.pravega.client.connection.impl.Flow;
@@ -22,17 +24,38 @@ import io.pravega.client.control.impl.Controller;
 import io.pravega.client.security.auth.EmptyTokenProviderImpl;
 import io.pravega.shared.protocol.netty.PravegaNodeUri;
 import io.pravega.shared.protocol.netty.ReplyProcessor;
+import io.pravega.shared.protocol.netty.WireCommand;
+import io.pravega.shared.protocol.netty.WireCommands;
+import io.pravega.shared.protocol.netty.WireCommands.Hello;
+import io.pravega.shared.protocol.netty.WireCommands.ReadSegment;
+import io.pravega.shared.protocol.netty.WireCommands.ReadSegments;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentIsSealed;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentIsTruncated;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentsRead;
+import io.pravega.shared.security.auth.AccessOperation;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import static io.pravega.test.common.AssertExtensions.assertFutureThrows;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -51,6 +74,9 @@ public class SegmentInputStreamFactoryImplTest {
     public void setup() {
         when(controller.getEndpointForSegment(anyString()))
                 .thenReturn(CompletableFuture.completedFuture(new PravegaNodeUri("localhost", 9090)));
+    }
+
+    private void setupConnection() {
         when(cp.getClientConnection(any(Flow.class), any(PravegaNodeUri.class), any(ReplyProcessor.class)))
                 .thenReturn(CompletableFuture.completedFuture(connection));
         when(cp.getInternalExecutor()).thenReturn(executor);
@@ -58,6 +84,7 @@ public class SegmentInputStreamFactoryImplTest {
 
     @Test
     public void createInputStreamForSegment() {
+        setupConnection();
         SegmentInputStreamFactoryImpl factory = new SegmentInputStreamFactoryImpl(controller, cp);
         SegmentInputStream segmentInputStream = factory
                 .createInputStreamForSegment(Segment.fromScopedName("scope/stream/0"), new EmptyTokenProviderImpl());
@@ -66,6 +93,7 @@ public class SegmentInputStreamFactoryImplTest {
 
     @Test
     public void testCreateInputStreamForSegmentWithOffset() {
+        setupConnection();
         SegmentInputStreamFactoryImpl factory = new SegmentInputStreamFactoryImpl(controller, cp);
         SegmentInputStream segmentInputStream = factory
                 .createInputStreamForSegment(Segment
@@ -74,4 +102,94 @@ public class SegmentInputStreamFactoryImplTest {
         assertEquals(Segment.fromScopedName("scope/stream/0"), segmentInputStream.getSegmentId());
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Mocks the connection used by a RawClient to a Segment Store which supports the given wire protocol version. The
+     * Segment Store's Hello is delivered when the flow is created, as it would be on an existing connection.
+     */
+    private AtomicReference<ReplyProcessor> setupRawClientConnection(int serverVersion) {
+        when(controller.getOrRefreshDelegationTokenFor(anyString(), anyString(), any(AccessOperation.class)))
+                .thenReturn(CompletableFuture.completedFuture("token"));
+        AtomicReference<ReplyProcessor> replyProcessor = new AtomicReference<>();
+        doAnswer(invocation -> {
+            replyProcessor.set(invocation.getArgument(2));
+            replyProcessor.get().hello(new Hello(serverVersion, WireCommands.OLDEST_COMPATIBLE_VERSION));
+            invocation.<CompletableFuture<ClientConnection>>getArgument(3).complete(connection);
+            return null;
+        }).when(cp).getClientConnection(any(Flow.class), any(PravegaNodeUri.class), any(ReplyProcessor.class), any());
+        return replyProcessor;
+    }
+
+    @Test
+    public void testReadSegments() throws Exception {
+        AtomicReference<ReplyProcessor> replyProcessor = setupRawClientConnection(WireCommands.WIRE_VERSION);
+        SegmentInputStreamFactoryImpl factory = new SegmentInputStreamFactoryImpl(controller, cp);
+        Segment segment1 = Segment.fromScopedName("scope/stream/0");
+        Segment segment2 = Segment.fromScopedName("scope/stream/1");
+        Segment segment3 = Segment.fromScopedName("scope/stream/2");
+        Map<Segment, Long> offsets = ImmutableMap.of(segment1, 10L, segment2, 20L, segment3, 30L);
+        Map<Segment, Integer> lengths = ImmutableMap.of(segment1, 100, segment2, 200, segment3, 300);
+        Map<Segment, CompletableFuture<SegmentRead>> reads = factory.readSegments(offsets, lengths);
+
+        // All segments are owned by the same Segment Store, so they should all be read using a single request.
+        ArgumentCaptor<ReadSegments> request = ArgumentCaptor.forClass(ReadSegments.class);
+        verify(connection).send(request.capture());
+        Map<String, ReadSegment> sentReads = request.getValue().getReads().stream()
+                .collect(Collectors.toMap(ReadSegment::getSegment, r -> r));
+        assertEquals(3, sentReads.size());
+        offsets.forEach((segment, offset) -> {
+            ReadSegment read = sentReads.get(segment.getScopedName());
+            assertEquals(offset.longValue(), read.getOffset());
+            assertEquals(lengths.get(segment).intValue(), read.getSuggestedLength());
+            assertEquals("token", read.getDelegationToken());
+        });
+
+        // Two reads are answered in a batch, while the third one is answered on its own.
+        replyProcessor.get().process(new SegmentsRead(request.getValue().getRequestId(), Arrays.asList(
+                new SegmentRead(segment1.getScopedName(), 10L, false, false, Unpooled.wrappedBuffer(new byte[5]),
+                        sentReads.get(segment1.getScopedName()).getRequestId()),
+                new SegmentRead(segment2.getScopedName(), 20L, true, true, Unpooled.EMPTY_BUFFER,
+                        sentReads.get(segment2.getScopedName()).getRequestId()))));
+        assertEquals(5, reads.get(segment1).join().getData().readableBytes());
+        assertTrue(reads.get(segment2).join().isEndOfSegment());
+        assertFalse(reads.get(segment3).isDone());
+
+        replyProcessor.get().process(new SegmentIsTruncated(sentReads.get(segment3.getScopedName()).getRequestId(),
+                segment3.getScopedName(), 40L, "", 30L));
+        assertFutureThrows("Expected the truncated read to fail.", reads.get(segment3),
+                t -> t instanceof SegmentTruncatedException);
+        verify(connection).close();
+    }
+
+    @Test
+    public void testReadSegmentsFromOldServer() throws Exception {
+        AtomicReference<ReplyProcessor> replyProcessor = setupRawClientConnection(ReadSegments.MIN_WIRE_VERSION - 1);
+        SegmentInputStreamFactoryImpl factory = new SegmentInputStreamFactoryImpl(controller, cp);
+        Segment segment1 = Segment.fromScopedName("scope/stream/0");
+        Segment segment2 = Segment.fromScopedName("scope/stream/1");
+        Map<Segment, Long> offsets = ImmutableMap.of(segment1, 10L, segment2, 20L);
+        Map<Segment, Integer> lengths = ImmutableMap.of(segment1, 100, segment2, 200);
+        Map<Segment, CompletableFuture<SegmentRead>> reads = factory.readSegments(offsets, lengths);
+
+        // The Segment Store cannot decode ReadSegments, so each segment should be read using its own request.
+        ArgumentCaptor<WireCommand> request = ArgumentCaptor.forClass(WireCommand.class);
+        verify(connection, times(2)).send(request.capture());
+        assertTrue(request.getAllValues().stream().allMatch(r -> r instanceof ReadSegment));
+        Map<String, ReadSegment> sentReads = request.getAllValues().stream()
+                .map(r -> (ReadSegment) r)
+                .collect(Collectors.toMap(ReadSegment::getSegment, r -> r));
+        offsets.forEach((segment, offset) -> {
+            ReadSegment read = sentReads.get(segment.getScopedName());
+            assertEquals(offset.longValue(), read.getOffset());
+            assertEquals(lengths.get(segment).intValue(), read.getSuggestedLength());
+        });
+
+        replyProcessor.get().process(new SegmentRead(segment1.getScopedName(), 10L, false, false,
+                Unpooled.wrappedBuffer(new byte[5]), sentReads.get(segment1.getScopedName()).getRequestId()));
+        replyProcessor.get().process(new SegmentIsSealed(sentReads.get(segment2.getScopedName()).getRequestId(),
+                segment2.getScopedName(), "", 20L));
+        assertEquals(5, reads.get(segment1).join().getData().readableBytes());
+        assertTrue(reads.get(segment2).join().isEndOfSegment());
+        verify(connection).close();
+    }
+}
@@ -34,6 +34,7 @@ import java.util.Vector;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.Cleanup;
 import lombok.val;
 import org.junit.Test;
@@ -137,6 +138,28 @@ public class SegmentInputStreamTest extends LeakDetectorTestSuite {
         assertEquals(ByteBuffer.wrap(data), read);
     }
 
+    @Test
+    public void testReadAfterSkippedData() throws EndOfSegmentException, SegmentTruncatedException {
+        byte[] data1 = new byte[]{0, 1, 2, 3, 4};
+        byte[] data2 = new byte[]{5, 6, 7, 8, 9};
+        byte[] data3 = new byte[]{10, 11, 12};
+        ByteBuf firstRun = Unpooled.wrappedBuffer(createEventFromData(data1), createEventFromData(data2));
+        TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 3);
+        @Cleanup
+        EventSegmentReaderImpl stream = SegmentInputStreamFactoryImpl.getEventSegmentReader(fakeNetwork, 0);
+        fakeNetwork.complete(0, new WireCommands.SegmentRead(segment.getScopedName(), 0, false, false, firstRun, requestId));
+        // The events between the first run and this one were skipped by a filtered read.
+        fakeNetwork.complete(1, new WireCommands.SegmentRead(segment.getScopedName(), 100, false, false,
+                                                             createEventFromData(data3), requestId));
+
+        assertEquals(ByteBuffer.wrap(data1), stream.read());
+        assertEquals(data1.length + WireCommands.TYPE_PLUS_LENGTH_SIZE, stream.getOffset());
+        assertEquals(ByteBuffer.wrap(data2), stream.read());
+        assertEquals(firstRun.capacity(), stream.getOffset());
+        assertEquals(ByteBuffer.wrap(data3), stream.read());
+        assertEquals(100 + data3.length + WireCommands.TYPE_PLUS_LENGTH_SIZE, stream.getOffset());
+    }
+
     @Test
     public void testSmallerThanNeededRead() throws EndOfSegmentException, SegmentTruncatedException {
         byte[] data = new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
@@ -365,6 +388,37 @@ public class SegmentInputStreamTest extends LeakDetectorTestSuite {
         assertEquals(ByteBuffer.wrap(data2), read);
     }
 
+    @Test(timeout = 10000)
+    public void testFillBufferWithBatchedRead() throws EndOfSegmentException, SegmentTruncatedException {
+        byte[] data = new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+        val wireData = createEventFromData(data);
+        TestAsyncSegmentInputStream fakeNetwork = new TestAsyncSegmentInputStream(segment, 3);
+        @Cleanup
+        SegmentInputStreamImpl stream = new SegmentInputStreamImpl(fakeNetwork, 0);
+        // Moving the offset cancels the read issued on creation, so the next fill goes through the batched read.
+        stream.setOffset(100, false);
+        AtomicLong batchedOffset = new AtomicLong(-1);
+        CompletableFuture<SegmentRead> batchedRead = new CompletableFuture<>();
+        stream.fillBuffer((offset, length) -> {
+            batchedOffset.set(offset);
+            return batchedRead;
+        });
+        assertEquals(100, batchedOffset.get());
+
+        // A batched read that fails is issued again directly on the segment's own connection.
+        batchedRead.completeExceptionally(new ConnectionFailedException());
+        fakeNetwork.complete(1, new SegmentRead(segment.getScopedName(), 100, false, false, wireData.slice(), requestId));
+        ByteBuffer buffer = ByteBuffer.allocate(wireData.readableBytes());
+        assertEquals(wireData.readableBytes(), stream.read(buffer, 1000));
+
+        // Truncation is reported to the caller rather than retried.
+        stream.setOffset(0, false);
+        CompletableFuture<SegmentRead> truncatedRead = new CompletableFuture<>();
+        stream.fillBuffer((offset, length) -> truncatedRead);
+        truncatedRead.completeExceptionally(new SegmentTruncatedException());
+        AssertExtensions.assertThrows(SegmentTruncatedException.class, () -> stream.read(ByteBuffer.allocate(1), 1000));
+    }
+
     @Test(timeout = 5000)
     public void testClose() {
         byte[] data = new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
@@ -0,0 +1,74 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.client.stream.impl;
+
+import io.pravega.client.stream.EventRead;
+import io.pravega.client.stream.EventStreamReader;
+import io.pravega.client.stream.ReinitializationRequiredException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class EventReadSubscriptionTest {
+
+    @Test(timeout = 10000)
+    @SuppressWarnings("unchecked")
+    public void testReadsBoundedByDemand() throws ReinitializationRequiredException {
+        EventStreamReader<String> reader = Mockito.mock(EventStreamReader.class);
+        EventRead<String> a = event("a");
+        EventRead<String> b = event("b");
+        EventRead<String> empty = event(null);
+        EventRead<String> checkpoint = new EventReadImpl<>(null, null, null, "cp");
+        Mockito.when(reader.readNextEvents(anyInt(), anyLong()))
+               .thenReturn(Arrays.asList(a, b))
+               .thenReturn(Collections.singletonList(empty))
+               .thenReturn(Collections.singletonList(checkpoint));
+        List<EventRead<String>> received = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        EventReadSubscription<String> subscription = new EventReadSubscription<>(reader, 100, 10, Runnable::run,
+                                                                                 received::add, error::set);
+        Mockito.verifyNoInteractions(reader);
+
+        subscription.request(2);
+        assertEquals(Arrays.asList(a, b), received);
+        Mockito.verify(reader).readNextEvents(eq(2), eq(10L));
+
+        // Empty reads are skipped and checkpoints are delivered.
+        subscription.request(1);
+        assertEquals(Arrays.asList(a, b, checkpoint), received);
+        Mockito.verify(reader, Mockito.times(2)).readNextEvents(eq(1), eq(10L));
+        Mockito.verifyNoMoreInteractions(reader);
+
+        Mockito.when(reader.readNextEvents(anyInt(), anyLong())).thenThrow(new ReinitializationRequiredException());
+        subscription.request(Long.MAX_VALUE);
+        assertTrue(error.get() instanceof ReinitializationRequiredException);
+        assertTrue(subscription.isTerminated());
+    }
+
+    private static EventRead<String> event(String value) {
+        return new EventReadImpl<>(value, null, null, null);
+    }
+}
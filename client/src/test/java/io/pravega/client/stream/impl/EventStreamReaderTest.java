@@ -67,6 +67,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import lombok.Cleanup;
@@ -74,6 +75,7 @@ import lombok.val;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 
@@ -164,10 +166,10 @@ public class EventStreamReaderTest {
         Mockito.when(segmentInputStream2.getOffset()).thenReturn(10L);
 
         SegmentInputStreamFactory inputStreamFactory = Mockito.mock(SegmentInputStreamFactory.class);
-        Mockito.when(inputStreamFactory.createEventReaderForSegment(any(Segment.class), anyInt(), any(Semaphore.class), anyLong())).thenReturn(segmentInputStream1);
+        Mockito.when(inputStreamFactory.createEventReaderForSegment(any(Segment.class), anyInt(), any(Semaphore.class), anyLong(), any())).thenReturn(segmentInputStream1);
         //Mock Orderer
         Orderer orderer = Mockito.mock(Orderer.class);
-        Mockito.when(orderer.nextSegment(any(List.class))).thenReturn(segmentInputStream1).thenReturn(segmentInputStream2);
+        Mockito.when(orderer.nextSegment(any(List.class), any())).thenReturn(segmentInputStream1).thenReturn(segmentInputStream2);
 
         @Cleanup
         EventStreamReaderImpl<byte[]> reader = new EventStreamReaderImpl<>(inputStreamFactory, segmentStreamFactory,
@@ -221,10 +223,10 @@ public class EventStreamReaderTest {
         Mockito.when(segmentInputStream2.getOffset()).thenReturn(10L);
 
         SegmentInputStreamFactory inputStreamFactory = Mockito.mock(SegmentInputStreamFactory.class);
-        Mockito.when(inputStreamFactory.createEventReaderForSegment(any(Segment.class), anyInt(), any(Semaphore.class), anyLong())).thenReturn(segmentInputStream1);
+        Mockito.when(inputStreamFactory.createEventReaderForSegment(any(Segment.class), anyInt(), any(Semaphore.class), anyLong(), any())).thenReturn(segmentInputStream1);
         //Mock Orderer
         Orderer orderer = Mockito.mock(Orderer.class);
-        Mockito.when(orderer.nextSegment(any(List.class))).thenReturn(segmentInputStream1).thenReturn(segmentInputStream2);
+        Mockito.when(orderer.nextSegment(any(List.class), any())).thenReturn(segmentInputStream1).thenReturn(segmentInputStream2);
 
         @Cleanup
         EventStreamReaderImpl<byte[]> reader = new EventStreamReaderImpl<>(inputStreamFactory, segmentStreamFactory,
@@ -275,6 +277,41 @@ public class EventStreamReaderTest {
         reader.close();
     }
 
+    @Test(timeout = 10000)
+    public void testReadWithEventPrefixFilter() throws SegmentSealedException, ReaderNotInReaderGroupException {
+        AtomicLong clock = new AtomicLong();
+        MockSegmentStreamFactory segmentStreamFactory = new MockSegmentStreamFactory();
+        Orderer orderer = new Orderer();
+        ReaderGroupStateManager groupState = Mockito.mock(ReaderGroupStateManager.class);
+        @Cleanup
+        EventStreamReaderImpl<byte[]> reader = new EventStreamReaderImpl<>(segmentStreamFactory, segmentStreamFactory,
+                                                                           new ByteArraySerializer(), groupState,
+                                                                           orderer, clock::get,
+                                                                           ReaderConfig.builder().eventPrefixFilter(new byte[]{0, 0, 0, 2}).build(),
+                                                                           createWatermarkReaders(),
+                                                                           Mockito.mock(Controller.class));
+        SegmentWithRange segment = new SegmentWithRange(Segment.fromScopedName("Foo/Bar/0"), 0, 1);
+        Mockito.when(groupState.acquireNewSegmentsIfNeeded(eq(0L), any())).thenReturn(ImmutableMap.of(segment, 0L)).thenReturn(Collections.emptyMap());
+        Mockito.when(groupState.getEndOffsetForSegment(any(Segment.class))).thenReturn(Long.MAX_VALUE);
+        @Cleanup
+        SegmentOutputStream stream = segmentStreamFactory.createOutputStreamForSegment(segment.getSegment(), segmentSealedCallback, writerConfig,
+                DelegationTokenProviderFactory.createWithEmptyToken());
+        writeInt(stream, 1);
+        ByteBuffer buffer2 = writeInt(stream, 2);
+        writeInt(stream, 3);
+        // The mock segment store does not filter events, so the reader must skip those that do not match itself.
+        EventRead<byte[]> e = reader.readNextEvent(10000);
+        assertEquals(buffer2, ByteBuffer.wrap(e.getEvent()));
+        assertEquals(WireCommands.TYPE_PLUS_LENGTH_SIZE + Integer.BYTES, e.getEventPointer().asImpl().getEventStartOffset());
+        assertEquals(Long.valueOf(2 * (WireCommands.TYPE_PLUS_LENGTH_SIZE + Integer.BYTES)),
+                e.getPosition().asImpl().getOffsetForOwnedSegment(Segment.fromScopedName("Foo/Bar/0")));
+        e = reader.readNextEvent(0);
+        assertNull(e.getEvent());
+        assertEquals(Long.valueOf(3 * (WireCommands.TYPE_PLUS_LENGTH_SIZE + Integer.BYTES)),
+                e.getPosition().asImpl().getOffsetForOwnedSegment(Segment.fromScopedName("Foo/Bar/0")));
+        reader.close();
+    }
+
     @Test(timeout = 10000)
     public void testReleaseSegment() throws SegmentSealedException, ReaderNotInReaderGroupException {
         AtomicLong clock = new AtomicLong();
@@ -322,6 +359,168 @@ public class EventStreamReaderTest {
         reader.close();
     }
 
+    @Test(timeout = 10000)
+    public void testPrefetchingRead() throws SegmentSealedException, ReaderNotInReaderGroupException {
+        AtomicLong clock = new AtomicLong();
+        MockSegmentStreamFactory segmentStreamFactory = new MockSegmentStreamFactory();
+        Orderer orderer = new Orderer();
+        ReaderGroupStateManager groupState = Mockito.mock(ReaderGroupStateManager.class);
+        @Cleanup
+        EventStreamReaderImpl<byte[]> reader = new EventStreamReaderImpl<>(segmentStreamFactory, segmentStreamFactory,
+                                                                           new ByteArraySerializer(), groupState,
+                                                                           orderer, clock::get,
+                                                                           ReaderConfig.builder().prefetchQueueSize(10).deserializationThreads(2).build(),
+                                                                           createWatermarkReaders(),
+                                                                           Mockito.mock(Controller.class));
+        Segment segment1 = Segment.fromScopedName("Foo/Bar/0");
+        Segment segment2 = Segment.fromScopedName("Foo/Bar/1");
+        Mockito.when(groupState.acquireNewSegmentsIfNeeded(eq(0L), any()))
+               .thenReturn(ImmutableMap.of(new SegmentWithRange(segment1, 0, 0.5), 0L, new SegmentWithRange(segment2, 0.5, 1.0), 0L))
+               .thenReturn(Collections.emptyMap());
+        Mockito.when(groupState.getEndOffsetForSegment(any(Segment.class))).thenReturn(Long.MAX_VALUE);
+        @Cleanup
+        SegmentOutputStream stream1 = segmentStreamFactory.createOutputStreamForSegment(segment1, segmentSealedCallback, writerConfig,
+                DelegationTokenProviderFactory.createWithEmptyToken());
+        @Cleanup
+        SegmentOutputStream stream2 = segmentStreamFactory.createOutputStreamForSegment(segment2, segmentSealedCallback, writerConfig,
+                DelegationTokenProviderFactory.createWithEmptyToken());
+        for (int i = 0; i < 3; i++) {
+            writeInt(stream1, i);
+            writeInt(stream2, 10 + i);
+        }
+        long eventLength = WireCommands.TYPE_PLUS_LENGTH_SIZE + Integer.BYTES;
+
+        // Events are read ahead from both segments, but the position only reflects the one that has been returned.
+        EventRead<byte[]> e = reader.readNextEvent(10000);
+        Segment first = e.getEventPointer().asImpl().getSegment();
+        Segment other = first.equals(segment1) ? segment2 : segment1;
+        int base = first.equals(segment1) ? 0 : 10;
+        assertEquals(base, ByteBuffer.wrap(e.getEvent()).getInt());
+        assertEquals(Long.valueOf(eventLength), e.getPosition().asImpl().getOffsetForOwnedSegment(first));
+        assertEquals(Long.valueOf(0), e.getPosition().asImpl().getOffsetForOwnedSegment(other));
+
+        // Checkpoint and then release the other segment, none of whose events have been returned yet.
+        Mockito.when(groupState.getCheckpoint()).thenReturn("checkpoint").thenReturn(null);
+        assertTrue(reader.readNextEvent(0).isCheckpoint());
+        Mockito.when(groupState.findSegmentToReleaseIfRequired()).thenReturn(other).thenReturn(null);
+        Mockito.when(groupState.releaseSegment(eq(other), anyLong(), anyLong(), any())).thenReturn(true);
+        ArgumentCaptor<PositionInternal> checkpointPosition = ArgumentCaptor.forClass(PositionInternal.class);
+        List<Integer> values = new ArrayList<>();
+        for (e = reader.readNextEvent(0); e.getEvent() != null; e = reader.readNextEvent(0)) {
+            assertEquals(first, e.getEventPointer().asImpl().getSegment());
+            values.add(ByteBuffer.wrap(e.getEvent()).getInt());
+        }
+        Mockito.verify(groupState).checkpoint(eq("checkpoint"), checkpointPosition.capture());
+        assertEquals(Long.valueOf(eventLength), checkpointPosition.getValue().getOffsetForOwnedSegment(first));
+        assertEquals(Long.valueOf(0), checkpointPosition.getValue().getOffsetForOwnedSegment(other));
+        Mockito.verify(groupState).releaseSegment(eq(other), eq(0L), anyLong(), any());
+        assertEquals(ImmutableList.of(base + 1, base + 2), values);
+        assertEquals(ImmutableSet.of(first), e.getPosition().asImpl().getOwnedSegments());
+        reader.close();
+    }
+
+    @Test(timeout = 10000)
+    public void testReadNextEvents() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        MockSegmentStreamFactory segmentStreamFactory = new MockSegmentStreamFactory();
+        Orderer orderer = new Orderer();
+        ReaderGroupStateManager groupState = Mockito.mock(ReaderGroupStateManager.class);
+        @Cleanup
+        EventStreamReaderImpl<byte[]> reader = new EventStreamReaderImpl<>(segmentStreamFactory, segmentStreamFactory,
+                                                                           new ByteArraySerializer(), groupState,
+                                                                           orderer, clock::get,
+                                                                           ReaderConfig.builder().build(),
+                                                                           createWatermarkReaders(),
+                                                                           Mockito.mock(Controller.class));
+        Segment segment = Segment.fromScopedName("Foo/Bar/0");
+        Mockito.when(groupState.acquireNewSegmentsIfNeeded(eq(0L), any()))
+               .thenReturn(ImmutableMap.of(new SegmentWithRange(segment, 0, 1), 0L))
+               .thenReturn(Collections.emptyMap());
+        Mockito.when(groupState.getEndOffsetForSegment(any(Segment.class))).thenReturn(Long.MAX_VALUE);
+        @Cleanup
+        SegmentOutputStream stream = segmentStreamFactory.createOutputStreamForSegment(segment, segmentSealedCallback, writerConfig,
+                DelegationTokenProviderFactory.createWithEmptyToken());
+        for (int i = 0; i < 5; i++) {
+            writeInt(stream, i);
+        }
+        long eventLength = WireCommands.TYPE_PLUS_LENGTH_SIZE + Integer.BYTES;
+
+        // A batch stops at maxEvents and every event carries its own position.
+        List<EventRead<byte[]>> events = reader.readNextEvents(3, 0);
+        assertEquals(3, events.size());
+        for (int i = 0; i < 3; i++) {
+            EventRead<byte[]> e = events.get(i);
+            assertEquals(i, ByteBuffer.wrap(e.getEvent()).getInt());
+            assertEquals(i * eventLength, e.getEventPointer().asImpl().getEventStartOffset());
+            assertEquals(Long.valueOf((i + 1) * eventLength), e.getPosition().asImpl().getOffsetForOwnedSegment(segment));
+        }
+
+        // A checkpoint is returned on its own.
+        Mockito.when(groupState.getCheckpoint()).thenReturn("checkpoint").thenReturn(null);
+        events = reader.readNextEvents(10, 0);
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).isCheckpoint());
+
+        // The batch ends with the data that is available, even if the caller is willing to accept any number of events.
+        events = reader.readNextEvents(Integer.MAX_VALUE, 0);
+        assertEquals(2, events.size());
+        assertEquals(3, ByteBuffer.wrap(events.get(0).getEvent()).getInt());
+        assertEquals(4, ByteBuffer.wrap(events.get(1).getEvent()).getInt());
+        assertEquals(Long.valueOf(5 * eventLength), events.get(1).getPosition().asImpl().getOffsetForOwnedSegment(segment));
+        reader.close();
+    }
+
+    @Test(timeout = 10000)
+    public void testReadNextEventsAcrossFilteredGap() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        Segment segment = Segment.fromScopedName("Foo/Bar/0");
+        long eventLength = WireCommands.TYPE_PLUS_LENGTH_SIZE + 2 * Integer.BYTES;
+        // The segment store skips the range [2 * eventLength, 5 * eventLength) because those events do not match.
+        long[] endOffsets = {eventLength, 2 * eventLength, 6 * eventLength, 7 * eventLength};
+        AtomicInteger nextEvent = new AtomicInteger();
+        AtomicLong offset = new AtomicLong();
+        EventSegmentReader segmentInputStream = Mockito.mock(EventSegmentReader.class);
+        Mockito.when(segmentInputStream.getSegmentId()).thenReturn(segment);
+        Mockito.when(segmentInputStream.isSegmentReady()).thenReturn(true);
+        Mockito.when(segmentInputStream.getOffset()).thenAnswer(invocation -> offset.get());
+        Mockito.when(segmentInputStream.read(anyLong())).thenAnswer(invocation -> {
+            int i = nextEvent.getAndIncrement();
+            if (i >= endOffsets.length) {
+                return null;
+            }
+            offset.set(endOffsets[i]);
+            ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES).putInt(2).putInt(i);
+            buffer.flip();
+            return buffer;
+        });
+        SegmentInputStreamFactory segInputStreamFactory = Mockito.mock(SegmentInputStreamFactory.class);
+        Mockito.when(segInputStreamFactory.createEventReaderForSegment(any(Segment.class), anyInt(), any(Semaphore.class), anyLong(), any())).thenReturn(segmentInputStream);
+
+        ReaderGroupStateManager groupState = Mockito.mock(ReaderGroupStateManager.class);
+        Mockito.when(groupState.acquireNewSegmentsIfNeeded(eq(0L), any()))
+               .thenReturn(ImmutableMap.of(new SegmentWithRange(segment, 0, 1), 0L))
+               .thenReturn(Collections.emptyMap());
+        Mockito.when(groupState.getEndOffsetForSegment(any(Segment.class))).thenReturn(Long.MAX_VALUE);
+        @Cleanup
+        EventStreamReaderImpl<byte[]> reader = new EventStreamReaderImpl<>(segInputStreamFactory, Mockito.mock(SegmentMetadataClientFactory.class),
+                                                                           new ByteArraySerializer(), groupState,
+                                                                           new Orderer(), clock::get,
+                                                                           ReaderConfig.builder().eventPrefixFilter(new byte[]{0, 0, 0, 2}).build(),
+                                                                           createWatermarkReaders(),
+                                                                           Mockito.mock(Controller.class));
+
+        // Offsets after the gap come from the segment reader, not from the length of the previous event.
+        List<EventRead<byte[]>> events = reader.readNextEvents(10, 0);
+        assertEquals(endOffsets.length, events.size());
+        for (int i = 0; i < endOffsets.length; i++) {
+            EventRead<byte[]> e = events.get(i);
+            assertEquals(i, ByteBuffer.wrap(e.getEvent()).getInt(Integer.BYTES));
+            assertEquals(endOffsets[i] - eventLength, e.getEventPointer().asImpl().getEventStartOffset());
+            assertEquals(Long.valueOf(endOffsets[i]), e.getPosition().asImpl().getOffsetForOwnedSegment(segment));
+        }
+        reader.close();
+    }
+
     private ByteBuffer writeInt(SegmentOutputStream stream, int value) throws SegmentSealedException {
         ByteBuffer buffer = ByteBuffer.allocate(4).putInt(value);
         buffer.flip();
@@ -740,7 +939,7 @@ public class EventStreamReaderTest {
         EventSegmentReader segmentInputStream = Mockito.mock(EventSegmentReader.class);
         Mockito.when(segmentMetadataClientFactory.createSegmentMetadataClient(any(Segment.class), any())).thenReturn(metadataClient);
         Mockito.when(segmentInputStream.getSegmentId()).thenReturn(segment);
-        Mockito.when(segInputStreamFactory.createEventReaderForSegment(any(Segment.class), anyInt(), any(Semaphore.class), anyLong())).thenReturn(segmentInputStream);
+        Mockito.when(segInputStreamFactory.createEventReaderForSegment(any(Segment.class), anyInt(), any(Semaphore.class), anyLong(), any())).thenReturn(segmentInputStream);
         // Ensure segmentInputStream.read() returns SegmentTruncatedException.
         Mockito.when(segmentInputStream.isSegmentReady()).thenReturn(true);
         Mockito.when(segmentInputStream.read(anyLong())).thenThrow(SegmentTruncatedException.class);
@@ -813,9 +1012,9 @@ public class EventStreamReaderTest {
         Mockito.when(segmentInputStream3.getSegmentId()).thenReturn(segment3);
 
         SegmentInputStreamFactory inputStreamFactory = Mockito.mock(SegmentInputStreamFactory.class);
-        Mockito.when(inputStreamFactory.createEventReaderForSegment(eq(segment1), anyInt(), any(Semaphore.class), eq(Long.MAX_VALUE))).thenReturn(segmentInputStream1);
-        Mockito.when(inputStreamFactory.createEventReaderForSegment(eq(segment2), anyInt(), any(Semaphore.class), eq(Long.MAX_VALUE))).thenReturn(segmentInputStream2);
-        Mockito.when(inputStreamFactory.createEventReaderForSegment(eq(segment3), anyInt(), any(Semaphore.class), eq(Long.MAX_VALUE))).thenReturn(segmentInputStream3);     
+        Mockito.when(inputStreamFactory.createEventReaderForSegment(eq(segment1), anyInt(), any(Semaphore.class), eq(Long.MAX_VALUE), any())).thenReturn(segmentInputStream1);
+        Mockito.when(inputStreamFactory.createEventReaderForSegment(eq(segment2), anyInt(), any(Semaphore.class), eq(Long.MAX_VALUE), any())).thenReturn(segmentInputStream2);
+        Mockito.when(inputStreamFactory.createEventReaderForSegment(eq(segment3), anyInt(), any(Semaphore.class), eq(Long.MAX_VALUE), any())).thenReturn(segmentInputStream3);     
         
         Mockito.when(groupState.getEndOffsetForSegment(any())).thenReturn(Long.MAX_VALUE);
         
@@ -28,6 +28,7 @@ import io.pravega.client.stream.EventStreamWriter;
 import io.pravega.client.stream.EventWriterConfig;
 import io.pravega.client.stream.mock.MockSegmentIoStreams;
 import io.pravega.common.Exceptions;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.util.RetriesExhaustedException;
 import io.pravega.common.util.ReusableLatch;
@@ -38,6 +39,7 @@ import io.pravega.test.common.CollectingExecutor;
 import io.pravega.test.common.LeakDetectorTestSuite;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -45,7 +47,9 @@ import java.util.Map;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import javax.annotation.concurrent.NotThreadSafe;
 import lombok.Cleanup;
 import lombok.RequiredArgsConstructor;
@@ -852,6 +856,83 @@ public class EventStreamWriterTest extends LeakDetectorTestSuite {
         assertEquals("Foo", serializer.deserialize(outputStream3.getAcked(0)));
         assertEquals("Bar", serializer.deserialize(outputStream3.getUnacked(0)));
     }
+
+    /**
+     * While a sealed segment is being handled, writes to other segments should proceed and writes to the range of the
+     * sealed segment should land on the successor after the resent events.
+     */
+    @Test(timeout = 10000)
+    public void testSealDoesNotBlockOtherSegments() {
+        String scope = "scope";
+        String streamName = "stream";
+        StreamImpl stream = new StreamImpl(scope, streamName);
+        Segment segment1 = new Segment(scope, streamName, 0);
+        Segment segment2 = new Segment(scope, streamName, 1);
+        Segment segment3 = new Segment(scope, streamName, 2);
+        EventWriterConfig config = EventWriterConfig.builder().build();
+
+        SegmentOutputStreamFactory streamFactory = Mockito.mock(SegmentOutputStreamFactory.class);
+        Controller controller = Mockito.mock(Controller.class);
+        FakeSegmentOutputStream outputStream1 = new FakeSegmentOutputStream(segment1);
+        FakeSegmentOutputStream outputStream2 = new FakeSegmentOutputStream(segment2);
+        FakeSegmentOutputStream outputStream3 = new FakeSegmentOutputStream(segment3);
+        NavigableMap<Double, SegmentWithRange> segments = new TreeMap<>();
+        segments.put(0.5, new SegmentWithRange(segment1, 0.0, 0.5));
+        segments.put(1.0, new SegmentWithRange(segment2, 0.5, 1.0));
+        StreamSegments streamSegments = new StreamSegments(segments);
+        Mockito.when(controller.getCurrentSegments(scope, streamName))
+               .thenReturn(CompletableFuture.completedFuture(streamSegments));
+        CompletableFuture<StreamSegmentsWithPredecessors> successors = new CompletableFuture<>();
+        ReusableLatch fetchingSuccessors = new ReusableLatch();
+        Mockito.when(controller.getSuccessors(segment1)).thenAnswer(i -> {
+            fetchingSuccessors.release();
+            return successors;
+        });
+        Mockito.when(streamFactory.createOutputStreamForSegment(eq(segment1), any(), any(), any())).thenAnswer(i -> {
+            outputStream1.callBackForSealed = i.getArgument(1);
+            return outputStream1;
+        });
+        Mockito.when(streamFactory.createOutputStreamForSegment(eq(segment2), any(), any(), any())).thenReturn(outputStream2);
+        Mockito.when(streamFactory.createOutputStreamForSegment(eq(segment3), any(), any(), any())).thenReturn(outputStream3);
+        String key1 = null;
+        String key2 = null;
+        for (int i = 0; key1 == null || key2 == null; i++) {
+            String key = "key" + i;
+            if (streamSegments.getSegmentForKey(key).equals(segment1)) {
+                key1 = key;
+            } else {
+                key2 = key;
+            }
+        }
+        JavaSerializer<String> serializer = new JavaSerializer<>();
+        // The sealed segment is handled on its own thread so that the test can write while it is in progress.
+        ScheduledExecutorService retransmitPool = ExecutorServiceHelpers.newScheduledThreadPool(1, "retransmit");
+        @Cleanup
+        EventStreamWriter<String> writer = new EventStreamWriterImpl<>(stream, "id", controller, streamFactory, serializer,
+                config, retransmitPool, executorService());
+        writer.writeEvent(key1, "Foo");
+        outputStream1.sealed = true;
+        outputStream1.invokeSealedCallBack();
+        Exceptions.handleInterrupted(() -> fetchingSuccessors.await());
+
+        // The successors of segment1 are not known yet, but segment2 is not affected.
+        writer.writeEvent(key2, "Bar");
+        assertEquals(1, outputStream2.unacked.size());
+
+        Map<SegmentWithRange, List<Long>> replacement = new HashMap<>();
+        replacement.put(new SegmentWithRange(segment3, 0.0, 0.5), Collections.singletonList(segment1.getSegmentId()));
+        successors.complete(new StreamSegmentsWithPredecessors(replacement, ""));
+        writer.writeEvent(key1, "Baz");
+        writer.flush();
+
+        List<String> written = outputStream3.acked.stream()
+                                                  .filter(event -> event.getData().readableBytes() > 0)
+                                                  .map(event -> serializer.deserialize(event.getData().slice()
+                                                          .skipBytes(WireCommands.TYPE_PLUS_LENGTH_SIZE).nioBuffer()))
+                                                  .collect(Collectors.toList());
+        assertEquals(Arrays.asList("Foo", "Baz"), written);
+        assertEquals(1, outputStream2.acked.size());
+    }
     
     @Test
     public void testNoteTime() {
@@ -0,0 +1,91 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.client.stream.impl;
+
+import io.pravega.client.stream.EventStreamWriter;
+import io.pravega.test.common.IntentionalException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+
+public class EventWriteSubscriberTest {
+
+    @Test(timeout = 10000)
+    @SuppressWarnings("unchecked")
+    public void testDemandFollowsAcks() {
+        EventStreamWriter<String> writer = Mockito.mock(EventStreamWriter.class);
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        Mockito.when(writer.writeEvent(anyString(), anyString())).thenAnswer(invocation -> {
+            CompletableFuture<Void> ack = new CompletableFuture<>();
+            acks.add(ack);
+            return ack;
+        });
+        List<Long> requested = new ArrayList<>();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        EventWriteSubscriber<String> subscriber = new EventWriteSubscriber<>(writer, event -> "key-" + event, 2);
+
+        subscriber.onSubscribe(requested::add, () -> cancelled.set(true));
+        assertEquals(1, requested.size());
+        assertEquals(2L, (long) requested.get(0));
+        subscriber.onNext("a");
+        subscriber.onNext("b");
+        Mockito.verify(writer).writeEvent("key-a", "a");
+        Mockito.verify(writer).writeEvent("key-b", "b");
+
+        // More is only requested as writes are acknowledged.
+        assertEquals(1, requested.size());
+        acks.get(0).complete(null);
+        assertEquals(2, requested.size());
+        assertEquals(1L, (long) requested.get(1));
+
+        // Completion waits for the outstanding write.
+        subscriber.onComplete();
+        assertFalse(subscriber.getCompletion().isDone());
+        acks.get(1).complete(null);
+        assertTrue(subscriber.getCompletion().isDone());
+        assertFalse(subscriber.getCompletion().isCompletedExceptionally());
+        assertFalse(cancelled.get());
+    }
+
+    @Test(timeout = 10000)
+    @SuppressWarnings("unchecked")
+    public void testWriteFailureCancels() {
+        EventStreamWriter<String> writer = Mockito.mock(EventStreamWriter.class);
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        Mockito.when(writer.writeEvent("a")).thenReturn(ack);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        EventWriteSubscriber<String> subscriber = new EventWriteSubscriber<>(writer, null, 10);
+        subscriber.onSubscribe(n -> { }, () -> cancelled.set(true));
+
+        subscriber.onNext("a");
+        ack.completeExceptionally(new IntentionalException());
+        assertTrue(cancelled.get());
+        assertTrue(subscriber.getCompletion().isCompletedExceptionally());
+
+        // Events arriving after the failure are dropped.
+        subscriber.onNext("b");
+        Mockito.verify(writer).writeEvent("a");
+        Mockito.verifyNoMoreInteractions(writer);
+    }
+}
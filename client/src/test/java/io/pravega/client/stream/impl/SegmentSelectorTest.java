@@ -65,6 +65,8 @@ public class SegmentSelectorTest {
     public void testUsesAllSegments() {
         Controller controller = Mockito.mock(Controller.class);
         SegmentOutputStreamFactory factory = Mockito.mock(SegmentOutputStreamFactory.class);
+        when(factory.createOutputStreamForSegment(any(), any(), any(), any()))
+                .thenAnswer(i -> Mockito.mock(SegmentOutputStream.class));
         SegmentSelector selector = new SegmentSelector(new StreamImpl(scope, streamName), controller, factory, config,
                 DelegationTokenProviderFactory.createWithEmptyToken());
         TreeMap<Double, SegmentWithRange> segments = new TreeMap<>();
@@ -97,6 +99,8 @@ public class SegmentSelectorTest {
     public void testNullRoutingKey() {
         Controller controller = Mockito.mock(Controller.class);
         SegmentOutputStreamFactory factory = Mockito.mock(SegmentOutputStreamFactory.class);
+        when(factory.createOutputStreamForSegment(any(), any(), any(), any()))
+                .thenAnswer(i -> Mockito.mock(SegmentOutputStream.class));
         SegmentSelector selector = new SegmentSelector(new StreamImpl(scope, streamName), controller, factory, config,
                 DelegationTokenProviderFactory.createWithEmptyToken());
         TreeMap<Double, SegmentWithRange> segments = new TreeMap<>();
@@ -125,6 +129,8 @@ public class SegmentSelectorTest {
     public void testSameRoutingKey() {
         Controller controller = Mockito.mock(Controller.class);
         SegmentOutputStreamFactory factory = Mockito.mock(SegmentOutputStreamFactory.class);
+        when(factory.createOutputStreamForSegment(any(), any(), any(), any()))
+                .thenAnswer(i -> Mockito.mock(SegmentOutputStream.class));
         SegmentSelector selector = new SegmentSelector(new StreamImpl(scope, streamName), controller, factory, config,
                 DelegationTokenProviderFactory.createWithEmptyToken());
         TreeMap<Double, SegmentWithRange> segments = new TreeMap<>();
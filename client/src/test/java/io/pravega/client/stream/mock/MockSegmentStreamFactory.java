@@ -27,10 +27,12 @@ import io.pravega.client.segment.impl.SegmentMetadataClientFactory;
 import io.pravega.client.segment.impl.SegmentOutputStream;
 import io.pravega.client.segment.impl.SegmentOutputStreamFactory;
 import io.pravega.client.stream.EventWriterConfig;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
 import lombok.val;
 
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
@@ -92,6 +94,13 @@ public class MockSegmentStreamFactory implements SegmentInputStreamFactory, Segm
         return segments.get(segment);
     }
 
+    @Override
+    public EventSegmentReader createEventReaderForSegment(Segment segment, int bufferSize, Semaphore hasData, long endOffset,
+                                                          byte[] eventPrefixFilter) {
+        // Events are not filtered here; the reader filters them itself.
+        return createEventReaderForSegment(segment, bufferSize, hasData, endOffset);
+    }
+
     @Override
     public SegmentInputStream createInputStreamForSegment(Segment segment, DelegationTokenProvider tokenProvider) {
         return getMockStream(segment);
@@ -102,6 +111,11 @@ public class MockSegmentStreamFactory implements SegmentInputStreamFactory, Segm
         return getMockStream(segment);
     }
 
+    @Override
+    public Map<Segment, CompletableFuture<SegmentRead>> readSegments(Map<Segment, Long> offsets, Map<Segment, Integer> lengths) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public SegmentMetadataClient createSegmentMetadataClient(Segment segment, DelegationTokenProvider tokenProvider) {
         return getMockStream(segment);
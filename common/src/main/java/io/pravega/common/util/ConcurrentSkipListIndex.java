@@ -0,0 +1,126 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.common.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * SortedIndex backed by a Skip List (java.util.concurrent.ConcurrentSkipListMap).
+ * <p>
+ * This class is thread-safe and none of its methods block. Lookups may be executed concurrently with modifications and
+ * will observe the Index either before or after each modification, which makes it suitable for read-mostly indices
+ * that need to be accessed without holding a lock. {@link #forEach} is weakly consistent: it does not throw
+ * {@link java.util.ConcurrentModificationException}s and may or may not reflect modifications made while it is executing.
+ *
+ * @param <V> The type of the IndexEntries.
+ */
+@ThreadSafe
+public class ConcurrentSkipListIndex<V extends SortedIndex.IndexEntry> implements SortedIndex<V> {
+    // region Members
+
+    private final ConcurrentSkipListMap<Long, V> map;
+    private final AtomicInteger size;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the ConcurrentSkipListIndex class.
+     */
+    public ConcurrentSkipListIndex() {
+        this.map = new ConcurrentSkipListMap<>(Long::compare);
+        this.size = new AtomicInteger();
+    }
+
+    //endregion
+
+    //region SortedIndex implementation
+
+    @Override
+    public void clear() {
+        // Remove items one by one so that the size remains accurate even if there are concurrent modifications.
+        while (this.map.pollFirstEntry() != null) {
+            this.size.decrementAndGet();
+        }
+    }
+
+    @Override
+    public V put(V item) {
+        V previous = this.map.put(item.key(), item);
+        if (previous == null) {
+            this.size.incrementAndGet();
+        }
+
+        return previous;
+    }
+
+    @Override
+    public V remove(long key) {
+        V removed = this.map.remove(key);
+        if (removed != null) {
+            this.size.decrementAndGet();
+        }
+
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        // ConcurrentSkipListMap.size() is an O(n) operation, so we keep track of it ourselves.
+        return this.size.get();
+    }
+
+    @Override
+    public V get(long key) {
+        return this.map.get(key);
+    }
+
+    @Override
+    public V getCeiling(long key) {
+        return getValue(this.map.ceilingEntry(key));
+    }
+
+    @Override
+    public V getFloor(long key) {
+        return getValue(this.map.floorEntry(key));
+    }
+
+    @Override
+    public V getFirst() {
+        return getValue(this.map.firstEntry());
+    }
+
+    @Override
+    public V getLast() {
+        return getValue(this.map.lastEntry());
+    }
+
+    @Override
+    public void forEach(Consumer<V> consumer) {
+        this.map.values().forEach(consumer);
+    }
+
+    private V getValue(Map.Entry<Long, V> e) {
+        return e == null ? null : e.getValue();
+    }
+
+    //endregion
+}
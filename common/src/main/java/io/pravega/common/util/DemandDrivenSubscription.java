@@ -0,0 +1,169 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.common.util;
+
+import io.pravega.common.Exceptions;
+import io.pravega.common.concurrent.Futures;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers items fetched asynchronously to a single consumer, fetching only once the consumer has requested more items
+ * than are buffered.
+ *
+ * This follows the Reactive Streams protocol (as in {@code java.util.concurrent.Flow}): {@link #request(long)} and
+ * {@link #cancel()} are the Subscription methods and the callbacks passed in to the constructor are the Subscriber
+ * methods. The callbacks are never invoked concurrently, onNext is never invoked more times than requested, and once
+ * onError or onComplete has been invoked no further callbacks are made. Since this code targets Java 8 it does not
+ * implement the Flow interfaces directly, but wrapping an instance in a {@code Flow.Subscription} is trivial.
+ *
+ * @param <T> Item type.
+ */
+@Slf4j
+public abstract class DemandDrivenSubscription<T> {
+    private final Consumer<? super T> onNext;
+    private final Consumer<Throwable> onError;
+    private final Runnable onComplete;
+    private final Queue<T> buffered = new ConcurrentLinkedQueue<>();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger pendingDrains = new AtomicInteger();
+    private volatile boolean fetching;
+    private volatile boolean exhausted;
+    private volatile Throwable failure;
+    private volatile boolean terminated;
+
+    /**
+     * Creates a new instance of the DemandDrivenSubscription class.
+     *
+     * @param onNext     Invoked for each item, at most as many times as has been requested.
+     * @param onError    Invoked once if fetching fails or an invalid request is made.
+     * @param onComplete Invoked once after the last item has been delivered.
+     */
+    protected DemandDrivenSubscription(@NonNull Consumer<? super T> onNext, @NonNull Consumer<Throwable> onError,
+                                       @NonNull Runnable onComplete) {
+        this.onNext = onNext;
+        this.onError = onError;
+        this.onComplete = onComplete;
+    }
+
+    /**
+     * Fetches more items. This is only invoked once the previously fetched items have been delivered, and never
+     * concurrently with itself.
+     *
+     * @param demand The number of items which have been requested but not yet delivered. This is a hint: any number of
+     *               items may be returned.
+     * @return A CompletableFuture that, when completed, will contain the fetched items (which may be empty), or null if
+     * there are no more items.
+     */
+    protected abstract CompletableFuture<? extends Collection<? extends T>> fetch(long demand);
+
+    /**
+     * Requests that n more items be delivered.
+     *
+     * @param n The number of items. If this is not positive the subscription is terminated with an
+     *          {@link IllegalArgumentException}.
+     */
+    public void request(long n) {
+        if (n <= 0) {
+            failure = new IllegalArgumentException("Requested a non-positive number of items: " + n);
+        } else {
+            demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+        }
+        drain();
+    }
+
+    /**
+     * Stops delivering items. Items already being fetched are discarded.
+     */
+    public void cancel() {
+        terminated = true;
+        drain();
+    }
+
+    /**
+     * Gets a value indicating whether this subscription has been cancelled, has failed or has completed.
+     *
+     * @return True if no more items will be delivered.
+     */
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    private void drain() {
+        if (pendingDrains.getAndIncrement() != 0) {
+            // Whoever is draining will go around again.
+            return;
+        }
+        do {
+            while (!terminated && failure == null && demand.get() > 0) {
+                T item = buffered.poll();
+                if (item == null) {
+                    break;
+                }
+                demand.decrementAndGet();
+                deliver(item);
+            }
+            if (terminated) {
+                buffered.clear();
+            } else if (failure != null) {
+                terminated = true;
+                buffered.clear();
+                onError.accept(failure);
+            } else if (buffered.isEmpty() && exhausted) {
+                terminated = true;
+                onComplete.run();
+            } else if (buffered.isEmpty() && demand.get() > 0 && !fetching) {
+                fetching = true;
+                CompletableFuture<? extends Collection<? extends T>> result;
+                try {
+                    result = fetch(demand.get());
+                } catch (Exception e) {
+                    result = Futures.failedFuture(e);
+                }
+                result.whenComplete(this::fetched);
+            }
+        } while (pendingDrains.decrementAndGet() != 0);
+    }
+
+    private void deliver(T item) {
+        try {
+            onNext.accept(item);
+        } catch (Exception e) {
+            // A subscriber is not supposed to throw; treat it as if it had cancelled.
+            log.warn("Cancelling subscription after onNext failed.", e);
+            terminated = true;
+        }
+    }
+
+    private void fetched(Collection<? extends T> items, Throwable ex) {
+        if (ex != null) {
+            failure = Exceptions.unwrap(ex);
+        } else if (items == null) {
+            exhausted = true;
+        } else {
+            buffered.addAll(items);
+        }
+        fetching = false;
+        drain();
+    }
+}
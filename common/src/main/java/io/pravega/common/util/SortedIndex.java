@@ -101,7 +101,8 @@ public interface SortedIndex<V extends SortedIndex.IndexEntry> {
      * Iterates through each item in the Index, in natural order, and calls the given consumer on all of them.
      *
      * @param consumer The consumer to invoke.
-     * @throws java.util.ConcurrentModificationException If the Index is modified while this method is executing.
+     * @throws java.util.ConcurrentModificationException If the Index is modified while this method is executing (and
+     *                                                    the implementation does not support concurrent modifications).
      */
     void forEach(Consumer<V> consumer);
 
@@ -0,0 +1,114 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.common.util;
+
+import io.pravega.test.common.IntentionalException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link DemandDrivenSubscription} class.
+ */
+public class DemandDrivenSubscriptionTests {
+
+    /**
+     * Tests that items are only fetched and delivered as requested, and that completion follows the last item.
+     */
+    @Test(timeout = 10000)
+    public void testDemand() {
+        val subscription = new TestSubscription();
+        Assert.assertTrue("Nothing should be fetched without demand.", subscription.fetches.isEmpty());
+
+        subscription.request(2);
+        Assert.assertEquals(Arrays.asList(2L), subscription.demands);
+        subscription.fetches.get(0).complete(Arrays.asList(1, 2, 3));
+        Assert.assertEquals(Arrays.asList(1, 2), subscription.received);
+        Assert.assertEquals("Buffered items should be delivered before fetching more.", 1, subscription.fetches.size());
+
+        subscription.request(3);
+        Assert.assertEquals(Arrays.asList(1, 2, 3), subscription.received);
+        Assert.assertEquals(Arrays.asList(2L, 2L), subscription.demands);
+        subscription.fetches.get(1).complete(Arrays.asList(4));
+        Assert.assertEquals(Arrays.asList(1, 2, 3, 4), subscription.received);
+        subscription.fetches.get(2).complete(null);
+        Assert.assertTrue(subscription.completed.get());
+        Assert.assertTrue(subscription.isTerminated());
+        Assert.assertNull(subscription.error.get());
+    }
+
+    /**
+     * Tests that nothing is delivered after cancel, nor after a failure.
+     */
+    @Test(timeout = 10000)
+    public void testCancelAndFailure() {
+        val cancelled = new TestSubscription();
+        cancelled.request(5);
+        cancelled.cancel();
+        cancelled.fetches.get(0).complete(Arrays.asList(1, 2));
+        Assert.assertTrue(cancelled.received.isEmpty());
+        Assert.assertFalse(cancelled.completed.get());
+        Assert.assertEquals(1, cancelled.fetches.size());
+
+        val failed = new TestSubscription();
+        failed.request(5);
+        failed.fetches.get(0).completeExceptionally(new IntentionalException());
+        Assert.assertTrue(failed.error.get() instanceof IntentionalException);
+        failed.request(5);
+        Assert.assertEquals(1, failed.fetches.size());
+
+        val invalid = new TestSubscription();
+        invalid.request(0);
+        Assert.assertTrue(invalid.error.get() instanceof IllegalArgumentException);
+        Assert.assertTrue(invalid.fetches.isEmpty());
+    }
+
+    private static class TestSubscription extends DemandDrivenSubscription<Integer> {
+        final List<CompletableFuture<Collection<Integer>>> fetches;
+        final List<Long> demands;
+        final List<Integer> received;
+        final AtomicReference<Throwable> error;
+        final AtomicBoolean completed;
+
+        TestSubscription() {
+            this(new ArrayList<>(), new AtomicReference<>(), new AtomicBoolean());
+        }
+
+        private TestSubscription(List<Integer> received, AtomicReference<Throwable> error, AtomicBoolean completed) {
+            super(received::add, error::set, () -> completed.set(true));
+            this.fetches = new ArrayList<>();
+            this.demands = new ArrayList<>();
+            this.received = received;
+            this.error = error;
+            this.completed = completed;
+        }
+
+        @Override
+        protected CompletableFuture<Collection<Integer>> fetch(long demand) {
+            demands.add(demand);
+            CompletableFuture<Collection<Integer>> result = new CompletableFuture<>();
+            fetches.add(result);
+            return result;
+        }
+    }
+}
@@ -60,6 +60,21 @@ abstract class SortedIndexTestBase {
         }
     }
 
+    /**
+     * Unit tests for the ConcurrentSkipListIndex class.
+     */
+    public static class ConcurrentSkipListIndexTests extends SortedIndexTestBase {
+        @Override
+        protected SortedIndex<TestEntry> createIndex() {
+            return new ConcurrentSkipListIndex<>();
+        }
+
+        @Override
+        protected boolean supportsConcurrentModifications() {
+            return true;
+        }
+    }
+
     //endregion
 
     //region Test Definitions
@@ -251,6 +266,14 @@ abstract class SortedIndexTestBase {
         // Order the inserted keys using the same comparator we used for the index.
         validKeys.sort(KEY_COMPARATOR);
 
+        if (supportsConcurrentModifications()) {
+            // Verify that modifying the index while looping through it does not throw an exception.
+            index.forEach(e -> index.remove(e.key()));
+            Assert.assertEquals("Expected all items to be removed during enumeration.", 0, index.size());
+            Assert.assertNull("Expected all items to be removed during enumeration.", index.getFirst());
+            return;
+        }
+
         // Verify that modifying the index while looping through it does throw an exception.
         AssertExtensions.assertThrows(
                 "forEach did not throw when a new item was added during enumeration.",
@@ -303,6 +326,10 @@ abstract class SortedIndexTestBase {
 
     abstract SortedIndex<TestEntry> createIndex();
 
+    protected boolean supportsConcurrentModifications() {
+        return false;
+    }
+
     private ArrayList<Long> populate(SortedIndex<TestEntry> index) {
         return populate(index, ITEM_COUNT, Integer.MAX_VALUE);
     }
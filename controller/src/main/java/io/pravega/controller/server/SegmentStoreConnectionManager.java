@@ -303,6 +303,11 @@ class SegmentStoreConnectionManager implements AutoCloseable {
             execute(ReplyProcessor::segmentRead, segmentRead);
         }
 
+        @Override
+        public void segmentsRead(WireCommands.SegmentsRead segmentsRead) {
+            execute(ReplyProcessor::segmentsRead, segmentsRead);
+        }
+
         @Override
         public void segmentAttributeUpdated(WireCommands.SegmentAttributeUpdated segmentAttributeUpdated) {
             execute(ReplyProcessor::segmentAttributeUpdated, segmentAttributeUpdated);
@@ -245,6 +245,11 @@ public class SegmentStoreConnectionManagerTest {
 
             }
 
+            @Override
+            public void segmentsRead(WireCommands.SegmentsRead segmentsRead) {
+
+            }
+
             @Override
             public void segmentAttributeUpdated(WireCommands.SegmentAttributeUpdated segmentAttributeUpdated) {
 
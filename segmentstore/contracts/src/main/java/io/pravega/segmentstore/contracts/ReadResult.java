@@ -91,6 +91,27 @@ public interface ReadResult extends Iterator<ReadResultEntry>, AutoCloseable {
      */
     void setCopyOnRead(boolean value);
 
+    /**
+     * Gets a value indicating whether "Pin-on-Read" is enabled for Cache retrievals. See {@link #setPinOnRead} for more
+     * details.
+     *
+     * @return True if pin-on-read is enabled for this {@link ReadResult}, false otherwise.
+     */
+    boolean isPinOnRead();
+
+    /**
+     * Sets a value indicating whether "Pin-on-Read" is to be enabled for any Cache entry retrievals
+     * ({@link ReadResultEntry#getType()} equals {@link ReadResultEntryType#Cache}). If true, then any data extracted
+     * from the Cache will not be copied; it will point directly to the Cache's memory, which will be pinned (and thus
+     * cannot be evicted or reused) until the caller invokes {@link io.pravega.common.util.BufferView#release()} on the
+     * entry's contents. This setting takes precedence over {@link #setCopyOnRead}. Use this option only if every Cache
+     * entry returned by this {@link ReadResult} is guaranteed to be released (i.e., when handing off the data to
+     * a network channel), as failing to do so will prevent the Cache from reclaiming that memory.
+     *
+     * @param value True if enabling pin-on-read for this {@link ReadResult}, false otherwise.
+     */
+    void setPinOnRead(boolean value);
+
     /**
      * Gets a value indicating the maximum number of bytes to read at once with every invocation of {@link #next()}.
      *
@@ -20,12 +20,15 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Iterators;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.pravega.auth.TokenException;
 import io.pravega.auth.TokenExpiredException;
 import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.Timer;
+import io.pravega.common.concurrent.Futures;
 import io.pravega.common.tracing.TagLogger;
 import io.pravega.common.util.BufferView;
 import io.pravega.segmentstore.contracts.AttributeId;
@@ -63,6 +66,7 @@ import io.pravega.segmentstore.server.tables.DeltaIteratorState;
 import io.pravega.shared.protocol.netty.ByteBufWrapper;
 import io.pravega.shared.protocol.netty.FailingRequestProcessor;
 import io.pravega.shared.protocol.netty.RequestProcessor;
+import io.pravega.shared.protocol.netty.WireCommandType;
 import io.pravega.shared.protocol.netty.WireCommands;
 import io.pravega.shared.protocol.netty.WireCommands.AuthTokenCheckFailed;
 import io.pravega.shared.protocol.netty.WireCommands.CreateSegment;
@@ -75,6 +79,7 @@ import io.pravega.shared.protocol.netty.WireCommands.MergeSegments;
 import io.pravega.shared.protocol.netty.WireCommands.NoSuchSegment;
 import io.pravega.shared.protocol.netty.WireCommands.OperationUnsupported;
 import io.pravega.shared.protocol.netty.WireCommands.ReadSegment;
+import io.pravega.shared.protocol.netty.WireCommands.ReadSegments;
 import io.pravega.shared.protocol.netty.WireCommands.SealSegment;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentAlreadyExists;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentAttribute;
@@ -85,6 +90,7 @@ import io.pravega.shared.protocol.netty.WireCommands.SegmentIsSealed;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentIsTruncated;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentPolicyUpdated;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentsRead;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentSealed;
 import io.pravega.shared.protocol.netty.WireCommands.SegmentTruncated;
 import io.pravega.shared.protocol.netty.WireCommands.StreamSegmentInfo;
@@ -102,7 +108,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -207,17 +215,193 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
         }
 
         final int readSize = min(MAX_READ_SIZE, max(TYPE_PLUS_LENGTH_SIZE, readSegment.getSuggestedLength()));
+        if (readSegment.getEventPrefix().isReadable()) {
+            readFilteredSegment(readSegment, readSize, timer);
+            return;
+        }
+
         long trace = LoggerHelpers.traceEnter(log, operation, readSegment);
         segmentStore.read(segment, readSegment.getOffset(), readSize, TIMEOUT)
                     .thenAccept(readResult -> {
                         LoggerHelpers.traceLeave(log, operation, trace, readResult);
-                        handleReadResult(readSegment, readResult);
+                        // Cached data is sent directly from the cache's memory; it is released once written to the channel.
+                        readResult.setPinOnRead(true);
+                        SegmentRead reply = handleReadResult(readSegment, readResult);
+                        if (reply != null) {
+                            connection.send(reply);
+                        }
                         this.statsRecorder.readComplete(timer.getElapsed());
                     })
                     .exceptionally(ex -> handleException(readSegment.getRequestId(), segment, readSegment.getOffset(), operation,
                                                          wrapCancellationException(ex)));
     }
 
+    @Override
+    public void readSegments(ReadSegments readSegments) {
+        Timer timer = new Timer();
+        final String operation = "readSegments";
+        long trace = LoggerHelpers.traceEnter(log, operation, readSegments);
+        val reads = new ArrayList<CompletableFuture<SegmentRead>>(readSegments.getReads().size());
+        for (ReadSegment readSegment : readSegments.getReads()) {
+            final String segment = readSegment.getSegment();
+            if (!verifyToken(segment, readSegment.getRequestId(), readSegment.getDelegationToken(), operation)) {
+                continue;
+            }
+
+            // All reads are issued at once; the ones which can be answered right away are batched into a single reply,
+            // while the others are answered individually (using their own request ids) whenever their data is available.
+            // Event prefixes only apply to reads sent on their own, so they are not looked at here.
+            final int readSize = min(MAX_READ_SIZE, max(TYPE_PLUS_LENGTH_SIZE, readSegment.getSuggestedLength()));
+            reads.add(segmentStore.read(segment, readSegment.getOffset(), readSize, TIMEOUT)
+                    .thenApply(readResult -> {
+                        readResult.setPinOnRead(true);
+                        return handleReadResult(readSegment, readResult);
+                    })
+                    .exceptionally(ex -> {
+                        // Failed reads are answered individually; they must not prevent the other reads from being answered
+                        // (and their pinned data from being released).
+                        try {
+                            handleException(readSegment.getRequestId(), segment, readSegment.getOffset(), operation,
+                                            wrapCancellationException(ex));
+                        } catch (Exception e) {
+                            log.debug(readSegment.getRequestId(), "Unable to reply to read from segment '{}'.", segment, e);
+                        }
+                        return null;
+                    }));
+        }
+
+        Futures.allOfWithResults(reads)
+                .thenAccept(results -> {
+                    LoggerHelpers.traceLeave(log, operation, trace, readSegments.getRequestId());
+                    val completedReads = results.stream().filter(Objects::nonNull).collect(toList());
+                    connection.send(new SegmentsRead(readSegments.getRequestId(), completedReads));
+                    this.statsRecorder.readComplete(timer.getElapsed());
+                })
+                .exceptionally(ex -> handleException(readSegments.getRequestId(), null, operation, wrapCancellationException(ex)));
+    }
+
+    /**
+     * Handles a {@link ReadSegment} which carries an event prefix (see {@link ReadSegment#getEventPrefix}). Only whole
+     * events are returned, so if the first event at the requested offset is not entirely available yet, its data is
+     * requested and the read is retried once it has arrived.
+     */
+    private void readFilteredSegment(ReadSegment request, int readSize, Timer timer) {
+        final String segment = request.getSegment();
+        final String operation = "readSegment";
+        long trace = LoggerHelpers.traceEnter(log, operation, request);
+        segmentStore.read(segment, request.getOffset(), readSize, TIMEOUT)
+                    .thenAccept(readResult -> {
+                        LoggerHelpers.traceLeave(log, operation, trace, readResult);
+                        // Only parts of the data may be sent back, so it is copied rather than pinned (see ReadResult#setPinOnRead).
+                        ArrayList<BufferView> cachedEntries = new ArrayList<>();
+                        ReadResultEntry nonCachedEntry = collectCachedEntries(request.getOffset(), readResult, cachedEntries);
+                        boolean endOfSegment = nonCachedEntry != null && nonCachedEntry.getType() == EndOfStreamSegment;
+                        boolean atTail = nonCachedEntry != null && nonCachedEntry.getType() == Future;
+                        BufferView data = BufferView.wrap(cachedEntries);
+                        List<SegmentRead> runs = filterEvents(request, data, atTail, endOfSegment);
+                        if (!runs.isEmpty()) {
+                            connection.send(new SegmentsRead(request.getRequestId(), runs));
+                            this.statsRecorder.read(segment, runs.stream().mapToInt(r -> r.getData().readableBytes()).sum());
+                            this.statsRecorder.readComplete(timer.getElapsed());
+                        } else if (nonCachedEntry != null && nonCachedEntry.getType() == Truncated) {
+                            sendSegmentIsTruncated(request, nonCachedEntry);
+                        } else {
+                            // Not even one whole event is available. Wait for (or fetch) more data, then try again.
+                            int requiredLength = max(readSize, getFirstEventLength(data));
+                            if (nonCachedEntry == null) {
+                                readFilteredSegment(request, requiredLength, timer);
+                            } else {
+                                nonCachedEntry.requestContent(TIMEOUT);
+                                nonCachedEntry.getContent()
+                                        .thenAccept(contents -> readFilteredSegment(request, requiredLength, timer))
+                                        .exceptionally(e -> handleReadContentFailure(request, nonCachedEntry, e));
+                            }
+                        }
+                    })
+                    .exceptionally(ex -> handleException(request.getRequestId(), segment, request.getOffset(), operation,
+                                                         wrapCancellationException(ex)));
+    }
+
+    /**
+     * Splits the given data into runs of whole events whose payload starts with the requested event prefix. The first
+     * run always starts at the requested offset (it may be empty) and each following run starts right after a range of
+     * skipped events; if the data ends with skipped events, an empty run marks the offset after them. Data which is not
+     * made up of events (or a partial event at the end of a sealed segment) is returned as it is.
+     *
+     * @return The runs to reply with, or an empty list if the data does not begin with a whole event.
+     */
+    private List<SegmentRead> filterEvents(ReadSegment request, BufferView data, boolean atTail, boolean endOfSegment) {
+        ByteBuf eventPrefix = request.getEventPrefix();
+        byte[] prefix = new byte[eventPrefix.readableBytes()];
+        eventPrefix.getBytes(eventPrefix.readerIndex(), prefix);
+
+        List<int[]> runs = new ArrayList<>();
+        int[] currentRun = new int[2];
+        runs.add(currentRun);
+        int position = 0;
+        boolean includeRemainder = endOfSegment;
+        BufferView.Reader reader = data.getBufferViewReader();
+        while (reader.available() >= TYPE_PLUS_LENGTH_SIZE) {
+            int type = reader.readInt();
+            int length = reader.readInt();
+            if (type != WireCommandType.EVENT.getCode() || length < 0) {
+                includeRemainder = true;
+                break;
+            } else if (reader.available() < length) {
+                break;
+            }
+
+            int eventStart = position;
+            BufferView event = reader.readSlice(length);
+            position += TYPE_PLUS_LENGTH_SIZE + length;
+            if (event.getLength() >= prefix.length && Arrays.equals(event.slice(0, prefix.length).getCopy(), prefix)) {
+                if (currentRun[1] != eventStart) {
+                    currentRun = new int[]{eventStart, eventStart};
+                    runs.add(currentRun);
+                }
+                currentRun[1] = position;
+            }
+        }
+
+        if (includeRemainder && position < data.getLength()) {
+            if (currentRun[1] != position) {
+                currentRun = new int[]{position, position};
+                runs.add(currentRun);
+            }
+            position = data.getLength();
+            currentRun[1] = position;
+        }
+        if (position == 0 && !endOfSegment) {
+            return Collections.emptyList();
+        }
+        if (currentRun[1] != position) {
+            runs.add(new int[]{position, position});
+        }
+
+        boolean reachedEnd = position == data.getLength();
+        List<SegmentRead> result = new ArrayList<>(runs.size());
+        for (int i = 0; i < runs.size(); i++) {
+            int[] run = runs.get(i);
+            boolean last = i == runs.size() - 1;
+            result.add(new SegmentRead(request.getSegment(), request.getOffset() + run[0], last && atTail && reachedEnd,
+                    last && endOfSegment && reachedEnd, toByteBuf(data.slice(run[0], run[1] - run[0])), request.getRequestId()));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the length (including its header) of the event at the beginning of the given data, or the length of the header
+     * if that is not entirely available.
+     */
+    private int getFirstEventLength(BufferView data) {
+        if (data.getLength() < TYPE_PLUS_LENGTH_SIZE) {
+            return TYPE_PLUS_LENGTH_SIZE;
+        }
+        BufferView.Reader reader = data.getBufferViewReader();
+        reader.readInt();
+        return TYPE_PLUS_LENGTH_SIZE + reader.readInt();
+    }
+
     private boolean verifyToken(String segment, long requestId, String delegationToken, String operation) {
         boolean isTokenValid = false;
         try {
@@ -231,12 +415,15 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
 
     /**
      * Handles a readResult.
-     * If there are cached entries that can be returned without blocking only these are returned.
-     * Otherwise the call will request the data and setup a callback to return the data when it is available.
+     * If there are cached entries that can be returned without blocking only these are returned, as a {@link SegmentRead}
+     * that the caller is responsible for sending.
+     * Otherwise the call will request the data and setup a callback to send the data when it is available.
      * If no data is available but it was detected that the Segment had been truncated beyond the current offset,
      * an appropriate message is sent back over the connection.
+     *
+     * @return The {@link SegmentRead} to reply with right away, or null if the reply will be sent asynchronously.
      */
-    private void handleReadResult(ReadSegment request, ReadResult result) {
+    private SegmentRead handleReadResult(ReadSegment request, ReadResult result) {
         String segment = request.getSegment();
         ArrayList<BufferView> cachedEntries = new ArrayList<>();
         ReadResultEntry nonCachedEntry = collectCachedEntries(request.getOffset(), result, cachedEntries);
@@ -248,51 +435,63 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
 
         if (!cachedEntries.isEmpty() || endOfSegment) {
             // We managed to collect some data. Send it.
-            ByteBuf data = toByteBuf(cachedEntries);
-            SegmentRead reply = new SegmentRead(segment, request.getOffset(), atTail, endOfSegment, data, request.getRequestId());
-            connection.send(reply);
-            this.statsRecorder.read(segment, reply.getData().readableBytes());
+            ByteBuf data = toReleasingByteBuf(cachedEntries);
+            this.statsRecorder.read(segment, data.readableBytes());
+            return new SegmentRead(segment, request.getOffset(), atTail, endOfSegment, data, request.getRequestId());
         } else if (truncated) {
             // We didn't collect any data, instead we determined that the current read offset was truncated.
-            // Determine the current Start Offset and send that back.
-            segmentStore.getStreamSegmentInfo(segment, TIMEOUT)
-                    .thenAccept(info ->
-                            connection.send(new SegmentIsTruncated(request.getRequestId(), segment,
-                                                                   info.getStartOffset(), EMPTY_STACK_TRACE, nonCachedEntry.getStreamSegmentOffset())))
-                    .exceptionally(e -> handleException(request.getRequestId(), segment, nonCachedEntry.getStreamSegmentOffset(), operation,
-                                                        wrapCancellationException(e)));
+            sendSegmentIsTruncated(request, nonCachedEntry);
         } else {
             Preconditions.checkState(nonCachedEntry != null, "No ReadResultEntries returned from read!?");
             nonCachedEntry.requestContent(TIMEOUT);
             nonCachedEntry.getContent()
                     .thenAccept(contents -> {
-                        ByteBuf data = toByteBuf(Collections.singletonList(contents));
-                        SegmentRead reply = new SegmentRead(segment, nonCachedEntry.getStreamSegmentOffset(),
+                        ByteBuf data = toReleasingByteBuf(Collections.singletonList(contents));
+                        int dataLength = data.readableBytes();
+                        connection.send(new SegmentRead(segment, nonCachedEntry.getStreamSegmentOffset(),
                                 atTail, endOfSegment,
-                                data, request.getRequestId());
-                        connection.send(reply);
-                        this.statsRecorder.read(segment, reply.getData().readableBytes());
-                    })
-                    .exceptionally(exception -> {
-                        Throwable e = Exceptions.unwrap(exception);
-                        if (e instanceof StreamSegmentTruncatedException) {
-                            // The Segment may have been truncated in Storage after we got this entry but before we managed
-                            // to make a read. In that case, send the appropriate error back.
-                            final String clientReplyStackTrace = replyWithStackTraceOnError ? e.getMessage() : EMPTY_STACK_TRACE;
-                            connection.send(new SegmentIsTruncated(request.getRequestId(),
-                                                                   segment,
-                                                                   ((StreamSegmentTruncatedException) e).getStartOffset(),
-                                                                   clientReplyStackTrace,
-                                                                   nonCachedEntry.getStreamSegmentOffset()));
-                        } else {
-                            handleException(request.getRequestId(), segment, nonCachedEntry.getStreamSegmentOffset(), operation,
-                                            wrapCancellationException(e));
-                        }
-                        return null;
+                                data, request.getRequestId()));
+                        this.statsRecorder.read(segment, dataLength);
                     })
+                    .exceptionally(exception -> handleReadContentFailure(request, nonCachedEntry, exception))
                     .exceptionally(e -> handleException(request.getRequestId(), segment, nonCachedEntry.getStreamSegmentOffset(), operation,
                                                         wrapCancellationException(e)));
         }
+        return null;
+    }
+
+    /**
+     * Determines the current Start Offset of the requested Segment and sends it back in a {@link SegmentIsTruncated}.
+     */
+    private void sendSegmentIsTruncated(ReadSegment request, ReadResultEntry truncatedEntry) {
+        String segment = request.getSegment();
+        segmentStore.getStreamSegmentInfo(segment, TIMEOUT)
+                .thenAccept(info ->
+                        connection.send(new SegmentIsTruncated(request.getRequestId(), segment,
+                                                               info.getStartOffset(), EMPTY_STACK_TRACE, truncatedEntry.getStreamSegmentOffset())))
+                .exceptionally(e -> handleException(request.getRequestId(), segment, truncatedEntry.getStreamSegmentOffset(), "readSegment",
+                                                    wrapCancellationException(e)));
+    }
+
+    /**
+     * Handles a failure to retrieve the contents of a non-cached {@link ReadResultEntry}.
+     */
+    private Void handleReadContentFailure(ReadSegment request, ReadResultEntry entry, Throwable exception) {
+        Throwable e = Exceptions.unwrap(exception);
+        if (e instanceof StreamSegmentTruncatedException) {
+            // The Segment may have been truncated in Storage after we got this entry but before we managed
+            // to make a read. In that case, send the appropriate error back.
+            final String clientReplyStackTrace = replyWithStackTraceOnError ? e.getMessage() : EMPTY_STACK_TRACE;
+            connection.send(new SegmentIsTruncated(request.getRequestId(),
+                                                   request.getSegment(),
+                                                   ((StreamSegmentTruncatedException) e).getStartOffset(),
+                                                   clientReplyStackTrace,
+                                                   entry.getStreamSegmentOffset()));
+        } else {
+            handleException(request.getRequestId(), request.getSegment(), entry.getStreamSegmentOffset(), "readSegment",
+                            wrapCancellationException(e));
+        }
+        return null;
     }
 
     /**
@@ -331,12 +530,21 @@ public class PravegaRequestProcessor extends FailingRequestProcessor implements
     }
 
     /**
-     * Collect all the data from the given contents into a {@link ByteBuf}.
+     * Wraps all the data from the given contents into a {@link ByteBuf}, without copying it. The contents are released
+     * when the returned {@link ByteBuf} is (which happens after it has been written to the connection), so this may be
+     * used for pinned cache data (see {@link ReadResult#setPinOnRead}).
      */
-    private ByteBuf toByteBuf(List<BufferView> contents) {
+    private ByteBuf toReleasingByteBuf(List<BufferView> contents) {
         val iterators = Iterators.concat(Iterators.transform(contents.iterator(), BufferView::iterateBuffers));
-        val b = Iterators.transform(iterators, Unpooled::wrappedBuffer);
-        return Unpooled.wrappedUnmodifiableBuffer(Iterators.toArray(b, ByteBuf.class));
+        val components = Iterators.toArray(Iterators.transform(iterators, Unpooled::wrappedBuffer), ByteBuf.class);
+        ByteBuf result = new CompositeByteBuf(UnpooledByteBufAllocator.DEFAULT, false, Math.max(1, components.length), components) {
+            @Override
+            protected void deallocate() {
+                super.deallocate();
+                contents.forEach(BufferView::release);
+            }
+        };
+        return result.asReadOnly();
     }
 
     private ByteBuf toByteBuf(BufferView bufferView) {
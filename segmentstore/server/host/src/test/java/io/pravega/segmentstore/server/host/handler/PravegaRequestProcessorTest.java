@@ -53,15 +53,19 @@ import io.pravega.shared.NameUtils;
 import io.pravega.shared.metrics.MetricsConfig;
 import io.pravega.shared.metrics.MetricsProvider;
 import io.pravega.shared.protocol.netty.ByteBufWrapper;
+import io.pravega.shared.protocol.netty.WireCommandType;
 import io.pravega.shared.protocol.netty.WireCommand;
 import io.pravega.shared.protocol.netty.WireCommands;
 import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.InlineExecutor;
 import io.pravega.test.common.SerializedClassRunner;
 import io.pravega.test.common.TestUtils;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -221,6 +225,117 @@ public class PravegaRequestProcessorTest {
         verifyNoMoreInteractions(store);
     }
 
+    @Test(timeout = 20000)
+    public void testReadSegments() {
+        // Set up PravegaRequestProcessor instance to execute a multi-segment read request against.
+        String cachedSegment = "scope/stream/cached";
+        String futureSegment = "scope/stream/future";
+        String sealedSegment = "scope/stream/sealed";
+        String missingSegment = "scope/stream/missing";
+        byte[] data = new byte[]{1, 2, 3, 4, 6, 7, 8, 9};
+        int readLength = 1000;
+
+        StreamSegmentStore store = mock(StreamSegmentStore.class);
+        ServerConnection connection = mock(ServerConnection.class);
+        PravegaRequestProcessor processor = new PravegaRequestProcessor(store, mock(TableStore.class), connection);
+
+        TestReadResultEntry cachedEntry = new TestReadResultEntry(ReadResultEntryType.Cache, 0, readLength);
+        cachedEntry.complete(new ByteArraySegment(data));
+        TestReadResultEntry futureEntry = new TestReadResultEntry(ReadResultEntryType.Future, 10, readLength);
+        TestReadResultEntry sealedEntry = new TestReadResultEntry(ReadResultEntryType.EndOfStreamSegment, 20, readLength);
+        when(store.read(cachedSegment, 0, readLength, PravegaRequestProcessor.TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new TestReadResult(0, readLength, new ArrayList<>(Collections.singletonList(cachedEntry)))));
+        when(store.read(futureSegment, 10, readLength, PravegaRequestProcessor.TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new TestReadResult(10, readLength, new ArrayList<>(Collections.singletonList(futureEntry)))));
+        when(store.read(sealedSegment, 20, readLength, PravegaRequestProcessor.TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new TestReadResult(20, readLength, new ArrayList<>(Collections.singletonList(sealedEntry)))));
+        when(store.read(missingSegment, 30, readLength, PravegaRequestProcessor.TIMEOUT))
+                .thenReturn(Futures.failedFuture(new StreamSegmentNotExistsException(missingSegment)));
+
+        // Execute and verify that the reads which can be answered right away are sent together and the others on their own.
+        processor.readSegments(new WireCommands.ReadSegments(requestId, Arrays.asList(
+                new WireCommands.ReadSegment(cachedSegment, 0, readLength, "", requestId + 1),
+                new WireCommands.ReadSegment(futureSegment, 10, readLength, "", requestId + 2),
+                new WireCommands.ReadSegment(sealedSegment, 20, readLength, "", requestId + 3),
+                new WireCommands.ReadSegment(missingSegment, 30, readLength, "", requestId + 4))));
+        verify(connection).send(new WireCommands.NoSuchSegment(requestId + 4, missingSegment, "", 30));
+        verify(connection).send(new WireCommands.SegmentsRead(requestId, Arrays.asList(
+                new WireCommands.SegmentRead(cachedSegment, 0, false, false, Unpooled.wrappedBuffer(data), requestId + 1),
+                new WireCommands.SegmentRead(sealedSegment, 20, false, true, Unpooled.EMPTY_BUFFER, requestId + 3))));
+        verifyNoMoreInteractions(connection);
+
+        futureEntry.complete(new ByteArraySegment(data));
+        verify(connection).send(new WireCommands.SegmentRead(futureSegment, 10, true, false, Unpooled.wrappedBuffer(data), requestId + 2));
+        verifyNoMoreInteractions(connection);
+    }
+
+    @Test(timeout = 20000)
+    public void testReadSegmentWithEventPrefix() {
+        String streamSegmentName = "scope/stream/testReadSegmentWithEventPrefix";
+        int readLength = 1000;
+        ByteBuf prefix = Unpooled.wrappedBuffer(new byte[]{'a', 'b'});
+
+        StreamSegmentStore store = mock(StreamSegmentStore.class);
+        ServerConnection connection = mock(ServerConnection.class);
+        PravegaRequestProcessor processor = new PravegaRequestProcessor(store, mock(TableStore.class), connection);
+
+        // Only whole events are looked at; the partial one at the end is left for the next read.
+        byte[] data = serializeEvents("ab1", "xy2", "ab3", "ab4", "zz5", "ab6");
+        int eventLength = data.length / 6;
+        TestReadResultEntry cachedEntry = new TestReadResultEntry(ReadResultEntryType.Cache, 0, readLength);
+        cachedEntry.complete(new ByteArraySegment(data, 0, data.length - 1));
+        TestReadResultEntry futureEntry = new TestReadResultEntry(ReadResultEntryType.Future, data.length - 1, readLength);
+        when(store.read(streamSegmentName, 0, readLength, PravegaRequestProcessor.TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new TestReadResult(0, readLength, new ArrayList<>(Arrays.asList(cachedEntry, futureEntry)))));
+
+        processor.readSegment(new WireCommands.ReadSegment(streamSegmentName, 0, readLength, "", requestId, prefix));
+        verify(connection).send(new WireCommands.SegmentsRead(requestId, Arrays.asList(
+                new WireCommands.SegmentRead(streamSegmentName, 0, false, false,
+                                             Unpooled.wrappedBuffer(data, 0, eventLength), requestId),
+                new WireCommands.SegmentRead(streamSegmentName, 2 * eventLength, false, false,
+                                             Unpooled.wrappedBuffer(data, 2 * eventLength, 2 * eventLength), requestId),
+                new WireCommands.SegmentRead(streamSegmentName, 5 * eventLength, false, false, Unpooled.EMPTY_BUFFER, requestId))));
+        verifyNoMoreInteractions(connection);
+
+        // If the first event is not entirely available, the read is retried once more data has arrived.
+        long offset = 5 * eventLength;
+        TestReadResultEntry partialEntry = new TestReadResultEntry(ReadResultEntryType.Cache, offset, readLength);
+        partialEntry.complete(new ByteArraySegment(data, (int) offset, eventLength - 1));
+        TestReadResultEntry tailEntry = new TestReadResultEntry(ReadResultEntryType.Future, data.length - 1, readLength);
+        TestReadResultEntry completeEntry = new TestReadResultEntry(ReadResultEntryType.Cache, offset, readLength);
+        completeEntry.complete(new ByteArraySegment(data, (int) offset, eventLength));
+        TestReadResultEntry newTailEntry = new TestReadResultEntry(ReadResultEntryType.Future, data.length, readLength);
+        when(store.read(streamSegmentName, offset, readLength, PravegaRequestProcessor.TIMEOUT))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new TestReadResult(offset, readLength, new ArrayList<>(Arrays.asList(partialEntry, tailEntry)))))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new TestReadResult(offset, readLength, new ArrayList<>(Arrays.asList(completeEntry, newTailEntry)))));
+
+        processor.readSegment(new WireCommands.ReadSegment(streamSegmentName, offset, readLength, "", requestId, prefix));
+        verifyNoMoreInteractions(connection);
+        tailEntry.complete(new ByteArraySegment(data, data.length - 1, 1));
+        verify(connection).send(new WireCommands.SegmentsRead(requestId, Collections.singletonList(
+                new WireCommands.SegmentRead(streamSegmentName, offset, true, false,
+                                             Unpooled.wrappedBuffer(data, (int) offset, eventLength), requestId))));
+        verify(store, times(2)).read(streamSegmentName, offset, readLength, PravegaRequestProcessor.TIMEOUT);
+        verifyNoMoreInteractions(connection);
+    }
+
+    private static byte[] serializeEvents(String... payloads) {
+        ByteBuf result = Unpooled.buffer();
+        for (String payload : payloads) {
+            byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+            result.writeInt(WireCommandType.EVENT.getCode());
+            result.writeInt(bytes.length);
+            result.writeBytes(bytes);
+        }
+        return Arrays.copyOf(result.array(), result.writerIndex());
+    }
+
     @Test(timeout = 20000)
     public void testReadSegmentEmptySealed() {
         // Set up PravegaRequestProcessor instance to execute read segment request against
@@ -51,6 +51,13 @@ import lombok.extern.slf4j.Slf4j;
  * (in the clients) that is generated or updated gets assigned the current generation. As the CacheManager determines that
  * there are too many Cache Entries or that the maximum size has been exceeded, it will increment the oldest generation.
  * The CacheManager Clients can use this information to evict those Cache Entries that have a generation below the oldest generation number.
+ *
+ * If the {@link CachePolicy} uses {@link CachePolicy.EvictionPolicy#FREQUENCY_AWARE}, the CacheManager also holds a third
+ * reference number: the oldest protected generation, which applies to Cache Entries that have been accessed frequently
+ * (as estimated by a {@link FrequencySketch} shared by all Clients; see {@link #recordAccess} and {@link #isFrequent}).
+ * The oldest protected generation only advances past the maximum permissible age once every Cache Entry on probation is
+ * eligible for eviction (the oldest generation has caught up with the current generation), which makes the Cache
+ * resistant to large, one-time scans flushing out frequently accessed data.
  */
 @Slf4j
 @ThreadSafe
@@ -58,15 +65,30 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
     //region Members
     private static final int CACHE_FULL_RETRY_BASE_MILLIS = 50;
     private static final String TRACE_OBJECT_ID = "CacheManager";
+    /**
+     * Used to size the {@link FrequencySketch}: the expected number of Cache Entries is the maximum Cache size divided by this.
+     */
+    private static final int AVERAGE_ENTRY_SIZE_ESTIMATE = 64 * 1024;
+    /**
+     * The minimum estimated access frequency for a Cache Entry to be protected.
+     */
+    private static final int PROTECTION_MIN_FREQUENCY = 3;
+    /**
+     * The minimum estimated access frequency for a non-essential Cache Entry to be admitted while the Cache exceeds its
+     * eviction threshold.
+     */
+    private static final int ADMISSION_MIN_FREQUENCY = 2;
     @GuardedBy("lock")
     private final Collection<Client> clients;
     private final ScheduledExecutorService executorService;
     private final AtomicInteger currentGeneration;
     private final AtomicInteger oldestGeneration;
+    private final AtomicInteger oldestProtectedGeneration;
     private final AtomicBoolean essentialEntriesOnly;
     private final AtomicReference<CacheState> lastCacheState;
     private final AtomicBoolean running;
     private final CachePolicy policy;
+    private final FrequencySketch frequencySketch;
     private final AtomicBoolean closed;
     private final SegmentStoreMetrics.CacheManager metrics;
     @Getter
@@ -96,7 +118,6 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
      * @param cacheStorage    The CacheStorage to maintain.
      * @param executorService An executorService to use for scheduled tasks.
      */
-    @VisibleForTesting
     public CacheManager(CachePolicy policy, CacheStorage cacheStorage, ScheduledExecutorService executorService) {
         this.policy = Preconditions.checkNotNull(policy, "policy");
         this.executorService = Preconditions.checkNotNull(executorService, "executorService");
@@ -104,6 +125,10 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         this.cacheStorage.setCacheFullCallback(this::cacheFullCallback, CACHE_FULL_RETRY_BASE_MILLIS);
         this.clients = new HashSet<>();
         this.oldestGeneration = new AtomicInteger(0);
+        this.oldestProtectedGeneration = new AtomicInteger(0);
+        this.frequencySketch = this.policy.getEvictionPolicy() == CachePolicy.EvictionPolicy.FREQUENCY_AWARE
+                ? new FrequencySketch((int) Math.min(Integer.MAX_VALUE, Math.max(1, this.policy.getMaxSize() / AVERAGE_ENTRY_SIZE_ESTIMATE)))
+                : null;
         this.currentGeneration = new AtomicInteger(0);
         this.essentialEntriesOnly = new AtomicBoolean(false);
         this.running = new AtomicBoolean();
@@ -184,7 +209,8 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
             }
         }
 
-        client.updateGenerations(this.currentGeneration.get(), this.oldestGeneration.get(), this.essentialEntriesOnly.get());
+        client.updateGenerations(this.currentGeneration.get(), this.oldestGeneration.get(), this.oldestProtectedGeneration.get(),
+                this.essentialEntriesOnly.get());
         log.info("{} Registered {}.", TRACE_OBJECT_ID, client);
     }
 
@@ -209,6 +235,49 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
 
     //endregion
 
+    //region Access Tracking
+
+    /**
+     * Records an access to a Cache Entry. This has no effect unless the {@link CachePolicy} is
+     * {@link CachePolicy.EvictionPolicy#FREQUENCY_AWARE}.
+     *
+     * @param key A key that identifies the Cache Entry (or the data it would hold, if not yet in the Cache).
+     */
+    public void recordAccess(long key) {
+        if (this.frequencySketch != null) {
+            this.frequencySketch.increment(key);
+        }
+    }
+
+    /**
+     * Gets a value indicating whether the Cache Entry with the given key has been accessed frequently enough to be
+     * protected (see {@link Client#updateGenerations(int, int, int, boolean)}).
+     *
+     * @param key A key that identifies the Cache Entry.
+     * @return True if the Cache Entry should be protected, false otherwise. Always false unless the {@link CachePolicy}
+     * is {@link CachePolicy.EvictionPolicy#FREQUENCY_AWARE}.
+     */
+    public boolean isFrequent(long key) {
+        return this.frequencySketch != null && this.frequencySketch.frequency(key) >= PROTECTION_MIN_FREQUENCY;
+    }
+
+    /**
+     * Gets a value indicating whether a non-essential Cache Entry (i.e., one that can be recovered from Storage) with the
+     * given key should be inserted into the Cache. While the Cache exceeds its eviction threshold, only data that has
+     * been accessed before is admitted, which prevents one-time scans from polluting the Cache.
+     *
+     * @param key A key that identifies the Cache Entry.
+     * @return True if the Cache Entry should be admitted, false otherwise. Always true unless the {@link CachePolicy} is
+     * {@link CachePolicy.EvictionPolicy#FREQUENCY_AWARE}.
+     */
+    public boolean shouldAdmit(long key) {
+        return this.frequencySketch == null
+                || !exceedsEvictionThreshold()
+                || this.frequencySketch.frequency(key) >= ADMISSION_MIN_FREQUENCY;
+    }
+
+    //endregion
+
     //region Helpers
 
     /**
@@ -226,6 +295,16 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
         return this.currentGeneration.get();
     }
 
+    @VisibleForTesting
+    int getOldestGeneration() {
+        return this.oldestGeneration.get();
+    }
+
+    @VisibleForTesting
+    int getOldestProtectedGeneration() {
+        return this.oldestProtectedGeneration.get();
+    }
+
     private boolean cacheFullCallback() {
         log.info("{}: Cache full. Forcing cache policy.", TRACE_OBJECT_ID);
         return applyCachePolicy();
@@ -381,13 +460,14 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
     private boolean updateClients() {
         final int cg = this.currentGeneration.get();
         final int og = this.oldestGeneration.get();
+        final int opg = this.oldestProtectedGeneration.get();
         final boolean essentialEntriesOnly = this.essentialEntriesOnly.get();
         ArrayList<Client> toUnregister = new ArrayList<>();
         boolean reduced = false;
-        log.debug("{}: UpdateClients. Gen={}-{}, EssentialOnly={}.", TRACE_OBJECT_ID, cg, og, essentialEntriesOnly);
+        log.debug("{}: UpdateClients. Gen={}-{}({}), EssentialOnly={}.", TRACE_OBJECT_ID, cg, og, opg, essentialEntriesOnly);
         for (Client c : getClients()) {
             try {
-                reduced = c.updateGenerations(cg, og, essentialEntriesOnly) | reduced;
+                reduced = c.updateGenerations(cg, og, opg, essentialEntriesOnly) | reduced;
             } catch (ObjectClosedException ex) {
                 // This object was closed but it was not unregistered. Do it now.
                 log.warn("{} Detected closed client {}.", TRACE_OBJECT_ID, c);
@@ -438,6 +518,31 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
             this.oldestGeneration.set(newOldestGeneration);
         }
 
+        return adjustOldestProtectedGeneration(isAdjusted) | isAdjusted;
+    }
+
+    private boolean adjustOldestProtectedGeneration(boolean oldestAdjusted) {
+        int newOldestProtectedGeneration;
+        if (this.frequencySketch == null) {
+            // No distinction between protected and probation entries.
+            newOldestProtectedGeneration = this.oldestGeneration.get();
+        } else {
+            // Protected entries are always subject to the maximum permissible age. Beyond that, they may only be evicted
+            // if we still exceed the eviction threshold after every probation entry has become eligible for eviction (and
+            // the clients have been given a chance to evict them).
+            newOldestProtectedGeneration = Math.max(this.oldestProtectedGeneration.get(), getOldestPermissibleGeneration());
+            if (!oldestAdjusted && exceedsEvictionThreshold() && this.oldestGeneration.get() >= this.currentGeneration.get()) {
+                newOldestProtectedGeneration = Math.max(newOldestProtectedGeneration, this.oldestProtectedGeneration.get() + 1);
+            }
+
+            newOldestProtectedGeneration = Math.min(newOldestProtectedGeneration, this.oldestGeneration.get());
+        }
+
+        boolean isAdjusted = newOldestProtectedGeneration > this.oldestProtectedGeneration.get();
+        if (isAdjusted) {
+            this.oldestProtectedGeneration.set(newOldestProtectedGeneration);
+        }
+
         return isAdjusted;
     }
 
@@ -502,6 +607,25 @@ public class CacheManager extends AbstractScheduledService implements AutoClosea
          * @return If any cache data was trimmed with this update.
          */
         boolean updateGenerations(int currentGeneration, int oldestGeneration, boolean essentialOnly);
+
+        /**
+         * Called by the CacheManager to notify when there is a generation change (either current, oldest or oldest
+         * protected). Clients that distinguish between protected Cache Entries (those that have been accessed frequently;
+         * see {@link CacheManager#isFrequent}) and Cache Entries on probation should override this method. The default
+         * implementation treats all Cache Entries as being on probation.
+         *
+         * @param currentGeneration         The value of the current generation.
+         * @param oldestGeneration          The value of the oldest generation. This is the cutoff for which entries on
+         *                                  probation can still exist in the cache.
+         * @param oldestProtectedGeneration The value of the oldest protected generation. This is the cutoff for which
+         *                                  protected entries can still exist in the cache. This is always less than or
+         *                                  equal to oldestGeneration.
+         * @param essentialOnly             See {@link #updateGenerations(int, int, boolean)}.
+         * @return If any cache data was trimmed with this update.
+         */
+        default boolean updateGenerations(int currentGeneration, int oldestGeneration, int oldestProtectedGeneration, boolean essentialOnly) {
+            return updateGenerations(currentGeneration, oldestGeneration, essentialOnly);
+        }
     }
 
     //endregion
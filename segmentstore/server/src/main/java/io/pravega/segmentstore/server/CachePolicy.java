@@ -18,6 +18,7 @@ package io.pravega.segmentstore.server;
 import com.google.common.base.Preconditions;
 import java.time.Duration;
 import lombok.Getter;
+import lombok.NonNull;
 
 /**
  * Represents a Policy for a CacheManager.
@@ -75,6 +76,11 @@ public class CachePolicy {
      */
     @Getter
     private final Duration generationDuration;
+    /**
+     * The {@link EvictionPolicy} to use when deciding which Cache Entries to evict.
+     */
+    @Getter
+    private final EvictionPolicy evictionPolicy;
 
     //endregion
 
@@ -102,6 +108,21 @@ public class CachePolicy {
      * @param generationDuration The amount of time one Cache generation spans.
      */
     public CachePolicy(long maxSize, double targetUtilization, double maxUtilization, Duration maxTime, Duration generationDuration) {
+        this(maxSize, targetUtilization, maxUtilization, maxTime, generationDuration, EvictionPolicy.GENERATIONAL);
+    }
+
+    /**
+     * Creates a new instance of the CachePolicy class.
+     *
+     * @param maxSize            The maximum size of the cache.
+     * @param targetUtilization  The target cache utilization to set. See {@link #getTargetUtilization()} ()}.
+     * @param maxUtilization     The maximum cache utilization to set. See {@link #getMaxUtilization()}.
+     * @param maxTime            The maximum amount of time a cache entry can live in the cache.
+     * @param generationDuration The amount of time one Cache generation spans.
+     * @param evictionPolicy     The {@link EvictionPolicy} to use.
+     */
+    public CachePolicy(long maxSize, double targetUtilization, double maxUtilization, Duration maxTime, Duration generationDuration,
+                       @NonNull EvictionPolicy evictionPolicy) {
         Preconditions.checkArgument(maxSize > 0, "maxSize must be a positive integer");
         Preconditions.checkArgument(targetUtilization > 0 && targetUtilization <= 1.0,
                 "targetUtilization must be a number in the range (0.0, 1.0].");
@@ -114,13 +135,36 @@ public class CachePolicy {
         this.criticalThreshold = (long) Math.floor(this.maxSize * this.maxUtilization);
         this.generationDuration = generationDuration;
         this.maxGenerations = Math.max(1, (int) ((double) maxTime.toMillis() / generationDuration.toMillis()));
+        this.evictionPolicy = evictionPolicy;
     }
 
     //endregion
 
     @Override
     public String toString() {
-        return String.format("MaxSize = %d, UsableSize = %d, CriticalSize = %d, MaxGen = %d, Generation = %s",
-                this.maxSize, this.evictionThreshold, this.criticalThreshold, this.maxGenerations, this.generationDuration);
+        return String.format("MaxSize = %d, UsableSize = %d, CriticalSize = %d, MaxGen = %d, Generation = %s, Eviction = %s",
+                this.maxSize, this.evictionThreshold, this.criticalThreshold, this.maxGenerations, this.generationDuration,
+                this.evictionPolicy);
+    }
+
+    //region EvictionPolicy
+
+    /**
+     * Defines how the {@link CacheManager} selects Cache Entries for eviction.
+     */
+    public enum EvictionPolicy {
+        /**
+         * Purely age-based: all Cache Entries whose generation is older than the oldest generation are evicted.
+         */
+        GENERATIONAL,
+        /**
+         * Frequency-aware and scan-resistant (W-TinyLFU-style). Access frequencies are estimated using a
+         * {@link FrequencySketch}. Cache Entries start on probation and become protected once they are accessed
+         * frequently enough. Under memory pressure, probation entries are evicted before any protected entry, and new
+         * non-essential entries (i.e., from Storage reads) are only admitted if they have been accessed before.
+         */
+        FREQUENCY_AWARE
     }
+
+    //endregion
 }
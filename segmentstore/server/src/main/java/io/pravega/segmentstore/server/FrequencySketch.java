@@ -0,0 +1,166 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A probabilistic estimator of how often keys have been accessed recently (a TinyLFU frequency sketch).
+ *
+ * This is a Count-Min Sketch made up of 4-bit counters (saturating at {@link #MAX_FREQUENCY}), 16 of which are packed
+ * into each long. Every key maps to {@link #DEPTH} counters; its estimated frequency is the minimum of them. In order to
+ * favor recent activity, all counters are halved every time the number of recorded accesses reaches a sample size
+ * that is proportional to the size of the sketch ("aging").
+ *
+ * The memory footprint is 8 bytes for every 16 counters, and it does not depend on the number of distinct keys.
+ */
+@ThreadSafe
+public class FrequencySketch {
+    //region Members
+
+    /**
+     * The maximum frequency that can be estimated by this sketch.
+     */
+    public static final int MAX_FREQUENCY = 15;
+    private static final int DEPTH = 4;
+    private static final int COUNTERS_PER_LONG = 16;
+    private static final int MAX_TABLE_LENGTH = 1 << 24;
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final int sampleSize;
+    private final AtomicInteger size;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the FrequencySketch class.
+     *
+     * @param expectedKeyCount The number of distinct keys expected to be tracked at any given time (i.e., the number of
+     *                         Cache entries). This is used to size the sketch.
+     */
+    public FrequencySketch(int expectedKeyCount) {
+        Preconditions.checkArgument(expectedKeyCount > 0, "expectedKeyCount must be a positive number.");
+        // One long (16 counters) per expected key, rounded up to a power of two.
+        int tableLength = Math.min(MAX_TABLE_LENGTH, Math.max(COUNTERS_PER_LONG, expectedKeyCount));
+        tableLength = Integer.highestOneBit(tableLength - 1) << 1;
+        this.table = new AtomicLongArray(tableLength);
+        this.tableMask = tableLength - 1;
+        this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * expectedKeyCount);
+        this.size = new AtomicInteger();
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Records an access to the given key.
+     *
+     * @param key The key.
+     */
+    public void increment(long key) {
+        long hash = spread(key);
+        boolean incremented = false;
+        for (int i = 0; i < DEPTH; i++) {
+            incremented |= incrementCounter(indexOf(hash, i), counterOffset(hash, i));
+        }
+
+        if (incremented && this.size.incrementAndGet() >= this.sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Gets the estimated number of times the given key has been accessed recently.
+     *
+     * @param key The key.
+     * @return The estimated frequency, between 0 and {@link #MAX_FREQUENCY} (inclusive).
+     */
+    public int frequency(long key) {
+        long hash = spread(key);
+        int result = MAX_FREQUENCY;
+        for (int i = 0; i < DEPTH; i++) {
+            long value = this.table.get(indexOf(hash, i));
+            result = Math.min(result, (int) ((value >>> counterOffset(hash, i)) & 0xF));
+        }
+
+        return result;
+    }
+
+    private boolean incrementCounter(int index, int offset) {
+        long mask = 0xFL << offset;
+        while (true) {
+            long value = this.table.get(index);
+            if ((value & mask) == mask) {
+                // Saturated.
+                return false;
+            }
+
+            if (this.table.compareAndSet(index, value, value + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Halves every counter. Concurrent increments may be lost while this is executing, which is acceptable given that
+     * this is an estimator anyway.
+     */
+    private void reset() {
+        synchronized (this.table) {
+            if (this.size.get() < this.sampleSize) {
+                // Someone else already did it.
+                return;
+            }
+
+            for (int i = 0; i < this.table.length(); i++) {
+                this.table.set(i, (this.table.get(i) >>> 1) & RESET_MASK);
+            }
+
+            this.size.set(this.size.get() / 2);
+        }
+    }
+
+    private int indexOf(long hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return (int) h & this.tableMask;
+    }
+
+    private int counterOffset(long hash, int row) {
+        // Each row uses a different 4-bit counter within its long.
+        return (int) ((hash >>> (row << 3)) & 0xF) << 2;
+    }
+
+    private static long spread(long key) {
+        // MurmurHash3 finalizer.
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    //endregion
+}
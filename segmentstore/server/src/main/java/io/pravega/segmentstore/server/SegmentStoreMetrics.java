@@ -75,6 +75,12 @@ public final class SegmentStoreMetrics {
             DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CACHE_USED_SIZE_BYTES, snapshot.getUsedBytes());
             DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CACHE_ALLOC_SIZE_BYTES, snapshot.getAllocatedBytes());
             DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CACHE_GENERATION_SPREAD, generationSpread);
+            if (snapshot.getTiers().size() > 1) {
+                CacheState ssdTier = snapshot.getTiers().get(1);
+                DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CACHE_SSD_STORED_SIZE_BYTES, ssdTier.getStoredBytes());
+                DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CACHE_SSD_USED_SIZE_BYTES, ssdTier.getUsedBytes());
+                DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CACHE_SSD_ALLOC_SIZE_BYTES, ssdTier.getAllocatedBytes());
+            }
             cacheManagerIterationDuration.reportSuccessValue(iterationDuration);
         }
 
@@ -84,6 +90,9 @@ public final class SegmentStoreMetrics {
             DYNAMIC_LOGGER.freezeGaugeValue(MetricsNames.CACHE_USED_SIZE_BYTES);
             DYNAMIC_LOGGER.freezeGaugeValue(MetricsNames.CACHE_ALLOC_SIZE_BYTES);
             DYNAMIC_LOGGER.freezeGaugeValue(MetricsNames.CACHE_GENERATION_SPREAD);
+            DYNAMIC_LOGGER.freezeGaugeValue(MetricsNames.CACHE_SSD_STORED_SIZE_BYTES);
+            DYNAMIC_LOGGER.freezeGaugeValue(MetricsNames.CACHE_SSD_USED_SIZE_BYTES);
+            DYNAMIC_LOGGER.freezeGaugeValue(MetricsNames.CACHE_SSD_ALLOC_SIZE_BYTES);
             cacheManagerIterationDuration.close();
         }
     }
@@ -222,6 +231,9 @@ public final class SegmentStoreMetrics {
             for (String throttler : throttlers) {
                 DYNAMIC_LOGGER.freezeGaugeValue(MetricsNames.OPERATION_PROCESSOR_DELAY_MILLIS, throttlerTag(containerId, throttler));
             }
+            DYNAMIC_LOGGER.freezeGaugeValue(MetricsNames.OPERATION_PROCESSOR_FRAME_LENGTH, this.containerTag);
+            DYNAMIC_LOGGER.freezeGaugeValue(MetricsNames.OPERATION_PROCESSOR_BATCHING_DELAY, this.containerTag);
+            DYNAMIC_LOGGER.freezeGaugeValue(MetricsNames.OPERATION_PROCESSOR_WRITE_LATENCY_P99, this.containerTag);
         }
 
         public void currentState(int queueSize, int inFlightCount) {
@@ -238,6 +250,12 @@ public final class SegmentStoreMetrics {
             );
         }
 
+        public void adaptiveCommitState(int frameLength, int batchingDelayMillis, int latencyP99Millis) {
+            DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.OPERATION_PROCESSOR_FRAME_LENGTH, frameLength, this.containerTag);
+            DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.OPERATION_PROCESSOR_BATCHING_DELAY, batchingDelayMillis, this.containerTag);
+            DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.OPERATION_PROCESSOR_WRITE_LATENCY_P99, latencyP99Millis, this.containerTag);
+        }
+
         public void operationQueueWaitTime(long queueWaitTimeMillis) {
             this.operationQueueWaitTime.reportSuccessValue(queueWaitTimeMillis);
         }
@@ -489,6 +507,21 @@ public final class SegmentStoreMetrics {
         DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CONTAINER_RECOVERY_TIME, duration, containerTag(containerId));
     }
 
+    /**
+     * Reports the throughput of a container recovery.
+     *
+     * @param operationCount The number of operations recovered.
+     * @param byteCount      The number of bytes read from the DurableDataLog for these operations.
+     * @param duration       Time taken (in millis) to perform the recovery.
+     * @param containerId    Container id related to the recovery process.
+     */
+    public static void recoveryThroughput(long operationCount, long byteCount, long duration, int containerId) {
+        double seconds = Math.max(1, duration) / 1000.0;
+        String[] tags = containerTag(containerId);
+        DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CONTAINER_RECOVERY_OPERATIONS_PER_SEC, (long) (operationCount / seconds), tags);
+        DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.CONTAINER_RECOVERY_BYTES_PER_SEC, (long) (byteCount / seconds), tags);
+    }
+
     //endregion
 
     //region ContainerEventProcessor
@@ -81,6 +81,7 @@ import io.pravega.segmentstore.storage.StorageFactory;
 import io.pravega.segmentstore.storage.chunklayer.ChunkedSegmentStorage;
 import io.pravega.segmentstore.storage.chunklayer.SnapshotInfo;
 import io.pravega.segmentstore.storage.chunklayer.SnapshotInfoStore;
+import io.pravega.segmentstore.storage.chunklayer.TableBasedGarbageQueueStore;
 import io.pravega.segmentstore.storage.metadata.TableBasedMetadataStore;
 import io.pravega.shared.NameUtils;
 import java.time.Duration;
@@ -228,8 +229,12 @@ class StreamSegmentContainer extends AbstractService implements SegmentContainer
         if (this.storage instanceof ChunkedSegmentStorage) {
             ChunkedSegmentStorage chunkedStorage = (ChunkedSegmentStorage) this.storage;
             val snapshotInfoStore = getStorageSnapshotInfoStore();
+            val garbageQueueStore = new TableBasedGarbageQueueStore(
+                    NameUtils.getStorageGarbageQueueSegmentName(this.metadata.getContainerId()),
+                    getExtension(ContainerTableExtension.class),
+                    this.executor);
             // Bootstrap
-            return chunkedStorage.bootstrap(snapshotInfoStore);
+            return chunkedStorage.bootstrap(snapshotInfoStore, garbageQueueStore);
         }
         return CompletableFuture.completedFuture(null);
     }
@@ -0,0 +1,194 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.logs;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.pravega.segmentstore.server.SegmentStoreMetrics;
+import io.pravega.segmentstore.storage.QueueStats;
+import io.pravega.segmentstore.storage.WriteSettings;
+import java.util.Arrays;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.NonNull;
+
+/**
+ * Dynamically sizes DataFrames and the batching (flush) delay used by the {@link OperationProcessor} based on the observed
+ * DurableDataLog append latency, with the goal of keeping the p99 append latency at or below a configured target while
+ * making as large writes as possible.
+ *
+ * The controller works in a similar fashion to AIMD (Additive Increase, Multiplicative Decrease) congestion controllers:
+ * - Every {@link #ADJUSTMENT_INTERVAL} recorded writes, the p99 latency is calculated over the last {@link #SAMPLE_WINDOW_SIZE}
+ * writes.
+ * - If the p99 latency exceeds the target, both the maximum DataFrame length and the batching delay are halved (smaller
+ * writes complete faster and we stop holding back operations).
+ * - Otherwise, the maximum DataFrame length is increased by a fixed step (up to {@link WriteSettings#getMaxWriteLength()})
+ * and the batching delay is increased by 1ms, but never above the remaining headroom (target minus p99 latency).
+ * - No batching delay is introduced if the DurableDataLog has no writes in flight (there is nothing to amortize our write
+ * against, so it is better to write immediately).
+ */
+@ThreadSafe
+class AdaptiveCommitController {
+    //region Members
+
+    /**
+     * The number of most recent write latencies to calculate the p99 latency over.
+     */
+    @VisibleForTesting
+    static final int SAMPLE_WINDOW_SIZE = 256;
+    /**
+     * The number of writes to record between consecutive adjustments.
+     */
+    @VisibleForTesting
+    static final int ADJUSTMENT_INTERVAL = 32;
+    /**
+     * The minimum length of a DataFrame. The actual minimum is capped by {@link WriteSettings#getMaxWriteLength()}.
+     */
+    @VisibleForTesting
+    static final int MIN_FRAME_LENGTH = 32 * 1024;
+    /**
+     * The number of steps it takes to grow the DataFrame length from minimum to maximum.
+     */
+    private static final int FRAME_LENGTH_STEP_COUNT = 16;
+    private final int targetLatencyMillis;
+    private final int minFrameLength;
+    private final int maxFrameLength;
+    private final int frameLengthStep;
+    private final SegmentStoreMetrics.OperationProcessor metrics;
+    @GuardedBy("this")
+    private final long[] samples;
+    @GuardedBy("this")
+    private int sampleCount;
+    @GuardedBy("this")
+    private int nextSampleIndex;
+    @GuardedBy("this")
+    private int samplesSinceAdjustment;
+    private volatile int frameLength;
+    private volatile int batchingDelayMillis;
+    private volatile int latencyP99Millis;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the {@link AdaptiveCommitController} class.
+     *
+     * @param writeSettings       The {@link WriteSettings} of the DurableDataLog that is being written to.
+     * @param targetLatencyMillis The target p99 latency for DurableDataLog appends, in milliseconds.
+     * @param metrics             The {@link SegmentStoreMetrics.OperationProcessor} to report the state of this controller to.
+     */
+    AdaptiveCommitController(@NonNull WriteSettings writeSettings, int targetLatencyMillis, @NonNull SegmentStoreMetrics.OperationProcessor metrics) {
+        Preconditions.checkArgument(targetLatencyMillis > 0, "targetLatencyMillis must be a positive number.");
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.maxFrameLength = writeSettings.getMaxWriteLength();
+        this.minFrameLength = Math.min(MIN_FRAME_LENGTH, this.maxFrameLength);
+        this.frameLengthStep = Math.max(1, (this.maxFrameLength - this.minFrameLength) / FRAME_LENGTH_STEP_COUNT);
+        this.metrics = metrics;
+        this.samples = new long[SAMPLE_WINDOW_SIZE];
+        this.frameLength = this.maxFrameLength;
+        this.batchingDelayMillis = 0;
+        this.latencyP99Millis = 0;
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Gets the maximum length of the next DataFrame to be created.
+     *
+     * @return The maximum DataFrame length, in bytes.
+     */
+    int getMaxFrameLength() {
+        return this.frameLength;
+    }
+
+    /**
+     * Gets the amount of time to wait before processing more operations in order to aggregate them into larger writes.
+     *
+     * @param queueStats The most recent {@link QueueStats} of the DurableDataLog.
+     * @return The delay, in milliseconds.
+     */
+    int getBatchingDelayMillis(QueueStats queueStats) {
+        return queueStats.getSize() == 0 ? 0 : this.batchingDelayMillis;
+    }
+
+    /**
+     * Gets the p99 DurableDataLog append latency, as calculated at the last adjustment.
+     *
+     * @return The latency, in milliseconds.
+     */
+    @VisibleForTesting
+    int getLatencyP99Millis() {
+        return this.latencyP99Millis;
+    }
+
+    /**
+     * Records the latency of a completed DurableDataLog append and adjusts the DataFrame length and batching delay,
+     * if needed.
+     *
+     * @param elapsedMillis The amount of time the append took, in milliseconds.
+     */
+    void recordWriteLatency(long elapsedMillis) {
+        synchronized (this) {
+            this.samples[this.nextSampleIndex] = elapsedMillis;
+            this.nextSampleIndex = (this.nextSampleIndex + 1) % this.samples.length;
+            this.sampleCount = Math.min(this.sampleCount + 1, this.samples.length);
+            this.samplesSinceAdjustment++;
+            if (this.samplesSinceAdjustment < ADJUSTMENT_INTERVAL) {
+                return;
+            }
+
+            this.samplesSinceAdjustment = 0;
+            adjust(calculateP99());
+        }
+
+        this.metrics.adaptiveCommitState(this.frameLength, this.batchingDelayMillis, this.latencyP99Millis);
+    }
+
+    @GuardedBy("this")
+    private int calculateP99() {
+        int count = this.sampleCount;
+        long[] sorted = Arrays.copyOf(this.samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(count * 0.99) - 1;
+        return (int) Math.min(Integer.MAX_VALUE, sorted[Math.max(0, index)]);
+    }
+
+    @GuardedBy("this")
+    private void adjust(int p99) {
+        this.latencyP99Millis = p99;
+        if (p99 > this.targetLatencyMillis) {
+            // Above target: back off quickly.
+            this.frameLength = Math.max(this.minFrameLength, this.frameLength / 2);
+            this.batchingDelayMillis = this.batchingDelayMillis / 2;
+        } else {
+            // Below target: probe for more throughput, but do not let the batching delay consume more than the headroom.
+            this.frameLength = Math.min(this.maxFrameLength, this.frameLength + this.frameLengthStep);
+            int maxDelay = Math.min(ThrottlerCalculator.MAX_BATCHING_DELAY_MILLIS, this.targetLatencyMillis - p99);
+            this.batchingDelayMillis = Math.min(maxDelay, this.batchingDelayMillis + 1);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FrameLength = %d, BatchingDelay = %dms, P99 = %dms, Target = %dms",
+                this.frameLength, this.batchingDelayMillis, this.latencyP99Millis, this.targetLatencyMillis);
+    }
+
+    //endregion
+}
@@ -20,15 +20,22 @@ import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.io.BoundedInputStream;
 import io.pravega.common.io.SerializationException;
+import io.pravega.common.io.StreamHelpers;
 import io.pravega.common.util.BitConverter;
 import io.pravega.common.util.BufferView;
 import io.pravega.common.util.CloseableIterator;
 import io.pravega.common.util.CompositeArrayView;
 import io.pravega.common.util.CompositeByteArraySegment;
 import io.pravega.segmentstore.storage.LogAddress;
+import java.io.ByteArrayInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 import javax.annotation.concurrent.NotThreadSafe;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +45,11 @@ import lombok.SneakyThrows;
 /**
  * Helps serialize entries into fixed-size batches. Allows writing multiple records per frame, as well as splitting a record
  * across multiple frames.
+ * <p>
+ * Once sealed, the contents of a frame may optionally be compressed (see {@link #compress}). Compressed frames are
+ * identified via a flag in the Frame Header, so a log may contain any mix of compressed and uncompressed frames. They are
+ * also written with a newer Frame Header version than uncompressed frames, so readers that predate compression must
+ * not be used on a log that contains any compressed frames.
  */
 @NotThreadSafe
 public class DataFrame {
@@ -46,7 +58,17 @@ public class DataFrame {
     static final int MIN_ENTRY_LENGTH_NEEDED = EntryHeader.HEADER_SIZE + 1;
     private static final CompositeByteArraySegment.BufferLayout BUFFER_LAYOUT = new CompositeByteArraySegment.BufferLayout(17); // 128KB
     private static final byte CURRENT_VERSION = 0;
-    private final CompositeArrayView data;
+    /**
+     * The Frame Header version for compressed frames. Uncompressed frames keep using {@link #CURRENT_VERSION} so that
+     * logs written with compression disabled remain readable by older versions.
+     */
+    private static final byte COMPRESSED_VERSION = 1;
+    /**
+     * The maximum ratio between the compressed and uncompressed content lengths for a compressed frame to be kept. If
+     * the frame compresses worse than this, the savings do not justify the decompression cost and it is written as-is.
+     */
+    private static final double MAX_COMPRESSION_RATIO = 0.9;
+    private CompositeArrayView data;
     private WriteFrameHeader header;
     private CompositeArrayView contents;
 
@@ -136,6 +158,13 @@ public class DataFrame {
         return this.sealed;
     }
 
+    /**
+     * Gets a value indicating whether the DataFrame's contents are compressed.
+     */
+    boolean isCompressed() {
+        return this.header.isCompressed();
+    }
+
     //endregion
 
     //region Writing
@@ -321,6 +350,81 @@ public class DataFrame {
         }
     }
 
+    /**
+     * Attempts to compress the contents of this DataFrame. If successful, {@link #getData()} and {@link #getLength()}
+     * will reflect the compressed form of the frame.
+     *
+     * The frame will be left untouched if its contents are shorter than minContentLength or if they do not compress
+     * well enough (the compressed form would exceed {@link #MAX_COMPRESSION_RATIO} of the original). In the latter case
+     * compression is abandoned as soon as the output exceeds this limit, so incompressible frames are cheap to reject.
+     *
+     * @param minContentLength The minimum length of the frame's contents for compression to be attempted.
+     * @return True if the frame was compressed, false otherwise.
+     * @throws IllegalStateException If the frame is not sealed or is already compressed.
+     */
+    boolean compress(int minContentLength) {
+        Preconditions.checkState(this.sealed, "DataFrame must be sealed before it can be compressed.");
+        Preconditions.checkState(!this.header.isCompressed(), "DataFrame is already compressed.");
+        int contentLength = this.header.getContentLength();
+        if (contentLength < Math.max(1, minContentLength)) {
+            return false;
+        }
+
+        // Compressed frame layout: Header | Uncompressed Length (int) | Compressed Contents.
+        int compressedOffset = FrameHeader.SERIALIZATION_LENGTH + Integer.BYTES;
+        int maxCompressedLength = (int) (contentLength * MAX_COMPRESSION_RATIO);
+        byte[] target = new byte[compressedOffset + maxCompressedLength];
+        int compressedLength = deflate(this.contents.slice(0, contentLength), target, compressedOffset, maxCompressedLength);
+        if (compressedLength < 0) {
+            // Not worth it.
+            return false;
+        }
+
+        this.data = new CompositeByteArraySegment(target).slice(0, compressedOffset + compressedLength);
+        this.header = new WriteFrameHeader(COMPRESSED_VERSION, this.data.slice(0, FrameHeader.SERIALIZATION_LENGTH));
+        this.contents = this.data.slice(FrameHeader.SERIALIZATION_LENGTH, this.data.getLength() - FrameHeader.SERIALIZATION_LENGTH);
+        this.contents.setInt(0, contentLength);
+        this.writePosition = this.contents.getLength();
+        this.header.setContentLength(this.contents.getLength());
+        this.header.setCompressed(true);
+        this.header.commit();
+        return true;
+    }
+
+    /**
+     * Deflates the given source into the given target array.
+     *
+     * @return The number of bytes written to target, or -1 if the compressed form of source does not fit in maxLength.
+     */
+    private static int deflate(BufferView source, byte[] target, int targetOffset, int maxLength) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            int length = 0;
+            Iterator<ByteBuffer> buffers = source.iterateBuffers();
+            while (buffers.hasNext()) {
+                deflater.setInput(buffers.next());
+                while (!deflater.needsInput()) {
+                    length += deflater.deflate(target, targetOffset + length, maxLength - length);
+                    if (length >= maxLength) {
+                        return -1;
+                    }
+                }
+            }
+
+            deflater.finish();
+            while (!deflater.finished()) {
+                length += deflater.deflate(target, targetOffset + length, maxLength - length);
+                if (length >= maxLength && !deflater.finished()) {
+                    return -1;
+                }
+            }
+
+            return length;
+        } finally {
+            deflater.end();
+        }
+    }
+
     /**
      * Calculates the number of bytes available in the frame for writing.
      */
@@ -348,6 +452,22 @@ public class DataFrame {
      * @throws IOException If unable to parse the DataFrame's header from the InputStream.
      */
     public static DataFrameEntryIterator read(InputStream source, int length, LogAddress address) throws IOException {
+        return read(source, length, address, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Interprets the given InputStream as a DataFrame and returns a DataFrameEntryIterator for the entries serialized
+     * in it.
+     *
+     * @param source         The InputStream to read from.
+     * @param length         The size of the inputStream.
+     * @param address        The DataFrame's address.
+     * @param maxFrameLength The maximum length of a DataFrame, before compression. A compressed DataFrame that claims to
+     *                       be longer than this is considered corrupt.
+     * @return A new DataFrameEntryIterator.
+     * @throws IOException If unable to parse the DataFrame's header from the InputStream.
+     */
+    public static DataFrameEntryIterator read(InputStream source, int length, LogAddress address, int maxFrameLength) throws IOException {
         // Check to see that we have enough bytes in the InputStream.
         ReadFrameHeader header = new ReadFrameHeader(source);
         if (length < ReadFrameHeader.SERIALIZATION_LENGTH + header.getContentLength()) {
@@ -355,10 +475,42 @@ public class DataFrame {
                     ReadFrameHeader.SERIALIZATION_LENGTH + header.getContentLength(), length));
         }
 
-        BoundedInputStream contents = new BoundedInputStream(source, header.getContentLength());
+        BoundedInputStream contents = header.isCompressed()
+                ? readCompressedContents(source, header.getContentLength(), maxFrameLength - ReadFrameHeader.SERIALIZATION_LENGTH)
+                : new BoundedInputStream(source, header.getContentLength());
         return new DataFrameEntryIterator(contents, address, ReadFrameHeader.SERIALIZATION_LENGTH);
     }
 
+    private static BoundedInputStream readCompressedContents(InputStream source, int contentLength, int maxUncompressedLength) throws IOException {
+        if (contentLength < Integer.BYTES) {
+            throw new SerializationException(String.format("Compressed Data Frame is corrupt. Content Length %d is too short.", contentLength));
+        }
+
+        int uncompressedLength = BitConverter.readInt(source);
+        if (uncompressedLength <= 0 || uncompressedLength > maxUncompressedLength) {
+            throw new SerializationException(String.format("Compressed Data Frame is corrupt. Uncompressed Length %d is not in the interval (0, %d].",
+                    uncompressedLength, maxUncompressedLength));
+        }
+
+        byte[] compressed = StreamHelpers.readAll(source, contentLength - Integer.BYTES);
+        byte[] result = new byte[uncompressedLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int length = inflater.inflate(result);
+            if (length != uncompressedLength || !inflater.finished()) {
+                throw new SerializationException(String.format("Compressed Data Frame is corrupt. Expected %d uncompressed bytes, found %d.",
+                        uncompressedLength, length));
+            }
+        } catch (DataFormatException ex) {
+            throw new SerializationException("Compressed Data Frame is corrupt. " + ex.getMessage());
+        } finally {
+            inflater.end();
+        }
+
+        return new BoundedInputStream(new ByteArrayInputStream(result), uncompressedLength);
+    }
+
     //endregion
 
     //region EntryHeader
@@ -439,6 +591,7 @@ public class DataFrame {
      */
     private static abstract class FrameHeader {
         static final int SERIALIZATION_LENGTH = Byte.BYTES + Integer.BYTES + Byte.BYTES;
+        static final byte COMPRESSED_MASK = 1;
         /**
          * The serialization Version for the frame.
          */
@@ -453,18 +606,33 @@ public class DataFrame {
         @Setter
         private int contentLength;
 
+        /**
+         * Whether the Frame's payload is compressed. If so, the payload begins with the uncompressed length (int),
+         * followed by the compressed contents.
+         */
+        @Getter
+        @Setter
+        private boolean compressed;
+
         byte encodeFlags() {
-            // Placeholder method. Nothing to do yet.
-            return 0;
+            return isCompressed() ? COMPRESSED_MASK : 0;
         }
 
-        void decodeFlags(byte flags, byte version) {
-            // Placeholder method. Nothing to do yet.
+        void decodeFlags(byte flags, byte version) throws SerializationException {
+            if (version > COMPRESSED_VERSION) {
+                throw new SerializationException(String.format("Unsupported Data Frame version %d. Highest supported version is %d.",
+                        version, COMPRESSED_VERSION));
+            }
+
+            setCompressed((flags & COMPRESSED_MASK) == COMPRESSED_MASK);
+            if (isCompressed() && version < COMPRESSED_VERSION) {
+                throw new SerializationException(String.format("Data Frame is corrupt. Compressed flag set on a version %d Data Frame.", version));
+            }
         }
 
         @Override
         public String toString() {
-            return String.format("Version = %d, ContentLength = %d", getVersion(), getContentLength());
+            return String.format("Version = %d, ContentLength = %d, Compressed = %s", getVersion(), getContentLength(), isCompressed());
         }
     }
 
@@ -18,6 +18,7 @@ package io.pravega.segmentstore.server.logs;
 import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.ObjectClosedException;
+import io.pravega.common.Timer;
 import io.pravega.segmentstore.contracts.SequencedElement;
 import io.pravega.segmentstore.server.logs.operations.CompletableOperation;
 import io.pravega.segmentstore.storage.DurableDataLog;
@@ -50,6 +51,7 @@ class DataFrameBuilder<T extends SequencedElement> implements AutoCloseable {
     private final DurableDataLog targetLog;
     private final Serializer<T> serializer;
     private final Args args;
+    private final AdaptiveCommitController commitController;
     private final AtomicBoolean closed;
     private long lastSerializedSequenceNumber;
     private long lastStartedSequenceNumber;
@@ -69,12 +71,54 @@ class DataFrameBuilder<T extends SequencedElement> implements AutoCloseable {
      * @throws NullPointerException If any of the arguments are null.
      */
     DataFrameBuilder(DurableDataLog targetLog, Serializer<T> serializer, Args args) {
+        this(targetLog, serializer, args, null);
+    }
+
+    /**
+     * Creates a new instance of the DataFrameBuilder class.
+     *
+     * @param targetLog        A Function that, given a DataFrame, commits that DataFrame to a DurableDataLog and returns
+     *                         a Future that indicates when the operation completes or errors out.
+     * @param serializer       Log Item Serializer to use.
+     * @param args             Arguments for the Builder.
+     * @param commitController (Optional) An {@link AdaptiveCommitController} that determines the size of each DataFrame
+     *                         and which will be notified of the latency of each DataFrame write. If null, every
+     *                         DataFrame will be sized to the DurableDataLog's maximum write length.
+     * @throws NullPointerException If any of the required arguments are null.
+     */
+    DataFrameBuilder(DurableDataLog targetLog, Serializer<T> serializer, Args args, AdaptiveCommitController commitController) {
+        this(targetLog, serializer, args, commitController, DataFrameOutputStream.NO_COMPRESSION);
+    }
+
+    /**
+     * Creates a new instance of the DataFrameBuilder class.
+     *
+     * @param targetLog            A Function that, given a DataFrame, commits that DataFrame to a DurableDataLog and returns
+     *                             a Future that indicates when the operation completes or errors out.
+     * @param serializer           Log Item Serializer to use.
+     * @param args                 Arguments for the Builder.
+     * @param commitController     (Optional) An {@link AdaptiveCommitController} that determines the size of each DataFrame
+     *                             and which will be notified of the latency of each DataFrame write. If null, every
+     *                             DataFrame will be sized to the DurableDataLog's maximum write length.
+     * @param compressionThreshold The minimum length of a DataFrame's contents for it to be compressed before being
+     *                             written to the DurableDataLog, or {@link DataFrameOutputStream#NO_COMPRESSION} to
+     *                             disable compression.
+     * @throws NullPointerException If any of the required arguments are null.
+     */
+    DataFrameBuilder(DurableDataLog targetLog, Serializer<T> serializer, Args args, AdaptiveCommitController commitController,
+                     int compressionThreshold) {
         this.targetLog = Preconditions.checkNotNull(targetLog, "targetLog");
         this.serializer = Preconditions.checkNotNull(serializer, "serializer");
         this.args = Preconditions.checkNotNull(args, "args");
         Preconditions.checkNotNull(args.commitSuccess, "args.commitSuccess");
         Preconditions.checkNotNull(args.commitFailure, "args.commitFailure");
-        this.outputStream = new DataFrameOutputStream(targetLog.getWriteSettings().getMaxWriteLength(), this::handleDataFrameComplete);
+        this.commitController = commitController;
+        if (commitController == null) {
+            int maxWriteLength = targetLog.getWriteSettings().getMaxWriteLength();
+            this.outputStream = new DataFrameOutputStream(() -> maxWriteLength, compressionThreshold, this::handleDataFrameComplete);
+        } else {
+            this.outputStream = new DataFrameOutputStream(commitController::getMaxFrameLength, compressionThreshold, this::handleDataFrameComplete);
+        }
         this.lastSerializedSequenceNumber = -1;
         this.lastStartedSequenceNumber = -1;
         this.failureCause = new AtomicReference<>();
@@ -188,8 +232,12 @@ class DataFrameBuilder<T extends SequencedElement> implements AutoCloseable {
 
         try {
             this.args.beforeCommit.accept(commitArgs);
+            Timer timer = new Timer();
             this.targetLog.append(dataFrame.getData(), this.args.writeTimeout)
                     .thenAcceptAsync(logAddress -> {
+                        if (this.commitController != null) {
+                            this.commitController.recordWriteLatency(timer.getElapsedMillis());
+                        }
                         commitArgs.setLogAddress(logAddress);
                         this.args.commitSuccess.accept(commitArgs);
                     }, this.args.executor)
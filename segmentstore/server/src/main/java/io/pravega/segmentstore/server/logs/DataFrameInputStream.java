@@ -15,6 +15,7 @@
  */
 package io.pravega.segmentstore.server.logs;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import io.pravega.common.Exceptions;
 import io.pravega.common.io.SerializationException;
@@ -22,6 +23,7 @@ import io.pravega.common.util.CloseableIterator;
 import io.pravega.segmentstore.storage.DurableDataLog;
 import io.pravega.segmentstore.storage.DurableDataLogException;
 import io.pravega.segmentstore.storage.LogAddress;
+import io.pravega.segmentstore.storage.WriteSettings;
 import java.io.IOException;
 import java.io.InputStream;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -40,6 +42,7 @@ public class DataFrameInputStream extends InputStream {
 
     private final String traceObjectId;
     private final CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> reader;
+    private final int maxFrameLength;
     private DataFrame.DataFrameEntryIterator currentFrameContents;
     private DataFrame.DataFrameEntry currentEntry;
     private long lastReadFrameSequence;
@@ -76,8 +79,21 @@ public class DataFrameInputStream extends InputStream {
      * @param reader        An Iterator that produces DurableDataLog.ReadItems, which are then interpreted as DataFrames.
      * @param traceObjectId Used for logging.
      */
+    @VisibleForTesting
     DataFrameInputStream(CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> reader, String traceObjectId) {
+        this(reader, Integer.MAX_VALUE, traceObjectId);
+    }
+
+    /**
+     * Creates a new instance of the DataFrameInputStream class.
+     *
+     * @param reader         An Iterator that produces DurableDataLog.ReadItems, which are then interpreted as DataFrames.
+     * @param maxFrameLength The maximum length of a DataFrame (see {@link WriteSettings#getMaxWriteLength()}).
+     * @param traceObjectId  Used for logging.
+     */
+    DataFrameInputStream(CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> reader, int maxFrameLength, String traceObjectId) {
         this.reader = Preconditions.checkNotNull(reader, "reader");
+        this.maxFrameLength = maxFrameLength;
         this.traceObjectId = Exceptions.checkNotNullOrEmpty(traceObjectId, "traceObjectId");
         this.lastReadFrameSequence = -1;
         this.currentRecordBuilder = DataFrameRecord.RecordInfo.builder();
@@ -321,7 +337,7 @@ public class DataFrameInputStream extends InputStream {
 
         DataFrame.DataFrameEntryIterator frameContents;
         try {
-            frameContents = DataFrame.read(nextItem.getPayload(), nextItem.getLength(), nextItem.getAddress());
+            frameContents = DataFrame.read(nextItem.getPayload(), nextItem.getLength(), nextItem.getAddress(), this.maxFrameLength);
         } catch (SerializationException ex) {
             throw new SerializationException(String.format("Unable to deserialize DataFrame. LastReadFrameSequence =  %d.",
                     this.lastReadFrameSequence), ex);
@@ -24,6 +24,7 @@ import io.pravega.common.util.ByteArraySegment;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import javax.annotation.concurrent.NotThreadSafe;
 import lombok.Getter;
 
@@ -37,12 +38,17 @@ import lombok.Getter;
 class DataFrameOutputStream extends OutputStream implements DirectDataOutput {
     //region Members
 
+    /**
+     * Value for the compression threshold which indicates that Data Frames should not be compressed.
+     */
+    static final int NO_COMPRESSION = -1;
     private final Consumer<DataFrame> dataFrameCompleteCallback;
     private DataFrame currentFrame;
     private boolean hasDataInCurrentFrame;
     @Getter
     private boolean closed;
-    private final int maxDataFrameSize;
+    private final IntSupplier maxDataFrameSize;
+    private final int compressionThreshold;
 
     //endregion
 
@@ -57,13 +63,47 @@ class DataFrameOutputStream extends OutputStream implements DirectDataOutput {
      * @throws NullPointerException     If any of the arguments are null.
      */
     DataFrameOutputStream(int maxDataFrameSize, Consumer<DataFrame> dataFrameCompleteCallback) {
-        Exceptions.checkArgument(maxDataFrameSize > DataFrame.MIN_ENTRY_LENGTH_NEEDED, "maxDataFrameSize",
-                "Must be a at least %s.", DataFrame.MIN_ENTRY_LENGTH_NEEDED);
+        this(() -> maxDataFrameSize, dataFrameCompleteCallback);
+    }
+
+    /**
+     * Creates a new instance of the DataFrameOutputStream class with a variable Data Frame size.
+     *
+     * @param maxDataFrameSize          A Supplier that, when invoked, returns the maximum size, in bytes, of the next
+     *                                  Data Frame to be created.
+     * @param dataFrameCompleteCallback A callback that will be invoked when a Data Frame is full.
+     * @throws IllegalArgumentException If maxDataFrameSize does not return a positive integer.
+     * @throws NullPointerException     If any of the arguments are null.
+     */
+    DataFrameOutputStream(IntSupplier maxDataFrameSize, Consumer<DataFrame> dataFrameCompleteCallback) {
+        this(maxDataFrameSize, NO_COMPRESSION, dataFrameCompleteCallback);
+    }
 
-        this.maxDataFrameSize = maxDataFrameSize;
+    /**
+     * Creates a new instance of the DataFrameOutputStream class with a variable Data Frame size and optional compression.
+     *
+     * @param maxDataFrameSize          A Supplier that, when invoked, returns the maximum size, in bytes, of the next
+     *                                  Data Frame to be created.
+     * @param compressionThreshold      The minimum length of a Data Frame's contents for it to be compressed before being
+     *                                  passed to dataFrameCompleteCallback, or {@link #NO_COMPRESSION} to disable
+     *                                  compression. See {@link DataFrame#compress}.
+     * @param dataFrameCompleteCallback A callback that will be invoked when a Data Frame is full.
+     * @throws IllegalArgumentException If maxDataFrameSize does not return a positive integer.
+     * @throws NullPointerException     If any of the arguments are null.
+     */
+    DataFrameOutputStream(IntSupplier maxDataFrameSize, int compressionThreshold, Consumer<DataFrame> dataFrameCompleteCallback) {
+        this.maxDataFrameSize = Preconditions.checkNotNull(maxDataFrameSize, "maxDataFrameSize");
+        checkMaxDataFrameSize(maxDataFrameSize.getAsInt());
+        this.compressionThreshold = compressionThreshold;
         this.dataFrameCompleteCallback = Preconditions.checkNotNull(dataFrameCompleteCallback, "dataFrameCompleteCallback");
     }
 
+    private static int checkMaxDataFrameSize(int maxDataFrameSize) {
+        Exceptions.checkArgument(maxDataFrameSize > DataFrame.MIN_ENTRY_LENGTH_NEEDED, "maxDataFrameSize",
+                "Must be a at least %s.", DataFrame.MIN_ENTRY_LENGTH_NEEDED);
+        return maxDataFrameSize;
+    }
+
     //endregion
 
     //region OutputStream and DirectDataOutput Implementation
@@ -190,6 +230,10 @@ class DataFrameOutputStream extends OutputStream implements DirectDataOutput {
         // Invoke the callback. At the end of this, the frame is committed so we can get rid of it.
         if (!this.currentFrame.isEmpty()) {
             // Only flush something if it's not empty.
+            if (this.compressionThreshold != NO_COMPRESSION) {
+                this.currentFrame.compress(this.compressionThreshold);
+            }
+
             this.dataFrameCompleteCallback.accept(this.currentFrame);
         }
 
@@ -273,7 +317,7 @@ class DataFrameOutputStream extends OutputStream implements DirectDataOutput {
     private void createNewFrame() {
         Preconditions.checkState(this.currentFrame == null || this.currentFrame.isSealed(), "Cannot create a new frame if we currently have a non-sealed frame.");
 
-        this.currentFrame = DataFrame.ofSize(this.maxDataFrameSize);
+        this.currentFrame = DataFrame.ofSize(checkMaxDataFrameSize(this.maxDataFrameSize.getAsInt()));
         this.hasDataInCurrentFrame = false;
     }
 
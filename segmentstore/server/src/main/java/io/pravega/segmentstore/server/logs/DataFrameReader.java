@@ -57,7 +57,8 @@ class DataFrameReader<T extends SequencedElement> implements CloseableIterator<D
         Preconditions.checkNotNull(log, "log");
         Preconditions.checkNotNull(serializer, "serializer");
         this.lastReadSequenceNumber = Operation.NO_SEQUENCE_NUMBER;
-        this.dataFrameInputStream = new DataFrameInputStream(log.getReader(), String.format("DataFrameReader[%d]", containerId));
+        this.dataFrameInputStream = new DataFrameInputStream(log.getReader(), log.getWriteSettings().getMaxWriteLength(),
+                String.format("DataFrameReader[%d]", containerId));
         this.serializer = serializer;
     }
 
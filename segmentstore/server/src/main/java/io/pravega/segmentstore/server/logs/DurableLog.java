@@ -73,6 +73,7 @@ public class DurableLog extends AbstractService implements OperationLog {
     private final OperationProcessor operationProcessor;
     private final UpdateableContainerMetadata metadata;
     private final ScheduledExecutorService executor;
+    private final int recoveryReplayParallelism;
     private final AtomicReference<Throwable> stopException = new AtomicReference<>();
     private final AtomicBoolean closed;
     private final CompletableFuture<Void> delayedStart;
@@ -106,7 +107,8 @@ public class DurableLog extends AbstractService implements OperationLog {
         this.inMemoryOperationLog = createInMemoryLog();
         this.memoryStateUpdater = new MemoryStateUpdater(this.inMemoryOperationLog, readIndex);
         MetadataCheckpointPolicy checkpointPolicy = new MetadataCheckpointPolicy(config, this::queueMetadataCheckpoint, this.executor);
-        this.operationProcessor = new OperationProcessor(this.metadata, this.memoryStateUpdater, this.durableDataLog, checkpointPolicy, executor);
+        this.operationProcessor = new OperationProcessor(this.metadata, this.memoryStateUpdater, this.durableDataLog, checkpointPolicy, config, executor);
+        this.recoveryReplayParallelism = config.getRecoveryReplayParallelism();
         Services.onStop(this.operationProcessor, this::queueStoppedHandler, this::queueFailedHandler, this.executor);
         this.closed = new AtomicBoolean();
         this.delayedStart = new CompletableFuture<>();
@@ -217,7 +219,8 @@ public class DurableLog extends AbstractService implements OperationLog {
             this.durableDataLog.initialize(DEFAULT_TIMEOUT);
 
             // Initiate the recovery.
-            RecoveryProcessor p = new RecoveryProcessor(this.metadata, this.durableDataLog, this.memoryStateUpdater);
+            RecoveryProcessor p = new RecoveryProcessor(this.metadata, this.durableDataLog, this.memoryStateUpdater,
+                    this.recoveryReplayParallelism);
             int recoveredItemCount = p.performRecovery();
             this.operationProcessor.getMetrics().operationsCompleted(recoveredItemCount, timer.getElapsed());
 
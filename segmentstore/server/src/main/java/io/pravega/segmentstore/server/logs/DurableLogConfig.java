@@ -32,6 +32,11 @@ public class DurableLogConfig {
     public static final Property<Integer> CHECKPOINT_COMMIT_COUNT = Property.named("checkpoint.commit.threshold.count", 300, "checkpointCommitCountThreshold");
     public static final Property<Long> CHECKPOINT_TOTAL_COMMIT_LENGTH = Property.named("checkpoint.commit.length.total", 256 * 1024 * 1024L, "checkpointTotalCommitLengthThreshold");
     public static final Property<Integer> START_RETRY_DELAY_MILLIS = Property.named("start.retry.delay.millis", 60 * 1000, "startRetryDelayMillis");
+    public static final Property<Boolean> ADAPTIVE_COMMIT_ENABLE = Property.named("adaptive.commit.enable", false);
+    public static final Property<Integer> ADAPTIVE_COMMIT_TARGET_LATENCY_MILLIS = Property.named("adaptive.commit.target.latency.millis", 20);
+    public static final Property<Integer> RECOVERY_REPLAY_PARALLELISM = Property.named("recovery.replay.parallelism", 4);
+    public static final Property<Boolean> COMPRESSION_ENABLE = Property.named("compression.enable", false);
+    public static final Property<Integer> COMPRESSION_MIN_FRAME_LENGTH = Property.named("compression.min.frame.length", 4 * 1024);
     private static final String COMPONENT_CODE = "durablelog";
 
     //endregion
@@ -62,6 +67,37 @@ public class DurableLogConfig {
     @Getter
     private Duration startRetryDelay;
 
+    /**
+     * Whether DataFrame sizes and batching delays should be adjusted dynamically based on DurableDataLog append latency.
+     */
+    @Getter
+    private final boolean adaptiveCommitEnabled;
+
+    /**
+     * The target p99 DurableDataLog append latency, used if {@link #isAdaptiveCommitEnabled()} is true.
+     */
+    @Getter
+    private final int adaptiveCommitTargetLatencyMillis;
+
+    /**
+     * The maximum number of tasks that may apply recovered operations (for different segments) in parallel.
+     */
+    @Getter
+    private final int recoveryReplayParallelism;
+
+    /**
+     * Whether DataFrames should be compressed before being written to the DurableDataLog.
+     */
+    @Getter
+    private final boolean compressionEnabled;
+
+    /**
+     * The minimum length of a DataFrame's contents for compression to be attempted, used if {@link #isCompressionEnabled()}
+     * is true.
+     */
+    @Getter
+    private final int compressionMinFrameLength;
+
     //endregion
 
     //region Constructor
@@ -86,6 +122,20 @@ public class DurableLogConfig {
             throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", START_RETRY_DELAY_MILLIS));
         }
         this.startRetryDelay = Duration.ofMillis(startRetryDelayMillis);
+        this.adaptiveCommitEnabled = properties.getBoolean(ADAPTIVE_COMMIT_ENABLE);
+        this.adaptiveCommitTargetLatencyMillis = properties.getInt(ADAPTIVE_COMMIT_TARGET_LATENCY_MILLIS);
+        if (this.adaptiveCommitTargetLatencyMillis <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", ADAPTIVE_COMMIT_TARGET_LATENCY_MILLIS));
+        }
+        this.recoveryReplayParallelism = properties.getInt(RECOVERY_REPLAY_PARALLELISM);
+        if (this.recoveryReplayParallelism <= 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a positive integer.", RECOVERY_REPLAY_PARALLELISM));
+        }
+        this.compressionEnabled = properties.getBoolean(COMPRESSION_ENABLE);
+        this.compressionMinFrameLength = properties.getInt(COMPRESSION_MIN_FRAME_LENGTH);
+        if (this.compressionMinFrameLength < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", COMPRESSION_MIN_FRAME_LENGTH));
+        }
     }
 
     /**
@@ -194,31 +194,45 @@ class MemoryStateUpdater {
         // which always acks items in order of Sequence Number - so the entries should be ordered (but always check).
         if (operation instanceof StorageOperation) {
             addToReadIndex((StorageOperation) operation);
-            if (operation instanceof StreamSegmentAppendOperation) {
-                // Transform a StreamSegmentAppendOperation into its corresponding Cached version.
-                StreamSegmentAppendOperation appendOp = (StreamSegmentAppendOperation) operation;
-                try {
-                    operation = new CachedStreamSegmentAppendOperation(appendOp);
-                } catch (Throwable ex) {
-                    if (Exceptions.mustRethrow(ex)) {
-                        throw ex;
-                    } else {
-                        throw new ServiceHaltException(String.format("Unable to create a CachedStreamSegmentAppendOperation from operation '%s'.", operation), ex);
-                    }
+        }
+
+        addToInMemoryLog(operation);
+    }
+
+    /**
+     * Adds the given operation to the InMemory OperationLog. This is the second half of {@link #process}; it must be
+     * invoked in order of Sequence Number and only after {@link #addToReadIndex} has been invoked for the operation
+     * (if it is a {@link StorageOperation}).
+     *
+     * @param operation The operation to add.
+     * @throws ServiceHaltException If a serious, non-recoverable state was detected, such as unable to create a
+     *                              CachedStreamSegmentAppendOperation.
+     */
+    void addToInMemoryLog(Operation operation) throws ServiceHaltException {
+        if (operation instanceof StreamSegmentAppendOperation) {
+            // Transform a StreamSegmentAppendOperation into its corresponding Cached version.
+            StreamSegmentAppendOperation appendOp = (StreamSegmentAppendOperation) operation;
+            try {
+                operation = new CachedStreamSegmentAppendOperation(appendOp);
+            } catch (Throwable ex) {
+                if (Exceptions.mustRethrow(ex)) {
+                    throw ex;
+                } else {
+                    throw new ServiceHaltException(String.format("Unable to create a CachedStreamSegmentAppendOperation from operation '%s'.", operation), ex);
                 }
+            }
 
-                // Release the memory occupied by this StreamSegmentAppendOperation's BufferView - it has been processed
-                // and is no longer needed.
-                try {
-                    appendOp.close();
-                } catch (Throwable ex) {
-                    if (Exceptions.mustRethrow(ex)) {
-                        throw ex;
-                    } else {
-                        // We do want to know if for some reason we're unable to release the BufferView's memory, but
-                        // this is no reason to halt the ingestion pipeline and cause a container shutdown.
-                        log.warn("Unable to release memory for operation '{}': ", operation, ex);
-                    }
+            // Release the memory occupied by this StreamSegmentAppendOperation's BufferView - it has been processed
+            // and is no longer needed.
+            try {
+                appendOp.close();
+            } catch (Throwable ex) {
+                if (Exceptions.mustRethrow(ex)) {
+                    throw ex;
+                } else {
+                    // We do want to know if for some reason we're unable to release the BufferView's memory, but
+                    // this is no reason to halt the ingestion pipeline and cause a container shutdown.
+                    log.warn("Unable to release memory for operation '{}': ", operation, ex);
                 }
             }
         }
@@ -235,16 +249,15 @@ class MemoryStateUpdater {
     }
 
     /**
-     * Registers the given operation in the ReadIndex.
+     * Adds the given operation to the ReadIndex. This is the first half of {@link #process}. Operations for different
+     * segments may be added concurrently, but operations for the same segment must be added in order.
      *
-     * @param operation The operation to register.
-     * @throws CacheFullException If the operation could not be added to the {@link ReadIndex} due to the cache being
-     * full and unable to evict anything to make room for more.
-     * @throws ServiceHaltException If any unexpected exception occurred that prevented the operation from being
-     * added to the {@link ReadIndex}. Unexpected exceptions are all exceptions other than those declared in this
-     * method or that indicate we are shutting down or that the segment has been deleted.
+     * @param operation The operation to add.
+     * @throws ServiceHaltException If a serious, non-recoverable state was detected.
+     * @throws CacheFullException   If the operation contains data that needs to be added to the {@link ReadIndex} but it
+     *                              could not be done due to the cache being full.
      */
-    private void addToReadIndex(StorageOperation operation) throws ServiceHaltException, CacheFullException {
+    void addToReadIndex(StorageOperation operation) throws ServiceHaltException, CacheFullException {
         try {
             if (operation instanceof StreamSegmentAppendOperation) {
                 // Record a StreamSegmentAppendOperation. Just in case, we also support this type of operation, but we need to
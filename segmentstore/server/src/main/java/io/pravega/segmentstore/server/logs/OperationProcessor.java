@@ -81,6 +81,7 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
     private final SegmentStoreMetrics.OperationProcessor metrics;
     private final Throttler throttler;
     private final CacheUtilizationProvider cacheUtilizationProvider;
+    private final AdaptiveCommitController commitController;
 
     //endregion
 
@@ -97,6 +98,22 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
      * @throws NullPointerException If any of the arguments are null.
      */
     OperationProcessor(UpdateableContainerMetadata metadata, MemoryStateUpdater stateUpdater, DurableDataLog durableDataLog, MetadataCheckpointPolicy checkpointPolicy, ScheduledExecutorService executor) {
+        this(metadata, stateUpdater, durableDataLog, checkpointPolicy, DurableLogConfig.builder().build(), executor);
+    }
+
+    /**
+     * Creates a new instance of the OperationProcessor class.
+     *
+     * @param metadata         The ContainerMetadata for the Container to process operations for.
+     * @param stateUpdater     A MemoryStateUpdater that is used to update in-memory structures upon successful Operation committal.
+     * @param durableDataLog   The DataFrameLog to write DataFrames to.
+     * @param checkpointPolicy The Checkpoint Policy for Metadata.
+     * @param config           Durable Log Configuration.
+     * @param executor         An Executor to use for async operations.
+     * @throws NullPointerException If any of the arguments are null.
+     */
+    OperationProcessor(UpdateableContainerMetadata metadata, MemoryStateUpdater stateUpdater, DurableDataLog durableDataLog,
+                       MetadataCheckpointPolicy checkpointPolicy, DurableLogConfig config, ScheduledExecutorService executor) {
         super(String.format("OperationProcessor[%d]", metadata.getContainerId()), executor);
         Preconditions.checkNotNull(durableDataLog, "durableDataLog");
         this.metadata = metadata;
@@ -105,14 +122,23 @@ class OperationProcessor extends AbstractThreadPoolService implements AutoClosea
         this.operationQueue = new PriorityBlockingDrainingQueue<>(OperationPriority.getMaxPriorityValue());
         this.commitQueue = new BlockingDrainingQueue<>();
         this.state = new QueueProcessingState(checkpointPolicy);
-        val args = new DataFrameBuilder.Args(this.state::frameSealed, this.state::commit, this.state::fail, this.executor);
-        this.dataFrameBuilder = new DataFrameBuilder<>(durableDataLog, OperationSerializer.DEFAULT, args);
         this.metrics = new SegmentStoreMetrics.OperationProcessor(this.metadata.getContainerId());
+        this.commitController = config.isAdaptiveCommitEnabled()
+                ? new AdaptiveCommitController(durableDataLog.getWriteSettings(), config.getAdaptiveCommitTargetLatencyMillis(), this.metrics)
+                : null;
+        val args = new DataFrameBuilder.Args(this.state::frameSealed, this.state::commit, this.state::fail, this.executor);
+        int compressionThreshold = config.isCompressionEnabled() ? config.getCompressionMinFrameLength() : DataFrameOutputStream.NO_COMPRESSION;
+        this.dataFrameBuilder = new DataFrameBuilder<>(durableDataLog, OperationSerializer.DEFAULT, args, this.commitController, compressionThreshold);
         this.cacheUtilizationProvider = stateUpdater.getCacheUtilizationProvider();
-        val throttlerCalculator = ThrottlerCalculator
+        val throttlerBuilder = ThrottlerCalculator
                 .builder()
-                .cacheThrottler(this.cacheUtilizationProvider::getCacheUtilization, this.cacheUtilizationProvider.getCacheTargetUtilization(), this.cacheUtilizationProvider.getCacheMaxUtilization())
-                .batchingThrottler(durableDataLog::getQueueStatistics)
+                .cacheThrottler(this.cacheUtilizationProvider::getCacheUtilization, this.cacheUtilizationProvider.getCacheTargetUtilization(), this.cacheUtilizationProvider.getCacheMaxUtilization());
+        if (this.commitController == null) {
+            throttlerBuilder.batchingThrottler(durableDataLog::getQueueStatistics);
+        } else {
+            throttlerBuilder.adaptiveBatchingThrottler(this.commitController, durableDataLog::getQueueStatistics);
+        }
+        val throttlerCalculator = throttlerBuilder
                 .durableDataLogThrottler(durableDataLog.getWriteSettings(), durableDataLog::getQueueStatistics)
                 .operationLogThrottler(this.stateUpdater::getInMemoryOperationLogSize)
                 .build();
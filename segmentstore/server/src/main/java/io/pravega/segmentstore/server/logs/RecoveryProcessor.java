@@ -15,9 +15,13 @@
  */
 package io.pravega.segmentstore.server.logs;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.Timer;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.concurrent.Futures;
 import io.pravega.segmentstore.contracts.ContainerException;
 import io.pravega.segmentstore.contracts.StreamSegmentException;
 import io.pravega.segmentstore.server.DataCorruptionException;
@@ -28,20 +32,49 @@ import io.pravega.segmentstore.server.logs.operations.CheckpointOperationBase;
 import io.pravega.segmentstore.server.logs.operations.MetadataCheckpointOperation;
 import io.pravega.segmentstore.server.logs.operations.Operation;
 import io.pravega.segmentstore.server.logs.operations.OperationSerializer;
+import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
 import io.pravega.segmentstore.storage.DurableDataLog;
 import io.pravega.segmentstore.storage.LogAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import lombok.val;
 
 /**
  * Helper class (for the DurableLog) that is used to execute the recovery process.
+ *
+ * If pipelined, recovery uses its own thread pool (of replayParallelism threads) for the duration of the recovery, so
+ * that it does not occupy (or wait on) any threads of the shared Container executor other than the calling one:
+ * - Reading and deserializing DataFrames is done by a dedicated thread, which prefetches up to {@link #PREFETCH_QUEUE_SIZE}
+ * records ahead of the recovery thread.
+ * - The recovery thread applies all metadata updates in order. Consecutive {@link StreamSegmentAppendOperation}s are
+ * batched up and, once the batch is full or a different operation type is encountered, their ReadIndex updates are
+ * applied in parallel across up to replayParallelism lanes (each segment is always handled by the same task, so appends
+ * to the same segment are applied in order). The metadata is not modified while this happens and the operations are
+ * added to the InMemory OperationLog in order afterwards.
  */
 @Slf4j
 class RecoveryProcessor {
     //region Members
 
+    @VisibleForTesting
+    static final int PREFETCH_QUEUE_SIZE = 1000;
+    @VisibleForTesting
+    static final int MAX_REPLAY_BATCH_SIZE = 1000;
     private final UpdateableContainerMetadata metadata;
     private final DurableDataLog durableDataLog;
     private final MemoryStateUpdater stateUpdater;
+    private final int replayParallelism;
+    private final boolean pipelined;
     private final String traceObjectId;
 
     //endregion
@@ -56,9 +89,32 @@ class RecoveryProcessor {
      * @param stateUpdater     A MemoryStateUpdater that can be used to apply the recovered operations.
      */
     RecoveryProcessor(UpdateableContainerMetadata metadata, DurableDataLog durableDataLog, MemoryStateUpdater stateUpdater) {
+        this(metadata, durableDataLog, stateUpdater, 1, false);
+    }
+
+    /**
+     * Creates a new instance of the RecoveryProcessor class which pipelines the recovery process.
+     *
+     * @param metadata          The UpdateableContainerMetadata to use for recovery.
+     * @param durableDataLog    The (uninitialized) DurableDataLog to read data from for recovery.
+     * @param stateUpdater      A MemoryStateUpdater that can be used to apply the recovered operations.
+     * @param replayParallelism The maximum number of lanes to apply ReadIndex updates with. If 1, all operations are
+     *                          applied sequentially on the recovery thread. This is also the number of threads that
+     *                          will be created (and released) by each recovery.
+     */
+    RecoveryProcessor(UpdateableContainerMetadata metadata, DurableDataLog durableDataLog, MemoryStateUpdater stateUpdater,
+                      int replayParallelism) {
+        this(metadata, durableDataLog, stateUpdater, replayParallelism, true);
+    }
+
+    private RecoveryProcessor(UpdateableContainerMetadata metadata, DurableDataLog durableDataLog, MemoryStateUpdater stateUpdater,
+                              int replayParallelism, boolean pipelined) {
+        Preconditions.checkArgument(replayParallelism > 0, "replayParallelism must be a positive number.");
         this.metadata = Preconditions.checkNotNull(metadata, "metadata");
         this.durableDataLog = Preconditions.checkNotNull(durableDataLog, "durableDataLog");
         this.stateUpdater = Preconditions.checkNotNull(stateUpdater, "stateUpdater");
+        this.pipelined = pipelined;
+        this.replayParallelism = replayParallelism;
         this.traceObjectId = String.format("RecoveryProcessor[%s]", this.metadata.getContainerId());
     }
 
@@ -100,12 +156,15 @@ class RecoveryProcessor {
         boolean successfulRecovery = false;
         int recoveredItemCount;
         try {
-            recoveredItemCount = recoverAllOperations(metadataUpdater);
+            val stats = new RecoveryStats();
+            recoverAllOperations(metadataUpdater, stats);
+            recoveredItemCount = stats.operationCount;
             this.metadata.setContainerEpoch(this.durableDataLog.getEpoch());
             long timeElapsed = timer.getElapsedMillis();
-            log.info("{} Recovery completed. Epoch = {}, Items Recovered = {}, Time = {}ms.", this.traceObjectId,
-                    this.metadata.getContainerEpoch(), recoveredItemCount, timeElapsed);
+            log.info("{} Recovery completed. Epoch = {}, Items Recovered = {}, Bytes Read = {}, Time = {}ms.", this.traceObjectId,
+                    this.metadata.getContainerEpoch(), recoveredItemCount, stats.byteCount, timeElapsed);
             SegmentStoreMetrics.recoveryCompleted(timeElapsed, this.metadata.getContainerId());
+            SegmentStoreMetrics.recoveryThroughput(recoveredItemCount, stats.byteCount, timeElapsed, this.metadata.getContainerId());
             successfulRecovery = true;
         } finally {
             // We must exit recovery mode when done, regardless of outcome.
@@ -125,17 +184,22 @@ class RecoveryProcessor {
      * been built up using the Operations up to them).
      *
      * @param metadataUpdater The OperationMetadataUpdater to use for updates.
-     * @return The number of Operations recovered.
+     * @param stats           A {@link RecoveryStats} to record the number of recovered Operations and bytes into.
      */
-    private int recoverAllOperations(OperationMetadataUpdater metadataUpdater) throws Exception {
+    private void recoverAllOperations(OperationMetadataUpdater metadataUpdater, RecoveryStats stats) throws Exception {
         long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "recoverAllOperations");
         int skippedOperationCount = 0;
         int skippedDataFramesCount = 0;
-        int recoveredItemCount = 0;
+
+        // One thread prefetches DataFrames and the others (if any) apply ReadIndex updates. Recovery waits on these
+        // threads, so they must not come from the shared Container executor, which may be running other recoveries.
+        ExecutorService recoveryExecutor = this.pipelined
+                ? ExecutorServiceHelpers.newScheduledThreadPool(this.replayParallelism, this.traceObjectId)
+                : null;
 
         // Read all entries from the DataFrameLog and append them to the InMemoryOperationLog.
         // Also update metadata along the way.
-        try (DataFrameReader<Operation> reader = new DataFrameReader<>(this.durableDataLog, OperationSerializer.DEFAULT, this.metadata.getContainerId())) {
+        try (RecordSource reader = createRecordSource(recoveryExecutor)) {
             DataFrameRecord<Operation> dataFrameRecord;
 
             // We can only recover starting from a MetadataCheckpointOperation; find the first one.
@@ -162,26 +226,56 @@ class RecoveryProcessor {
             }
 
             // Now continue with the recovery from here.
+            val replayBatch = new ArrayList<StreamSegmentAppendOperation>();
             while (dataFrameRecord != null) {
                 recordTruncationMarker(dataFrameRecord);
-                recoverOperation(dataFrameRecord, metadataUpdater);
-                recoveredItemCount++;
+                if (this.replayParallelism > 1 && dataFrameRecord.getItem() instanceof StreamSegmentAppendOperation) {
+                    // Update the metadata now, but defer the in-memory state updates until we have a full batch.
+                    updateMetadata(dataFrameRecord.getItem(), metadataUpdater);
+                    replayBatch.add((StreamSegmentAppendOperation) dataFrameRecord.getItem());
+                    if (replayBatch.size() >= MAX_REPLAY_BATCH_SIZE) {
+                        replay(replayBatch, recoveryExecutor);
+                    }
+                } else {
+                    // Anything else acts as a barrier: all the operations before it must be fully applied first.
+                    replay(replayBatch, recoveryExecutor);
+                    recoverOperation(dataFrameRecord, metadataUpdater);
+                }
+
+                stats.record(dataFrameRecord);
 
                 // Fetch the next operation.
                 dataFrameRecord = reader.getNext();
             }
+
+            replay(replayBatch, recoveryExecutor);
+        } finally {
+            if (recoveryExecutor != null) {
+                ExecutorServiceHelpers.shutdown(recoveryExecutor);
+            }
         }
 
         // Commit whatever changes we have in the metadata updater to the Container Metadata.
         // This code will only be invoked if we haven't encountered any exceptions during recovery.
         metadataUpdater.commitAll();
-        LoggerHelpers.traceLeave(log, this.traceObjectId, "recoverAllOperations", traceId, recoveredItemCount);
-        return recoveredItemCount;
+        LoggerHelpers.traceLeave(log, this.traceObjectId, "recoverAllOperations", traceId, stats.operationCount);
     }
 
     protected void recoverOperation(DataFrameRecord<Operation> dataFrameRecord, OperationMetadataUpdater metadataUpdater) throws ServiceHaltException {
-        // Update Metadata Sequence Number.
         Operation operation = dataFrameRecord.getItem();
+        updateMetadata(operation, metadataUpdater);
+
+        // Update in-memory structures.
+        this.stateUpdater.process(operation);
+
+        // Perform necessary read index cleanups if possible.
+        if (operation instanceof CheckpointOperationBase) {
+            this.stateUpdater.cleanupReadIndex();
+        }
+    }
+
+    private void updateMetadata(Operation operation, OperationMetadataUpdater metadataUpdater) throws DataCorruptionException {
+        // Update Metadata Sequence Number.
         metadataUpdater.setOperationSequenceNumber(operation.getSequenceNumber());
 
         // Update the metadata with the information from the Operation.
@@ -193,16 +287,85 @@ class RecoveryProcessor {
             // Metadata update failures should not happen during recovery.
             throw new DataCorruptionException(String.format("Unable to update metadata for Log Operation '%s'.", operation), ex);
         }
+    }
 
-        // Update in-memory structures.
-        this.stateUpdater.process(operation);
+    /**
+     * Applies the in-memory state updates for the given operations (whose metadata updates have already been applied)
+     * and clears the list. ReadIndex updates are executed in parallel (grouped by segment), after which the operations
+     * are added to the InMemory OperationLog in order.
+     *
+     * @param operations The operations to apply, in order of Sequence Number.
+     * @param executor   The recovery's own Executor to run all but the first lane on.
+     */
+    private void replay(List<StreamSegmentAppendOperation> operations, Executor executor) throws Exception {
+        if (operations.isEmpty()) {
+            return;
+        }
 
-        // Perform necessary read index cleanups if possible.
-        if (operation instanceof CheckpointOperationBase) {
-            this.stateUpdater.cleanupReadIndex();
+        // Split the operations by segment, preserving their order.
+        List<List<StreamSegmentAppendOperation>> lanes = new ArrayList<>(this.replayParallelism);
+        for (int i = 0; i < this.replayParallelism; i++) {
+            lanes.add(new ArrayList<>());
+        }
+
+        for (StreamSegmentAppendOperation o : operations) {
+            lanes.get((int) Math.floorMod(o.getStreamSegmentId(), (long) this.replayParallelism)).add(o);
+        }
+
+        // Run all but the first lane in the background and the first one on this thread. We must wait for all of them
+        // to complete before proceeding (even if one fails), as no metadata updates may happen in the meantime.
+        val futures = new ArrayList<CompletableFuture<Void>>(lanes.size());
+        for (int i = 1; i < lanes.size(); i++) {
+            val lane = lanes.get(i);
+            if (!lane.isEmpty()) {
+                futures.add(CompletableFuture.runAsync(() -> addToReadIndex(lane), executor));
+            }
+        }
+
+        val inlineResult = new CompletableFuture<Void>();
+        try {
+            addToReadIndex(lanes.get(0));
+            inlineResult.complete(null);
+        } catch (Throwable ex) {
+            inlineResult.completeExceptionally(ex);
+        }
+
+        futures.add(inlineResult);
+        Futures.getThrowingException(Futures.allOf(futures));
+
+        for (StreamSegmentAppendOperation o : operations) {
+            this.stateUpdater.addToInMemoryLog(o);
+        }
+
+        operations.clear();
+    }
+
+    @SneakyThrows(Exception.class)
+    private void addToReadIndex(List<StreamSegmentAppendOperation> operations) {
+        for (StreamSegmentAppendOperation o : operations) {
+            this.stateUpdater.addToReadIndex(o);
         }
     }
 
+    private RecordSource createRecordSource(Executor executor) throws Exception {
+        val reader = new DataFrameReader<Operation>(this.durableDataLog, OperationSerializer.DEFAULT, this.metadata.getContainerId());
+        if (executor == null) {
+            return new RecordSource() {
+                @Override
+                public DataFrameRecord<Operation> getNext() throws Exception {
+                    return reader.getNext();
+                }
+
+                @Override
+                public void close() {
+                    reader.close();
+                }
+            };
+        }
+
+        return new PrefetchingRecordSource(reader, executor);
+    }
+
     private void recordTruncationMarker(DataFrameRecord<Operation> dataFrameRecord) {
         // Truncation Markers are stored directly in the ContainerMetadata. There is no need for an OperationMetadataUpdater
         // to do this.
@@ -221,4 +384,105 @@ class RecoveryProcessor {
     }
 
     //endregion
+
+    //region RecordSource
+
+    /**
+     * Provides {@link DataFrameRecord}s to recover, in order.
+     */
+    private interface RecordSource extends AutoCloseable {
+        /**
+         * Gets the next {@link DataFrameRecord}, or null if the end of the log has been reached.
+         */
+        DataFrameRecord<Operation> getNext() throws Exception;
+
+        @Override
+        void close();
+    }
+
+    /**
+     * A {@link RecordSource} that reads and deserializes {@link DataFrameRecord}s in the background, up to
+     * {@link #PREFETCH_QUEUE_SIZE} records ahead of the consumer. The prefetch task blocks while the queue is full, so it
+     * occupies a thread of the given Executor for its entire duration.
+     */
+    private class PrefetchingRecordSource implements RecordSource {
+        private final DataFrameReader<Operation> reader;
+        private final BlockingQueue<PrefetchResult> queue;
+        private final AtomicBoolean closed;
+        private final CompletableFuture<Void> prefetchTask;
+
+        PrefetchingRecordSource(DataFrameReader<Operation> reader, Executor executor) {
+            this.reader = reader;
+            this.queue = new ArrayBlockingQueue<>(PREFETCH_QUEUE_SIZE);
+            this.closed = new AtomicBoolean();
+            this.prefetchTask = CompletableFuture.runAsync(this::prefetch, executor);
+        }
+
+        @Override
+        public DataFrameRecord<Operation> getNext() throws Exception {
+            PrefetchResult result = this.queue.take();
+            if (result.failure != null) {
+                throw Exceptions.sneakyThrow(result.failure);
+            }
+
+            return result.record;
+        }
+
+        @Override
+        public void close() {
+            // Stop the prefetch task (if still running) and wait for it to release the reader.
+            this.closed.set(true);
+            this.queue.clear();
+            this.prefetchTask.join();
+        }
+
+        private void prefetch() {
+            try {
+                DataFrameRecord<Operation> record;
+                do {
+                    record = this.reader.getNext();
+                } while (put(new PrefetchResult(record, null)) && record != null);
+            } catch (Throwable ex) {
+                put(new PrefetchResult(null, ex));
+            } finally {
+                this.reader.close();
+            }
+        }
+
+        @SneakyThrows(InterruptedException.class)
+        private boolean put(PrefetchResult result) {
+            // Wait for the consumer to make room, but do not block indefinitely if it has given up.
+            while (!this.closed.get()) {
+                if (this.queue.offer(result, 100, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class PrefetchResult {
+        private final DataFrameRecord<Operation> record;
+        private final Throwable failure;
+    }
+
+    //endregion
+
+    //region RecoveryStats
+
+    private static class RecoveryStats {
+        private int operationCount;
+        private long byteCount;
+
+        void record(DataFrameRecord<Operation> record) {
+            this.operationCount++;
+            for (DataFrameRecord.EntryInfo e : record.getFrameEntries()) {
+                this.byteCount += e.getLength();
+            }
+        }
+    }
+
+    //endregion
 }
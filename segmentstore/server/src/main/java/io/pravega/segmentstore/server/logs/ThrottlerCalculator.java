@@ -337,6 +337,35 @@ class ThrottlerCalculator {
         }
     }
 
+    /**
+     * Calculates the amount of time to wait before processing more operations from the queue in order to aggregate them
+     * into larger writes. This is based on the state of an {@link AdaptiveCommitController}, which adjusts it based on
+     * the observed DurableDataLog append latency.
+     */
+    @RequiredArgsConstructor
+    private static class AdaptiveBatchingThrottler extends Throttler {
+        @NonNull
+        private final AdaptiveCommitController commitController;
+        @NonNull
+        private final Supplier<QueueStats> getQueueStats;
+
+        @Override
+        boolean isThrottlingRequired() {
+            // Same as BatchingThrottler: this is never an immediate need.
+            return false;
+        }
+
+        @Override
+        int getDelayMillis() {
+            return Math.min(this.commitController.getBatchingDelayMillis(this.getQueueStats.get()), MAX_BATCHING_DELAY_MILLIS);
+        }
+
+        @Override
+        ThrottlerName getName() {
+            return ThrottlerName.Batching;
+        }
+    }
+
     //endregion
 
     //region Builder
@@ -369,6 +398,18 @@ class ThrottlerCalculator {
             return throttler(new BatchingThrottler(getQueueStats));
         }
 
+        /**
+         * Includes an Adaptive Batching Throttler. This should be used instead of {@link #batchingThrottler}.
+         *
+         * @param commitController The {@link AdaptiveCommitController} that determines the batching delay.
+         * @param getQueueStats    A Supplier that, when invoked, returns a QueueStats object representing the most recent
+         *                         statistics about the DurableDataLog write queue.
+         * @return This builder.
+         */
+        ThrottlerCalculatorBuilder adaptiveBatchingThrottler(AdaptiveCommitController commitController, Supplier<QueueStats> getQueueStats) {
+            return throttler(new AdaptiveBatchingThrottler(commitController, getQueueStats));
+        }
+
         ThrottlerCalculatorBuilder durableDataLogThrottler(WriteSettings writeSettings, Supplier<QueueStats> getQueueStats) {
             return throttler(new DurableDataLogThrottler(writeSettings, getQueueStats));
         }
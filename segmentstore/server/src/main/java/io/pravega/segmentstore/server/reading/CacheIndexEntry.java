@@ -17,16 +17,19 @@ package io.pravega.segmentstore.server.reading;
 
 import com.google.common.base.Preconditions;
 import javax.annotation.concurrent.GuardedBy;
-import lombok.Getter;
 
 /**
  * Represents a ReadIndexEntry that points to an entry in the Cache.
  */
 public class CacheIndexEntry extends ReadIndexEntry {
-    @Getter
-    private final int cacheAddress;
+    @GuardedBy("this")
+    private int cacheAddress;
     @GuardedBy("this")
     private int length;
+    @GuardedBy("this")
+    private boolean protectedEntry;
+    @GuardedBy("this")
+    private boolean demoted;
 
     /**
      * Creates a new instance of the ReadIndexEntry class.
@@ -44,6 +47,57 @@ public class CacheIndexEntry extends ReadIndexEntry {
         this.cacheAddress = cacheAddress;
     }
 
+    @Override
+    synchronized int getCacheAddress() {
+        return this.cacheAddress;
+    }
+
+    /**
+     * Sets the address of this Index Entry in the CacheStorage. This should be invoked whenever the entry's data is moved
+     * to a different location (i.e., when it is demoted to or promoted from a lower cache tier).
+     *
+     * @param cacheAddress The new address.
+     */
+    synchronized void setCacheAddress(int cacheAddress) {
+        this.cacheAddress = cacheAddress;
+    }
+
+    /**
+     * Gets a value indicating whether this entry is protected (it has been accessed frequently) or on probation.
+     *
+     * @return True if protected, false if on probation.
+     */
+    synchronized boolean isProtected() {
+        return this.protectedEntry;
+    }
+
+    /**
+     * Sets a value indicating whether this entry is protected (it has been accessed frequently) or on probation.
+     *
+     * @param value True if protected, false if on probation.
+     */
+    synchronized void setProtected(boolean value) {
+        this.protectedEntry = value;
+    }
+
+    /**
+     * Gets a value indicating whether this entry's data has been demoted to a lower cache tier.
+     *
+     * @return True if demoted, false otherwise.
+     */
+    synchronized boolean isDemoted() {
+        return this.demoted;
+    }
+
+    /**
+     * Sets a value indicating whether this entry's data has been demoted to a lower cache tier.
+     *
+     * @param value True if demoted, false otherwise.
+     */
+    synchronized void setDemoted(boolean value) {
+        this.demoted = value;
+    }
+
     @Override
     synchronized long getLength() {
         return this.length;
@@ -65,7 +119,7 @@ public class CacheIndexEntry extends ReadIndexEntry {
     }
 
     @Override
-    public String toString() {
+    public synchronized String toString() {
         return String.format("%s, Address = %d", super.toString(), this.cacheAddress);
     }
 }
@@ -29,7 +29,6 @@ import io.pravega.segmentstore.server.DataCorruptionException;
 import io.pravega.segmentstore.server.ReadIndex;
 import io.pravega.segmentstore.server.SegmentMetadata;
 import io.pravega.segmentstore.storage.ReadOnlyStorage;
-import io.pravega.segmentstore.storage.cache.CacheStorage;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -402,7 +401,7 @@ public class ContainerReadIndex implements ReadIndex {
                     throw new StreamSegmentNotExistsException(segmentMetadata.getName());
                 }
 
-                index = createSegmentIndex(this.config, segmentMetadata, this.cacheManager.getCacheStorage(), this.storage, this.executor, isRecoveryMode());
+                index = createSegmentIndex(this.config, segmentMetadata, this.cacheManager, this.storage, this.executor, isRecoveryMode());
                 this.cacheManager.register(index);
                 this.readIndices.put(streamSegmentId, index);
             }
@@ -412,9 +411,9 @@ public class ContainerReadIndex implements ReadIndex {
     }
 
     @VisibleForTesting
-    StreamSegmentReadIndex createSegmentIndex(ReadIndexConfig config, SegmentMetadata metadata, CacheStorage cacheStorage,
+    StreamSegmentReadIndex createSegmentIndex(ReadIndexConfig config, SegmentMetadata metadata, CacheManager cacheManager,
                                               ReadOnlyStorage storage, ScheduledExecutorService executor, boolean recoveryMode) {
-        return new StreamSegmentReadIndex(config, metadata, cacheStorage, storage, executor, recoveryMode);
+        return new StreamSegmentReadIndex(config, metadata, cacheManager, storage, executor, recoveryMode);
     }
 
     @GuardedBy("lock")
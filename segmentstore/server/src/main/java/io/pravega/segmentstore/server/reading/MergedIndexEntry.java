@@ -51,5 +51,6 @@ class MergedIndexEntry extends CacheIndexEntry {
         this.sourceSegmentId = sourceSegmentId;
         this.sourceSegmentOffset = sourceEntry.getStreamSegmentOffset();
         setGeneration(sourceEntry.getGeneration());
+        setDemoted(sourceEntry.isDemoted());
     }
 }
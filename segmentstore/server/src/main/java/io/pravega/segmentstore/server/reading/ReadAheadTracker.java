@@ -0,0 +1,155 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.reading;
+
+import com.google.common.base.Preconditions;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Data;
+
+/**
+ * Detects sequential Storage access patterns for a single Segment and determines which ranges should be read ahead.
+ *
+ * A Storage Read that begins where the previous one ended (or within the range that has already been read ahead) is
+ * considered sequential. Every sequential Storage Read doubles the read-ahead window (starting at one alignment unit), up
+ * to a configured maximum. Any non-sequential Storage Read resets the window. While the window is open, reads served
+ * from the Cache advance it, so that the reader never catches up to the end of the data that has been read ahead.
+ */
+@ThreadSafe
+class ReadAheadTracker {
+    //region Members
+
+    private final int alignment;
+    private final int maxLength;
+    @GuardedBy("this")
+    private long nextOffset;
+    @GuardedBy("this")
+    private long readAheadEndOffset;
+    @GuardedBy("this")
+    private int windowLength;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the ReadAheadTracker class.
+     *
+     * @param alignment The Storage Read alignment. Read-ahead ranges shorter than this are not issued.
+     * @param maxLength The maximum number of bytes to read ahead. If 0, read-ahead is disabled.
+     */
+    ReadAheadTracker(int alignment, int maxLength) {
+        Preconditions.checkArgument(alignment > 0, "alignment must be a positive number.");
+        Preconditions.checkArgument(maxLength >= 0, "maxLength must be a non-negative number.");
+        this.alignment = alignment;
+        this.maxLength = maxLength;
+        this.nextOffset = -1;
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Records a Storage Read.
+     *
+     * @param offset The offset of the Storage Read.
+     * @param length The length of the Storage Read.
+     * @return A {@link Range} to read ahead, or null if nothing should be read ahead.
+     */
+    synchronized Range onStorageRead(long offset, int length) {
+        if (this.maxLength == 0) {
+            return null;
+        }
+
+        boolean sequential = offset == this.nextOffset
+                || (offset > this.nextOffset && offset < this.readAheadEndOffset);
+        if (sequential) {
+            this.windowLength = this.windowLength == 0 ? Math.min(this.alignment, this.maxLength) : Math.min(this.maxLength, this.windowLength * 2);
+        } else {
+            this.windowLength = 0;
+            this.readAheadEndOffset = 0;
+        }
+
+        this.nextOffset = offset + length;
+        return getNextRange();
+    }
+
+    /**
+     * Records a read that is about to be served from the Read Index. This has no effect unless a sequential access
+     * pattern has already been detected and the given offset is within the range that has been read ahead.
+     *
+     * @param offset The offset of the read.
+     * @return A {@link Range} to read ahead, or null if nothing should be read ahead.
+     */
+    synchronized Range onRead(long offset) {
+        if (this.windowLength == 0 || offset < this.nextOffset || offset > this.readAheadEndOffset) {
+            return null;
+        }
+
+        this.nextOffset = offset;
+        return getNextRange();
+    }
+
+    /**
+     * Halves the read-ahead window. This should be invoked if a read-ahead could not be executed (i.e., due to Cache
+     * pressure).
+     */
+    synchronized void backOff() {
+        this.windowLength /= 2;
+        if (this.windowLength < this.alignment) {
+            this.windowLength = 0;
+            this.readAheadEndOffset = 0;
+        }
+    }
+
+    @GuardedBy("this")
+    private Range getNextRange() {
+        if (this.windowLength == 0) {
+            return null;
+        }
+
+        long startOffset = Math.max(this.nextOffset, this.readAheadEndOffset);
+        long endOffset = this.nextOffset + this.windowLength;
+        if (endOffset - startOffset < this.alignment) {
+            // Not worth issuing a (small) request yet.
+            return null;
+        }
+
+        this.readAheadEndOffset = endOffset;
+        return new Range(startOffset, (int) (endOffset - startOffset));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("NextOffset = %d, ReadAheadEndOffset = %d, Window = %d", this.nextOffset, this.readAheadEndOffset, this.windowLength);
+    }
+
+    //endregion
+
+    //region Range
+
+    /**
+     * A range of bytes to read ahead.
+     */
+    @Data
+    static class Range {
+        private final long offset;
+        private final int length;
+    }
+
+    //endregion
+}
@@ -30,6 +30,7 @@ public class ReadIndexConfig {
     public static final Property<Integer> STORAGE_READ_ALIGNMENT = Property.named("storageRead.alignment", 1024 * 1024, "storageReadAlignment");
     public static final Property<Integer> MEMORY_READ_MIN_LENGTH = Property.named("memoryRead.length.min", 4 * 1024, "memoryReadMinLength");
     public static final Property<Integer> STORAGE_READ_DEFAULT_TIMEOUT = Property.named("storageRead.timeout.default.millis", 30 * 1000, "storageReadDefaultTimeoutMillis");
+    public static final Property<Integer> STORAGE_READ_AHEAD_MAX_LENGTH = Property.named("storageRead.readAhead.length.max", 4 * 1024 * 1024);
     private static final String COMPONENT_CODE = "readindex";
 
     //endregion
@@ -63,6 +64,16 @@ public class ReadIndexConfig {
     @Getter
     private final Duration storageReadDefaultTimeout;
 
+    /**
+     * The maximum number of bytes to read ahead from Storage for a Segment that is read sequentially. The read-ahead
+     * window starts at {@link #getStorageReadAlignment()} and doubles with every sequential Storage Read up to this value.
+     * No read-ahead is issued while the Cache utilization is above its target.
+     * <p>
+     * Setting this to 0 will disable this feature.
+     */
+    @Getter
+    private final int storageReadAheadMaxLength;
+
     //endregion
 
     //region Constructor
@@ -76,6 +87,10 @@ public class ReadIndexConfig {
         this.storageReadAlignment = properties.getInt(STORAGE_READ_ALIGNMENT);
         this.memoryReadMinLength = properties.getInt(MEMORY_READ_MIN_LENGTH);
         this.storageReadDefaultTimeout = Duration.ofMillis(properties.getInt(STORAGE_READ_DEFAULT_TIMEOUT));
+        this.storageReadAheadMaxLength = properties.getInt(STORAGE_READ_AHEAD_MAX_LENGTH);
+        if (this.storageReadAheadMaxLength < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer.", STORAGE_READ_AHEAD_MAX_LENGTH));
+        }
     }
 
     /**
@@ -22,9 +22,9 @@ import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.ObjectClosedException;
 import io.pravega.common.concurrent.Futures;
-import io.pravega.common.util.AvlTreeIndex;
 import io.pravega.common.util.BufferView;
 import io.pravega.common.util.ByteArraySegment;
+import io.pravega.common.util.ConcurrentSkipListIndex;
 import io.pravega.common.util.SortedIndex;
 import io.pravega.segmentstore.contracts.ReadResult;
 import io.pravega.segmentstore.contracts.ReadResultEntry;
@@ -43,8 +43,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -70,11 +73,18 @@ import lombok.val;
 class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     //region Members
 
+    /**
+     * The number of pending cache hit statistics (from reads that did not acquire the lock) after which they are applied.
+     */
+    private static final int PENDING_CACHE_HITS_THRESHOLD = 64;
     private final String traceObjectId;
-    @GuardedBy("lock")
+    /**
+     * Modifications must be made while holding the lock. Lookups may be done without it (see {@link #tryOptimisticMemoryRead}).
+     */
     private final SortedIndex<ReadIndexEntry> indexEntries;
     private final ReadIndexConfig config;
     private final CacheStorage cacheStorage;
+    private final CacheManager cacheManager;
     private final FutureReadResultEntryCollection futureReads;
     @GuardedBy("lock")
     private final HashMap<Long, PendingMerge> pendingMergers; //Key = Source Segment Id, Value = Pending Merge Info.
@@ -90,7 +100,15 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     private boolean closed;
     private boolean merged;
     private final Object lock = new Object();
+    /**
+     * Must be write-locked while data referenced by the index is deleted from (or relocated within) the Cache. It is
+     * never read-locked; reads that do not acquire the lock use it to validate that the data they read is still valid.
+     */
+    private final StampedLock cacheDataLock;
+    private final ConcurrentLinkedQueue<CacheIndexEntry> pendingCacheHits;
+    private final AtomicInteger pendingCacheHitCount;
     private final int storageReadAlignment;
+    private final ReadAheadTracker readAheadTracker;
 
     //endregion
 
@@ -101,26 +119,30 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      *
      * @param config       Read Index Configuration.
      * @param metadata     The StreamSegmentMetadata to use.
-     * @param cacheStorage    The CacheStorage to use to store, read and manage data entries.
+     * @param cacheManager The CacheManager whose CacheStorage is used to store, read and manage data entries.
      * @param storage      A ReadOnlyStorage to fetch data if not in Cache.
      * @param executor     An executor to run async operations.
      * @param recoveryMode Whether we are in recovery mode at the time of creation (this can change later on).
      * @throws NullPointerException If any of the arguments are null.
      */
-    StreamSegmentReadIndex(ReadIndexConfig config, SegmentMetadata metadata, CacheStorage cacheStorage, ReadOnlyStorage storage,
+    StreamSegmentReadIndex(ReadIndexConfig config, SegmentMetadata metadata, CacheManager cacheManager, ReadOnlyStorage storage,
                            ScheduledExecutorService executor, boolean recoveryMode) {
         Preconditions.checkNotNull(config, "config");
         Preconditions.checkNotNull(metadata, "metadata");
-        Preconditions.checkNotNull(cacheStorage, "cacheStorage");
+        Preconditions.checkNotNull(cacheManager, "cacheManager");
         Preconditions.checkNotNull(storage, "storage");
         Preconditions.checkNotNull(executor, "executor");
 
         this.traceObjectId = String.format("ReadIndex[%d-%d]", metadata.getContainerId(), metadata.getId());
         this.config = config;
         this.metadata = metadata;
-        this.cacheStorage = cacheStorage;
+        this.cacheManager = cacheManager;
+        this.cacheStorage = cacheManager.getCacheStorage();
         this.recoveryMode = recoveryMode;
-        this.indexEntries = new AvlTreeIndex<>();
+        this.indexEntries = new ConcurrentSkipListIndex<>();
+        this.cacheDataLock = new StampedLock();
+        this.pendingCacheHits = new ConcurrentLinkedQueue<>();
+        this.pendingCacheHitCount = new AtomicInteger();
         this.futureReads = new FutureReadResultEntryCollection();
         this.pendingMergers = new HashMap<>();
         this.lastAppendedOffset = new AtomicLong(-1);
@@ -128,6 +150,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         this.executor = executor;
         this.summary = new ReadIndexSummary();
         this.storageReadAlignment = alignToCacheBlockSize(this.config.getStorageReadAlignment());
+        this.readAheadTracker = new ReadAheadTracker(this.storageReadAlignment, this.config.getStorageReadAheadMaxLength());
         this.storageCacheDisabled = false;
     }
 
@@ -202,9 +225,14 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         Preconditions.checkState(this.closed, "Cannot call removeAllEntries unless the ReadIndex is closed.");
         int count;
         synchronized (this.lock) {
-            this.indexEntries.forEach(this::deleteData);
-            count = this.indexEntries.size();
-            this.indexEntries.clear();
+            long stamp = this.cacheDataLock.writeLock();
+            try {
+                this.indexEntries.forEach(this::deleteData);
+                count = this.indexEntries.size();
+                this.indexEntries.clear();
+            } finally {
+                this.cacheDataLock.unlockWrite(stamp);
+            }
         }
 
         if (count > 0) {
@@ -219,11 +247,21 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     @Override
     public CacheManager.CacheStatus getCacheStatus() {
         Exceptions.checkNotClosed(this.closed, this);
+        synchronized (this.lock) {
+            // Make sure recent cache hits are accounted for.
+            applyPendingCacheHits();
+        }
+
         return this.summary.toCacheStatus();
     }
 
     @Override
     public boolean updateGenerations(int currentGeneration, int oldestGeneration, boolean essentialOnly) {
+        return updateGenerations(currentGeneration, oldestGeneration, oldestGeneration, essentialOnly);
+    }
+
+    @Override
+    public boolean updateGenerations(int currentGeneration, int oldestGeneration, int oldestProtectedGeneration, boolean essentialOnly) {
         Exceptions.checkNotClosed(this.closed, this);
 
         // If we are told that only essential cache entries must be inserted, then we need to disable Storage read
@@ -232,48 +270,115 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
         // Update the current generation with the provided info.
         this.summary.setCurrentGeneration(currentGeneration);
-        return evictCacheEntries(entry -> isEvictable(entry, oldestGeneration)) > 0;
+        synchronized (this.lock) {
+            // Make sure recent cache hits are accounted for (with the new generation) before deciding what to evict.
+            applyPendingCacheHits();
+        }
+
+        return evictCacheEntries(entry -> isEvictable(entry, oldestGeneration, oldestProtectedGeneration)) > 0;
     }
 
-    private boolean isEvictable(ReadIndexEntry entry, int oldestGeneration) {
+    private boolean isEvictable(ReadIndexEntry entry, int oldestGeneration, int oldestProtectedGeneration) {
         // We can only evict if both these conditions are met:
         // 1. The entry is a Cache Entry (Redirect entries cannot be removed).
         // 2. Every single byte in the entry has to exist in Storage.
         // In addition, we are free to evict (regardless of Generation, but still subject to the above rules) if
         // every single byte in the entry has been truncated out.
+        // Protected entries (those that are frequently accessed) are subject to a different generation cutoff than those
+        // on probation.
         long lastOffset = entry.getLastStreamSegmentOffset();
         return entry.isDataEntry()
                 && lastOffset < this.metadata.getStorageLength()
-                && (entry.getGeneration() < oldestGeneration || lastOffset < this.metadata.getStartOffset());
+                && (entry.getGeneration() < (((CacheIndexEntry) entry).isProtected() ? oldestProtectedGeneration : oldestGeneration)
+                    || lastOffset < this.metadata.getStartOffset());
     }
 
     private long evictCacheEntries(Predicate<ReadIndexEntry> isEvictable) {
-        // Identify & collect those entries that can be removed, then remove them from the index.
+        // Identify & collect those entries that can be removed, then remove them from the index. Entries that can be
+        // demoted to a lower cache tier (if any) are kept in the index instead.
         ArrayList<ReadIndexEntry> toRemove = new ArrayList<>();
-        synchronized (this.lock) {
-            this.indexEntries.forEach(entry -> {
-                if (isEvictable.test(entry)) {
-                    toRemove.add(entry);
+        val demotedSize = new AtomicLong();
+        val demotedCount = new AtomicInteger();
+        val totalSize = new AtomicLong();
+        long stamp = 0;
+        try {
+            synchronized (this.lock) {
+                ArrayList<ReadIndexEntry> evictable = new ArrayList<>();
+                this.indexEntries.forEach(entry -> {
+                    if (isEvictable.test(entry)) {
+                        evictable.add(entry);
+                    }
+                });
+
+                if (evictable.isEmpty()) {
+                    return 0;
                 }
-            });
 
-            // Remove from the index and from the cache.
-            toRemove.forEach(e -> this.indexEntries.remove(e.key()));
-        }
+                // Demoting or removing entries invalidates the data referenced by them, so we must prevent any concurrent
+                // reads that do not hold the lock from using it.
+                stamp = this.cacheDataLock.writeLock();
+                evictable.forEach(entry -> {
+                    if (tryDemote((CacheIndexEntry) entry)) {
+                        demotedSize.addAndGet(entry.getLength());
+                        demotedCount.incrementAndGet();
+                    } else {
+                        toRemove.add(entry);
+                    }
+                });
 
-        // Update the summary (no need for holding the lock here; we are not modifying the index).
-        val totalSize = new AtomicLong();
-        toRemove.forEach(e -> {
-            deleteData(e);
-            this.summary.removeOne(e.getGeneration());
-            totalSize.addAndGet(e.getLength());
-        });
+                // Remove from the index and from the cache.
+                toRemove.forEach(e -> this.indexEntries.remove(e.key()));
+            }
+
+            // Update the summary (no need for holding the lock here; we are not modifying the index).
+            toRemove.forEach(e -> {
+                deleteData(e);
+                this.summary.removeOne(e.getGeneration());
+                totalSize.addAndGet(e.getLength());
+            });
+        } finally {
+            if (stamp != 0) {
+                this.cacheDataLock.unlockWrite(stamp);
+            }
+        }
 
         if (!toRemove.isEmpty()) {
             log.debug("{}: Evicted {} entries totalling {} bytes.", this.traceObjectId, toRemove.size(), totalSize);
         }
 
-        return totalSize.get();
+        if (demotedCount.get() > 0) {
+            log.debug("{}: Demoted {} entries totalling {} bytes.", this.traceObjectId, demotedCount, demotedSize);
+        }
+
+        return totalSize.get() + demotedSize.get();
+    }
+
+    /**
+     * Attempts to move the given entry's data to a lower Cache tier, instead of evicting it. Upon success, the entry
+     * is given a second chance: its generation is refreshed so that it will not be considered for eviction again until
+     * it ages out a second time (at which point it cannot be demoted any further and will be evicted).
+     *
+     * Entries whose data has been truncated out are never demoted, and neither are entries in a merged Read Index (their
+     * Cache addresses are about to be handed over to the target's Read Index).
+     *
+     * @param entry The {@link CacheIndexEntry} to demote.
+     * @return True if the entry was demoted, false otherwise.
+     */
+    @GuardedBy("lock")
+    private boolean tryDemote(CacheIndexEntry entry) {
+        if (this.merged || entry.getLastStreamSegmentOffset() < this.metadata.getStartOffset()) {
+            return false;
+        }
+
+        int newAddress = this.cacheStorage.demote(entry.getCacheAddress());
+        if (newAddress == CacheStorage.NO_ADDRESS) {
+            return false;
+        }
+
+        entry.setCacheAddress(newAddress);
+        entry.setDemoted(true);
+        entry.setGeneration(this.summary.touchOne(entry.getGeneration()));
+        return true;
     }
 
     //endregion
@@ -363,7 +468,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
     long trimCache() {
         Exceptions.checkNotClosed(this.closed, this);
         Preconditions.checkState(this.recoveryMode, "ReadIndex[%s] is not in recovery mode.", this.traceObjectId);
-        return evictCacheEntries(entry -> isEvictable(entry, Integer.MAX_VALUE)); // Evict anything we don't absolutely need.
+        return evictCacheEntries(entry -> isEvictable(entry, Integer.MAX_VALUE, Integer.MAX_VALUE)); // Evict anything we don't absolutely need.
     }
 
     //endregion
@@ -538,12 +643,22 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         LoggerHelpers.traceLeave(log, this.traceObjectId, "completeMerge", traceId);
     }
 
-    private void insert(long offset, ByteArraySegment data) {
+    private void insert(long offset, ByteArraySegment data, boolean isReadAhead) {
         if (this.storageCacheDisabled) {
             log.debug("{}: Not inserting (Offset = {}, Length = {}) due to Storage Cache disabled.", this.traceObjectId, offset, data.getLength());
             return;
         }
 
+        // A Storage Read is a cache miss, which counts as an access (but a read-ahead has not been accessed yet).
+        long accessKey = getAccessKey(offset);
+        if (!isReadAhead) {
+            this.cacheManager.recordAccess(accessKey);
+        }
+        if (!this.cacheManager.shouldAdmit(accessKey)) {
+            log.debug("{}: Not inserting (Offset = {}, Length = {}) due to Cache admission policy.", this.traceObjectId, offset, data.getLength());
+            return;
+        }
+
         log.debug("{}: Insert (Offset = {}, Length = {}).", this.traceObjectId, offset, data.getLength());
 
         // There is a very small chance we might be adding data twice, if we get two concurrent requests that slipped past
@@ -760,7 +875,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      */
     private void triggerFutureReads(Collection<FutureReadResultEntry> futureReads) {
         for (FutureReadResultEntry r : futureReads) {
-            ReadResultEntry entry = getSingleReadResultEntry(r.getStreamSegmentOffset(), r.getRequestedReadLength(), false);
+            ReadResultEntry entry = getSingleReadResultEntry(r.getStreamSegmentOffset(), r.getRequestedReadLength(), CacheReadMode.View);
             assert entry != null : "Serving a FutureReadResultEntry with a null result";
             if (entry instanceof FutureReadResultEntry) {
                 // The only valid situation when we can complete a FutureReadResultEntry with another FutureReadResultEntry
@@ -830,7 +945,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                 return null;
             } else {
                 // Fetch data from the cache for the first entry, but do not update the cache hit stats.
-                nextEntry = createMemoryRead(indexEntry, startOffset, length, false, false);
+                nextEntry = createMemoryRead(indexEntry, startOffset, length, false, CacheReadMode.View);
             }
         }
 
@@ -891,7 +1006,18 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                 "startOffset", "StreamSegment is sealed and startOffset is beyond the last offset of the StreamSegment.");
 
         log.debug("{}: Read (Offset = {}, MaxLength = {}).", this.traceObjectId, startOffset, maxLength);
-        return new StreamSegmentReadResult(startOffset, maxLength, this::getMultiReadResultEntry, this.traceObjectId);
+        readAhead(this.readAheadTracker.onRead(startOffset));
+        return new StreamSegmentReadResult(startOffset, maxLength, new StreamSegmentReadResult.NextEntrySupplier() {
+            @Override
+            public CompletableReadResultEntry apply(Long resultStartOffset, Integer remainingLength, Boolean makeCopy) {
+                return getMultiReadResultEntry(resultStartOffset, remainingLength, makeCopy ? CacheReadMode.Copy : CacheReadMode.View);
+            }
+
+            @Override
+            public CompletableReadResultEntry applyPinned(Long resultStartOffset, Integer remainingLength) {
+                return getMultiReadResultEntry(resultStartOffset, remainingLength, CacheReadMode.Pin);
+            }
+        }, this.traceObjectId);
     }
 
     /**
@@ -932,11 +1058,11 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      *
      * @param resultStartOffset The Offset within the StreamSegment where to start returning data from.
      * @param maxLength         The maximum number of bytes to return.
-     * @param makeCopy          If true, any data retrieved from the Cache will be copied into a Heap buffer before being returned.
+     * @param readMode          A {@link CacheReadMode} indicating how to return any data retrieved from the Cache.
      * @return A ReadResultEntry representing the data to return.
      */
     @VisibleForTesting
-    CompletableReadResultEntry getSingleReadResultEntry(long resultStartOffset, int maxLength, boolean makeCopy) {
+    CompletableReadResultEntry getSingleReadResultEntry(long resultStartOffset, int maxLength, CacheReadMode readMode) {
         Exceptions.checkNotClosed(this.closed, this);
 
         if (maxLength < 0) {
@@ -952,6 +1078,13 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         } else if (ra == ReadAvailability.BeforeStartOffset) {
             result = new TruncatedReadResultEntry(resultStartOffset, maxLength, this.metadata.getStartOffset(), this.metadata.getName());
         } else {
+            // Try to serve the read from the Cache without acquiring the lock. If this is not possible, we fall back to
+            // looking up the entry while holding the lock.
+            result = tryOptimisticMemoryRead(resultStartOffset, maxLength, false, readMode);
+            if (result != null) {
+                return result;
+            }
+
             // Look up an entry in the index that contains our requested start offset.
             ReadIndexEntry indexEntry;
             boolean redirect = false;
@@ -970,7 +1103,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                         result = createDataNotAvailableRead(resultStartOffset, maxLength);
                     } else if (indexEntry.isDataEntry()) {
                         // ResultStartOffset is after the StartOffset and before the End Offset of this entry.
-                        result = createMemoryRead(indexEntry, resultStartOffset, maxLength, true, makeCopy);
+                        result = createMemoryRead(indexEntry, resultStartOffset, maxLength, true, readMode);
                     } else if (indexEntry instanceof RedirectIndexEntry) {
                         // ResultStartOffset is after the StartOffset and before the End Offset of this entry, but this
                         // is a Redirect; reissue the request to the appropriate index.
@@ -982,7 +1115,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                 }
             }
             if (redirect) {
-                result = createRedirectedRead(resultStartOffset, maxLength, (RedirectIndexEntry) indexEntry, makeCopy);
+                result = createRedirectedRead(resultStartOffset, maxLength, (RedirectIndexEntry) indexEntry, readMode);
             }
         }
 
@@ -1003,13 +1136,13 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      *
      * @param resultStartOffset The Offset within the StreamSegment where to start returning data from.
      * @param maxLength         The maximum number of bytes to return.
-     * @param makeCopy          If true, any data retrieved from the Cache will be copied into a Heap buffer before being returned.
+     * @param readMode          A {@link CacheReadMode} indicating how to return any data retrieved from the Cache.
      * @return A ReadResultEntry representing the data to return.
      */
-    private CompletableReadResultEntry getMultiReadResultEntry(long resultStartOffset, int maxLength, boolean makeCopy) {
+    private CompletableReadResultEntry getMultiReadResultEntry(long resultStartOffset, int maxLength, CacheReadMode readMode) {
         int readLength = 0;
 
-        CompletableReadResultEntry nextEntry = getSingleReadResultEntry(resultStartOffset, maxLength, makeCopy);
+        CompletableReadResultEntry nextEntry = getSingleReadResultEntry(resultStartOffset, maxLength, readMode);
         if (nextEntry == null || !(nextEntry instanceof CacheReadResultEntry)) {
             // We can only coalesce CacheReadResultEntries.
             return nextEntry;
@@ -1026,7 +1159,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                 break;
             }
 
-            nextEntry = getSingleMemoryReadResultEntry(resultStartOffset + readLength, maxLength - readLength, makeCopy);
+            nextEntry = getSingleMemoryReadResultEntry(resultStartOffset + readLength, maxLength - readLength, readMode);
         } while (nextEntry != null);
 
         // Coalesce the results into a single InputStream and return the result.
@@ -1040,19 +1173,24 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      *
      * @param resultStartOffset The Offset within the StreamSegment where to start returning data from.
      * @param maxLength         The maximum number of bytes to return.
-     * @param makeCopy          If true, any data retrieved from the Cache will be copied into a Heap buffer before being returned.
+     * @param readMode          A {@link CacheReadMode} indicating how to return any data retrieved from the Cache.
      * @return A CacheReadResultEntry representing the data to return.
      */
-    private CacheReadResultEntry getSingleMemoryReadResultEntry(long resultStartOffset, int maxLength, boolean makeCopy) {
+    private CacheReadResultEntry getSingleMemoryReadResultEntry(long resultStartOffset, int maxLength, CacheReadMode readMode) {
         Exceptions.checkNotClosed(this.closed, this);
 
         if (maxLength > 0 && checkReadAvailability(resultStartOffset, false) == ReadAvailability.Available) {
+            CacheReadResultEntry result = tryOptimisticMemoryRead(resultStartOffset, maxLength, true, readMode);
+            if (result != null) {
+                return result;
+            }
+
             // Look up an entry in the index that contains our requested start offset.
             synchronized (this.lock) {
                 ReadIndexEntry indexEntry = this.indexEntries.get(resultStartOffset);
                 if (indexEntry != null && indexEntry.isDataEntry()) {
                     // We found an entry; return a result for it.
-                    return createMemoryRead(indexEntry, resultStartOffset, maxLength, true, makeCopy);
+                    return createMemoryRead(indexEntry, resultStartOffset, maxLength, true, readMode);
                 }
             }
         }
@@ -1076,10 +1214,10 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      * @param streamSegmentOffset This Segment's offset.
      * @param maxLength           Maximum read length.
      * @param entry               {@link RedirectIndexEntry} to read from.
-     * @param makeCopy            Whether to make a copy or not.
+     * @param readMode            A {@link CacheReadMode} indicating how to return any data retrieved from the Cache.
      * @return a {@link CompletableReadResultEntry}.
      */
-    private CompletableReadResultEntry createRedirectedRead(long streamSegmentOffset, int maxLength, RedirectIndexEntry entry, boolean makeCopy) {
+    private CompletableReadResultEntry createRedirectedRead(long streamSegmentOffset, int maxLength, RedirectIndexEntry entry, CacheReadMode readMode) {
         StreamSegmentReadIndex redirectedIndex = entry.getRedirectReadIndex();
         long redirectOffset = streamSegmentOffset - entry.getStreamSegmentOffset();
         long entryLength = entry.getLength(); // This is the source segment length - immutable since the segment must be sealed.
@@ -1097,7 +1235,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
         // Fetch the result from the other index - this method will acquire the other index' lock while executing.
         try {
-            CompletableReadResultEntry result = redirectedIndex.getSingleReadResultEntry(redirectOffset, maxLength, makeCopy);
+            CompletableReadResultEntry result = redirectedIndex.getSingleReadResultEntry(redirectOffset, maxLength, readMode);
             if (result != null) {
                 // Since this is a redirect to a (merged) Transaction, it is possible that between now and when the caller
                 // invokes the requestContent() on the entry the Transaction may be fully merged (in Storage). If that's the
@@ -1107,7 +1245,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                 // a pointer to getSingleReadResultEntry to the RedirectedReadResultEntry in case it fails with such an exception;
                 // that class has logic in it to invoke it if needed and get the right entry.
                 result = new RedirectedReadResultEntry(result, entry.getStreamSegmentOffset(),
-                        (rso, ml, sourceSegmentId) -> getOrRegisterRedirectedRead(rso, ml, sourceSegmentId, makeCopy), redirectedIndex.metadata.getId());
+                        (rso, ml, sourceSegmentId) -> getOrRegisterRedirectedRead(rso, ml, sourceSegmentId, readMode), redirectedIndex.metadata.getId());
             }
 
             return result;
@@ -1120,12 +1258,12 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
             if (!redirectedIndex.closed) {
                 throw ex;
             }
-            return getSingleReadResultEntry(streamSegmentOffset, maxLength, makeCopy);
+            return getSingleReadResultEntry(streamSegmentOffset, maxLength, readMode);
         }
     }
 
-    private CompletableReadResultEntry getOrRegisterRedirectedRead(long resultStartOffset, int maxLength, long sourceSegmentId, boolean makeCopy) {
-        CompletableReadResultEntry result = getSingleReadResultEntry(resultStartOffset, maxLength, makeCopy);
+    private CompletableReadResultEntry getOrRegisterRedirectedRead(long resultStartOffset, int maxLength, long sourceSegmentId, CacheReadMode readMode) {
+        CompletableReadResultEntry result = getSingleReadResultEntry(resultStartOffset, maxLength, readMode);
         if (result instanceof RedirectedReadResultEntry) {
             // The merger isn't completed yet. Register the read so that it is completed when the merger is done.
             PendingMerge pendingMerge;
@@ -1149,7 +1287,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                     log.debug("{}: Pending Merge for id {} was sealed for {}; re-issuing.", this.traceObjectId, sourceSegmentId, result);
                 }
 
-                result = getSingleReadResultEntry(resultStartOffset, maxLength, makeCopy);
+                result = getSingleReadResultEntry(resultStartOffset, maxLength, readMode);
             }
         }
 
@@ -1192,31 +1330,158 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
      * @param streamSegmentOffset The Offset in the StreamSegment where to the ReadResultEntry starts at.
      * @param maxLength           The maximum length of the Read, from the Offset of this ReadResultEntry.
      * @param updateStats         If true, the entry's cache generation is updated as a result of this call.
-     * @param makeCopy          If true, any data retrieved from the Cache will be copied into a Heap buffer before being returned.
+     * @param readMode          A {@link CacheReadMode} indicating how to return any data retrieved from the Cache.
      */
     @GuardedBy("lock")
-    private CacheReadResultEntry createMemoryRead(ReadIndexEntry entry, long streamSegmentOffset, int maxLength, boolean updateStats, boolean makeCopy) {
+    private CacheReadResultEntry createMemoryRead(ReadIndexEntry entry, long streamSegmentOffset, int maxLength, boolean updateStats, CacheReadMode readMode) {
         assert streamSegmentOffset >= entry.getStreamSegmentOffset() : String.format("streamSegmentOffset{%d} < entry.getStreamSegmentOffset{%d}", streamSegmentOffset, entry.getStreamSegmentOffset());
 
         int entryOffset = (int) (streamSegmentOffset - entry.getStreamSegmentOffset());
 
         int length = (int) Math.min(maxLength, entry.getLength() - entryOffset);
         assert length > 0 : String.format("length{%d} <= 0. streamSegmentOffset = %d, maxLength = %d, entry.offset = %d, entry.length = %d", length, streamSegmentOffset, maxLength, entry.getStreamSegmentOffset(), entry.getLength());
-        BufferView data = this.cacheStorage.get(entry.getCacheAddress());
-        assert data != null : String.format("No Cache Entry could be retrieved for entry %s", entry);
-
         if (updateStats) {
-            // Update its generation before returning it.
-            entry.setGeneration(this.summary.touchOne(entry.getGeneration()));
+            applyPendingCacheHits();
+            recordCacheHit((CacheIndexEntry) entry);
         }
 
+        BufferView data = readMode == CacheReadMode.Pin
+                ? this.cacheStorage.getPinned(entry.getCacheAddress())
+                : this.cacheStorage.get(entry.getCacheAddress());
+        assert data != null : String.format("No Cache Entry could be retrieved for entry %s", entry);
+
         data = data.slice(entryOffset, length);
-        if (makeCopy) {
+        if (readMode == CacheReadMode.Copy) {
             data = new ByteArraySegment(data.getCopy());
         }
         return new CacheReadResultEntry(entry.getStreamSegmentOffset() + entryOffset, data);
     }
 
+    /**
+     * Attempts to create a {@link CacheReadResultEntry} for data that is readily available in memory, without acquiring
+     * the lock. This is the common case for tail reads, and it allows them to execute concurrently with appends.
+     *
+     * The index is looked up and the data is read from the Cache optimistically; the result is discarded if any of the
+     * data referenced by this index was evicted or relocated (see {@link #cacheDataLock}) in the meantime. Cache hit
+     * statistics are not updated right away; they are queued up and applied (in bulk) the next time the lock is held.
+     *
+     * @param streamSegmentOffset The Offset in the StreamSegment where to the ReadResultEntry starts at.
+     * @param maxLength           The maximum length of the Read, from the Offset of this ReadResultEntry.
+     * @param exactMatch          If true, only an index entry that begins at streamSegmentOffset will be considered.
+     * @param readMode            A {@link CacheReadMode} indicating how to return any data retrieved from the Cache.
+     * @return A {@link CacheReadResultEntry}, or null if the data is not readily available or if the read needs to be
+     * retried while holding the lock.
+     */
+    private CacheReadResultEntry tryOptimisticMemoryRead(long streamSegmentOffset, int maxLength, boolean exactMatch, CacheReadMode readMode) {
+        if (readMode == CacheReadMode.Pin) {
+            // Pinning cannot be undone if the read turns out to be invalid.
+            return null;
+        }
+
+        long stamp = this.cacheDataLock.tryOptimisticRead();
+        if (stamp == 0) {
+            // Cache data is being deleted or relocated right now.
+            return null;
+        }
+
+        ReadIndexEntry entry = exactMatch ? this.indexEntries.get(streamSegmentOffset) : this.indexEntries.getFloor(streamSegmentOffset);
+        if (entry == null || !entry.isDataEntry() || streamSegmentOffset > entry.getLastStreamSegmentOffset()) {
+            return null;
+        } else if (((CacheIndexEntry) entry).isDemoted()) {
+            // This entry needs to be promoted back to the top Cache tier, which can only be done while holding the lock.
+            return null;
+        }
+
+        int entryOffset = (int) (streamSegmentOffset - entry.getStreamSegmentOffset());
+        int length = (int) Math.min(maxLength, entry.getLength() - entryOffset);
+        BufferView data;
+        try {
+            data = this.cacheStorage.get(entry.getCacheAddress());
+            if (data != null) {
+                data = data.slice(entryOffset, length);
+                if (readMode == CacheReadMode.Copy) {
+                    data = new ByteArraySegment(data.getCopy());
+                }
+            }
+        } catch (RuntimeException ex) {
+            if (this.cacheDataLock.validate(stamp)) {
+                throw ex;
+            }
+
+            // The entry's data has been deleted (and its address possibly reused) while we were reading it.
+            return null;
+        }
+
+        if (data == null || !this.cacheDataLock.validate(stamp)) {
+            return null;
+        }
+
+        queueCacheHit((CacheIndexEntry) entry);
+        return new CacheReadResultEntry(streamSegmentOffset, data);
+    }
+
+    /**
+     * Queues up a cache hit for the given entry, to be applied at a later time (while holding the lock).
+     *
+     * @param entry The {@link CacheIndexEntry} that was read.
+     */
+    private void queueCacheHit(CacheIndexEntry entry) {
+        this.pendingCacheHits.add(entry);
+        if (this.pendingCacheHitCount.incrementAndGet() == PENDING_CACHE_HITS_THRESHOLD) {
+            // Only one thread will observe this exact value (until the queue is drained again).
+            synchronized (this.lock) {
+                applyPendingCacheHits();
+            }
+        }
+    }
+
+    /**
+     * Applies all queued cache hits. Entries that have been removed from the index in the meantime are ignored.
+     */
+    @GuardedBy("lock")
+    private void applyPendingCacheHits() {
+        CacheIndexEntry entry;
+        while ((entry = this.pendingCacheHits.poll()) != null) {
+            this.pendingCacheHitCount.decrementAndGet();
+            if (this.indexEntries.get(entry.key()) == entry) {
+                recordCacheHit(entry);
+            }
+        }
+    }
+
+    /**
+     * Updates the given entry's generation and access statistics as a result of it being read.
+     *
+     * @param entry The {@link CacheIndexEntry} that was read.
+     */
+    @GuardedBy("lock")
+    private void recordCacheHit(CacheIndexEntry entry) {
+        // Update its generation before returning it.
+        entry.setGeneration(this.summary.touchOne(entry.getGeneration()));
+        long accessKey = getAccessKey(entry.getStreamSegmentOffset());
+        this.cacheManager.recordAccess(accessKey);
+        if (!entry.isProtected() && this.cacheManager.isFrequent(accessKey)) {
+            // This entry is accessed frequently enough; protect it from being evicted before entries on probation.
+            entry.setProtected(true);
+        }
+
+        if (!this.storageCacheDisabled && entry.isDemoted()) {
+            // This entry is being actively read; bring it back to the top Cache tier. This changes its address, so any
+            // concurrent reads that do not hold the lock must be invalidated.
+            long stamp = this.cacheDataLock.writeLock();
+            try {
+                int address = entry.getCacheAddress();
+                int newAddress = this.cacheStorage.promote(address);
+                if (newAddress != address) {
+                    entry.setCacheAddress(newAddress);
+                    entry.setDemoted(false);
+                }
+            } finally {
+                this.cacheDataLock.unlockWrite(stamp);
+            }
+        }
+    }
+
     /**
      * Creates a ReadResultEntry that is a placeholder for data that is not in memory, but exists in Storage.
      *
@@ -1238,7 +1503,7 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
                 if (!result.isDerived()) {
                     // Only insert primary results into the cache. Derived results are always sub-portions of primaries
                     // and there is no need to insert them too, as they are already contained within.
-                    insert(offset, data);
+                    insert(offset, data, false);
                 }
             } catch (Exception ex) {
                 log.error("{}: Unable to process Storage Read callback. Offset={}, Result=[{}].", this.traceObjectId, offset, result, ex);
@@ -1248,6 +1513,70 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
         // Queue the request for async processing.
         length = getReadAlignedLength(offset, length);
         this.storageReadManager.execute(new StorageReadManager.Request(offset, length, doneCallback, failureCallback, timeout));
+        readAhead(this.readAheadTracker.onStorageRead(offset, length));
+    }
+
+    /**
+     * Queues Storage Reads for those parts of the given range that are not already in the index. The resulting data is
+     * inserted into the Cache.
+     *
+     * If the Cache is under pressure, nothing is read and the read-ahead window is reduced instead, since any data read
+     * ahead would likely be evicted (or not admitted) before it is used.
+     *
+     * @param range The range to read ahead. If null, nothing is done.
+     */
+    private void readAhead(ReadAheadTracker.Range range) {
+        if (range == null || this.closed || this.recoveryMode || this.merged) {
+            return;
+        }
+
+        val utilizationProvider = this.cacheManager.getUtilizationProvider();
+        if (this.storageCacheDisabled || utilizationProvider.getCacheUtilization() >= utilizationProvider.getCacheTargetUtilization()) {
+            log.debug("{}: Skipping read-ahead (Offset = {}, Length = {}) due to Cache utilization.", this.traceObjectId, range.getOffset(), range.getLength());
+            this.readAheadTracker.backOff();
+            return;
+        }
+
+        long offset = range.getOffset();
+        long endOffset = Math.min(range.getOffset() + range.getLength(), this.metadata.getStorageLength());
+        while (offset < endOffset) {
+            int length = getReadAlignedLength(offset, (int) Math.min(Integer.MAX_VALUE, endOffset - offset));
+            synchronized (this.lock) {
+                ReadIndexEntry existingEntry = this.indexEntries.getFloor(offset);
+                if (existingEntry != null && existingEntry.getLastStreamSegmentOffset() >= offset) {
+                    // This is already in the index.
+                    offset = existingEntry.getLastStreamSegmentOffset() + 1;
+                    continue;
+                }
+
+                length = getLengthUntilNextEntry(offset, length);
+            }
+
+            queueReadAhead(offset, length);
+            offset += length;
+        }
+    }
+
+    private void queueReadAhead(long offset, int length) {
+        log.debug("{}: Read-ahead (Offset = {}, Length = {}).", this.traceObjectId, offset, length);
+        Consumer<StorageReadManager.Result> doneCallback = result -> {
+            try {
+                if (!result.isDerived()) {
+                    insert(offset, result.getData(), true);
+                }
+            } catch (Exception ex) {
+                log.warn("{}: Unable to insert read-ahead data. Offset={}, Result=[{}].", this.traceObjectId, offset, result, ex);
+            }
+        };
+        Consumer<Throwable> failureCallback = ex ->
+                log.debug("{}: Read-ahead failed. Offset={}, Length={}.", this.traceObjectId, offset, length, ex);
+        try {
+            this.storageReadManager.execute(new StorageReadManager.Request(offset, length, doneCallback, failureCallback,
+                    this.config.getStorageReadDefaultTimeout()));
+        } catch (ObjectClosedException ex) {
+            // We are shutting down. Nothing else to do.
+            log.debug("{}: Not executing read-ahead (Offset = {}, Length = {}) due to index being closed.", this.traceObjectId, offset, length);
+        }
     }
 
     /**
@@ -1313,21 +1642,34 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
         List<MergedIndexEntry> result;
         synchronized (this.lock) {
-            result = new ArrayList<>(this.indexEntries.size());
-            this.indexEntries.forEach(entry -> {
-                if (entry.isDataEntry()) {
-                    result.add(new MergedIndexEntry(entry.getStreamSegmentOffset() + offsetAdjustment, this.metadata.getId(), (CacheIndexEntry) entry));
-                }
-            });
+            long stamp = this.cacheDataLock.writeLock();
+            try {
+                result = new ArrayList<>(this.indexEntries.size());
+                this.indexEntries.forEach(entry -> {
+                    if (entry.isDataEntry()) {
+                        result.add(new MergedIndexEntry(entry.getStreamSegmentOffset() + offsetAdjustment, this.metadata.getId(), (CacheIndexEntry) entry));
+                    }
+                });
 
-            // The Index entries are no longer ours and this segment has been deleted. Clear the index to prevent the
-            // Cache Manager from messing around with the Cache Data that is now referenced by another Index.
-            this.indexEntries.clear();
+                // The Index entries are no longer ours and this segment has been deleted. Clear the index to prevent the
+                // Cache Manager from messing around with the Cache Data that is now referenced by another Index.
+                this.indexEntries.clear();
+            } finally {
+                this.cacheDataLock.unlockWrite(stamp);
+            }
         }
 
         return result;
     }
 
+    /**
+     * Gets a key that identifies the Cache Entry beginning at the given offset, for use with the {@link CacheManager}'s
+     * access tracking.
+     */
+    private long getAccessKey(long offset) {
+        return this.metadata.getId() * 0x9E37_79B9_7F4A_7C15L + offset;
+    }
+
     private void deleteData(ReadIndexEntry entry) {
         if (entry.isDataEntry()) {
             this.cacheStorage.delete(entry.getCacheAddress());
@@ -1336,6 +1678,31 @@ class StreamSegmentReadIndex implements CacheManager.Client, AutoCloseable {
 
     //endregion
 
+    //region CacheReadMode
+
+    /**
+     * Defines how data retrieved from the Cache is to be returned.
+     */
+    enum CacheReadMode {
+        /**
+         * The data is copied into a Heap buffer. The result is decoupled from the Cache.
+         */
+        Copy,
+
+        /**
+         * The data is returned as a direct view of the Cache's memory. This view may become invalid if the entry is
+         * evicted from the Cache and its memory reused.
+         */
+        View,
+
+        /**
+         * The data is returned as a direct view of the Cache's memory, which is pinned until the caller releases it.
+         */
+        Pin
+    }
+
+    //endregion
+
     //region ReadAvailability
 
     private enum ReadAvailability {
@@ -50,6 +50,8 @@ public class StreamSegmentReadResult implements ReadResult {
     @GuardedBy("this")
     private boolean copyOnRead;
     @GuardedBy("this")
+    private boolean pinOnRead;
+    @GuardedBy("this")
     private int maxReadAtOnce;
 
     //endregion
@@ -113,6 +115,16 @@ public class StreamSegmentReadResult implements ReadResult {
         this.copyOnRead = value;
     }
 
+    @Override
+    public synchronized boolean isPinOnRead() {
+        return this.pinOnRead;
+    }
+
+    @Override
+    public synchronized void setPinOnRead(boolean value) {
+        this.pinOnRead = value;
+    }
+
     @Override
     public synchronized int getMaxReadAtOnce() {
         return this.maxReadAtOnce;
@@ -205,7 +217,9 @@ public class StreamSegmentReadResult implements ReadResult {
         // Retrieve the next item.
         long startOffset = this.streamSegmentStartOffset + this.consumedLength;
         int remainingLength = Math.min(this.maxReadAtOnce, this.maxResultLength - this.consumedLength);
-        CompletableReadResultEntry entry = this.getNextItem.apply(startOffset, remainingLength, this.copyOnRead);
+        CompletableReadResultEntry entry = this.pinOnRead
+                ? this.getNextItem.applyPinned(startOffset, remainingLength)
+                : this.getNextItem.apply(startOffset, remainingLength, this.copyOnRead);
 
         if (entry == null) {
             assert remainingLength <= 0 : String.format("No ReadResultEntry received when one was expected. Offset %d, MaxLen %d.", startOffset, remainingLength);
@@ -250,6 +264,18 @@ public class StreamSegmentReadResult implements ReadResult {
     @FunctionalInterface
     public interface NextEntrySupplier {
         CompletableReadResultEntry apply(Long startOffset, Integer remainingLength, Boolean makeCopy);
+
+        /**
+         * Same as {@link #apply}, but any cached data is returned as pinned views of the cache memory, which need to be
+         * released by the caller. Suppliers that do not support pinning return copies instead (which is always safe).
+         *
+         * @param startOffset     The offset to start at.
+         * @param remainingLength The maximum length to return.
+         * @return The next entry to be consumed.
+         */
+        default CompletableReadResultEntry applyPinned(Long startOffset, Integer remainingLength) {
+            return apply(startOffset, remainingLength, true);
+        }
     }
 
     //endregion
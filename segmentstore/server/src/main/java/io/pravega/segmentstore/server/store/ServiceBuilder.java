@@ -44,6 +44,7 @@ import io.pravega.segmentstore.server.reading.ContainerReadIndexFactory;
 import io.pravega.segmentstore.server.reading.ReadIndexConfig;
 import io.pravega.segmentstore.server.tables.ContainerTableExtension;
 import io.pravega.segmentstore.server.tables.ContainerTableExtensionImpl;
+import io.pravega.segmentstore.server.tables.TableExtensionConfig;
 import io.pravega.segmentstore.server.tables.TableService;
 import io.pravega.segmentstore.server.writer.StorageWriterFactory;
 import io.pravega.segmentstore.server.writer.WriterConfig;
@@ -51,9 +52,14 @@ import io.pravega.segmentstore.storage.ConfigSetup;
 import io.pravega.segmentstore.storage.DurableDataLogException;
 import io.pravega.segmentstore.storage.DurableDataLogFactory;
 import io.pravega.segmentstore.storage.StorageFactory;
+import io.pravega.segmentstore.storage.cache.CacheStorage;
+import io.pravega.segmentstore.storage.cache.DirectMemoryCache;
+import io.pravega.segmentstore.storage.cache.MappedFileCache;
+import io.pravega.segmentstore.storage.cache.TieredCacheStorage;
 import io.pravega.segmentstore.storage.mocks.InMemoryDurableDataLogFactory;
 import io.pravega.segmentstore.storage.mocks.InMemoryStorageFactory;
 import io.pravega.shared.segment.SegmentToContainerMapper;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Map;
@@ -136,7 +142,23 @@ public class ServiceBuilder implements AutoCloseable {
                 instancePrefix + "low-priority-cleanup", Thread.MIN_PRIORITY);
         this.threadPoolMetrics = new SegmentStoreMetrics.ThreadPool(this.coreExecutor, this.storageExecutor);
 
-        this.cacheManager = new CacheManager(serviceConfig.getCachePolicy(), this.coreExecutor);
+        this.cacheManager = new CacheManager(serviceConfig.getCachePolicy(), createCacheStorage(serviceConfig), this.coreExecutor);
+    }
+
+    private static CacheStorage createCacheStorage(ServiceConfig serviceConfig) {
+        CacheStorage memoryCache = new DirectMemoryCache(serviceConfig.getCachePolicy().getMaxSize());
+        if (serviceConfig.getCacheSsdMaxSize() <= 0) {
+            return memoryCache;
+        }
+
+        // Entries evicted from the Direct Memory Cache will be demoted to the SSD tier instead of being discarded.
+        try {
+            return new TieredCacheStorage(memoryCache,
+                    new MappedFileCache(Paths.get(serviceConfig.getCacheSsdDirectory()), serviceConfig.getCacheSsdMaxSize()));
+        } catch (Throwable ex) {
+            memoryCache.close();
+            throw ex;
+        }
     }
 
     private String getInstanceIdPrefix(ServiceConfig serviceConfig) {
@@ -294,7 +316,9 @@ public class ServiceBuilder implements AutoCloseable {
 
     private Map<Class<? extends SegmentContainerExtension>, SegmentContainerExtension> createContainerExtensions(
             SegmentContainer container, ScheduledExecutorService executor) {
-        return Collections.singletonMap(ContainerTableExtension.class, new ContainerTableExtensionImpl(container, this.cacheManager, executor));
+        TableExtensionConfig tableExtensionConfig = this.serviceBuilderConfig.getConfig(TableExtensionConfig::configBuilder);
+        return Collections.singletonMap(ContainerTableExtension.class,
+                new ContainerTableExtensionImpl(tableExtensionConfig, container, this.cacheManager, executor));
     }
 
     private SegmentContainerRegistry createSegmentContainerRegistry() {
@@ -73,6 +73,9 @@ public class ServiceConfig {
     public static final Property<Integer> CACHE_POLICY_MAX_UTILIZATION = Property.named("cache.utilization.percent.max", (int) (100 * CachePolicy.DEFAULT_MAX_UTILIZATION), "cacheMaxUtilizationPercent");
     public static final Property<Integer> CACHE_POLICY_MAX_TIME = Property.named("cache.time.seconds.max", 30 * 60, "cacheMaxTimeSeconds");
     public static final Property<Integer> CACHE_POLICY_GENERATION_TIME = Property.named("cache.generation.duration.seconds", 1, "cacheGenerationTimeSeconds");
+    public static final Property<CachePolicy.EvictionPolicy> CACHE_POLICY_EVICTION = Property.named("cache.eviction.policy", CachePolicy.EvictionPolicy.GENERATIONAL);
+    public static final Property<Long> CACHE_SSD_MAX_SIZE = Property.named("cache.ssd.size.max", 0L);
+    public static final Property<String> CACHE_SSD_DIRECTORY = Property.named("cache.ssd.dir", "");
     public static final Property<Boolean> REPLY_WITH_STACK_TRACE_ON_ERROR = Property.named("request.replyWithStackTraceOnError.enable", false, "replyWithStackTraceOnError");
     public static final Property<String> INSTANCE_ID = Property.named("instance.id", "");
 
@@ -102,7 +105,12 @@ public class ServiceConfig {
         /**
          * InMemory DataLog. Contents will be lost when the process exits.
          */
-        INMEMORY
+        INMEMORY,
+
+        /**
+         * DataLog is implemented by preallocated, append-only files on a local disk. Suitable for single-node deployments.
+         */
+        LOCALDISK
     }
 
     public enum StorageType {
@@ -296,6 +304,18 @@ public class ServiceConfig {
     @Getter
     private final CachePolicy cachePolicy;
 
+    /**
+     * The maximum size, in bytes, of the SSD Cache tier. If 0, the SSD Cache tier is disabled.
+     */
+    @Getter
+    private final long cacheSsdMaxSize;
+
+    /**
+     * The directory where the SSD Cache tier stores its data. This should be on a local SSD.
+     */
+    @Getter
+    private final String cacheSsdDirectory;
+
     /**
      * Defines whether server-side stack traces should be send to clients as part of an error response.
      */
@@ -395,8 +415,17 @@ public class ServiceConfig {
         double cachePolicyMaxUtilization = properties.getInt(CACHE_POLICY_MAX_UTILIZATION) / 100.0;
         int cachePolicyMaxTime = properties.getInt(CACHE_POLICY_MAX_TIME);
         int cachePolicyGenerationTime = properties.getInt(CACHE_POLICY_GENERATION_TIME);
+        CachePolicy.EvictionPolicy cachePolicyEviction = properties.getEnum(CACHE_POLICY_EVICTION, CachePolicy.EvictionPolicy.class);
         this.cachePolicy = new CachePolicy(cachePolicyMaxSize, cachePolicyTargetUtilization, cachePolicyMaxUtilization,
-                Duration.ofSeconds(cachePolicyMaxTime), Duration.ofSeconds(cachePolicyGenerationTime));
+                Duration.ofSeconds(cachePolicyMaxTime), Duration.ofSeconds(cachePolicyGenerationTime), cachePolicyEviction);
+        this.cacheSsdMaxSize = properties.getLong(CACHE_SSD_MAX_SIZE);
+        if (this.cacheSsdMaxSize < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative number.", CACHE_SSD_MAX_SIZE));
+        }
+        this.cacheSsdDirectory = properties.get(CACHE_SSD_DIRECTORY);
+        if (this.cacheSsdMaxSize > 0 && Strings.isNullOrEmpty(this.cacheSsdDirectory)) {
+            throw new ConfigurationException(String.format("Property '%s' must be set if '%s' is set.", CACHE_SSD_DIRECTORY, CACHE_SSD_MAX_SIZE));
+        }
         this.replyWithStackTraceOnError = properties.getBoolean(REPLY_WITH_STACK_TRACE_ON_ERROR);
         this.instanceId = properties.get(INSTANCE_ID);
         this.restListeningIPAddress = properties.get(REST_LISTENING_HOST);
@@ -459,6 +488,8 @@ public class ServiceConfig {
                         Strings.isNullOrEmpty(keyFile) ? "unspecified" : "specified"))
                 .append(String.format("enableTlsReload: %b, ", enableTlsReload))
                 .append(String.format("cachePolicy is %s, ", (cachePolicy != null) ? cachePolicy.toString() : "null"))
+                .append(String.format("cacheSsdMaxSize: %d, ", cacheSsdMaxSize))
+                .append(String.format("cacheSsdDirectory: %s, ", cacheSsdDirectory))
                 .append(String.format("replyWithStackTraceOnError: %b, ", replyWithStackTraceOnError))
                 .append(String.format("instanceId: %s", instanceId))
                 .append(String.format("enableAdminGateway: %b, ", enableAdminGateway))
@@ -39,6 +39,7 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
     //region Members
 
     private final CacheStorage cacheStorage;
+    private final boolean offHeapTailCache;
     @GuardedBy("segmentCaches")
     private final Map<Long, SegmentKeyCache> segmentCaches;
     @GuardedBy("segmentCaches")
@@ -55,7 +56,19 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
      * @param cacheStorage A {@link CacheStorage} that can be used to store data in memory.
      */
     ContainerKeyCache(@NonNull CacheStorage cacheStorage) {
+        this(cacheStorage, false);
+    }
+
+    /**
+     * Creates a new instance of the ContainerKeyCache class.
+     *
+     * @param cacheStorage     A {@link CacheStorage} that can be used to store data in memory.
+     * @param offHeapTailCache If true, the tail section of each Segment's cache (un-indexed Key Hashes and Backpointers)
+     *                         will be stored in direct (off-heap) memory. See {@link SegmentKeyCache}.
+     */
+    ContainerKeyCache(@NonNull CacheStorage cacheStorage, boolean offHeapTailCache) {
         this.cacheStorage = cacheStorage;
+        this.offHeapTailCache = offHeapTailCache;
         this.segmentCaches = new HashMap<>();
         this.closed = new AtomicBoolean();
     }
@@ -73,7 +86,7 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
                 this.segmentCaches.clear();
             }
 
-            toEvict.forEach(s -> s.evictAll().forEach(SegmentKeyCache.CacheEntry::evict));
+            toEvict.forEach(this::discard);
         }
     }
 
@@ -137,7 +150,7 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
         int generation;
         synchronized (this.segmentCaches) {
             generation = this.currentCacheGeneration;
-            cache = this.segmentCaches.computeIfAbsent(segmentId, s -> new SegmentKeyCache(s, this.cacheStorage));
+            cache = this.segmentCaches.computeIfAbsent(segmentId, this::newSegmentCache);
         }
 
         return cache.includeUpdateBatch(batch, batchOffset, generation);
@@ -156,7 +169,7 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
         int generation;
         synchronized (this.segmentCaches) {
             generation = this.currentCacheGeneration;
-            cache = this.segmentCaches.computeIfAbsent(segmentId, s -> new SegmentKeyCache(s, this.cacheStorage));
+            cache = this.segmentCaches.computeIfAbsent(segmentId, this::newSegmentCache);
         }
 
         cache.includeTailCache(keyOffsets, generation);
@@ -181,7 +194,7 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
         int generation;
         synchronized (this.segmentCaches) {
             generation = this.currentCacheGeneration;
-            cache = this.segmentCaches.computeIfAbsent(segmentId, s -> new SegmentKeyCache(s, this.cacheStorage));
+            cache = this.segmentCaches.computeIfAbsent(segmentId, this::newSegmentCache);
         }
 
         return cache.includeExistingKey(keyHash, segmentOffset, generation);
@@ -223,13 +236,13 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
             if (remove) {
                 cache = this.segmentCaches.remove(segmentId);
             } else {
-                cache = this.segmentCaches.computeIfAbsent(segmentId, s -> new SegmentKeyCache(s, this.cacheStorage));
+                cache = this.segmentCaches.computeIfAbsent(segmentId, this::newSegmentCache);
             }
         }
 
         if (cache != null) {
             if (remove) {
-                cache.evictAll().forEach(SegmentKeyCache.CacheEntry::evict);
+                discard(cache);
             } else {
                 cache.setLastIndexedOffset(indexOffset, generation);
             }
@@ -250,7 +263,7 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
         synchronized (this.segmentCaches) {
             generation = this.currentCacheGeneration;
             if (!this.segmentCaches.containsKey(segmentId)) {
-                cache = new SegmentKeyCache(segmentId, this.cacheStorage);
+                cache = newSegmentCache(segmentId);
             }
         }
 
@@ -301,6 +314,15 @@ class ContainerKeyCache implements CacheManager.Client, AutoCloseable {
         return forSegmentCache(segmentId, SegmentKeyCache::getTailEntryCountDelta, 0);
     }
 
+    private SegmentKeyCache newSegmentCache(long segmentId) {
+        return new SegmentKeyCache(segmentId, this.cacheStorage, this.offHeapTailCache);
+    }
+
+    private void discard(SegmentKeyCache cache) {
+        cache.evictAll().forEach(SegmentKeyCache.CacheEntry::evict);
+        cache.releaseTailCache();
+    }
+
     private <T> T forSegmentCache(long segmentId, Function<SegmentKeyCache, T> ifExists, T ifNotExists) {
         SegmentKeyCache cache;
         synchronized (this.segmentCaches) {
@@ -49,6 +49,7 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -81,6 +82,7 @@ class ContainerKeyIndex implements AutoCloseable {
     private final CacheManager cacheManager;
     private final MultiKeySequentialProcessor<Map.Entry<Long, UUID>> conditionalUpdateProcessor;
     private final SegmentTracker segmentTracker;
+    private final ConcurrentHashMap<Long, TableKeyFilter> keyFilters;
     private final AtomicBoolean closed;
     private final KeyHasher keyHasher;
     private final String traceObjectId;
@@ -102,13 +104,14 @@ class ContainerKeyIndex implements AutoCloseable {
      */
     ContainerKeyIndex(int containerId, @NonNull TableExtensionConfig config, @NonNull CacheManager cacheManager,
                       @NonNull KeyHasher keyHasher, @NonNull ScheduledExecutorService executor) {
-        this.cache = new ContainerKeyCache(cacheManager.getCacheStorage());
+        this.cache = new ContainerKeyCache(cacheManager.getCacheStorage(), config.isOffHeapTailCache());
         this.cacheManager = cacheManager;
         this.cacheManager.register(this.cache);
         this.executor = executor;
         this.indexReader = new IndexReader(executor);
         this.conditionalUpdateProcessor = new MultiKeySequentialProcessor<>(this.executor);
         this.segmentTracker = new SegmentTracker();
+        this.keyFilters = new ConcurrentHashMap<>();
         this.keyHasher = keyHasher;
         this.closed = new AtomicBoolean();
         this.traceObjectId = String.format("KeyIndex[%d]", containerId);
@@ -297,8 +300,28 @@ class ContainerKeyIndex implements AutoCloseable {
 
     private CompletableFuture<Map<UUID, Long>> getBucketOffsetFromSegment(DirectSegmentAccess segment, Map<UUID, Long> result,
                                                                           Collection<UUID> toLookup, boolean tryCache, TimeoutTimer timer) {
+        // Any Key Hash that is not in the Segment's TableKeyFilter (if it has one) is definitely not in the index, so
+        // there is no need to look it up.
+        val keyFilter = this.keyFilters.get(segment.getSegmentId());
+        Collection<UUID> toLocate = toLookup;
+        if (keyFilter != null) {
+            toLocate = toLookup.stream().filter(keyFilter::mightContain).collect(Collectors.toList());
+            if (toLocate.size() < toLookup.size()) {
+                val toLocateSet = new HashSet<UUID>(toLocate);
+                for (UUID keyHash : toLookup) {
+                    if (!toLocateSet.contains(keyHash)) {
+                        recordInexistentBucket(segment, keyHash, tryCache, result);
+                    }
+                }
+            }
+
+            if (toLocate.isEmpty()) {
+                return CompletableFuture.completedFuture(result);
+            }
+        }
+
         return this.indexReader
-                .locateBuckets(segment, toLookup, timer)
+                .locateBuckets(segment, toLocate, timer)
                 .thenApplyAsync(bucketsByHash -> {
                     for (val e : bucketsByHash.entrySet()) {
                         UUID keyHash = e.getKey();
@@ -310,15 +333,8 @@ class ContainerKeyIndex implements AutoCloseable {
                             long highestOffset = this.cache.includeExistingKey(
                                     segment.getSegmentId(), keyHash, bucket.getSegmentOffset());
                             result.put(keyHash, highestOffset);
-                        } else if (tryCache) {
-                            // We were instructed to retry the cache.
-                            val existingValue = this.cache.get(segment.getSegmentId(), keyHash);
-                            result.put(keyHash, existingValue == null || existingValue.isRemoval() ? TableKey.NOT_EXISTS : existingValue.getSegmentOffset());
                         } else {
-                            // Inexistent bucket. What we are looking for does not exist. Do not update the information
-                            // in the cache as this would have the potential to fill up the cache with useless keys
-                            // if the application requests a lot of them (excellent DoS opportunity!).
-                            result.put(keyHash, TableKey.NOT_EXISTS);
+                            recordInexistentBucket(segment, keyHash, tryCache, result);
                         }
                     }
 
@@ -326,6 +342,19 @@ class ContainerKeyIndex implements AutoCloseable {
                 }, this.executor);
     }
 
+    private void recordInexistentBucket(DirectSegmentAccess segment, UUID keyHash, boolean tryCache, Map<UUID, Long> result) {
+        if (tryCache) {
+            // We were instructed to retry the cache.
+            val existingValue = this.cache.get(segment.getSegmentId(), keyHash);
+            result.put(keyHash, existingValue == null || existingValue.isRemoval() ? TableKey.NOT_EXISTS : existingValue.getSegmentOffset());
+        } else {
+            // Inexistent bucket. What we are looking for does not exist. Do not update the information
+            // in the cache as this would have the potential to fill up the cache with useless keys
+            // if the application requests a lot of them (excellent DoS opportunity!).
+            result.put(keyHash, TableKey.NOT_EXISTS);
+        }
+    }
+
     /**
      * Looks up a Backpointer offset.
      *
@@ -563,10 +592,30 @@ class ContainerKeyIndex implements AutoCloseable {
      * @param processedBytes The total number of bytes processed during this update (including duplicates).
      */
     void notifyIndexOffsetChanged(long segmentId, long indexOffset, int processedBytes) {
+        if (indexOffset < 0) {
+            this.keyFilters.remove(segmentId);
+        }
+
         this.cache.updateSegmentIndexOffset(segmentId, indexOffset);
         this.segmentTracker.updateSegmentIndexOffset(segmentId, indexOffset, processedBytes);
     }
 
+    /**
+     * Notifies this ContainerKeyIndex instance that the {@link TableKeyFilter} for the given Segment has been loaded or
+     * discarded. The {@link TableKeyFilter} must be kept up-to-date with the Segment's index by the caller; any Key Hash
+     * that is not in it will be assumed not to exist in the index.
+     *
+     * @param segmentId The Id of the Segment.
+     * @param keyFilter The {@link TableKeyFilter} for the Segment, or null if there is none.
+     */
+    void notifyKeyFilterChanged(long segmentId, TableKeyFilter keyFilter) {
+        if (keyFilter == null) {
+            this.keyFilters.remove(segmentId);
+        } else {
+            this.keyFilters.put(segmentId, keyFilter);
+        }
+    }
+
     /**
      * Gets the KeyHashes and their corresponding offsets for not-yet-indexed Table Buckets. These are updates
      * that have been accepted and written to the Segment but not yet indexed (persisted via the {@link IndexWriter}).
@@ -78,7 +78,20 @@ public class ContainerTableExtensionImpl implements ContainerTableExtension {
      * @param executor         An Executor to use for async tasks.
      */
     public ContainerTableExtensionImpl(SegmentContainer segmentContainer, CacheManager cacheManager, ScheduledExecutorService executor) {
-        this(TableExtensionConfig.builder().build(), segmentContainer, cacheManager, KeyHasher.sha256(), executor);
+        this(TableExtensionConfig.builder().build(), segmentContainer, cacheManager, executor);
+    }
+
+    /**
+     * Creates a new instance of the ContainerTableExtensionImpl class.
+     *
+     * @param config           The {@link TableExtensionConfig} to use.
+     * @param segmentContainer The {@link SegmentContainer} to associate with.
+     * @param cacheManager     The {@link CacheManager} to use to manage the cache.
+     * @param executor         An Executor to use for async tasks.
+     */
+    public ContainerTableExtensionImpl(TableExtensionConfig config, SegmentContainer segmentContainer, CacheManager cacheManager,
+                                       ScheduledExecutorService executor) {
+        this(config, segmentContainer, cacheManager, KeyHasher.sha256(), executor);
     }
 
     /**
@@ -334,6 +334,16 @@ class HashTableSegmentLayout extends TableSegmentLayout {
             return HashTableSegmentLayout.this.config.getMaxCompactionSize();
         }
 
+        @Override
+        public int getKeyFilterBitCount() {
+            return HashTableSegmentLayout.this.config.getKeyFilterBitCount();
+        }
+
+        @Override
+        public void notifyKeyFilterChanged(TableKeyFilter keyFilter) {
+            HashTableSegmentLayout.this.keyIndex.notifyKeyFilterChanged(this.metadata.getId(), keyFilter);
+        }
+
         @Override
         public void close() {
             // Tell the KeyIndex that it's ok to clear any tail-end cache.
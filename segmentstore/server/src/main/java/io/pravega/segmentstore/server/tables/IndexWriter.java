@@ -26,9 +26,13 @@ import io.pravega.segmentstore.contracts.BadAttributeUpdateException;
 import io.pravega.segmentstore.contracts.tables.TableAttributes;
 import io.pravega.segmentstore.server.DirectSegmentAccess;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -118,6 +122,28 @@ class IndexWriter extends IndexReader {
      */
     CompletableFuture<Integer> updateBuckets(DirectSegmentAccess segment, Collection<BucketUpdate> bucketUpdates,
                                              long firstIndexedOffset, long lastIndexedOffset, int processedCount, Duration timeout) {
+        return updateBuckets(segment, bucketUpdates, null, firstIndexedOffset, lastIndexedOffset, processedCount, timeout);
+    }
+
+    /**
+     * Same as {@link #updateBuckets(DirectSegmentAccess, Collection, long, long, int, Duration)}, but also keeps the
+     * given {@link TableKeyFilter} up to date with the index.
+     *
+     * The Key Hashes of all newly created {@link TableBucket}s are added to the {@link TableKeyFilter} before the index
+     * is updated and the modified parts of the filter are persisted atomically with the index. If lastIndexedOffset
+     * does not exceed firstIndexedOffset, the filter will not be persisted (as the index cannot be modified either).
+     *
+     * @param segment            A {@link DirectSegmentAccess} representing the Segment to apply the updates to.
+     * @param bucketUpdates      A Collection of {@link BucketUpdate} instances to apply.
+     * @param keyFilter          The {@link TableKeyFilter} to update. May be null, in which case no filter is updated.
+     * @param firstIndexedOffset The first offset in the Segment that is indexed.
+     * @param lastIndexedOffset  The last offset in the Segment that is indexed.
+     * @param processedCount     The total number of Table Entry updates processed.
+     * @param timeout            Timeout for the operation.
+     * @return A CompletableFuture that, when completed, will contain the number attribute updates.
+     */
+    CompletableFuture<Integer> updateBuckets(DirectSegmentAccess segment, Collection<BucketUpdate> bucketUpdates, TableKeyFilter keyFilter,
+                                             long firstIndexedOffset, long lastIndexedOffset, int processedCount, Duration timeout) {
         UpdateInstructions update = new UpdateInstructions();
 
         // Process each Key in the given Map.
@@ -129,6 +155,9 @@ class IndexWriter extends IndexReader {
         if (lastIndexedOffset > firstIndexedOffset) {
             // Atomically update the Table-related attributes in the Segment's metadata, once we apply these changes.
             generateTableAttributeUpdates(firstIndexedOffset, lastIndexedOffset, processedCount, update);
+            if (keyFilter != null) {
+                generateKeyFilterUpdates(keyFilter, lastIndexedOffset, update);
+            }
         }
 
         if (update.getAttributes().isEmpty()) {
@@ -203,7 +232,7 @@ class IndexWriter extends IndexReader {
         assert bucketOffset >= 0;
         update.withAttribute(new AttributeUpdate(AttributeId.fromUUID(bucket.getHash()), AttributeUpdateType.Replace, bucketOffset));
         if (!bucket.exists()) {
-            update.bucketAdded();
+            update.bucketAdded(bucket.getHash());
         }
     }
 
@@ -249,6 +278,20 @@ class IndexWriter extends IndexReader {
         }
     }
 
+    /**
+     * Adds the Key Hashes of all new {@link TableBucket}s to the given {@link TableKeyFilter} and generates the
+     * {@link AttributeUpdate}s needed to persist the changes.
+     *
+     * @param keyFilter   The {@link TableKeyFilter} to update.
+     * @param newOffset   The new offset to set for {@link TableAttributes#INDEX_OFFSET}.
+     * @param update      A {@link UpdateInstructions} object to collect updates into.
+     */
+    private void generateKeyFilterUpdates(TableKeyFilter keyFilter, long newOffset, UpdateInstructions update) {
+        val touchedWords = new HashSet<Integer>();
+        update.getNewBucketHashes().forEach(hash -> keyFilter.add(hash, touchedWords));
+        keyFilter.generateAttributeUpdates(touchedWords, newOffset, update::withAttribute);
+    }
+
     //endregion
 
     //region Backpointers
@@ -342,13 +385,16 @@ class IndexWriter extends IndexReader {
         private int bucketCountDelta = 0;
         @Getter
         private int entryCountDelta = 0;
+        @Getter
+        private final List<UUID> newBucketHashes = new ArrayList<>();
 
         void withAttribute(AttributeUpdate au) {
             this.attributes.add(au);
         }
 
-        void bucketAdded() {
+        void bucketAdded(UUID hash) {
             this.bucketCountDelta++;
+            this.newBucketHashes.add(hash);
         }
 
         void bucketRemoved() {
@@ -0,0 +1,440 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.tables;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An open-addressing hash table that maps fixed-length keys made up of one or two longs to long values, without boxing
+ * any of them.
+ *
+ * All entries are stored in a single flat array of longs: each slot holds the key words followed by the value, and an
+ * occupancy bitmap follows the slots. This array can be allocated either on the heap (a {@code long[]}) or in direct
+ * memory, in which case the table's contents are entirely invisible to the Garbage Collector. Direct memory is released
+ * when the table is resized or when {@link #release()} is invoked; no memory is allocated until the first entry is added.
+ *
+ * Collisions are resolved using linear probing, and removals use backward-shift deletion, so there are no tombstones and
+ * lookups do not degrade as entries are added and removed.
+ *
+ * When the key length is 1, the second key component (k2) passed to any of the methods below is ignored.
+ */
+@NotThreadSafe
+class LongKeyedHashTable {
+    //region Members
+
+    private static final UnpooledByteBufAllocator DIRECT_ALLOCATOR = new UnpooledByteBufAllocator(true, true);
+    private static final int MIN_CAPACITY = Long.SIZE;
+    private static final int MAX_CAPACITY = 1 << 26; // Slots and bitmap must fit in a single 2GB buffer.
+    private static final int LOAD_FACTOR_PERCENT = 75;
+    private final int keyLength;
+    private final int slotLength;
+    private final boolean direct;
+    private Words words;
+    private int capacity;
+    private int size;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the LongKeyedHashTable class.
+     *
+     * @param keyLength The number of longs making up each key. Must be 1 or 2.
+     * @param direct    True if the entries should be stored in direct (off-heap) memory, false if on the heap.
+     */
+    LongKeyedHashTable(int keyLength, boolean direct) {
+        Preconditions.checkArgument(keyLength == 1 || keyLength == 2, "keyLength must be 1 or 2.");
+        this.keyLength = keyLength;
+        this.slotLength = keyLength + 1;
+        this.direct = direct;
+        this.capacity = 0;
+        this.size = 0;
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Gets the number of entries in this table.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets a value indicating whether the given key exists in this table.
+     */
+    boolean containsKey(long k1, long k2) {
+        return find(k1, k2) >= 0;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param k1           The first component of the key.
+     * @param k2           The second component of the key.
+     * @param defaultValue The value to return if the key does not exist.
+     * @return The value associated with the key, or defaultValue if no such key exists.
+     */
+    long get(long k1, long k2, long defaultValue) {
+        int slot = find(k1, k2);
+        return slot < 0 ? defaultValue : this.words.get(valueIndex(slot));
+    }
+
+    /**
+     * Associates the given value with the given key, replacing any existing value.
+     *
+     * @param k1    The first component of the key.
+     * @param k2    The second component of the key.
+     * @param value The value to set.
+     */
+    void put(long k1, long k2, long value) {
+        if (this.capacity == 0 || (long) (this.size + 1) * 100 > (long) this.capacity * LOAD_FACTOR_PERCENT) {
+            resize(Math.max(MIN_CAPACITY, this.capacity * 2));
+        }
+
+        int slot = slotOf(k1, k2);
+        while (isOccupied(slot)) {
+            if (keyEquals(slot, k1, k2)) {
+                this.words.set(valueIndex(slot), value);
+                return;
+            }
+
+            slot = next(slot);
+        }
+
+        setSlot(slot, k1, k2, value);
+        setOccupied(slot, true);
+        this.size++;
+    }
+
+    /**
+     * Removes the given key.
+     *
+     * @param k1 The first component of the key.
+     * @param k2 The second component of the key.
+     * @return True if the key was removed, false if it did not exist.
+     */
+    boolean remove(long k1, long k2) {
+        int slot = find(k1, k2);
+        if (slot < 0) {
+            return false;
+        }
+
+        removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Removes the given key, but only if it is currently associated with the given value.
+     *
+     * @param k1            The first component of the key.
+     * @param k2            The second component of the key.
+     * @param expectedValue The value the key must be associated with.
+     * @return True if the key was removed, false otherwise.
+     */
+    boolean remove(long k1, long k2, long expectedValue) {
+        int slot = find(k1, k2);
+        if (slot < 0 || this.words.get(valueIndex(slot)) != expectedValue) {
+            return false;
+        }
+
+        removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Invokes the given consumer for every entry in this table. The table must not be modified while this is in progress.
+     *
+     * @param consumer The consumer to invoke.
+     */
+    void forEach(EntryConsumer consumer) {
+        for (int slot = 0; slot < this.capacity; slot++) {
+            if (isOccupied(slot)) {
+                consumer.accept(k1(slot), k2(slot), this.words.get(valueIndex(slot)));
+            }
+        }
+    }
+
+    /**
+     * Removes all entries that match the given predicate. Once done, the table will be shrunk if it became too sparse.
+     *
+     * @param predicate The predicate to test entries with. This may be invoked more than once for the same entry.
+     * @return The number of entries removed.
+     */
+    int removeIf(EntryPredicate predicate) {
+        int initialSize = this.size;
+        int slot = 0;
+        while (slot < this.capacity) {
+            if (isOccupied(slot) && predicate.test(k1(slot), k2(slot), this.words.get(valueIndex(slot)))) {
+                // Backward-shift deletion may move a subsequent (yet unvisited) entry into this slot, so we need to
+                // re-examine it. Entries that wrapped around from the beginning of the table may also be moved here,
+                // in which case they will be tested again.
+                removeSlot(slot);
+            } else {
+                slot++;
+            }
+        }
+
+        if (this.size == 0) {
+            release();
+        } else if (this.capacity > MIN_CAPACITY && (long) this.size * 100 * 4 < (long) this.capacity * LOAD_FACTOR_PERCENT) {
+            resize(Math.max(MIN_CAPACITY, Integer.highestOneBit(this.size) * 4));
+        }
+
+        return initialSize - this.size;
+    }
+
+    /**
+     * Removes all entries from this table and releases any memory used by it. The table may be used after this.
+     */
+    void release() {
+        if (this.words != null) {
+            this.words.release();
+            this.words = null;
+        }
+
+        this.capacity = 0;
+        this.size = 0;
+    }
+
+    /**
+     * Gets the number of slots in this table.
+     */
+    @VisibleForTesting
+    int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Gets the number of bytes of direct memory currently allocated by all direct instances of this class.
+     */
+    @VisibleForTesting
+    static long getUsedDirectMemory() {
+        return DIRECT_ALLOCATOR.metric().usedDirectMemory();
+    }
+
+    //endregion
+
+    //region Helpers
+
+    private int find(long k1, long k2) {
+        if (this.size == 0) {
+            return -1;
+        }
+
+        int slot = slotOf(k1, k2);
+        while (isOccupied(slot)) {
+            if (keyEquals(slot, k1, k2)) {
+                return slot;
+            }
+
+            slot = next(slot);
+        }
+
+        return -1;
+    }
+
+    private void removeSlot(int slot) {
+        // Backward-shift deletion: walk the cluster following the removed slot and move back any entry whose ideal slot
+        // is not between the hole and its current position (cyclically), since it would otherwise become unreachable.
+        int hole = slot;
+        int current = next(hole);
+        while (isOccupied(current)) {
+            int ideal = slotOf(k1(current), k2(current));
+            boolean canMove = hole <= current
+                    ? ideal <= hole || ideal > current
+                    : ideal <= hole && ideal > current;
+            if (canMove) {
+                setSlot(hole, k1(current), k2(current), this.words.get(valueIndex(current)));
+                hole = current;
+            }
+
+            current = next(current);
+        }
+
+        setOccupied(hole, false);
+        this.size--;
+    }
+
+    private void resize(int newCapacity) {
+        Preconditions.checkState(newCapacity <= MAX_CAPACITY, "LongKeyedHashTable cannot grow beyond %s slots.", MAX_CAPACITY);
+        Words oldWords = this.words;
+        int oldCapacity = this.capacity;
+        this.words = allocate(newCapacity * this.slotLength + newCapacity / Long.SIZE);
+        this.capacity = newCapacity;
+        this.size = 0;
+        if (oldWords != null) {
+            try {
+                int bitmapOffset = oldCapacity * this.slotLength;
+                for (int slot = 0; slot < oldCapacity; slot++) {
+                    if ((oldWords.get(bitmapOffset + (slot >>> 6)) & (1L << slot)) != 0) {
+                        int base = slot * this.slotLength;
+                        put(oldWords.get(base), this.keyLength == 1 ? 0 : oldWords.get(base + 1), oldWords.get(base + this.keyLength));
+                    }
+                }
+            } finally {
+                oldWords.release();
+            }
+        }
+    }
+
+    private Words allocate(int wordCount) {
+        return this.direct ? new DirectWords(wordCount) : new HeapWords(wordCount);
+    }
+
+    private int slotOf(long k1, long k2) {
+        long h = this.keyLength == 1 ? k1 : k1 + 0x9E3779B97F4A7C15L * k2;
+        // MurmurHash3 finalizer; spreads clustered keys (such as Segment Offsets) across the whole table.
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & (this.capacity - 1);
+    }
+
+    private int next(int slot) {
+        return (slot + 1) & (this.capacity - 1);
+    }
+
+    private boolean keyEquals(int slot, long k1, long k2) {
+        int base = slot * this.slotLength;
+        return this.words.get(base) == k1 && (this.keyLength == 1 || this.words.get(base + 1) == k2);
+    }
+
+    private long k1(int slot) {
+        return this.words.get(slot * this.slotLength);
+    }
+
+    private long k2(int slot) {
+        return this.keyLength == 1 ? 0 : this.words.get(slot * this.slotLength + 1);
+    }
+
+    private int valueIndex(int slot) {
+        return slot * this.slotLength + this.keyLength;
+    }
+
+    private void setSlot(int slot, long k1, long k2, long value) {
+        int base = slot * this.slotLength;
+        this.words.set(base, k1);
+        if (this.keyLength == 2) {
+            this.words.set(base + 1, k2);
+        }
+
+        this.words.set(base + this.keyLength, value);
+    }
+
+    private boolean isOccupied(int slot) {
+        return (this.words.get(this.capacity * this.slotLength + (slot >>> 6)) & (1L << slot)) != 0;
+    }
+
+    private void setOccupied(int slot, boolean occupied) {
+        int index = this.capacity * this.slotLength + (slot >>> 6);
+        long bits = this.words.get(index);
+        this.words.set(index, occupied ? bits | (1L << slot) : bits & ~(1L << slot));
+    }
+
+    //endregion
+
+    //region Words
+
+    /**
+     * A fixed-size array of longs.
+     */
+    private interface Words {
+        long get(int index);
+
+        void set(int index, long value);
+
+        void release();
+    }
+
+    private static class HeapWords implements Words {
+        private final long[] array;
+
+        HeapWords(int length) {
+            this.array = new long[length];
+        }
+
+        @Override
+        public long get(int index) {
+            return this.array[index];
+        }
+
+        @Override
+        public void set(int index, long value) {
+            this.array[index] = value;
+        }
+
+        @Override
+        public void release() {
+            // Nothing to do. The GC will reclaim the array.
+        }
+    }
+
+    private static class DirectWords implements Words {
+        private final ByteBuf buffer;
+
+        DirectWords(int length) {
+            this.buffer = DIRECT_ALLOCATOR.directBuffer(length * Long.BYTES, length * Long.BYTES);
+            this.buffer.setZero(0, this.buffer.capacity());
+        }
+
+        @Override
+        public long get(int index) {
+            return this.buffer.getLong(index * Long.BYTES);
+        }
+
+        @Override
+        public void set(int index, long value) {
+            this.buffer.setLong(index * Long.BYTES, value);
+        }
+
+        @Override
+        public void release() {
+            this.buffer.release();
+        }
+    }
+
+    //endregion
+
+    //region Functional Interfaces
+
+    /**
+     * Consumes an entry in a {@link LongKeyedHashTable}.
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long k1, long k2, long value);
+    }
+
+    /**
+     * Tests an entry in a {@link LongKeyedHashTable}.
+     */
+    @FunctionalInterface
+    interface EntryPredicate {
+        boolean test(long k1, long k2, long value);
+    }
+
+    //endregion
+}
@@ -55,15 +55,19 @@ import lombok.val;
  * a larger amount of data being cached (since it is backed by the process-wide {@link CacheStorage}). The Tail Section, while
  * dynamic, is not expected to grow too large due to the Table Segment being continuously indexed in the background, which
  * causes the Last Indexed Offset to be updated frequently.
+ *
+ * The Tail Section and the Backpointers are stored in {@link LongKeyedHashTable}s, which do not allocate any objects per
+ * entry and which may optionally be placed in direct (off-heap) memory. These must be released using {@link #releaseTailCache()}
+ * once this instance is no longer used; after that, any further updates to this instance are ignored.
  */
 @ThreadSafe
-@RequiredArgsConstructor
 @Slf4j
 class SegmentKeyCache {
     //region Members
     private static final int HASH_GROUP_COUNT = 1024;
     private static final HashHelper HASH = HashHelper.seededWith(SegmentKeyCache.class.getName());
     private static final int VALUE_SERIALIZATION_LENGTH = Long.BYTES; // CacheBucketOffset serializes to a Long.
+    private static final long NO_OFFSET = -1L;
 
     @Getter
     private final long segmentId;
@@ -73,11 +77,41 @@ class SegmentKeyCache {
     @GuardedBy("this")
     private long lastIndexedOffset;
     @GuardedBy("this")
-    private final HashMap<Long, Long> backpointers = new HashMap<>();
+    private final LongKeyedHashTable backpointers; // Source Offset -> Target Offset
     @GuardedBy("this")
     private final HashMap<Short, CacheEntry> cacheEntries = new HashMap<>(); // Index Cache: KeyHashGroup -> CacheEntry
     @GuardedBy("this")
-    private final HashMap<UUID, CacheBucketOffset> tailOffsets = new HashMap<>(); // Tail Cache: Key Hash -> Hash Offset
+    private final LongKeyedHashTable tailOffsets; // Tail Cache: Key Hash -> Encoded CacheBucketOffset
+    @GuardedBy("this")
+    private boolean released;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the SegmentKeyCache class, with its Tail Section stored on the heap.
+     *
+     * @param segmentId    The Id of the Segment.
+     * @param cacheStorage The {@link CacheStorage} to use for the Index Section.
+     */
+    SegmentKeyCache(long segmentId, CacheStorage cacheStorage) {
+        this(segmentId, cacheStorage, false);
+    }
+
+    /**
+     * Creates a new instance of the SegmentKeyCache class.
+     *
+     * @param segmentId        The Id of the Segment.
+     * @param cacheStorage     The {@link CacheStorage} to use for the Index Section.
+     * @param offHeapTailCache If true, the Tail Section and Backpointers will be stored in direct (off-heap) memory.
+     */
+    SegmentKeyCache(long segmentId, CacheStorage cacheStorage, boolean offHeapTailCache) {
+        this.segmentId = segmentId;
+        this.cacheStorage = cacheStorage;
+        this.backpointers = new LongKeyedHashTable(1, offHeapTailCache);
+        this.tailOffsets = new LongKeyedHashTable(2, offHeapTailCache);
+    }
 
     //endregion
 
@@ -129,6 +163,17 @@ class SegmentKeyCache {
         return entries;
     }
 
+    /**
+     * Clears the Tail Section and all Backpointers, releasing any memory used by them. This should be invoked when this
+     * instance is discarded, since this memory may not be managed by the Garbage Collector. Any updates made to this
+     * instance after this call will be ignored, so that no memory is allocated on behalf of a discarded instance.
+     */
+    synchronized void releaseTailCache() {
+        this.released = true;
+        this.tailOffsets.release();
+        this.backpointers.release();
+    }
+
     //endregion
 
     //region Operations
@@ -151,10 +196,16 @@ class SegmentKeyCache {
         synchronized (this) {
             for (TableKeyBatch.Item item : batch.getItems()) {
                 long itemOffset = batchOffset + item.getOffset();
+                if (this.released) {
+                    // This instance has been discarded; nothing may be recorded in it anymore.
+                    result.add(itemOffset);
+                    continue;
+                }
+
                 CacheBucketOffset existingOffset = get(item.getHash(), generation);
                 if (existingOffset == null || itemOffset > existingOffset.getSegmentOffset()) {
                     // We have no previous entry, or we do and the current offset is higher, so it prevails.
-                    this.tailOffsets.put(item.getHash(), new CacheBucketOffset(itemOffset, batch.isRemoval()));
+                    putTailOffset(item.getHash(), new CacheBucketOffset(itemOffset, batch.isRemoval()));
                     result.add(itemOffset);
                 } else {
                     // Current offset is lower.
@@ -163,7 +214,7 @@ class SegmentKeyCache {
 
                 if (existingOffset != null) {
                     // Only record a backpointer if we have a previous location to point to.
-                    this.backpointers.put(itemOffset, existingOffset.getSegmentOffset());
+                    this.backpointers.put(itemOffset, 0, existingOffset.getSegmentOffset());
                 }
             }
         }
@@ -179,12 +230,16 @@ class SegmentKeyCache {
      * @param generation The current Cache Generation (from the Cache Manager).
      */
     synchronized void includeTailCache(Map<UUID, CacheBucketOffset> keyOffsets, int generation) {
+        if (this.released) {
+            return;
+        }
+
         for (val e : keyOffsets.entrySet()) {
             CacheBucketOffset offset = e.getValue();
             CacheBucketOffset existingOffset = get(e.getKey(), generation);
             if (existingOffset == null || offset.getSegmentOffset() > existingOffset.getSegmentOffset()) {
                 // We have no previous entry, or we do and the current offset is higher, so it prevails.
-                this.tailOffsets.put(e.getKey(), offset);
+                putTailOffset(e.getKey(), offset);
             }
         }
     }
@@ -207,7 +262,11 @@ class SegmentKeyCache {
         short hashGroup = getHashGroup(keyHash);
         CacheEntry entry;
         synchronized (this) {
-            CacheBucketOffset tailOffset = this.tailOffsets.get(keyHash);
+            if (this.released) {
+                return segmentOffset;
+            }
+
+            CacheBucketOffset tailOffset = getTailOffset(keyHash);
             if (tailOffset != null && tailOffset.getSegmentOffset() >= segmentOffset) {
                 // There already exists a higher offset for this Key Hash. No need to do more.
                 return tailOffset.getSegmentOffset();
@@ -242,7 +301,7 @@ class SegmentKeyCache {
         CacheEntry entry;
         synchronized (this) {
             // First, check the tail cache.
-            CacheBucketOffset tailOffset = this.tailOffsets.get(keyHash);
+            CacheBucketOffset tailOffset = getTailOffset(keyHash);
             if (tailOffset != null) {
                 return tailOffset;
             }
@@ -275,23 +334,24 @@ class SegmentKeyCache {
             this.lastIndexedOffset = currentLastIndexedOffset;
 
             // Remove obsolete backpointers. They now exist in the index.
-            this.backpointers.keySet().removeIf(sourceOffset -> sourceOffset < currentLastIndexedOffset);
-            for (val tailHash : this.tailOffsets.entrySet()) {
-                val offset = tailHash.getValue();
+            this.backpointers.removeIf((sourceOffset, ignored, targetOffset) -> sourceOffset < currentLastIndexedOffset);
+            this.tailOffsets.forEach((msb, lsb, encodedOffset) -> {
+                val offset = CacheBucketOffset.decode(encodedOffset);
                 if (offset.getSegmentOffset() < currentLastIndexedOffset) {
                     // This entry has already been indexed, so it should be removed from the tail cache.
-                    CacheEntry cacheEntry = this.cacheEntries.computeIfAbsent(getHashGroup(tailHash.getKey()),
+                    UUID keyHash = new UUID(msb, lsb);
+                    CacheEntry cacheEntry = this.cacheEntries.computeIfAbsent(getHashGroup(keyHash),
                             hg -> new CacheEntry(hg, cacheGeneration));
-                    candidates.add(new MigrationCandidate(tailHash.getKey(), cacheEntry, offset));
+                    candidates.add(new MigrationCandidate(keyHash, cacheEntry, offset));
                 }
-            }
+            });
         }
 
         candidates.forEach(mc -> commitMigrationCandidate(mc, cacheGeneration));
         synchronized (this) {
             // Finally, remove tail hashes, but ONLY if they haven't changed - it's possible that since we released the lock
-            // above a newer value was recorded; we shouldn't be removing it then. We use Map.remove(Key, Value) for this.
-            candidates.forEach(c -> this.tailOffsets.remove(c.keyHash, c.offset));
+            // above a newer value was recorded; we shouldn't be removing it then. We use a conditional remove for this.
+            candidates.forEach(c -> this.tailOffsets.remove(c.keyHash.getMostSignificantBits(), c.keyHash.getLeastSignificantBits(), c.offset.encode()));
         }
     }
 
@@ -314,14 +374,16 @@ class SegmentKeyCache {
      * Gets a backpointer from the given sourceOffset, or -1 if no such link exists.
      */
     synchronized long getBackpointerOffset(long sourceOffset) {
-        return this.backpointers.getOrDefault(sourceOffset, -1L);
+        return this.backpointers.get(sourceOffset, 0, NO_OFFSET);
     }
 
     /**
      * Gets a list of all Tail Entry Hashes mapped to their offsets.
      */
     synchronized Map<UUID, CacheBucketOffset> getTailBucketOffsets() {
-        return new HashMap<>(this.tailOffsets);
+        val result = new HashMap<UUID, CacheBucketOffset>(this.tailOffsets.size() * 4 / 3 + 1);
+        this.tailOffsets.forEach((msb, lsb, encodedOffset) -> result.put(new UUID(msb, lsb), CacheBucketOffset.decode(encodedOffset)));
+        return result;
     }
 
     /**
@@ -331,7 +393,9 @@ class SegmentKeyCache {
      * @return The tail entry update count delta.
      */
     synchronized int getTailEntryCountDelta() {
-        return this.tailOffsets.values().stream().mapToInt(o -> o.isRemoval() ? -1 : 1).sum();
+        int[] delta = new int[1];
+        this.tailOffsets.forEach((msb, lsb, encodedOffset) -> delta[0] += CacheBucketOffset.decode(encodedOffset).isRemoval() ? -1 : 1);
+        return delta[0];
     }
 
     @Override
@@ -340,6 +404,17 @@ class SegmentKeyCache {
                 this.lastIndexedOffset, this.cacheEntries.size(), this.backpointers.size(), this.tailOffsets.size());
     }
 
+    @GuardedBy("this")
+    private CacheBucketOffset getTailOffset(UUID keyHash) {
+        long encodedOffset = this.tailOffsets.get(keyHash.getMostSignificantBits(), keyHash.getLeastSignificantBits(), NO_OFFSET);
+        return encodedOffset == NO_OFFSET ? null : CacheBucketOffset.decode(encodedOffset);
+    }
+
+    @GuardedBy("this")
+    private void putTailOffset(UUID keyHash, CacheBucketOffset offset) {
+        this.tailOffsets.put(keyHash.getMostSignificantBits(), keyHash.getLeastSignificantBits(), offset.encode());
+    }
+
     private short getHashGroup(UUID keyHash) {
         return (short) HASH.hashToBucket(keyHash, HASH_GROUP_COUNT);
     }
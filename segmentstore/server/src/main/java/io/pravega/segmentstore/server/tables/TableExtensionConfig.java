@@ -17,6 +17,10 @@ package io.pravega.segmentstore.server.tables;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
+import io.pravega.common.util.ConfigBuilder;
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.common.util.Property;
+import io.pravega.common.util.TypedProperties;
 import io.pravega.segmentstore.contracts.AttributeId;
 import io.pravega.segmentstore.contracts.Attributes;
 import io.pravega.segmentstore.contracts.SegmentProperties;
@@ -33,6 +37,14 @@ import lombok.Data;
 @Data
 @Builder
 public class TableExtensionConfig {
+    //region Config Names
+
+    public static final Property<Boolean> OFF_HEAP_TAIL_CACHE = Property.named("tailCache.offHeap.enable", false);
+    public static final Property<Integer> KEY_FILTER_BIT_COUNT = Property.named("keyFilter.bitCount", 0);
+    private static final String COMPONENT_CODE = "tables";
+
+    //endregion
+
     /**
      * The maximum unindexed length ({@link SegmentProperties#getLength() - {@link TableAttributes#INDEX_OFFSET}}) of a
      * Segment for which {@link ContainerKeyIndex} {@code triggerCacheTailIndex} can be invoked.
@@ -91,6 +103,46 @@ public class TableExtensionConfig {
     @Builder.Default
     private Duration recoveryTimeout = Duration.ofSeconds(60);
 
+    /**
+     * Whether the tail section of the Key Cache (un-indexed Key Hashes and Backpointers, see {@link SegmentKeyCache})
+     * should be stored in direct (off-heap) memory. This reduces GC pressure for Table Segments with large un-indexed
+     * tails, at the expense of allocating direct memory outside of the process-wide Cache's budget.
+     */
+    @Builder.Default
+    private final boolean offHeapTailCache = false;
+
+    /**
+     * The number of bits in the {@link TableKeyFilter} that is created for every new Table Segment. Lookups for Keys that
+     * are not in this filter (and not in the Key Cache) will not need to query the Table Segment's index. Every filter
+     * uses {@code keyFilterBitCount / 8} bytes of heap memory while its Table Segment is active. Set to 0 to disable.
+     * This only applies to new (empty) Table Segments; existing ones are not retrofitted with a filter.
+     */
+    @Builder.Default
+    private final int keyFilterBitCount = 0;
+
+    /**
+     * Creates a new ConfigBuilder that can be used to create instances of this class from configuration properties. Any
+     * settings that cannot be configured this way will have their default values.
+     *
+     * @return A new Builder for this class.
+     */
+    public static ConfigBuilder<TableExtensionConfig> configBuilder() {
+        return new ConfigBuilder<>(COMPONENT_CODE, TableExtensionConfig::fromProperties);
+    }
+
+    private static TableExtensionConfig fromProperties(TypedProperties properties) throws ConfigurationException {
+        int keyFilterBitCount = properties.getInt(KEY_FILTER_BIT_COUNT);
+        if (keyFilterBitCount < 0) {
+            throw new ConfigurationException(String.format("Property '%s' must be a non-negative integer; found '%d'.",
+                    KEY_FILTER_BIT_COUNT, keyFilterBitCount));
+        }
+
+        return TableExtensionConfig.builder()
+                .offHeapTailCache(properties.getBoolean(OFF_HEAP_TAIL_CACHE))
+                .keyFilterBitCount(keyFilterBitCount)
+                .build();
+    }
+
     /**
      * The default Segment Attributes to set for every new Table Segment. These values will override the corresponding
      * defaults from {@link TableAttributes#DEFAULT_VALUES}.
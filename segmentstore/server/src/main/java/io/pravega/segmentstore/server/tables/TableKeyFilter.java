@@ -0,0 +1,216 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.tables;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.pravega.common.TimeoutTimer;
+import io.pravega.segmentstore.contracts.AttributeId;
+import io.pravega.segmentstore.contracts.AttributeUpdate;
+import io.pravega.segmentstore.contracts.AttributeUpdateType;
+import io.pravega.segmentstore.server.DirectSegmentAccess;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.val;
+
+/**
+ * Bloom Filter over the Key Hashes that have been indexed in a Table Segment. If {@link #mightContain} returns false for
+ * a Key Hash, then there is no {@link TableBucket} for it in the Segment's index, so there is no need to look it up.
+ *
+ * The filter is persisted in the Segment's Extended Attributes, next to the index itself:
+ * - All Attribute Keys have {@link TableBucket#BACKPOINTER_PREFIX} as MSB. Backpointers only use non-negative LSBs, so
+ * this filter uses the negative ones.
+ * - {@link #BIT_COUNT} stores the number of bits in the filter.
+ * - {@link #INDEX_OFFSET} stores the value of {@link io.pravega.segmentstore.contracts.tables.TableAttributes#INDEX_OFFSET}
+ * at the time the filter was last updated. If these two values differ, then the index has been modified without updating
+ * the filter and the filter cannot be used anymore.
+ * - Every word is stored in its own Attribute, immediately following {@link #INDEX_OFFSET}. Only {@link #BITS_PER_WORD}
+ * bits are used in every word so that no word can ever equal {@link io.pravega.segmentstore.contracts.Attributes#NULL_ATTRIBUTE_VALUE}
+ * (which would remove the Attribute).
+ *
+ * Bits are only ever set (never cleared), so removed keys will still show up as false positives until the filter is
+ * rebuilt. Since bits for new Key Hashes are set before the index is updated, any Key Hash that has been indexed is
+ * guaranteed to be in the filter.
+ */
+@ThreadSafe
+class TableKeyFilter {
+    //region Members
+
+    @VisibleForTesting
+    static final AttributeId BIT_COUNT = AttributeId.uuid(TableBucket.BACKPOINTER_PREFIX, Long.MIN_VALUE);
+    @VisibleForTesting
+    static final AttributeId INDEX_OFFSET = AttributeId.uuid(TableBucket.BACKPOINTER_PREFIX, Long.MIN_VALUE + 1);
+    private static final long FIRST_WORD_ID = Long.MIN_VALUE + 2;
+    /**
+     * Maximum number of bits in the filter.
+     */
+    static final int MAX_BIT_COUNT = Integer.MAX_VALUE;
+    @VisibleForTesting
+    static final int BITS_PER_WORD = Long.SIZE - 1;
+    @VisibleForTesting
+    static final int HASH_COUNT = 3;
+    @Getter
+    private final int bitCount;
+    private final AtomicLongArray words;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new, empty, instance of the {@link TableKeyFilter} class.
+     *
+     * @param bitCount The number of bits in the filter.
+     */
+    TableKeyFilter(int bitCount) {
+        Preconditions.checkArgument(bitCount > 0, "bitCount must be a positive number.");
+        this.bitCount = bitCount;
+        this.words = new AtomicLongArray((int) (((long) bitCount + BITS_PER_WORD - 1) / BITS_PER_WORD));
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Determines whether the given Key Hash may have been added to this filter.
+     *
+     * @param keyHash The Key Hash to test.
+     * @return False if the Key Hash was definitely never added, true if it may have been added.
+     */
+    boolean mightContain(UUID keyHash) {
+        long h1 = keyHash.getLeastSignificantBits();
+        long h2 = keyHash.getMostSignificantBits() | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            long bit = Math.floorMod(h1 + i * h2, (long) this.bitCount);
+            if ((this.words.get(wordIndex(bit)) & wordMask(bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds the given Key Hash to this filter.
+     *
+     * @param keyHash      The Key Hash to add.
+     * @param touchedWords A Collection to which the indices of all words corresponding to this Key Hash will be added,
+     *                     regardless of whether they were actually modified or not.
+     */
+    void add(UUID keyHash, Collection<Integer> touchedWords) {
+        long h1 = keyHash.getLeastSignificantBits();
+        long h2 = keyHash.getMostSignificantBits() | 1;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            long bit = Math.floorMod(h1 + i * h2, (long) this.bitCount);
+            int wordIndex = wordIndex(bit);
+            long mask = wordMask(bit);
+            this.words.getAndAccumulate(wordIndex, mask, (w, m) -> w | m);
+            touchedWords.add(wordIndex);
+        }
+    }
+
+    /**
+     * Generates the {@link AttributeUpdate}s necessary to persist the given words, along with the filter's header.
+     *
+     * @param wordIndices The indices of the words to persist.
+     * @param indexOffset The value of {@link io.pravega.segmentstore.contracts.tables.TableAttributes#INDEX_OFFSET}
+     *                    that will be set in the same (atomic) update.
+     * @param updates     A Consumer that will be invoked with every {@link AttributeUpdate}.
+     */
+    void generateAttributeUpdates(Collection<Integer> wordIndices, long indexOffset, Consumer<AttributeUpdate> updates) {
+        updates.accept(new AttributeUpdate(BIT_COUNT, AttributeUpdateType.Replace, this.bitCount));
+        updates.accept(new AttributeUpdate(INDEX_OFFSET, AttributeUpdateType.Replace, indexOffset));
+        for (int wordIndex : wordIndices) {
+            updates.accept(new AttributeUpdate(getWordAttributeId(wordIndex), AttributeUpdateType.Replace, this.words.get(wordIndex)));
+        }
+    }
+
+    private int wordIndex(long bit) {
+        return (int) (bit / BITS_PER_WORD);
+    }
+
+    private long wordMask(long bit) {
+        return 1L << (bit % BITS_PER_WORD);
+    }
+
+    private static AttributeId getWordAttributeId(int wordIndex) {
+        return AttributeId.uuid(TableBucket.BACKPOINTER_PREFIX, FIRST_WORD_ID + wordIndex);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BitCount = %d, Words = %d", this.bitCount, this.words.length());
+    }
+
+    //endregion
+
+    //region Loading
+
+    /**
+     * Loads the {@link TableKeyFilter} for the given Segment from its Extended Attributes.
+     *
+     * @param segment       A {@link DirectSegmentAccess} representing the Segment to load from.
+     * @param newBitCount   The number of bits to use if a new filter must be created. If 0, no filter will be loaded or created.
+     * @param executor      An Executor for async operations.
+     * @param timer         Timer for the operation.
+     * @return A CompletableFuture that, when completed, will contain the loaded {@link TableKeyFilter}, a new one (if the
+     * Segment's index is empty) or null if no usable filter exists for this Segment (this happens if the Segment has been
+     * indexed without a filter, or if it has been indexed without updating its filter).
+     */
+    static CompletableFuture<TableKeyFilter> load(DirectSegmentAccess segment, int newBitCount, Executor executor, TimeoutTimer timer) {
+        Preconditions.checkArgument(newBitCount >= 0, "newBitCount must be a non-negative number.");
+        if (newBitCount == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long indexOffset = IndexReader.getLastIndexedOffset(segment.getInfo());
+        if (indexOffset == 0) {
+            // Nothing indexed yet; we can start with an empty filter.
+            return CompletableFuture.completedFuture(new TableKeyFilter(newBitCount));
+        }
+
+        return segment
+                .getAttributes(Arrays.asList(BIT_COUNT, INDEX_OFFSET), false, timer.getRemaining())
+                .thenCompose(header -> {
+                    Long bitCount = header.get(BIT_COUNT);
+                    Long filterOffset = header.get(INDEX_OFFSET);
+                    if (bitCount == null || filterOffset == null || filterOffset != indexOffset
+                            || bitCount <= 0 || bitCount > MAX_BIT_COUNT) {
+                        // No filter or an obsolete one.
+                        return CompletableFuture.completedFuture(null);
+                    }
+
+                    val filter = new TableKeyFilter((int) (long) bitCount);
+                    return segment
+                            .attributeIterator(getWordAttributeId(0), getWordAttributeId(filter.words.length() - 1), timer.getRemaining())
+                            .thenCompose(iterator -> iterator.forEachRemaining(attributes -> attributes.forEach(e -> {
+                                long wordIndex = e.getKey().getBitGroup(1) - FIRST_WORD_ID;
+                                filter.words.set((int) wordIndex, e.getValue());
+                            }), executor))
+                            .thenApply(v -> filter);
+                });
+    }
+
+    //endregion
+}
@@ -72,6 +72,26 @@ interface TableWriterConnector extends AutoCloseable {
      */
     int getMaxCompactionSize();
 
+    /**
+     * Gets the number of bits to use when creating a new {@link TableKeyFilter} for the Table Segment this connector
+     * refers to.
+     *
+     * @return The number of bits, or 0 if {@link TableKeyFilter}s are disabled.
+     */
+    default int getKeyFilterBitCount() {
+        return 0;
+    }
+
+    /**
+     * This method will be invoked by the {@link WriterTableProcessor} whenever it has loaded (or discarded) the
+     * {@link TableKeyFilter} for the Table Segment this connector refers to.
+     *
+     * @param keyFilter The {@link TableKeyFilter} that is kept up-to-date with the index, or null if there is none.
+     */
+    default void notifyKeyFilterChanged(TableKeyFilter keyFilter) {
+        // By default, no one is interested in this.
+    }
+
     /**
      * This method will be invoked by the {@link WriterTableProcessor} when it is closed.
      */
@@ -61,6 +61,9 @@ public class WriterTableProcessor implements WriterSegmentProcessor {
     private final AtomicBoolean closed;
     private final String traceObjectId;
     private final TableCompactor.Config tableCompactorConfig;
+    private final Object keyFilterLock = new Object();
+    @GuardedBy("keyFilterLock")
+    private CompletableFuture<TableKeyFilter> keyFilter;
 
     //endregion
 
@@ -89,10 +92,15 @@ public class WriterTableProcessor implements WriterSegmentProcessor {
 
     @Override
     public void close() {
-        if (this.closed.compareAndSet(false, true)) {
+        synchronized (this.keyFilterLock) {
+            if (!this.closed.compareAndSet(false, true)) {
+                return;
+            }
+
             this.connector.close();
-            log.info("{}: Closed.", this.traceObjectId);
         }
+
+        log.info("{}: Closed.", this.traceObjectId);
     }
 
     //endregion
@@ -298,20 +306,69 @@ public class WriterTableProcessor implements WriterSegmentProcessor {
 
         // Group keys by their assigned TableBucket (whether existing or not), then fetch all existing keys
         // for each such bucket and finally (reindex) update the bucket.
-        return this.indexWriter
-                .groupByBucket(segment, keyUpdates.getUpdates(), timer)
-                .thenComposeAsync(builders -> fetchExistingKeys(builders, segment, timer)
-                                .thenComposeAsync(v -> {
-                                    val bucketUpdates = builders.stream().map(BucketUpdate.Builder::build).collect(Collectors.toList());
-                                    logBucketUpdates(bucketUpdates);
-                                    return this.indexWriter.updateBuckets(segment, bucketUpdates,
-                                            this.aggregator.getLastIndexedOffset(), keyUpdates.getLastIndexedOffset(),
-                                            keyUpdates.getTotalUpdateCount(), timer.getRemaining());
-                                }, this.executor),
-                        this.executor)
+        return getKeyFilter(segment, timer)
+                .thenComposeAsync(keyFilter -> this.indexWriter
+                        .groupByBucket(segment, keyUpdates.getUpdates(), timer)
+                        .thenComposeAsync(builders -> fetchExistingKeys(builders, segment, timer)
+                                        .thenComposeAsync(v -> {
+                                            val bucketUpdates = builders.stream().map(BucketUpdate.Builder::build).collect(Collectors.toList());
+                                            logBucketUpdates(bucketUpdates);
+                                            return this.indexWriter.updateBuckets(segment, bucketUpdates, keyFilter,
+                                                    this.aggregator.getLastIndexedOffset(), keyUpdates.getLastIndexedOffset(),
+                                                    keyUpdates.getTotalUpdateCount(), timer.getRemaining());
+                                        }, this.executor),
+                                this.executor), this.executor)
                 .thenApply(updateCount -> new TableWriterFlushResult(keyUpdates, updateCount));
     }
 
+    /**
+     * Gets the {@link TableKeyFilter} for this Table Segment, loading it if necessary. Once loaded, the {@link TableKeyFilter}
+     * is published via {@link TableWriterConnector#notifyKeyFilterChanged} and this instance is responsible for keeping
+     * it up to date with the index.
+     *
+     * @param segment A {@link DirectSegmentAccess} representing the Segment to load from.
+     * @param timer   Timer for the operation.
+     * @return A CompletableFuture that, when completed, will contain the {@link TableKeyFilter}, or null if there is no
+     * usable one for this Segment.
+     */
+    private CompletableFuture<TableKeyFilter> getKeyFilter(DirectSegmentAccess segment, TimeoutTimer timer) {
+        CompletableFuture<TableKeyFilter> result;
+        synchronized (this.keyFilterLock) {
+            if (this.keyFilter != null) {
+                return this.keyFilter;
+            }
+
+            result = TableKeyFilter.load(segment, this.connector.getKeyFilterBitCount(), this.executor, timer);
+            this.keyFilter = result;
+        }
+
+        return result.whenComplete((filter, ex) -> {
+            synchronized (this.keyFilterLock) {
+                if (ex != null) {
+                    // Try again on the next flush.
+                    if (this.keyFilter == result) {
+                        this.keyFilter = null;
+                    }
+                } else if (filter != null && this.keyFilter == result && !this.closed.get()) {
+                    log.info("{}: Loaded TableKeyFilter ({}).", this.traceObjectId, filter);
+                    this.connector.notifyKeyFilterChanged(filter);
+                }
+            }
+        });
+    }
+
+    /**
+     * Discards the current {@link TableKeyFilter}, if any. It will be reloaded (if possible) upon the next flush.
+     */
+    private void discardKeyFilter() {
+        synchronized (this.keyFilterLock) {
+            this.keyFilter = null;
+            if (!this.closed.get()) {
+                this.connector.notifyKeyFilterChanged(null);
+            }
+        }
+    }
+
     @SneakyThrows(DataCorruptionException.class)
     private void reconcileTableIndexOffset() {
         long tableIndexOffset = IndexReader.getLastIndexedOffset(this.connector.getMetadata());
@@ -328,6 +385,8 @@ public class WriterTableProcessor implements WriterSegmentProcessor {
                     tableIndexOffset, this.connector.getMetadata().getId(), this.aggregator.getLastIndexedOffset()));
         }
 
+        // Someone else may have updated the index, in which case our TableKeyFilter may no longer reflect it.
+        discardKeyFilter();
         log.info("{}: ReconcileTableIndexOffset (State={}).", this.traceObjectId, this.aggregator);
     }
 
@@ -774,7 +774,7 @@ class SegmentAggregator implements WriterSegmentProcessor, AutoCloseable {
             flush = CompletableFuture.completedFuture(null);
         } else {
             flush = createSegmentIfNecessary(
-                    () -> this.storage.write(this.handle.get(), this.metadata.getStorageLength(), flushData.getReader(), flushData.getLength(), timer.getRemaining()),
+                    () -> this.storage.write(this.handle.get(), this.metadata.getStorageLength(), flushData, timer.getRemaining()),
                     timer.getRemaining());
         }
 
@@ -26,9 +26,11 @@ import io.pravega.segmentstore.storage.cache.NoOpCache;
 import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.ThreadPooledTestSuite;
 import java.time.Duration;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -262,6 +264,99 @@ public class CacheManagerTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests the oldest protected generation when using {@link CachePolicy.EvictionPolicy#FREQUENCY_AWARE}: it should only
+     * be advanced (beyond the max permissible age) after the oldest generation has caught up with the current generation.
+     */
+    @Test
+    public void testFrequencyAwareGenerations() {
+        final int generationCount = 10;
+        final CachePolicy policy = new CachePolicy(2048, 0.5, 0.95, Duration.ofHours(1000), Duration.ofHours(1),
+                CachePolicy.EvictionPolicy.FREQUENCY_AWARE);
+        @Cleanup
+        val cache = new TestCache(policy.getMaxSize());
+        cache.setStoredBytes(1);
+        @Cleanup
+        TestCacheManager cm = new TestCacheManager(policy, cache, executorService());
+        val client = new TestClient();
+        val updates = new ArrayList<Map.Entry<Integer, Integer>>();
+        client.setUpdateGenerationsImpl((current, oldest, oldestProtected, essentialOnly) -> {
+            updates.add(new AbstractMap.SimpleImmutableEntry<>(oldest, oldestProtected));
+            return true; // Pretend we are evicting something, but never reduce the cache utilization.
+        });
+        cm.register(client);
+
+        // Advance the current generation.
+        for (int i = 0; i < generationCount; i++) {
+            client.setCacheStatus(0, cm.getCurrentGeneration());
+            cm.applyCachePolicy();
+        }
+
+        Assert.assertEquals(0, cm.getOldestGeneration());
+        Assert.assertEquals(0, cm.getOldestProtectedGeneration());
+
+        // Exceed the eviction threshold. Probation entries should be evicted first, then protected ones.
+        updates.clear();
+        cache.setUsedBytes(policy.getEvictionThreshold() + 1);
+        client.setCacheStatus(0, cm.getCurrentGeneration());
+        cm.applyCachePolicy();
+        int cg = cm.getCurrentGeneration();
+        Assert.assertEquals("Expected oldest generation to catch up with current generation.", cg, cm.getOldestGeneration());
+        Assert.assertEquals("Expected oldest protected generation to catch up with current generation.", cg, cm.getOldestProtectedGeneration());
+        for (val e : updates) {
+            AssertExtensions.assertLessThanOrEqual("Oldest protected generation exceeds oldest generation.", e.getKey(), e.getValue());
+            if (e.getKey() < cg) {
+                Assert.assertEquals("Not expecting oldest protected generation to change before oldest generation catches up.",
+                        0, (int) e.getValue());
+            }
+        }
+
+        // Verify access tracking and admission.
+        final long key = 123L;
+        Assert.assertFalse(cm.isFrequent(key));
+        Assert.assertFalse("Not expecting to admit an entry that was never accessed while exceeding the threshold.", cm.shouldAdmit(key));
+        cm.recordAccess(key);
+        cm.recordAccess(key);
+        Assert.assertTrue(cm.shouldAdmit(key));
+        cm.recordAccess(key);
+        Assert.assertTrue(cm.isFrequent(key));
+        cache.setUsedBytes(0);
+        cm.applyCachePolicy();
+        Assert.assertTrue("Expected to admit anything while below the threshold.", cm.shouldAdmit(key + 1));
+    }
+
+    /**
+     * Tests that the oldest protected generation is the same as the oldest generation when using
+     * {@link CachePolicy.EvictionPolicy#GENERATIONAL}.
+     */
+    @Test
+    public void testGenerationalProtectedGenerations() {
+        final CachePolicy policy = new CachePolicy(2048, 0.5, 0.95, Duration.ofHours(1000), Duration.ofHours(1));
+        @Cleanup
+        val cache = new TestCache(policy.getMaxSize());
+        cache.setStoredBytes(1);
+        @Cleanup
+        TestCacheManager cm = new TestCacheManager(policy, cache, executorService());
+        val client = new TestClient();
+        val callCount = new AtomicInteger();
+        client.setUpdateGenerationsImpl((current, oldest, oldestProtected, essentialOnly) -> {
+            Assert.assertEquals("Expected oldest protected generation to be the same as oldest generation.", oldest, oldestProtected);
+            return callCount.incrementAndGet() < 5;
+        });
+        cm.register(client);
+        for (int i = 0; i < 10; i++) {
+            client.setCacheStatus(0, cm.getCurrentGeneration());
+            cm.applyCachePolicy();
+        }
+
+        cache.setUsedBytes(policy.getEvictionThreshold() + 1);
+        cm.applyCachePolicy();
+        AssertExtensions.assertGreaterThan("Expected oldest generation to change.", 0, cm.getOldestGeneration());
+        Assert.assertEquals(cm.getOldestGeneration(), cm.getOldestProtectedGeneration());
+        Assert.assertFalse(cm.isFrequent(1L));
+        Assert.assertTrue(cm.shouldAdmit(1L));
+    }
+
     /**
      * Tests the ability to adjust the "Non-Essential Only" flags based on cache utilization.
      */
@@ -619,6 +714,7 @@ public class CacheManagerTests extends ThreadPooledTestSuite {
     private static class TestClient implements CacheManager.Client {
         private CacheManager.CacheStatus currentStatus;
         private UpdateGenerations updateGenerationsImpl = (current, oldest, essentialOnly) -> false;
+        private UpdateProtectedGenerations updateProtectedGenerationsImpl = null;
 
         void setCacheStatus(int oldestGeneration, int newestGeneration) {
             this.currentStatus = new CacheManager.CacheStatus(oldestGeneration, newestGeneration);
@@ -628,6 +724,10 @@ public class CacheManagerTests extends ThreadPooledTestSuite {
             this.updateGenerationsImpl = function;
         }
 
+        void setUpdateGenerationsImpl(UpdateProtectedGenerations function) {
+            this.updateProtectedGenerationsImpl = function;
+        }
+
         @Override
         public CacheManager.CacheStatus getCacheStatus() {
             return this.currentStatus;
@@ -637,6 +737,14 @@ public class CacheManagerTests extends ThreadPooledTestSuite {
         public boolean updateGenerations(int currentGeneration, int oldestGeneration, boolean essentialOnly) {
             return this.updateGenerationsImpl.apply(currentGeneration, oldestGeneration, essentialOnly);
         }
+
+        @Override
+        public boolean updateGenerations(int currentGeneration, int oldestGeneration, int oldestProtectedGeneration, boolean essentialOnly) {
+            UpdateProtectedGenerations impl = this.updateProtectedGenerationsImpl;
+            return impl == null
+                    ? updateGenerations(currentGeneration, oldestGeneration, essentialOnly)
+                    : impl.apply(currentGeneration, oldestGeneration, oldestProtectedGeneration, essentialOnly);
+        }
     }
 
     private static class EmptyCacheClient extends TestClient {
@@ -664,4 +772,9 @@ public class CacheManagerTests extends ThreadPooledTestSuite {
     interface UpdateGenerations {
         boolean apply(int currentGeneration, int oldestGeneration, boolean essentialOnly);
     }
+
+    @FunctionalInterface
+    interface UpdateProtectedGenerations {
+        boolean apply(int currentGeneration, int oldestGeneration, int oldestProtectedGeneration, boolean essentialOnly);
+    }
 }
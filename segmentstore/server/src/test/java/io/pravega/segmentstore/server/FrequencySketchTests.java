@@ -0,0 +1,87 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server;
+
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link FrequencySketch} class.
+ */
+public class FrequencySketchTests {
+    private static final int KEY_COUNT = 1024;
+
+    /**
+     * Tests {@link FrequencySketch#increment} and {@link FrequencySketch#frequency}, including counter saturation.
+     */
+    @Test
+    public void testIncrement() {
+        val sketch = new FrequencySketch(KEY_COUNT);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            Assert.assertEquals("Unexpected frequency for new key.", 0, sketch.frequency(i));
+        }
+
+        // Increment each key a different number of times.
+        for (int i = 0; i < KEY_COUNT; i++) {
+            for (int j = 0; j < i % 4; j++) {
+                sketch.increment(i);
+            }
+        }
+
+        // This is an estimator, so there may be some collisions, but estimates may never be lower than the actual counts.
+        int exactCount = 0;
+        for (int i = 0; i < KEY_COUNT; i++) {
+            int f = sketch.frequency(i);
+            Assert.assertTrue("Estimated frequency is lower than actual frequency.", f >= i % 4);
+            if (f == i % 4) {
+                exactCount++;
+            }
+        }
+
+        Assert.assertTrue("Too many estimation errors: " + exactCount, exactCount > KEY_COUNT * 0.9);
+
+        // Saturation.
+        final long key = -1L;
+        for (int i = 0; i < FrequencySketch.MAX_FREQUENCY * 2; i++) {
+            sketch.increment(key);
+        }
+
+        Assert.assertEquals(FrequencySketch.MAX_FREQUENCY, sketch.frequency(key));
+    }
+
+    /**
+     * Tests the fact that frequencies are halved periodically.
+     */
+    @Test
+    public void testAging() {
+        val sketch = new FrequencySketch(KEY_COUNT);
+        final long hotKey = 0;
+        for (int i = 0; i < 10; i++) {
+            sketch.increment(hotKey);
+        }
+
+        Assert.assertEquals(10, sketch.frequency(hotKey));
+
+        // Access a large number of other keys exactly once. This should cause the sketch to age (at least once).
+        for (int i = 1; i <= KEY_COUNT * 10; i++) {
+            sketch.increment(i);
+        }
+
+        int f = sketch.frequency(hotKey);
+        Assert.assertTrue("Expected frequency to be reduced by aging: " + f, f < 10);
+    }
+}
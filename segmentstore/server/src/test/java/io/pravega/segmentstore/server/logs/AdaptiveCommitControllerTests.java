@@ -0,0 +1,138 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.segmentstore.server.SegmentStoreMetrics;
+import io.pravega.segmentstore.storage.QueueStats;
+import io.pravega.segmentstore.storage.WriteSettings;
+import io.pravega.test.common.AssertExtensions;
+import java.time.Duration;
+import lombok.Cleanup;
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link AdaptiveCommitController} class.
+ */
+public class AdaptiveCommitControllerTests {
+    private static final int MAX_WRITE_LENGTH = 1024 * 1024;
+    private static final int TARGET_LATENCY_MILLIS = 20;
+    private static final WriteSettings WRITE_SETTINGS = new WriteSettings(MAX_WRITE_LENGTH, Duration.ofSeconds(30), 256 * MAX_WRITE_LENGTH);
+    private static final QueueStats BUSY_QUEUE = new QueueStats(10, 10 * MAX_WRITE_LENGTH / 2, MAX_WRITE_LENGTH, 10);
+    private static final QueueStats IDLE_QUEUE = new QueueStats(0, 0, MAX_WRITE_LENGTH, 0);
+
+    /**
+     * Tests the behavior when the append latency is above and below the target.
+     */
+    @Test
+    public void testAdjustments() {
+        @Cleanup
+        val metrics = new SegmentStoreMetrics.OperationProcessor(0);
+        val c = new AdaptiveCommitController(WRITE_SETTINGS, TARGET_LATENCY_MILLIS, metrics);
+        Assert.assertEquals("Expected full-size frames initially.", MAX_WRITE_LENGTH, c.getMaxFrameLength());
+        Assert.assertEquals("Expected no batching delay initially.", 0, c.getBatchingDelayMillis(BUSY_QUEUE));
+
+        // Fast writes: batching delay should increase, but never consume more than the available headroom.
+        final int fastLatency = TARGET_LATENCY_MILLIS - 5;
+        int lastDelay = 0;
+        for (int i = 0; i < 10; i++) {
+            recordAdjustment(c, fastLatency);
+            int delay = c.getBatchingDelayMillis(BUSY_QUEUE);
+            AssertExtensions.assertGreaterThanOrEqual("Expected batching delay to increase.", lastDelay, delay);
+            AssertExtensions.assertLessThanOrEqual("Batching delay exceeds headroom.", TARGET_LATENCY_MILLIS - fastLatency, delay);
+            Assert.assertEquals(MAX_WRITE_LENGTH, c.getMaxFrameLength());
+            lastDelay = delay;
+        }
+
+        Assert.assertEquals(TARGET_LATENCY_MILLIS - fastLatency, lastDelay);
+        Assert.assertEquals(fastLatency, c.getLatencyP99Millis());
+        Assert.assertEquals("Not expecting any batching delay if the DurableDataLog is idle.", 0, c.getBatchingDelayMillis(IDLE_QUEUE));
+
+        // Slow writes: frame length and batching delay should back off until they reach their minimums. We need to
+        // record a full window of slow writes to make sure the p99 reflects them.
+        for (int i = 0; i < AdaptiveCommitController.SAMPLE_WINDOW_SIZE / AdaptiveCommitController.ADJUSTMENT_INTERVAL; i++) {
+            recordAdjustment(c, TARGET_LATENCY_MILLIS * 2);
+        }
+
+        Assert.assertEquals(TARGET_LATENCY_MILLIS * 2, c.getLatencyP99Millis());
+        Assert.assertEquals("Expected no batching delay when above target.", 0, c.getBatchingDelayMillis(BUSY_QUEUE));
+        int frameLength = c.getMaxFrameLength();
+        AssertExtensions.assertLessThan("Expected frame length to decrease.", MAX_WRITE_LENGTH, frameLength);
+        for (int i = 0; i < 10; i++) {
+            recordAdjustment(c, TARGET_LATENCY_MILLIS * 2);
+        }
+        Assert.assertEquals("Expected frame length to be capped at the minimum.", AdaptiveCommitController.MIN_FRAME_LENGTH, c.getMaxFrameLength());
+
+        // Fast writes again: once the slow writes are out of the sample window, the frame length should gradually
+        // recover to the maximum.
+        for (int i = 0; i < AdaptiveCommitController.SAMPLE_WINDOW_SIZE / AdaptiveCommitController.ADJUSTMENT_INTERVAL; i++) {
+            recordAdjustment(c, 1);
+        }
+
+        frameLength = c.getMaxFrameLength();
+        for (int i = 0; i < 100; i++) {
+            recordAdjustment(c, 1);
+            AssertExtensions.assertGreaterThanOrEqual("Expected frame length to increase.", frameLength, c.getMaxFrameLength());
+            frameLength = c.getMaxFrameLength();
+        }
+
+        Assert.assertEquals(MAX_WRITE_LENGTH, c.getMaxFrameLength());
+    }
+
+    /**
+     * Tests that the p99 latency ignores outliers below the 99th percentile.
+     */
+    @Test
+    public void testPercentile() {
+        @Cleanup
+        val metrics = new SegmentStoreMetrics.OperationProcessor(0);
+        val c = new AdaptiveCommitController(WRITE_SETTINGS, TARGET_LATENCY_MILLIS, metrics);
+        for (int i = 0; i < AdaptiveCommitController.SAMPLE_WINDOW_SIZE; i++) {
+            c.recordWriteLatency(1);
+        }
+
+        for (int i = 0; i < AdaptiveCommitController.SAMPLE_WINDOW_SIZE * 4; i++) {
+            // Only one in every 128 samples (less than 1% of the window) is above target.
+            c.recordWriteLatency(i % 128 == 0 ? TARGET_LATENCY_MILLIS * 10 : 1);
+        }
+
+        Assert.assertEquals(1, c.getLatencyP99Millis());
+        Assert.assertEquals(MAX_WRITE_LENGTH, c.getMaxFrameLength());
+    }
+
+    /**
+     * Tests the case when the DurableDataLog's max write length is smaller than {@link AdaptiveCommitController#MIN_FRAME_LENGTH}.
+     */
+    @Test
+    public void testSmallMaxWriteLength() {
+        final int maxWriteLength = AdaptiveCommitController.MIN_FRAME_LENGTH / 2;
+        @Cleanup
+        val metrics = new SegmentStoreMetrics.OperationProcessor(0);
+        val c = new AdaptiveCommitController(new WriteSettings(maxWriteLength, Duration.ofSeconds(30), maxWriteLength * 10),
+                TARGET_LATENCY_MILLIS, metrics);
+        for (int i = 0; i < 10; i++) {
+            recordAdjustment(c, TARGET_LATENCY_MILLIS * 2);
+            Assert.assertEquals(maxWriteLength, c.getMaxFrameLength());
+        }
+    }
+
+    private void recordAdjustment(AdaptiveCommitController c, int latencyMillis) {
+        for (int i = 0; i < AdaptiveCommitController.ADJUSTMENT_INTERVAL; i++) {
+            c.recordWriteLatency(latencyMillis);
+        }
+    }
+}
@@ -19,6 +19,7 @@ import io.pravega.common.Exceptions;
 import io.pravega.common.ObjectClosedException;
 import io.pravega.common.function.Callbacks;
 import io.pravega.common.io.SerializationException;
+import io.pravega.common.io.StreamHelpers;
 import io.pravega.segmentstore.server.DataCorruptionException;
 import io.pravega.segmentstore.server.TestDurableDataLog;
 import io.pravega.segmentstore.storage.DataLogNotAvailableException;
@@ -96,6 +97,53 @@ public class DataFrameReaderTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests the ability of the DataFrameReader to read from a DataLog which contains both compressed and uncompressed
+     * DataFrames.
+     */
+    @Test
+    public void testReadsMixedCompression() throws Exception {
+        ArrayList<TestLogItem> records = DataFrameTestHelpers.generateCompressibleLogItems(100, SMALL_RECORD_MIN_SIZE, SMALL_RECORD_MAX_SIZE, 0);
+        records.addAll(DataFrameTestHelpers.generateLogItems(100, LARGE_RECORD_MIN_SIZE, LARGE_RECORD_MAX_SIZE, records.size()));
+        records.addAll(DataFrameTestHelpers.generateCompressibleLogItems(100, LARGE_RECORD_MIN_SIZE, LARGE_RECORD_MAX_SIZE, records.size()));
+        int uncompressedWriterStart = records.size();
+        records.addAll(DataFrameTestHelpers.generateCompressibleLogItems(100, SMALL_RECORD_MIN_SIZE, SMALL_RECORD_MAX_SIZE, records.size()));
+
+        try (TestDurableDataLog dataLog = TestDurableDataLog.create(CONTAINER_ID, FRAME_SIZE, executorService())) {
+            dataLog.initialize(TIMEOUT);
+
+            BiConsumer<Throwable, DataFrameBuilder.CommitArgs> errorCallback = (ex, a) ->
+                    Assert.fail(String.format("Unexpected error occurred upon commit. %s", ex));
+            val args = new DataFrameBuilder.Args(Callbacks::doNothing, Callbacks::doNothing, errorCallback, executorService());
+
+            // Compressible frames will be compressed, while the random (incompressible) ones should be left as they are.
+            try (DataFrameBuilder<TestLogItem> b = new DataFrameBuilder<>(dataLog, SERIALIZER, args, null, 0)) {
+                for (int i = 0; i < uncompressedWriterStart; i++) {
+                    b.append(records.get(i));
+                }
+                b.flush();
+            }
+
+            // Simulate compression being disabled after a restart.
+            try (DataFrameBuilder<TestLogItem> b = new DataFrameBuilder<>(dataLog, SERIALIZER, args)) {
+                for (int i = uncompressedWriterStart; i < records.size(); i++) {
+                    b.append(records.get(i));
+                }
+                b.flush();
+            }
+
+            // The Frame Header is Version (1 byte), Content Length (4 bytes) and Flags (1 byte); compression is the first flag.
+            val compressedFlags = dataLog.getAllEntries(ri -> (StreamHelpers.readAll(ri.getPayload(), 6)[5] & 1) == 1);
+            AssertExtensions.assertGreaterThan("Expected some compressed frames.", 0, compressedFlags.stream().filter(c -> c).count());
+            AssertExtensions.assertGreaterThan("Expected some uncompressed frames.", 0, compressedFlags.stream().filter(c -> !c).count());
+
+            TestSerializer logItemFactory = new TestSerializer();
+            DataFrameReader<TestLogItem> reader = new DataFrameReader<>(dataLog, logItemFactory, CONTAINER_ID);
+            List<TestLogItem> readItems = readAll(reader);
+            checkReadResult(records, new HashSet<>(), readItems);
+        }
+    }
+
     /**
      * Tests the case when we begin reading from a DataFrame which begins with a partial record. That record needs to
      * be dropped (not returned). DataFrameReader should always return full records.
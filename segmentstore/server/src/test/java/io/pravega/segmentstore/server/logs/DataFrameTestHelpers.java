@@ -53,6 +53,26 @@ class DataFrameTestHelpers {
         return generateRecords(count, minSize, maxSize, r -> r);
     }
 
+    /**
+     * Generates a collection of TestLogItems with highly compressible contents (bytes drawn from a small alphabet).
+     */
+    static ArrayList<TestLogItem> generateCompressibleLogItems(int count, int minSize, int maxSize, int startSeqNo) {
+        assert minSize <= maxSize;
+        Random random = new Random(0);
+        ArrayList<TestLogItem> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int size = (maxSize != minSize ? random.nextInt(maxSize - minSize) : 0) + minSize;
+            byte[] record = new byte[size];
+            for (int j = 0; j < size; j++) {
+                record[j] = (byte) ('a' + random.nextInt(4));
+            }
+
+            result.add(new TestLogItem(startSeqNo + i, record));
+        }
+
+        return result;
+    }
+
     /**
      * Generates a collection of records and converts them to a custom data type (i.e. ByteArraySegment).
      */
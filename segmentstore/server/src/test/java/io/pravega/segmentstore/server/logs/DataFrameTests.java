@@ -15,9 +15,11 @@
  */
 package io.pravega.segmentstore.server.logs;
 
+import io.pravega.common.io.SerializationException;
 import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.storage.LogAddress;
 import io.pravega.test.common.AssertExtensions;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.val;
 import org.junit.Assert;
@@ -59,6 +61,95 @@ public class DataFrameTests {
         DataFrameTestHelpers.checkReadRecords(contents, allRecords, b -> b);
     }
 
+    /**
+     * Tests the ability to compress a DataFrame and read its records back, as well as the cases when compression is
+     * skipped (small or incompressible frames).
+     */
+    @Test
+    public void testCompression() throws Exception {
+        int maxFrameSize = 1024 * 1024;
+        List<ByteArraySegment> compressibleRecords = new ArrayList<>();
+        for (val item : DataFrameTestHelpers.generateCompressibleLogItems(4500, 0, 1024, 0)) {
+            compressibleRecords.add(new ByteArraySegment(item.getData()));
+        }
+
+        // Compressible frame.
+        DataFrame writeFrame = DataFrame.ofSize(maxFrameSize);
+        appendRecords(compressibleRecords, writeFrame);
+        AssertExtensions.assertThrows(
+                "compress() worked on a non-sealed frame.",
+                () -> writeFrame.compress(0),
+                ex -> ex instanceof IllegalStateException);
+        writeFrame.seal();
+        int uncompressedLength = writeFrame.getLength();
+        Assert.assertFalse("Frame compressed even though it is below the threshold.", writeFrame.compress(uncompressedLength));
+        Assert.assertFalse(writeFrame.isCompressed());
+        Assert.assertEquals(uncompressedLength, writeFrame.getLength());
+
+        Assert.assertTrue("Compressible frame was not compressed.", writeFrame.compress(0));
+        Assert.assertTrue(writeFrame.isCompressed());
+        AssertExtensions.assertLessThan("Expected compressed frame to be smaller.", uncompressedLength / 2, writeFrame.getLength());
+        val frameData = writeFrame.getData();
+        Assert.assertEquals("Unexpected length from getData().", writeFrame.getLength(), frameData.getLength());
+        val contents = DataFrame.read(frameData.getReader(), frameData.getLength(), writeFrame.getAddress());
+        DataFrameTestHelpers.checkReadRecords(contents, compressibleRecords, b -> b);
+
+        // Incompressible frame.
+        List<ByteArraySegment> randomRecords = DataFrameTestHelpers.generateRecords(4500, 0, 1024, ByteArraySegment::new);
+        DataFrame randomFrame = DataFrame.ofSize(maxFrameSize);
+        appendRecords(randomRecords, randomFrame);
+        randomFrame.seal();
+        int randomLength = randomFrame.getLength();
+        Assert.assertFalse("Incompressible frame was compressed.", randomFrame.compress(0));
+        Assert.assertFalse(randomFrame.isCompressed());
+        Assert.assertEquals(randomLength, randomFrame.getLength());
+        val randomData = randomFrame.getData();
+        DataFrameTestHelpers.checkReadRecords(DataFrame.read(randomData.getReader(), randomData.getLength(), randomFrame.getAddress()),
+                randomRecords, b -> b);
+    }
+
+    /**
+     * Tests that compressed DataFrames are written with a newer Frame Header version and that corrupt or unsupported
+     * compressed Frame Headers are rejected before any memory is allocated for their contents.
+     */
+    @Test
+    public void testCompressedFrameValidation() throws Exception {
+        int maxFrameSize = 1024 * 1024;
+        List<ByteArraySegment> records = new ArrayList<>();
+        for (val item : DataFrameTestHelpers.generateCompressibleLogItems(100, 0, 1024, 0)) {
+            records.add(new ByteArraySegment(item.getData()));
+        }
+
+        DataFrame writeFrame = DataFrame.ofSize(maxFrameSize);
+        appendRecords(records, writeFrame);
+        writeFrame.seal();
+        Assert.assertTrue("Compressible frame was not compressed.", writeFrame.compress(0));
+        val frameData = new ByteArraySegment(writeFrame.getData().getCopy());
+        Assert.assertEquals("Unexpected version for a compressed frame.", 1, frameData.get(0));
+        DataFrameTestHelpers.checkReadRecords(DataFrame.read(frameData.getReader(), frameData.getLength(), writeFrame.getAddress(), maxFrameSize),
+                records, b -> b);
+
+        // The uncompressed length immediately follows the Frame Header (Version, Content Length, Flags).
+        int uncompressedLengthOffset = Byte.BYTES + Integer.BYTES + Byte.BYTES;
+        for (int badLength : new int[]{-1, 0, maxFrameSize, Integer.MAX_VALUE}) {
+            val corrupt = new ByteArraySegment(frameData.getCopy());
+            corrupt.setInt(uncompressedLengthOffset, badLength);
+            AssertExtensions.assertThrows(
+                    "read() accepted an uncompressed length of " + badLength,
+                    () -> DataFrame.read(corrupt.getReader(), corrupt.getLength(), writeFrame.getAddress(), maxFrameSize),
+                    ex -> ex instanceof SerializationException);
+        }
+
+        for (byte badVersion : new byte[]{0, 2}) {
+            val corrupt = new ByteArraySegment(frameData.getCopy());
+            corrupt.set(0, badVersion);
+            AssertExtensions.assertThrows(
+                    "read() accepted a compressed frame with version " + badVersion,
+                    () -> DataFrame.read(corrupt.getReader(), corrupt.getLength(), writeFrame.getAddress(), maxFrameSize),
+                    ex -> ex instanceof SerializationException);
+        }
+    }
+
     /**
      * Tests the ability to Start/End/Discard an entry.
      */
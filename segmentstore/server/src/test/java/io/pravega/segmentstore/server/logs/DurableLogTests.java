@@ -646,6 +646,26 @@ public class DurableLogTests extends OperationLogTestBase {
      */
     @Test
     public void testRecoveryWithNoFailures() throws Exception {
+        testRecoveryWithNoFailures(ContainerSetup.defaultDurableLogConfig());
+    }
+
+    /**
+     * Tests the DurableLog recovery process in a scenario when there are no failures during the process, with all
+     * recovered operations being applied sequentially.
+     */
+    @Test
+    public void testSequentialRecoveryWithNoFailures() throws Exception {
+        testRecoveryWithNoFailures(DurableLogConfig
+                .builder()
+                .with(DurableLogConfig.CHECKPOINT_MIN_COMMIT_COUNT, CHECKPOINT_MIN_COMMIT_COUNT)
+                .with(DurableLogConfig.CHECKPOINT_COMMIT_COUNT, Integer.MAX_VALUE)
+                .with(DurableLogConfig.CHECKPOINT_TOTAL_COMMIT_LENGTH, Long.MAX_VALUE)
+                .with(DurableLogConfig.START_RETRY_DELAY_MILLIS, START_RETRY_DELAY_MILLIS)
+                .with(DurableLogConfig.RECOVERY_REPLAY_PARALLELISM, 1)
+                .build());
+    }
+
+    private void testRecoveryWithNoFailures(DurableLogConfig recoveryConfig) throws Exception {
         int streamSegmentCount = 50;
         int transactionsPerStreamSegment = 2;
         int appendsPerStreamSegment = 20;
@@ -696,7 +716,7 @@ public class DurableLogTests extends OperationLogTestBase {
         metadata = new MetadataBuilder(CONTAINER_ID).build();
         try (
                 ReadIndex readIndex = new ContainerReadIndex(DEFAULT_READ_INDEX_CONFIG, metadata, storage, cacheManager, executorService());
-                DurableLog durableLog = new DurableLog(ContainerSetup.defaultDurableLogConfig(), metadata, dataLogFactory, readIndex, executorService())) {
+                DurableLog durableLog = new DurableLog(recoveryConfig, metadata, dataLogFactory, readIndex, executorService())) {
             durableLog.startAsync().awaitRunning();
 
             List<Operation> recoveredOperations = readUpToSequenceNumber(durableLog, metadata.getOperationSequenceNumber());
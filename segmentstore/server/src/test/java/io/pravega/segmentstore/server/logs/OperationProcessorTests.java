@@ -107,6 +107,23 @@ public class OperationProcessorTests extends OperationLogTestBase {
      */
     @Test
     public void testWithNoFailures() throws Exception {
+        testWithNoFailures(DurableLogConfig.builder().build());
+    }
+
+    /**
+     * Tests the ability of the OperationProcessor to process Operations in a failure-free environment, when DataFrame
+     * sizes and batching delays are adjusted by an {@link AdaptiveCommitController}.
+     */
+    @Test
+    public void testWithNoFailuresAdaptiveCommit() throws Exception {
+        testWithNoFailures(DurableLogConfig
+                .builder()
+                .with(DurableLogConfig.ADAPTIVE_COMMIT_ENABLE, true)
+                .with(DurableLogConfig.ADAPTIVE_COMMIT_TARGET_LATENCY_MILLIS, 1)
+                .build());
+    }
+
+    private void testWithNoFailures(DurableLogConfig config) throws Exception {
         int streamSegmentCount = 50;
         int transactionsPerStreamSegment = 2;
         int appendsPerStreamSegment = 20;
@@ -128,7 +145,7 @@ public class OperationProcessorTests extends OperationLogTestBase {
         dataLog.initialize(TIMEOUT);
         @Cleanup
         OperationProcessor operationProcessor = new OperationProcessor(context.metadata, context.stateUpdater,
-                dataLog, getNoOpCheckpointPolicy(), executorService());
+                dataLog, getNoOpCheckpointPolicy(), config, executorService());
         operationProcessor.startAsync().awaitRunning();
 
         // Process all generated operations.
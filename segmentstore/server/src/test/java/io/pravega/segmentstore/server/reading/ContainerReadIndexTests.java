@@ -27,6 +27,7 @@ import io.pravega.segmentstore.contracts.ReadResultEntryType;
 import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
 import io.pravega.segmentstore.contracts.StreamSegmentSealedException;
 import io.pravega.segmentstore.contracts.StreamSegmentTruncatedException;
+import io.pravega.segmentstore.server.CacheManager;
 import io.pravega.segmentstore.server.CachePolicy;
 import io.pravega.segmentstore.server.EvictableMetadata;
 import io.pravega.segmentstore.server.MetadataBuilder;
@@ -59,10 +60,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -1113,6 +1116,118 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         Assert.assertTrue("Unexpected number of cache inserts.", cacheInsertCount.get() == 3 || cacheInsertCount.get() == 1);
     }
 
+    /**
+     * Tests the ability to detect sequential Storage reads and read ahead the data that follows into the Cache.
+     */
+    @Test
+    public void testStorageReadAhead() throws Exception {
+        final int alignment = 1024;
+        final int segmentLength = 16 * alignment;
+        val config = ReadIndexConfig
+                .builder()
+                .with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, DEFAULT_CONFIG.getMemoryReadMinLength())
+                .with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, alignment)
+                .with(ReadIndexConfig.STORAGE_READ_AHEAD_MAX_LENGTH, 4 * alignment)
+                .build();
+
+        @Cleanup
+        TestContext context = new TestContext(config, CachePolicy.INFINITE);
+
+        // Create the segment and write some data to it in Storage.
+        val segmentId = createSegment(0, context);
+        val metadata = context.metadata.getStreamSegmentMetadata(segmentId);
+        context.storage.create(metadata.getName(), TIMEOUT).join();
+        val segmentData = new ByteArraySegment(new byte[segmentLength]);
+        new Random(0).nextBytes(segmentData.array());
+        context.storage.openWrite(metadata.getName())
+                .thenCompose(handle -> context.storage.write(handle, 0, segmentData.getReader(), segmentData.getLength(), TIMEOUT))
+                .join();
+        metadata.setLength(segmentData.getLength());
+        metadata.setStorageLength(segmentData.getLength());
+
+        val storageReadCount = new AtomicInteger();
+        context.storage.setReadInterceptor((segment, wrappedStorage) -> storageReadCount.incrementAndGet());
+
+        // Read the first two blocks, one at a time. The second one should trigger a read-ahead for the third one.
+        for (int i = 0; i < 2; i++) {
+            val readData = new byte[alignment];
+            context.readIndex.read(segmentId, (long) i * alignment, alignment, TIMEOUT).readRemaining(readData, TIMEOUT);
+            Assert.assertEquals("Unexpected data read.", segmentData.slice(i * alignment, alignment), new ByteArraySegment(readData));
+        }
+
+        // Wait for the read-ahead to complete (background task).
+        TestUtils.await(() -> isInCache(context, segmentId, 2 * alignment), 10, TIMEOUT.toMillis());
+
+        // Keep reading sequentially. Every subsequent read should be served from the Cache.
+        int readCountBefore = storageReadCount.get();
+        for (int offset = 2 * alignment; offset < segmentLength; offset += alignment) {
+            final long readOffset = offset;
+            TestUtils.await(() -> isInCache(context, segmentId, readOffset), 10, TIMEOUT.toMillis());
+            val readData = new byte[alignment];
+            context.readIndex.read(segmentId, offset, alignment, TIMEOUT).readRemaining(readData, TIMEOUT);
+            Assert.assertEquals("Unexpected data read.", segmentData.slice(offset, alignment), new ByteArraySegment(readData));
+        }
+
+        // The read-ahead window should have grown to fetch more than one block per Storage Read.
+        int readAheadCount = storageReadCount.get() - readCountBefore + 1;
+        AssertExtensions.assertLessThan("Expected larger read-ahead Storage reads.", segmentLength / alignment - 2, readAheadCount);
+    }
+
+    /**
+     * Tests that no read-ahead is performed if the Cache utilization is above the target.
+     */
+    @Test
+    public void testStorageReadAheadCachePressure() throws Exception {
+        final int alignment = 1024;
+        final int segmentLength = 8 * alignment;
+        val config = ReadIndexConfig
+                .builder()
+                .with(ReadIndexConfig.MEMORY_READ_MIN_LENGTH, DEFAULT_CONFIG.getMemoryReadMinLength())
+                .with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, alignment)
+                .with(ReadIndexConfig.STORAGE_READ_AHEAD_MAX_LENGTH, 4 * alignment)
+                .build();
+
+        val cachePolicy = new CachePolicy(segmentLength, 0.01, 1.0, Duration.ofSeconds(1000), Duration.ofSeconds(1000));
+        @Cleanup
+        TestContext context = new TestContext(config, cachePolicy);
+
+        // Bring the Cache above its target utilization with data that is not owned by any client.
+        int fillerAddress = context.cacheStorage.insert(new ByteArraySegment(new byte[alignment]));
+        context.cacheManager.applyCachePolicy();
+
+        val segmentId = createSegment(0, context);
+        val metadata = context.metadata.getStreamSegmentMetadata(segmentId);
+        context.storage.create(metadata.getName(), TIMEOUT).join();
+        val segmentData = new ByteArraySegment(new byte[segmentLength]);
+        new Random(0).nextBytes(segmentData.array());
+        context.storage.openWrite(metadata.getName())
+                .thenCompose(handle -> context.storage.write(handle, 0, segmentData.getReader(), segmentData.getLength(), TIMEOUT))
+                .join();
+        metadata.setLength(segmentData.getLength());
+        metadata.setStorageLength(segmentData.getLength());
+
+        val storageReadCount = new AtomicInteger();
+        context.storage.setReadInterceptor((segment, wrappedStorage) -> storageReadCount.incrementAndGet());
+
+        // Every sequential read should go to Storage, since nothing is ever read ahead.
+        for (int offset = 0; offset < segmentLength; offset += alignment) {
+            val readData = new byte[alignment];
+            context.readIndex.read(segmentId, offset, alignment, TIMEOUT).readRemaining(readData, TIMEOUT);
+            Assert.assertEquals("Unexpected data read.", segmentData.slice(offset, alignment), new ByteArraySegment(readData));
+        }
+
+        Assert.assertEquals("Unexpected number of storage reads.", segmentLength / alignment, storageReadCount.get());
+        context.cacheStorage.delete(fillerAddress);
+    }
+
+    private boolean isInCache(TestContext context, long segmentId, long offset) {
+        try {
+            return context.readIndex.read(segmentId, offset, 1, TIMEOUT).next().getType() == ReadResultEntryType.Cache;
+        } catch (StreamSegmentNotExistsException ex) {
+            throw new CompletionException(ex);
+        }
+    }
+
     /**
      * Tests the ability to handle Storage read failures.
      */
@@ -1324,7 +1439,10 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         CachePolicy cachePolicy = new CachePolicy(cacheMaxSize, 1.0, 1.0, Duration.ofMillis(1000 * 2 * entriesPerSegment), Duration.ofMillis(1000));
 
         // To properly test this, we want predictable storage reads.
-        ReadIndexConfig config = ReadIndexConfig.builder().with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, appendSize).build();
+        ReadIndexConfig config = ReadIndexConfig.builder()
+                .with(ReadIndexConfig.STORAGE_READ_ALIGNMENT, appendSize)
+                .with(ReadIndexConfig.STORAGE_READ_AHEAD_MAX_LENGTH, 0)
+                .build();
 
         ArrayList<Integer> removedEntries = new ArrayList<>();
         @Cleanup
@@ -1548,6 +1666,238 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
                 ex -> ex instanceof IllegalStateException);
     }
 
+    /**
+     * Tests the ability to demote Cache entries to a lower Cache tier instead of evicting them, and to promote them back
+     * upon reading.
+     */
+    @Test
+    public void testCacheDemotion() throws Exception {
+        final int appendCount = 100;
+        final int segmentId = 123;
+        final byte[] appendData = new byte[2];
+
+        val removedEntryCount = new AtomicInteger();
+        @Cleanup
+        TestContext context = new TestContext();
+        context.metadata.enterRecoveryMode();
+        context.readIndex.enterRecoveryMode(context.metadata);
+        context.cacheStorage.disableAppends = true;
+        context.cacheStorage.enableDemotion = true;
+        context.cacheStorage.deleteCallback = e -> removedEntryCount.incrementAndGet();
+
+        createSegment(segmentId, context);
+        val metadata = context.metadata.getStreamSegmentMetadata(segmentId);
+        metadata.setLength(appendCount * appendData.length);
+        for (int i = 0; i < appendCount; i++) {
+            appendData[0] = (byte) i;
+            context.readIndex.append(segmentId, (long) i * appendData.length, new ByteArraySegment(appendData));
+        }
+
+        // First half of the segment is in Storage. Those entries should be demoted, not evicted.
+        metadata.setStorageLength(metadata.getLength() / 2);
+        val trim1 = context.readIndex.trimCache();
+        Assert.assertEquals("Unexpected number of bytes freed.", metadata.getStorageLength(), trim1);
+        Assert.assertEquals("Not expecting any entries to be evicted.", 0, removedEntryCount.get());
+        Assert.assertEquals("Unexpected number of demoted entries.", appendCount / 2, context.cacheStorage.demotedAddresses.size());
+
+        // Whole segment is in Storage. Already demoted entries cannot be demoted further, so they should be evicted,
+        // while the remaining entries should be demoted.
+        metadata.setStorageLength(metadata.getLength());
+        val trim2 = context.readIndex.trimCache();
+        Assert.assertEquals("Unexpected number of bytes freed.", metadata.getLength(), trim2);
+        Assert.assertEquals("Unexpected number of evicted entries.", appendCount / 2, removedEntryCount.get());
+        Assert.assertEquals("Unexpected number of demoted entries.", appendCount / 2, context.cacheStorage.demotedAddresses.size());
+
+        context.metadata.exitRecoveryMode();
+        context.readIndex.exitRecoveryMode(true);
+
+        // Evicted entries should be served from Storage, while demoted ones should still be in the Cache (and promoted).
+        for (int i = 0; i < appendCount; i++) {
+            @Cleanup
+            val readResult = context.readIndex.read(segmentId, (long) i * appendData.length, appendData.length, TIMEOUT);
+            val first = readResult.next();
+            if (i < appendCount / 2) {
+                Assert.assertEquals("Expected evicted entry to be read from Storage.", ReadResultEntryType.Storage, first.getType());
+            } else {
+                Assert.assertEquals("Expected demoted entry to be read from Cache.", ReadResultEntryType.Cache, first.getType());
+                Assert.assertEquals("Unexpected data read.", (byte) i, first.getContent().join().getCopy()[0]);
+            }
+        }
+
+        Assert.assertEquals("Expected all demoted entries to be promoted.", 0, context.cacheStorage.demotedAddresses.size());
+    }
+
+    /**
+     * Tests {@link CachePolicy.EvictionPolicy#FREQUENCY_AWARE}: frequently read entries should be protected from being
+     * evicted while there are entries on probation that can be evicted instead.
+     */
+    @Test
+    public void testFrequencyAwareEviction() throws Exception {
+        final int segmentId = 123;
+        final int hotLength = 100;
+        final int coldLength = 800;
+        final int hotReadCount = 3;
+        val cachePolicy = new CachePolicy(1000, 0.5, 0.9, Duration.ofHours(1000), Duration.ofHours(1),
+                CachePolicy.EvictionPolicy.FREQUENCY_AWARE);
+        @Cleanup
+        TestContext context = new TestContext(DEFAULT_CONFIG, cachePolicy);
+        context.cacheStorage.usedBytesSameAsStoredBytes = true;
+        context.cacheStorage.disableAppends = true;
+
+        createSegment(segmentId, context);
+        val metadata = context.metadata.getStreamSegmentMetadata(segmentId);
+        metadata.setLength(hotLength + coldLength);
+        context.readIndex.append(segmentId, 0, new ByteArraySegment(new byte[hotLength]));
+        context.readIndex.append(segmentId, hotLength, new ByteArraySegment(new byte[coldLength]));
+        metadata.setStorageLength(metadata.getLength());
+
+        // Read the first entry repeatedly and the second one only once.
+        for (int i = 0; i < hotReadCount; i++) {
+            readFirstEntry(segmentId, 0, hotLength, ReadResultEntryType.Cache, context);
+        }
+
+        readFirstEntry(segmentId, hotLength, coldLength, ReadResultEntryType.Cache, context);
+
+        // Both entries have the same generation, but only the cold one should be evicted as that brings the cache below
+        // its eviction threshold.
+        context.cacheManager.applyCachePolicy();
+        readFirstEntry(segmentId, 0, hotLength, ReadResultEntryType.Cache, context);
+        readFirstEntry(segmentId, hotLength, coldLength, ReadResultEntryType.Storage, context);
+        Assert.assertEquals("Unexpected number of bytes in the cache.", hotLength, context.cacheStorage.getState().getStoredBytes());
+    }
+
+    /**
+     * Tests the ability to serve reads (from the Cache and from Storage) while the same segment is being concurrently
+     * appended to and evicted from the Cache. Cache reads do not acquire the index lock, so this verifies that they never
+     * return data that is being evicted.
+     */
+    @Test
+    public void testConcurrentReadsAppendsAndEvictions() throws Exception {
+        final int segmentId = 123;
+        final int appendLength = 100;
+        final int appendCount = 2000;
+        final int readerCount = 2;
+        final int readsPerReader = 2000;
+        val cachePolicy = new CachePolicy(10 * appendLength, Duration.ofMillis(1), Duration.ofMillis(1));
+        @Cleanup
+        TestContext context = new TestContext(DEFAULT_CONFIG, cachePolicy);
+        context.cacheStorage.disableAppends = true;
+
+        // Write all the data to Storage upfront; we will only be able to read it from there once we set the StorageLength.
+        createSegment(segmentId, context);
+        val metadata = context.metadata.getStreamSegmentMetadata(segmentId);
+        context.storage.create(metadata.getName(), TIMEOUT).join();
+        val segmentData = new ByteArraySegment(new byte[appendLength * appendCount]);
+        new Random(0).nextBytes(segmentData.array());
+        context.storage.openWrite(metadata.getName())
+                .thenCompose(handle -> context.storage.write(handle, 0, segmentData.getReader(), segmentData.getLength(), TIMEOUT))
+                .join();
+
+        val appendedLength = new AtomicLong();
+        val writer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < appendCount; i++) {
+                long offset = (long) i * appendLength;
+                metadata.setLength(offset + appendLength);
+                try {
+                    context.readIndex.append(segmentId, offset, segmentData.slice((int) offset, appendLength));
+                } catch (StreamSegmentNotExistsException ex) {
+                    throw new CompletionException(ex);
+                }
+
+                appendedLength.set(offset + appendLength);
+            }
+        }, executorService());
+
+        // Continuously move data into Storage and evict from the Cache.
+        val evictor = CompletableFuture.runAsync(() -> {
+            while (!writer.isDone()) {
+                metadata.setStorageLength(Math.max(0, appendedLength.get() - 10 * appendLength));
+                context.cacheManager.applyCachePolicy();
+            }
+        }, executorService());
+
+        TestUtils.await(() -> appendedLength.get() > 0, 5, TIMEOUT.toMillis());
+        val readers = new ArrayList<CompletableFuture<Void>>();
+        for (int r = 0; r < readerCount; r++) {
+            val rnd = new Random(r);
+            readers.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < readsPerReader; i++) {
+                    long maxOffset = appendedLength.get();
+                    // Tail reads are much more likely than random reads.
+                    long offset = rnd.nextBoolean() ? Math.max(0, maxOffset - appendLength) : (long) (rnd.nextDouble() * maxOffset);
+                    int length = (int) Math.min(appendLength, maxOffset - offset);
+                    val readData = new byte[length];
+                    try {
+                        @Cleanup
+                        val readResult = context.readIndex.read(segmentId, offset, length, TIMEOUT);
+                        readResult.setCopyOnRead(true);
+                        readResult.readRemaining(readData, TIMEOUT);
+                    } catch (StreamSegmentNotExistsException ex) {
+                        throw new CompletionException(ex);
+                    }
+
+                    Assert.assertEquals("Unexpected data read at offset " + offset, segmentData.slice((int) offset, length), new ByteArraySegment(readData));
+                }
+            }, executorService()));
+        }
+
+        Futures.allOf(readers).get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        writer.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        evictor.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tests {@link ReadResult#setPinOnRead}: data read from the Cache must remain intact even if the entry is evicted
+     * (and its memory reclaimed only after the data is released).
+     */
+    @Test
+    public void testPinOnRead() throws Exception {
+        final int segmentId = 123;
+        final int length = 10000;
+        val cachePolicy = new CachePolicy(1, Duration.ofHours(1000), Duration.ofHours(1));
+        @Cleanup
+        TestContext context = new TestContext(DEFAULT_CONFIG, cachePolicy);
+        context.cacheStorage.disableAppends = true;
+
+        createSegment(segmentId, context);
+        val metadata = context.metadata.getStreamSegmentMetadata(segmentId);
+        metadata.setLength(length);
+        val data = new byte[length];
+        new Random(0).nextBytes(data);
+        context.readIndex.append(segmentId, 0, new ByteArraySegment(data));
+        metadata.setStorageLength(metadata.getLength());
+
+        @Cleanup
+        val readResult = context.readIndex.read(segmentId, 0, length, TIMEOUT);
+        readResult.setPinOnRead(true);
+        val entry = readResult.next();
+        Assert.assertEquals(ReadResultEntryType.Cache, entry.getType());
+        val contents = entry.getContent().join();
+
+        // Evict the entry from the cache and insert new data. The pinned contents must not be overwritten.
+        context.cacheManager.applyCachePolicy();
+        readFirstEntry(segmentId, 0, length, ReadResultEntryType.Storage, context);
+        Assert.assertEquals("Not expecting pinned data to be reclaimed.", length, context.cacheStorage.getState().getStoredBytes());
+        int otherAddress = context.cacheStorage.insert(new ByteArraySegment(new byte[length]));
+        Assert.assertArrayEquals("Unexpected pinned data.", data, contents.getCopy());
+        Assert.assertEquals(2 * length, context.cacheStorage.getState().getStoredBytes());
+
+        // Once released, the memory should be reclaimed.
+        contents.release();
+        Assert.assertEquals("Expected pinned data to be reclaimed after release.", length, context.cacheStorage.getState().getStoredBytes());
+        context.cacheStorage.delete(otherAddress);
+    }
+
+    private void readFirstEntry(long segmentId, long offset, int length, ReadResultEntryType expectedType, TestContext context) throws Exception {
+        @Cleanup
+        val readResult = context.readIndex.read(segmentId, offset, length, TIMEOUT);
+        val entry = readResult.next();
+        Assert.assertEquals("Unexpected entry type at offset " + offset, expectedType, entry.getType());
+        if (expectedType == ReadResultEntryType.Cache) {
+            entry.getContent().join();
+        }
+    }
+
     /**
      * Tests the {@link ContainerReadIndex#cleanup} method as well as its handling of inactive segments.
      */
@@ -2011,7 +2361,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
 
             return spiedIndices.get(sm.getId());
         }).when(spiedIndex).createSegmentIndex(Mockito.any(ReadIndexConfig.class), Mockito.any(SegmentMetadata.class),
-                Mockito.any(CacheStorage.class), Mockito.any(ReadOnlyStorage.class), Mockito.any(ScheduledExecutorService.class), Mockito.anyBoolean());
+                Mockito.any(CacheManager.class), Mockito.any(ReadOnlyStorage.class), Mockito.any(ScheduledExecutorService.class), Mockito.anyBoolean());
 
         // Initiate the merge.
         targetMetadata.setLength(sourceMetadata.getLength());
@@ -2038,7 +2388,7 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
             spiedIndex.completeMerge(targetSegmentId, sourceSegmentId);
 
             return arg2.callRealMethod();
-        }).when(spiedIndices.get(sourceSegmentId)).getSingleReadResultEntry(Mockito.anyLong(), Mockito.anyInt(), Mockito.anyBoolean());
+        }).when(spiedIndices.get(sourceSegmentId)).getSingleReadResultEntry(Mockito.anyLong(), Mockito.anyInt(), Mockito.any());
 
         // Setup a Read Result, verify that it is indeed returning a RedirectedReadResultEntry, and immediately close it.
         // Then verify that the entry itself has been cancelled.
@@ -2728,6 +3078,8 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
         Consumer<Integer> deleteCallback;
         boolean disableAppends;
         boolean usedBytesSameAsStoredBytes;
+        boolean enableDemotion; // If set, demote() and promote() simulate moving entries to and from a lower tier.
+        final Set<Integer> demotedAddresses = ConcurrentHashMap.newKeySet();
         ReusableLatch appendComplete; // If set, will invoke ReusableLatch.release() when append is done (before appendReturnBlocker).
         ReusableLatch appendReturnBlocker; // If set, blocks append calls from returning AFTER the append has been executed.
         @Getter
@@ -2788,12 +3140,37 @@ public class ContainerReadIndexTests extends ThreadPooledTestSuite {
             }
 
             super.delete(address);
+            this.demotedAddresses.remove(address);
             Consumer<Integer> callback = this.deleteCallback;
             if (callback != null) {
                 callback.accept(address);
             }
         }
 
+        @Override
+        public int demote(int address) {
+            if (!this.enableDemotion || this.demotedAddresses.contains(address)) {
+                return NO_ADDRESS;
+            }
+
+            // Simulate a move to another tier by copying the data to a new address and tracking it.
+            int newAddress = super.insert(new ByteArraySegment(super.get(address).getCopy()));
+            super.delete(address);
+            this.demotedAddresses.add(newAddress);
+            return newAddress;
+        }
+
+        @Override
+        public int promote(int address) {
+            if (!this.demotedAddresses.remove(address)) {
+                return address;
+            }
+
+            int newAddress = super.insert(new ByteArraySegment(super.get(address).getCopy()));
+            super.delete(address);
+            return newAddress;
+        }
+
         @Override
         public CacheState getState() {
             val s = super.getState();
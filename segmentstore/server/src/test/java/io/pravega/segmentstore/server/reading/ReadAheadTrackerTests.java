@@ -0,0 +1,115 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.reading;
+
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the ReadAheadTracker class.
+ */
+public class ReadAheadTrackerTests {
+    private static final int ALIGNMENT = 100;
+    private static final int MAX_LENGTH = 8 * ALIGNMENT;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(10);
+
+    /**
+     * Tests the growth of the read-ahead window with sequential Storage Reads.
+     */
+    @Test
+    public void testSequentialStorageReads() {
+        val t = new ReadAheadTracker(ALIGNMENT, MAX_LENGTH);
+        Assert.assertNull("Not expecting a read-ahead for the first read.", t.onStorageRead(0, ALIGNMENT));
+        Assert.assertEquals(new ReadAheadTracker.Range(200, 100), t.onStorageRead(100, ALIGNMENT));
+        Assert.assertEquals(new ReadAheadTracker.Range(300, 200), t.onStorageRead(200, ALIGNMENT));
+        Assert.assertEquals(new ReadAheadTracker.Range(500, 300), t.onStorageRead(300, ALIGNMENT));
+        Assert.assertEquals(new ReadAheadTracker.Range(800, 500), t.onStorageRead(400, ALIGNMENT));
+
+        // The window is capped at MAX_LENGTH.
+        Assert.assertEquals(new ReadAheadTracker.Range(1300, 100), t.onStorageRead(500, ALIGNMENT));
+
+        // A Storage Read within the range that has been read ahead is still sequential.
+        Assert.assertEquals(new ReadAheadTracker.Range(1400, 300), t.onStorageRead(800, 100));
+    }
+
+    /**
+     * Tests the fact that non-sequential Storage Reads reset the read-ahead window.
+     */
+    @Test
+    public void testRandomStorageReads() {
+        val t = new ReadAheadTracker(ALIGNMENT, MAX_LENGTH);
+        t.onStorageRead(0, ALIGNMENT);
+        Assert.assertNotNull(t.onStorageRead(100, ALIGNMENT));
+        Assert.assertNull("Not expecting a read-ahead for a random read.", t.onStorageRead(5000, ALIGNMENT));
+        Assert.assertNull("Not expecting a cache read to open the window.", t.onRead(5100));
+        Assert.assertNull("Not expecting a read-ahead for a random read.", t.onStorageRead(10, ALIGNMENT));
+
+        // The window starts growing again from the beginning.
+        Assert.assertEquals(new ReadAheadTracker.Range(210, 100), t.onStorageRead(110, ALIGNMENT));
+    }
+
+    /**
+     * Tests the fact that reads served from the Cache advance the read-ahead window.
+     */
+    @Test
+    public void testCacheReads() {
+        val t = new ReadAheadTracker(ALIGNMENT, MAX_LENGTH);
+        t.onStorageRead(0, ALIGNMENT);
+        Assert.assertEquals(new ReadAheadTracker.Range(200, 100), t.onStorageRead(100, ALIGNMENT));
+
+        // Nothing to do until the reader has made enough progress.
+        Assert.assertNull(t.onRead(200));
+        Assert.assertNull("Not expecting a read-ahead for an offset outside of the window.", t.onRead(50));
+        Assert.assertNull("Not expecting a read-ahead for an offset outside of the window.", t.onRead(301));
+        Assert.assertEquals(new ReadAheadTracker.Range(300, 100), t.onRead(300));
+        Assert.assertEquals(new ReadAheadTracker.Range(400, 100), t.onRead(400));
+    }
+
+    /**
+     * Tests the backOff() method.
+     */
+    @Test
+    public void testBackOff() {
+        val t = new ReadAheadTracker(ALIGNMENT, MAX_LENGTH);
+        t.onStorageRead(0, ALIGNMENT);
+        t.onStorageRead(100, ALIGNMENT);
+        Assert.assertEquals(new ReadAheadTracker.Range(300, 200), t.onStorageRead(200, ALIGNMENT));
+
+        // Halve the window.
+        t.backOff();
+        Assert.assertEquals(new ReadAheadTracker.Range(500, 100), t.onRead(500));
+
+        // The window is now smaller than the alignment, so it is closed.
+        t.backOff();
+        Assert.assertNull(t.onRead(600));
+    }
+
+    /**
+     * Tests the fact that nothing is read ahead if the tracker is disabled.
+     */
+    @Test
+    public void testDisabled() {
+        val t = new ReadAheadTracker(ALIGNMENT, 0);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertNull(t.onStorageRead((long) i * ALIGNMENT, ALIGNMENT));
+            Assert.assertNull(t.onRead((long) i * ALIGNMENT));
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package io.pravega.segmentstore.server.tables;
 
 import com.google.common.collect.Maps;
+import io.pravega.common.Exceptions;
 import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.contracts.tables.TableKey;
 import io.pravega.segmentstore.storage.cache.CacheFullException;
@@ -29,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -203,8 +205,20 @@ public class ContainerKeyCacheTests {
      */
     @Test
     public void testBatchUpdate() {
+        testBatchUpdate(false);
+    }
+
+    /**
+     * Tests the {@link ContainerKeyCache#includeUpdateBatch} method for updates, with the tail cache stored off-heap.
+     */
+    @Test
+    public void testBatchUpdateOffHeap() {
+        testBatchUpdate(true);
+    }
+
+    private void testBatchUpdate(boolean offHeapTailCache) {
         @Cleanup
-        val keyCache = new ContainerKeyCache(this.cacheStorage);
+        val keyCache = new ContainerKeyCache(this.cacheStorage, offHeapTailCache);
         val rnd = new Random(0);
         val expectedResult = new HashMap<TestKey, CacheBucketOffset>();
 
@@ -237,6 +251,41 @@ public class ContainerKeyCacheTests {
         checkCache(expectedResult, keyCache);
     }
 
+    /**
+     * Tests that discarding a Segment's cache concurrently with {@link ContainerKeyCache#includeUpdateBatch} does not
+     * leave behind any direct memory when the tail cache is stored off-heap.
+     */
+    @Test
+    public void testConcurrentDiscardAndBatchUpdateOffHeap() throws Exception {
+        final int iterationCount = 1000;
+        long initialDirectMemory = LongKeyedHashTable.getUsedDirectMemory();
+        val keyCache = new ContainerKeyCache(this.cacheStorage, true);
+        val rnd = new Random(0);
+        for (int i = 0; i < iterationCount; i++) {
+            long segmentId = i;
+            val batch = TableKeyBatch.update();
+            val key = newTableKey(rnd);
+            batch.add(key, KEY_HASHER.hash(key.getKey()), key.getKey().getLength());
+            keyCache.updateSegmentIndexOffset(segmentId, 0);
+
+            val start = new CountDownLatch(1);
+            val discard = new Thread(() -> {
+                Exceptions.handleInterrupted(start::await);
+                keyCache.updateSegmentIndexOffset(segmentId, -1);
+            });
+            discard.start();
+            start.countDown();
+            keyCache.includeUpdateBatch(segmentId, batch, 0);
+            discard.join();
+        }
+
+        // Anything that is still registered is released when the cache is closed; anything else must never have been
+        // allocated in the first place.
+        keyCache.close();
+        Assert.assertEquals("MEMORY LEAK: Expected all direct memory to be released.",
+                initialDirectMemory, LongKeyedHashTable.getUsedDirectMemory());
+    }
+
     /**
      * Tests the {@link ContainerKeyCache#includeUpdateBatch} method for removals.
      */
@@ -536,9 +585,21 @@ public class ContainerKeyCacheTests {
      */
     @Test
     public void testTailCacheMigration() {
+        testTailCacheMigration(false);
+    }
+
+    /**
+     * Tests the migration of tail cache entries to the long-term cache when the tail cache is stored off-heap.
+     */
+    @Test
+    public void testTailCacheMigrationOffHeap() {
+        testTailCacheMigration(true);
+    }
+
+    private void testTailCacheMigration(boolean offHeapTailCache) {
         final long segmentId = 1L;
         @Cleanup
-        val keyCache = new ContainerKeyCache(this.cacheStorage);
+        val keyCache = new ContainerKeyCache(this.cacheStorage, offHeapTailCache);
         val rnd = new Random(0);
         val expectedResult = new HashMap<TestKey, CacheBucketOffset>();
 
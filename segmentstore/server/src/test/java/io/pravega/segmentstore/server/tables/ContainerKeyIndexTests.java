@@ -411,6 +411,58 @@ public class ContainerKeyIndexTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Tests the ability of the {@link ContainerKeyIndex} class to use a {@link TableKeyFilter} to answer lookups for
+     * Key Hashes that are not in the index.
+     */
+    @Test
+    public void testKeyFilter() {
+        final int segmentLength = 1;
+        @Cleanup
+        val context = new TestContext();
+        context.segment.append(new ByteArraySegment(new byte[segmentLength]), null, TIMEOUT).join();
+        val iw = new IndexWriter(HASHER, executorService());
+
+        // Index half of the keys, and keep the filter up to date with it.
+        val keys = generateUnversionedKeys(BATCH_SIZE, context);
+        val indexedHashes = new HashMap<UUID, Long>();
+        val bucketUpdates = new ArrayList<BucketUpdate>();
+        for (int i = 0; i < keys.size() / 2; i++) {
+            val hash = HASHER.hash(keys.get(i).getKey());
+            val b = BucketUpdate.forBucket(new TableBucket(hash, TableKey.NOT_EXISTS));
+            b.withKeyUpdate(new BucketUpdate.KeyUpdate(keys.get(i).getKey(), i, i, false));
+            bucketUpdates.add(b.build());
+            indexedHashes.put(hash, (long) i);
+        }
+
+        val keyFilter = new TableKeyFilter(BATCH_SIZE * 16);
+        iw.updateBuckets(context.segment, bucketUpdates, keyFilter, 0L, segmentLength, bucketUpdates.size(), TIMEOUT).join();
+        val allHashes = keys.stream().map(k -> HASHER.hash(k.getKey())).collect(Collectors.toList());
+
+        // An empty filter hides everything in the index (this verifies the index is not looked up).
+        context.index.notifyKeyFilterChanged(context.segment.getSegmentId(), new TableKeyFilter(BATCH_SIZE * 16));
+        val emptyFilterResult = context.index.getBucketOffsets(context.segment, allHashes, context.timer).join();
+        for (val hash : allHashes) {
+            Assert.assertEquals("Not expecting a result when the hash is not in the filter.", TableKey.NOT_EXISTS, (long) emptyFilterResult.get(hash));
+        }
+
+        // The actual filter lets through everything in the index.
+        context.index.notifyKeyFilterChanged(context.segment.getSegmentId(), keyFilter);
+        val result = context.index.getBucketOffsets(context.segment, allHashes, context.timer).join();
+        for (val hash : allHashes) {
+            long expectedOffset = indexedHashes.getOrDefault(hash, TableKey.NOT_EXISTS);
+            Assert.assertEquals("Unexpected result from getBucketOffsets.", expectedOffset, (long) result.get(hash));
+        }
+
+        // Evicting the segment should discard the filter.
+        context.index.notifyKeyFilterChanged(context.segment.getSegmentId(), new TableKeyFilter(BATCH_SIZE * 16));
+        context.index.notifyIndexOffsetChanged(context.segment.getSegmentId(), -1L, 0);
+        for (val e : indexedHashes.entrySet()) {
+            val offset = context.index.getBucketOffsetDirect(context.segment, e.getKey(), context.timer).join();
+            Assert.assertEquals("Unexpected result from getBucketOffsetDirect after discarding the filter.", e.getValue(), offset);
+        }
+    }
+
     /**
      * Checks the ability for the {@link ContainerKeyIndex} class to properly handle recovery situations where the Table
      * Segment may not have been fully indexed when the first request for it is received.
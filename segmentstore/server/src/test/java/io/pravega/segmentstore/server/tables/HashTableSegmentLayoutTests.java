@@ -135,6 +135,16 @@ public class HashTableSegmentLayoutTests extends TableSegmentLayoutTestBase {
         testSingleUpdates(KeyHashers.CONSTANT_HASHER, this::toConditionalTableEntry, this::toConditionalKey);
     }
 
+    /**
+     * Tests the ability to perform conditional updates using a single key at a time when {@link TableKeyFilter}s are
+     * enabled.
+     */
+    @Test
+    public void testSingleUpdateConditionalKeyFilter() {
+        val config = TableExtensionConfig.builder().keyFilterBitCount(1 << 16).build();
+        testSingleUpdates(config, KeyHashers.DEFAULT_HASHER, this::toConditionalTableEntry, this::toConditionalKey);
+    }
+
     /**
      * Tests the ability to perform unconditional updates and removals using a {@link KeyHasher} that is very prone to
      * collisions.
@@ -0,0 +1,162 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.tables;
+
+import io.pravega.test.common.AssertExtensions;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the {@link LongKeyedHashTable} class.
+ */
+public class LongKeyedHashTableTests {
+    private static final int ITERATION_COUNT = 100000;
+    private static final int KEY_RANGE = 10000;
+    @Rule
+    public Timeout globalTimeout = new Timeout(30, TimeUnit.SECONDS);
+
+    /**
+     * Tests put/get/remove operations with single-long keys, stored on the heap.
+     */
+    @Test
+    public void testSingleKeyHeap() {
+        testRandomOperations(1, false);
+    }
+
+    /**
+     * Tests put/get/remove operations with single-long keys, stored off-heap.
+     */
+    @Test
+    public void testSingleKeyDirect() {
+        testRandomOperations(1, true);
+    }
+
+    /**
+     * Tests put/get/remove operations with two-long keys, stored on the heap.
+     */
+    @Test
+    public void testDoubleKeyHeap() {
+        testRandomOperations(2, false);
+    }
+
+    /**
+     * Tests put/get/remove operations with two-long keys, stored off-heap.
+     */
+    @Test
+    public void testDoubleKeyDirect() {
+        testRandomOperations(2, true);
+    }
+
+    /**
+     * Tests the {@link LongKeyedHashTable#removeIf} method, including shrinking the table.
+     */
+    @Test
+    public void testRemoveIf() {
+        for (boolean direct : new boolean[]{false, true}) {
+            val table = new LongKeyedHashTable(1, direct);
+            val expected = new HashMap<Long, Long>();
+            for (long i = 0; i < KEY_RANGE; i++) {
+                table.put(i, 0, i * 2);
+                expected.put(i, i * 2);
+            }
+
+            int capacity = table.getCapacity();
+            int removed = table.removeIf((k1, k2, value) -> k1 < KEY_RANGE - 10);
+            expected.keySet().removeIf(k -> k < KEY_RANGE - 10);
+            Assert.assertEquals("Unexpected number of entries removed.", KEY_RANGE - 10, removed);
+            AssertExtensions.assertLessThan("Expected table to shrink.", capacity, table.getCapacity());
+            checkTable(expected, table);
+
+            // Remove everything.
+            Assert.assertEquals(10, table.removeIf((k1, k2, value) -> true));
+            Assert.assertEquals("Expected no memory to be used by an empty table.", 0, table.getCapacity());
+            checkTable(new HashMap<>(), table);
+
+            // Verify the table can be reused.
+            table.put(1, 0, 2);
+            Assert.assertEquals(2, table.get(1, 0, -1));
+            table.release();
+            Assert.assertEquals(0, table.size());
+            Assert.assertFalse(table.containsKey(1, 0));
+        }
+    }
+
+    /**
+     * Tests the conditional {@link LongKeyedHashTable#remove(long, long, long)} method.
+     */
+    @Test
+    public void testConditionalRemove() {
+        val table = new LongKeyedHashTable(2, false);
+        val key = UUID.randomUUID();
+        table.put(key.getMostSignificantBits(), key.getLeastSignificantBits(), 1);
+        Assert.assertFalse(table.remove(key.getMostSignificantBits(), key.getLeastSignificantBits(), 2));
+        Assert.assertTrue(table.containsKey(key.getMostSignificantBits(), key.getLeastSignificantBits()));
+        Assert.assertTrue(table.remove(key.getMostSignificantBits(), key.getLeastSignificantBits(), 1));
+        Assert.assertFalse(table.containsKey(key.getMostSignificantBits(), key.getLeastSignificantBits()));
+        Assert.assertFalse(table.remove(key.getMostSignificantBits(), key.getLeastSignificantBits()));
+    }
+
+    private void testRandomOperations(int keyLength, boolean direct) {
+        val table = new LongKeyedHashTable(keyLength, direct);
+        val expected = new HashMap<UUID, Long>();
+        val rnd = new Random(0);
+        try {
+            for (int i = 0; i < ITERATION_COUNT; i++) {
+                // Use a narrow key range so that we get plenty of updates, removals and collisions.
+                long k1 = rnd.nextInt(KEY_RANGE);
+                long k2 = keyLength == 1 ? 0 : rnd.nextInt(2);
+                val key = new UUID(k1, k2);
+                if (rnd.nextInt(3) == 0) {
+                    boolean removed = table.remove(k1, k2);
+                    Assert.assertEquals("Unexpected result from remove().", expected.remove(key) != null, removed);
+                } else {
+                    long value = rnd.nextLong();
+                    table.put(k1, k2, value);
+                    expected.put(key, value);
+                }
+
+                Assert.assertEquals("Unexpected size.", expected.size(), table.size());
+            }
+
+            val actual = new HashMap<UUID, Long>();
+            table.forEach((k1, k2, value) -> Assert.assertNull("Duplicate key.", actual.put(new UUID(k1, k2), value)));
+            Assert.assertEquals("Unexpected contents from forEach().", expected, actual);
+            for (val e : expected.entrySet()) {
+                long k1 = e.getKey().getMostSignificantBits();
+                long k2 = e.getKey().getLeastSignificantBits();
+                Assert.assertTrue(table.containsKey(k1, k2));
+                Assert.assertEquals((long) e.getValue(), table.get(k1, k2, -1));
+            }
+        } finally {
+            table.release();
+        }
+    }
+
+    private void checkTable(Map<Long, Long> expected, LongKeyedHashTable table) {
+        Assert.assertEquals("Unexpected size.", expected.size(), table.size());
+        for (long i = 0; i < KEY_RANGE; i++) {
+            Assert.assertEquals("Unexpected value for key " + i, (long) expected.getOrDefault(i, -1L), table.get(i, 0, -1L));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.tables;
+
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.test.common.AssertExtensions;
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link TableExtensionConfig} class.
+ */
+public class TableExtensionConfigTests {
+    /**
+     * Tests that {@link TableExtensionConfig#configBuilder()} uses the same defaults as {@link TableExtensionConfig#builder()}.
+     */
+    @Test
+    public void testDefaultValues() {
+        val expected = TableExtensionConfig.builder().build();
+        val actual = TableExtensionConfig.configBuilder().build();
+        Assert.assertEquals(expected, actual);
+    }
+
+    /**
+     * Tests that {@link TableExtensionConfig#configBuilder()} picks up the values of configured properties.
+     */
+    @Test
+    public void testProvidedValues() {
+        val config = TableExtensionConfig.configBuilder()
+                .with(TableExtensionConfig.OFF_HEAP_TAIL_CACHE, true)
+                .with(TableExtensionConfig.KEY_FILTER_BIT_COUNT, 1 << 20)
+                .build();
+        Assert.assertTrue(config.isOffHeapTailCache());
+        Assert.assertEquals(1 << 20, config.getKeyFilterBitCount());
+    }
+
+    /**
+     * Tests that {@link TableExtensionConfig#configBuilder()} rejects invalid property values.
+     */
+    @Test
+    public void testInvalidValues() {
+        AssertExtensions.assertThrows(
+                "A negative key filter bit count was accepted.",
+                () -> TableExtensionConfig.configBuilder().with(TableExtensionConfig.KEY_FILTER_BIT_COUNT, -1).build(),
+                ex -> ex instanceof ConfigurationException);
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.tables;
+
+import io.pravega.common.TimeoutTimer;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.contracts.AttributeUpdate;
+import io.pravega.segmentstore.contracts.AttributeUpdateCollection;
+import io.pravega.segmentstore.contracts.AttributeUpdateType;
+import io.pravega.segmentstore.contracts.tables.TableAttributes;
+import io.pravega.segmentstore.server.SegmentMock;
+import io.pravega.test.common.AssertExtensions;
+import io.pravega.test.common.ThreadPooledTestSuite;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.val;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for the {@link TableKeyFilter} class.
+ */
+public class TableKeyFilterTests extends ThreadPooledTestSuite {
+    private static final int BIT_COUNT = 1 << 16;
+    private static final int KEY_COUNT = 4000;
+    private static final double MAX_FALSE_POSITIVE_RATE = 0.05;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    @Rule
+    public Timeout globalTimeout = new Timeout(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+
+    @Override
+    protected int getThreadPoolSize() {
+        return 2;
+    }
+
+    /**
+     * Tests the {@link TableKeyFilter#add} and {@link TableKeyFilter#mightContain} methods.
+     */
+    @Test
+    public void testAddMightContain() {
+        val rnd = new Random(0);
+        val filter = new TableKeyFilter(BIT_COUNT);
+        val emptyFilter = new TableKeyFilter(BIT_COUNT);
+        val added = generateHashes(KEY_COUNT, rnd);
+        val touchedWords = new HashSet<Integer>();
+        for (val hash : added) {
+            Assert.assertFalse("Not expecting an empty filter to contain anything.", emptyFilter.mightContain(hash));
+            filter.add(hash, touchedWords);
+        }
+
+        AssertExtensions.assertLessThanOrEqual("Unexpected number of touched words.", (long) KEY_COUNT * TableKeyFilter.HASH_COUNT, touchedWords.size());
+        for (val hash : added) {
+            Assert.assertTrue("Expected filter to contain an added hash.", filter.mightContain(hash));
+        }
+
+        val falsePositives = generateHashes(KEY_COUNT, rnd).stream().filter(filter::mightContain).count();
+        AssertExtensions.assertLessThan("Too many false positives.", (long) (KEY_COUNT * MAX_FALSE_POSITIVE_RATE), falsePositives);
+    }
+
+    /**
+     * Tests the ability to persist a {@link TableKeyFilter} into a Segment's Attributes and load it back.
+     */
+    @Test
+    public void testLoad() {
+        val rnd = new Random(0);
+        val segment = new SegmentMock(executorService());
+        segment.updateAttributes(TableAttributes.DEFAULT_VALUES);
+
+        // Disabled.
+        Assert.assertNull("Not expecting a filter if disabled.", load(segment, 0));
+
+        // Nothing indexed yet.
+        val emptyFilter = load(segment, BIT_COUNT);
+        Assert.assertNotNull("Expecting a new filter for an empty index.", emptyFilter);
+        Assert.assertEquals(BIT_COUNT, emptyFilter.getBitCount());
+
+        // Indexed without a filter.
+        setIndexOffset(segment, 0, 1, null);
+        Assert.assertNull("Not expecting a filter for a Segment indexed without one.", load(segment, BIT_COUNT));
+
+        // Indexed with a filter.
+        val segment2 = new SegmentMock(executorService());
+        segment2.updateAttributes(TableAttributes.DEFAULT_VALUES);
+        val filter = new TableKeyFilter(BIT_COUNT);
+        val touchedWords = new HashSet<Integer>();
+        val added = generateHashes(KEY_COUNT, rnd);
+        added.forEach(h -> filter.add(h, touchedWords));
+        setIndexOffset(segment2, 0, 1, updates -> filter.generateAttributeUpdates(touchedWords, 1, updates::add));
+
+        val loaded = load(segment2, BIT_COUNT * 2);
+        Assert.assertNotNull("Expecting the filter to be loaded.", loaded);
+        Assert.assertEquals("Expected the persisted bit count to be used.", BIT_COUNT, loaded.getBitCount());
+        for (val hash : added) {
+            Assert.assertTrue("Expected loaded filter to contain an added hash.", loaded.mightContain(hash));
+        }
+
+        for (val hash : generateHashes(KEY_COUNT, rnd)) {
+            Assert.assertEquals("Unexpected result for a hash that was not added.", filter.mightContain(hash), loaded.mightContain(hash));
+        }
+
+        // Index updated without the filter.
+        setIndexOffset(segment2, 1, 2, null);
+        Assert.assertNull("Not expecting an obsolete filter to be loaded.", load(segment2, BIT_COUNT));
+    }
+
+    /**
+     * Tests the integration of {@link TableKeyFilter} with {@link IndexWriter#updateBuckets}.
+     */
+    @Test
+    public void testIndexWriter() {
+        val segment = new SegmentMock(executorService());
+        segment.updateAttributes(TableAttributes.DEFAULT_VALUES);
+        val iw = new IndexWriter(KeyHashers.DEFAULT_HASHER, executorService());
+        val filter = new TableKeyFilter(BIT_COUNT);
+        val hashes = generateHashes(KEY_COUNT, new Random(0));
+        val bucketUpdates = new ArrayList<BucketUpdate>();
+        for (int i = 0; i < hashes.size(); i++) {
+            val b = BucketUpdate.forBucket(new TableBucket(hashes.get(i), -1L));
+            b.withKeyUpdate(new BucketUpdate.KeyUpdate(new ByteArraySegment(new byte[]{(byte) i, (byte) (i >> 8)}), i, i, false));
+            bucketUpdates.add(b.build());
+        }
+
+        iw.updateBuckets(segment, bucketUpdates, filter, 0L, KEY_COUNT, KEY_COUNT, TIMEOUT).join();
+        for (val hash : hashes) {
+            Assert.assertTrue("Expected filter to contain a new bucket.", filter.mightContain(hash));
+        }
+
+        val loaded = load(segment, BIT_COUNT);
+        Assert.assertNotNull("Expecting the filter to be loaded.", loaded);
+        for (val hash : hashes) {
+            Assert.assertTrue("Expected loaded filter to contain a new bucket.", loaded.mightContain(hash));
+        }
+    }
+
+    private TableKeyFilter load(SegmentMock segment, int bitCount) {
+        return TableKeyFilter.load(segment, bitCount, executorService(), new TimeoutTimer(TIMEOUT)).join();
+    }
+
+    private void setIndexOffset(SegmentMock segment, long currentOffset, long newOffset, Consumer<List<AttributeUpdate>> extraUpdates) {
+        val updates = new ArrayList<AttributeUpdate>();
+        updates.add(new AttributeUpdate(TableAttributes.INDEX_OFFSET, AttributeUpdateType.ReplaceIfEquals, newOffset, currentOffset));
+        if (extraUpdates != null) {
+            extraUpdates.accept(updates);
+        }
+
+        segment.updateAttributes(AttributeUpdateCollection.from(updates), TIMEOUT).join();
+    }
+
+    private List<UUID> generateHashes(int count, Random rnd) {
+        return IntStream.range(0, count).mapToObj(i -> new UUID(rnd.nextLong(), rnd.nextLong())).collect(Collectors.toList());
+    }
+}
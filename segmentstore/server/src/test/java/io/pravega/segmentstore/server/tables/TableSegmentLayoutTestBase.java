@@ -400,10 +400,14 @@ public abstract class TableSegmentLayoutTestBase extends ThreadPooledTestSuite {
         deleteSegment(Collections.emptyList(), supportsDeleteIfEmpty(), context.ext);
     }
 
-    @SneakyThrows
     protected void testSingleUpdates(KeyHasher hasher, EntryGenerator generateToUpdate, KeyGenerator generateToRemove) {
+        testSingleUpdates(TableExtensionConfig.builder().build(), hasher, generateToUpdate, generateToRemove);
+    }
+
+    @SneakyThrows
+    protected void testSingleUpdates(TableExtensionConfig config, KeyHasher hasher, EntryGenerator generateToUpdate, KeyGenerator generateToRemove) {
         @Cleanup
-        val context = new TableContext(hasher, executorService());
+        val context = new TableContext(config, hasher, executorService());
 
         // Generate the keys.
         val keys = IntStream.range(0, SINGLE_UPDATE_COUNT)
@@ -0,0 +1,790 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.impl.localdisk;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.LoggerHelpers;
+import io.pravega.common.ObjectClosedException;
+import io.pravega.common.Timer;
+import io.pravega.common.concurrent.Futures;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.common.util.CloseableIterator;
+import io.pravega.common.util.CompositeArrayView;
+import io.pravega.segmentstore.storage.DataLogDisabledException;
+import io.pravega.segmentstore.storage.DataLogInitializationException;
+import io.pravega.segmentstore.storage.DataLogNotAvailableException;
+import io.pravega.segmentstore.storage.DataLogWriterNotPrimaryException;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import io.pravega.segmentstore.storage.LogAddress;
+import io.pravega.segmentstore.storage.QueueStats;
+import io.pravega.segmentstore.storage.ThrottleSourceListener;
+import io.pravega.segmentstore.storage.ThrottlerSourceListenerCollection;
+import io.pravega.segmentstore.storage.WriteFailureException;
+import io.pravega.segmentstore.storage.WriteSettings;
+import io.pravega.segmentstore.storage.WriteTooLongException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+/**
+ * DurableDataLog implementation that stores its data in preallocated, append-only Log Files on a local disk.
+ * Overview:
+ * * A Log is made up of a directory containing several Log Files plus a Log Metadata file.
+ * <p>
+ * The Log Metadata:
+ * * Is made up of an ordered list of Log Files (along with their sealed lengths), the Log Truncation Address and the
+ * Log Epoch.
+ * * Is updated upon every successful initialization, truncation, or Log File rollover. Updates are atomic (write to a
+ * temporary file, then rename).
+ * <p>
+ * Writes (Group Commit):
+ * * Appends are queued up and processed by a single Write Processor which drains the queue in batches (up to
+ * {@link LocalDiskLogConfig#getWriteBatchMaxSize()} bytes), writes them using a single gathering write and then issues a
+ * single fsync for the whole batch. All appends in a batch are acknowledged once that fsync completes.
+ * <p>
+ * Fencing:
+ * * Initialization increments the Epoch and persists it before doing anything else. Every batch verifies that the Epoch
+ * has not changed after its fsync and before acknowledging any append, so any instance that was fenced out will not
+ * acknowledge writes made after the fence. Since {@link LocalDiskLogFactory} guarantees that only one process uses
+ * these files, the latest Epoch is shared in memory between all instances of a Log rather than re-read from disk.
+ * After fencing, the new instance seals the previous Log File at the last valid entry and starts writing to a new Log
+ * File, so late writes from the fenced-out instance are never read.
+ * <p>
+ * Rollover:
+ * * When preallocation is enabled, the next Log File is zero-filled in the background (under a temporary name) once
+ * the current one is half full. Rolling over only needs to rename it and persist the Log Metadata, so writes are not
+ * held up by preallocating a whole new file.
+ * <p>
+ * Reading the log
+ * * Reading the log can only be done from the beginning. There is no random-access available.
+ */
+@Slf4j
+@ThreadSafe
+class LocalDiskLog implements DurableDataLog {
+    //region Members
+
+    private static final String METADATA_FILE_NAME = "metadata";
+    private static final String METADATA_TEMP_FILE_NAME = "metadata.tmp";
+    private static final long REPORT_INTERVAL = 1000;
+    @Getter
+    private final int logId;
+    private final Path logDirectory;
+    private final Path metadataPath;
+    private final LocalDiskLogConfig config;
+    private final ScheduledExecutorService executorService;
+    private final AtomicBoolean closed;
+    private final AtomicLong latestEpoch;
+    private final Object lock = new Object();
+    private final String traceObjectId;
+    @GuardedBy("lock")
+    private LogMetadata logMetadata;
+    @GuardedBy("lock")
+    private LogFile writeFile;
+    @GuardedBy("lock")
+    private CompletableFuture<LogFile> nextFile;
+    @GuardedBy("writes")
+    private final ArrayDeque<PendingWrite> writes;
+    @GuardedBy("writes")
+    private long writesTotalLength;
+    @GuardedBy("writes")
+    private boolean writeProcessorRunning;
+    private volatile long lastBatchLatencyMillis;
+    private final LocalDiskMetrics.LocalDiskLog metrics;
+    private final ScheduledFuture<?> metricReporter;
+    private final ThrottlerSourceListenerCollection queueStateChangeListeners;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the LocalDiskLog class.
+     *
+     * @param logId           The Id of the Log (usually the Container Id).
+     * @param logDirectory    The directory where this Log's files are located.
+     * @param config          Configuration to use.
+     * @param latestEpoch     The latest Epoch of any instance of this Log. Shared between all such instances.
+     * @param executorService An Executor to use for async operations.
+     */
+    LocalDiskLog(int logId, Path logDirectory, LocalDiskLogConfig config, AtomicLong latestEpoch,
+                 ScheduledExecutorService executorService) {
+        Preconditions.checkArgument(logId >= 0, "logId must be a non-negative integer.");
+        this.logId = logId;
+        this.logDirectory = Preconditions.checkNotNull(logDirectory, "logDirectory");
+        this.metadataPath = logDirectory.resolve(METADATA_FILE_NAME);
+        this.config = Preconditions.checkNotNull(config, "config");
+        this.latestEpoch = Preconditions.checkNotNull(latestEpoch, "latestEpoch");
+        this.executorService = Preconditions.checkNotNull(executorService, "executorService");
+        this.closed = new AtomicBoolean();
+        this.traceObjectId = String.format("LocalDiskLog[%d]", logId);
+        this.writes = new ArrayDeque<>();
+        this.metrics = new LocalDiskMetrics.LocalDiskLog(logId);
+        this.metricReporter = this.executorService.scheduleWithFixedDelay(this::reportMetrics, REPORT_INTERVAL,
+                REPORT_INTERVAL, TimeUnit.MILLISECONDS);
+        this.queueStateChangeListeners = new ThrottlerSourceListenerCollection();
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (!this.closed.getAndSet(true)) {
+            this.metricReporter.cancel(true);
+            this.metrics.close();
+
+            // Cancel the pending writes.
+            failPendingWrites(new ObjectClosedException(this));
+
+            LogFile writeFile;
+            CompletableFuture<LogFile> nextFile;
+            synchronized (this.lock) {
+                writeFile = this.writeFile;
+                nextFile = this.nextFile;
+                this.writeFile = null;
+                this.nextFile = null;
+                this.logMetadata = null;
+            }
+
+            if (writeFile != null) {
+                writeFile.close();
+            }
+
+            if (nextFile != null) {
+                // The file itself is left behind; it will be deleted upon the next initialization.
+                nextFile.thenAccept(LogFile::close);
+            }
+
+            log.info("{}: Closed.", this.traceObjectId);
+        }
+    }
+
+    //endregion
+
+    //region DurableDataLog Implementation
+
+    /**
+     * Open-Fences this LocalDiskLog using the following protocol:
+     * 1. Read Log Metadata from disk.
+     * 2. Increment the Epoch and persist the Log Metadata. This fences out any other instance that may still be writing.
+     * 3. Seal any unsealed Log Files at their last valid entry.
+     * 4. Create a new Log File and persist the Log Metadata (which now includes the new Log File).
+     *
+     * @param timeout Timeout for the operation.
+     * @throws DataLogDisabledException       If the LocalDiskLog is disabled. No fencing is attempted in this case.
+     * @throws DataLogNotAvailableException   If the local disk is not accessible.
+     * @throws DataLogInitializationException If a general initialization error occurred.
+     */
+    @Override
+    public void initialize(Duration timeout) throws DurableDataLogException {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        List<Path> filesToDelete;
+        synchronized (this.lock) {
+            Preconditions.checkState(this.writeFile == null, "LocalDiskLog is already initialized.");
+            try {
+                Files.createDirectories(this.logDirectory);
+
+                // Get metadata about the current state of the log, if any.
+                LogMetadata metadata = loadMetadata();
+                if (metadata == null) {
+                    metadata = new LogMetadata();
+                } else if (!metadata.isEnabled()) {
+                    throw new DataLogDisabledException("LocalDiskLog is disabled. Cannot initialize.");
+                }
+
+                // Fence out any other writer.
+                metadata = metadata.fence();
+                persistMetadata(metadata);
+                this.latestEpoch.accumulateAndGet(metadata.getEpoch(), Math::max);
+
+                // Seal any unsealed files at their last valid entry.
+                List<Integer> sealedLengths = new ArrayList<>();
+                for (val f : metadata.getFiles()) {
+                    if (!f.isSealed()) {
+                        sealedLengths.add(scanLength(f.getSequence()));
+                    }
+                }
+
+                metadata = metadata.seal(sealedLengths);
+
+                // Create new Log File.
+                metadata = metadata.addFile(0);
+                LogFile newFile = createLogFile(metadata.getLastFile().getSequence());
+                persistMetadata(metadata);
+                this.writeFile = newFile;
+                this.logMetadata = metadata;
+                filesToDelete = getOrphanedFiles(metadata);
+            } catch (IOException ex) {
+                throw new DataLogNotAvailableException(
+                        String.format("Unable to initialize LocalDiskLog at '%s'.", this.logDirectory), ex);
+            }
+        }
+
+        // Delete any files that are no longer referenced by the metadata (empty, truncated or failed creations).
+        filesToDelete.forEach(this::deleteFile);
+        this.metrics.fileCount(this.logMetadata.getFiles().size());
+        log.info("{}: Initialized (Epoch = {}, Files = {}).", this.traceObjectId, this.logMetadata.getEpoch(),
+                this.logMetadata.getFiles());
+    }
+
+    @Override
+    public void enable() throws DurableDataLogException {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.lock) {
+            Preconditions.checkState(this.writeFile == null, "LocalDiskLog is already initialized; cannot re-enable.");
+            try {
+                // Inexistent metadata means the LocalDiskLog has never been accessed, and therefore enabled by default.
+                LogMetadata metadata = loadMetadata();
+                Preconditions.checkState(metadata != null && !metadata.isEnabled(), "LocalDiskLog is already enabled.");
+                metadata = metadata.asEnabled();
+                persistMetadata(metadata);
+                log.info("{}: Enabled (Epoch = {}).", this.traceObjectId, metadata.getEpoch());
+            } catch (IOException ex) {
+                throw new DataLogNotAvailableException("Unable to enable LocalDiskLog.", ex);
+            }
+        }
+    }
+
+    @Override
+    public void disable() throws DurableDataLogException {
+        // Get the current metadata, disable it, and then persist it back.
+        synchronized (this.lock) {
+            ensurePreconditions();
+            Preconditions.checkState(this.logMetadata.isEnabled(), "LocalDiskLog is already disabled.");
+            try {
+                ensureNotFenced();
+                LogMetadata metadata = this.logMetadata.asDisabled();
+                persistMetadata(metadata);
+                this.logMetadata = metadata;
+                log.info("{}: Disabled (Epoch = {}).", this.traceObjectId, metadata.getEpoch());
+            } catch (IOException ex) {
+                throw new DataLogNotAvailableException("Unable to disable LocalDiskLog.", ex);
+            }
+        }
+
+        // Close this instance of the LocalDiskLog. This ensures the proper cancellation of any ongoing writes.
+        close();
+    }
+
+    @Override
+    public CompletableFuture<LogAddress> append(CompositeArrayView data, Duration timeout) {
+        ensurePreconditions();
+        long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "append", data.getLength());
+        if (data.getLength() > LocalDiskLogConfig.MAX_APPEND_LENGTH) {
+            return Futures.failedFuture(new WriteTooLongException(data.getLength(), LocalDiskLogConfig.MAX_APPEND_LENGTH));
+        }
+
+        Timer timer = new Timer();
+        PendingWrite write = new PendingWrite(data,
+                Futures.futureWithTimeout(timeout, this.traceObjectId, this.executorService));
+        boolean startProcessor;
+        synchronized (this.writes) {
+            this.writes.addLast(write);
+            this.writesTotalLength += data.getLength();
+            startProcessor = !this.writeProcessorRunning;
+            this.writeProcessorRunning = true;
+        }
+
+        if (this.closed.get()) {
+            // We may have raced with close(); make sure this write does not linger in the queue.
+            failPendingWrites(new ObjectClosedException(this));
+        } else if (startProcessor) {
+            this.executorService.execute(this::processWrites);
+        }
+
+        // Post append tasks. We do not need to wait for these to happen before returning the call.
+        write.result.whenComplete((address, ex) -> {
+            if (ex == null) {
+                this.metrics.writeCompleted(timer.getElapsed());
+                LoggerHelpers.traceLeave(log, this.traceObjectId, "append", traceId, data.getLength(), address);
+            }
+        });
+        return write.result;
+    }
+
+    @Override
+    public CompletableFuture<Void> truncate(LogAddress upToAddress, Duration timeout) {
+        ensurePreconditions();
+        Preconditions.checkArgument(upToAddress instanceof LocalDiskLogAddress,
+                "upToAddress must be of type LocalDiskLogAddress.");
+        return CompletableFuture.runAsync(() -> tryTruncate((LocalDiskLogAddress) upToAddress), this.executorService);
+    }
+
+    @Override
+    public CloseableIterator<ReadItem, DurableDataLogException> getReader() throws DurableDataLogException {
+        ensurePreconditions();
+        return new LogReader(this.logDirectory, getLogMetadata(), this.traceObjectId);
+    }
+
+    @Override
+    public WriteSettings getWriteSettings() {
+        return new WriteSettings(LocalDiskLogConfig.MAX_APPEND_LENGTH, this.config.getWriteTimeout(),
+                this.config.getMaxOutstandingBytes());
+    }
+
+    @Override
+    public long getEpoch() {
+        ensurePreconditions();
+        return getLogMetadata().getEpoch();
+    }
+
+    @Override
+    public QueueStats getQueueStatistics() {
+        synchronized (this.writes) {
+            return new QueueStats(this.writes.size(), this.writesTotalLength, LocalDiskLogConfig.MAX_APPEND_LENGTH,
+                    (int) this.lastBatchLatencyMillis);
+        }
+    }
+
+    @Override
+    public void registerQueueStateChangeListener(ThrottleSourceListener listener) {
+        this.queueStateChangeListeners.register(listener);
+    }
+
+    //endregion
+
+    //region Writes
+
+    /**
+     * Write Processor main loop. Processes batches of writes until there is nothing left in the queue. Only one instance
+     * of this method may run at any given time.
+     */
+    private void processWrites() {
+        try {
+            List<PendingWrite> batch;
+            while (!this.closed.get() && !(batch = getNextBatch()).isEmpty()) {
+                processBatch(batch);
+            }
+        } catch (Throwable ex) {
+            log.error("{}: Write Processor failed. Closing.", this.traceObjectId, ex);
+            Throwable failure = ex instanceof DurableDataLogException
+                    ? ex
+                    : new WriteFailureException("Unable to write to LocalDiskLog.", ex);
+            failPendingWrites(failure);
+            close();
+        }
+    }
+
+    /**
+     * Gets the next batch of writes to process. If the queue is empty, this marks the Write Processor as not running.
+     *
+     * @return The batch.
+     */
+    private List<PendingWrite> getNextBatch() {
+        synchronized (this.writes) {
+            List<PendingWrite> result = new ArrayList<>();
+            long batchLength = 0;
+            while (!this.writes.isEmpty()) {
+                PendingWrite w = this.writes.peekFirst();
+                if (w.result.isDone()) {
+                    // Timed out while queued up. There is no point in writing it anymore.
+                    this.writes.removeFirst();
+                    this.writesTotalLength -= w.getLength();
+                    continue;
+                }
+
+                if (!result.isEmpty() && batchLength + w.getLength() > this.config.getWriteBatchMaxSize()) {
+                    break;
+                }
+
+                this.writes.removeFirst();
+                result.add(w);
+                batchLength += w.getLength();
+            }
+
+            this.writeProcessorRunning = !result.isEmpty();
+            return result;
+        }
+    }
+
+    /**
+     * Writes the given batch to the current Log File (rolling over to new Log Files, if necessary), syncs it to disk and
+     * then completes all the writes in the batch.
+     *
+     * @param batch The writes to process.
+     */
+    private void processBatch(List<PendingWrite> batch) throws IOException, DurableDataLogException {
+        Timer timer = new Timer();
+        List<ByteBuffer> buffers = new ArrayList<>(batch.size() * 2);
+        int buffersLength = 0;
+        int batchLength = 0;
+        try {
+            synchronized (this.lock) {
+                Exceptions.checkNotClosed(this.closed.get(), this);
+                int offset = this.writeFile.getLength();
+                for (PendingWrite w : batch) {
+                    if (!this.writeFile.canFit(buffersLength + w.getLength())) {
+                        // Flush what we have to the current file, then move on to a new one.
+                        this.writeFile.write(buffers, buffersLength);
+                        rollover();
+                        buffers.clear();
+                        buffersLength = 0;
+                        offset = this.writeFile.getLength();
+                    }
+
+                    w.address = new LocalDiskLogAddress(this.writeFile.getSequence(), offset + buffersLength);
+                    buffers.add(LogFile.createHeader(w.data));
+                    w.data.iterateBuffers().forEachRemaining(buffers::add);
+                    buffersLength += LogFile.ENTRY_HEADER_LENGTH + w.getLength();
+                    batchLength += w.getLength();
+                }
+
+                this.writeFile.write(buffers, buffersLength);
+                this.writeFile.force();
+
+                // Make sure nobody fenced us out while we were writing. We cannot acknowledge these writes otherwise.
+                ensureNotFenced();
+                preallocateNextFile();
+            }
+        } catch (Throwable ex) {
+            batch.forEach(w -> w.result.completeExceptionally(ex));
+            throw ex;
+        }
+
+        Duration elapsed = timer.getElapsed();
+        this.lastBatchLatencyMillis = elapsed.toMillis();
+        this.metrics.batchCompleted(batch.size(), batchLength, elapsed);
+        synchronized (this.writes) {
+            this.writesTotalLength -= batchLength;
+        }
+
+        batch.forEach(w -> w.result.complete(w.address));
+        this.queueStateChangeListeners.notifySourceChanged();
+    }
+
+    /**
+     * Seals the current Log File and creates a new one.
+     */
+    @GuardedBy("lock")
+    private void rollover() throws IOException, DurableDataLogException {
+        this.writeFile.force();
+        LogMetadata metadata = this.logMetadata.addFile(this.writeFile.getLength());
+        int sequence = metadata.getLastFile().getSequence();
+        LogFile preallocatedFile = takePreallocatedFile(sequence);
+        LogFile newFile;
+        try {
+            // Check before publishing anything; a newer instance may already be using a Log File with this sequence.
+            ensureNotFenced();
+            newFile = preallocatedFile == null ? createLogFile(sequence) : preallocatedFile.publish(this.logDirectory);
+        } catch (Throwable ex) {
+            if (preallocatedFile != null) {
+                preallocatedFile.close();
+            }
+
+            throw ex;
+        }
+
+        try {
+            persistMetadata(metadata);
+        } catch (Throwable ex) {
+            newFile.close();
+            throw ex;
+        }
+
+        LogFile oldFile = this.writeFile;
+        this.writeFile = newFile;
+        this.logMetadata = metadata;
+        oldFile.close();
+        this.metrics.fileCount(metadata.getFiles().size());
+        log.info("{}: Rolled over from {} to {}.", this.traceObjectId, oldFile, newFile);
+    }
+
+    /**
+     * Begins preallocating the next Log File in the background, if preallocation is enabled and the current Log File is
+     * at least half full.
+     */
+    @GuardedBy("lock")
+    private void preallocateNextFile() {
+        if (!this.config.isPreallocate() || this.nextFile != null
+                || this.writeFile.getLength() < this.config.getFileMaxSize() / 2) {
+            return;
+        }
+
+        int sequence = this.writeFile.getSequence() + 1;
+        long epoch = this.logMetadata.getEpoch();
+        this.nextFile = CompletableFuture.supplyAsync(() -> {
+            try {
+                LogFile file = LogFile.createPreallocated(this.logDirectory, sequence, epoch,
+                        this.config.getFileMaxSize());
+                log.debug("{}: Preallocated Log File {}.", this.traceObjectId, file.getPath());
+                return file;
+            } catch (IOException ex) {
+                throw new CompletionException(ex);
+            }
+        }, this.executorService);
+    }
+
+    /**
+     * Gets the Log File preallocated by {@link #preallocateNextFile()}, waiting for it if it is not ready yet.
+     *
+     * @param sequence The sequence of the Log File.
+     * @return The preallocated Log File (which still needs to be published), or null if there is none or if its
+     * preallocation failed.
+     */
+    @GuardedBy("lock")
+    private LogFile takePreallocatedFile(int sequence) {
+        CompletableFuture<LogFile> nextFile = this.nextFile;
+        this.nextFile = null;
+        if (nextFile == null) {
+            return null;
+        }
+
+        try {
+            LogFile file = nextFile.join();
+            assert file.getSequence() == sequence : "preallocated file sequence mismatch";
+            return file;
+        } catch (Throwable ex) {
+            log.warn("{}: Unable to preallocate Log File {}. Creating it now.", this.traceObjectId, sequence,
+                    Exceptions.unwrap(ex));
+            return null;
+        }
+    }
+
+    private void failPendingWrites(Throwable ex) {
+        List<PendingWrite> toFail;
+        synchronized (this.writes) {
+            toFail = new ArrayList<>(this.writes);
+            this.writes.clear();
+            this.writesTotalLength = 0;
+        }
+
+        toFail.forEach(w -> w.result.completeExceptionally(ex));
+    }
+
+    //endregion
+
+    //region Truncation
+
+    private void tryTruncate(LocalDiskLogAddress upToAddress) {
+        long traceId = LoggerHelpers.traceEnterWithContext(log, this.traceObjectId, "tryTruncate", upToAddress);
+        List<Path> filesToDelete;
+        synchronized (this.lock) {
+            ensurePreconditions();
+            try {
+                ensureNotFenced();
+                LogMetadata oldMetadata = this.logMetadata;
+                LogMetadata newMetadata = oldMetadata.truncate(upToAddress);
+                if (newMetadata == oldMetadata) {
+                    // Nothing to do.
+                    LoggerHelpers.traceLeave(log, this.traceObjectId, "tryTruncate", traceId, upToAddress);
+                    return;
+                }
+
+                persistMetadata(newMetadata);
+                this.logMetadata = newMetadata;
+                filesToDelete = getOrphanedFiles(newMetadata);
+            } catch (DataLogWriterNotPrimaryException ex) {
+                throw new CompletionException(ex);
+            } catch (IOException ex) {
+                throw new CompletionException(new WriteFailureException("Unable to truncate LocalDiskLog.", ex));
+            }
+        }
+
+        filesToDelete.forEach(this::deleteFile);
+        this.metrics.fileCount(this.logMetadata.getFiles().size());
+        LoggerHelpers.traceLeave(log, this.traceObjectId, "tryTruncate", traceId, upToAddress);
+    }
+
+    //endregion
+
+    //region Metadata Management
+
+    /**
+     * Loads the metadata for the current log, as stored on disk.
+     *
+     * @return A new LogMetadata object with the desired information, or null if no such file exists.
+     * @throws IOException                    If an IOException occurred.
+     * @throws DataLogInitializationException If the metadata could not be deserialized.
+     */
+    private LogMetadata loadMetadata() throws IOException, DataLogInitializationException {
+        byte[] serialized;
+        try {
+            serialized = Files.readAllBytes(this.metadataPath);
+        } catch (NoSuchFileException ex) {
+            return null;
+        }
+
+        try {
+            return LogMetadata.SERIALIZER.deserialize(serialized);
+        } catch (IOException ex) {
+            throw new DataLogInitializationException(
+                    String.format("Unable to deserialize LocalDiskLog metadata from '%s'.", this.metadataPath), ex);
+        }
+    }
+
+    /**
+     * Atomically persists the given LogMetadata to disk (write to a temporary file, sync it and rename it over the
+     * existing one).
+     *
+     * @param metadata The LogMetadata to persist.
+     * @throws IOException If an IOException occurred.
+     */
+    @GuardedBy("lock")
+    private void persistMetadata(LogMetadata metadata) throws IOException {
+        ByteArraySegment serialized = LogMetadata.SERIALIZER.serialize(metadata);
+        Path tempPath = this.logDirectory.resolve(METADATA_TEMP_FILE_NAME);
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = serialized.asByteBuffer();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            channel.force(true);
+        }
+
+        Files.move(tempPath, this.metadataPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        LogFile.syncDirectory(this.logDirectory);
+        log.debug("{}: Persisted metadata: {}.", this.traceObjectId, metadata);
+    }
+
+    /**
+     * Verifies that no other instance of this Log has been initialized since this one was.
+     *
+     * @throws DataLogWriterNotPrimaryException If this instance has been fenced out.
+     */
+    @GuardedBy("lock")
+    private void ensureNotFenced() throws DataLogWriterNotPrimaryException {
+        long latestEpoch = this.latestEpoch.get();
+        if (this.logMetadata == null || latestEpoch != this.logMetadata.getEpoch()) {
+            throw new DataLogWriterNotPrimaryException(String.format(
+                    "LocalDiskLog has been fenced out. Expected epoch %s, found %s.",
+                    this.logMetadata == null ? null : this.logMetadata.getEpoch(), latestEpoch));
+        }
+    }
+
+    private LogMetadata getLogMetadata() {
+        synchronized (this.lock) {
+            return this.logMetadata;
+        }
+    }
+
+    //endregion
+
+    //region Helpers
+
+    private LogFile createLogFile(int sequence) throws IOException {
+        LogFile file = LogFile.create(this.logDirectory, sequence, this.config.getFileMaxSize(), this.config.isPreallocate());
+        log.debug("{}: Created Log File {}.", this.traceObjectId, file.getPath());
+        return file;
+    }
+
+    private int scanLength(int fileSequence) throws IOException {
+        if (!Files.exists(LogFile.getPath(this.logDirectory, fileSequence))) {
+            return 0;
+        }
+
+        try (LogFile file = LogFile.openRead(this.logDirectory, fileSequence)) {
+            return file.scanLength();
+        }
+    }
+
+    /**
+     * Gets the Paths of all the Log Files in the log directory that are not referenced by the given metadata, along
+     * with any preallocated Log Files that will never be published (created by other instances or for other sequences).
+     */
+    private List<Path> getOrphanedFiles(LogMetadata metadata) throws IOException {
+        Set<Path> activeFiles = metadata.getFiles().stream()
+                .map(f -> LogFile.getPath(this.logDirectory, f.getSequence()))
+                .collect(Collectors.toCollection(HashSet::new));
+        val lastFile = metadata.getLastFile();
+        if (lastFile != null) {
+            activeFiles.add(LogFile.getPreallocatedPath(this.logDirectory, lastFile.getSequence() + 1,
+                    metadata.getEpoch()));
+        }
+
+        try (Stream<Path> files = Files.list(this.logDirectory)) {
+            return files.filter(p -> LogFile.isLogFile(p) || LogFile.isPreallocatedFile(p))
+                    .filter(p -> !activeFiles.contains(p))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+            log.info("{}: Deleted Log File {}.", this.traceObjectId, path);
+        } catch (IOException ex) {
+            // A failure here has no effect on the operation of the LocalDiskLog; the file will be cleaned up upon the next
+            // initialization or truncation.
+            log.warn("{}: Unable to delete Log File {}.", this.traceObjectId, path, ex);
+        }
+    }
+
+    private void reportMetrics() {
+        this.metrics.queueStats(getQueueStatistics());
+    }
+
+    private void ensurePreconditions() {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.lock) {
+            Preconditions.checkState(this.writeFile != null, "LocalDiskLog is not initialized.");
+            assert this.logMetadata != null : "writeFile != null but logMetadata == null";
+        }
+    }
+
+    @VisibleForTesting
+    Path getLogDirectory() {
+        return this.logDirectory;
+    }
+
+    //endregion
+
+    //region PendingWrite
+
+    @RequiredArgsConstructor
+    private static class PendingWrite {
+        final CompositeArrayView data;
+        final CompletableFuture<LogAddress> result;
+        LocalDiskLogAddress address;
+
+        int getLength() {
+            return this.data.getLength();
+        }
+    }
+
+    //endregion
+}
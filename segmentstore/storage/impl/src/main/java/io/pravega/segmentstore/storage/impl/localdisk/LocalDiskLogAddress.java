@@ -0,0 +1,98 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.impl.localdisk;
+
+import com.google.common.base.Preconditions;
+import io.pravega.segmentstore.storage.LogAddress;
+
+/**
+ * LogAddress for LocalDiskLog. The Sequence is made up of the Log File Sequence (high-order 32 bits) and the offset of
+ * the entry within that Log File (low-order 32 bits), which makes it strictly increasing across the entire log.
+ */
+class LocalDiskLogAddress extends LogAddress implements Comparable<LocalDiskLogAddress> {
+    private static final long INT_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Creates a new instance of the LocalDiskLogAddress class.
+     *
+     * @param fileSequence The sequence of the Log File (in the log).
+     * @param offset       The offset within the Log File where the entry begins.
+     */
+    LocalDiskLogAddress(int fileSequence, int offset) {
+        this(calculateAppendSequence(fileSequence, offset));
+    }
+
+    /**
+     * Creates a new instance of the LocalDiskLogAddress class.
+     *
+     * @param addressSequence The sequence of the Address.
+     */
+    LocalDiskLogAddress(long addressSequence) {
+        super(addressSequence);
+        Preconditions.checkArgument(addressSequence >= 0, "addressSequence must be a non-negative number.");
+    }
+
+    /**
+     * Gets a value indicating the sequence of the Log File this address points to.
+     *
+     * @return The result.
+     */
+    int getFileSequence() {
+        return (int) (getSequence() >>> 32);
+    }
+
+    /**
+     * Gets a value indicating the offset within the Log File where the entry begins.
+     *
+     * @return The result.
+     */
+    int getOffset() {
+        return (int) (getSequence() & INT_MASK);
+    }
+
+    private static long calculateAppendSequence(int fileSequence, int offset) {
+        Preconditions.checkArgument(offset >= 0, "offset must be a non-negative number.");
+        return ((long) fileSequence << 32) + (offset & INT_MASK);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s, File = %d, Offset = %d", super.toString(), getFileSequence(), getOffset());
+    }
+
+    //region Comparable Implementation
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(getSequence());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof LocalDiskLogAddress) {
+            return this.compareTo((LocalDiskLogAddress) obj) == 0;
+        }
+
+        return false;
+    }
+
+    @Override
+    public int compareTo(LocalDiskLogAddress address) {
+        return Long.compare(getSequence(), address.getSequence());
+    }
+
+    //endregion
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.impl.localdisk;
+
+import io.pravega.common.util.ConfigBuilder;
+import io.pravega.common.util.ConfigurationException;
+import io.pravega.common.util.InvalidPropertyValueException;
+import io.pravega.common.util.Property;
+import io.pravega.common.util.TypedProperties;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import lombok.Getter;
+
+/**
+ * General configuration for the Local Disk DurableDataLog.
+ */
+public class LocalDiskLogConfig {
+    //region Config Names
+
+    public static final Property<String> ROOT = Property.named("root.location", "/tmp/pravega/datalog");
+    public static final Property<Integer> FILE_MAX_SIZE = Property.named("file.size.max", 256 * 1024 * 1024);
+    public static final Property<Boolean> FILE_PREALLOCATE = Property.named("file.preallocate.enable", true);
+    public static final Property<Integer> WRITE_BATCH_MAX_SIZE = Property.named("write.batch.size.max", 4 * 1024 * 1024);
+    public static final Property<Integer> WRITE_TIMEOUT = Property.named("write.timeout.milliseconds", 60000);
+    public static final Property<Integer> MAX_OUTSTANDING_BYTES = Property.named("write.outstanding.bytes.max", 256 * 1024 * 1024);
+
+    public static final String COMPONENT_CODE = "localdisk";
+
+    /**
+     * Maximum append length. This is kept in line with the BookKeeper implementation so that DataFrames have the same
+     * shape regardless of which DurableDataLog they are written to.
+     */
+    static final int MAX_APPEND_LENGTH = 1024 * 1024 - 1024;
+
+    //endregion
+
+    //region Members
+
+    /**
+     * The root directory where all the Log Files for this Segment Store are located. Each Log will have its own
+     * sub-directory under this one.
+     */
+    @Getter
+    private final String root;
+
+    /**
+     * The size of each Log File. When a Log File fills up, it is sealed and a new one is created.
+     */
+    @Getter
+    private final int fileMaxSize;
+
+    /**
+     * Whether to preallocate (zero-fill) each Log File upon creation. Preallocation ensures that subsequent appends
+     * never require file system metadata updates, which allows fsync to only flush data blocks.
+     */
+    @Getter
+    private final boolean preallocate;
+
+    /**
+     * The maximum number of bytes to include in a single group commit (i.e., in between two fsync calls).
+     */
+    @Getter
+    private final int writeBatchMaxSize;
+
+    /**
+     * The maximum amount of time a write may be outstanding for.
+     */
+    @Getter
+    private final Duration writeTimeout;
+
+    /**
+     * The maximum number of bytes that can be outstanding per LocalDiskLog at any given time. This value should be used
+     * for throttling purposes.
+     */
+    @Getter
+    private final int maxOutstandingBytes;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the LocalDiskLogConfig class.
+     *
+     * @param properties The TypedProperties object to read Properties from.
+     */
+    private LocalDiskLogConfig(TypedProperties properties) throws ConfigurationException {
+        this.root = properties.get(ROOT);
+        this.fileMaxSize = properties.getInt(FILE_MAX_SIZE);
+        if (this.fileMaxSize < MAX_APPEND_LENGTH + LogFile.ENTRY_HEADER_LENGTH) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be at least %d.",
+                    FILE_MAX_SIZE, this.fileMaxSize, MAX_APPEND_LENGTH + LogFile.ENTRY_HEADER_LENGTH));
+        }
+
+        this.preallocate = properties.getBoolean(FILE_PREALLOCATE);
+        this.writeBatchMaxSize = properties.getInt(WRITE_BATCH_MAX_SIZE);
+        if (this.writeBatchMaxSize <= 0) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be a positive integer.",
+                    WRITE_BATCH_MAX_SIZE, this.writeBatchMaxSize));
+        }
+
+        this.writeTimeout = properties.getDuration(WRITE_TIMEOUT, ChronoUnit.MILLIS);
+        this.maxOutstandingBytes = properties.getInt(MAX_OUTSTANDING_BYTES);
+        if (this.maxOutstandingBytes <= 0) {
+            throw new InvalidPropertyValueException(String.format("Property %s (%d) must be a positive integer.",
+                    MAX_OUTSTANDING_BYTES, this.maxOutstandingBytes));
+        }
+    }
+
+    /**
+     * Creates a new ConfigBuilder that can be used to create instances of this class.
+     *
+     * @return A new Builder for this class.
+     */
+    public static ConfigBuilder<LocalDiskLogConfig> builder() {
+        return new ConfigBuilder<>(COMPONENT_CODE, LocalDiskLogConfig::new);
+    }
+
+    //endregion
+}
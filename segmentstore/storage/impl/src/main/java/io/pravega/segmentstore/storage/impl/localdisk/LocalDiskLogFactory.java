@@ -0,0 +1,136 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.impl.localdisk;
+
+import com.google.common.base.Preconditions;
+import io.pravega.segmentstore.storage.DataLogNotAvailableException;
+import io.pravega.segmentstore.storage.DataLogWriterNotPrimaryException;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import io.pravega.segmentstore.storage.DurableDataLogFactory;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.GuardedBy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Factory for LocalDiskLogs.
+ * <p>
+ * Upon initialization, this factory acquires an exclusive OS-level lock on its root directory, which prevents two Segment
+ * Store processes from sharing the same LocalDiskLog files. Fencing between multiple instances of the same log (i.e.,
+ * during Container recovery) is done by each LocalDiskLog via its Epoch, the latest value of which is kept here.
+ */
+@Slf4j
+public class LocalDiskLogFactory implements DurableDataLogFactory {
+    //region Members
+
+    private static final String LOCK_FILE_NAME = ".lock";
+    private final LocalDiskLogConfig config;
+    private final Path root;
+    private final ScheduledExecutorService executor;
+    private final ConcurrentHashMap<Integer, AtomicLong> latestEpochs;
+    @GuardedBy("this")
+    private FileChannel lockChannel;
+    @GuardedBy("this")
+    private FileLock rootLock;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the LocalDiskLogFactory class.
+     *
+     * @param config   The configuration to use for all instances created.
+     * @param executor An executor to use for async operations.
+     */
+    public LocalDiskLogFactory(LocalDiskLogConfig config, ScheduledExecutorService executor) {
+        this.config = Preconditions.checkNotNull(config, "config");
+        this.executor = Preconditions.checkNotNull(executor, "executor");
+        this.root = Paths.get(config.getRoot());
+        this.latestEpochs = new ConcurrentHashMap<>();
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (this.rootLock != null) {
+                this.rootLock.release();
+                this.rootLock = null;
+            }
+
+            if (this.lockChannel != null) {
+                this.lockChannel.close();
+                this.lockChannel = null;
+            }
+        } catch (IOException ex) {
+            log.error("Unable to release lock on '{}'.", this.root, ex);
+        }
+    }
+
+    //endregion
+
+    //region DurableDataLogFactory Implementation
+
+    @Override
+    public synchronized void initialize() throws DurableDataLogException {
+        Preconditions.checkState(this.rootLock == null, "LocalDiskLogFactory is already initialized.");
+        try {
+            Files.createDirectories(this.root);
+            this.lockChannel = FileChannel.open(this.root.resolve(LOCK_FILE_NAME), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            this.rootLock = this.lockChannel.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            close();
+            throw new DataLogWriterNotPrimaryException(String.format("Root directory '%s' is already in use by this process.", this.root), ex);
+        } catch (IOException ex) {
+            close();
+            throw new DataLogNotAvailableException(String.format("Unable to access root directory '%s'.", this.root), ex);
+        }
+
+        if (this.rootLock == null) {
+            close();
+            throw new DataLogWriterNotPrimaryException(String.format("Root directory '%s' is already in use by another process.", this.root));
+        }
+
+        log.info("LocalDiskLogFactory initialized (Root = '{}', FileMaxSize = {}, Preallocate = {}).",
+                this.root, this.config.getFileMaxSize(), this.config.isPreallocate());
+    }
+
+    @Override
+    public DurableDataLog createDurableDataLog(int logId) {
+        synchronized (this) {
+            Preconditions.checkState(this.rootLock != null, "LocalDiskLogFactory is not initialized.");
+        }
+
+        AtomicLong latestEpoch = this.latestEpochs.computeIfAbsent(logId, id -> new AtomicLong(-1));
+        return new LocalDiskLog(logId, this.root.resolve(Integer.toString(logId)), this.config, latestEpoch, this.executor);
+    }
+
+    //endregion
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.impl.localdisk;
+
+import io.pravega.segmentstore.storage.QueueStats;
+import io.pravega.shared.MetricsNames;
+import io.pravega.shared.metrics.Counter;
+import io.pravega.shared.metrics.DynamicLogger;
+import io.pravega.shared.metrics.MetricsProvider;
+import io.pravega.shared.metrics.OpStatsLogger;
+import io.pravega.shared.metrics.StatsLogger;
+import java.time.Duration;
+
+import static io.pravega.shared.MetricsTags.containerTag;
+
+/**
+ * Metrics for the Local Disk DurableDataLog.
+ */
+final class LocalDiskMetrics {
+    private static final StatsLogger STATS_LOGGER = MetricsProvider.createStatsLogger("localdisk");
+    private static final DynamicLogger DYNAMIC_LOGGER = MetricsProvider.getDynamicLogger();
+
+    /**
+     * LocalDiskLog-specific (i.e. per Container) Metrics.
+     */
+    final static class LocalDiskLog implements AutoCloseable {
+        private final OpStatsLogger writeQueueSize;
+        private final OpStatsLogger batchSize;
+        private final OpStatsLogger batchLatency;
+        private final OpStatsLogger totalWriteLatency;
+        private final Counter writeBytes;
+        private final String[] containerTag;
+
+        LocalDiskLog(int containerId) {
+            this.containerTag = containerTag(containerId);
+            this.writeQueueSize = STATS_LOGGER.createStats(MetricsNames.LOCALDISK_WRITE_QUEUE_SIZE, this.containerTag);
+            this.batchSize = STATS_LOGGER.createStats(MetricsNames.LOCALDISK_BATCH_SIZE, this.containerTag);
+            this.batchLatency = STATS_LOGGER.createStats(MetricsNames.LOCALDISK_BATCH_LATENCY, this.containerTag);
+            this.totalWriteLatency = STATS_LOGGER.createStats(MetricsNames.LOCALDISK_TOTAL_WRITE_LATENCY, this.containerTag);
+            this.writeBytes = STATS_LOGGER.createCounter(MetricsNames.LOCALDISK_WRITE_BYTES, this.containerTag);
+        }
+
+        @Override
+        public void close() {
+            this.writeQueueSize.close();
+            this.batchSize.close();
+            this.batchLatency.close();
+            this.totalWriteLatency.close();
+            this.writeBytes.close();
+        }
+
+        void fileCount(int count) {
+            DYNAMIC_LOGGER.reportGaugeValue(MetricsNames.LOCALDISK_FILE_COUNT, count, this.containerTag);
+        }
+
+        void queueStats(QueueStats qs) {
+            this.writeQueueSize.reportSuccessValue(qs.getSize());
+        }
+
+        void writeCompleted(Duration elapsed) {
+            this.totalWriteLatency.reportSuccessEvent(elapsed);
+        }
+
+        void batchCompleted(int writeCount, int length, Duration elapsed) {
+            this.batchSize.reportSuccessValue(writeCount);
+            this.batchLatency.reportSuccessEvent(elapsed);
+            this.writeBytes.add(length);
+        }
+    }
+}
@@ -0,0 +1,406 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.impl.localdisk;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.util.BufferView;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.CRC32C;
+import javax.annotation.concurrent.NotThreadSafe;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A single, append-only Log File for a LocalDiskLog.
+ * <p>
+ * Each entry is laid out as follows:
+ * * Length (4 bytes): the length of the payload. A value of 0 indicates the end of the written area of the file (files
+ * are zero-filled when preallocated).
+ * * Checksum (4 bytes): the CRC32C of the payload. This is used to detect torn writes upon recovery.
+ * * Payload (Length bytes).
+ */
+@Slf4j
+@NotThreadSafe
+class LogFile implements AutoCloseable {
+    //region Members
+
+    /**
+     * Number of bytes that precede each entry's payload.
+     */
+    static final int ENTRY_HEADER_LENGTH = Integer.BYTES + Integer.BYTES;
+    private static final String FILE_NAME_FORMAT = "%010d.log";
+    private static final String FILE_NAME_SUFFIX = ".log";
+    private static final String PREALLOCATED_FILE_NAME_FORMAT = "%010d.%d.prealloc";
+    private static final String PREALLOCATED_FILE_NAME_SUFFIX = ".prealloc";
+    private static final int PREALLOCATE_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * The sequence of this Log File within the log.
+     */
+    @Getter
+    private final int sequence;
+    @Getter
+    private final Path path;
+    private final FileChannel channel;
+    private final int maxSize;
+
+    /**
+     * The number of bytes written to this Log File so far. The next entry will be written at this offset.
+     */
+    @Getter
+    private int length;
+
+    //endregion
+
+    //region Constructor
+
+    private LogFile(int sequence, Path path, FileChannel channel, int maxSize, int length) {
+        this.sequence = sequence;
+        this.path = path;
+        this.channel = channel;
+        this.maxSize = maxSize;
+        this.length = length;
+    }
+
+    /**
+     * Creates a new, empty Log File. If a file with the same name already exists, it will be overwritten.
+     *
+     * @param directory   The directory to create the file in.
+     * @param sequence    The sequence of the Log File.
+     * @param maxSize     The maximum size of the file.
+     * @param preallocate If true, the file will be zero-filled up to maxSize and then synced to disk.
+     * @return A new LogFile which can be written to.
+     * @throws IOException If an IOException occurred.
+     */
+    static LogFile create(Path directory, int sequence, int maxSize, boolean preallocate) throws IOException {
+        return create(directory, getPath(directory, sequence), sequence, maxSize, preallocate);
+    }
+
+    /**
+     * Creates a new, empty and preallocated Log File under a temporary name, which is not recognized as a Log File
+     * until it is published using {@link #publish}. If a file with the same name already exists, it will be
+     * overwritten.
+     *
+     * @param directory The directory to create the file in.
+     * @param sequence  The sequence of the Log File.
+     * @param epoch     The Epoch of the Log that is creating the file. Temporary files created by fenced-out instances
+     *                  never collide with the ones created by the current instance.
+     * @param maxSize   The maximum size of the file.
+     * @return A new LogFile which can be published.
+     * @throws IOException If an IOException occurred.
+     */
+    static LogFile createPreallocated(Path directory, int sequence, long epoch, int maxSize) throws IOException {
+        return create(directory, getPreallocatedPath(directory, sequence, epoch), sequence, maxSize, true);
+    }
+
+    private static LogFile create(Path directory, Path path, int sequence, int maxSize, boolean preallocate)
+            throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (preallocate) {
+                ByteBuffer zeroes = ByteBuffer.allocateDirect(Math.min(PREALLOCATE_BUFFER_SIZE, maxSize));
+                long position = 0;
+                while (position < maxSize) {
+                    zeroes.clear().limit((int) Math.min(zeroes.capacity(), maxSize - position));
+                    position += channel.write(zeroes, position);
+                }
+            }
+
+            // Make sure the file (and its allocated blocks, if any) are durably recorded.
+            channel.force(true);
+            syncDirectory(directory);
+        } catch (Throwable ex) {
+            channel.close();
+            throw ex;
+        }
+
+        return new LogFile(sequence, path, channel, maxSize, 0);
+    }
+
+    /**
+     * Opens an existing Log File for reading.
+     *
+     * @param directory The directory where the file is located.
+     * @param sequence  The sequence of the Log File.
+     * @return A LogFile which can be read from.
+     * @throws IOException If an IOException occurred.
+     */
+    static LogFile openRead(Path directory, int sequence) throws IOException {
+        Path path = getPath(directory, sequence);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        int size = (int) Math.min(Integer.MAX_VALUE, channel.size());
+        return new LogFile(sequence, path, channel, size, size);
+    }
+
+    //endregion
+
+    //region Writing
+
+    /**
+     * Gets a value indicating whether an entry of the given length can be appended to this Log File.
+     *
+     * @param entryLength The length of the entry's payload.
+     * @return True if the entry fits, false otherwise.
+     */
+    boolean canFit(int entryLength) {
+        return (long) this.length + ENTRY_HEADER_LENGTH + entryLength <= this.maxSize;
+    }
+
+    /**
+     * Creates a header for an entry with the given payload.
+     *
+     * @param payload The payload.
+     * @return A ByteBuffer containing the header.
+     */
+    static ByteBuffer createHeader(BufferView payload) {
+        CRC32C crc = new CRC32C();
+        Iterator<ByteBuffer> buffers = payload.iterateBuffers();
+        while (buffers.hasNext()) {
+            crc.update(buffers.next());
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_LENGTH);
+        header.putInt(payload.getLength());
+        header.putInt((int) crc.getValue());
+        header.flip();
+        return header;
+    }
+
+    /**
+     * Writes the given buffers at the end of this Log File. This does not make the data durable; use {@link #force()}
+     * for that.
+     *
+     * @param buffers     The buffers to write, in order.
+     * @param totalLength The total length of the buffers.
+     * @throws IOException If an IOException occurred.
+     */
+    void write(List<ByteBuffer> buffers, int totalLength) throws IOException {
+        Preconditions.checkState((long) this.length + totalLength <= this.maxSize, "Write would exceed the file size.");
+        ByteBuffer[] array = buffers.toArray(new ByteBuffer[0]);
+        this.channel.position(this.length);
+        long remaining = totalLength;
+        while (remaining > 0) {
+            remaining -= this.channel.write(array);
+        }
+
+        this.length += totalLength;
+    }
+
+    /**
+     * Durably persists all data written to this Log File so far. File metadata is not flushed, as the file size does
+     * not change for preallocated files.
+     *
+     * @throws IOException If an IOException occurred.
+     */
+    void force() throws IOException {
+        this.channel.force(false);
+    }
+
+    //endregion
+
+    //region Reading
+
+    /**
+     * Reads the entry beginning at the given offset.
+     *
+     * @param offset The offset to read at.
+     * @param limit  The offset beyond which no data should be read.
+     * @return The Entry, or null if there is no (valid) entry at the given offset. The latter may be the case at the
+     * end of the written area of the file or if the entry at this offset was not completely written.
+     * @throws IOException If an IOException occurred.
+     */
+    Entry read(int offset, int limit) throws IOException {
+        if ((long) offset + ENTRY_HEADER_LENGTH > limit) {
+            return null;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(ENTRY_HEADER_LENGTH);
+        if (!readFully(header, offset)) {
+            return null;
+        }
+
+        header.flip();
+        int payloadLength = header.getInt();
+        int checksum = header.getInt();
+        if (payloadLength <= 0 || payloadLength > LocalDiskLogConfig.MAX_APPEND_LENGTH
+                || (long) offset + ENTRY_HEADER_LENGTH + payloadLength > limit) {
+            return null;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+        if (!readFully(payload, offset + ENTRY_HEADER_LENGTH)) {
+            return null;
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(payload.array(), 0, payloadLength);
+        if ((int) crc.getValue() != checksum) {
+            log.warn("Checksum mismatch for entry at offset {} in '{}'. Assuming end of file.", offset, this.path);
+            return null;
+        }
+
+        return new Entry(offset, payload.array());
+    }
+
+    /**
+     * Determines the number of bytes (from the beginning of the file) that contain valid entries.
+     *
+     * @return The result.
+     * @throws IOException If an IOException occurred.
+     */
+    int scanLength() throws IOException {
+        int offset = 0;
+        int limit = (int) Math.min(Integer.MAX_VALUE, this.channel.size());
+        Entry e;
+        while ((e = read(offset, limit)) != null) {
+            offset = e.getNextOffset();
+        }
+
+        return offset;
+    }
+
+    private boolean readFully(ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int count = this.channel.read(target, position);
+            if (count < 0) {
+                return false;
+            }
+
+            position += count;
+        }
+
+        return true;
+    }
+
+    //endregion
+
+    //region Helpers
+
+    /**
+     * Atomically renames a Log File created using {@link #createPreallocated} to its final name.
+     *
+     * @param directory The directory containing the file.
+     * @return A new LogFile which can be written to. The current instance should not be used anymore.
+     * @throws IOException If an IOException occurred.
+     */
+    LogFile publish(Path directory) throws IOException {
+        Path path = getPath(directory, this.sequence);
+        Files.move(this.path, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(directory);
+        return new LogFile(this.sequence, path, this.channel, this.maxSize, this.length);
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.channel.close();
+        } catch (IOException ex) {
+            log.warn("Unable to close '{}'.", this.path, ex);
+        }
+    }
+
+    /**
+     * Gets the Path of the Log File with given sequence.
+     *
+     * @param directory The directory containing the file.
+     * @param sequence  The sequence of the Log File.
+     * @return The Path.
+     */
+    static Path getPath(Path directory, int sequence) {
+        return directory.resolve(String.format(FILE_NAME_FORMAT, sequence));
+    }
+
+    /**
+     * Gets the Path of a Log File with given sequence that has been preallocated but not yet published.
+     *
+     * @param directory The directory containing the file.
+     * @param sequence  The sequence of the Log File.
+     * @param epoch     The Epoch of the Log that created the file.
+     * @return The Path.
+     */
+    static Path getPreallocatedPath(Path directory, int sequence, long epoch) {
+        return directory.resolve(String.format(PREALLOCATED_FILE_NAME_FORMAT, sequence, epoch));
+    }
+
+    /**
+     * Gets a value indicating whether the given Path refers to a preallocated Log File which has not been published.
+     *
+     * @param path The Path to test.
+     * @return True if an unpublished preallocated Log File, false otherwise.
+     */
+    static boolean isPreallocatedFile(Path path) {
+        return path.getFileName().toString().endsWith(PREALLOCATED_FILE_NAME_SUFFIX);
+    }
+
+    /**
+     * Gets a value indicating whether the given Path refers to a Log File.
+     *
+     * @param path The Path to test.
+     * @return True if a Log File, false otherwise.
+     */
+    static boolean isLogFile(Path path) {
+        return path.getFileName().toString().endsWith(FILE_NAME_SUFFIX);
+    }
+
+    /**
+     * Makes any changes to the given directory's entries (i.e., file creations, renames or deletions) durable.
+     *
+     * @param directory The directory to sync.
+     */
+    static void syncDirectory(Path directory) {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException ex) {
+            // Not all platforms support opening (or syncing) directories. There is nothing else we can do in that case.
+            log.debug("Unable to sync directory '{}'.", directory, ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Sequence = %d, Length = %d", this.sequence, this.length);
+    }
+
+    //endregion
+
+    //region Entry
+
+    /**
+     * A single entry read from a Log File.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    static class Entry {
+        private final int offset;
+        private final byte[] payload;
+
+        int getNextOffset() {
+            return this.offset + ENTRY_HEADER_LENGTH + this.payload.length;
+        }
+    }
+
+    //endregion
+}
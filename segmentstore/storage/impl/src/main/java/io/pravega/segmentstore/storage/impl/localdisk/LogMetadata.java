@@ -0,0 +1,319 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.impl.localdisk;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.pravega.common.ObjectBuilder;
+import io.pravega.common.io.serialization.RevisionDataInput;
+import io.pravega.common.io.serialization.RevisionDataOutput;
+import io.pravega.common.io.serialization.VersionedSerializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.concurrent.NotThreadSafe;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Metadata for a LocalDiskLog. This is persisted in a file within the log's directory and is atomically replaced upon
+ * every update.
+ */
+@NotThreadSafe
+class LogMetadata {
+    //region Members
+
+    static final VersionedSerializer.WithBuilder<LogMetadata, LogMetadataBuilder> SERIALIZER = new Serializer();
+
+    /**
+     * The initial epoch to use for the Log.
+     */
+    @VisibleForTesting
+    static final long INITIAL_EPOCH = 1;
+
+    /**
+     * Sequence number of the first Log File in the log.
+     */
+    @VisibleForTesting
+    static final int INITIAL_FILE_SEQUENCE = 1;
+
+    /**
+     * A LogAddress to be used when the log is not truncated (initially). This precedes the first entry of the first file.
+     */
+    @VisibleForTesting
+    static final LocalDiskLogAddress INITIAL_TRUNCATION_ADDRESS = new LocalDiskLogAddress(0L);
+
+    /**
+     * The current epoch of the metadata. The epoch is incremented upon every successful initialization.
+     */
+    @Getter
+    private final long epoch;
+
+    /**
+     * Whether the Log described by this LogMetadata is enabled or not.
+     */
+    @Getter
+    private final boolean enabled;
+
+    /**
+     * An ordered list of LogFileMetadata instances that represent the Log Files in the log.
+     */
+    @Getter
+    private final List<LogFileMetadata> files;
+
+    /**
+     * The Address of the last write that was truncated out of the log. Every read will start from the next element.
+     */
+    @Getter
+    private final LocalDiskLogAddress truncationAddress;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the LogMetadata class for an empty log.
+     */
+    LogMetadata() {
+        this(INITIAL_EPOCH - 1, true, Collections.emptyList(), INITIAL_TRUNCATION_ADDRESS);
+    }
+
+    @Builder
+    private LogMetadata(long epoch, boolean enabled, List<LogFileMetadata> files, LocalDiskLogAddress truncationAddress) {
+        Preconditions.checkArgument(epoch >= 0, "epoch must be a non-negative number");
+        this.epoch = epoch;
+        this.enabled = enabled;
+        this.files = Preconditions.checkNotNull(files, "files");
+        this.truncationAddress = Preconditions.checkNotNull(truncationAddress, "truncationAddress");
+    }
+
+    //endregion
+
+    //region Operations
+
+    /**
+     * Creates a new instance of the LogMetadata class with an incremented epoch. This is used to fence out any other
+     * instance that may still be writing to this log.
+     *
+     * @return A new instance of the LogMetadata class.
+     */
+    LogMetadata fence() {
+        Preconditions.checkState(this.enabled, "Log is not enabled. Cannot perform any modifications on it.");
+        return new LogMetadata(this.epoch + 1, this.enabled, this.files, this.truncationAddress);
+    }
+
+    /**
+     * Creates a new instance of the LogMetadata class which has all its unsealed Log Files sealed at the given lengths.
+     * Log Files that end up being empty are removed.
+     *
+     * @param sealedLengths A List of lengths, one for each unsealed Log File (in order).
+     * @return A new instance of the LogMetadata class.
+     */
+    LogMetadata seal(List<Integer> sealedLengths) {
+        Preconditions.checkState(this.enabled, "Log is not enabled. Cannot perform any modifications on it.");
+        List<LogFileMetadata> newFiles = new ArrayList<>(this.files.size());
+        int index = 0;
+        for (LogFileMetadata f : this.files) {
+            if (!f.isSealed()) {
+                f = f.seal(sealedLengths.get(index++));
+            }
+
+            if (f.getLength() > 0) {
+                newFiles.add(f);
+            }
+        }
+
+        Preconditions.checkArgument(index == sealedLengths.size(), "Unexpected number of sealed lengths.");
+        return new LogMetadata(this.epoch, this.enabled, Collections.unmodifiableList(newFiles), this.truncationAddress);
+    }
+
+    /**
+     * Creates a new instance of the LogMetadata class which contains an additional (unsealed) Log File. If there is a
+     * currently unsealed Log File, it will be sealed at the given length.
+     *
+     * @param lastFileLength The length at which to seal the current last Log File, if it is unsealed. Ignored otherwise.
+     * @return A new instance of the LogMetadata class.
+     */
+    LogMetadata addFile(int lastFileLength) {
+        Preconditions.checkState(this.enabled, "Log is not enabled. Cannot perform any modifications on it.");
+        List<LogFileMetadata> newFiles = new ArrayList<>(this.files.size() + 1);
+        newFiles.addAll(this.files);
+        int sequence = Math.max(INITIAL_FILE_SEQUENCE, this.truncationAddress.getFileSequence() + 1);
+        if (!newFiles.isEmpty()) {
+            int lastIndex = newFiles.size() - 1;
+            LogFileMetadata last = newFiles.get(lastIndex);
+            if (!last.isSealed()) {
+                newFiles.set(lastIndex, last.seal(lastFileLength));
+            }
+
+            sequence = last.getSequence() + 1;
+        }
+
+        newFiles.add(new LogFileMetadata(sequence, LogFileMetadata.UNSEALED));
+        return new LogMetadata(this.epoch, this.enabled, Collections.unmodifiableList(newFiles), this.truncationAddress);
+    }
+
+    /**
+     * Creates a new instance of the LogMetadata class which contains all the Log Files after (and including) the given
+     * address.
+     *
+     * @param upToAddress The address to truncate to.
+     * @return A new instance of the LogMetadata class.
+     */
+    LogMetadata truncate(LocalDiskLogAddress upToAddress) {
+        Preconditions.checkState(this.enabled, "Log is not enabled. Cannot perform any modifications on it.");
+        if (upToAddress.compareTo(this.truncationAddress) <= 0) {
+            // Nothing to do.
+            return this;
+        }
+
+        val newFiles = this.files.stream()
+                .filter(f -> f.getSequence() >= upToAddress.getFileSequence())
+                .collect(Collectors.toList());
+        return new LogMetadata(this.epoch, this.enabled, Collections.unmodifiableList(newFiles), upToAddress);
+    }
+
+    /**
+     * Returns a LogMetadata class with the exact contents of this instance, but the enabled flag set to true.
+     *
+     * @return This instance, if isEnabled() == true, of a new instance of the LogMetadata class which will have
+     * isEnabled() == true, otherwise.
+     */
+    LogMetadata asEnabled() {
+        return this.enabled ? this : new LogMetadata(this.epoch, true, this.files, this.truncationAddress);
+    }
+
+    /**
+     * Returns a LogMetadata class with the exact contents of this instance, but the enabled flag set to false.
+     *
+     * @return This instance, if isEnabled() == false, of a new instance of the LogMetadata class which will have
+     * isEnabled() == false, otherwise.
+     */
+    LogMetadata asDisabled() {
+        return this.enabled ? new LogMetadata(this.epoch, false, this.files, this.truncationAddress) : this;
+    }
+
+    /**
+     * Gets the last LogFileMetadata in this log, or null if there are no files.
+     *
+     * @return The result.
+     */
+    LogFileMetadata getLastFile() {
+        return this.files.isEmpty() ? null : this.files.get(this.files.size() - 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Epoch = %d, Enabled = %s, FileCount = %d, Truncate = (%s)",
+                this.epoch, this.enabled, this.files.size(), this.truncationAddress);
+    }
+
+    //endregion
+
+    //region LogFileMetadata
+
+    /**
+     * Metadata about a single Log File.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    @EqualsAndHashCode
+    static class LogFileMetadata {
+        /**
+         * Length to use for a Log File that has not been sealed yet (i.e., it may still be written to).
+         */
+        static final int UNSEALED = -1;
+
+        /**
+         * The sequence of the Log File inside the log.
+         */
+        private final int sequence;
+
+        /**
+         * The number of valid bytes in the Log File, or {@link #UNSEALED} if the Log File is not sealed.
+         */
+        private final int length;
+
+        boolean isSealed() {
+            return this.length != UNSEALED;
+        }
+
+        LogFileMetadata seal(int length) {
+            Preconditions.checkArgument(length >= 0, "length must be a non-negative number.");
+            return new LogFileMetadata(this.sequence, length);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Sequence = %d, Length = %d", this.sequence, this.length);
+        }
+    }
+
+    //endregion
+
+    //region Serialization
+
+    static class LogMetadataBuilder implements ObjectBuilder<LogMetadata> {
+    }
+
+    private static class Serializer extends VersionedSerializer.WithBuilder<LogMetadata, LogMetadataBuilder> {
+        @Override
+        protected LogMetadataBuilder newBuilder() {
+            return LogMetadata.builder();
+        }
+
+        @Override
+        protected byte getWriteVersion() {
+            return 0;
+        }
+
+        @Override
+        protected void declareVersions() {
+            version(0).revision(0, this::write00, this::read00);
+        }
+
+        private void write00(LogMetadata m, RevisionDataOutput output) throws IOException {
+            output.writeBoolean(m.isEnabled());
+            output.writeCompactLong(m.getEpoch());
+            output.writeLong(m.truncationAddress.getSequence());
+            output.writeCollection(m.files, this::writeFile00);
+        }
+
+        private void read00(RevisionDataInput input, LogMetadataBuilder builder) throws IOException {
+            builder.enabled(input.readBoolean());
+            builder.epoch(input.readCompactLong());
+            builder.truncationAddress(new LocalDiskLogAddress(input.readLong()));
+            List<LogFileMetadata> files = input.readCollection(this::readFile00, ArrayList::new);
+            builder.files(Collections.unmodifiableList(files));
+        }
+
+        private void writeFile00(RevisionDataOutput output, LogFileMetadata m) throws IOException {
+            output.writeCompactInt(m.getSequence());
+            output.writeInt(m.getLength());
+        }
+
+        private LogFileMetadata readFile00(RevisionDataInput input) throws IOException {
+            return new LogFileMetadata(input.readCompactInt(), input.readInt());
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.impl.localdisk;
+
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.util.CloseableIterator;
+import io.pravega.segmentstore.storage.DataLogCorruptedException;
+import io.pravega.segmentstore.storage.DataLogNotAvailableException;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.concurrent.NotThreadSafe;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Performs reads from LocalDiskLogs.
+ */
+@Slf4j
+@NotThreadSafe
+class LogReader implements CloseableIterator<DurableDataLog.ReadItem, DurableDataLogException> {
+    //region Members
+
+    private final Path logDirectory;
+    private final LogMetadata metadata;
+    private final String traceObjectId;
+    private final AtomicBoolean closed;
+    private int fileIndex;
+    private LogFile currentFile;
+    private int currentLimit;
+    private int currentOffset;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the LogReader class.
+     *
+     * @param logDirectory  The directory where the Log Files are located.
+     * @param metadata      The LogMetadata of the Log to read.
+     * @param traceObjectId An identifier to use for logging purposes.
+     */
+    LogReader(Path logDirectory, LogMetadata metadata, String traceObjectId) {
+        this.logDirectory = Preconditions.checkNotNull(logDirectory, "logDirectory");
+        this.metadata = Preconditions.checkNotNull(metadata, "metadata");
+        this.traceObjectId = traceObjectId;
+        this.closed = new AtomicBoolean();
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (!this.closed.getAndSet(true)) {
+            closeCurrentFile();
+        }
+    }
+
+    //endregion
+
+    //region CloseableIterator Implementation
+
+    @Override
+    public DurableDataLog.ReadItem getNext() throws DurableDataLogException {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        try {
+            while (true) {
+                if (this.currentFile == null && !openNextFile()) {
+                    // Reached the end of the log.
+                    return null;
+                }
+
+                LogFile.Entry entry = this.currentFile.read(this.currentOffset, this.currentLimit);
+                if (entry == null) {
+                    // Reached the end of this file. Move on to the next one.
+                    closeCurrentFile();
+                    continue;
+                }
+
+                this.currentOffset = entry.getNextOffset();
+                LocalDiskLogAddress address = new LocalDiskLogAddress(this.currentFile.getSequence(), entry.getOffset());
+                if (address.compareTo(this.metadata.getTruncationAddress()) > 0) {
+                    return new ReadItem(entry, address);
+                }
+            }
+        } catch (IOException ex) {
+            close();
+            throw new DataLogNotAvailableException(String.format("%s: Unable to read from Log Files.", this.traceObjectId), ex);
+        }
+    }
+
+    private boolean openNextFile() throws IOException, DurableDataLogException {
+        if (this.fileIndex >= this.metadata.getFiles().size()) {
+            return false;
+        }
+
+        LogMetadata.LogFileMetadata fileMetadata = this.metadata.getFiles().get(this.fileIndex++);
+        try {
+            this.currentFile = LogFile.openRead(this.logDirectory, fileMetadata.getSequence());
+        } catch (NoSuchFileException ex) {
+            throw new DataLogCorruptedException(String.format("%s: Log File %s is missing.", this.traceObjectId, fileMetadata));
+        }
+
+        // Unsealed files have no recorded length; they can't be read past their end.
+        this.currentLimit = fileMetadata.isSealed() ? fileMetadata.getLength() : this.currentFile.getLength();
+        this.currentOffset = 0;
+        if (fileMetadata.getSequence() == this.metadata.getTruncationAddress().getFileSequence()) {
+            // Skip directly to the first entry after the truncation address.
+            LogFile.Entry truncated = this.currentFile.read(this.metadata.getTruncationAddress().getOffset(), this.currentLimit);
+            if (truncated != null) {
+                this.currentOffset = truncated.getNextOffset();
+            }
+        }
+
+        return true;
+    }
+
+    private void closeCurrentFile() {
+        if (this.currentFile != null) {
+            this.currentFile.close();
+            this.currentFile = null;
+        }
+    }
+
+    //endregion
+
+    //region ReadItem
+
+    private static class ReadItem implements DurableDataLog.ReadItem {
+        private final byte[] payload;
+        @Getter
+        private final LocalDiskLogAddress address;
+
+        ReadItem(LogFile.Entry entry, LocalDiskLogAddress address) {
+            this.payload = entry.getPayload();
+            this.address = address;
+        }
+
+        @Override
+        public InputStream getPayload() {
+            return new ByteArrayInputStream(this.payload);
+        }
+
+        @Override
+        public int getLength() {
+            return this.payload.length;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s, Length = %d", this.address, this.payload.length);
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.impl.localdisk;
+
+import io.pravega.common.util.InvalidPropertyValueException;
+import io.pravega.test.common.AssertExtensions;
+import java.time.Duration;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for the LocalDiskLogConfig class.
+ */
+public class LocalDiskLogConfigTest {
+
+    @Test
+    public void testDefaultValues() {
+        LocalDiskLogConfig cfg = LocalDiskLogConfig.builder()
+                .build();
+        Assert.assertEquals("/tmp/pravega/datalog", cfg.getRoot());
+        Assert.assertEquals(256 * 1024 * 1024, cfg.getFileMaxSize());
+        Assert.assertTrue(cfg.isPreallocate());
+        Assert.assertEquals(4 * 1024 * 1024, cfg.getWriteBatchMaxSize());
+        Assert.assertEquals(Duration.ofMillis(60000), cfg.getWriteTimeout());
+        Assert.assertEquals(256 * 1024 * 1024, cfg.getMaxOutstandingBytes());
+    }
+
+    @Test
+    public void testBadValues() {
+        AssertExtensions.assertThrows(
+                LocalDiskLogConfig.FILE_MAX_SIZE.toString(),
+                () -> LocalDiskLogConfig.builder().with(LocalDiskLogConfig.FILE_MAX_SIZE, LocalDiskLogConfig.MAX_APPEND_LENGTH).build(),
+                ex -> ex instanceof InvalidPropertyValueException);
+
+        AssertExtensions.assertThrows(
+                LocalDiskLogConfig.WRITE_BATCH_MAX_SIZE.toString(),
+                () -> LocalDiskLogConfig.builder().with(LocalDiskLogConfig.WRITE_BATCH_MAX_SIZE, 0).build(),
+                ex -> ex instanceof InvalidPropertyValueException);
+
+        AssertExtensions.assertThrows(
+                LocalDiskLogConfig.MAX_OUTSTANDING_BYTES.toString(),
+                () -> LocalDiskLogConfig.builder().with(LocalDiskLogConfig.MAX_OUTSTANDING_BYTES, -1).build(),
+                ex -> ex instanceof InvalidPropertyValueException);
+    }
+}
@@ -0,0 +1,342 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.impl.localdisk;
+
+import io.pravega.common.ObjectClosedException;
+import io.pravega.common.util.CompositeByteArraySegment;
+import io.pravega.segmentstore.storage.DataLogWriterNotPrimaryException;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogTestBase;
+import io.pravega.segmentstore.storage.LogAddress;
+import io.pravega.segmentstore.storage.WriteTooLongException;
+import io.pravega.test.common.AssertExtensions;
+import io.pravega.test.common.TestUtils;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.Cleanup;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Unit tests for LocalDiskLog.
+ */
+public class LocalDiskLogTests extends DurableDataLogTestBase {
+    private static final int WRITE_COUNT = 500;
+    private static final int FILE_MAX_SIZE = 2 * 1024 * 1024;
+    @Rule
+    public Timeout globalTimeout = Timeout.seconds(TIMEOUT.getSeconds());
+    private final AtomicInteger nextLogId = new AtomicInteger();
+    private final Random random = new Random(0);
+    private File baseDir;
+    private LocalDiskLogConfig config;
+    private LocalDiskLogFactory factory;
+
+    @Before
+    public void setUp() throws Exception {
+        this.baseDir = Files.createTempDirectory("localdisklog").toFile().getAbsoluteFile();
+        this.config = LocalDiskLogConfig.builder()
+                .with(LocalDiskLogConfig.ROOT, this.baseDir.getAbsolutePath())
+                .with(LocalDiskLogConfig.FILE_MAX_SIZE, FILE_MAX_SIZE)
+                .build();
+        this.factory = new LocalDiskLogFactory(this.config, executorService());
+        this.factory.initialize();
+    }
+
+    @After
+    public void tearDown() {
+        this.factory.close();
+        FileUtils.deleteQuietly(this.baseDir);
+    }
+
+    //region DurableDataLogTestBase Implementation
+
+    @Override
+    protected DurableDataLog createDurableDataLog() {
+        return createDurableDataLog(this.nextLogId.incrementAndGet());
+    }
+
+    @Override
+    protected DurableDataLog createDurableDataLog(Object sharedContext) {
+        return this.factory.createDurableDataLog((Integer) sharedContext);
+    }
+
+    @Override
+    protected Object createSharedContext() {
+        return this.nextLogId.incrementAndGet();
+    }
+
+    @Override
+    protected LogAddress createLogAddress(long seqNo) {
+        return new LocalDiskLogAddress(seqNo);
+    }
+
+    @Override
+    protected int getWriteCount() {
+        return WRITE_COUNT;
+    }
+
+    //endregion
+
+    /**
+     * Tests the ability to roll over to new Log Files when they fill up, read across them, and delete them upon truncation.
+     */
+    @Test
+    public void testRolloverAndTruncate() throws Exception {
+        final int writeLength = 100 * 1024;
+        final int writeCount = 50; // ~5MB across 2MB files.
+        Object context = createSharedContext();
+        TreeMap<LogAddress, byte[]> writeData = new TreeMap<>((a1, a2) -> Long.compare(a1.getSequence(), a2.getSequence()));
+        try (LocalDiskLog log = (LocalDiskLog) createDurableDataLog(context)) {
+            log.initialize(TIMEOUT);
+            for (int i = 0; i < writeCount; i++) {
+                byte[] data = new byte[writeLength];
+                this.random.nextBytes(data);
+                writeData.put(log.append(new CompositeByteArraySegment(data), TIMEOUT).join(), data);
+            }
+
+            val fileSequences = writeData.keySet().stream()
+                    .map(a -> ((LocalDiskLogAddress) a).getFileSequence())
+                    .distinct().collect(Collectors.toList());
+            AssertExtensions.assertGreaterThan("Expected multiple files to be used.", 2, fileSequences.size());
+            verifyReads(log, writeData);
+
+            // Truncate up to an address in the last file; all files prior to it should be deleted.
+            val truncationAddress = writeData.lastKey();
+            log.truncate(truncationAddress, TIMEOUT).join();
+            writeData.headMap(truncationAddress, true).clear();
+            verifyReads(log, writeData);
+            Assert.assertEquals("Unexpected number of Log Files after truncation.", 1, getLogFiles(log.getLogDirectory()).size());
+        }
+    }
+
+    /**
+     * Tests that the next Log File is preallocated in the background once the current one is half full, that it is used
+     * upon rollover and that unused preallocated files are deleted upon initialization.
+     */
+    @Test
+    public void testRolloverPreallocated() throws Exception {
+        final int writeLength = 100 * 1024;
+        Object context = createSharedContext();
+        TreeMap<LogAddress, byte[]> writeData = new TreeMap<>((a1, a2) -> Long.compare(a1.getSequence(), a2.getSequence()));
+        Path logDirectory;
+        try (LocalDiskLog log = (LocalDiskLog) createDurableDataLog(context)) {
+            log.initialize(TIMEOUT);
+            val dir = log.getLogDirectory();
+            logDirectory = dir;
+
+            // Fill up half of the first file; this should trigger the preallocation of the next one.
+            LocalDiskLogAddress address = null;
+            for (int i = 0; i <= FILE_MAX_SIZE / 2 / writeLength; i++) {
+                address = appendRandom(log, writeLength, writeData);
+            }
+
+            TestUtils.await(() -> getPreallocatedFiles(dir).size() == 1, 10, TIMEOUT.toMillis());
+            val preallocatedFile = getPreallocatedFiles(dir).get(0);
+            int firstFileSequence = address.getFileSequence();
+
+            // Fill up the rest of the first file. The preallocated file should be published upon rollover.
+            while (address.getFileSequence() == firstFileSequence) {
+                address = appendRandom(log, writeLength, writeData);
+            }
+
+            Assert.assertFalse("Preallocated file was not published.", Files.exists(preallocatedFile));
+            Assert.assertTrue("Published file does not exist.",
+                    Files.exists(LogFile.getPath(dir, address.getFileSequence())));
+            verifyReads(log, writeData);
+        }
+
+        // Simulate a preallocated file left behind by a previous instance.
+        LogFile.createPreallocated(logDirectory, Integer.MAX_VALUE, 0, 1024).close();
+        try (DurableDataLog log = createDurableDataLog(context)) {
+            log.initialize(TIMEOUT);
+            Assert.assertEquals("Unused preallocated files were not deleted.", 0,
+                    getPreallocatedFiles(logDirectory).size());
+            verifyReads(log, writeData);
+        }
+    }
+
+    /**
+     * Tests that a corrupt entry length in a Log File which has not been sealed yet does not cause the reader to
+     * allocate a buffer for it.
+     */
+    @Test
+    public void testReadCorruptLength() throws Exception {
+        try (LocalDiskLog log = (LocalDiskLog) createDurableDataLog(createSharedContext())) {
+            log.initialize(TIMEOUT);
+            val writeData = populate(log, 10);
+            val lastAddress = (LocalDiskLogAddress) writeData.lastKey();
+            val lastFile = LogFile.getPath(log.getLogDirectory(), lastAddress.getFileSequence());
+            int corruptOffset = lastAddress.getOffset() + LogFile.ENTRY_HEADER_LENGTH + writeData.lastEntry().getValue().length;
+            try (FileChannel channel = FileChannel.open(lastFile, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(LogFile.ENTRY_HEADER_LENGTH);
+                header.putInt(Integer.MAX_VALUE - LogFile.ENTRY_HEADER_LENGTH).putInt(0).flip();
+                channel.write(header, corruptOffset);
+            }
+
+            verifyReads(log, writeData);
+        }
+    }
+
+    /**
+     * Tests recovery after a partially written (torn) entry at the end of a Log File.
+     */
+    @Test
+    public void testRecoveryTornWrite() throws Exception {
+        Object context = createSharedContext();
+        TreeMap<LogAddress, byte[]> writeData;
+        Path logDirectory;
+        try (LocalDiskLog log = (LocalDiskLog) createDurableDataLog(context)) {
+            log.initialize(TIMEOUT);
+            writeData = populate(log, WRITE_COUNT);
+            logDirectory = log.getLogDirectory();
+        }
+
+        // Simulate a torn write by writing a header for an entry whose payload never made it to disk.
+        val lastAddress = (LocalDiskLogAddress) writeData.lastKey();
+        val lastFile = LogFile.getPath(logDirectory, lastAddress.getFileSequence());
+        int tornOffset = lastAddress.getOffset() + LogFile.ENTRY_HEADER_LENGTH + writeData.lastEntry().getValue().length;
+        try (FileChannel channel = FileChannel.open(lastFile, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(LogFile.ENTRY_HEADER_LENGTH);
+            header.putInt(1234).putInt(5678).flip();
+            channel.write(header, tornOffset);
+        }
+
+        // Recover and verify that the torn entry is ignored and that we can continue writing.
+        try (DurableDataLog log = createDurableDataLog(context)) {
+            log.initialize(TIMEOUT);
+            verifyReads(log, writeData);
+            writeData.putAll(populate(log, WRITE_COUNT));
+        }
+
+        try (DurableDataLog log = createDurableDataLog(context)) {
+            log.initialize(TIMEOUT);
+            verifyReads(log, writeData);
+        }
+    }
+
+    /**
+     * Tests the fact that a fenced-out log fails appends and truncations.
+     */
+    @Test
+    public void testFencedOutAppends() throws Exception {
+        Object context = createSharedContext();
+        @Cleanup
+        DurableDataLog log1 = createDurableDataLog(context);
+        log1.initialize(TIMEOUT);
+        try (DurableDataLog log2 = createDurableDataLog(context)) {
+            log2.initialize(TIMEOUT);
+            AssertExtensions.assertSuppliedFutureThrows(
+                    "Append on fenced-out log was not failed.",
+                    () -> log1.append(new CompositeByteArraySegment(getWriteData()), TIMEOUT),
+                    ex -> ex instanceof DataLogWriterNotPrimaryException);
+
+            // The fenced-out log should have closed itself.
+            AssertExtensions.assertThrows(
+                    "Truncate on fenced-out log was not failed.",
+                    () -> log1.truncate(new LocalDiskLogAddress(1, 0), TIMEOUT).join(),
+                    ex -> ex instanceof DataLogWriterNotPrimaryException || ex instanceof ObjectClosedException);
+        }
+    }
+
+    /**
+     * Tests the write settings and the rejection of writes that are too long.
+     */
+    @Test
+    public void testWriteSettings() throws Exception {
+        @Cleanup
+        val log = createDurableDataLog();
+        log.initialize(TIMEOUT);
+        val ws = log.getWriteSettings();
+        Assert.assertEquals(LocalDiskLogConfig.MAX_APPEND_LENGTH, ws.getMaxWriteLength());
+        Assert.assertEquals(this.config.getMaxOutstandingBytes(), ws.getMaxOutstandingBytes());
+        AssertExtensions.assertSuppliedFutureThrows(
+                "append() accepted a write that is too long.",
+                () -> log.append(new CompositeByteArraySegment(ws.getMaxWriteLength() + 1), TIMEOUT),
+                ex -> ex instanceof WriteTooLongException);
+    }
+
+    /**
+     * Tests the LocalDiskLogFactory.
+     */
+    @Test
+    public void testFactory() throws Exception {
+        // Release the root directory held by the factory used by the other tests.
+        this.factory.close();
+        @Cleanup
+        val factory = new LocalDiskLogFactory(this.config, executorService());
+        AssertExtensions.assertThrows(
+                "createDurableDataLog() worked before initialize().",
+                () -> factory.createDurableDataLog(0),
+                ex -> ex instanceof IllegalStateException);
+        factory.initialize();
+
+        // A second factory on the same root should not be allowed.
+        @Cleanup
+        val factory2 = new LocalDiskLogFactory(this.config, executorService());
+        AssertExtensions.assertThrows(
+                "A second factory was allowed to use the same root.",
+                factory2::initialize,
+                ex -> ex instanceof DataLogWriterNotPrimaryException);
+
+        TreeMap<LogAddress, byte[]> writeData;
+        try (DurableDataLog log = factory.createDurableDataLog(0)) {
+            log.initialize(TIMEOUT);
+            writeData = populate(log, WRITE_COUNT);
+        }
+
+        try (DurableDataLog log = factory.createDurableDataLog(0)) {
+            log.initialize(TIMEOUT);
+            verifyReads(log, writeData);
+        }
+    }
+
+    private LocalDiskLogAddress appendRandom(DurableDataLog log, int length, TreeMap<LogAddress, byte[]> writeData) {
+        byte[] data = new byte[length];
+        this.random.nextBytes(data);
+        val address = log.append(new CompositeByteArraySegment(data), TIMEOUT).join();
+        writeData.put(address, data);
+        return (LocalDiskLogAddress) address;
+    }
+
+    private List<Path> getPreallocatedFiles(Path logDirectory) {
+        return Arrays.stream(logDirectory.toFile().listFiles())
+                .map(File::toPath)
+                .filter(LogFile::isPreallocatedFile)
+                .collect(Collectors.toList());
+    }
+
+    private List<Path> getLogFiles(Path logDirectory) throws Exception {
+        try (val files = Files.list(logDirectory)) {
+            return files.filter(LogFile::isLogFile).collect(Collectors.toList());
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.pravega.segmentstore.storage;
 
+import io.pravega.common.util.BufferView;
 import io.pravega.segmentstore.contracts.SegmentProperties;
 import java.io.IOException;
 import java.io.InputStream;
@@ -97,6 +98,26 @@ public interface Storage extends ReadOnlyStorage, AutoCloseable {
      */
     CompletableFuture<Void> write(SegmentHandle handle, long offset, InputStream data, int length, Duration timeout);
 
+    /**
+     * Writes the given data to the StreamSegment.
+     *
+     * Implementations that can make use of the {@link BufferView}'s underlying buffers (and thus avoid copying the data)
+     * should override this method. The default implementation delegates to
+     * {@link #write(SegmentHandle, long, InputStream, int, Duration)}.
+     *
+     * @param handle  A read-write SegmentHandle that points to a Segment to write to.
+     * @param offset  The offset in the StreamSegment to write data at.
+     * @param data    A {@link BufferView} representing the data to write.
+     * @param timeout Timeout for the operation.
+     * @return A CompletableFuture that, when completed, will indicate the operation succeeded. If the operation failed,
+     * it will contain the cause of the failure. Notable exceptions are the same as for
+     * {@link #write(SegmentHandle, long, InputStream, int, Duration)}.
+     * @throws IllegalArgumentException If handle is read-only.
+     */
+    default CompletableFuture<Void> write(SegmentHandle handle, long offset, BufferView data, Duration timeout) {
+        return write(handle, offset, data.getReader(), data.getLength(), timeout);
+    }
+
     /**
      * Seals a StreamSegment. No further modifications are allowed on the StreamSegment after this operation completes.
      *
@@ -25,10 +25,35 @@ import io.pravega.shared.metrics.StatsLogger;
  */
 final class CacheMetrics implements AutoCloseable {
     private static final StatsLogger STATS_LOGGER = MetricsProvider.createStatsLogger("cache");
-    private final Counter writeBytes = STATS_LOGGER.createCounter(MetricsNames.CACHE_WRITE_BYTES);
-    private final Counter appendBytes = STATS_LOGGER.createCounter(MetricsNames.CACHE_APPEND_BYTES);
-    private final Counter readBytes = STATS_LOGGER.createCounter(MetricsNames.CACHE_READ_BYTES);
-    private final Counter deleteBytes = STATS_LOGGER.createCounter(MetricsNames.CACHE_DELETE_BYTES);
+    private final Counter writeBytes;
+    private final Counter appendBytes;
+    private final Counter readBytes;
+    private final Counter deleteBytes;
+
+    /**
+     * Creates a new instance of the CacheMetrics class for the (primary) memory cache.
+     */
+    CacheMetrics() {
+        this(MetricsNames.CACHE_WRITE_BYTES, MetricsNames.CACHE_APPEND_BYTES, MetricsNames.CACHE_READ_BYTES,
+                MetricsNames.CACHE_DELETE_BYTES);
+    }
+
+    private CacheMetrics(String writeBytes, String appendBytes, String readBytes, String deleteBytes) {
+        this.writeBytes = STATS_LOGGER.createCounter(writeBytes);
+        this.appendBytes = STATS_LOGGER.createCounter(appendBytes);
+        this.readBytes = STATS_LOGGER.createCounter(readBytes);
+        this.deleteBytes = STATS_LOGGER.createCounter(deleteBytes);
+    }
+
+    /**
+     * Creates a new instance of the CacheMetrics class for the SSD cache tier ({@link MappedFileCache}).
+     *
+     * @return A new CacheMetrics.
+     */
+    static CacheMetrics ssd() {
+        return new CacheMetrics(MetricsNames.CACHE_SSD_WRITE_BYTES, MetricsNames.CACHE_SSD_APPEND_BYTES,
+                MetricsNames.CACHE_SSD_READ_BYTES, MetricsNames.CACHE_SSD_DELETE_BYTES);
+    }
 
     void insert(int size) {
         this.writeBytes.add(size);
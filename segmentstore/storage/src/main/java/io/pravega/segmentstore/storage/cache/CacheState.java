@@ -15,13 +15,13 @@
  */
 package io.pravega.segmentstore.storage.cache;
 
+import java.util.Collections;
+import java.util.List;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
 /**
  * Represents the state of a {@link CacheStorage} instance at a point in time.
  */
-@RequiredArgsConstructor
 @Getter
 public class CacheState {
     /**
@@ -48,10 +48,48 @@ public class CacheState {
      * The maximum size, in bytes, that can be allocated in this {@link CacheStorage}.
      */
     private final long maxBytes;
+    /**
+     * The states of each storage tier, ordered from fastest to slowest, for a {@link CacheStorage} that has multiple tiers
+     * (see {@link TieredCacheStorage}). Empty for single-tier {@link CacheStorage} implementations.
+     */
+    private final List<CacheState> tiers;
+
+    /**
+     * Creates a new instance of the CacheState class for a single-tier {@link CacheStorage}.
+     *
+     * @param storedBytes    Stored bytes.
+     * @param usedBytes      Used bytes.
+     * @param reservedBytes  Reserved bytes.
+     * @param allocatedBytes Allocated bytes.
+     * @param maxBytes       Max bytes.
+     */
+    public CacheState(long storedBytes, long usedBytes, long reservedBytes, long allocatedBytes, long maxBytes) {
+        this(storedBytes, usedBytes, reservedBytes, allocatedBytes, maxBytes, Collections.emptyList());
+    }
+
+    /**
+     * Creates a new instance of the CacheState class.
+     *
+     * @param storedBytes    Stored bytes.
+     * @param usedBytes      Used bytes.
+     * @param reservedBytes  Reserved bytes.
+     * @param allocatedBytes Allocated bytes.
+     * @param maxBytes       Max bytes.
+     * @param tiers          The states of each individual storage tier.
+     */
+    public CacheState(long storedBytes, long usedBytes, long reservedBytes, long allocatedBytes, long maxBytes, List<CacheState> tiers) {
+        this.storedBytes = storedBytes;
+        this.usedBytes = usedBytes;
+        this.reservedBytes = reservedBytes;
+        this.allocatedBytes = allocatedBytes;
+        this.maxBytes = maxBytes;
+        this.tiers = Collections.unmodifiableList(tiers);
+    }
 
     @Override
     public String toString() {
-        return String.format("Stored = %d, Used = %d, Reserved = %d, Allocated = %d, Max = %d",
+        String result = String.format("Stored = %d, Used = %d, Reserved = %d, Allocated = %d, Max = %d",
                 this.storedBytes, this.usedBytes, this.reservedBytes, this.allocatedBytes, this.maxBytes);
+        return this.tiers.isEmpty() ? result : result + ", Tiers = " + this.tiers;
     }
 }
\ No newline at end of file
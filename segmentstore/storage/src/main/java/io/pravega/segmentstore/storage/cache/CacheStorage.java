@@ -16,6 +16,7 @@
 package io.pravega.segmentstore.storage.cache;
 
 import io.pravega.common.util.BufferView;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.storage.CacheException;
 import java.util.function.Supplier;
 import lombok.NonNull;
@@ -110,6 +111,49 @@ public interface CacheStorage extends AutoCloseable {
      */
     BufferView get(int address);
 
+    /**
+     * Retrieves the contents of an entry with the given address and pins them in the {@link CacheStorage}. As opposed
+     * from {@link #get}, the returned {@link BufferView} remains valid after the entry is deleted (via {@link #delete}
+     * or {@link #replace}): the blocks backing it will not be reclaimed or reused until {@link BufferView#release()}
+     * is invoked on it (or on any of its slices, which share the same reference).
+     *
+     * The default implementation makes a heap copy of the result of {@link #get}, which need not be released.
+     *
+     * @param address An integer representing the address to retrieve.
+     * @return A read-only {@link BufferView} that must be released when no longer needed, or null if no entry is mapped
+     * to this address.
+     */
+    default BufferView getPinned(int address) {
+        BufferView data = get(address);
+        return data == null ? null : new ByteArraySegment(data.getCopy());
+    }
+
+    /**
+     * Moves the entry at the given address to a lower (slower, but larger) storage tier, if this {@link CacheStorage}
+     * has one. Upon success, the entry is no longer accessible via the old address and the returned address must be used
+     * instead. The default implementation does not support tiering and always returns {@link #NO_ADDRESS}.
+     *
+     * @param address An integer representing the address of the entry to demote.
+     * @return The new address of the entry, or {@link #NO_ADDRESS} if the entry could not be demoted (no lower tier, the
+     * entry is already in the lowest tier or the lower tier is full). In this case the entry remains at its original address.
+     */
+    default int demote(int address) {
+        return NO_ADDRESS;
+    }
+
+    /**
+     * Moves the entry at the given address back to the top (fastest) storage tier, if it is not already there. Upon
+     * success, the entry is no longer accessible via the old address and the returned address must be used instead. The
+     * default implementation does not support tiering and always returns the given address.
+     *
+     * @param address An integer representing the address of the entry to promote.
+     * @return The new address of the entry. This will be the same as address if the entry is already in the top tier or
+     * if it could not be promoted (i.e., the top tier is full).
+     */
+    default int promote(int address) {
+        return address;
+    }
+
     /**
      * Returns a {@link CacheState} representing the current state of the {@link CacheStorage}.
      *
@@ -27,6 +27,7 @@ import io.pravega.common.util.BufferView;
 import io.pravega.shared.protocol.netty.ByteBufWrapper;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -47,8 +48,11 @@ import lombok.val;
  * - The first Block in a Buffer is reserved for metadata, the remaining Blocks are used to store Entry data.
  * - Each Block metadata requires {@link CacheLayout#blockMetadataSize()} bytes and its format is defined by {@link CacheLayout};
  * there are several methods in {@link CacheLayout} that allow manipulating it.
- * - A Buffer is considered full when all its Blocks are used. Non-full Buffers are kept in a FIFO queue; they are addded
+ * - A Buffer is considered full when all its Blocks are used. Non-full Buffers are kept in FIFO queues; they are addded
  * at the end when they become non-full and taken from the beginning when we need to insert new Entries.
+ * - Buffers are partitioned into shards (by default one per available processor), each with its own FIFO queues and lock.
+ * An inserting thread prefers its own shard (based on the thread id) and steals from the other shards when its own has no
+ * available Buffers. Existing Buffers (from any shard) are always reused before allocating new ones.
  * - An Entry may be split across multiple Buffers. It is inserted in the first available Buffer and anything that doesn't
  * fit in it is inserted into the next available buffer(s).
  * - Entries
@@ -100,15 +104,23 @@ public class DirectMemoryCache implements CacheStorage {
     static final int MAX_CLEANUP_ATTEMPTS = 5;
     private final CacheLayout layout;
     private final DirectMemoryBuffer[] buffers;
-    @GuardedBy("availableBufferIds")
-    private final ArrayDeque<Integer> availableBufferIds;
-    @GuardedBy("availableBufferIds")
-    private final ArrayDeque<Integer> unallocatedBufferIds;
+    /**
+     * Buffer pools. Each {@link DirectMemoryBuffer} is owned by exactly one shard (based on its id) and each thread
+     * prefers a particular shard (based on its id). This spreads out the contention that would otherwise exist if
+     * all inserting threads had to synchronize on a single pool.
+     */
+    private final AllocatorShard[] shards;
     private final AtomicBoolean closed;
     private final AtomicLong storedBytes;
     private final AtomicReference<Supplier<Boolean>> tryCleanup;
     private final AtomicInteger retryDelayBaseMillis;
-    private final CacheMetrics metrics = new CacheMetrics();
+    private final CacheMetrics metrics;
+    /**
+     * Entries that have outstanding {@link #getPinned} references, indexed by their address. Their blocks are not
+     * reclaimed (even if {@link #delete} is invoked) until all such references are released.
+     */
+    @GuardedBy("pinnedEntries")
+    private final HashMap<Integer, PinnedEntry> pinnedEntries = new HashMap<>();
 
     //endregion
 
@@ -136,30 +148,86 @@ public class DirectMemoryCache implements CacheStorage {
      */
     @VisibleForTesting
     DirectMemoryCache(@NonNull CacheLayout layout, long maxSizeBytes) {
+        this(layout, maxSizeBytes, null);
+    }
+
+    /**
+     * Creates a new instance of the {@link DirectMemoryCache} class.
+     *
+     * @param layout       The {@link CacheLayout} to use.
+     * @param maxSizeBytes The maximum size (in bytes) of the cache. The actual capacity of the cache may be rounded up
+     *                     to the nearest buffer size alignment, which is a multiple of {@link CacheLayout#bufferSize()}
+     *                     when applied to layout.
+     * @param allocator    The {@link ByteBufAllocator} to allocate buffers with. If null, {@link #createAllocator()} will
+     *                     be used.
+     * @throws IllegalArgumentException If maxSizeBytes is less than or equal to 0 or greater than {@link CacheLayout#MAX_TOTAL_SIZE}.
+     */
+    DirectMemoryCache(@NonNull CacheLayout layout, long maxSizeBytes, ByteBufAllocator allocator) {
+        this(layout, maxSizeBytes, allocator, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new instance of the {@link DirectMemoryCache} class.
+     *
+     * @param layout       The {@link CacheLayout} to use.
+     * @param maxSizeBytes The maximum size (in bytes) of the cache. The actual capacity of the cache may be rounded up
+     *                     to the nearest buffer size alignment, which is a multiple of {@link CacheLayout#bufferSize()}
+     *                     when applied to layout.
+     * @param allocator    The {@link ByteBufAllocator} to allocate buffers with. If null, {@link #createAllocator()} will
+     *                     be used.
+     * @param shardCount   The number of shards to split the buffer pool into. This will be capped to the number of
+     *                     buffers. A value of 1 means all threads share the same pool.
+     * @throws IllegalArgumentException If maxSizeBytes is less than or equal to 0 or greater than {@link CacheLayout#MAX_TOTAL_SIZE},
+     *                                  or if shardCount is less than or equal to 0.
+     */
+    @VisibleForTesting
+    DirectMemoryCache(@NonNull CacheLayout layout, long maxSizeBytes, ByteBufAllocator allocator, int shardCount) {
+        this(layout, maxSizeBytes, allocator, shardCount, new CacheMetrics());
+    }
+
+    /**
+     * Creates a new instance of the {@link DirectMemoryCache} class.
+     *
+     * @param layout       The {@link CacheLayout} to use.
+     * @param maxSizeBytes The maximum size (in bytes) of the cache. The actual capacity of the cache may be rounded up
+     *                     to the nearest buffer size alignment, which is a multiple of {@link CacheLayout#bufferSize()}
+     *                     when applied to layout.
+     * @param allocator    The {@link ByteBufAllocator} to allocate buffers with. If null, {@link #createAllocator()} will
+     *                     be used.
+     * @param shardCount   The number of shards to split the buffer pool into. This will be capped to the number of
+     *                     buffers. A value of 1 means all threads share the same pool.
+     * @param metrics      The {@link CacheMetrics} to report to. These are closed when this cache is closed.
+     * @throws IllegalArgumentException If maxSizeBytes is less than or equal to 0 or greater than {@link CacheLayout#MAX_TOTAL_SIZE},
+     *                                  or if shardCount is less than or equal to 0.
+     */
+    DirectMemoryCache(@NonNull CacheLayout layout, long maxSizeBytes, ByteBufAllocator allocator, int shardCount,
+                      @NonNull CacheMetrics metrics) {
         Preconditions.checkArgument(maxSizeBytes > 0 && maxSizeBytes <= CacheLayout.MAX_TOTAL_SIZE,
                 "maxSizeBytes must be a positive number less than %s.", CacheLayout.MAX_TOTAL_SIZE);
+        Preconditions.checkArgument(shardCount > 0, "shardCount must be a positive number.");
         maxSizeBytes = adjustMaxSizeIfNeeded(maxSizeBytes, layout);
 
         this.layout = layout;
+        this.metrics = metrics;
         this.tryCleanup = new AtomicReference<>(null);
         this.retryDelayBaseMillis = new AtomicInteger(0);
         this.storedBytes = new AtomicLong(0);
         this.closed = new AtomicBoolean(false);
         this.buffers = new DirectMemoryBuffer[(int) (maxSizeBytes / this.layout.bufferSize())];
-        this.availableBufferIds = new ArrayDeque<>(this.buffers.length);
-        this.unallocatedBufferIds = new ArrayDeque<>(this.buffers.length);
-        createBuffers();
+        this.shards = new AllocatorShard[Math.min(shardCount, this.buffers.length)];
+        for (int i = 0; i < this.shards.length; i++) {
+            this.shards[i] = new AllocatorShard(this.buffers.length / this.shards.length + 1);
+        }
+        createBuffers(allocator == null ? createAllocator() : allocator);
     }
 
     /**
      * Creates all the {@link DirectMemoryBuffer} instances for this {@link DirectMemoryCache} instance.
      */
-    @GuardedBy("availableBufferIds")
-    private void createBuffers() {
-        ByteBufAllocator allocator = createAllocator();
+    private void createBuffers(ByteBufAllocator allocator) {
         for (int i = 0; i < this.buffers.length; i++) {
-            this.unallocatedBufferIds.addLast(i);
             this.buffers[i] = new DirectMemoryBuffer(i, allocator, this.layout);
+            getOwningShard(i).addUnallocated(i);
         }
     }
 
@@ -186,9 +254,8 @@ public class DirectMemoryCache implements CacheStorage {
     @Override
     public void close() {
         if (!this.closed.getAndSet(true)) {
-            synchronized (this.availableBufferIds) {
-                this.availableBufferIds.clear();
-                this.unallocatedBufferIds.clear();
+            for (AllocatorShard s : this.shards) {
+                s.clear();
             }
 
             for (DirectMemoryBuffer b : this.buffers) {
@@ -297,6 +364,19 @@ public class DirectMemoryCache implements CacheStorage {
     @Override
     public void delete(int address) {
         Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.pinnedEntries) {
+            PinnedEntry pinned = this.pinnedEntries.get(address);
+            if (pinned != null) {
+                // Someone is still holding on to this entry's blocks. We'll delete it when the last reference is released.
+                pinned.deletePending = true;
+                return;
+            }
+        }
+
+        deleteInternal(address);
+    }
+
+    private void deleteInternal(int address) {
         int deletedLength = 0;
         while (address != CacheLayout.NO_ADDRESS) {
             // Locate the Buffer-Block for the current address.
@@ -312,13 +392,11 @@ public class DirectMemoryCache implements CacheStorage {
             address = result.getPredecessorAddress();
             deletedLength += result.getDeletedLength();
             if (wasFull && b.hasCapacity()) {
-                synchronized (this.availableBufferIds) {
-                    // This block was full before, but it no longer is now. Add it to the pool of available buffer ids
-                    // so we can reuse it if we need to. There is a slim chance that this buffer becomes full in the
-                    // time before we checked above and entering this block, but #getNextAvailableBuffer() can handle
-                    // that situation.
-                    this.availableBufferIds.addLast(b.getId());
-                }
+                // This block was full before, but it no longer is now. Add it to the pool of available buffer ids
+                // so we can reuse it if we need to. There is a slim chance that this buffer becomes full in the
+                // time before we checked above and entering this block, but #getNextAvailableBuffer() can handle
+                // that situation.
+                getOwningShard(b.getId()).addAvailable(b.getId());
             }
         }
 
@@ -329,28 +407,32 @@ public class DirectMemoryCache implements CacheStorage {
     @Override
     public BufferView get(int address) {
         Exceptions.checkNotClosed(this.closed.get(), this);
-        List<ByteBuf> readBuffers = new ArrayList<>();
+        ByteBuf result = read(address);
+        return result == null ? null : new NonReleaseableByteBufWrapper(result);
+    }
 
-        while (address != CacheLayout.NO_ADDRESS) {
-            // Locate the Buffer-Block for the current address.
-            int bufferId = this.layout.getBufferId(address);
-            int blockId = this.layout.getBlockId(address);
-            DirectMemoryBuffer b = this.buffers[bufferId];
+    @Override
+    public BufferView getPinned(int address) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        synchronized (this.pinnedEntries) {
+            PinnedEntry pinned = this.pinnedEntries.get(address);
+            if (pinned != null && pinned.deletePending) {
+                // This entry has been deleted; it is only kept around for those who pinned it before.
+                return null;
+            }
 
-            // Fetch the read data into our buffer collection and then set the address to the next in the chain.
-            address = b.read(blockId, readBuffers);
-        }
+            ByteBuf result = read(address);
+            if (result == null) {
+                return null;
+            }
 
-        if (readBuffers.isEmpty()) {
-            // Couldn't read anything, so this address must not point to anything.
-            return null;
-        } else {
-            // Compose the result and return it.
-            ByteBuf first = readBuffers.get(0);
-            ByteBuf result = readBuffers.size() == 1 ? first :
-                    new CompositeByteBuf(first.alloc(), false, readBuffers.size(), Lists.reverse(readBuffers));
-            this.metrics.get(result.readableBytes());
-            return new NonReleaseableByteBufWrapper(result);
+            if (pinned == null) {
+                pinned = new PinnedEntry(address);
+                this.pinnedEntries.put(address, pinned);
+            }
+
+            pinned.referenceCount++;
+            return new PinnedByteBufWrapper(result, new PinReference(pinned));
         }
     }
 
@@ -384,29 +466,76 @@ public class DirectMemoryCache implements CacheStorage {
 
     //region Helpers
 
+    private ByteBuf read(int address) {
+        List<ByteBuf> readBuffers = new ArrayList<>();
+
+        while (address != CacheLayout.NO_ADDRESS) {
+            // Locate the Buffer-Block for the current address.
+            int bufferId = this.layout.getBufferId(address);
+            int blockId = this.layout.getBlockId(address);
+            DirectMemoryBuffer b = this.buffers[bufferId];
+
+            // Fetch the read data into our buffer collection and then set the address to the next in the chain.
+            address = b.read(blockId, readBuffers);
+        }
+
+        if (readBuffers.isEmpty()) {
+            // Couldn't read anything, so this address must not point to anything.
+            return null;
+        } else {
+            // Compose the result and return it.
+            ByteBuf first = readBuffers.get(0);
+            ByteBuf result = readBuffers.size() == 1 ? first :
+                    new CompositeByteBuf(first.alloc(), false, readBuffers.size(), Lists.reverse(readBuffers));
+            this.metrics.get(result.readableBytes());
+            return result;
+        }
+    }
+
+    /**
+     * Releases one reference to the given {@link PinnedEntry}. If this was the last one, the entry is unpinned and, if
+     * {@link #delete} had been invoked on it in the meantime, its blocks are finally reclaimed.
+     */
+    private void unpin(PinnedEntry pinned) {
+        synchronized (this.pinnedEntries) {
+            pinned.referenceCount--;
+            if (pinned.referenceCount > 0) {
+                return;
+            }
+
+            this.pinnedEntries.remove(pinned.address);
+            if (!pinned.deletePending || this.closed.get()) {
+                return;
+            }
+        }
+
+        deleteInternal(pinned.address);
+    }
+
+    @VisibleForTesting
+    int getPinnedEntryCount() {
+        synchronized (this.pinnedEntries) {
+            return this.pinnedEntries.size();
+        }
+    }
+
     private DirectMemoryBuffer getNextAvailableBuffer() {
+        int homeShard = (int) (Thread.currentThread().getId() % this.shards.length);
         int attempts = 0;
         while (attempts < MAX_CLEANUP_ATTEMPTS) {
-            synchronized (this.availableBufferIds) {
-                while (!this.availableBufferIds.isEmpty() || !this.unallocatedBufferIds.isEmpty()) {
-                    while (!this.availableBufferIds.isEmpty()) {
-                        // We found a Buffer that is available.
-                        DirectMemoryBuffer b = this.buffers[this.availableBufferIds.peekFirst()];
-                        if (b.hasCapacity()) {
-                            // Reusing a buffer.
-                            return b;
-                        } else {
-                            // Buffer is actually full. Clean up. We lazily remove buffers from this pool, since we want
-                            // to introduce as little synchronization overhead in the insert() method so we delay this
-                            // as much as we can.
-                            this.availableBufferIds.removeFirst();
-                        }
-                    }
-
-                    if (!this.unallocatedBufferIds.isEmpty()) {
-                        // We can't reuse any existing buffers, but there are unallocated ones. Fetch one and use it.
-                        this.availableBufferIds.addLast(this.unallocatedBufferIds.removeFirst());
-                    }
+            // Prefer reusing existing buffers (starting with our own shard, then stealing from the others) before
+            // allocating new ones. This keeps the memory footprint the same as if we had a single pool.
+            for (int i = 0; i < this.shards.length; i++) {
+                DirectMemoryBuffer b = this.shards[(homeShard + i) % this.shards.length].getAvailableBuffer();
+                if (b != null) {
+                    return b;
+                }
+            }
+
+            for (int i = 0; i < this.shards.length; i++) {
+                DirectMemoryBuffer b = this.shards[(homeShard + i) % this.shards.length].allocateBuffer();
+                if (b != null) {
+                    return b;
                 }
             }
 
@@ -420,6 +549,15 @@ public class DirectMemoryCache implements CacheStorage {
         throw new CacheFullException(String.format("%s full: %s.", DirectMemoryCache.class.getSimpleName(), getState()));
     }
 
+    private AllocatorShard getOwningShard(int bufferId) {
+        return this.shards[bufferId % this.shards.length];
+    }
+
+    @VisibleForTesting
+    int getShardCount() {
+        return this.shards.length;
+    }
+
     private void tryCleanup(int attempts) {
         val c = this.tryCleanup.get();
         if (c != null && !c.get()) {
@@ -433,6 +571,74 @@ public class DirectMemoryCache implements CacheStorage {
 
     //endregion
 
+    //region AllocatorShard
+
+    /**
+     * A pool of {@link DirectMemoryBuffer}s (by id).
+     */
+    @ThreadSafe
+    private class AllocatorShard {
+        @GuardedBy("this")
+        private final ArrayDeque<Integer> availableBufferIds;
+        @GuardedBy("this")
+        private final ArrayDeque<Integer> unallocatedBufferIds;
+
+        AllocatorShard(int initialCapacity) {
+            this.availableBufferIds = new ArrayDeque<>(initialCapacity);
+            this.unallocatedBufferIds = new ArrayDeque<>(initialCapacity);
+        }
+
+        synchronized void addAvailable(int bufferId) {
+            this.availableBufferIds.addLast(bufferId);
+        }
+
+        synchronized void addUnallocated(int bufferId) {
+            this.unallocatedBufferIds.addLast(bufferId);
+        }
+
+        synchronized void clear() {
+            this.availableBufferIds.clear();
+            this.unallocatedBufferIds.clear();
+        }
+
+        /**
+         * Gets a {@link DirectMemoryBuffer} that is already in use and has capacity, or null if none is available.
+         */
+        synchronized DirectMemoryBuffer getAvailableBuffer() {
+            while (!this.availableBufferIds.isEmpty()) {
+                // We found a Buffer that is available.
+                DirectMemoryBuffer b = buffers[this.availableBufferIds.peekFirst()];
+                if (b.hasCapacity()) {
+                    // Reusing a buffer.
+                    return b;
+                } else {
+                    // Buffer is actually full. Clean up. We lazily remove buffers from this pool, since we want
+                    // to introduce as little synchronization overhead in the insert() method so we delay this
+                    // as much as we can.
+                    this.availableBufferIds.removeFirst();
+                }
+            }
+
+            return null;
+        }
+
+        /**
+         * Moves an unallocated {@link DirectMemoryBuffer} into the pool of available buffers and returns it, or returns
+         * null if there are no more unallocated buffers in this shard.
+         */
+        synchronized DirectMemoryBuffer allocateBuffer() {
+            if (this.unallocatedBufferIds.isEmpty()) {
+                return null;
+            }
+
+            int bufferId = this.unallocatedBufferIds.removeFirst();
+            this.availableBufferIds.addLast(bufferId);
+            return buffers[bufferId];
+        }
+    }
+
+    //endregion
+
     //region NonReleaseableByteBufWrapper
 
     /**
@@ -455,4 +661,77 @@ public class DirectMemoryCache implements CacheStorage {
     }
 
     //endregion
+
+    //region Pinning
+
+    /**
+     * An entry that has been pinned via {@link #getPinned}.
+     */
+    private static class PinnedEntry {
+        private final int address;
+        @GuardedBy("pinnedEntries")
+        private int referenceCount;
+        @GuardedBy("pinnedEntries")
+        private boolean deletePending;
+
+        PinnedEntry(int address) {
+            this.address = address;
+        }
+    }
+
+    /**
+     * A reference to a {@link PinnedEntry}, shared by a {@link PinnedByteBufWrapper} and all of its slices. Holds one
+     * reference to the {@link PinnedEntry} for as long as its own reference count is positive.
+     */
+    private class PinReference {
+        private final PinnedEntry pinned;
+        private final AtomicInteger referenceCount;
+
+        PinReference(PinnedEntry pinned) {
+            this.pinned = pinned;
+            this.referenceCount = new AtomicInteger(1);
+        }
+
+        void retain() {
+            Preconditions.checkState(this.referenceCount.getAndIncrement() > 0, "Pinned entry already released.");
+        }
+
+        void release() {
+            if (this.referenceCount.getAndUpdate(c -> Math.max(0, c - 1)) == 1) {
+                unpin(this.pinned);
+            }
+        }
+    }
+
+    /**
+     * {@link ByteBufWrapper} that keeps the cache blocks it points to pinned until it is released. Releasing it does not
+     * release the underlying buffers (these are owned by the cache), but rather lets the cache reclaim the blocks.
+     */
+    private static class PinnedByteBufWrapper extends ByteBufWrapper {
+        private final ByteBuf buf;
+        private final PinReference reference;
+
+        PinnedByteBufWrapper(@NonNull ByteBuf buf, @NonNull PinReference reference) {
+            super(buf);
+            this.buf = buf;
+            this.reference = reference;
+        }
+
+        @Override
+        public void retain() {
+            this.reference.retain();
+        }
+
+        @Override
+        public void release() {
+            this.reference.release();
+        }
+
+        @Override
+        public BufferView slice(int offset, int length) {
+            return new PinnedByteBufWrapper(this.buf.slice(offset, length), this.reference);
+        }
+    }
+
+    //endregion
 }
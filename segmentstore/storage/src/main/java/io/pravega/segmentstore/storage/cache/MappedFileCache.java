@@ -0,0 +1,180 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.cache;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.AbstractByteBufAllocator;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.pravega.segmentstore.storage.CacheException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link DirectMemoryCache} whose Buffers are memory-mapped regions of a file instead of direct memory. Placing this
+ * file on a local SSD makes this a larger, but slower, {@link CacheStorage} that is suitable as a lower tier in a
+ * {@link TieredCacheStorage}.
+ *
+ * The data organization is identical to that of {@link DirectMemoryCache}; the OS page cache decides which parts of the
+ * file are resident in memory at any given time. The contents of this cache are not durable: the file is created when
+ * this instance is created and deleted when it is closed.
+ */
+@Slf4j
+@ThreadSafe
+public class MappedFileCache extends DirectMemoryCache {
+    //region Members
+
+    /**
+     * The size of each file region that is mapped at once. Buffers are sliced out of these regions, which keeps the
+     * number of memory mappings low. Must be a multiple of {@link CacheLayout#bufferSize()}.
+     */
+    private static final int MAPPING_SIZE = 64 * 1024 * 1024;
+    private final MappedFileAllocator allocator;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the MappedFileCache class.
+     *
+     * @param directory    The directory where to create the cache file. This should be on a local SSD.
+     * @param maxSizeBytes The maximum size of the cache file, in bytes.
+     * @throws CacheException If the cache file could not be created.
+     */
+    public MappedFileCache(@NonNull Path directory, long maxSizeBytes) {
+        this(new CacheLayout.DefaultLayout(), directory, maxSizeBytes);
+    }
+
+    private MappedFileCache(CacheLayout layout, Path directory, long maxSizeBytes) {
+        this(layout, new MappedFileAllocator(createFile(directory), layout.bufferSize()), maxSizeBytes);
+    }
+
+    private MappedFileCache(CacheLayout layout, MappedFileAllocator allocator, long maxSizeBytes) {
+        // Report under separate names, so that the two cache tiers are not counted together.
+        super(layout, maxSizeBytes, allocator, Runtime.getRuntime().availableProcessors(), CacheMetrics.ssd());
+        this.allocator = allocator;
+        log.info("MappedFileCache created (File = '{}', MaxSize = {}).", allocator.getFile(), maxSizeBytes);
+    }
+
+    private static Path createFile(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            return Files.createTempFile(directory, "cache-", ".dat");
+        } catch (IOException ex) {
+            throw new CacheException(String.format("Unable to create cache file in '%s'.", directory), ex);
+        }
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        super.close();
+        this.allocator.close();
+    }
+
+    //endregion
+
+    //region MappedFileAllocator
+
+    /**
+     * Allocates Buffers by slicing memory-mapped regions of a file. Every region is mapped once and never unmapped
+     * explicitly; the mapping is released when all Buffers referencing it have been garbage-collected.
+     */
+    private static class MappedFileAllocator extends AbstractByteBufAllocator implements AutoCloseable {
+        @Getter
+        private final Path file;
+        private final int bufferSize;
+        @GuardedBy("this")
+        private FileChannel channel;
+        @GuardedBy("this")
+        private MappedByteBuffer currentMapping;
+        @GuardedBy("this")
+        private long nextMappingOffset;
+
+        MappedFileAllocator(Path file, int bufferSize) {
+            super(true);
+            Preconditions.checkArgument(MAPPING_SIZE % bufferSize == 0, "MAPPING_SIZE must be a multiple of bufferSize.");
+            this.file = file;
+            this.bufferSize = bufferSize;
+            try {
+                this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (IOException ex) {
+                throw new CacheException(String.format("Unable to open cache file '%s'.", file), ex);
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            try {
+                if (this.channel != null) {
+                    this.channel.close();
+                    this.channel = null;
+                }
+                this.currentMapping = null;
+                Files.deleteIfExists(this.file);
+            } catch (IOException ex) {
+                log.error("Unable to delete cache file '{}'.", this.file, ex);
+            }
+        }
+
+        @Override
+        protected synchronized ByteBuf newDirectBuffer(int initialCapacity, int maxCapacity) {
+            Preconditions.checkArgument(initialCapacity == this.bufferSize && maxCapacity == this.bufferSize,
+                    "Only buffers of size %s can be allocated.", this.bufferSize);
+            Preconditions.checkState(this.channel != null, "MappedFileAllocator is closed.");
+            if (this.currentMapping == null || !this.currentMapping.hasRemaining()) {
+                try {
+                    this.currentMapping = this.channel.map(FileChannel.MapMode.READ_WRITE, this.nextMappingOffset, MAPPING_SIZE);
+                } catch (IOException ex) {
+                    throw new CacheException(String.format("Unable to map region at offset %s of cache file '%s'.",
+                            this.nextMappingOffset, this.file), ex);
+                }
+                this.nextMappingOffset += MAPPING_SIZE;
+            }
+
+            ByteBuffer region = this.currentMapping.slice();
+            region.limit(this.bufferSize);
+            this.currentMapping.position(this.currentMapping.position() + this.bufferSize);
+            return Unpooled.wrappedBuffer(region).clear();
+        }
+
+        @Override
+        protected ByteBuf newHeapBuffer(int initialCapacity, int maxCapacity) {
+            throw new UnsupportedOperationException("MappedFileAllocator does not allocate heap buffers.");
+        }
+
+        @Override
+        public boolean isDirectBufferPooled() {
+            return false;
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.cache;
+
+import io.pravega.shared.MetricsNames;
+import io.pravega.shared.metrics.Counter;
+import io.pravega.shared.metrics.MetricsProvider;
+import io.pravega.shared.metrics.StatsLogger;
+
+/**
+ * Metrics for {@link TieredCacheStorage}.
+ */
+final class TieredCacheMetrics implements AutoCloseable {
+    private static final StatsLogger STATS_LOGGER = MetricsProvider.createStatsLogger("cache");
+    private final Counter demoteBytes = STATS_LOGGER.createCounter(MetricsNames.CACHE_DEMOTE_BYTES);
+    private final Counter promoteBytes = STATS_LOGGER.createCounter(MetricsNames.CACHE_PROMOTE_BYTES);
+
+    void demote(int size) {
+        this.demoteBytes.add(size);
+    }
+
+    void promote(int size) {
+        this.promoteBytes.add(size);
+    }
+
+    @Override
+    public void close() {
+        this.demoteBytes.close();
+        this.promoteBytes.close();
+    }
+}
@@ -0,0 +1,254 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.cache;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import io.pravega.common.util.BufferView;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import javax.annotation.concurrent.ThreadSafe;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A {@link CacheStorage} made up of two tiers: a fast primary tier (i.e., {@link DirectMemoryCache}) and a larger, but
+ * slower, secondary tier (i.e., {@link MappedFileCache} on a local SSD).
+ *
+ * - All new entries ({@link #insert}, {@link #replace}) are added to the primary tier.
+ * - Entries may be moved to the secondary tier using {@link #demote} (instead of being deleted when evicted) and back to
+ * the primary tier using {@link #promote} (when they are read again).
+ * - Addresses of entries in the secondary tier are tagged using {@link #SECONDARY_TIER_FLAG}, which is not used by
+ * {@link CacheLayout.DefaultLayout} addresses. All other operations are routed to the appropriate tier based on this tag.
+ * - The Cache Full callback ({@link #setCacheFullCallback}) only applies to the primary tier; the secondary tier never
+ * evicts anything on its own and {@link #demote} will simply fail if it is full.
+ * - {@link #getState()} reports the state of the primary tier (since that is the one that eviction policies need to
+ * act upon) and includes the state of both tiers in {@link CacheState#getTiers()}.
+ */
+@Slf4j
+@ThreadSafe
+public class TieredCacheStorage implements CacheStorage {
+    //region Members
+
+    @VisibleForTesting
+    static final int SECONDARY_TIER_FLAG = 0x4000_0000;
+    private final CacheStorage primary;
+    private final CacheStorage secondary;
+    private final TieredCacheMetrics metrics;
+    private final AtomicBoolean closed;
+    /**
+     * Set while a {@link #promote} is in progress on the current thread. Promotions are opportunistic and must not trigger
+     * (or wait on) a primary tier cleanup.
+     */
+    private final ThreadLocal<Boolean> promoting;
+
+    //endregion
+
+    //region Constructor
+
+    /**
+     * Creates a new instance of the TieredCacheStorage class.
+     *
+     * @param primary   The primary (fast) tier. This instance will take ownership of it and close it when closed.
+     * @param secondary The secondary (slow) tier. This instance will take ownership of it and close it when closed.
+     * @throws IllegalArgumentException If the two tiers have different Block Alignments.
+     */
+    public TieredCacheStorage(@NonNull CacheStorage primary, @NonNull CacheStorage secondary) {
+        Preconditions.checkArgument(primary.getBlockAlignment() == secondary.getBlockAlignment(),
+                "primary and secondary must have the same Block Alignment.");
+        this.primary = primary;
+        this.secondary = secondary;
+        this.metrics = new TieredCacheMetrics();
+        this.closed = new AtomicBoolean(false);
+        this.promoting = ThreadLocal.withInitial(() -> false);
+    }
+
+    //endregion
+
+    //region AutoCloseable Implementation
+
+    @Override
+    public void close() {
+        if (!this.closed.getAndSet(true)) {
+            this.primary.close();
+            this.secondary.close();
+            this.metrics.close();
+        }
+    }
+
+    //endregion
+
+    //region CacheStorage Implementation
+
+    @Override
+    public int getBlockAlignment() {
+        return this.primary.getBlockAlignment();
+    }
+
+    @Override
+    public int getMaxEntryLength() {
+        return Math.min(this.primary.getMaxEntryLength(), this.secondary.getMaxEntryLength());
+    }
+
+    @Override
+    public int insert(BufferView data) {
+        return toPrimaryAddress(this.primary.insert(data));
+    }
+
+    @Override
+    public int replace(int address, BufferView data) {
+        if (isSecondary(address)) {
+            int newAddress = insert(data);
+            this.secondary.delete(toSecondaryAddress(address));
+            return newAddress;
+        } else {
+            return toPrimaryAddress(this.primary.replace(address, data));
+        }
+    }
+
+    @Override
+    public int getAppendableLength(int currentLength) {
+        return this.primary.getAppendableLength(currentLength);
+    }
+
+    @Override
+    public int append(int address, int expectedLength, BufferView data) {
+        if (isSecondary(address)) {
+            return this.secondary.append(toSecondaryAddress(address), expectedLength, data);
+        } else {
+            return this.primary.append(address, expectedLength, data);
+        }
+    }
+
+    @Override
+    public void delete(int address) {
+        if (isSecondary(address)) {
+            this.secondary.delete(toSecondaryAddress(address));
+        } else {
+            this.primary.delete(address);
+        }
+    }
+
+    @Override
+    public BufferView get(int address) {
+        if (isSecondary(address)) {
+            return this.secondary.get(toSecondaryAddress(address));
+        } else {
+            return this.primary.get(address);
+        }
+    }
+
+    @Override
+    public BufferView getPinned(int address) {
+        if (isSecondary(address)) {
+            return this.secondary.getPinned(toSecondaryAddress(address));
+        } else {
+            return this.primary.getPinned(address);
+        }
+    }
+
+    @Override
+    public int demote(int address) {
+        if (isSecondary(address)) {
+            // Already in the lowest tier.
+            return NO_ADDRESS;
+        }
+
+        BufferView data = this.primary.get(address);
+        if (data == null) {
+            return NO_ADDRESS;
+        }
+
+        int newAddress;
+        try {
+            newAddress = this.secondary.insert(data);
+        } catch (CacheFullException ex) {
+            log.debug("Unable to demote entry at address {}: secondary tier is full.", address);
+            return NO_ADDRESS;
+        }
+
+        this.primary.delete(address);
+        this.metrics.demote(data.getLength());
+        return newAddress | SECONDARY_TIER_FLAG;
+    }
+
+    @Override
+    public int promote(int address) {
+        if (!isSecondary(address)) {
+            // Already in the top tier.
+            return address;
+        }
+
+        int secondaryAddress = toSecondaryAddress(address);
+        BufferView data = this.secondary.get(secondaryAddress);
+        if (data == null) {
+            return address;
+        }
+
+        int newAddress;
+        this.promoting.set(true);
+        try {
+            newAddress = toPrimaryAddress(this.primary.insert(data));
+        } catch (CacheFullException ex) {
+            // Primary tier is full. Leave the entry where it is; we'll try again on a subsequent read.
+            return address;
+        } finally {
+            this.promoting.set(false);
+        }
+
+        this.secondary.delete(secondaryAddress);
+        this.metrics.promote(data.getLength());
+        return newAddress;
+    }
+
+    @Override
+    public CacheState getState() {
+        CacheState p = this.primary.getState();
+        CacheState s = this.secondary.getState();
+        return new CacheState(p.getStoredBytes(), p.getUsedBytes(), p.getReservedBytes(), p.getAllocatedBytes(),
+                p.getMaxBytes(), Arrays.asList(p, s));
+    }
+
+    @Override
+    public void setCacheFullCallback(Supplier<Boolean> cacheFullCallback, int retryDelayBaseMillis) {
+        this.primary.setCacheFullCallback(() -> {
+            if (this.promoting.get()) {
+                throw new CacheFullException("Primary tier is full; not promoting.");
+            }
+            return cacheFullCallback.get();
+        }, retryDelayBaseMillis);
+    }
+
+    //endregion
+
+    //region Helpers
+
+    private boolean isSecondary(int address) {
+        return (address & SECONDARY_TIER_FLAG) != 0;
+    }
+
+    private int toSecondaryAddress(int address) {
+        return address & ~SECONDARY_TIER_FLAG;
+    }
+
+    private int toPrimaryAddress(int address) {
+        assert !isSecondary(address) : "primary tier returned an address with SECONDARY_TIER_FLAG set";
+        return address;
+    }
+
+    //endregion
+}
@@ -21,13 +21,18 @@ import com.google.common.base.Strings;
 import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.Timer;
+import io.pravega.common.concurrent.Futures;
+import io.pravega.common.util.BufferView;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.Collection;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.val;
@@ -109,6 +114,17 @@ public abstract class AsyncBaseChunkStorage implements ChunkStorage {
     @Override
     abstract public boolean supportsConcat();
 
+    /**
+     * Gets a value indicating whether this Storage implementation natively supports deleting multiple chunks at once.
+     * The default implementation returns false.
+     *
+     * @return True or false.
+     */
+    @Override
+    public boolean supportsBatchDelete() {
+        return false;
+    }
+
     /**
      * Determines whether named file/object exists in underlying storage.
      *
@@ -223,6 +239,48 @@ public abstract class AsyncBaseChunkStorage implements ChunkStorage {
         return returnFuture;
     }
 
+    /**
+     * Deletes multiple chunks. Chunks that do not exist are ignored.
+     *
+     * @param handles Collection of ChunkHandles of the chunks to delete.
+     * @return A CompletableFuture that, when completed, will indicate that the operation completed.
+     * If the operation failed, it will contain the cause of the failure.
+     * @throws IllegalArgumentException If argument is invalid.
+     * @throws CompletionException If the operation failed, it will be completed with the appropriate exception. Notable Exceptions:
+     * {@link ChunkStorageException} In case of I/O related exceptions.
+     */
+    @Override
+    final public CompletableFuture<Void> batchDelete(Collection<ChunkHandle> handles) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        // Validate parameters
+        Preconditions.checkArgument(null != handles, "handles must not be null");
+        for (val handle : handles) {
+            Preconditions.checkArgument(null != handle, "handle must not be null");
+            checkChunkName(handle.getChunkName());
+            Preconditions.checkArgument(!handle.isReadOnly(), "handle must not be readonly. Chunk=%s", handle.getChunkName());
+        }
+        if (handles.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        val traceId = LoggerHelpers.traceEnter(log, "batchDelete", handles.size());
+        val opContext = new OperationContext();
+
+        // Call concrete implementation.
+        val returnFuture = doBatchDeleteAsync(handles, opContext);
+        returnFuture.thenRunAsync(() -> {
+            // Record metrics.
+            val elapsed = opContext.getInclusiveLatency();
+            ChunkStorageMetrics.DELETE_LATENCY.reportSuccessEvent(elapsed);
+            ChunkStorageMetrics.DELETE_COUNT.add(handles.size());
+
+            log.debug("BatchDelete - chunks={}, latency={}.", handles.size(), elapsed.toMillis());
+            LoggerHelpers.traceLeave(log, "batchDelete", traceId, handles.size());
+        }, executor);
+
+        return returnFuture;
+    }
+
     /**
      * Opens chunk for Read.
      *
@@ -343,6 +401,45 @@ public abstract class AsyncBaseChunkStorage implements ChunkStorage {
         return returnFuture;
     }
 
+    /**
+     * Reads a range of bytes from the underlying chunk into the given {@link ByteBuffer}.
+     *
+     * @param handle     ChunkHandle of the chunk to read from.
+     * @param fromOffset Offset in the chunk from which to start reading.
+     * @param buffer     ByteBuffer to which data is copied, starting at its current position.
+     * @return A CompletableFuture that, when completed, will contain number of bytes read.
+     * @throws IllegalArgumentException If argument is invalid.
+     * @throws CompletionException If the operation failed, it will be completed with the appropriate exception. Notable Exceptions:
+     * {@link ChunkStorageException} In case of I/O related exceptions.
+     */
+    @Override
+    final public CompletableFuture<Integer> read(ChunkHandle handle, long fromOffset, ByteBuffer buffer) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        // Validate parameters
+        Preconditions.checkArgument(null != handle, "handle must not be null");
+        checkChunkName(handle.getChunkName());
+        Preconditions.checkArgument(null != buffer, "buffer must not be null");
+        Preconditions.checkArgument(!buffer.isReadOnly(), "buffer must not be readonly. Chunk=%s", handle.getChunkName());
+        Preconditions.checkArgument(fromOffset >= 0, "fromOffset must be non-negative. Chunk=%s fromOffset=%s", handle.getChunkName(), fromOffset);
+
+        val length = buffer.remaining();
+        val traceId = LoggerHelpers.traceEnter(log, "read", handle.getChunkName(), fromOffset, length);
+        val opContext = new OperationContext();
+
+        // Call concrete implementation.
+        val returnFuture = doReadAsync(handle, fromOffset, buffer, opContext);
+        returnFuture.thenAcceptAsync(bytesRead -> {
+            val elapsed = opContext.getInclusiveLatency();
+            ChunkStorageMetrics.READ_LATENCY.reportSuccessEvent(elapsed);
+            ChunkStorageMetrics.READ_BYTES.add(bytesRead);
+
+            log.debug("Read - chunk={}, offset={}, bytesRead={}, latency={}.", handle.getChunkName(), fromOffset, length, elapsed.toMillis());
+            LoggerHelpers.traceLeave(log, "read", traceId, bytesRead);
+        }, executor);
+
+        return returnFuture;
+    }
+
     /**
      * Writes the given data to the underlying chunk.
      *
@@ -392,6 +489,48 @@ public abstract class AsyncBaseChunkStorage implements ChunkStorage {
         return returnFuture;
     }
 
+    /**
+     * Writes the given data to the underlying chunk.
+     *
+     * @param handle ChunkHandle of the chunk to write to.
+     * @param offset Offset in the chunk to start writing.
+     * @param data   A {@link BufferView} representing the data to write.
+     * @return A CompletableFuture that, when completed, will contain number of bytes written.
+     * @throws CompletionException If the operation failed, it will be completed with the appropriate exception. Notable Exceptions:
+     * {@link ChunkStorageException} In case of I/O related exceptions.
+     * @see #write(ChunkHandle, long, int, InputStream)
+     */
+    @Override
+    final public CompletableFuture<Integer> write(ChunkHandle handle, long offset, BufferView data) {
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        // Validate parameters
+        Preconditions.checkArgument(null != handle, "handle must not be null");
+        checkChunkName(handle.getChunkName());
+        Preconditions.checkArgument(!handle.isReadOnly(), "handle must not be readonly. Chunk = %s", handle.getChunkName());
+        Preconditions.checkArgument(null != data, "data must not be null");
+        Preconditions.checkArgument(offset >= 0, "offset must be non-negative. Chunk=%s offset=%s", handle.getChunkName(), offset);
+        if (!supportsAppend()) {
+            Preconditions.checkArgument(offset == 0, "offset must be 0 because storage does not support appends.");
+        }
+
+        val length = data.getLength();
+        val traceId = LoggerHelpers.traceEnter(log, "write", handle.getChunkName(), offset, length);
+        val opContext = new OperationContext();
+
+        // Call concrete implementation.
+        val returnFuture = doWriteAsync(handle, offset, data, opContext);
+        returnFuture.thenAcceptAsync(bytesWritten -> {
+            val elapsed = opContext.getInclusiveLatency();
+
+            ChunkStorageMetrics.WRITE_LATENCY.reportSuccessEvent(elapsed);
+            ChunkStorageMetrics.WRITE_BYTES.add(bytesWritten);
+
+            log.debug("Write - chunk={}, offset={}, bytesWritten={}, latency={}.", handle.getChunkName(), offset, length, elapsed.toMillis());
+            LoggerHelpers.traceLeave(log, "write", traceId, bytesWritten);
+        }, executor);
+        return returnFuture;
+    }
+
     /**
      * Concatenates two or more chunks. The first chunk is concatenated to.
      *
@@ -583,6 +722,27 @@ public abstract class AsyncBaseChunkStorage implements ChunkStorage {
      */
     abstract protected CompletableFuture<Void> doDeleteAsync(ChunkHandle handle, OperationContext opContext);
 
+    /**
+     * Deletes multiple chunks. Chunks that do not exist must be ignored.
+     *
+     * The default implementation concurrently invokes {@link #doDeleteAsync(ChunkHandle, OperationContext)} for each
+     * chunk. Implementations that can delete multiple objects in a single request should override this and return true
+     * from {@link #supportsBatchDelete()}.
+     *
+     * @param handles   Collection of ChunkHandles of the chunks to delete.
+     * @param opContext Context for the given operation.
+     * @return A CompletableFuture that, when completed, will indicate that the operation completed.
+     *          If the operation failed, it will contain the cause of the failure.
+     * @throws CompletionException If the operation failed, it will be completed with the appropriate exception. Notable Exceptions:
+     * {@link ChunkStorageException} In case of I/O related exceptions.
+     */
+    protected CompletableFuture<Void> doBatchDeleteAsync(Collection<ChunkHandle> handles, OperationContext opContext) {
+        return Futures.allOf(handles.stream()
+                .map(handle -> Futures.exceptionallyExpecting(doDeleteAsync(handle, opContext),
+                        ex -> Exceptions.unwrap(ex) instanceof ChunkNotFoundException, null))
+                .collect(Collectors.toList()));
+    }
+
     /**
      * Opens chunk for Read.
      *
@@ -641,6 +801,62 @@ public abstract class AsyncBaseChunkStorage implements ChunkStorage {
      */
     abstract protected CompletableFuture<Integer> doWriteAsync(ChunkHandle handle, long offset, int length, InputStream data, OperationContext opContext);
 
+    /**
+     * Reads a range of bytes from the underlying chunk into the given {@link ByteBuffer}, starting at its current position.
+     * Upon completion, the position of the buffer must have been advanced by the number of bytes read.
+     *
+     * The default implementation delegates to {@link #doReadAsync(ChunkHandle, long, int, byte[], int, OperationContext)},
+     * reading directly into the buffer's backing array if it has one, or into a temporary array otherwise. Implementations
+     * that can read into {@link ByteBuffer}s natively should override this.
+     *
+     * @param handle     ChunkHandle of the chunk to read from.
+     * @param fromOffset Offset in the chunk from which to start reading.
+     * @param buffer     ByteBuffer to which data is copied.
+     * @param opContext  Context for the given operation.
+     * @return A CompletableFuture that, when completed, will contain number of bytes read.
+     * @throws CompletionException If the operation failed, it will be completed with the appropriate exception. Notable Exceptions:
+     * {@link ChunkStorageException} In case of I/O related exceptions.
+     */
+    protected CompletableFuture<Integer> doReadAsync(ChunkHandle handle, long fromOffset, ByteBuffer buffer, OperationContext opContext) {
+        val length = buffer.remaining();
+        if (length == 0) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        if (buffer.hasArray()) {
+            return doReadAsync(handle, fromOffset, length, buffer.array(), buffer.arrayOffset() + buffer.position(), opContext)
+                    .thenApply(bytesRead -> {
+                        buffer.position(buffer.position() + bytesRead);
+                        return bytesRead;
+                    });
+        } else {
+            val readBuffer = new byte[length];
+            return doReadAsync(handle, fromOffset, length, readBuffer, 0, opContext)
+                    .thenApply(bytesRead -> {
+                        buffer.put(readBuffer, 0, bytesRead);
+                        return bytesRead;
+                    });
+        }
+    }
+
+    /**
+     * Writes the given data to the chunk.
+     *
+     * The default implementation delegates to {@link #doWriteAsync(ChunkHandle, long, int, InputStream, OperationContext)}
+     * using {@link BufferView#getReader()}. Implementations that can write {@link ByteBuffer}s natively should override this.
+     *
+     * @param handle    ChunkHandle of the chunk to write to.
+     * @param offset    Offset in the chunk to start writing.
+     * @param data      A {@link BufferView} representing the data to write.
+     * @param opContext Context for the given operation.
+     * @return A CompletableFuture that, when completed, will contain number of bytes written.
+     * @throws CompletionException If the operation failed, it will be completed with the appropriate exception. Notable Exceptions:
+     * {@link ChunkStorageException} In case of I/O related exceptions.
+     */
+    protected CompletableFuture<Integer> doWriteAsync(ChunkHandle handle, long offset, BufferView data, OperationContext opContext) {
+        return doWriteAsync(handle, offset, data.getLength(), data.getReader(), opContext);
+    }
+
     /**
      * Concatenates two or more chunks using storage native functionality. (Eg. Multipart upload.)
      *
@@ -16,9 +16,12 @@
 package io.pravega.segmentstore.storage.chunklayer;
 
 import com.google.common.annotations.Beta;
+import io.pravega.common.util.BufferView;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
@@ -96,6 +99,17 @@ public abstract class BaseChunkStorage extends AsyncBaseChunkStorage {
         }, opContext);
     }
 
+    @Override
+    protected CompletableFuture<Void> doBatchDeleteAsync(Collection<ChunkHandle> handles, OperationContext opContext) {
+        if (!supportsBatchDelete()) {
+            return super.doBatchDeleteAsync(handles, opContext);
+        }
+        return execute(() -> {
+            doBatchDelete(handles);
+            return null;
+        }, opContext);
+    }
+
     @Override
     protected CompletableFuture<ChunkHandle> doOpenReadAsync(String chunkName, OperationContext opContext) {
         return execute(() -> doOpenRead(chunkName), opContext);
@@ -116,6 +130,16 @@ public abstract class BaseChunkStorage extends AsyncBaseChunkStorage {
         return execute(() -> doWrite(handle, offset, length, data), opContext);
     }
 
+    @Override
+    protected CompletableFuture<Integer> doReadAsync(ChunkHandle handle, long fromOffset, ByteBuffer buffer, OperationContext opContext) {
+        return execute(() -> doRead(handle, fromOffset, buffer), opContext);
+    }
+
+    @Override
+    protected CompletableFuture<Integer> doWriteAsync(ChunkHandle handle, long offset, BufferView data, OperationContext opContext) {
+        return execute(() -> doWrite(handle, offset, data), opContext);
+    }
+
     @Override
     protected CompletableFuture<Integer> doConcatAsync(ConcatArgument[] chunks, OperationContext opContext) {
         return execute(() -> doConcat(chunks), opContext);
@@ -193,6 +217,18 @@ public abstract class BaseChunkStorage extends AsyncBaseChunkStorage {
      */
     abstract protected void doDelete(ChunkHandle handle) throws ChunkStorageException;
 
+    /**
+     * Deletes multiple chunks in a single request. Chunks that do not exist must be ignored.
+     * This is only invoked if {@link #supportsBatchDelete()} returns true, in which case it must be overridden.
+     *
+     * @param handles Collection of ChunkHandles of the chunks to delete.
+     * @throws ChunkStorageException    Throws ChunkStorageException in case of I/O related exceptions.
+     * @throws IllegalArgumentException If argument is invalid.
+     */
+    protected void doBatchDelete(Collection<ChunkHandle> handles) throws ChunkStorageException {
+        throw new UnsupportedOperationException("doBatchDelete");
+    }
+
     /**
      * Opens chunk for Read.
      *
@@ -243,6 +279,58 @@ public abstract class BaseChunkStorage extends AsyncBaseChunkStorage {
      */
     abstract protected int doWrite(ChunkHandle handle, long offset, int length, InputStream data) throws ChunkStorageException;
 
+    /**
+     * Reads a range of bytes from the underlying chunk into the given {@link ByteBuffer}, starting at its current position.
+     * Upon return, the position of the buffer must have been advanced by the number of bytes read.
+     *
+     * The default implementation delegates to {@link #doRead(ChunkHandle, long, int, byte[], int)}, reading directly into
+     * the buffer's backing array if it has one, or into a temporary array otherwise.
+     *
+     * @param handle     ChunkHandle of the chunk to read from.
+     * @param fromOffset Offset in the chunk from which to start reading.
+     * @param buffer     ByteBuffer to which data is copied.
+     * @return int Number of bytes read.
+     * @throws ChunkStorageException     Throws ChunkStorageException in case of I/O related exceptions.
+     * @throws IllegalArgumentException  If argument is invalid.
+     * @throws IndexOutOfBoundsException If the index is out of bounds.
+     */
+    protected int doRead(ChunkHandle handle, long fromOffset, ByteBuffer buffer) throws ChunkStorageException {
+        int length = buffer.remaining();
+        if (length == 0) {
+            return 0;
+        }
+
+        int bytesRead;
+        if (buffer.hasArray()) {
+            bytesRead = doRead(handle, fromOffset, length, buffer.array(), buffer.arrayOffset() + buffer.position());
+            buffer.position(buffer.position() + bytesRead);
+        } else {
+            byte[] readBuffer = new byte[length];
+            bytesRead = doRead(handle, fromOffset, length, readBuffer, 0);
+            buffer.put(readBuffer, 0, bytesRead);
+        }
+
+        return bytesRead;
+    }
+
+    /**
+     * Writes the given data to the chunk.
+     *
+     * The default implementation delegates to {@link #doWrite(ChunkHandle, long, int, InputStream)} using
+     * {@link BufferView#getReader()}.
+     *
+     * @param handle ChunkHandle of the chunk to write to.
+     * @param offset Offset in the chunk to start writing.
+     * @param data   A {@link BufferView} representing the data to write.
+     * @return int Number of bytes written.
+     * @throws ChunkStorageException     Throws ChunkStorageException in case of I/O related exceptions.
+     * @throws IndexOutOfBoundsException If the index is out of bounds.
+     * @throws IllegalArgumentException Throws IllegalArgumentException in case of invalid index.
+     */
+    protected int doWrite(ChunkHandle handle, long offset, BufferView data) throws ChunkStorageException {
+        return doWrite(handle, offset, data.getLength(), data.getReader());
+    }
+
     /**
      * Concatenates two or more chunks using storage native functionality. (Eg. Multipart upload.)
      *
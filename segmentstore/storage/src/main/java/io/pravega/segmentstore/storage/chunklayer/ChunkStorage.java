@@ -16,8 +16,11 @@
 package io.pravega.segmentstore.storage.chunklayer;
 
 import com.google.common.annotations.Beta;
+import io.pravega.common.util.BufferView;
 
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 
@@ -75,6 +78,15 @@ public interface ChunkStorage extends AutoCloseable, StatsReporter {
      */
     boolean supportsConcat();
 
+    /**
+     * Gets a value indicating whether this Storage implementation natively supports deleting multiple storage objects
+     * in a single call to {@link ChunkStorage#batchDelete(Collection)}.
+     * Implementations that return false still accept batch deletes, but the chunks are deleted one at a time.
+     *
+     * @return True or false.
+     */
+    boolean supportsBatchDelete();
+
     /**
      * Determines whether named file/object exists in underlying storage.
      *
@@ -118,6 +130,18 @@ public interface ChunkStorage extends AutoCloseable, StatsReporter {
      */
     CompletableFuture<Void> delete(ChunkHandle handle);
 
+    /**
+     * Deletes multiple chunks.
+     * Unlike {@link ChunkStorage#delete(ChunkHandle)}, chunks that do not exist are ignored. If the operation fails, some
+     * of the given chunks may have already been deleted.
+     *
+     * @param handles Collection of ChunkHandles of the storage objects to delete.
+     * @return A CompletableFuture that, when completed, will indicate that the operation completed.
+     * If the operation failed, it will be completed with the appropriate exception. Notable Exceptions:
+     * {@link ChunkStorageException} In case of I/O related exceptions.
+     */
+    CompletableFuture<Void> batchDelete(Collection<ChunkHandle> handles);
+
     /**
      * Opens storage object for Read.
      *
@@ -172,6 +196,27 @@ public interface ChunkStorage extends AutoCloseable, StatsReporter {
      */
     CompletableFuture<Integer> read(ChunkHandle handle, long fromOffset, int length, byte[] buffer, int bufferOffset);
 
+    /**
+     * Reads a range of bytes from the underlying storage object into the given {@link ByteBuffer}.
+     * Data is copied starting at the buffer's current position and at most {@link ByteBuffer#remaining()} bytes are read.
+     * Upon completion, the buffer's position will have been advanced by the number of bytes read.
+     *
+     * Unlike {@link #read(ChunkHandle, long, int, byte[], int)}, this allows implementations to read directly into
+     * direct (off-heap) buffers, without an intermediate copy.
+     *
+     * @param handle     ChunkHandle of the storage object to read from.
+     * @param fromOffset Offset in the chunk from which to start reading.
+     * @param buffer     ByteBuffer to which data is copied.
+     * @return A CompletableFuture that, when completed, will contain number of bytes read.
+     * If the operation failed, it will be completed with the appropriate exception.
+     * @throws IllegalArgumentException  If argument is invalid.
+     * @throws NullPointerException      If the parameter is null.
+     * @throws IndexOutOfBoundsException If offset is not a valid offset in the underlying file/object.
+     * @throws CompletionException       If the operation failed, it will be completed with the appropriate exception. Notable Exceptions:
+     *                                   {@link ChunkStorageException} In case of I/O related exceptions.
+     */
+    CompletableFuture<Integer> read(ChunkHandle handle, long fromOffset, ByteBuffer buffer);
+
     /**
      * Writes the given data to the underlying storage object.
      *
@@ -194,6 +239,23 @@ public interface ChunkStorage extends AutoCloseable, StatsReporter {
      */
     CompletableFuture<Integer> write(ChunkHandle handle, long offset, int length, InputStream data);
 
+    /**
+     * Writes the given data to the underlying storage object.
+     *
+     * This has the same semantics as {@link #write(ChunkHandle, long, int, InputStream)}, but it allows implementations
+     * to write the contents of the given {@link BufferView} (via {@link BufferView#collect}) directly, without
+     * copying them through an {@link InputStream}.
+     *
+     * @param handle ChunkHandle of the storage object to write to.
+     * @param offset Offset in the chunk to start writing.
+     * @param data   A {@link BufferView} representing the data to write. All of it will be written.
+     * @return A CompletableFuture that, when completed, will contain number of bytes written.
+     * @throws IndexOutOfBoundsException When data can not be written at given offset.
+     * @throws CompletionException       If the operation failed, it will be completed with the appropriate exception. Notable Exceptions:
+     *                                   {@link ChunkStorageException} In case of I/O related exceptions.
+     */
+    CompletableFuture<Integer> write(ChunkHandle handle, long offset, BufferView data);
+
     /**
      * Concatenates two or more chunks using native facility. The first chunk is concatenated to.
      *
@@ -80,4 +80,9 @@ public class ChunkStorageMetrics {
     static final Counter SLTS_SYSTEM_TRUNCATE_COUNT = STATS_LOGGER.createCounter(MetricsNames.SLTS_SYSTEM_TRUNCATE_COUNT);
 
     static final Counter LARGE_CONCAT_COUNT = STATS_LOGGER.createCounter(MetricsNames.STORAGE_LARGE_CONCAT_COUNT);
+
+    static final OpStatsLogger SLTS_GC_BATCH_LATENCY = STATS_LOGGER.createStats(MetricsNames.SLTS_GC_BATCH_LATENCY);
+    static final Counter SLTS_GC_CHUNK_DELETED_COUNT = STATS_LOGGER.createCounter(MetricsNames.SLTS_GC_CHUNK_DELETED_COUNT);
+    static final Counter SLTS_GC_CHUNK_FAILED_COUNT = STATS_LOGGER.createCounter(MetricsNames.SLTS_GC_CHUNK_FAILED_COUNT);
+    static final Counter SLTS_GC_CHUNK_LOADED_COUNT = STATS_LOGGER.createCounter(MetricsNames.SLTS_GC_CHUNK_LOADED_COUNT);
 }
@@ -21,6 +21,7 @@ import io.pravega.common.Exceptions;
 import io.pravega.common.LoggerHelpers;
 import io.pravega.common.Timer;
 import io.pravega.common.concurrent.MultiKeySequentialProcessor;
+import io.pravega.common.util.BufferView;
 import io.pravega.common.util.ImmutableDate;
 import io.pravega.segmentstore.contracts.SegmentProperties;
 import io.pravega.segmentstore.contracts.StreamSegmentExistsException;
@@ -193,12 +194,22 @@ public class ChunkedSegmentStorage implements Storage, StatsReporter {
      * @param snapshotInfoStore Store that saves {@link SnapshotInfo}.
      */
     public CompletableFuture<Void> bootstrap(SnapshotInfoStore snapshotInfoStore) {
+        return bootstrap(snapshotInfoStore, null);
+    }
+
+    /**
+     * Initializes the ChunkedSegmentStorage and bootstrap the metadata about storage metadata segments by reading and processing the journal.
+     *
+     * @param snapshotInfoStore Store that saves {@link SnapshotInfo}.
+     * @param garbageQueueStore (Optional) Store that persists the queue of the {@link GarbageCollector}.
+     */
+    public CompletableFuture<Void> bootstrap(SnapshotInfoStore snapshotInfoStore, GarbageQueueStore garbageQueueStore) {
 
         this.logPrefix = String.format("ChunkedSegmentStorage[%d]", containerId);
 
         // Now bootstrap
         return this.systemJournal.bootstrap(epoch, snapshotInfoStore)
-                .thenRun(() -> garbageCollector.initialize());
+                .thenRun(() -> garbageCollector.initialize(garbageQueueStore));
     }
 
     @Override
@@ -397,6 +408,15 @@ public class ChunkedSegmentStorage implements Storage, StatsReporter {
         return executeSerialized(new WriteOperation(this, handle, offset, data, length), handle.getSegmentName());
     }
 
+    @Override
+    public CompletableFuture<Void> write(SegmentHandle handle, long offset, BufferView data, Duration timeout) {
+        checkInitialized();
+        if (null == handle) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("handle must not be null"));
+        }
+        return executeSerialized(new WriteOperation(this, handle, offset, data), handle.getSegmentName());
+    }
+
     /**
      * Gets whether given segment is a critical storage system segment.
      *
@@ -43,6 +43,7 @@ public class ChunkedSegmentStorageConfig {
     public static final Property<Boolean> APPENDS_ENABLED = Property.named("appends.enable", true);
     public static final Property<Boolean> LAZY_COMMIT_ENABLED = Property.named("commit.lazy.enable", true);
     public static final Property<Boolean> INLINE_DEFRAG_ENABLED = Property.named("defrag.inline.enable", true);
+    public static final Property<Integer> MAX_CONCURRENT_CHUNK_WRITES = Property.named("write.chunks.concurrency.max", 4);
     public static final Property<Long> DEFAULT_ROLLOVER_SIZE = Property.named("metadata.rollover.size.bytes.max", 128 * 1024 * 1024L);
     public static final Property<Integer> SELF_CHECK_LATE_WARNING_THRESHOLD = Property.named("self.check.late", 100);
     public static final Property<Integer> GARBAGE_COLLECTION_DELAY = Property.named("garbage.collection.delay.seconds", 60);
@@ -50,6 +51,9 @@ public class ChunkedSegmentStorageConfig {
     public static final Property<Integer> GARBAGE_COLLECTION_MAX_QUEUE_SIZE = Property.named("garbage.collection.queue.size.max", 16 * 1024);
     public static final Property<Integer> GARBAGE_COLLECTION_SLEEP = Property.named("garbage.collection.sleep.millis", 10);
     public static final Property<Integer> GARBAGE_COLLECTION_MAX_ATTEMPTS = Property.named("garbage.collection.attempts.max", 3);
+    public static final Property<Integer> GARBAGE_COLLECTION_MAX_BATCH_SIZE = Property.named("garbage.collection.batch.size.max", 100);
+    public static final Property<Integer> GARBAGE_COLLECTION_SCAN_INTERVAL = Property.named("garbage.collection.scan.interval.seconds", 60);
+    public static final Property<Integer> GARBAGE_COLLECTION_MAX_SCAN_ITEMS = Property.named("garbage.collection.scan.items.max", 1024);
     public static final Property<Integer> MAX_METADATA_ENTRIES_IN_BUFFER = Property.named("metadata.buffer.size.max", 1024);
     public static final Property<Integer> MAX_METADATA_ENTRIES_IN_CACHE = Property.named("metadata.cache.size.max", 5000);
 
@@ -73,12 +77,16 @@ public class ChunkedSegmentStorageConfig {
             .appendEnabled(true)
             .lazyCommitEnabled(true)
             .inlineDefragEnabled(true)
+            .maxConcurrentChunkWrites(4)
             .lateWarningThresholdInMillis(100)
             .garbageCollectionDelay(Duration.ofSeconds(60))
             .garbageCollectionMaxConcurrency(10)
             .garbageCollectionMaxQueueSize(16 * 1024)
             .garbageCollectionSleep(Duration.ofMillis(10))
             .garbageCollectionMaxAttempts(3)
+            .garbageCollectionMaxBatchSize(100)
+            .garbageCollectionScanInterval(Duration.ofSeconds(60))
+            .garbageCollectionMaxScanItems(1024)
             .indexBlockSize(1024 * 1024)
             .maxEntriesInCache(5000)
             .maxEntriesInTxnBuffer(1024)
@@ -162,6 +170,14 @@ public class ChunkedSegmentStorageConfig {
     @Getter
     final private boolean inlineDefragEnabled;
 
+    /**
+     * Maximum number of new chunks that a single write may upload concurrently.
+     * When a write spans several new chunks, these are written in parallel and the metadata is committed once at the end.
+     * A value of 1 writes chunks one after other.
+     */
+    @Getter
+    final private int maxConcurrentChunkWrites;
+
     @Getter
     final private int lateWarningThresholdInMillis;
 
@@ -197,6 +213,25 @@ public class ChunkedSegmentStorageConfig {
     @Getter
     final private int garbageCollectionMaxAttempts;
 
+    /**
+     * Max number of chunks deleted in a single request, if the {@link ChunkStorage} supports batch deletes.
+     * Otherwise at most {@link #garbageCollectionMaxConcurrency} chunks are deleted at a time.
+     */
+    @Getter
+    final private int garbageCollectionMaxBatchSize;
+
+    /**
+     * Minimum duration between two scans of the persisted garbage collection queue.
+     */
+    @Getter
+    final private Duration garbageCollectionScanInterval;
+
+    /**
+     * Max number of chunks loaded from the persisted garbage collection queue in a single scan.
+     */
+    @Getter
+    final private int garbageCollectionMaxScanItems;
+
     /**
      * Maximum number of metadata entries to keep in recent transaction buffer.
      */
@@ -248,6 +283,7 @@ public class ChunkedSegmentStorageConfig {
         this.appendEnabled = properties.getBoolean(APPENDS_ENABLED);
         this.lazyCommitEnabled = properties.getBoolean(LAZY_COMMIT_ENABLED);
         this.inlineDefragEnabled = properties.getBoolean(INLINE_DEFRAG_ENABLED);
+        this.maxConcurrentChunkWrites = properties.getInt(MAX_CONCURRENT_CHUNK_WRITES);
         this.maxBufferSizeForChunkDataTransfer = properties.getInt(MAX_BUFFER_SIZE_FOR_APPENDS);
         // Don't use appends for concat when appends are disabled.
         this.minSizeLimitForConcat = this.appendEnabled ? properties.getLong(MIN_SIZE_LIMIT_FOR_CONCAT) : 0;
@@ -262,6 +298,9 @@ public class ChunkedSegmentStorageConfig {
         this.garbageCollectionMaxQueueSize = properties.getInt(GARBAGE_COLLECTION_MAX_QUEUE_SIZE);
         this.garbageCollectionSleep = Duration.ofMillis(properties.getInt(GARBAGE_COLLECTION_SLEEP));
         this.garbageCollectionMaxAttempts = properties.getInt(GARBAGE_COLLECTION_MAX_ATTEMPTS);
+        this.garbageCollectionMaxBatchSize = properties.getInt(GARBAGE_COLLECTION_MAX_BATCH_SIZE);
+        this.garbageCollectionScanInterval = Duration.ofSeconds(properties.getInt(GARBAGE_COLLECTION_SCAN_INTERVAL));
+        this.garbageCollectionMaxScanItems = properties.getInt(GARBAGE_COLLECTION_MAX_SCAN_ITEMS);
         this.journalSnapshotInfoUpdateFrequency = Duration.ofMinutes(properties.getInt(JOURNAL_SNAPSHOT_UPDATE_FREQUENCY));
         this.maxJournalUpdatesPerSnapshot =  properties.getInt(MAX_PER_SNAPSHOT_UPDATE_COUNT);
         this.maxJournalReadAttempts = properties.getInt(MAX_JOURNAL_READ_ATTEMPTS);
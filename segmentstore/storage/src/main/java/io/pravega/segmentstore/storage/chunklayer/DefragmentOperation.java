@@ -17,13 +17,14 @@ package io.pravega.segmentstore.storage.chunklayer;
 
 import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.Futures;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.storage.metadata.ChunkMetadata;
 import io.pravega.segmentstore.storage.metadata.MetadataTransaction;
 import io.pravega.segmentstore.storage.metadata.SegmentMetadata;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
-import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -315,11 +316,11 @@ class DefragmentOperation implements Callable<CompletableFuture<Void>> {
                 () -> bytesToRead.get() > 0,
                 () -> {
                     val buffer = new byte[Math.toIntExact(Math.min(chunkedSegmentStorage.getConfig().getMaxBufferSizeForChunkDataTransfer(), bytesToRead.get()))];
-                    return chunkedSegmentStorage.getChunkStorage().read(ChunkHandle.readHandle(arg.getName()), readAtOffset.get(), buffer.length, buffer, 0)
+                    return chunkedSegmentStorage.getChunkStorage().read(ChunkHandle.readHandle(arg.getName()), readAtOffset.get(), ByteBuffer.wrap(buffer))
                             .thenComposeAsync(size -> {
                                 bytesToRead.addAndGet(-size);
                                 readAtOffset.addAndGet(size);
-                                return chunkedSegmentStorage.getChunkStorage().write(writeHandle, writeAtOffset.get(), size, new ByteArrayInputStream(buffer, 0, size))
+                                return chunkedSegmentStorage.getChunkStorage().write(writeHandle, writeAtOffset.get(), new ByteArraySegment(buffer, 0, size))
                                         .thenAcceptAsync(writeAtOffset::addAndGet, chunkedSegmentStorage.getExecutor());
                             }, chunkedSegmentStorage.getExecutor());
                 },
@@ -18,6 +18,7 @@ package io.pravega.segmentstore.storage.chunklayer;
 import com.google.common.base.Preconditions;
 import com.google.common.primitives.Ints;
 import io.pravega.common.Exceptions;
+import io.pravega.common.Timer;
 import io.pravega.common.concurrent.AbstractThreadPoolService;
 import io.pravega.common.concurrent.ExecutorServiceHelpers;
 import io.pravega.common.concurrent.Futures;
@@ -32,8 +33,12 @@ import lombok.val;
 
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.DelayQueue;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.ScheduledExecutorService;
@@ -42,6 +47,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static io.pravega.shared.MetricsNames.SLTS_GC_QUEUE_SIZE;
 
@@ -51,14 +57,21 @@ import static io.pravega.shared.MetricsNames.SLTS_GC_QUEUE_SIZE;
  * This queue is populated by following
  * <ol>
  * <li>Various ChunkedSegmentStorage operations requesting deletes.</li>
+ * <li>Background task that periodically scans the {@link GarbageQueueStore} (if any) for chunks that are not in memory.</li>
  * <li>Background task that scans all records to find undeleted chunks inside metadata (not yet implemented).</li>
  * <li>Background task that scans all LTS to find unaccounted chunks that are deemed garbage (not yet implemented)</li>
  * </ol>
  *
- * The background task throttles itself in two ways.
+ * If a {@link GarbageQueueStore} is provided, every chunk added to the garbage is also persisted there and removed once it is
+ * deleted. This way pending deletes are not lost on restart or container failover, and chunks that do not fit in the in
+ * memory queue are picked up later.
+ *
+ * The background task throttles itself in following ways.
  * <ol>
- * <li>It limits number of concurrent deletes at a time, so that it doesn't interfere with foreground Storage calls. </li>
+ * <li>It limits number of deletes at a time, so that it doesn't interfere with foreground Storage calls.
+ * If the {@link ChunkStorage} supports batch deletes then these are deleted with a single call.</li>
  * <li>It limits the number of items in the queue.</li>
+ * <li>It limits how often and how many items are loaded from the {@link GarbageQueueStore}.</li>
  * </ol>
  */
 @Slf4j
@@ -87,6 +100,21 @@ public class GarbageCollector extends AbstractThreadPoolService implements AutoC
     @Getter
     private final AtomicInteger queueSize = new AtomicInteger();
 
+    /**
+     * Names of chunks that are either in the queue or being deleted.
+     */
+    private final Set<String> trackedChunks = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Optional durable store for the queue.
+     */
+    private volatile GarbageQueueStore garbageQueueStore;
+
+    /**
+     * Time after which the next scan of {@link #garbageQueueStore} is allowed.
+     */
+    private final AtomicLong nextScanTime = new AtomicLong();
+
     @Getter
     private final AtomicLong iterationId = new AtomicLong();
 
@@ -151,6 +179,19 @@ public class GarbageCollector extends AbstractThreadPoolService implements AutoC
      * Initializes this instance.
      */
     public void initialize() {
+        initialize(null);
+    }
+
+    /**
+     * Initializes this instance.
+     *
+     * @param garbageQueueStore (Optional) {@link GarbageQueueStore} to persist the queue to. If null, the queue is only
+     *                          kept in memory.
+     */
+    public void initialize(GarbageQueueStore garbageQueueStore) {
+        this.garbageQueueStore = garbageQueueStore;
+        // Nothing in the store can be eligible for deletion before this.
+        this.nextScanTime.set(currentTimeSupplier.get() + config.getGarbageCollectionDelay().toMillis());
         Services.startAsync(this, this.executor);
     }
 
@@ -175,7 +216,8 @@ public class GarbageCollector extends AbstractThreadPoolService implements AutoC
         loopFuture = Futures.loop(
                 this::canRun,
                 () -> delaySupplier.get()
-                        .thenComposeAsync(v -> deleteGarbage(true, config.getGarbageCollectionMaxConcurrency()), executor)
+                        .thenComposeAsync(v -> scanGarbage(), executor)
+                        .thenComposeAsync(v -> deleteGarbage(true, getMaxItemsPerIteration()), executor)
                         .handleAsync((v, ex) -> {
                             if (null != ex) {
                                 log.error("{}: Error during doRun.", traceObjectId, ex);
@@ -190,6 +232,12 @@ public class GarbageCollector extends AbstractThreadPoolService implements AutoC
         return isRunning() && getStopException() == null && !closed.get();
     }
 
+    private int getMaxItemsPerIteration() {
+        return chunkStorage.supportsBatchDelete()
+                ? config.getGarbageCollectionMaxBatchSize()
+                : config.getGarbageCollectionMaxConcurrency();
+    }
+
     /**
      * Sets whether background cleanup is suspended or not.
      *
@@ -205,12 +253,28 @@ public class GarbageCollector extends AbstractThreadPoolService implements AutoC
      * @param chunksToDelete List of chunks to delete.
      */
     void addToGarbage(Collection<String> chunksToDelete) {
-        val currentTime = currentTimeSupplier.get();
+        val scheduledDeleteTime = currentTimeSupplier.get() + config.getGarbageCollectionDelay().toMillis();
+
+        val store = this.garbageQueueStore;
+        if (null != store && !chunksToDelete.isEmpty()) {
+            val entries = chunksToDelete.stream()
+                    .map(chunkToDelete -> new GarbageQueueStore.Entry(chunkToDelete, scheduledDeleteTime))
+                    .collect(Collectors.toList());
+            store.add(entries)
+                    .exceptionally(e -> {
+                        log.warn("{}: addToGarbage - Could not persist garbage chunks={}.", traceObjectId, chunksToDelete, e);
+                        return null;
+                    });
+        }
 
-        chunksToDelete.forEach(chunkToDelete -> addToGarbage(chunkToDelete, currentTime + config.getGarbageCollectionDelay().toMillis(), 0));
+        chunksToDelete.forEach(chunkToDelete -> addToGarbage(chunkToDelete, scheduledDeleteTime, 0));
 
         if (queueSize.get() >= config.getGarbageCollectionMaxQueueSize()) {
-            log.warn("{}: deleteGarbage - Queue full. Could not delete garbage. Chunks skipped", traceObjectId);
+            if (null != store) {
+                log.info("{}: deleteGarbage - Queue full. Chunks will be loaded later from persisted queue.", traceObjectId);
+            } else {
+                log.warn("{}: deleteGarbage - Queue full. Could not delete garbage. Chunks skipped", traceObjectId);
+            }
         }
     }
 
@@ -222,19 +286,70 @@ public class GarbageCollector extends AbstractThreadPoolService implements AutoC
      * @param attempts Number of attempts to delete this chunk so far.
      */
     void addToGarbage(String chunkToDelete, long startTime, int attempts) {
+        tryAddToGarbage(chunkToDelete, startTime, attempts);
+    }
+
+    private boolean tryAddToGarbage(String chunkToDelete, long startTime, int attempts) {
         if (queueSize.get() < config.getGarbageCollectionMaxQueueSize()) {
-            garbageChunks.add(new GarbageChunkInfo(chunkToDelete, startTime, attempts));
-            queueSize.incrementAndGet();
+            if (trackedChunks.add(chunkToDelete)) {
+                garbageChunks.add(new GarbageChunkInfo(chunkToDelete, startTime, attempts));
+                queueSize.incrementAndGet();
+                return true;
+            }
+            log.trace("{}: deleteGarbage - Chunk already queued. chunk {}.", traceObjectId, chunkToDelete);
         } else {
             log.debug("{}: deleteGarbage - Queue full. Could not delete garbage. chunk {}.", traceObjectId, chunkToDelete);
         }
+        return false;
+    }
+
+    /**
+     * Loads chunks from the {@link GarbageQueueStore} into the queue.
+     *
+     * This is rate limited: at most one scan is performed every {@link ChunkedSegmentStorageConfig#getGarbageCollectionScanInterval()}
+     * and each scan loads at most {@link ChunkedSegmentStorageConfig#getGarbageCollectionMaxScanItems()} chunks.
+     * Chunks already in the queue or being deleted are skipped. Errors are logged and the scan is retried in next interval.
+     *
+     * @return CompletableFuture which is completed when scan is complete.
+     */
+    CompletableFuture<Void> scanGarbage() {
+        val store = this.garbageQueueStore;
+        val currentTime = currentTimeSupplier.get();
+        if (null == store
+                || currentTime < nextScanTime.get()
+                || queueSize.get() >= config.getGarbageCollectionMaxQueueSize()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        nextScanTime.set(currentTime + config.getGarbageCollectionScanInterval().toMillis());
+
+        val loaded = new AtomicInteger();
+        return store.forEach(entry -> {
+                    if (loaded.get() >= config.getGarbageCollectionMaxScanItems()
+                            || queueSize.get() >= config.getGarbageCollectionMaxQueueSize()) {
+                        return false;
+                    }
+                    if (tryAddToGarbage(entry.getChunkName(), entry.getScheduledDeleteTime(), 0)) {
+                        loaded.incrementAndGet();
+                    }
+                    return true;
+                })
+                .handleAsync((v, e) -> {
+                    if (null != e) {
+                        log.warn("{}: scanGarbage - Could not load garbage chunks from persisted queue.", traceObjectId, e);
+                    } else {
+                        log.debug("{}: scanGarbage - Loaded {} chunks from persisted queue.", traceObjectId, loaded.get());
+                    }
+                    ChunkStorageMetrics.SLTS_GC_CHUNK_LOADED_COUNT.add(loaded.get());
+                    return null;
+                }, executor);
     }
 
     /**
      * Delete the garbage chunks.
      *
-     * This method retrieves a few eligible chunks for deletion at a time.
+     * This method retrieves a few eligible chunks for deletion at a time and processes them as a batch.
      * The chunk is deleted only if the metadata for it does not exist or is marked inactive.
+     * The metadata for all deleted chunks is deleted in a single transaction.
      * If there are any errors then failed chunk is enqueued back up to a max number of attempts.
      * If suspended or there are no items then it "sleeps" for time specified by configuration.
      *
@@ -276,86 +391,141 @@ public class GarbageCollector extends AbstractThreadPoolService implements AutoC
             return CompletableFuture.completedFuture(false);
         }
 
-        // For each chunk delete if the chunk is not present at all in the metadata or is present but marked as inactive.
-        ArrayList<CompletableFuture<Void>> futures = new ArrayList<>();
-        for (val infoToDelete : chunksToDelete) {
-            val chunkToDelete = infoToDelete.name;
-            val failed = new AtomicBoolean();
-            val txn = metadataStore.beginTransaction(false, chunkToDelete);
-            val future =
-                    txn.get(infoToDelete.name)
-                            .thenComposeAsync(metadata -> {
-                                val chunkMetadata = (ChunkMetadata) metadata;
-                                // Delete if the chunk is not present at all in the metadata or is present but marked as inactive.
-                                val shouldDeleteChunk = null == chunkMetadata || !chunkMetadata.isActive();
-                                val shouldDeleteMetadata = new AtomicBoolean(null != metadata && !chunkMetadata.isActive());
-
-                                // Delete chunk from storage.
-                                if (shouldDeleteChunk) {
-                                    return chunkStorage.delete(ChunkHandle.writeHandle(chunkToDelete))
-                                            .handleAsync((v, e) -> {
-                                                if (e != null) {
-                                                    val ex = Exceptions.unwrap(e);
-                                                    if (ex instanceof ChunkNotFoundException) {
-                                                        // Ignore - nothing to do here.
-                                                        log.debug("{}: deleteGarbage - Could not delete garbage chunk={}.", traceObjectId, chunkToDelete);
-                                                    } else {
-                                                        log.warn("{}: deleteGarbage - Could not delete garbage chunk={}.", traceObjectId, chunkToDelete);
-                                                        shouldDeleteMetadata.set(false);
-                                                        failed.set(true);
-                                                    }
-                                                } else {
-                                                    log.debug("{}: deleteGarbage - deleted chunk={}.", traceObjectId, chunkToDelete);
-                                                }
-                                                return v;
-                                            }, storageExecutor)
-                                            .thenRunAsync(() -> {
-                                                if (shouldDeleteMetadata.get()) {
-                                                    txn.delete(chunkToDelete);
-                                                    log.debug("{}: deleteGarbage - deleted metadata for chunk={}.", traceObjectId, chunkToDelete);
-                                                }
-                                            }, storageExecutor)
-                                            .thenComposeAsync(v -> txn.commit(), storageExecutor)
-                                            .handleAsync((v, e) -> {
-                                                if (e != null) {
-                                                    log.error(String.format("%s deleteGarbage - Could not delete metadata for garbage chunk=%s.",
-                                                            traceObjectId, chunkToDelete), e);
-                                                    failed.set(true);
-                                                }
-                                                return v;
-                                            }, storageExecutor);
-                                } else {
-                                    log.info("{}: deleteGarbage - Chunk is not marked as garbage chunk={}.", traceObjectId, chunkToDelete);
-                                    return CompletableFuture.completedFuture(null);
-                                }
-                            }, storageExecutor)
-                            .whenCompleteAsync((v, ex) -> {
-                                // Queue it back.
-                                if (failed.get()) {
-                                    if (infoToDelete.getAttempts() < config.getGarbageCollectionMaxAttempts()) {
-                                        log.debug("{}: deleteGarbage - adding back chunk={}.", traceObjectId, chunkToDelete);
-                                        addToGarbage(chunkToDelete,
-                                                infoToDelete.getScheduledDeleteTime() + config.getGarbageCollectionDelay().toMillis(),
-                                                infoToDelete.getAttempts() + 1);
-                                    } else {
-                                        log.info("{}: deleteGarbage - could not delete after max attempts chunk={}.", traceObjectId, chunkToDelete);
-                                    }
-                                }
-                                if (ex != null) {
-                                    log.error(String.format("%s deleteGarbage - Could not find garbage chunk=%s.",
-                                            traceObjectId, chunkToDelete), ex);
-                                }
-                                txn.close();
-                            }, executor);
-            futures.add(future);
+        // Delete the chunks that are not present at all in the metadata or are present but marked as inactive.
+        val timer = new Timer();
+        val chunkNames = chunksToDelete.stream().map(GarbageChunkInfo::getName).toArray(String[]::new);
+        // Chunk name -> whether it has metadata that needs to be deleted as well.
+        val garbage = new ConcurrentHashMap<String, Boolean>();
+        val failed = ConcurrentHashMap.<String>newKeySet();
+        val txn = metadataStore.beginTransaction(false, chunkNames);
+        val futures = new ArrayList<CompletableFuture<Void>>();
+        for (val chunkName : chunkNames) {
+            futures.add(txn.get(chunkName)
+                    .thenAcceptAsync(metadata -> {
+                        val chunkMetadata = (ChunkMetadata) metadata;
+                        if (null == chunkMetadata || !chunkMetadata.isActive()) {
+                            garbage.put(chunkName, null != chunkMetadata);
+                        } else {
+                            log.info("{}: deleteGarbage - Chunk is not marked as garbage chunk={}.", traceObjectId, chunkName);
+                        }
+                    }, storageExecutor));
         }
         return Futures.allOf(futures)
-                .thenApplyAsync( v -> {
+                .thenComposeAsync(v -> deleteChunks(new ArrayList<>(garbage.keySet()), failed), storageExecutor)
+                .thenComposeAsync(v -> {
+                    // Delete metadata of chunks that were deleted.
+                    garbage.forEach((chunkName, hasMetadata) -> {
+                        if (hasMetadata && !failed.contains(chunkName)) {
+                            txn.delete(chunkName);
+                            log.debug("{}: deleteGarbage - deleted metadata for chunk={}.", traceObjectId, chunkName);
+                        }
+                    });
+                    return txn.commit();
+                }, storageExecutor)
+                .handleAsync((v, e) -> {
+                    if (e != null) {
+                        log.error(String.format("%s deleteGarbage - Could not delete metadata for garbage chunks=%s.",
+                                traceObjectId, Arrays.toString(chunkNames)), e);
+                        // Nothing was committed, so try again for all of them.
+                        failed.addAll(Arrays.asList(chunkNames));
+                    }
+                    txn.close();
+                    return null;
+                }, storageExecutor)
+                .thenComposeAsync(v -> {
+                    val done = new ArrayList<String>();
+                    int deletedCount = 0;
+                    for (val infoToDelete : chunksToDelete) {
+                        val chunkToDelete = infoToDelete.getName();
+                        trackedChunks.remove(chunkToDelete);
+                        if (failed.contains(chunkToDelete)) {
+                            ChunkStorageMetrics.SLTS_GC_CHUNK_FAILED_COUNT.inc();
+                            // Queue it back.
+                            if (infoToDelete.getAttempts() < config.getGarbageCollectionMaxAttempts()) {
+                                log.debug("{}: deleteGarbage - adding back chunk={}.", traceObjectId, chunkToDelete);
+                                addToGarbage(chunkToDelete,
+                                        infoToDelete.getScheduledDeleteTime() + config.getGarbageCollectionDelay().toMillis(),
+                                        infoToDelete.getAttempts() + 1);
+                            } else {
+                                // If persisted, it will be picked up again by a later scan.
+                                log.info("{}: deleteGarbage - could not delete after max attempts chunk={}.", traceObjectId, chunkToDelete);
+                            }
+                        } else {
+                            done.add(chunkToDelete);
+                            if (garbage.containsKey(chunkToDelete)) {
+                                deletedCount++;
+                            }
+                        }
+                    }
+                    ChunkStorageMetrics.SLTS_GC_CHUNK_DELETED_COUNT.add(deletedCount);
+                    ChunkStorageMetrics.SLTS_GC_BATCH_LATENCY.reportSuccessEvent(timer.getElapsed());
+                    return removeFromStore(done);
+                }, executor)
+                .thenApplyAsync(v -> {
                     log.debug("{}: Iteration {} ended.", traceObjectId, iterationId.getAndIncrement());
                     return true;
                 }, executor);
     }
 
+    /**
+     * Deletes given chunks from {@link ChunkStorage}, using a single batch delete if supported.
+     * Chunks that do not exist are not considered as failures.
+     *
+     * @param chunkNames Names of the chunks to delete.
+     * @param failed     Set to which names of the chunks that could not be deleted are added.
+     * @return CompletableFuture which is completed when all deletes are complete.
+     */
+    private CompletableFuture<Void> deleteChunks(List<String> chunkNames, Set<String> failed) {
+        if (chunkNames.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (chunkStorage.supportsBatchDelete()) {
+            val handles = chunkNames.stream().map(ChunkHandle::writeHandle).collect(Collectors.toList());
+            return chunkStorage.batchDelete(handles)
+                    .handleAsync((v, e) -> {
+                        if (e != null) {
+                            log.warn("{}: deleteGarbage - Could not delete garbage chunks={}.", traceObjectId, chunkNames, e);
+                            failed.addAll(chunkNames);
+                        } else {
+                            log.debug("{}: deleteGarbage - deleted chunks={}.", traceObjectId, chunkNames);
+                        }
+                        return v;
+                    }, storageExecutor);
+        }
+
+        return Futures.allOf(chunkNames.stream()
+                .map(chunkToDelete -> chunkStorage.delete(ChunkHandle.writeHandle(chunkToDelete))
+                        .handleAsync((v, e) -> {
+                            if (e != null) {
+                                val ex = Exceptions.unwrap(e);
+                                if (ex instanceof ChunkNotFoundException) {
+                                    // Ignore - nothing to do here.
+                                    log.debug("{}: deleteGarbage - Could not delete garbage chunk={}.", traceObjectId, chunkToDelete);
+                                } else {
+                                    log.warn("{}: deleteGarbage - Could not delete garbage chunk={}.", traceObjectId, chunkToDelete);
+                                    failed.add(chunkToDelete);
+                                }
+                            } else {
+                                log.debug("{}: deleteGarbage - deleted chunk={}.", traceObjectId, chunkToDelete);
+                            }
+                            return v;
+                        }, storageExecutor))
+                .collect(Collectors.toList()));
+    }
+
+    private CompletableFuture<Void> removeFromStore(Collection<String> chunkNames) {
+        val store = this.garbageQueueStore;
+        if (null == store || chunkNames.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return store.remove(chunkNames)
+                .exceptionally(e -> {
+                    // These will be picked up by a later scan and removed then.
+                    log.warn("{}: deleteGarbage - Could not remove chunks from persisted queue chunks={}.", traceObjectId, chunkNames, e);
+                    return null;
+                });
+    }
+
     @Override
     public void close() {
         Services.stopAsync(this, executor);
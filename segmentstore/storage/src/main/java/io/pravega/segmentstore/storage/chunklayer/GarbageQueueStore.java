@@ -0,0 +1,73 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.chunklayer;
+
+import lombok.Data;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Durable store for the chunks queued for deletion by the {@link GarbageCollector}.
+ * Chunks are added to this store when they are marked as garbage and removed once they have been deleted. This allows the
+ * {@link GarbageCollector} to re-discover pending deletes after a restart or a container failover, and to keep track of
+ * more garbage than what fits in its in-memory queue.
+ */
+public interface GarbageQueueStore {
+    /**
+     * Adds the given entries to the store. Existing entries for the same chunks are overwritten.
+     *
+     * @param entries Entries to add.
+     * @return A CompletableFuture that, when completed, will indicate that the operation completed.
+     * If the operation failed, it will be completed with the appropriate exception.
+     */
+    CompletableFuture<Void> add(Collection<Entry> entries);
+
+    /**
+     * Removes the entries for the given chunks from the store. Chunks that are not in the store are ignored.
+     *
+     * @param chunkNames Names of the chunks to remove.
+     * @return A CompletableFuture that, when completed, will indicate that the operation completed.
+     * If the operation failed, it will be completed with the appropriate exception.
+     */
+    CompletableFuture<Void> remove(Collection<String> chunkNames);
+
+    /**
+     * Iterates through the entries in the store, in no particular order.
+     *
+     * @param consumer A Predicate that is invoked for each entry. Iteration stops when it returns false.
+     * @return A CompletableFuture that, when completed, will indicate that the iteration completed.
+     * If the operation failed, it will be completed with the appropriate exception.
+     */
+    CompletableFuture<Void> forEach(Predicate<Entry> consumer);
+
+    /**
+     * An entry in the {@link GarbageQueueStore}.
+     */
+    @Data
+    class Entry {
+        /**
+         * Name of the garbage chunk.
+         */
+        private final String chunkName;
+
+        /**
+         * Time (in milliseconds) after which the chunk may be deleted.
+         */
+        private final long scheduledDeleteTime;
+    }
+}
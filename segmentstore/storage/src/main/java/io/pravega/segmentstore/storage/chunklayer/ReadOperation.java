@@ -30,6 +30,7 @@ import io.pravega.shared.NameUtils;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -203,24 +204,18 @@ class ReadOperation implements Callable<CompletableFuture<Integer>> {
                          long fromOffset,
                          int bytesToRead,
                          int bufferOffset) {
-        val chunkBytesRemaining = new AtomicInteger(bytesToRead);
+        // Each read advances the position of this buffer, so it always reflects where the next read must go.
+        val chunkBuffer = ByteBuffer.wrap(buffer, bufferOffset, bytesToRead);
         val chunkFromOffset = new AtomicLong(fromOffset);
-        val chunkBufferOffset = new AtomicInteger(bufferOffset);
         // Note that technically it is possible that read actually request reads less than requested bytes, requiring additional reads on the same chunk.
         // Hence the for loop below.
         val chunkHandle = ChunkHandle.readHandle(chunkName);
         return Futures.loop(
-            () -> chunkBytesRemaining.get() > 0,
-            () -> chunkedSegmentStorage.getChunkStorage().read(chunkHandle,
-                    chunkFromOffset.get(),
-                    chunkBytesRemaining.get(),
-                    buffer,
-                    chunkBufferOffset.get())
+            chunkBuffer::hasRemaining,
+            () -> chunkedSegmentStorage.getChunkStorage().read(chunkHandle, chunkFromOffset.get(), chunkBuffer)
                     .thenAccept(n -> {
                         Preconditions.checkState(n != 0, "Zero bytes read chunk=%s, fromOffset=%d", chunkName, fromOffset);
-                        chunkBytesRemaining.addAndGet(-n);
                         chunkFromOffset.addAndGet(n);
-                        chunkBufferOffset.addAndGet(n);
                     }),
             chunkedSegmentStorage.getExecutor());
     }
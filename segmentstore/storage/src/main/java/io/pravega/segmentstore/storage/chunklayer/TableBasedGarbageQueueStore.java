@@ -0,0 +1,150 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.chunklayer;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import io.pravega.common.Exceptions;
+import io.pravega.common.util.BitConverter;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.contracts.SegmentType;
+import io.pravega.segmentstore.contracts.StreamSegmentExistsException;
+import io.pravega.segmentstore.contracts.tables.IteratorArgs;
+import io.pravega.segmentstore.contracts.tables.TableEntry;
+import io.pravega.segmentstore.contracts.tables.TableKey;
+import io.pravega.segmentstore.contracts.tables.TableStore;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * {@link TableStore} based {@link GarbageQueueStore}.
+ * Each entry is stored as a Table Entry keyed by the name of the chunk, with the scheduled delete time as value.
+ */
+@Slf4j
+public class TableBasedGarbageQueueStore implements GarbageQueueStore {
+    /**
+     * Instance of the {@link TableStore}.
+     */
+    @Getter
+    private final TableStore tableStore;
+
+    /**
+     * Name of the table segment.
+     */
+    @Getter
+    private final String tableName;
+    private final Executor executor;
+    private final Duration timeout = Duration.ofSeconds(30);
+    private final AtomicBoolean isTableInitialized = new AtomicBoolean(false);
+
+    /**
+     * Constructor.
+     *
+     * @param tableName  Name of the table segment.
+     * @param tableStore Instance of the {@link TableStore}.
+     * @param executor   Executor to use for async operations.
+     */
+    public TableBasedGarbageQueueStore(String tableName, TableStore tableStore, Executor executor) {
+        this.tableStore = Preconditions.checkNotNull(tableStore, "tableStore");
+        this.tableName = Preconditions.checkNotNull(tableName, "tableName");
+        this.executor = Preconditions.checkNotNull(executor, "executor");
+    }
+
+    @Override
+    public CompletableFuture<Void> add(Collection<Entry> entries) {
+        if (entries.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        val toPut = entries.stream()
+                .map(entry -> TableEntry.unversioned(toKey(entry.getChunkName()), toValue(entry.getScheduledDeleteTime())))
+                .collect(Collectors.toList());
+        return ensureInitialized()
+                .thenComposeAsync(v -> this.tableStore.put(tableName, toPut, timeout), executor)
+                .thenApply(versions -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> remove(Collection<String> chunkNames) {
+        if (chunkNames.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        val toRemove = chunkNames.stream()
+                .map(chunkName -> TableKey.unversioned(toKey(chunkName)))
+                .collect(Collectors.toList());
+        return ensureInitialized()
+                .thenComposeAsync(v -> this.tableStore.remove(tableName, toRemove, timeout), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> forEach(Predicate<Entry> consumer) {
+        val args = IteratorArgs.builder().fetchTimeout(timeout).build();
+        return ensureInitialized()
+                .thenComposeAsync(v -> this.tableStore.entryIterator(tableName, args), executor)
+                .thenComposeAsync(iterator -> iterator.collectRemaining(item -> {
+                    for (val tableEntry : item.getEntries()) {
+                        val entry = new Entry(new String(tableEntry.getKey().getKey().getCopy(), Charsets.UTF_8),
+                                BitConverter.readLong(tableEntry.getValue().getCopy(), 0));
+                        if (!consumer.test(entry)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }), executor);
+    }
+
+    private ByteArraySegment toKey(String chunkName) {
+        return new ByteArraySegment(chunkName.getBytes(Charsets.UTF_8));
+    }
+
+    private ByteArraySegment toValue(long scheduledDeleteTime) {
+        val value = new byte[Long.BYTES];
+        BitConverter.writeLong(value, 0, scheduledDeleteTime);
+        return new ByteArraySegment(value);
+    }
+
+    private CompletableFuture<Void> ensureInitialized() {
+        if (!isTableInitialized.get()) {
+            // Like the Storage Metadata Segment, this is a System, Internal, Critical Segment. Entries are added to it
+            // by the same operations that update Storage Metadata, so it must not be throttled either.
+            val segmentType = SegmentType.builder().tableSegment().system().critical().internal().build();
+            return this.tableStore.createSegment(tableName, segmentType, timeout)
+                    .thenRunAsync(() -> {
+                        log.debug("Created table segment {}", tableName);
+                        isTableInitialized.set(true);
+                    }, executor)
+                    .exceptionally(e -> {
+                        val ex = Exceptions.unwrap(e);
+                        if (ex instanceof StreamSegmentExistsException) {
+                            log.debug("Table segment {} already exists.", tableName);
+                            isTableInitialized.set(true);
+                            return null;
+                        }
+                        throw new CompletionException(ex);
+                    });
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+}
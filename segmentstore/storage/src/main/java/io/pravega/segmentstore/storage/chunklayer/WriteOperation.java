@@ -21,6 +21,7 @@ import io.pravega.common.LoggerHelpers;
 import io.pravega.common.Timer;
 import io.pravega.common.concurrent.Futures;
 import io.pravega.common.io.BoundedInputStream;
+import io.pravega.common.util.BufferView;
 import io.pravega.segmentstore.contracts.BadOffsetException;
 import io.pravega.segmentstore.storage.SegmentHandle;
 import io.pravega.segmentstore.storage.StorageNotPrimaryException;
@@ -29,6 +30,7 @@ import io.pravega.segmentstore.storage.metadata.MetadataTransaction;
 import io.pravega.segmentstore.storage.metadata.SegmentMetadata;
 import io.pravega.segmentstore.storage.metadata.StorageMetadataWritesFencedOutException;
 import io.pravega.shared.NameUtils;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
@@ -60,6 +62,7 @@ class WriteOperation implements Callable<CompletableFuture<Void>> {
     private final SegmentHandle handle;
     private final long offset;
     private final InputStream data;
+    private final BufferView dataBuffer;
     private final int length;
     private final ChunkedSegmentStorage chunkedSegmentStorage;
     private final long traceId;
@@ -84,9 +87,18 @@ class WriteOperation implements Callable<CompletableFuture<Void>> {
     private volatile boolean didSegmentLayoutChange = false;
 
     WriteOperation(ChunkedSegmentStorage chunkedSegmentStorage, SegmentHandle handle, long offset, InputStream data, int length) {
+        this(chunkedSegmentStorage, handle, offset, data, null, length);
+    }
+
+    WriteOperation(ChunkedSegmentStorage chunkedSegmentStorage, SegmentHandle handle, long offset, BufferView data) {
+        this(chunkedSegmentStorage, handle, offset, null, data, null == data ? 0 : data.getLength());
+    }
+
+    private WriteOperation(ChunkedSegmentStorage chunkedSegmentStorage, SegmentHandle handle, long offset, InputStream data, BufferView dataBuffer, int length) {
         this.handle = handle;
         this.offset = offset;
         this.data = data;
+        this.dataBuffer = dataBuffer;
         this.length = length;
         this.chunkedSegmentStorage = chunkedSegmentStorage;
         traceId = LoggerHelpers.traceEnter(log, "write", handle, offset, length);
@@ -216,6 +228,9 @@ class WriteOperation implements Callable<CompletableFuture<Void>> {
         return Futures.loop(
                 () -> bytesRemaining.get() > 0,
                 () -> {
+                    if (shouldWriteChunksInParallel()) {
+                        return writeNewChunksInParallel(txn);
+                    }
                     // Check if new chunk needs to be added.
                     // This could be either because there are no existing chunks or last chunk has reached max rolling length.
                     return openChunkToWrite(txn)
@@ -228,7 +243,7 @@ class WriteOperation implements Callable<CompletableFuture<Void>> {
                                 // Write data to last chunk.
                                 return writeToChunk(txn,
                                         segmentMetadata,
-                                        data,
+                                        oldOffset,
                                         chunkHandle,
                                         lastChunkMetadata.get(),
                                         offsetToWriteAt,
@@ -252,12 +267,94 @@ class WriteOperation implements Callable<CompletableFuture<Void>> {
                 }, chunkedSegmentStorage.getExecutor());
     }
 
-    private CompletableFuture<Void> openChunkToWrite(MetadataTransaction txn) {
-        if (null == lastChunkMetadata.get()
+    /**
+     * Checks whether remaining data spans several new chunks that can be written independently of each other.
+     * This is only done when data is available as {@link BufferView} (so that it can be sliced) and not for storage system
+     * segments, which are small and whose chunk additions are journaled one by one.
+     */
+    private boolean shouldWriteChunksInParallel() {
+        return null != dataBuffer
+                && !isSystemSegment
+                && chunkedSegmentStorage.getConfig().getMaxConcurrentChunkWrites() > 1
+                && bytesRemaining.get() > segmentMetadata.getMaxRollinglength()
+                && isNewChunkRequired();
+    }
+
+    /**
+     * Writes next few new chunks concurrently.
+     * Data is first written to all chunks and then chunks are added to the segment metadata in order.
+     * If any write fails then all chunks written so far are garbage collected.
+     */
+    private CompletableFuture<Void> writeNewChunksInParallel(MetadataTransaction txn) {
+        val maxRollingLength = segmentMetadata.getMaxRollinglength();
+        val chunksToWrite = new ArrayList<NewChunk>();
+        long chunkOffset = currentOffset.get();
+        long remaining = bytesRemaining.get();
+        while (remaining > 0 && chunksToWrite.size() < chunkedSegmentStorage.getConfig().getMaxConcurrentChunkWrites()) {
+            val chunkLength = (int) Math.min(remaining, maxRollingLength);
+            chunksToWrite.add(new NewChunk(getNewChunkName(handle.getSegmentName(), chunkOffset), chunkOffset, chunkLength));
+            chunkOffset += chunkLength;
+            remaining -= chunkLength;
+        }
+
+        val futures = chunksToWrite.stream().map(this::writeNewChunk).collect(Collectors.toList());
+        return Futures.allOf(futures)
+                .handleAsync((v, e) -> {
+                    if (null != e) {
+                        // None of these chunks are in the metadata yet.
+                        chunkedSegmentStorage.getGarbageCollector().addToGarbage(
+                                chunksToWrite.stream().map(NewChunk::getName).collect(Collectors.toList()));
+                        throw new CompletionException(Exceptions.unwrap(e));
+                    }
+                    for (val newChunk : chunksToWrite) {
+                        val oldOffset = currentOffset.get();
+                        recordNewChunk(txn, newChunk.getName(), ChunkHandle.writeHandle(newChunk.getName()));
+                        val chunkMetadata = lastChunkMetadata.get();
+                        segmentMetadata.setLength(segmentMetadata.getLength() + newChunk.getLength());
+                        chunkMetadata.setLength(newChunk.getLength());
+                        txn.update(chunkMetadata);
+                        txn.update(segmentMetadata);
+                        bytesRemaining.addAndGet(-newChunk.getLength());
+                        currentOffset.addAndGet(newChunk.getLength());
+                        chunkedSegmentStorage.addBlockIndexEntriesForChunk(txn,
+                                segmentMetadata.getName(),
+                                newChunk.getName(),
+                                segmentMetadata.getLastChunkStartOffset(),
+                                oldOffset,
+                                segmentMetadata.getLength());
+                    }
+                    log.debug("{} write - Wrote chunks in parallel - op={}, segment={}, chunks={}.",
+                            chunkedSegmentStorage.getLogPrefix(), System.identityHashCode(this), handle.getSegmentName(), chunksToWrite.size());
+                    return v;
+                }, chunkedSegmentStorage.getExecutor());
+    }
+
+    private CompletableFuture<Void> writeNewChunk(NewChunk newChunk) {
+        val chunkStorage = chunkedSegmentStorage.getChunkStorage();
+        val slice = dataBuffer.slice((int) (newChunk.getSegmentOffset() - offset), newChunk.getLength());
+        if (chunkedSegmentStorage.shouldAppend()) {
+            return chunkStorage.create(newChunk.getName())
+                    .thenComposeAsync(h -> chunkStorage.write(h, 0, slice), chunkedSegmentStorage.getExecutor())
+                    .thenAcceptAsync(bytesWritten -> Preconditions.checkState(bytesWritten == newChunk.getLength(),
+                            "bytesWritten (%s) must be same as length (%s). Segment=%s Chunk=%s",
+                            bytesWritten, newChunk.getLength(), handle.getSegmentName(), newChunk.getName()),
+                            chunkedSegmentStorage.getExecutor());
+        } else {
+            return chunkStorage.createWithContent(newChunk.getName(), newChunk.getLength(), slice.getReader())
+                    .thenAcceptAsync(h -> { }, chunkedSegmentStorage.getExecutor());
+        }
+    }
+
+    private boolean isNewChunkRequired() {
+        return null == lastChunkMetadata.get()
                 || (lastChunkMetadata.get().getLength() >= segmentMetadata.getMaxRollinglength())
                 || isFirstWriteAfterFailover
                 || skipOverFailedChunk
-                || !chunkedSegmentStorage.shouldAppend()) {
+                || !chunkedSegmentStorage.shouldAppend();
+    }
+
+    private CompletableFuture<Void> openChunkToWrite(MetadataTransaction txn) {
+        if (isNewChunkRequired()) {
             return addNewChunk(txn);
 
         } else {
@@ -278,37 +375,42 @@ class WriteOperation implements Callable<CompletableFuture<Void>> {
             createdHandle = CompletableFuture.completedFuture(ChunkHandle.writeHandle(newChunkName));
         }
         return createdHandle
-                .thenAcceptAsync(h -> {
-                    chunkHandle = h;
-                    String previousLastChunkName = lastChunkMetadata.get() == null ? null : lastChunkMetadata.get().getName();
-
-                    // update first and last chunks.
-                    lastChunkMetadata.set(updateMetadataForChunkAddition(txn,
-                            segmentMetadata,
-                            newChunkName,
-                            isFirstWriteAfterFailover,
-                            lastChunkMetadata.get()));
-
-                    // Record the creation of new chunk.
-                    if (isSystemSegment) {
-                        addSystemLogRecord(systemLogRecords,
-                                handle.getSegmentName(),
-                                segmentMetadata.getLength(),
-                                previousLastChunkName,
-                                newChunkName);
-                        txn.markPinned(lastChunkMetadata.get());
-                    }
-                    // Update read index.
-                    newReadIndexEntries.add(new ChunkNameOffsetPair(segmentMetadata.getLength(), newChunkName));
+                .thenAcceptAsync(h -> recordNewChunk(txn, newChunkName, h), chunkedSegmentStorage.getExecutor());
+    }
 
-                    isFirstWriteAfterFailover = false;
-                    skipOverFailedChunk = false;
-                    didSegmentLayoutChange = true;
-                    chunksAddedCount.incrementAndGet();
+    /**
+     * Adds the newly created chunk at the end of the segment.
+     */
+    private void recordNewChunk(MetadataTransaction txn, String newChunkName, ChunkHandle h) {
+        chunkHandle = h;
+        String previousLastChunkName = lastChunkMetadata.get() == null ? null : lastChunkMetadata.get().getName();
+
+        // update first and last chunks.
+        lastChunkMetadata.set(updateMetadataForChunkAddition(txn,
+                segmentMetadata,
+                newChunkName,
+                isFirstWriteAfterFailover,
+                lastChunkMetadata.get()));
+
+        // Record the creation of new chunk.
+        if (isSystemSegment) {
+            addSystemLogRecord(systemLogRecords,
+                    handle.getSegmentName(),
+                    segmentMetadata.getLength(),
+                    previousLastChunkName,
+                    newChunkName);
+            txn.markPinned(lastChunkMetadata.get());
+        }
+        // Update read index.
+        newReadIndexEntries.add(new ChunkNameOffsetPair(segmentMetadata.getLength(), newChunkName));
 
-                    log.debug("{} write - New chunk added - op={}, segment={}, chunk={}, offset={}.",
-                            chunkedSegmentStorage.getLogPrefix(), System.identityHashCode(this), handle.getSegmentName(), newChunkName, segmentMetadata.getLength());
-                }, chunkedSegmentStorage.getExecutor());
+        isFirstWriteAfterFailover = false;
+        skipOverFailedChunk = false;
+        didSegmentLayoutChange = true;
+        chunksAddedCount.incrementAndGet();
+
+        log.debug("{} write - New chunk added - op={}, segment={}, chunk={}, offset={}.",
+                chunkedSegmentStorage.getLogPrefix(), System.identityHashCode(this), handle.getSegmentName(), newChunkName, segmentMetadata.getLength());
     }
 
     private void checkState() {
@@ -325,7 +427,7 @@ class WriteOperation implements Callable<CompletableFuture<Void>> {
     }
 
     private void checkPreconditions() {
-        Preconditions.checkArgument(null != data, "data must not be null");
+        Preconditions.checkArgument(null != data || null != dataBuffer, "data must not be null");
         Preconditions.checkArgument(!handle.isReadOnly(), "handle must not be read only. Segment = %s", handle.getSegmentName());
         Preconditions.checkArgument(offset >= 0, "offset must be non negative. Segment = %s", handle.getSegmentName());
         Preconditions.checkArgument(length >= 0, "length must be non negative. Segment = %s", handle.getSegmentName());
@@ -394,20 +496,31 @@ class WriteOperation implements Callable<CompletableFuture<Void>> {
      */
     private CompletableFuture<Void> writeToChunk(MetadataTransaction txn,
                                                     SegmentMetadata segmentMetadata,
-                                                    InputStream data,
+                                                    long segmentOffset,
                                                     ChunkHandle chunkHandle,
                                                     ChunkMetadata chunkWrittenMetadata,
                                                     long offsetToWriteAt,
                                                     int bytesCount) {
         Preconditions.checkState(0 != bytesCount, "Attempt to write zero bytes. Segment=%s Chunk=%s offsetToWriteAt=%s", segmentMetadata, chunkWrittenMetadata, offsetToWriteAt);
         // Finally write the data.
-        val bis = new BoundedInputStream(data, bytesCount);
         CompletableFuture<Integer> retValue;
-        if (chunkedSegmentStorage.shouldAppend()) {
-            retValue = chunkedSegmentStorage.getChunkStorage().write(chunkHandle, offsetToWriteAt, bytesCount, bis);
+        if (null != dataBuffer) {
+            // Hand the chunk storage a view over the relevant part of the buffer so that it may write it without copying.
+            val slice = dataBuffer.slice((int) (segmentOffset - offset), bytesCount);
+            if (chunkedSegmentStorage.shouldAppend()) {
+                retValue = chunkedSegmentStorage.getChunkStorage().write(chunkHandle, offsetToWriteAt, slice);
+            } else {
+                retValue = chunkedSegmentStorage.getChunkStorage().createWithContent(chunkHandle.getChunkName(), bytesCount, slice.getReader())
+                        .thenApplyAsync(h -> bytesCount, chunkedSegmentStorage.getExecutor());
+            }
         } else {
-            retValue = chunkedSegmentStorage.getChunkStorage().createWithContent(chunkHandle.getChunkName(), bytesCount, bis)
-                    .thenApplyAsync(h -> bytesCount, chunkedSegmentStorage.getExecutor());
+            val bis = new BoundedInputStream(data, bytesCount);
+            if (chunkedSegmentStorage.shouldAppend()) {
+                retValue = chunkedSegmentStorage.getChunkStorage().write(chunkHandle, offsetToWriteAt, bytesCount, bis);
+            } else {
+                retValue = chunkedSegmentStorage.getChunkStorage().createWithContent(chunkHandle.getChunkName(), bytesCount, bis)
+                        .thenApplyAsync(h -> bytesCount, chunkedSegmentStorage.getExecutor());
+            }
         }
         return retValue
                 .thenAcceptAsync(bytesWritten -> {
@@ -445,4 +558,14 @@ class WriteOperation implements Callable<CompletableFuture<Void>> {
                     return v;
                 }, chunkedSegmentStorage.getExecutor());
     }
+
+    /**
+     * New chunk to be written by {@link #writeNewChunksInParallel(MetadataTransaction)}.
+     */
+    @Data
+    private static class NewChunk {
+        private final String name;
+        private final long segmentOffset;
+        private final int length;
+    }
 }
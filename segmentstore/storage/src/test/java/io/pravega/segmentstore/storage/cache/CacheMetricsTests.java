@@ -63,4 +63,26 @@ public class CacheMetricsTests {
         assertNull(MetricRegistryUtils.getCounter(MetricsNames.CACHE_READ_BYTES));
 
     }
+
+    /**
+     * Tests that the SSD tier reports separately from the memory cache, and that closing one does not affect the other.
+     */
+    @Test
+    public void testSsdMetrics() {
+        @Cleanup
+        val memory = new CacheMetrics();
+        @Cleanup
+        val ssd = CacheMetrics.ssd();
+        memory.insert(10);
+        ssd.insert(20);
+        ssd.get(30);
+        assertEquals(10, (long) MetricRegistryUtils.getCounter(MetricsNames.CACHE_WRITE_BYTES).count());
+        assertEquals(20, (long) MetricRegistryUtils.getCounter(MetricsNames.CACHE_SSD_WRITE_BYTES).count());
+        assertEquals(30, (long) MetricRegistryUtils.getCounter(MetricsNames.CACHE_SSD_READ_BYTES).count());
+        assertEquals(0, (long) MetricRegistryUtils.getCounter(MetricsNames.CACHE_READ_BYTES).count());
+
+        ssd.close();
+        assertNull(MetricRegistryUtils.getCounter(MetricsNames.CACHE_SSD_WRITE_BYTES));
+        assertEquals(10, (long) MetricRegistryUtils.getCounter(MetricsNames.CACHE_WRITE_BYTES).count());
+    }
 }
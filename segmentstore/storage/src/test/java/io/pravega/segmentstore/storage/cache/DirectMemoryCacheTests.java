@@ -24,11 +24,13 @@ import io.pravega.test.common.IntentionalException;
 import java.util.AbstractMap;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.Cleanup;
 import lombok.val;
 import org.junit.Assert;
@@ -347,6 +349,109 @@ public class DirectMemoryCacheTests {
         checkData(c, address, firstWrite, 0, firstWrite.length);
     }
 
+    /**
+     * Tests the {@link DirectMemoryCache#getPinned} method and that pinned entries are not reclaimed until released.
+     */
+    @Test
+    public void testGetPinned() {
+        final int entrySize = LAYOUT.blockSize() * 3 + 123;
+        @Cleanup
+        val c = new TestCache();
+        val data = new byte[entrySize];
+        rnd.nextBytes(data);
+        val address = c.insert(new ByteArraySegment(data));
+        Assert.assertNull("Not expecting a pinned entry for an invalid address.", c.getPinned(CacheStorage.NO_ADDRESS));
+
+        // Pin the entry twice (the second time via a slice), then delete it.
+        val pinned1 = c.getPinned(address);
+        val pinned2 = c.getPinned(address).slice(10, 100);
+        Assert.assertEquals(1, c.getPinnedEntryCount());
+        c.delete(address);
+        checkSnapshot(c, (long) entrySize, null, null, null, null);
+        Assert.assertNull("Not expecting to be able to pin a deleted entry.", c.getPinned(address));
+
+        // Insert more data. It must not overwrite the pinned blocks.
+        val otherAddress = c.insert(new ByteArraySegment(new byte[entrySize]));
+        Assert.assertArrayEquals("Unexpected pinned contents.", data, pinned1.getCopy());
+        Assert.assertArrayEquals("Unexpected pinned slice contents.", new ByteArraySegment(data, 10, 100).getCopy(), pinned2.getCopy());
+
+        // Release them. Once the last reference is gone, the entry should be deleted.
+        pinned1.retain();
+        pinned1.release();
+        pinned1.release();
+        pinned1.release(); // Must be idempotent.
+        checkSnapshot(c, (long) entrySize * 2, null, null, null, null);
+        pinned2.release();
+        Assert.assertEquals(0, c.getPinnedEntryCount());
+        checkSnapshot(c, (long) entrySize, null, null, null, null);
+
+        // Pin an entry and release it without deleting; it should still be accessible.
+        c.getPinned(otherAddress).release();
+        Assert.assertEquals(0, c.getPinnedEntryCount());
+        checkData(c, otherAddress, new byte[entrySize], 0, entrySize);
+    }
+
+    /**
+     * Tests the sharded buffer allocator: a single thread must be able to fill up the whole cache (by stealing buffers
+     * from other shards) and multiple threads must be able to concurrently insert and delete entries.
+     */
+    @Test
+    public void testShardedAllocator() throws Exception {
+        final int shardCount = 4;
+        final int threadCount = 8;
+        final int entriesPerThread = 1000;
+        final int writeSize = LAYOUT.blockSize();
+        @Cleanup
+        val c = new TestCache(REQUESTED_MAX_SIZE, shardCount);
+        Assert.assertEquals(shardCount, c.getShardCount());
+
+        // Fill up the cache from a single thread. It should not matter which shard this thread prefers.
+        val addresses = new ArrayList<Integer>();
+        final int writeCount = BUFFER_COUNT * (LAYOUT.blocksPerBuffer() - 1);
+        for (int i = 0; i < writeCount; i++) {
+            addresses.add(c.insert(new ByteArraySegment(new byte[writeSize])));
+        }
+
+        AssertExtensions.assertThrows("Expecting cache to be full.",
+                () -> c.insert(new ByteArraySegment(new byte[1])),
+                ex -> ex instanceof CacheFullException);
+        checkSnapshot(c, (long) writeCount * writeSize, ACTUAL_MAX_SIZE, null, ACTUAL_MAX_SIZE, ACTUAL_MAX_SIZE);
+        addresses.forEach(c::delete);
+        checkSnapshot(c, 0L, null, null, null, null);
+
+        // Insert and delete concurrently. Each thread verifies its own data before deleting it.
+        val failure = new AtomicReference<Throwable>();
+        val threads = new ArrayList<Thread>();
+        for (int t = 0; t < threadCount; t++) {
+            final byte fill = (byte) t;
+            val thread = new Thread(() -> {
+                try {
+                    val data = new byte[writeSize * 2 + fill];
+                    Arrays.fill(data, fill);
+                    for (int i = 0; i < entriesPerThread; i++) {
+                        int address = c.insert(new ByteArraySegment(data));
+                        Assert.assertArrayEquals("Unexpected data read.", data, c.get(address).getCopy());
+                        c.delete(address);
+                    }
+                } catch (Throwable ex) {
+                    failure.compareAndSet(null, ex);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (val thread : threads) {
+            thread.join();
+        }
+
+        if (failure.get() != null) {
+            throw new AssertionError("Concurrent operation failed.", failure.get());
+        }
+
+        checkSnapshot(c, 0L, null, null, null, null);
+    }
+
     private void checkData(TestCache c, HashMap<Integer, Map.Entry<Integer, Integer>> entryData, byte[] data) {
         for (val e : entryData.entrySet()) {
             int address = e.getKey();
@@ -392,6 +497,10 @@ public class DirectMemoryCacheTests {
             super(LAYOUT, requestedMaxSize);
         }
 
+        TestCache(long requestedMaxSize, int shardCount) {
+            super(LAYOUT, requestedMaxSize, null, shardCount);
+        }
+
         @Override
         public void close() {
             super.close();
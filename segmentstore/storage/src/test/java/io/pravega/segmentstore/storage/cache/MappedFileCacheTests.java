@@ -0,0 +1,104 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.cache;
+
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.test.common.AssertExtensions;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+import lombok.Cleanup;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link MappedFileCache} class.
+ */
+public class MappedFileCacheTests {
+    private static final long MAX_SIZE = 4 * 1024 * 1024;
+    private final Random rnd = new Random(0);
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        this.directory = Files.createTempDirectory("mappedfilecache").toFile().getAbsoluteFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(this.directory);
+    }
+
+    /**
+     * Tests basic operations and that the cache file is cleaned up when the cache is closed.
+     */
+    @Test
+    public void testOperations() throws Exception {
+        val c = new MappedFileCache(this.directory.toPath(), MAX_SIZE);
+        Assert.assertEquals("Expected a cache file to be created.", 1, this.directory.list().length);
+
+        byte[] data = new byte[12345];
+        this.rnd.nextBytes(data);
+        int address = c.insert(new ByteArraySegment(data));
+        Assert.assertArrayEquals(data, c.get(address).getCopy());
+
+        byte[] appendData = new byte[c.getAppendableLength(data.length)];
+        this.rnd.nextBytes(appendData);
+        Assert.assertEquals(appendData.length, c.append(address, data.length, new ByteArraySegment(appendData)));
+        byte[] expected = new byte[data.length + appendData.length];
+        System.arraycopy(data, 0, expected, 0, data.length);
+        System.arraycopy(appendData, 0, expected, data.length, appendData.length);
+        Assert.assertArrayEquals(expected, c.get(address).getCopy());
+
+        c.delete(address);
+        Assert.assertNull(c.get(address));
+        Assert.assertEquals(0, c.getState().getStoredBytes());
+
+        c.close();
+        Assert.assertEquals("Expected the cache file to be deleted.", 0, this.directory.list().length);
+    }
+
+    /**
+     * Tests the ability to fill up all the cache file's Buffers.
+     */
+    @Test
+    public void testCacheFull() {
+        @Cleanup
+        val c = new MappedFileCache(this.directory.toPath(), MAX_SIZE);
+        val entry = new ByteArraySegment(new byte[c.getBlockAlignment()]);
+        int count = 0;
+        try {
+            while (true) {
+                c.insert(entry);
+                count++;
+            }
+        } catch (CacheFullException ex) {
+            // This is expected.
+        }
+
+        val state = c.getState();
+        Assert.assertEquals(MAX_SIZE, state.getAllocatedBytes());
+        Assert.assertEquals((long) count * entry.getLength(), state.getStoredBytes());
+        AssertExtensions.assertThrows(
+                "insert() worked when cache was full.",
+                () -> c.insert(entry),
+                ex -> ex instanceof CacheFullException);
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.cache;
+
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.test.common.AssertExtensions;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Cleanup;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for the {@link TieredCacheStorage} class.
+ */
+public class TieredCacheStorageTests {
+    private static final CacheLayout LAYOUT = new CacheLayout.DefaultLayout();
+    private static final long PRIMARY_MAX_SIZE = LAYOUT.bufferSize();
+    private static final long SECONDARY_MAX_SIZE = 2 * LAYOUT.bufferSize();
+    private static final int ENTRY_LENGTH = 3 * LAYOUT.blockSize() + 123;
+    private final Random rnd = new Random(0);
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        this.directory = Files.createTempDirectory("tieredcache").toFile().getAbsoluteFile();
+    }
+
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(this.directory);
+    }
+
+    /**
+     * Tests {@link TieredCacheStorage#demote} and {@link TieredCacheStorage#promote}, as well as the reporting of
+     * per-tier states.
+     */
+    @Test
+    public void testDemotePromote() {
+        @Cleanup
+        val c = createCache();
+        val data = new HashMap<Integer, byte[]>();
+        for (int i = 0; i < 10; i++) {
+            byte[] d = randomData(ENTRY_LENGTH);
+            int address = c.insert(new ByteArraySegment(d));
+            Assert.assertFalse(isSecondary(address));
+            data.put(address, d);
+        }
+
+        checkTiers(c, 10 * ENTRY_LENGTH, 0);
+
+        // Demote all entries.
+        val demoted = new HashMap<Integer, byte[]>();
+        for (val e : data.entrySet()) {
+            int newAddress = c.demote(e.getKey());
+            Assert.assertTrue("Expected a secondary tier address.", isSecondary(newAddress));
+            Assert.assertNull("Old address still accessible after demotion.", c.get(e.getKey()));
+            Assert.assertEquals("Demoting an already demoted entry.", CacheStorage.NO_ADDRESS, c.demote(newAddress));
+            demoted.put(newAddress, e.getValue());
+        }
+
+        checkTiers(c, 0, 10 * ENTRY_LENGTH);
+        Assert.assertEquals("Expected the primary tier state to be reported.", 0, c.getState().getStoredBytes());
+        checkData(c, demoted);
+
+        // Promote all entries back.
+        val promoted = new HashMap<Integer, byte[]>();
+        for (val e : demoted.entrySet()) {
+            int newAddress = c.promote(e.getKey());
+            Assert.assertFalse("Expected a primary tier address.", isSecondary(newAddress));
+            Assert.assertNull("Old address still accessible after promotion.", c.get(e.getKey()));
+            Assert.assertEquals("Promoting an entry in the primary tier.", newAddress, c.promote(newAddress));
+            promoted.put(newAddress, e.getValue());
+        }
+
+        checkTiers(c, 10 * ENTRY_LENGTH, 0);
+        checkData(c, promoted);
+
+        // Non-existent entries.
+        Assert.assertEquals(CacheStorage.NO_ADDRESS, c.demote(CacheStorage.NO_ADDRESS));
+    }
+
+    /**
+     * Tests that {@link TieredCacheStorage#replace}, {@link TieredCacheStorage#append} and {@link TieredCacheStorage#delete}
+     * are routed to the correct tier.
+     */
+    @Test
+    public void testRouting() {
+        @Cleanup
+        val c = createCache();
+        byte[] d1 = randomData(ENTRY_LENGTH);
+        int a1 = c.demote(c.insert(new ByteArraySegment(d1)));
+
+        // Append to a demoted entry.
+        byte[] appendData = randomData(c.getAppendableLength(ENTRY_LENGTH));
+        Assert.assertEquals(appendData.length, c.append(a1, ENTRY_LENGTH, new ByteArraySegment(appendData)));
+        byte[] expected = new byte[d1.length + appendData.length];
+        System.arraycopy(d1, 0, expected, 0, d1.length);
+        System.arraycopy(appendData, 0, expected, d1.length, appendData.length);
+        Assert.assertArrayEquals(expected, c.get(a1).getCopy());
+        checkTiers(c, 0, expected.length);
+
+        // Replace a demoted entry. The new one should be in the primary tier.
+        byte[] d2 = randomData(ENTRY_LENGTH);
+        int a2 = c.replace(a1, new ByteArraySegment(d2));
+        Assert.assertFalse(isSecondary(a2));
+        Assert.assertNull(c.get(a1));
+        Assert.assertArrayEquals(d2, c.get(a2).getCopy());
+        checkTiers(c, ENTRY_LENGTH, 0);
+
+        // Delete a demoted entry.
+        int a3 = c.demote(a2);
+        c.delete(a3);
+        Assert.assertNull(c.get(a3));
+        checkTiers(c, 0, 0);
+    }
+
+    /**
+     * Tests {@link TieredCacheStorage#demote} when the secondary tier is full and {@link TieredCacheStorage#promote} when
+     * the primary tier is full.
+     */
+    @Test
+    public void testTierFull() {
+        @Cleanup
+        val c = createCache();
+        val cleanupCount = new AtomicInteger();
+        c.setCacheFullCallback(() -> {
+            cleanupCount.incrementAndGet();
+            return false;
+        }, 0);
+
+        // Fill up the secondary tier.
+        val entry = new ByteArraySegment(randomData(LAYOUT.blockSize()));
+        int lastDemoted = CacheStorage.NO_ADDRESS;
+        while (true) {
+            int address = c.insert(entry);
+            int demoted = c.demote(address);
+            if (demoted == CacheStorage.NO_ADDRESS) {
+                // Secondary is full. The entry should still be accessible at its original address.
+                Assert.assertArrayEquals(entry.getCopy(), c.get(address).getCopy());
+                break;
+            }
+            lastDemoted = demoted;
+        }
+
+        Assert.assertNotEquals(CacheStorage.NO_ADDRESS, lastDemoted);
+        Assert.assertEquals(0, cleanupCount.get());
+
+        // Fill up the primary tier.
+        AssertExtensions.assertThrows(
+                "Expected primary tier to fill up.",
+                () -> {
+                    while (true) {
+                        c.insert(entry);
+                    }
+                },
+                ex -> ex instanceof CacheFullException);
+        AssertExtensions.assertGreaterThan("Expected the cache full callback to be invoked.", 0, cleanupCount.get());
+
+        // Promotions should fail fast, without invoking the callback, and leave the entry in place.
+        cleanupCount.set(0);
+        Assert.assertEquals(lastDemoted, c.promote(lastDemoted));
+        Assert.assertEquals(0, cleanupCount.get());
+        Assert.assertArrayEquals(entry.getCopy(), c.get(lastDemoted).getCopy());
+    }
+
+    private TieredCacheStorage createCache() {
+        return new TieredCacheStorage(new DirectMemoryCache(PRIMARY_MAX_SIZE),
+                new MappedFileCache(this.directory.toPath(), SECONDARY_MAX_SIZE));
+    }
+
+    private void checkTiers(CacheStorage c, long primaryStoredBytes, long secondaryStoredBytes) {
+        val tiers = c.getState().getTiers();
+        Assert.assertEquals(2, tiers.size());
+        Assert.assertEquals("Unexpected primary tier stored bytes.", primaryStoredBytes, tiers.get(0).getStoredBytes());
+        Assert.assertEquals("Unexpected secondary tier stored bytes.", secondaryStoredBytes, tiers.get(1).getStoredBytes());
+        Assert.assertEquals(PRIMARY_MAX_SIZE, tiers.get(0).getMaxBytes());
+        Assert.assertEquals(SECONDARY_MAX_SIZE, tiers.get(1).getMaxBytes());
+    }
+
+    private void checkData(CacheStorage c, HashMap<Integer, byte[]> data) {
+        for (val e : data.entrySet()) {
+            Assert.assertArrayEquals(e.getValue(), c.get(e.getKey()).getCopy());
+        }
+    }
+
+    private boolean isSecondary(int address) {
+        return (address & TieredCacheStorage.SECONDARY_TIER_FLAG) != 0;
+    }
+
+    private byte[] randomData(int length) {
+        byte[] result = new byte[length];
+        this.rnd.nextBytes(result);
+        return result;
+    }
+}
@@ -18,6 +18,8 @@ package io.pravega.segmentstore.storage.chunklayer;
 
 import io.pravega.common.Exceptions;
 import io.pravega.common.io.BoundedInputStream;
+import io.pravega.common.util.BufferView;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.storage.mocks.InMemoryChunkStorage;
 import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.ThreadPooledTestSuite;
@@ -29,6 +31,10 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Random;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
@@ -296,6 +302,71 @@ public class ChunkStorageTests extends ThreadPooledTestSuite {
         chunkStorage.delete(chunkHandle).join();
     }
 
+    /**
+     * Test reads into {@link ByteBuffer}s and writes from {@link BufferView}s.
+     */
+    @Test
+    public void testByteBufferReadWrite() throws Exception {
+        if (!chunkStorage.supportsAppend()) {
+            return;
+        }
+        String chunkName = "testchunk";
+
+        // Create.
+        ChunkHandle chunkHandle = chunkStorage.create(chunkName).get();
+
+        // Write a single buffer, followed by a multi-buffer view.
+        byte[] writeBuffer = new byte[30];
+        populate(writeBuffer);
+        int bytesWritten = chunkStorage.write(chunkHandle, 0, new ByteArraySegment(writeBuffer, 0, 10)).get();
+        assertEquals(10, bytesWritten);
+        val composite = BufferView.wrap(Arrays.asList(
+                new ByteArraySegment(writeBuffer, 10, 5),
+                new ByteArraySegment(writeBuffer, 15, 15)));
+        bytesWritten = chunkStorage.write(chunkHandle, 10, composite).get();
+        assertEquals(20, bytesWritten);
+        assertEquals(writeBuffer.length, chunkStorage.getInfo(chunkName).get().getLength());
+
+        // Writing at the wrong offset must fail.
+        AssertExtensions.assertThrows(
+                "write() allowed writing at the wrong offset.",
+                () -> chunkStorage.write(chunkHandle, 10, new ByteArraySegment(writeBuffer, 0, 1)).get(),
+                ex -> ex instanceof InvalidOffsetException);
+
+        // Read back into a heap buffer with a non-zero offset. Reads may be partial.
+        byte[] readBuffer = new byte[writeBuffer.length + 5];
+        val heapBuffer = ByteBuffer.wrap(readBuffer, 5, writeBuffer.length);
+        int totalBytesRead = 0;
+        while (heapBuffer.hasRemaining()) {
+            totalBytesRead += chunkStorage.read(chunkHandle, totalBytesRead, heapBuffer).get();
+            assertEquals(5 + totalBytesRead, heapBuffer.position());
+        }
+        assertEquals(writeBuffer.length, totalBytesRead);
+        assertArrayEquals(writeBuffer, Arrays.copyOfRange(readBuffer, 5, readBuffer.length));
+
+        // Read back into a direct buffer, in multiple reads.
+        val directBuffer = ByteBuffer.allocateDirect(writeBuffer.length);
+        totalBytesRead = 0;
+        for (int i = 1; totalBytesRead < writeBuffer.length; i++) {
+            directBuffer.limit(Math.min(writeBuffer.length, totalBytesRead + i));
+            totalBytesRead += chunkStorage.read(chunkHandle, totalBytesRead, directBuffer).get();
+            assertEquals(totalBytesRead, directBuffer.position());
+        }
+        directBuffer.flip();
+        byte[] directContents = new byte[writeBuffer.length];
+        directBuffer.get(directContents);
+        assertArrayEquals(writeBuffer, directContents);
+
+        // Reads past the end of the chunk must fail.
+        AssertExtensions.assertThrows(
+                "read() allowed reading past the end of the chunk.",
+                () -> chunkStorage.read(chunkHandle, writeBuffer.length + 1, ByteBuffer.allocate(1)).get(),
+                ex -> ex instanceof IllegalArgumentException);
+
+        // Delete.
+        chunkStorage.delete(chunkHandle).join();
+    }
+
     /**
      * Test simple reads and writes for exceptions.
      */
@@ -675,6 +746,42 @@ public class ChunkStorageTests extends ThreadPooledTestSuite {
 
     }
 
+    /**
+     * Test deleting multiple chunks at once.
+     */
+    @Test
+    public void testBatchDelete() throws Exception {
+        val handles = new ArrayList<ChunkHandle>();
+        for (int i = 0; i < 3; i++) {
+            handles.add(chunkStorage.create("batch" + i).get());
+        }
+        // Chunks that do not exist are ignored.
+        handles.add(ChunkHandle.writeHandle("nonExistent"));
+
+        // Empty batch is no-op.
+        chunkStorage.batchDelete(Collections.emptyList()).get();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(chunkStorage.exists("batch" + i).get());
+        }
+
+        chunkStorage.batchDelete(handles).get();
+        for (int i = 0; i < 3; i++) {
+            assertFalse(chunkStorage.exists("batch" + i).get());
+        }
+
+        // Deleting again is also fine.
+        chunkStorage.batchDelete(handles).get();
+
+        AssertExtensions.assertThrows(
+                " batchDelete should throw IllegalArgumentException.",
+                () -> chunkStorage.batchDelete(null).get(),
+                ex -> ex instanceof IllegalArgumentException);
+        AssertExtensions.assertThrows(
+                " batchDelete should throw IllegalArgumentException.",
+                () -> chunkStorage.batchDelete(Collections.singletonList(ChunkHandle.readHandle("batch0"))).get(),
+                ex -> ex instanceof IllegalArgumentException);
+    }
+
     /**
      * Test one simple concat operation.
      */
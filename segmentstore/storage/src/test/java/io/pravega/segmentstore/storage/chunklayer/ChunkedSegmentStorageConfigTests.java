@@ -47,6 +47,10 @@ public class ChunkedSegmentStorageConfigTests {
         props.setProperty(ChunkedSegmentStorageConfig.READ_INDEX_BLOCK_SIZE.getFullName(ChunkedSegmentStorageConfig.COMPONENT_CODE), "14");
         props.setProperty(ChunkedSegmentStorageConfig.MAX_METADATA_ENTRIES_IN_BUFFER.getFullName(ChunkedSegmentStorageConfig.COMPONENT_CODE), "15");
         props.setProperty(ChunkedSegmentStorageConfig.MAX_METADATA_ENTRIES_IN_CACHE.getFullName(ChunkedSegmentStorageConfig.COMPONENT_CODE), "16");
+        props.setProperty(ChunkedSegmentStorageConfig.GARBAGE_COLLECTION_MAX_BATCH_SIZE.getFullName(ChunkedSegmentStorageConfig.COMPONENT_CODE), "17");
+        props.setProperty(ChunkedSegmentStorageConfig.GARBAGE_COLLECTION_SCAN_INTERVAL.getFullName(ChunkedSegmentStorageConfig.COMPONENT_CODE), "18");
+        props.setProperty(ChunkedSegmentStorageConfig.GARBAGE_COLLECTION_MAX_SCAN_ITEMS.getFullName(ChunkedSegmentStorageConfig.COMPONENT_CODE), "19");
+        props.setProperty(ChunkedSegmentStorageConfig.MAX_CONCURRENT_CHUNK_WRITES.getFullName(ChunkedSegmentStorageConfig.COMPONENT_CODE), "20");
 
         TypedProperties typedProperties = new TypedProperties(props, "storage");
         ChunkedSegmentStorageConfig config = new ChunkedSegmentStorageConfig(typedProperties);
@@ -69,6 +73,10 @@ public class ChunkedSegmentStorageConfigTests {
         Assert.assertEquals(config.getIndexBlockSize(), 14);
         Assert.assertEquals(config.getMaxEntriesInTxnBuffer(), 15);
         Assert.assertEquals(config.getMaxEntriesInCache(), 16);
+        Assert.assertEquals(config.getGarbageCollectionMaxBatchSize(), 17);
+        Assert.assertEquals(config.getGarbageCollectionScanInterval().toSeconds(), 18);
+        Assert.assertEquals(config.getGarbageCollectionMaxScanItems(), 19);
+        Assert.assertEquals(config.getMaxConcurrentChunkWrites(), 20);
     }
 
     @Test
@@ -97,6 +105,10 @@ public class ChunkedSegmentStorageConfigTests {
         Assert.assertEquals(config.getGarbageCollectionMaxQueueSize(), ChunkedSegmentStorageConfig.DEFAULT_CONFIG.getGarbageCollectionMaxQueueSize());
         Assert.assertEquals(config.getGarbageCollectionSleep(), ChunkedSegmentStorageConfig.DEFAULT_CONFIG.getGarbageCollectionSleep());
         Assert.assertEquals(config.getGarbageCollectionMaxAttempts(), ChunkedSegmentStorageConfig.DEFAULT_CONFIG.getGarbageCollectionMaxAttempts());
+        Assert.assertEquals(config.getGarbageCollectionMaxBatchSize(), ChunkedSegmentStorageConfig.DEFAULT_CONFIG.getGarbageCollectionMaxBatchSize());
+        Assert.assertEquals(config.getGarbageCollectionScanInterval(), ChunkedSegmentStorageConfig.DEFAULT_CONFIG.getGarbageCollectionScanInterval());
+        Assert.assertEquals(config.getGarbageCollectionMaxScanItems(), ChunkedSegmentStorageConfig.DEFAULT_CONFIG.getGarbageCollectionMaxScanItems());
+        Assert.assertEquals(config.getMaxConcurrentChunkWrites(), ChunkedSegmentStorageConfig.DEFAULT_CONFIG.getMaxConcurrentChunkWrites());
         Assert.assertEquals(config.getIndexBlockSize(), ChunkedSegmentStorageConfig.DEFAULT_CONFIG.getIndexBlockSize());
         Assert.assertEquals(config.getMaxEntriesInTxnBuffer(), ChunkedSegmentStorageConfig.DEFAULT_CONFIG.getMaxEntriesInTxnBuffer());
         Assert.assertEquals(config.getMaxEntriesInCache(), ChunkedSegmentStorageConfig.DEFAULT_CONFIG.getMaxEntriesInCache());
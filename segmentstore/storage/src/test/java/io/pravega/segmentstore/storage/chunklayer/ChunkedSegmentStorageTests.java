@@ -19,6 +19,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.primitives.Longs;
 import io.pravega.common.Exceptions;
 import io.pravega.common.concurrent.Futures;
+import io.pravega.common.util.BufferView;
+import io.pravega.common.util.ByteArraySegment;
 import io.pravega.segmentstore.contracts.BadOffsetException;
 import io.pravega.segmentstore.contracts.SegmentProperties;
 import io.pravega.segmentstore.contracts.StreamSegmentExistsException;
@@ -1000,6 +1002,76 @@ public class ChunkedSegmentStorageTests extends ThreadPooledTestSuite {
         checkDataRead(testSegmentName, testContext, 0, total);
     }
 
+    /**
+     * Test Write using {@link BufferView}s that span multiple chunks.
+     *
+     * @throws Exception Exception if any.
+     */
+    @Test
+    public void testWriteBufferView() throws Exception {
+        String testSegmentName = "foo";
+        @Cleanup
+        TestContext testContext = getTestContext();
+        SegmentRollingPolicy policy = new SegmentRollingPolicy(3); // Force rollover after every 3 byte.
+
+        // Create
+        val hWrite = testContext.chunkedSegmentStorage.create(testSegmentName, policy, null).get();
+
+        // Write some data, alternating between single and multi-buffer views.
+        val bytes = populate(28);
+        int writeAt = 0;
+        for (int i = 1; writeAt + i <= bytes.length; i++) {
+            BufferView data = new ByteArraySegment(bytes, writeAt, i);
+            if (i % 2 == 0) {
+                data = BufferView.wrap(Arrays.asList(new ByteArraySegment(bytes, writeAt, 1), new ByteArraySegment(bytes, writeAt + 1, i - 1)));
+            }
+            testContext.chunkedSegmentStorage.write(hWrite, writeAt, data, null).join();
+            writeAt += i;
+        }
+
+        checkDataRead(testSegmentName, testContext, 0, writeAt, bytes);
+        TestUtils.checkSegmentBounds(testContext.metadataStore, testSegmentName, 0, writeAt);
+        TestUtils.checkChunksExistInStorage(testContext.chunkStorage, testContext.metadataStore, testSegmentName);
+    }
+
+
+    /**
+     * Test Write using a {@link BufferView} that spans more chunks than can be written concurrently.
+     *
+     * @throws Exception Exception if any.
+     */
+    @Test
+    public void testWriteBufferViewSpanningManyChunks() throws Exception {
+        testWriteBufferViewSpanningManyChunks(true);
+    }
+
+    @Test
+    public void testWriteBufferViewSpanningManyChunksNoAppend() throws Exception {
+        testWriteBufferViewSpanningManyChunks(false);
+    }
+
+    private void testWriteBufferViewSpanningManyChunks(boolean appendEnabled) throws Exception {
+        String testSegmentName = "foo";
+        @Cleanup
+        TestContext testContext = getTestContext(ChunkedSegmentStorageConfig.DEFAULT_CONFIG.toBuilder()
+                .appendEnabled(appendEnabled)
+                .maxConcurrentChunkWrites(4)
+                .build());
+        SegmentRollingPolicy policy = new SegmentRollingPolicy(3); // Force rollover after every 3 byte.
+
+        // Create
+        val hWrite = testContext.chunkedSegmentStorage.create(testSegmentName, policy, null).get();
+
+        // Partially fill first chunk and then write data for several chunks at once.
+        val bytes = populate(27);
+        testContext.chunkedSegmentStorage.write(hWrite, 0, new ByteArraySegment(bytes, 0, 2), null).join();
+        testContext.chunkedSegmentStorage.write(hWrite, 2, new ByteArraySegment(bytes, 2, 25), null).join();
+
+        checkDataRead(testSegmentName, testContext, 0, bytes.length, bytes);
+        TestUtils.checkSegmentBounds(testContext.metadataStore, testSegmentName, 0, bytes.length);
+        TestUtils.checkReadIndexEntries(testContext.chunkedSegmentStorage, testContext.metadataStore, testSegmentName, 0, bytes.length, true);
+        TestUtils.checkChunksExistInStorage(testContext.chunkStorage, testContext.metadataStore, testSegmentName);
+    }
 
     /**
      * Test Write after repeated failure.
@@ -21,6 +21,7 @@ import io.pravega.segmentstore.storage.metadata.ChunkMetadata;
 import io.pravega.segmentstore.storage.metadata.ChunkMetadataStore;
 import io.pravega.segmentstore.storage.mocks.InMemoryChunkStorage;
 import io.pravega.segmentstore.storage.mocks.InMemoryMetadataStore;
+import io.pravega.segmentstore.storage.mocks.InMemoryTableStore;
 import io.pravega.test.common.AssertExtensions;
 import io.pravega.test.common.ThreadPooledTestSuite;
 import lombok.Cleanup;
@@ -38,7 +39,10 @@ import java.io.ByteArrayInputStream;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -988,6 +992,212 @@ public class GarbageCollectorTests extends ThreadPooledTestSuite {
         }
     }
 
+    /**
+     * Test that chunks added to garbage are persisted and removed from the persisted queue once deleted.
+     */
+    @Test
+    public void testPersistedQueue() throws Exception {
+        @Cleanup
+        ChunkStorage chunkStorage = getChunkStorage();
+        @Cleanup
+        ChunkMetadataStore metadataStore = getMetadataStore();
+        val tableStore = new InMemoryTableStore(executorService());
+        val garbageQueueStore = new TableBasedGarbageQueueStore("GC", tableStore, executorService());
+        int containerId = CONTAINER_ID;
+
+        int dataSize = 1;
+        insertChunk(chunkStorage, "deletedChunk", dataSize);
+        insertChunkMetadata(metadataStore, "deletedChunk", dataSize, 0);
+
+        val manualDelay = new ManualDelay(2);
+
+        @Cleanup
+        GarbageCollector garbageCollector = new GarbageCollector(containerId,
+                chunkStorage,
+                metadataStore,
+                ChunkedSegmentStorageConfig.DEFAULT_CONFIG.toBuilder()
+                        .garbageCollectionDelay(Duration.ofMillis(1))
+                        .garbageCollectionSleep(Duration.ofMillis(1))
+                        .build(),
+                executorService(),
+                System::currentTimeMillis,
+                manualDelay);
+
+        // Now actually start run
+        garbageCollector.initialize(garbageQueueStore);
+
+        // Add some garbage
+        garbageCollector.addToGarbage(Collections.singleton("deletedChunk"));
+        Assert.assertEquals(1, garbageCollector.getQueueSize().get());
+        AssertExtensions.assertEventuallyEquals(Collections.singleton("deletedChunk"), () -> getPersistedChunks(garbageQueueStore), 10000);
+
+        // Return first delay - this will "unpause" the first iteration.
+        manualDelay.completeDelay(0);
+
+        // Wait for "Delay" to be invoked again. This indicates that first iteration was complete.
+        manualDelay.waitForInvocation(1);
+
+        // Validate state after
+        Assert.assertEquals(0, garbageCollector.getQueueSize().get());
+        Assert.assertFalse(chunkStorage.exists("deletedChunk").get());
+        Assert.assertNull(getChunkMetadata(metadataStore, "deletedChunk"));
+        Assert.assertEquals(Collections.emptySet(), getPersistedChunks(garbageQueueStore));
+    }
+
+    /**
+     * Test that chunks in the persisted queue are loaded and deleted, at most given number of chunks per scan.
+     */
+    @Test
+    public void testLoadPersistedQueue() throws Exception {
+        @Cleanup
+        ChunkStorage chunkStorage = getChunkStorage();
+        @Cleanup
+        ChunkMetadataStore metadataStore = getMetadataStore();
+        val tableStore = new InMemoryTableStore(executorService());
+        val garbageQueueStore = new TableBasedGarbageQueueStore("GC", tableStore, executorService());
+        int containerId = CONTAINER_ID;
+
+        val baseTime = System.currentTimeMillis();
+        val currentIteration = new AtomicInteger();
+        final Supplier<Long> timeSupplier = () -> baseTime + 10000 * currentIteration.get();
+
+        // Simulate chunks left over from previous instance.
+        int dataSize = 1;
+        val entries = new ArrayList<GarbageQueueStore.Entry>();
+        for (int i = 0; i < 5; i++) {
+            val chunkName = "chunk" + i;
+            insertChunk(chunkStorage, chunkName, dataSize);
+            insertChunkMetadata(metadataStore, chunkName, dataSize, 0);
+            entries.add(new GarbageQueueStore.Entry(chunkName, baseTime));
+        }
+        garbageQueueStore.add(entries).get();
+
+        val manualDelay = new ManualDelay(3);
+
+        @Cleanup
+        GarbageCollector garbageCollector = new GarbageCollector(containerId,
+                chunkStorage,
+                metadataStore,
+                ChunkedSegmentStorageConfig.DEFAULT_CONFIG.toBuilder()
+                        .garbageCollectionDelay(Duration.ofMillis(1))
+                        .garbageCollectionSleep(Duration.ofMillis(1))
+                        .garbageCollectionScanInterval(Duration.ZERO)
+                        .garbageCollectionMaxScanItems(3)
+                        .build(),
+                executorService(),
+                timeSupplier,
+                manualDelay);
+
+        // Now actually start run
+        garbageCollector.initialize(garbageQueueStore);
+        Assert.assertEquals(0, garbageCollector.getQueueSize().get());
+
+        // First iteration loads and deletes 3 chunks.
+        currentIteration.incrementAndGet();
+        manualDelay.completeDelay(0);
+        manualDelay.waitForInvocation(1);
+        Assert.assertEquals(0, garbageCollector.getQueueSize().get());
+        val remaining = getPersistedChunks(garbageQueueStore);
+        Assert.assertEquals(2, remaining.size());
+        for (val entry : entries) {
+            Assert.assertEquals(remaining.contains(entry.getChunkName()), chunkStorage.exists(entry.getChunkName()).get());
+        }
+
+        // Second iteration loads and deletes the rest.
+        currentIteration.incrementAndGet();
+        manualDelay.completeDelay(1);
+        manualDelay.waitForInvocation(2);
+        Assert.assertEquals(0, garbageCollector.getQueueSize().get());
+        Assert.assertEquals(Collections.emptySet(), getPersistedChunks(garbageQueueStore));
+        for (val entry : entries) {
+            Assert.assertFalse(chunkStorage.exists(entry.getChunkName()).get());
+            Assert.assertNull(getChunkMetadata(metadataStore, entry.getChunkName()));
+        }
+    }
+
+    /**
+     * Test that chunks are deleted in batches when {@link ChunkStorage} supports batch deletes.
+     */
+    @Test
+    public void testBatchDelete() throws Exception {
+        val batchCount = new AtomicInteger();
+        @Cleanup
+        ChunkStorage chunkStorage = new InMemoryChunkStorage(executorService()) {
+            @Override
+            public boolean supportsBatchDelete() {
+                return true;
+            }
+
+            @Override
+            protected void doBatchDelete(Collection<ChunkHandle> handles) throws ChunkStorageException {
+                batchCount.incrementAndGet();
+                for (val handle : handles) {
+                    try {
+                        doDelete(handle);
+                    } catch (ChunkNotFoundException e) {
+                        // Ignore.
+                    }
+                }
+            }
+        };
+        @Cleanup
+        ChunkMetadataStore metadataStore = getMetadataStore();
+        int containerId = CONTAINER_ID;
+
+        int dataSize = 1;
+        ArrayList<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            val chunkName = "chunk" + i;
+            insertChunk(chunkStorage, chunkName, dataSize);
+            insertChunkMetadata(metadataStore, chunkName, dataSize, 0);
+            expected.add(chunkName);
+        }
+        // Missing from storage.
+        expected.add("nonExistingChunk");
+
+        val manualDelay = new ManualDelay(4);
+
+        @Cleanup
+        GarbageCollector garbageCollector = new GarbageCollector(containerId,
+                chunkStorage,
+                metadataStore,
+                ChunkedSegmentStorageConfig.DEFAULT_CONFIG.toBuilder()
+                        .garbageCollectionDelay(Duration.ofMillis(1))
+                        .garbageCollectionSleep(Duration.ofMillis(1))
+                        .garbageCollectionMaxConcurrency(1)
+                        .garbageCollectionMaxBatchSize(4)
+                        .build(),
+                executorService(),
+                System::currentTimeMillis,
+                manualDelay);
+
+        // Now actually start run
+        garbageCollector.initialize();
+
+        // Add some garbage
+        for (int i = 0; i < expected.size(); i++) {
+            garbageCollector.addToGarbage(expected.get(i), 1000 * i, 0);
+        }
+        assertQueueEquals(garbageCollector, toArray(expected));
+
+        int iterations = 3;
+        for (int i = 0; i < iterations; i++) {
+            manualDelay.completeDelay(i);
+            manualDelay.waitForInvocation(i + 1);
+
+            // Each iteration deletes one batch.
+            Assert.assertEquals(i + 1, batchCount.get());
+            for (int j = 0; j < 4 && !expected.isEmpty(); j++) {
+                expected.remove(0);
+            }
+            assertQueueEquals(garbageCollector, toArray(expected));
+        }
+        for (int i = 0; i < 10; i++) {
+            Assert.assertFalse(chunkStorage.exists("chunk" + i).get());
+            Assert.assertNull(getChunkMetadata(metadataStore, "chunk" + i));
+        }
+    }
+
     private String[] toArray(ArrayList<String> expected) {
         return expected.toArray(new String[expected.size()]);
     }
@@ -1025,6 +1235,15 @@ public class GarbageCollectorTests extends ThreadPooledTestSuite {
         }
     }
 
+    private Set<String> getPersistedChunks(GarbageQueueStore garbageQueueStore) throws Exception {
+        val chunks = new HashSet<String>();
+        garbageQueueStore.forEach(entry -> {
+            chunks.add(entry.getChunkName());
+            return true;
+        }).get();
+        return chunks;
+    }
+
     private ChunkMetadata getChunkMetadata(ChunkMetadataStore metadataStore, String chunkName) throws Exception {
         try (val txn = metadataStore.beginTransaction(true, chunkName)) {
             return (ChunkMetadata) txn.get(chunkName).get();
@@ -33,6 +33,7 @@ import io.pravega.segmentstore.contracts.tables.TableSegmentConfig;
 import io.pravega.segmentstore.contracts.tables.TableSegmentInfo;
 import io.pravega.segmentstore.contracts.tables.TableStore;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -130,7 +131,22 @@ public class InMemoryTableStore implements TableStore {
 
     @Override
     public CompletableFuture<AsyncIterator<IteratorItem<TableEntry>>> entryIterator(String segmentName, IteratorArgs args) {
-        throw new UnsupportedOperationException();
+        Exceptions.checkNotClosed(this.closed.get(), this);
+        Preconditions.checkArgument(args.getContinuationToken() == null, "Continuation tokens not supported in this mock.");
+        return CompletableFuture.supplyAsync(() -> {
+            val entries = getTableData(segmentName).getAll();
+            return AsyncIterator.singleton(new IteratorItem<TableEntry>() {
+                @Override
+                public BufferView getState() {
+                    return BufferView.empty();
+                }
+
+                @Override
+                public Collection<TableEntry> getEntries() {
+                    return entries;
+                }
+            });
+        }, this.executor);
     }
 
     @Override
@@ -189,6 +205,10 @@ public class InMemoryTableStore implements TableStore {
             return keys.stream().map(this.entries::get).collect(Collectors.toList());
         }
 
+        synchronized List<TableEntry> getAll() {
+            return new ArrayList<>(this.entries.values());
+        }
+
         @GuardedBy("this")
         private <T> void validateKeys(Collection<T> items, Function<T, TableKey> getKey) {
             items.stream()
@@ -31,6 +31,7 @@ package io.pravega.shared;
  * - segmentstore.segment: metrics for individual segments
  * - segmentstore.storage: metrics related to our long-term storage (Tier 2)
  * - segmentstore.bookkeeper: metrics related to bookkeeper (Tier 1)
+ * - segmentstore.localdisk: metrics related to the local disk DurableDataLog (Tier 1)
  * - segmentstore.container: metrics for segment containers
  * - segmentstore.thread_pool: metrics for segmentstore thread pool
  * - segmentstore.cache: cache-related metrics
@@ -161,6 +162,10 @@ public final class MetricsNames {
     public static final String SLTS_SYSTEM_TRUNCATE_COUNT = PREFIX + "segmentstore.storage.slts.system_truncate_count";  // Counter
 
     public static final String SLTS_GC_QUEUE_SIZE = PREFIX + "segmentstore.storage.slts.GC_queue_record_count";  // Counter
+    public static final String SLTS_GC_CHUNK_DELETED_COUNT = PREFIX + "segmentstore.storage.slts.GC_chunk_deleted_count";  // Counter
+    public static final String SLTS_GC_CHUNK_FAILED_COUNT = PREFIX + "segmentstore.storage.slts.GC_chunk_failed_count";    // Counter
+    public static final String SLTS_GC_CHUNK_LOADED_COUNT = PREFIX + "segmentstore.storage.slts.GC_chunk_loaded_count";    // Counter
+    public static final String SLTS_GC_BATCH_LATENCY = PREFIX + "segmentstore.storage.slts.GC_batch_latency_ms";           // Histogram
 
     // SLTS Metadata stats
     public static final String STORAGE_METADATA_SIZE = PREFIX + "segmentstore.storage.size.";
@@ -189,6 +194,15 @@ public final class MetricsNames {
     public static final String CACHE_STORED_SIZE_BYTES = PREFIX + "segmentstore.cache.stored_size_bytes";                         // Gauge
     public static final String CACHE_USED_SIZE_BYTES = PREFIX + "segmentstore.cache.used_size_bytes";                             // Gauge
     public static final String CACHE_ALLOC_SIZE_BYTES = PREFIX + "segmentstore.cache.allocated_size_bytes";                       // Gauge
+    public static final String CACHE_DEMOTE_BYTES = PREFIX + "segmentstore.cache.demote_bytes";                                   // Counter
+    public static final String CACHE_PROMOTE_BYTES = PREFIX + "segmentstore.cache.promote_bytes";                                 // Counter
+    public static final String CACHE_SSD_WRITE_BYTES = PREFIX + "segmentstore.cache.ssd_write_bytes";                             // Counter
+    public static final String CACHE_SSD_APPEND_BYTES = PREFIX + "segmentstore.cache.ssd_append_bytes";                           // Counter
+    public static final String CACHE_SSD_READ_BYTES = PREFIX + "segmentstore.cache.ssd_read_bytes";                               // Counter
+    public static final String CACHE_SSD_DELETE_BYTES = PREFIX + "segmentstore.cache.ssd_delete_bytes";                           // Counter
+    public static final String CACHE_SSD_STORED_SIZE_BYTES = PREFIX + "segmentstore.cache.ssd_stored_size_bytes";                 // Gauge
+    public static final String CACHE_SSD_USED_SIZE_BYTES = PREFIX + "segmentstore.cache.ssd_used_size_bytes";                     // Gauge
+    public static final String CACHE_SSD_ALLOC_SIZE_BYTES = PREFIX + "segmentstore.cache.ssd_allocated_size_bytes";               // Gauge
     public static final String CACHE_GENERATION_SPREAD = PREFIX + "segmentstore.cache.gen";                                       // Histogram
     public static final String CACHE_MANAGER_ITERATION_DURATION = PREFIX + "segmentstore.cache.manager_iteration_duration_ms";    // Timer
 
@@ -199,6 +213,12 @@ public final class MetricsNames {
     public static final String BK_WRITE_QUEUE_SIZE = PREFIX + "segmentstore.bookkeeper.write_queue_size";            // Per-container Histogram
     public static final String BK_WRITE_QUEUE_FILL_RATE = PREFIX + "segmentstore.bookkeeper.write_queue_fill";       // Per-container Histogram
     public static final String BK_LEDGER_COUNT = PREFIX + "segmentstore.bookkeeper.ledger_count";                    // Per-container Gauge
+    public static final String LOCALDISK_TOTAL_WRITE_LATENCY = PREFIX + "segmentstore.localdisk.total_write_latency_ms"; // Including Queue. Per-container Histogram
+    public static final String LOCALDISK_BATCH_LATENCY = PREFIX + "segmentstore.localdisk.batch_latency_ms";           // Write+fsync of one batch. Per-container Histogram
+    public static final String LOCALDISK_BATCH_SIZE = PREFIX + "segmentstore.localdisk.batch_size";                    // Writes per fsync. Per-container Histogram
+    public static final String LOCALDISK_WRITE_BYTES = PREFIX + "segmentstore.localdisk.write_bytes";                  // Counter
+    public static final String LOCALDISK_WRITE_QUEUE_SIZE = PREFIX + "segmentstore.localdisk.write_queue_size";        // Per-container Histogram
+    public static final String LOCALDISK_FILE_COUNT = PREFIX + "segmentstore.localdisk.file_count";                    // Per-container Gauge
 
     // StorageWriter stats
     public static final String STORAGE_WRITER_FLUSH_ELAPSED = PREFIX + "segmentstore.storagewriter.flush_elapsed_ms";         // Time to flush all processors. Per-container Histogram.
@@ -221,6 +241,8 @@ public final class MetricsNames {
     public static final String CONTAINER_SEAL_COUNT = PREFIX + "segmentstore.container.seal_count";                                                 // Per-container Event Counter
     public static final String CONTAINER_TRUNCATE_COUNT = PREFIX + "segmentstore.container.truncate_count";                                         // Per-container Event Counter
     public static final String CONTAINER_RECOVERY_TIME = PREFIX + "segmentstore.container.recovery_time";                                           // Per-container Gauge
+    public static final String CONTAINER_RECOVERY_OPERATIONS_PER_SEC = PREFIX + "segmentstore.container.recovery_operations_per_sec";               // Per-container Gauge
+    public static final String CONTAINER_RECOVERY_BYTES_PER_SEC = PREFIX + "segmentstore.container.recovery_bytes_per_sec";                         // Per-container Gauge
     public static final String CONTAINER_EVENT_PROCESSOR_OUTSTANDING_BYTES = PREFIX + "segmentstore.container.event_processor_outstanding_bytes";   // Per-processor Gauge
     public static final String CONTAINER_EVENT_PROCESSOR_BATCH_LATENCY = PREFIX + "segmentstore.container.event_processor_batch_latency";           // Per-processor Histogram
 
@@ -236,6 +258,9 @@ public final class MetricsNames {
     public static final String OPERATION_COMMIT_MEMORY_COUNT = PREFIX + "segmentstore.container.operation_commit.memory_count";              // Per-container Histogram
     public static final String OPERATION_COMMIT_MEMORY_LATENCY = PREFIX + "segmentstore.container.operation_commit.memory_latency_ms";       // Per-container Histogram
     public static final String OPERATION_LOG_SIZE = PREFIX + "segmentstore.container.operation.log_size";                                    // Per-container Counter
+    public static final String OPERATION_PROCESSOR_FRAME_LENGTH = PREFIX + "segmentstore.container.operation_processor.frame_length";        // Per-container Gauge
+    public static final String OPERATION_PROCESSOR_BATCHING_DELAY = PREFIX + "segmentstore.container.operation_processor.batching_delay_ms"; // Per-container Gauge
+    public static final String OPERATION_PROCESSOR_WRITE_LATENCY_P99 = PREFIX + "segmentstore.container.operation_processor.write_latency_p99_ms"; // Per-container Gauge
 
     // Segment container metadata
     public static final String ACTIVE_SEGMENT_COUNT = PREFIX + "segmentstore.container.active_segments";   // Per-container Gauge
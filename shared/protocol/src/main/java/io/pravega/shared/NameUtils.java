@@ -120,6 +120,11 @@ public final class NameUtils {
      */
     private static final String STORAGE_METADATA_SEGMENT_NAME_FORMAT = STORAGE_METADATA_SEGMENT_NAME_PREFIX + "%d";
 
+    /**
+     * Format for Storage Garbage Collection Queue Segment name.
+     */
+    private static final String STORAGE_GC_QUEUE_SEGMENT_NAME_FORMAT = "_system/containers/storage_gc_queue_%d";
+
     /**
      * Format for Container System Journal file name.
      */
@@ -370,6 +375,18 @@ public final class NameUtils {
         return String.format(STORAGE_METADATA_SEGMENT_NAME_FORMAT, containerId);
     }
 
+    /**
+     * Gets the name of the Table Segment that is used to persist the Container's queue of Storage chunks pending garbage
+     * collection. There is one such Segment per container.
+     *
+     * @param containerId The Id of the Container.
+     * @return The Storage Garbage Collection Queue Segment name.
+     */
+    public static String getStorageGarbageQueueSegmentName(int containerId) {
+        Preconditions.checkArgument(containerId >= 0, "containerId must be a non-negative number.");
+        return String.format(STORAGE_GC_QUEUE_SEGMENT_NAME_FORMAT, containerId);
+    }
+
     /**
      * Gets file name of SystemJournal for given container instance.
      * @param containerId The Id of the Container.
@@ -19,13 +19,17 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.pravega.shared.metrics.MetricNotifier;
 import io.pravega.shared.protocol.netty.WireCommands.AppendBlock;
 import io.pravega.shared.protocol.netty.WireCommands.AppendBlockEnd;
 import io.pravega.shared.protocol.netty.WireCommands.Hello;
 import io.pravega.shared.protocol.netty.WireCommands.PartialEvent;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentsRead;
 import io.pravega.shared.protocol.netty.WireCommands.SetupAppend;
 import java.io.IOException;
 import java.util.AbstractMap.SimpleImmutableEntry;
@@ -71,6 +75,10 @@ import static io.pravega.shared.protocol.netty.WireCommands.TYPE_SIZE;
  * need to be parsed out of individual messages. Notably this includes the event number of the last
  * event in the block, so that it can be acknowledged.
  *
+ * SegmentReads are not serialized into the output buffer. Instead, their header is encoded into a separate buffer that
+ * is composed with the (unmodified) data buffer, which avoids copying the payload. The ownership of the data buffer is
+ * passed on to the channel, which releases it after it has been written.
+ *
  * If the channel is not free, then each append is enqueued to the session's pending List.
  * This session pending list gets flushed if any of the following conditions is triggered.
  *      If the session buffer exceed the threshold (MAX_DATA_SIZE)
@@ -196,6 +204,21 @@ public class CommandEncoder extends FlushingMessageToByteEncoder<Object> {
         }
     }
 
+    @Override
+    protected boolean writeUnencoded(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (msg instanceof SegmentRead) {
+            log.trace("Encoding message to send over the wire {}", msg);
+            ctx.write(encodeSegmentRead(ctx, (SegmentRead) msg), promise);
+        } else if (msg instanceof SegmentsRead) {
+            log.trace("Encoding message to send over the wire {}", msg);
+            ctx.write(encodeSegmentsRead(ctx, (SegmentsRead) msg), promise);
+        } else {
+            return false;
+        }
+        flushRequired();
+        return true;
+    }
+
     @Override
     protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
         log.trace("Encoding message to send over the wire {}", msg);
@@ -437,6 +460,90 @@ public class CommandEncoder extends FlushingMessageToByteEncoder<Object> {
         return endIdx - startIdx;
     }
 
+    /**
+     * Encodes the given {@link SegmentRead} into a {@link ByteBuf} that contains its data buffer as-is, without copying it.
+     * The resulting layout is identical to the one produced by {@link #writeMessage(WireCommand, ByteBuf)}.
+     */
+    @SneakyThrows(IOException.class)
+    private ByteBuf encodeSegmentRead(ChannelHandlerContext ctx, SegmentRead read) {
+        ByteBuf data = read.getData();
+        ByteBuf header = ctx.alloc().ioBuffer();
+        try {
+            breakCurrentAppend(header);
+            flushAll(header);
+            int startIdx = header.writerIndex();
+            ByteBufOutputStream bout = new ByteBufOutputStream(header);
+            bout.writeInt(read.getType().getCode());
+            bout.write(LENGTH_PLACEHOLDER);
+            bout.writeUTF(read.getSegment());
+            bout.writeLong(read.getOffset());
+            bout.writeBoolean(read.isAtTail());
+            bout.writeBoolean(read.isEndOfSegment());
+            bout.writeInt(data.readableBytes());
+            bout.close();
+            int fieldsSize = header.writerIndex() - startIdx - TYPE_PLUS_LENGTH_SIZE + data.readableBytes() + Long.BYTES;
+            header.setInt(startIdx + TYPE_SIZE, fieldsSize);
+            ByteBuf trailer = ctx.alloc().ioBuffer(Long.BYTES).writeLong(read.getRequestId());
+            return ctx.alloc().compositeBuffer(3).addComponents(true, header, data, trailer);
+        } catch (Throwable ex) {
+            header.release();
+            data.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Encodes the given {@link SegmentsRead} into a {@link ByteBuf} that contains the data buffers of all its reads as-is,
+     * without copying them. The resulting layout is identical to the one produced by {@link #writeMessage(WireCommand, ByteBuf)}.
+     */
+    @SneakyThrows(IOException.class)
+    private ByteBuf encodeSegmentsRead(ChannelHandlerContext ctx, SegmentsRead segmentsRead) {
+        List<SegmentRead> reads = segmentsRead.getReads();
+        CompositeByteBuf result = ctx.alloc().compositeBuffer(2 * reads.size() + 1);
+        ByteBuf fields = ctx.alloc().ioBuffer();
+        int nextRead = 0;
+        try {
+            breakCurrentAppend(fields);
+            flushAll(fields);
+            int startIdx = fields.writerIndex();
+            ByteBufOutputStream bout = new ByteBufOutputStream(fields);
+            bout.writeInt(segmentsRead.getType().getCode());
+            bout.write(LENGTH_PLACEHOLDER);
+            bout.writeLong(segmentsRead.getRequestId());
+            bout.writeInt(reads.size());
+            while (nextRead < reads.size()) {
+                // Everything up to (and including) this read's data length goes before its data; its request id after it.
+                SegmentRead read = reads.get(nextRead);
+                ByteBuf data = read.getData();
+                bout.writeUTF(read.getSegment());
+                bout.writeLong(read.getOffset());
+                bout.writeBoolean(read.isAtTail());
+                bout.writeBoolean(read.isEndOfSegment());
+                bout.writeInt(data.readableBytes());
+                bout.close();
+                result.addComponent(true, fields);
+                fields = null;
+                result.addComponent(true, data);
+                nextRead++;
+                fields = ctx.alloc().ioBuffer();
+                bout = new ByteBufOutputStream(fields);
+                bout.writeLong(read.getRequestId());
+            }
+            bout.close();
+            result.addComponent(true, fields);
+            fields = null;
+            result.setInt(startIdx + TYPE_SIZE, result.readableBytes() - startIdx - TYPE_PLUS_LENGTH_SIZE);
+            return result;
+        } catch (Throwable ex) {
+            if (fields != null) {
+                fields.release();
+            }
+            result.release();
+            reads.subList(nextRead, reads.size()).forEach(read -> read.getData().release());
+            throw ex;
+        }
+    }
+
     @RequiredArgsConstructor
     private static final class BlockTimeout {
         private final long token;
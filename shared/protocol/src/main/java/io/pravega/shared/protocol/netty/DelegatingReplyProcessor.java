@@ -69,6 +69,11 @@ public abstract class DelegatingReplyProcessor implements ReplyProcessor {
     public void segmentRead(WireCommands.SegmentRead data) {
         getNextReplyProcessor().segmentRead(data);
     }
+
+    @Override
+    public void segmentsRead(WireCommands.SegmentsRead data) {
+        getNextReplyProcessor().segmentsRead(data);
+    }
     
     @Override
     public void segmentAttributeUpdated(WireCommands.SegmentAttributeUpdated segmentAttributeUpdated) {
@@ -51,6 +51,11 @@ public abstract class DelegatingRequestProcessor implements RequestProcessor {
         getNextRequestProcessor().readSegment(readSegment);
     }
 
+    @Override
+    public void readSegments(WireCommands.ReadSegments readSegments) {
+        getNextRequestProcessor().readSegments(readSegments);
+    }
+
     @Override
     public void updateSegmentAttribute(UpdateSegmentAttribute updateSegmentAttribute) {
         getNextRequestProcessor().updateSegmentAttribute(updateSegmentAttribute);
@@ -54,6 +54,11 @@ public class FailingRequestProcessor implements RequestProcessor {
     public void readSegment(ReadSegment readSegment) {
         throw new IllegalStateException("Unexpected operation");
     }
+
+    @Override
+    public void readSegments(WireCommands.ReadSegments readSegments) {
+        throw new IllegalStateException("Unexpected operation");
+    }
     
     @Override
     public void updateSegmentAttribute(UpdateSegmentAttribute updateSegmentAttribute) {
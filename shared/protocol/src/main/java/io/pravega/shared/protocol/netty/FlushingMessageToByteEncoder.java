@@ -28,12 +28,25 @@ public abstract class FlushingMessageToByteEncoder<I> extends MessageToByteEncod
     
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
-        super.write(ctx, msg, promise);
+        if (!writeUnencoded(ctx, msg, promise)) {
+            super.write(ctx, msg, promise);
+        }
         if (shouldFlush.compareAndSet(true, false)) {
             ctx.flush();
         }
     }
     
+    /**
+     * Gives subclasses the chance to write the given message to the context themselves, bypassing
+     * {@link #encode(ChannelHandlerContext, Object, io.netty.buffer.ByteBuf)} and its output buffer. Flushing is still
+     * governed by {@link #flushRequired()}.
+     *
+     * @return True if the message has been written, false if it should be encoded as usual.
+     */
+    protected boolean writeUnencoded(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        return false;
+    }
+
     protected void flushRequired() {
         shouldFlush.set(true);
     }
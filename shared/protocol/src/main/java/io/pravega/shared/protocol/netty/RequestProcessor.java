@@ -44,6 +44,8 @@ public interface RequestProcessor {
     void append(Append append);
 
     void readSegment(ReadSegment readSegment);
+
+    void readSegments(WireCommands.ReadSegments readSegments);
     
     void updateSegmentAttribute(UpdateSegmentAttribute updateSegmentAttribute);
     
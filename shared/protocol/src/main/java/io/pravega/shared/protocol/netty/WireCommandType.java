@@ -113,6 +113,9 @@ public enum WireCommandType {
 
     CONDITIONAL_BLOCK_END(89, WireCommands.ConditionalBlockEnd::readFrom),
 
+    READ_SEGMENTS(90, WireCommands.ReadSegments::readFrom),
+    SEGMENTS_READ(91, WireCommands.SegmentsRead::readFrom),
+
     KEEP_ALIVE(100, WireCommands.KeepAlive::readFrom);
 
     private final int code;
@@ -61,7 +61,7 @@ import static io.netty.buffer.Unpooled.wrappedBuffer;
  * Incompatible changes should instead create a new WireCommand object.
  */
 public final class WireCommands {
-    public static final int WIRE_VERSION = 12;
+    public static final int WIRE_VERSION = 14;
     public static final int OLDEST_COMPATIBLE_VERSION = 5;
     public static final int TYPE_SIZE = 4;
     public static final int TYPE_PLUS_LENGTH_SIZE = 8;
@@ -793,6 +793,27 @@ public final class WireCommands {
         @ToString.Exclude
         final String delegationToken;
         final long requestId;
+        /**
+         * If non-empty, only whole events whose payload starts with these bytes are returned; the others are skipped.
+         * The reply to such a read is a {@link SegmentsRead} made up of runs of matching events: the first run starts at
+         * the requested offset (and may be empty), and each following run starts after a range of skipped events.
+         * The read offset must be at an event boundary.
+         */
+        final ByteBuf eventPrefix;
+
+        public ReadSegment(String segment, long offset, int suggestedLength, String delegationToken, long requestId) {
+            this(segment, offset, suggestedLength, delegationToken, requestId, EMPTY_BUFFER);
+        }
+
+        public ReadSegment(String segment, long offset, int suggestedLength, String delegationToken, long requestId,
+                           ByteBuf eventPrefix) {
+            this.segment = segment;
+            this.offset = offset;
+            this.suggestedLength = suggestedLength;
+            this.delegationToken = delegationToken;
+            this.requestId = requestId;
+            this.eventPrefix = eventPrefix;
+        }
 
         @Override
         public void process(RequestProcessor cp) {
@@ -806,6 +827,8 @@ public final class WireCommands {
             out.writeInt(suggestedLength);
             out.writeUTF(delegationToken == null ? "" : delegationToken);
             out.writeLong(requestId);
+            out.writeInt(eventPrefix.readableBytes());
+            eventPrefix.getBytes(eventPrefix.readerIndex(), (OutputStream) out, eventPrefix.readableBytes());
         }
 
         public static WireCommand readFrom(ByteBufInputStream in, int length) throws IOException {
@@ -814,7 +837,13 @@ public final class WireCommands {
             int suggestedLength = in.readInt();
             String delegationToken = in.readUTF();
             long requestId = in.available()  >= Long.BYTES ? in.readLong() : -1L;
-            return new ReadSegment(segment, offset, suggestedLength, delegationToken, requestId);
+            ByteBuf eventPrefix = EMPTY_BUFFER;
+            if (in.available() >= Integer.BYTES) {
+                byte[] prefix = new byte[in.readInt()];
+                in.readFully(prefix);
+                eventPrefix = wrappedBuffer(prefix);
+            }
+            return new ReadSegment(segment, offset, suggestedLength, delegationToken, requestId, eventPrefix);
         }
 
         @Override
@@ -879,6 +908,90 @@ public final class WireCommands {
         }
     }
 
+    /**
+     * Reads from multiple Segments in a single request. Each {@link ReadSegment} carries its own request id, which is
+     * used to match it with its reply. All reads that can be answered right away are batched into a single
+     * {@link SegmentsRead} reply; every other read is answered individually, as if it had been sent on its own.
+     */
+    @Data
+    public static final class ReadSegments implements Request, WireCommand {
+        /**
+         * The oldest wire protocol version which supports this command. Older servers cannot decode it.
+         */
+        public static final int MIN_WIRE_VERSION = 13;
+
+        final WireCommandType type = WireCommandType.READ_SEGMENTS;
+        final long requestId;
+        final List<ReadSegment> reads;
+
+        @Override
+        public void process(RequestProcessor cp) {
+            cp.readSegments(this);
+        }
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeLong(requestId);
+            out.writeInt(reads.size());
+            for (ReadSegment read : reads) {
+                read.writeFields(out);
+            }
+        }
+
+        public static WireCommand readFrom(ByteBufInputStream in, int length) throws IOException {
+            long requestId = in.readLong();
+            int count = in.readInt();
+            List<ReadSegment> reads = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                reads.add((ReadSegment) ReadSegment.readFrom(in, length));
+            }
+            return new ReadSegments(requestId, reads);
+        }
+    }
+
+    /**
+     * Reply to {@link ReadSegments} which contains the results of all the reads that could be answered right away.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    @ToString
+    @EqualsAndHashCode(callSuper = false)
+    @NotThreadSafe
+    public static final class SegmentsRead extends ReleasableCommand implements Reply {
+        final WireCommandType type = WireCommandType.SEGMENTS_READ;
+        final long requestId;
+        final List<SegmentRead> reads;
+
+        @Override
+        public void process(ReplyProcessor cp) {
+            cp.segmentsRead(this);
+        }
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeLong(requestId);
+            out.writeInt(reads.size());
+            for (SegmentRead read : reads) {
+                read.writeFields(out);
+            }
+        }
+
+        public static WireCommand readFrom(EnhancedByteBufInputStream in, int length) throws IOException {
+            long requestId = in.readLong();
+            int count = in.readInt();
+            List<SegmentRead> reads = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                reads.add((SegmentRead) SegmentRead.readFrom(in, length));
+            }
+            return new SegmentsRead(requestId, reads).requireRelease();
+        }
+
+        @Override
+        void releaseInternal() {
+            this.reads.forEach(SegmentRead::release);
+        }
+    }
+
     @Data
     public static final class GetSegmentAttribute implements Request, WireCommand {
         final WireCommandType type = WireCommandType.GET_SEGMENT_ATTRIBUTE;
@@ -171,6 +171,7 @@ public class NameUtilsTest {
     @Test
     public void testStorageNames() {
         Assert.assertEquals(NameUtils.getStorageMetadataSegmentName(1), "_system/containers/storage_metadata_1");
+        Assert.assertEquals(NameUtils.getStorageGarbageQueueSegmentName(1), "_system/containers/storage_gc_queue_1");
         Assert.assertEquals(NameUtils.getSystemJournalFileName(2, 3, 4),
                 "_system/containers/_sysjournal.epoch3.container2.file4");
         Assert.assertEquals(NameUtils.getSystemJournalSnapshotFileName(5, 6, 7),
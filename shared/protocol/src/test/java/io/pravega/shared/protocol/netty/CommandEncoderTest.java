@@ -16,6 +16,7 @@
 package io.pravega.shared.protocol.netty;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.util.concurrent.EventExecutor;
@@ -25,10 +26,15 @@ import io.pravega.shared.protocol.netty.WireCommands.Event;
 import io.pravega.shared.protocol.netty.WireCommands.Hello;
 import io.pravega.shared.protocol.netty.WireCommands.KeepAlive;
 import io.pravega.shared.protocol.netty.WireCommands.ReadSegment;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentRead;
+import io.pravega.shared.protocol.netty.WireCommands.SegmentsRead;
 import io.pravega.shared.protocol.netty.WireCommands.SetupAppend;
+import java.util.Arrays;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.mockito.internal.verification.AtMost;
 
@@ -95,6 +101,68 @@ public class CommandEncoderTest {
         verifyFlush(commandEncoder, allocator, new ReadSegment("segment", 0, 1000, "", 2L));
     }
 
+    /**
+     * Tests that {@link SegmentRead} commands are encoded without copying their data and that the result is identical
+     * to the regular serialization.
+     */
+    @Test
+    public void testSegmentReadZeroCopy() throws Exception {
+        UnpooledByteBufAllocator allocator = new UnpooledByteBufAllocator(false, false);
+        CommandEncoder commandEncoder = new CommandEncoder(null, new TestMetricNotifier());
+        byte[] payload = new byte[1234];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) i;
+        }
+
+        ByteBuf data = allocator.buffer(payload.length).writeBytes(payload);
+        SegmentRead read = new SegmentRead("segment", 123L, true, false, data, 4L);
+        ByteBuf expected = Unpooled.buffer();
+        CommandEncoder.writeMessage(read, expected);
+
+        ChannelHandlerContext context = mock(ChannelHandlerContext.class);
+        Mockito.when(context.alloc()).thenReturn(allocator);
+        commandEncoder.write(context, read, null);
+        ArgumentCaptor<ByteBuf> written = ArgumentCaptor.forClass(ByteBuf.class);
+        verify(context).write(written.capture(), Mockito.any());
+        verify(context).flush();
+
+        Assert.assertEquals("Unexpected encoding.", expected, written.getValue());
+        Assert.assertEquals("Data buffer should not have been released before the write.", 1, data.refCnt());
+        written.getValue().release();
+        Assert.assertEquals("Data buffer should have been released along with the written buffer.", 0, data.refCnt());
+    }
+
+    /**
+     * Tests that {@link SegmentsRead} commands are encoded without copying the data of any of their reads and that the
+     * result is identical to the regular serialization.
+     */
+    @Test
+    public void testSegmentsReadZeroCopy() throws Exception {
+        UnpooledByteBufAllocator allocator = new UnpooledByteBufAllocator(false, false);
+        CommandEncoder commandEncoder = new CommandEncoder(null, new TestMetricNotifier());
+        ByteBuf data1 = allocator.buffer(100).writeBytes(new byte[100]);
+        ByteBuf data2 = allocator.buffer(200).writeBytes(new byte[200]);
+        SegmentsRead reads = new SegmentsRead(3L, Arrays.asList(
+                new SegmentRead("segment1", 123L, true, false, data1, 4L),
+                new SegmentRead("segment2", 456L, false, true, data2, 5L)));
+        ByteBuf expected = Unpooled.buffer();
+        CommandEncoder.writeMessage(reads, expected);
+
+        ChannelHandlerContext context = mock(ChannelHandlerContext.class);
+        Mockito.when(context.alloc()).thenReturn(allocator);
+        commandEncoder.write(context, reads, null);
+        ArgumentCaptor<ByteBuf> written = ArgumentCaptor.forClass(ByteBuf.class);
+        verify(context).write(written.capture(), Mockito.any());
+        verify(context).flush();
+
+        Assert.assertEquals("Unexpected encoding.", expected, written.getValue());
+        Assert.assertEquals("Data buffers should not have been released before the write.", 1, data1.refCnt());
+        Assert.assertEquals("Data buffers should not have been released before the write.", 1, data2.refCnt());
+        written.getValue().release();
+        Assert.assertEquals("Data buffers should have been released along with the written buffer.", 0, data1.refCnt());
+        Assert.assertEquals("Data buffers should have been released along with the written buffer.", 0, data2.refCnt());
+    }
+
     public void verifyFlush(CommandEncoder commandEncoder, UnpooledByteBufAllocator allocator,
                             Object command) throws Exception {
         ChannelHandlerContext context = mock(ChannelHandlerContext.class);
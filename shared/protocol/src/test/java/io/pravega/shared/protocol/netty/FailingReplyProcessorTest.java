@@ -46,6 +46,7 @@ import io.pravega.shared.protocol.netty.WireCommands.TableKeysRemoved;
 import io.pravega.shared.protocol.netty.WireCommands.TableRead;
 import io.pravega.shared.protocol.netty.WireCommands.TableSegmentNotEmpty;
 import io.pravega.shared.protocol.netty.WireCommands.WrongHost;
+import java.util.Collections;
 import org.junit.Test;
 
 import static io.pravega.test.common.AssertExtensions.assertThrows;
@@ -80,6 +81,7 @@ public class FailingReplyProcessorTest {
         assertThrows(IllegalStateException.class, () -> rp.segmentIsTruncated(new SegmentIsTruncated(0, ":", 1, "", 2)));
         assertThrows(IllegalStateException.class, () -> rp.segmentPolicyUpdated(new SegmentPolicyUpdated(0, "")));
         assertThrows(IllegalStateException.class, () -> rp.segmentRead(new SegmentRead("", 1, true, false, null, 0)));
+        assertThrows(IllegalStateException.class, () -> rp.segmentsRead(new WireCommands.SegmentsRead(0, Collections.emptyList())));
         assertThrows(IllegalStateException.class, () -> rp.segmentSealed(new SegmentSealed(0, "")));
         assertThrows(IllegalStateException.class, () -> rp.segmentsMerged(new SegmentsMerged(0, "", "", 2)));
         assertThrows(IllegalStateException.class, () -> rp.segmentTruncated(new SegmentTruncated(0, "")));
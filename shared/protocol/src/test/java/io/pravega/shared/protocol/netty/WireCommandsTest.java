@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -552,6 +553,35 @@ public class WireCommandsTest extends LeakDetectorTestSuite {
     @Test
     public void testReadSegment() throws IOException {
         testCommand(new WireCommands.ReadSegment(testString1, l, i, "", l));
+        testCommand(new WireCommands.ReadSegment(testString1, l, i, "", l, Unpooled.wrappedBuffer(new byte[]{1, 2, 3})));
+
+        // Test that we are able to decode a message with a previous version (without the event prefix).
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        ReadSegmentV13 commandV13 = new ReadSegmentV13(testString1, l, i, "", l);
+        commandV13.writeFields(new DataOutputStream(bout));
+        testCommandFromByteArray(bout.toByteArray(), new WireCommands.ReadSegment(testString1, l, i, "", l));
+    }
+
+    /*
+     * ReadSegment as of version 13 (before the event prefix was added).
+     */
+    @Data
+    public static final class ReadSegmentV13 implements WireCommand {
+        final WireCommandType type = WireCommandType.READ_SEGMENT;
+        final String segment;
+        final long offset;
+        final int suggestedLength;
+        final String delegationToken;
+        final long requestId;
+
+        @Override
+        public void writeFields(DataOutput out) throws IOException {
+            out.writeUTF(segment);
+            out.writeLong(offset);
+            out.writeInt(suggestedLength);
+            out.writeUTF(delegationToken);
+            out.writeLong(requestId);
+        }
     }
 
     @Test
@@ -566,6 +596,32 @@ public class WireCommandsTest extends LeakDetectorTestSuite {
 
     }
 
+    @Test
+    public void testReadSegments() throws IOException {
+        testCommand(new WireCommands.ReadSegments(l, Arrays.asList(
+                new WireCommands.ReadSegment(testString1, l, i, "", l + 1),
+                new WireCommands.ReadSegment(testString2, l + 1, i + 1, "token", l + 2, Unpooled.wrappedBuffer(new byte[]{4})),
+                new WireCommands.ReadSegment(testString1, l + 2, i + 2, "", l + 3))));
+        testCommand(new WireCommands.ReadSegments(l, Collections.emptyList()));
+    }
+
+    @Test
+    public void testSegmentsRead() throws IOException {
+        testCommand(new WireCommands.SegmentsRead(l, Arrays.asList(
+                new WireCommands.SegmentRead(testString1, l, true, false, buf, l + 1),
+                new WireCommands.SegmentRead(testString2, l + 1, false, true, Unpooled.EMPTY_BUFFER, l + 2))));
+        testCommand(new WireCommands.SegmentsRead(l, Collections.emptyList()));
+
+        // Test that it correctly implements ReleasableCommand (for each of the reads it contains).
+        testReleasableCommand(
+                () -> new WireCommands.SegmentsRead(l, Arrays.asList(
+                        new WireCommands.SegmentRead(testString1, l, true, false, buf, l + 1),
+                        new WireCommands.SegmentRead(testString2, l, true, false, buf, l + 2))),
+                WireCommands.SegmentsRead::readFrom,
+                sr -> sr.getReads().get(0).getData().refCnt(),
+                2);
+    }
+
     @Test
     public void testUpdateSegmentAttribute() throws IOException {
         testCommand(new WireCommands.UpdateSegmentAttribute(l, testString1, uuid, l, l, ""));
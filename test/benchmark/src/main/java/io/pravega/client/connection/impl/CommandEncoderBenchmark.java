@@ -0,0 +1,117 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.client.connection.impl;
+
+import io.netty.buffer.Unpooled;
+import io.pravega.shared.metrics.MetricNotifier;
+import io.pravega.shared.protocol.netty.Append;
+import io.pravega.shared.protocol.netty.AppendBatchSizeTracker;
+import io.pravega.shared.protocol.netty.WireCommands;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the client-side {@link CommandEncoder}, which every Event written by an EventStreamWriter goes through.
+ * The encoded bytes are discarded, so only the encoding (and batching) costs are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CommandEncoderBenchmark {
+    private static final String SEGMENT = "scope/stream/0.#epoch.0";
+    private static final UUID WRITER_ID = new UUID(1, 2);
+    private static final long FLOW_ID = 1;
+
+    @Param({"100", "1024"})
+    private int eventLength;
+
+    /**
+     * The append block size. 0 disables batching (each Event is sent in its own block).
+     */
+    @Param({"0", "262144"})
+    private int blockSize;
+
+    private byte[] payload;
+    private CommandEncoder encoder;
+    private long nextEventNumber;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.payload = new byte[this.eventLength];
+        FixedBatchSizeTracker tracker = new FixedBatchSizeTracker(this.blockSize);
+        this.encoder = new CommandEncoder(flowId -> tracker, MetricNotifier.NO_OP_METRIC_NOTIFIER, new NullOutputStream());
+        this.encoder.write(new WireCommands.SetupAppend(FLOW_ID, WRITER_ID, SEGMENT, ""));
+    }
+
+    @Benchmark
+    public long writeAppend() throws IOException {
+        long eventNumber = ++this.nextEventNumber;
+        this.encoder.write(new Append(SEGMENT, WRITER_ID, eventNumber, new WireCommands.Event(Unpooled.wrappedBuffer(this.payload)), FLOW_ID));
+        return eventNumber;
+    }
+
+    @RequiredArgsConstructor
+    private static class FixedBatchSizeTracker implements AppendBatchSizeTracker {
+        private final int blockSize;
+
+        @Override
+        public void recordAppend(long eventNumber, int size) {
+        }
+
+        @Override
+        public long recordAck(long eventNumber) {
+            return 0;
+        }
+
+        @Override
+        public int getAppendBlockSize() {
+            return this.blockSize;
+        }
+
+        @Override
+        public int getBatchTimeout() {
+            return 10;
+        }
+    }
+
+    private static class NullOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.client.stream.impl;
+
+import io.pravega.client.control.impl.Controller;
+import io.pravega.client.security.auth.DelegationTokenProvider;
+import io.pravega.client.segment.impl.Segment;
+import io.pravega.client.segment.impl.SegmentOutputStream;
+import io.pravega.client.segment.impl.SegmentOutputStreamFactory;
+import io.pravega.client.stream.EventWriterConfig;
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the throughput of a single {@link EventStreamWriterImpl} shared by an increasing number of producer threads,
+ * each of them writing Events with random routing keys to a Stream with a number of Segments.
+ *
+ * The Segment writers do not talk to a Segment Store; each of them does a fixed amount of work per Event under its own
+ * lock (like {@link io.pravega.client.segment.impl.SegmentOutputStreamImpl} does) and acks it right away. Since
+ * writes to different Segments do not contend with each other, throughput should scale with the number of producer
+ * threads when there are more Segments than threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class EventStreamWriterContentionBenchmark {
+    private static final String SCOPE = "scope";
+    private static final String STREAM = "stream";
+    private static final int ROUTING_KEY_COUNT = 1024;
+    private static final long WORK_PER_EVENT = 100;
+
+    @Param({"1", "16"})
+    private int segmentCount;
+
+    private ScheduledExecutorService executor;
+    private EventStreamWriterImpl<ByteBuffer> writer;
+    private String[] routingKeys;
+    private ByteBuffer event;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.executor = ExecutorServiceHelpers.newScheduledThreadPool(2, "writer-benchmark");
+        NavigableMap<Double, SegmentWithRange> segments = new TreeMap<>();
+        for (int i = 0; i < this.segmentCount; i++) {
+            double low = (double) i / this.segmentCount;
+            double high = (double) (i + 1) / this.segmentCount;
+            segments.put(high, new SegmentWithRange(new Segment(SCOPE, STREAM, i), low, high));
+        }
+
+        Controller controller = createController(new StreamSegments(segments));
+        this.writer = new EventStreamWriterImpl<>(new StreamImpl(SCOPE, STREAM), "writer", controller,
+                new NoOpOutputStreamFactory(), new ByteBufferSerializer(), EventWriterConfig.builder().build(),
+                ExecutorServiceHelpers.newScheduledThreadPool(1, "writer-benchmark-retransmit"), this.executor);
+        this.routingKeys = new String[ROUTING_KEY_COUNT];
+        for (int i = 0; i < this.routingKeys.length; i++) {
+            this.routingKeys[i] = "key" + i;
+        }
+
+        this.event = ByteBuffer.wrap(new byte[100]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.writer.close();
+        ExecutorServiceHelpers.shutdown(this.executor);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public CompletableFuture<Void> write1() {
+        return write();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public CompletableFuture<Void> write4() {
+        return write();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public CompletableFuture<Void> write16() {
+        return write();
+    }
+
+    private CompletableFuture<Void> write() {
+        String routingKey = this.routingKeys[ThreadLocalRandom.current().nextInt(this.routingKeys.length)];
+        return this.writer.writeEvent(routingKey, this.event.duplicate());
+    }
+
+    /**
+     * Creates a {@link Controller} that only knows about the current Segments of the Stream, which is all that
+     * {@link EventStreamWriterImpl} needs from it as long as no Segment is sealed.
+     */
+    private static Controller createController(StreamSegments segments) {
+        return (Controller) Proxy.newProxyInstance(Controller.class.getClassLoader(), new Class<?>[]{Controller.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getCurrentSegments")) {
+                        return CompletableFuture.completedFuture(segments);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static class NoOpOutputStreamFactory implements SegmentOutputStreamFactory {
+        @Override
+        public SegmentOutputStream createOutputStreamForTransaction(Segment segment, UUID txId, EventWriterConfig config,
+                                                                    DelegationTokenProvider tokenProvider) {
+            return new NoOpOutputStream(segment);
+        }
+
+        @Override
+        public SegmentOutputStream createOutputStreamForSegment(Segment segment, Consumer<Segment> segmentSealedCallback,
+                                                                EventWriterConfig config, DelegationTokenProvider tokenProvider) {
+            return new NoOpOutputStream(segment);
+        }
+
+        @Override
+        public SegmentOutputStream createOutputStreamForSegment(Segment segment, EventWriterConfig config,
+                                                                DelegationTokenProvider tokenProvider) {
+            return new NoOpOutputStream(segment);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class NoOpOutputStream implements SegmentOutputStream {
+        private final Segment segment;
+        private final Object lock = new Object();
+        private long writeOffset;
+
+        @Override
+        public void write(PendingEvent event) {
+            synchronized (this.lock) {
+                Blackhole.consumeCPU(WORK_PER_EVENT);
+                this.writeOffset += event.getData().readableBytes();
+            }
+
+            event.getAckFuture().complete(null);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public List<PendingEvent> getUnackedEventsOnSeal() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public String getSegmentName() {
+            return this.segment.getScopedName();
+        }
+
+        @Override
+        public long getLastObservedWriteOffset() {
+            synchronized (this.lock) {
+                return this.writeOffset;
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.common.io.serialization;
+
+import io.pravega.common.io.ByteBufferOutputStream;
+import io.pravega.common.util.ByteArraySegment;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link RevisionDataOutputStream}, which underpins every {@link VersionedSerializer}. Each operation
+ * serializes a record shaped like a typical Segment Store operation (a few longs, a UUID, a string and a payload).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class RevisionDataOutputStreamBenchmark {
+    private static final String SEGMENT_NAME = "scope/stream/0.#epoch.0";
+    private static final UUID ATTRIBUTE_ID = new UUID(1234, 5678);
+
+    @Param({"0", "1024"})
+    private int payloadLength;
+
+    private ByteArraySegment payload;
+    private NullOutputStream nonSeekableOutput;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.payload = new ByteArraySegment(new byte[this.payloadLength]);
+        this.nonSeekableOutput = new NullOutputStream();
+    }
+
+    /**
+     * Serializes into a new {@link ByteBufferOutputStream}; the length is back-filled once serialization is complete.
+     * This mirrors {@link VersionedSerializer#serialize(Object)}.
+     */
+    @Benchmark
+    public int serializeRandomAccess() throws IOException {
+        ByteBufferOutputStream result = new ByteBufferOutputStream();
+        try (RevisionDataOutputStream out = RevisionDataOutputStream.wrap(result)) {
+            writeRecord(out, false);
+        }
+        return result.size();
+    }
+
+    /**
+     * Serializes into a non-seekable {@link OutputStream}, which requires the length to be calculated upfront.
+     */
+    @Benchmark
+    public long serializeNonSeekable() throws IOException {
+        try (RevisionDataOutputStream out = RevisionDataOutputStream.wrap(this.nonSeekableOutput)) {
+            writeRecord(out, true);
+        }
+        return this.nonSeekableOutput.count;
+    }
+
+    private void writeRecord(RevisionDataOutputStream out, boolean explicitLength) throws IOException {
+        if (explicitLength) {
+            out.length(Long.BYTES + out.getCompactLongLength(Integer.MAX_VALUE) + out.getCompactSignedLongLength(-1)
+                    + RevisionDataOutput.UUID_BYTES + out.getUTFLength(SEGMENT_NAME)
+                    + out.getCompactIntLength(this.payload.getLength()) + this.payload.getLength());
+        }
+        out.writeLong(Long.MAX_VALUE);
+        out.writeCompactLong(Integer.MAX_VALUE);
+        out.writeCompactSignedLong(-1);
+        out.writeUUID(ATTRIBUTE_ID);
+        out.writeUTF(SEGMENT_NAME);
+        out.writeBuffer(this.payload);
+    }
+
+    private static class NullOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.count += len;
+        }
+    }
+}
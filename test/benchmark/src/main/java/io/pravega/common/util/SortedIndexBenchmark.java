@@ -0,0 +1,129 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.common.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.Data;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the {@link SortedIndex} implementations ({@link AvlTreeIndex}, {@link RedBlackTreeIndex} and
+ * {@link ConcurrentSkipListIndex}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SortedIndexBenchmark {
+    private static final int LOOKUP_COUNT = 64 * 1024;
+
+    @Param({"AVL", "RED_BLACK", "SKIP_LIST"})
+    private IndexType indexType;
+
+    @Param({"1000", "1000000"})
+    private int indexSize;
+
+    private SortedIndex<TestEntry> index;
+    private long[] lookupKeys;
+    private int nextIndex;
+    private long nextInsertKey;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.index = this.indexType.creator.get();
+        // Keys are spaced apart so that getFloor/getCeiling lookups do not always hit an exact match.
+        for (int i = 0; i < this.indexSize; i++) {
+            this.index.put(new TestEntry(i * 2L));
+        }
+
+        Random rnd = new Random(0);
+        this.lookupKeys = new long[LOOKUP_COUNT];
+        for (int i = 0; i < this.lookupKeys.length; i++) {
+            this.lookupKeys[i] = rnd.nextInt(this.indexSize * 2);
+        }
+
+        this.nextInsertKey = this.indexSize * 2L;
+    }
+
+    @Benchmark
+    public TestEntry get() {
+        return this.index.get(nextLookupKey());
+    }
+
+    @Benchmark
+    public TestEntry getFloor() {
+        return this.index.getFloor(nextLookupKey());
+    }
+
+    @Benchmark
+    public TestEntry getCeiling() {
+        return this.index.getCeiling(nextLookupKey());
+    }
+
+    /**
+     * Inserts a new (highest) entry and removes the lowest one, which keeps the size of the index constant. This mirrors
+     * how the Read Index is used (new entries added at the end, old ones evicted from the beginning).
+     */
+    @Benchmark
+    public TestEntry putRemove() {
+        this.index.put(new TestEntry(this.nextInsertKey));
+        this.nextInsertKey += 2;
+        return this.index.remove(this.index.getFirst().key());
+    }
+
+    private long nextLookupKey() {
+        long result = this.lookupKeys[this.nextIndex];
+        this.nextIndex = (this.nextIndex + 1) % this.lookupKeys.length;
+        return result;
+    }
+
+    @Data
+    static class TestEntry implements SortedIndex.IndexEntry {
+        private final long value;
+
+        @Override
+        public long key() {
+            return this.value;
+        }
+    }
+
+    public enum IndexType {
+        AVL(AvlTreeIndex::new),
+        RED_BLACK(RedBlackTreeIndex::new),
+        SKIP_LIST(ConcurrentSkipListIndex::new);
+
+        private final Supplier<SortedIndex<TestEntry>> creator;
+
+        IndexType(Supplier<SortedIndex<TestEntry>> creator) {
+            this.creator = creator;
+        }
+    }
+}
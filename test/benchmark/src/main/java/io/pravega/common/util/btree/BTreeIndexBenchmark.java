@@ -0,0 +1,186 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.common.util.btree;
+
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.util.ByteArraySegment;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link BTreeIndex} get and update operations. The index is backed by an in-memory page store that
+ * completes all operations synchronously, so these measure the cost of the index itself (page lookups, serialization
+ * and splits), not that of its underlying storage.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BTreeIndexBenchmark {
+    private static final int MAX_PAGE_SIZE = Short.MAX_VALUE; // Max allowed by BTreeIndex.
+    private static final int KEY_LENGTH = 16;
+    private static final int VALUE_LENGTH = 8;
+    private static final int LOOKUP_COUNT = 64 * 1024;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Param({"100000"})
+    private int indexSize;
+
+    @Param({"1", "100"})
+    private int updateBatchSize;
+
+    private ScheduledExecutorService executor;
+    private BTreeIndex index;
+    private ByteArraySegment[] lookupKeys;
+    private int nextIndex;
+    private long nextValue;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // BTreeIndex processes its updates in async loops, which would overflow the stack with an inline executor.
+        this.executor = ExecutorServiceHelpers.newScheduledThreadPool(1, "btree-benchmark");
+        PageStore pageStore = new PageStore();
+        this.index = BTreeIndex.builder()
+                .maxPageSize(MAX_PAGE_SIZE)
+                .keyLength(KEY_LENGTH)
+                .valueLength(VALUE_LENGTH)
+                .readPage(pageStore::read)
+                .writePages(pageStore::write)
+                .getLength(pageStore::getLength)
+                .executor(this.executor)
+                .build();
+        this.index.initialize(TIMEOUT).join();
+
+        Random rnd = new Random(0);
+        List<PageEntry> entries = new ArrayList<>();
+        this.lookupKeys = new ByteArraySegment[LOOKUP_COUNT];
+        for (int i = 0; i < this.indexSize; i++) {
+            ByteArraySegment key = newKey(rnd);
+            entries.add(new PageEntry(key, newValue(i)));
+            if (i < this.lookupKeys.length) {
+                this.lookupKeys[i] = key;
+            }
+            if (entries.size() >= 10000) {
+                this.index.update(entries, TIMEOUT).join();
+                entries.clear();
+            }
+        }
+
+        if (!entries.isEmpty()) {
+            this.index.update(entries, TIMEOUT).join();
+        }
+
+        for (int i = this.indexSize; i < this.lookupKeys.length; i++) {
+            this.lookupKeys[i] = newKey(rnd);
+        }
+
+        this.nextValue = this.indexSize;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ExecutorServiceHelpers.shutdown(this.executor);
+    }
+
+    @Benchmark
+    public ByteArraySegment get() {
+        return this.index.get(nextLookupKey(), TIMEOUT).join();
+    }
+
+    /**
+     * Updates the values of a number of existing keys.
+     */
+    @Benchmark
+    public long update() {
+        List<PageEntry> entries = new ArrayList<>(this.updateBatchSize);
+        for (int i = 0; i < this.updateBatchSize; i++) {
+            entries.add(new PageEntry(nextLookupKey(), newValue(this.nextValue++)));
+        }
+        return this.index.update(entries, TIMEOUT).join();
+    }
+
+    private ByteArraySegment nextLookupKey() {
+        ByteArraySegment result = this.lookupKeys[this.nextIndex];
+        this.nextIndex = (this.nextIndex + 1) % this.lookupKeys.length;
+        return result;
+    }
+
+    private static ByteArraySegment newKey(Random rnd) {
+        byte[] key = new byte[KEY_LENGTH];
+        rnd.nextBytes(key);
+        return new ByteArraySegment(key);
+    }
+
+    private static ByteArraySegment newValue(long value) {
+        return new ByteArraySegment(ByteBuffer.allocate(VALUE_LENGTH).putLong(value).array());
+    }
+
+    /**
+     * In-memory page store. Obsolete pages are discarded as soon as the index reports them, which keeps memory usage
+     * bounded for long-running update benchmarks.
+     */
+    private static class PageStore {
+        private final Map<Long, byte[]> pages = new HashMap<>();
+        private long length;
+        private long rootPointer = BTreeIndex.IndexInfo.EMPTY.getRootPointer();
+
+        CompletableFuture<BTreeIndex.IndexInfo> getLength(Duration timeout) {
+            return CompletableFuture.completedFuture(new BTreeIndex.IndexInfo(this.length, this.rootPointer));
+        }
+
+        CompletableFuture<ByteArraySegment> read(long offset, int length, boolean shouldCache, Duration timeout) {
+            // BTreePage modifies the buffer it wraps, so each read must return a copy.
+            return CompletableFuture.completedFuture(new ByteArraySegment(this.pages.get(offset).clone()));
+        }
+
+        CompletableFuture<Long> write(List<BTreeIndex.WritePage> toWrite, Collection<Long> obsoleteOffsets, long truncateOffset, Duration timeout) {
+            for (BTreeIndex.WritePage page : toWrite) {
+                this.pages.put(page.getOffset(), page.getContents().getCopy());
+                this.length = page.getOffset() + page.getContents().getLength();
+            }
+            obsoleteOffsets.forEach(this.pages::remove);
+            if (!toWrite.isEmpty()) {
+                // Last thing to write is the root page.
+                this.rootPointer = toWrite.get(toWrite.size() - 1).getOffset();
+            }
+            return CompletableFuture.completedFuture(this.length);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.logs;
+
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.common.util.CloseableIterator;
+import io.pravega.common.util.CompositeArrayView;
+import io.pravega.segmentstore.server.logs.operations.Operation;
+import io.pravega.segmentstore.server.logs.operations.OperationSerializer;
+import io.pravega.segmentstore.server.logs.operations.StreamSegmentAppendOperation;
+import io.pravega.segmentstore.storage.DurableDataLog;
+import io.pravega.segmentstore.storage.DurableDataLogException;
+import io.pravega.segmentstore.storage.LogAddress;
+import io.pravega.segmentstore.storage.QueueStats;
+import io.pravega.segmentstore.storage.ThrottleSourceListener;
+import io.pravega.segmentstore.storage.WriteSettings;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link DataFrameBuilder}, which serializes every Operation into DataFrames before they are written to
+ * the DurableDataLog. The DurableDataLog used here discards all writes, so only the serialization and framing costs
+ * are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DataFrameBuilderBenchmark {
+    private static final long SEGMENT_ID = 1;
+
+    @Param({"100", "1024", "65536"})
+    private int appendLength;
+
+    @Param({"1", "100"})
+    private int appendsPerFlush;
+
+    private ByteArraySegment appendData;
+    private DataFrameBuilder<Operation> builder;
+    private final AtomicLong committedFrames = new AtomicLong();
+    private long nextSequenceNumber;
+    private long nextOffset;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.appendData = new ByteArraySegment(new byte[this.appendLength]);
+        DataFrameBuilder.Args args = new DataFrameBuilder.Args(
+                ca -> { },
+                ca -> this.committedFrames.incrementAndGet(),
+                (ex, ca) -> {
+                    throw new IllegalStateException("DataFrame commit failed.", ex);
+                },
+                Runnable::run);
+        this.builder = new DataFrameBuilder<>(new NullDurableDataLog(), OperationSerializer.DEFAULT, args);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.builder.close();
+    }
+
+    /**
+     * Appends a number of {@link StreamSegmentAppendOperation}s, then flushes the current DataFrame (as the
+     * OperationProcessor does at the end of each batch).
+     */
+    @Benchmark
+    public long appendAndFlush() throws IOException {
+        for (int i = 0; i < this.appendsPerFlush; i++) {
+            StreamSegmentAppendOperation op = new StreamSegmentAppendOperation(SEGMENT_ID, this.nextOffset, this.appendData, null);
+            op.setSequenceNumber(++this.nextSequenceNumber);
+            this.nextOffset += this.appendLength;
+            this.builder.append(op);
+        }
+
+        this.builder.flush();
+        return this.committedFrames.get();
+    }
+
+    //region NullDurableDataLog
+
+    /**
+     * A {@link DurableDataLog} that acknowledges all writes immediately and does not store anything.
+     */
+    private static class NullDurableDataLog implements DurableDataLog {
+        private static final WriteSettings WRITE_SETTINGS = new WriteSettings(1024 * 1024 - 1024, Duration.ofSeconds(30), 256 * 1024 * 1024);
+        private final AtomicLong nextSequence = new AtomicLong();
+
+        @Override
+        public void initialize(Duration timeout) {
+        }
+
+        @Override
+        public void enable() {
+        }
+
+        @Override
+        public void disable() {
+        }
+
+        @Override
+        public CompletableFuture<LogAddress> append(CompositeArrayView data, Duration timeout) {
+            return CompletableFuture.completedFuture(new LogAddress(this.nextSequence.incrementAndGet()) {
+            });
+        }
+
+        @Override
+        public CompletableFuture<Void> truncate(LogAddress upToAddress, Duration timeout) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CloseableIterator<ReadItem, DurableDataLogException> getReader() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public WriteSettings getWriteSettings() {
+            return WRITE_SETTINGS;
+        }
+
+        @Override
+        public long getEpoch() {
+            return 1;
+        }
+
+        @Override
+        public QueueStats getQueueStatistics() {
+            return QueueStats.DEFAULT;
+        }
+
+        @Override
+        public void registerQueueStateChangeListener(ThrottleSourceListener listener) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    //endregion
+}
@@ -0,0 +1,192 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.reading;
+
+import io.pravega.common.concurrent.ExecutorServiceHelpers;
+import io.pravega.common.util.BufferView;
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.contracts.ReadResult;
+import io.pravega.segmentstore.contracts.ReadResultEntry;
+import io.pravega.segmentstore.contracts.ReadResultEntryType;
+import io.pravega.segmentstore.contracts.StreamSegmentNotExistsException;
+import io.pravega.segmentstore.server.CacheManager;
+import io.pravega.segmentstore.server.CachePolicy;
+import io.pravega.segmentstore.server.UpdateableSegmentMetadata;
+import io.pravega.segmentstore.server.containers.StreamSegmentContainerMetadata;
+import io.pravega.segmentstore.storage.AsyncStorageWrapper;
+import io.pravega.segmentstore.storage.Storage;
+import io.pravega.segmentstore.storage.cache.DirectMemoryCache;
+import io.pravega.segmentstore.storage.mocks.InMemoryStorage;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures tail read throughput for a single hot Segment in the {@link ContainerReadIndex} while that Segment is being
+ * concurrently appended to (and its older data evicted from the Cache), with an increasing number of reader threads.
+ *
+ * Each benchmark group has one appender thread and a number of reader threads; JMH reports the throughput of the
+ * readers and of the appender separately. Reads that hit the Cache do not need to acquire the {@link StreamSegmentReadIndex}
+ * lock, so neither the readers nor the appender should degrade significantly as more readers are added.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-XX:MaxDirectMemorySize=2g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class StreamSegmentReadIndexContentionBenchmark {
+    private static final int CONTAINER_ID = 0;
+    private static final long SEGMENT_ID = 1L;
+    private static final int APPEND_LENGTH = 100;
+    private static final int READ_LENGTH = 1000;
+    private static final int TRIM_EVERY = 10000;
+    private static final int RETAINED_LENGTH = 16 * 1024 * 1024;
+    private static final long CACHE_SIZE = 1024 * 1024 * 1024;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private ScheduledExecutorService executor;
+    private DirectMemoryCache cacheStorage;
+    private CacheManager cacheManager;
+    private Storage storage;
+    private ContainerReadIndex readIndex;
+    private StreamSegmentReadIndex segmentIndex;
+    private UpdateableSegmentMetadata segmentMetadata;
+    private ByteArraySegment appendData;
+    private volatile long tailOffset;
+    private int appendCount;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.executor = ExecutorServiceHelpers.newScheduledThreadPool(2, "read-index-benchmark");
+        this.cacheStorage = new DirectMemoryCache(CACHE_SIZE);
+        this.cacheManager = new CacheManager(CachePolicy.INFINITE, this.cacheStorage, this.executor);
+        this.storage = new AsyncStorageWrapper(new InMemoryStorage(), this.executor);
+        this.storage.initialize(1);
+        StreamSegmentContainerMetadata metadata = new StreamSegmentContainerMetadata(CONTAINER_ID, 1000);
+        this.segmentMetadata = metadata.mapStreamSegmentId("Segment", SEGMENT_ID);
+        this.segmentMetadata.setLength(0);
+        this.segmentMetadata.setStorageLength(0);
+        this.readIndex = new ContainerReadIndex(ReadIndexConfig.builder().build(), metadata, this.storage, this.cacheManager, this.executor);
+
+        byte[] data = new byte[APPEND_LENGTH];
+        new Random(0).nextBytes(data);
+        this.appendData = new ByteArraySegment(data);
+
+        // Make sure there is enough data for the readers to begin with.
+        while (this.tailOffset < READ_LENGTH) {
+            append();
+        }
+
+        this.segmentIndex = this.readIndex.getIndex(SEGMENT_ID);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.readIndex.close();
+        this.cacheManager.close();
+        this.storage.close();
+        this.cacheStorage.close();
+        ExecutorServiceHelpers.shutdown(this.executor);
+    }
+
+    @Benchmark
+    @Group("readers1")
+    @GroupThreads(1)
+    public int read1() throws Exception {
+        return tailRead();
+    }
+
+    @Benchmark
+    @Group("readers1")
+    @GroupThreads(1)
+    public long append1() throws Exception {
+        return append();
+    }
+
+    @Benchmark
+    @Group("readers7")
+    @GroupThreads(7)
+    public int read7() throws Exception {
+        return tailRead();
+    }
+
+    @Benchmark
+    @Group("readers7")
+    @GroupThreads(1)
+    public long append7() throws Exception {
+        return append();
+    }
+
+    @Benchmark
+    @Group("readers31")
+    @GroupThreads(31)
+    public int read31() throws Exception {
+        return tailRead();
+    }
+
+    @Benchmark
+    @Group("readers31")
+    @GroupThreads(1)
+    public long append31() throws Exception {
+        return append();
+    }
+
+    private int tailRead() throws StreamSegmentNotExistsException {
+        try (ReadResult readResult = this.readIndex.read(SEGMENT_ID, this.tailOffset - READ_LENGTH, READ_LENGTH, TIMEOUT)) {
+            ReadResultEntry entry = readResult.next();
+            if (entry.getType() != ReadResultEntryType.Cache) {
+                // This reader fell so far behind that its offset was truncated in the meantime.
+                return 0;
+            }
+
+            BufferView data = entry.getContent().join();
+            return data.getLength();
+        }
+    }
+
+    private long append() throws StreamSegmentNotExistsException {
+        long offset = this.tailOffset;
+        this.segmentMetadata.setLength(offset + APPEND_LENGTH);
+        this.readIndex.append(SEGMENT_ID, offset, this.appendData);
+        this.tailOffset = offset + APPEND_LENGTH;
+        if (++this.appendCount % TRIM_EVERY == 0 && this.segmentIndex != null) {
+            // Pretend older data has been moved to Storage and truncated, then evict it from the Cache, as the
+            // CacheManager would. This keeps memory usage bounded and adds eviction into the mix.
+            long retainOffset = Math.max(0, this.tailOffset - RETAINED_LENGTH);
+            this.segmentMetadata.setStorageLength(retainOffset);
+            this.segmentMetadata.setStartOffset(retainOffset);
+            this.segmentIndex.updateGenerations(0, 0, false);
+        }
+
+        return this.tailOffset;
+    }
+}
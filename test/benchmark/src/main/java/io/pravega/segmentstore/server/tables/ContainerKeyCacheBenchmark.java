@@ -0,0 +1,133 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.tables;
+
+import io.pravega.common.util.ByteArraySegment;
+import io.pravega.segmentstore.contracts.tables.TableKey;
+import io.pravega.segmentstore.storage.cache.DirectMemoryCache;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link ContainerKeyCache} lookups against a large tail cache (un-indexed Key Hashes and Backpointers),
+ * with the tail cache stored either on or off the heap.
+ *
+ * Every key is included twice, so that each one has a Backpointer as well. Upon setup, the heap retained by the populated
+ * cache is measured (after a full GC) and logged, since JMH has no built-in way of reporting it.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-XX:MaxDirectMemorySize=4g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ContainerKeyCacheBenchmark {
+    private static final long SEGMENT_ID = 1L;
+    private static final int BATCH_SIZE = 1000;
+    private static final TableKey KEY = TableKey.unversioned(new ByteArraySegment(new byte[1]));
+
+    @Param({"1000000", "10000000"})
+    private int keyCount;
+
+    @Param({"false", "true"})
+    private boolean offHeapTailCache;
+
+    private DirectMemoryCache cacheStorage;
+    private ContainerKeyCache keyCache;
+    private long nextKey;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.cacheStorage = new DirectMemoryCache(Integer.MAX_VALUE);
+        long heapBefore = getUsedHeap();
+        this.keyCache = new ContainerKeyCache(this.cacheStorage, this.offHeapTailCache);
+        this.keyCache.updateSegmentIndexOffset(SEGMENT_ID, 0L);
+        long offset = 0;
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < this.keyCount; i += BATCH_SIZE) {
+                TableKeyBatch batch = TableKeyBatch.update();
+                for (int j = i; j < Math.min(this.keyCount, i + BATCH_SIZE); j++) {
+                    batch.add(KEY, keyHash(j), 1);
+                }
+
+                this.keyCache.includeUpdateBatch(SEGMENT_ID, batch, offset);
+                offset += batch.getLength();
+            }
+        }
+
+        long heapAfter = getUsedHeap();
+        log.info("KeyCount = {}, OffHeapTailCache = {}: Retained Heap = {} MB.",
+                this.keyCount, this.offHeapTailCache, (heapAfter - heapBefore) / 1024 / 1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.keyCache.close();
+        this.cacheStorage.close();
+    }
+
+    @Benchmark
+    public CacheBucketOffset getExisting() {
+        return this.keyCache.get(SEGMENT_ID, keyHash(nextKey()));
+    }
+
+    @Benchmark
+    public CacheBucketOffset getMissing() {
+        return this.keyCache.get(SEGMENT_ID, keyHash(this.keyCount + nextKey()));
+    }
+
+    @Benchmark
+    public long getBackpointer() {
+        // Second-round offsets (those with Backpointers) begin right after the first round.
+        return this.keyCache.getBackpointer(SEGMENT_ID, this.keyCount + nextKey());
+    }
+
+    private long nextKey() {
+        long key = this.nextKey;
+        this.nextKey = (key + 1) % this.keyCount;
+        return key;
+    }
+
+    private static UUID keyHash(long index) {
+        // Key Hashes are uniformly distributed, so derive them from the index using a mixing function.
+        long h = index * 0x9E3779B97F4A7C15L;
+        return new UUID(h ^ (h >>> 29), Long.rotateLeft(h, 17) * 0xBF58476D1CE4E5B9L);
+    }
+
+    private static long getUsedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.server.tables;
+
+import io.pravega.common.util.ByteArraySegment;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link KeyHasher}, which is invoked for every Table Segment key that is updated or looked up.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class KeyHasherBenchmark {
+    private static final int KEY_COUNT = 1024;
+
+    @Param({"16", "128", "8192"})
+    private int keyLength;
+
+    private KeyHasher hasher;
+    private ByteArraySegment[] keys;
+    private int nextIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.hasher = KeyHasher.sha256();
+        Random rnd = new Random(0);
+        this.keys = new ByteArraySegment[KEY_COUNT];
+        for (int i = 0; i < this.keys.length; i++) {
+            byte[] key = new byte[this.keyLength];
+            rnd.nextBytes(key);
+            // Hash a slice of a larger array, as keys are usually sliced out of a bigger request buffer.
+            byte[] buffer = new byte[this.keyLength + 2];
+            System.arraycopy(key, 0, buffer, 1, key.length);
+            this.keys[i] = new ByteArraySegment(buffer, 1, this.keyLength);
+        }
+    }
+
+    @Benchmark
+    public UUID hash() {
+        UUID result = this.hasher.hash(this.keys[this.nextIndex]);
+        this.nextIndex = (this.nextIndex + 1) % this.keys.length;
+        return result;
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.cache;
+
+import io.pravega.common.util.BufferView;
+import io.pravega.common.util.ByteArraySegment;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link DirectMemoryCache} insert, get and append operations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-XX:MaxDirectMemorySize=2g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DirectMemoryCacheBenchmark {
+    private static final long CACHE_SIZE = 1024 * 1024 * 1024;
+    private static final int ENTRY_COUNT = 8 * 1024;
+    private static final int APPEND_LENGTH = 100;
+
+    @Param({"100", "4096", "65536"})
+    private int entryLength;
+
+    private DirectMemoryCache cache;
+    private ByteArraySegment entryData;
+    private ByteArraySegment appendData;
+    private int[] addresses;
+    private int nextIndex;
+    private int appendAddress;
+    private int appendEntryLength;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.cache = new DirectMemoryCache(CACHE_SIZE);
+        Random rnd = new Random(0);
+        byte[] data = new byte[this.entryLength];
+        rnd.nextBytes(data);
+        this.entryData = new ByteArraySegment(data);
+        byte[] append = new byte[APPEND_LENGTH];
+        rnd.nextBytes(append);
+        this.appendData = new ByteArraySegment(append);
+
+        this.addresses = new int[ENTRY_COUNT];
+        for (int i = 0; i < this.addresses.length; i++) {
+            this.addresses[i] = this.cache.insert(this.entryData);
+        }
+
+        this.appendAddress = this.cache.insert(this.appendData);
+        this.appendEntryLength = this.appendData.getLength();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.cache.close();
+    }
+
+    /**
+     * Inserts an entry and immediately deletes it (to keep the cache from filling up).
+     */
+    @Benchmark
+    public int insertDelete() {
+        int address = this.cache.insert(this.entryData);
+        this.cache.delete(address);
+        return address;
+    }
+
+    /**
+     * Gets an existing entry and copies its contents out (which is what every cache read eventually does).
+     */
+    @Benchmark
+    public byte[] get() {
+        BufferView data = this.cache.get(this.addresses[this.nextIndex]);
+        this.nextIndex = (this.nextIndex + 1) % this.addresses.length;
+        return data.getCopy();
+    }
+
+    /**
+     * Appends to an entry until its last block fills up, after which it is replaced with a fresh entry.
+     */
+    @Benchmark
+    public int append() {
+        if (this.cache.getAppendableLength(this.appendEntryLength) < this.appendData.getLength()) {
+            this.cache.delete(this.appendAddress);
+            this.appendAddress = this.cache.insert(this.appendData);
+            this.appendEntryLength = this.appendData.getLength();
+        } else {
+            this.appendEntryLength += this.cache.append(this.appendAddress, this.appendEntryLength, this.appendData);
+        }
+        return this.appendEntryLength;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.segmentstore.storage.cache;
+
+import io.pravega.common.util.ByteArraySegment;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DirectMemoryCache} insert/delete throughput when many threads share the same cache instance. Compares
+ * a single shared buffer pool (shardCount = 1, which is how the allocator behaved before it was sharded) against one
+ * pool per available processor (shardCount = 0).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-XX:MaxDirectMemorySize=2g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class DirectMemoryCacheContentionBenchmark {
+    private static final long CACHE_SIZE = 1024 * 1024 * 1024;
+
+    @Param({"1", "0"})
+    private int shardCount;
+
+    @Param({"100", "4096"})
+    private int entryLength;
+
+    private DirectMemoryCache cache;
+    private ByteArraySegment entryData;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        int shards = this.shardCount > 0 ? this.shardCount : Runtime.getRuntime().availableProcessors();
+        this.cache = new DirectMemoryCache(new CacheLayout.DefaultLayout(), CACHE_SIZE, null, shards);
+        byte[] data = new byte[this.entryLength];
+        new Random(0).nextBytes(data);
+        this.entryData = new ByteArraySegment(data);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.cache.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int insertDelete1Thread() {
+        return insertDelete();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public int insertDelete8Threads() {
+        return insertDelete();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public int insertDelete32Threads() {
+        return insertDelete();
+    }
+
+    @Benchmark
+    @Threads(128)
+    public int insertDelete128Threads() {
+        return insertDelete();
+    }
+
+    private int insertDelete() {
+        int address = this.cache.insert(this.entryData);
+        this.cache.delete(address);
+        return address;
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright Pravega Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.pravega.shared.protocol.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static io.pravega.shared.protocol.netty.WireCommands.MAX_WIRECOMMAND_SIZE;
+import static io.pravega.shared.protocol.netty.WireCommands.TYPE_PLUS_LENGTH_SIZE;
+
+/**
+ * Benchmarks for the Segment Store's inbound append pipeline: frame decoding, {@link CommandDecoder} and
+ * {@link AppendDecoder}. Each operation decodes one AppendBlock/AppendBlockEnd pair containing a number of Events, as
+ * produced by the client's CommandEncoder.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class AppendDecoderBenchmark {
+    private static final UUID WRITER_ID = new UUID(1, 2);
+    private static final String SEGMENT = "scope/stream/0.#epoch.0";
+
+    @Param({"100", "1024"})
+    private int eventLength;
+
+    @Param({"1", "100"})
+    private int eventsPerBlock;
+
+    private EmbeddedChannel channel;
+    private byte[] encodedBlock;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.channel = new EmbeddedChannel(new LengthFieldBasedFrameDecoder(MAX_WIRECOMMAND_SIZE, 4, 4), new CommandDecoder(),
+                new AppendDecoder());
+        ByteBuf setup = Unpooled.buffer();
+        encode(new WireCommands.SetupAppend(1, WRITER_ID, SEGMENT, ""), setup);
+        this.channel.writeInbound(setup);
+        this.channel.readInbound();
+
+        // All blocks carry the same last event number; the AppendDecoder only rejects event numbers that go backwards.
+        // Events write their own type and length header.
+        ByteBuf events = Unpooled.buffer();
+        for (int i = 0; i < this.eventsPerBlock; i++) {
+            new WireCommands.Event(Unpooled.wrappedBuffer(new byte[this.eventLength])).writeFields(new ByteBufOutputStream(events));
+        }
+
+        ByteBuf block = Unpooled.buffer();
+        int blockLength = 2 * Long.BYTES + events.readableBytes();
+        block.writeInt(WireCommandType.APPEND_BLOCK.getCode());
+        block.writeInt(blockLength);
+        new WireCommands.AppendBlock(WRITER_ID).writeFields(new ByteBufOutputStream(block));
+        block.writeBytes(events);
+        encode(new WireCommands.AppendBlockEnd(WRITER_ID, blockLength - 2 * Long.BYTES, null, this.eventsPerBlock,
+                this.eventsPerBlock, 1), block);
+        this.encodedBlock = new byte[block.readableBytes()];
+        block.readBytes(this.encodedBlock);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public int decodeAppendBlock() {
+        this.channel.writeInbound(Unpooled.wrappedBuffer(this.encodedBlock));
+        Append append = this.channel.readInbound();
+        int length = append.getDataLength();
+        append.getData().release();
+        return length;
+    }
+
+    private static void encode(WireCommand command, ByteBuf out) throws IOException {
+        int start = out.writerIndex();
+        out.writeInt(command.getType().getCode());
+        out.writeInt(0);
+        command.writeFields(new ByteBufOutputStream(out));
+        out.setInt(start + Integer.BYTES, out.writerIndex() - start - TYPE_PLUS_LENGTH_SIZE);
+    }
+}